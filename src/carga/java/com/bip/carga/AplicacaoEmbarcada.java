@@ -0,0 +1,159 @@
+package com.bip.carga;
+
+import com.bip.application.concurrency.ThreadsVirtuais;
+import com.bip.infrastructure.configuration.RestApplication;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.ServerConnector;
+import org.eclipse.jetty.servlet.ServletHolder;
+import org.eclipse.jetty.util.resource.Resource;
+import org.eclipse.jetty.util.thread.QueuedThreadPool;
+import org.eclipse.jetty.webapp.WebAppContext;
+import org.eclipse.jetty.xml.XmlConfiguration;
+import org.glassfish.jersey.servlet.ServletContainer;
+import org.jboss.weld.environment.servlet.Listener;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+
+/**
+ * A aplicação completa (Weld, Jersey, Hibernate e H2 em memória) em um Jetty
+ * embarcado, como no profile {@code jetty}.
+ *
+ * <p>O Weld descobre os beans pelo layout de um WAR: a aplicação é montada em um
+ * diretório temporário com o {@code WEB-INF/beans.xml} de {@code src/main/webapp}
+ * e as classes compiladas em {@code WEB-INF/classes}. As classes continuam
+ * carregadas pelo classpath do processo (prioridade do classloader pai).</p>
+ *
+ * <p>A unidade de persistência {@code bipPU} vem de {@code src/carga/resources}.</p>
+ *
+ * <p>Com {@code -Dbip.threads-virtuais.habilitado=true} no Java 21 cada requisição
+ * roda em uma thread virtual, como no profile {@code java21}; o pool continua
+ * com os seletores e conectores. Com um {@code jetty.xml} (por exemplo
+ * {@code src/main/jetty/jetty-threads-virtuais.xml}) o servidor recebe a mesma
+ * configuração do {@code jetty:run}.</p>
+ */
+public final class AplicacaoEmbarcada implements AutoCloseable {
+
+    private final Server servidor;
+    private final Path diretorio;
+
+    private AplicacaoEmbarcada(Server servidor, Path diretorio) {
+        this.servidor = servidor;
+        this.diretorio = diretorio;
+    }
+
+    /**
+     * Inicia a aplicação em uma porta livre.
+     *
+     * @param threads tamanho máximo do pool de threads do Jetty
+     */
+    public static AplicacaoEmbarcada iniciar(int threads) throws Exception {
+        return iniciar(threads, null);
+    }
+
+    /**
+     * Inicia a aplicação em uma porta livre, aplicando um {@code jetty.xml} ao servidor.
+     *
+     * @param threads tamanho máximo do pool de threads do Jetty
+     * @param jettyXml configuração aplicada antes da partida; {@code null} para nenhuma
+     */
+    public static AplicacaoEmbarcada iniciar(int threads, Path jettyXml) throws Exception {
+        Path diretorio = montarWebapp();
+
+        QueuedThreadPool pool = new QueuedThreadPool(threads, Math.min(8, threads));
+        if (ThreadsVirtuais.isHabilitado()) {
+            pool.setVirtualThreadsExecutor(ThreadsVirtuais.executorPorTarefa("jetty-virtual-"));
+        }
+        Server servidor = new Server(pool);
+        ServerConnector conector = new ServerConnector(servidor);
+        conector.setPort(0);
+        servidor.addConnector(conector);
+
+        WebAppContext contexto = new WebAppContext();
+        contexto.setContextPath("/");
+        contexto.setResourceBase(diretorio.toString());
+        contexto.setParentLoaderPriority(true);
+        contexto.addEventListener(new Listener());
+
+        ServletHolder jersey = contexto.addServlet(ServletContainer.class, RestApplication.class
+            .getAnnotation(jakarta.ws.rs.ApplicationPath.class).value() + "/*");
+        jersey.setInitParameter("jakarta.ws.rs.Application", RestApplication.class.getName());
+        jersey.setInitOrder(1);
+        // Recursos com @Suspended exigem o servlet assíncrono; o web.xml não é usado aqui
+        jersey.setAsyncSupported(true);
+
+        servidor.setHandler(contexto);
+        if (jettyXml != null) {
+            new XmlConfiguration(Resource.newResource(jettyXml)).configure(servidor);
+        }
+        servidor.start();
+        return new AplicacaoEmbarcada(servidor, diretorio);
+    }
+
+    /**
+     * Endereço base da API, terminado em {@code /api}.
+     */
+    public URI getUriBase() {
+        int porta = ((ServerConnector) servidor.getConnectors()[0]).getLocalPort();
+        return URI.create("http://127.0.0.1:" + porta + "/api");
+    }
+
+    @Override
+    public void close() throws Exception {
+        try {
+            servidor.stop();
+        } finally {
+            apagar(diretorio);
+        }
+    }
+
+    private static Path montarWebapp() throws IOException, URISyntaxException {
+        Path diretorio = Files.createTempDirectory("bip-carga-");
+        Path webInf = Files.createDirectories(diretorio.resolve("WEB-INF"));
+        Files.copy(Path.of("src/main/webapp/WEB-INF/beans.xml"), webInf.resolve("beans.xml"));
+
+        Path classes = Path.of(RestApplication.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        copiar(classes, webInf.resolve("classes"));
+        return diretorio;
+    }
+
+    private static void copiar(Path origem, Path destino) throws IOException {
+        Files.walkFileTree(origem, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                Files.createDirectories(destino.resolve(origem.relativize(dir).toString()));
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path arquivo, BasicFileAttributes attrs) throws IOException {
+                Files.copy(arquivo, destino.resolve(origem.relativize(arquivo).toString()),
+                    StandardCopyOption.REPLACE_EXISTING);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    private static void apagar(Path diretorio) throws IOException {
+        Files.walkFileTree(diretorio, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult visitFile(Path arquivo, BasicFileAttributes attrs) throws IOException {
+                Files.delete(arquivo);
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult postVisitDirectory(Path dir, IOException e) throws IOException {
+                Files.delete(dir);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+}
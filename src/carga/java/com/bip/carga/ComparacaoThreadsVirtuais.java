@@ -0,0 +1,164 @@
+package com.bip.carga;
+
+import com.bip.application.concurrency.ThreadsVirtuais;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * A mesma carga HTTP contra a aplicação completa duas vezes: com o pool de
+ * threads de plataforma do Jetty e com o {@code jetty-threads-virtuais.xml} do
+ * profile {@code java21}.
+ *
+ * <p>Cada modo roda o {@link GeradorCarga} em uma JVM própria, com a
+ * {@link AplicacaoEmbarcada} e um H2 em memória novos, para que JIT, heap e
+ * massa de um não influenciem o outro. As opções são as do gerador, com padrões
+ * de alta concorrência; {@code --saida} é o diretório base dos dois resumos.
+ * Propriedades {@code -Dbip.*} são repassadas às duas JVMs.</p>
+ *
+ * <p>O relatório compara req/s e p99 de cada operação nos dois modos.</p>
+ *
+ * <pre>
+ * mvn -Pjava21,carga -DskipTests test-compile exec:exec \
+ *     -Dcarga.classe=com.bip.carga.ComparacaoThreadsVirtuais \
+ *     -Dcarga.argumentos="--rps 3000 --duracao 30"
+ * </pre>
+ */
+public final class ComparacaoThreadsVirtuais {
+
+    static final Path JETTY_XML = Path.of("src/main/jetty/jetty-threads-virtuais.xml");
+
+    private static final Map<String, String> PADROES = Map.of(
+        "rps", "3000",
+        "aquecimento", "10",
+        "max-pendentes", "20000",
+        "saida", "target/carga/threads-virtuais");
+
+    private ComparacaoThreadsVirtuais() {
+    }
+
+    /**
+     * Modos comparados: nome do diretório de saída, {@code jetty.xml} aplicado e
+     * valor de {@value ThreadsVirtuais#PROPRIEDADE}.
+     */
+    enum Modo {
+        PLATAFORMA("plataforma", null, false),
+        VIRTUAL("virtual", JETTY_XML, true);
+
+        private final String nome;
+        private final Path jettyXml;
+        private final boolean threadsVirtuais;
+
+        Modo(String nome, Path jettyXml, boolean threadsVirtuais) {
+            this.nome = nome;
+            this.jettyXml = jettyXml;
+            this.threadsVirtuais = threadsVirtuais;
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (!ThreadsVirtuais.isSuportado()) {
+            throw new IllegalStateException("A comparação exige Java 21; a JVM atual é " + Runtime.version()
+                + " (use o profile java21)");
+        }
+        Map<String, String> opcoes = opcoes(args);
+        Path base = Path.of(opcoes.remove("saida"));
+
+        Map<Modo, Map<String, String[]>> resumos = new LinkedHashMap<>();
+        for (Modo modo : Modo.values()) {
+            Path saida = base.resolve(modo.nome);
+            executar(modo, opcoes, saida);
+            resumos.put(modo, lerResumo(saida.resolve("resumo.tsv")));
+        }
+        imprimirComparacao(resumos);
+    }
+
+    /**
+     * Opções do gerador no formato {@code --nome valor}, sobre os {@link #PADROES}.
+     */
+    static Map<String, String> opcoes(String[] args) {
+        Map<String, String> opcoes = new LinkedHashMap<>(PADROES);
+        for (int i = 0; i < args.length; i++) {
+            if (!args[i].startsWith("--") || i + 1 >= args.length) {
+                throw new IllegalArgumentException("Opção inválida: " + args[i] + " (use --nome valor)");
+            }
+            opcoes.put(args[i].substring(2), args[++i]);
+        }
+        if (opcoes.containsKey("url") || opcoes.containsKey("jetty-xml")) {
+            throw new IllegalArgumentException("--url e --jetty-xml são definidos pela comparação");
+        }
+        return opcoes;
+    }
+
+    private static void executar(Modo modo, Map<String, String> opcoes, Path saida)
+            throws IOException, InterruptedException {
+        List<String> comando = new ArrayList<>();
+        comando.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        comando.add("-Xmx1g");
+        System.getProperties().stringPropertyNames().stream()
+            .filter(nome -> nome.startsWith("bip.") && !nome.equals(ThreadsVirtuais.PROPRIEDADE))
+            .sorted()
+            .forEach(nome -> comando.add("-D" + nome + "=" + System.getProperty(nome)));
+        comando.add("-D" + ThreadsVirtuais.PROPRIEDADE + "=" + modo.threadsVirtuais);
+        comando.add("-classpath");
+        comando.add(System.getProperty("java.class.path"));
+        comando.add(GeradorCarga.class.getName());
+        opcoes.forEach((nome, valor) -> {
+            comando.add("--" + nome);
+            comando.add(valor);
+        });
+        comando.add("--saida");
+        comando.add(saida.toString());
+        if (modo.jettyXml != null) {
+            comando.add("--jetty-xml");
+            comando.add(modo.jettyXml.toString());
+        }
+
+        System.out.printf(Locale.ROOT, "%n=== Modo %s ===%n", modo.nome);
+        int saidaProcesso = new ProcessBuilder(comando).inheritIO().start().waitFor();
+        if (saidaProcesso != 0) {
+            throw new IllegalStateException("Carga do modo " + modo.nome + " terminou com código " + saidaProcesso);
+        }
+    }
+
+    /**
+     * Linhas do {@code resumo.tsv} do gerador, por operação.
+     */
+    static Map<String, String[]> lerResumo(Path arquivo) throws IOException {
+        Map<String, String[]> linhas = new LinkedHashMap<>();
+        List<String> conteudo = Files.readAllLines(arquivo, StandardCharsets.UTF_8);
+        for (String linha : conteudo.subList(1, conteudo.size())) {
+            String[] campos = linha.split("\t");
+            linhas.put(campos[0], campos);
+        }
+        return linhas;
+    }
+
+    private static void imprimirComparacao(Map<Modo, Map<String, String[]>> resumos) {
+        // Colunas do resumo.tsv: operacao, ..., req_s (7), p50_ms (8), p99_ms (9)
+        Map<String, String[]> plataforma = resumos.get(Modo.PLATAFORMA);
+        Map<String, String[]> virtual = resumos.get(Modo.VIRTUAL);
+
+        System.out.printf(Locale.ROOT, "%n%-22s %16s %16s %8s %16s %16s%n",
+            "Operação", "plataforma req/s", "virtual req/s", "razão", "plataforma p99", "virtual p99");
+        plataforma.forEach((operacao, campos) -> {
+            String[] outro = virtual.get(operacao);
+            if (outro == null) {
+                return;
+            }
+            double vazaoPlataforma = Double.parseDouble(campos[7]);
+            double vazaoVirtual = Double.parseDouble(outro[7]);
+            System.out.printf(Locale.ROOT, "%-22s %16.1f %16.1f %7.2fx %13.2f ms %13.2f ms%n",
+                operacao, vazaoPlataforma, vazaoVirtual,
+                vazaoPlataforma == 0 ? 0 : vazaoVirtual / vazaoPlataforma,
+                Double.parseDouble(campos[9]), Double.parseDouble(outro[9]));
+        });
+    }
+}
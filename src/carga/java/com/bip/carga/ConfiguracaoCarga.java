@@ -0,0 +1,131 @@
+package com.bip.carga;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Opções do {@link GeradorCarga}.
+ *
+ * @param url base da API ({@code http://host:porta/api}); {@code null} inicia a aplicação embarcada
+ * @param rps taxa alvo de requisições por segundo (todas as operações somadas)
+ * @param duracaoSegundos duração da medição
+ * @param aquecimentoSegundos carga inicial descartada das estatísticas
+ * @param selecao perfil de escolha das contas
+ * @param expoenteZipf expoente de Zipf na seleção {@code ZIPF}
+ * @param proporcaoQuente fração das requisições destinadas ao par quente na seleção {@code PAR_QUENTE}
+ * @param beneficios quantidade de benefícios da massa
+ * @param valor valor de cada transferência
+ * @param pesos peso de cada operação no mix
+ * @param maxPendentes limite de requisições em andamento; acima dele as novas são descartadas
+ * @param threadsServidor threads do Jetty embarcado
+ * @param jettyXml configuração aplicada ao Jetty embarcado; {@code null} para nenhuma
+ * @param saida diretório dos histogramas e do resumo; {@code null} apenas imprime o relatório
+ */
+record ConfiguracaoCarga(String url,
+                         int rps,
+                         int duracaoSegundos,
+                         int aquecimentoSegundos,
+                         SeletorContas.Selecao selecao,
+                         double expoenteZipf,
+                         double proporcaoQuente,
+                         int beneficios,
+                         BigDecimal valor,
+                         Map<Operacao, Integer> pesos,
+                         int maxPendentes,
+                         int threadsServidor,
+                         Path jettyXml,
+                         Path saida) {
+
+    ConfiguracaoCarga {
+        if (rps <= 0) {
+            throw new IllegalArgumentException("RPS deve ser positivo");
+        }
+        if (duracaoSegundos <= 0 || aquecimentoSegundos < 0) {
+            throw new IllegalArgumentException("Duração deve ser positiva e aquecimento não negativo");
+        }
+        if (proporcaoQuente < 0 || proporcaoQuente > 1) {
+            throw new IllegalArgumentException("Proporção do par quente deve estar entre 0 e 1");
+        }
+        if (beneficios < 2) {
+            throw new IllegalArgumentException("São necessários ao menos dois benefícios");
+        }
+        if (valor == null || valor.signum() <= 0) {
+            throw new IllegalArgumentException("Valor da transferência deve ser positivo");
+        }
+        if (pesos.values().stream().mapToInt(Integer::intValue).sum() <= 0) {
+            throw new IllegalArgumentException("Informe ao menos uma operação com peso positivo");
+        }
+        if (maxPendentes <= 0 || threadsServidor <= 0) {
+            throw new IllegalArgumentException("Limites de concorrência devem ser positivos");
+        }
+        pesos = Collections.unmodifiableMap(new EnumMap<>(pesos));
+    }
+
+    boolean isEmbarcada() {
+        return url == null;
+    }
+
+    /**
+     * Lê as opções no formato {@code --nome valor}.
+     */
+    static ConfiguracaoCarga fromArgs(String[] args) {
+        Map<String, String> opcoes = new HashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            if (!args[i].startsWith("--") || i + 1 >= args.length) {
+                throw new IllegalArgumentException("Opção inválida: " + args[i] + " (use --nome valor)");
+            }
+            opcoes.put(args[i].substring(2), args[++i]);
+        }
+
+        String jettyXml = opcoes.get("jetty-xml");
+        String saida = opcoes.get("saida");
+        return new ConfiguracaoCarga(
+            opcoes.get("url"),
+            Integer.parseInt(opcoes.getOrDefault("rps", "200")),
+            Integer.parseInt(opcoes.getOrDefault("duracao", "30")),
+            Integer.parseInt(opcoes.getOrDefault("aquecimento", "5")),
+            SeletorContas.Selecao.valueOf(opcoes.getOrDefault("selecao", "UNIFORME").toUpperCase(Locale.ROOT)),
+            Double.parseDouble(opcoes.getOrDefault("zipf", "1.1")),
+            Double.parseDouble(opcoes.getOrDefault("proporcao-quente", "0.9")),
+            Integer.parseInt(opcoes.getOrDefault("beneficios", "1000")),
+            new BigDecimal(opcoes.getOrDefault("valor", "1.00")),
+            lerPesos(opcoes.get("mix")),
+            Integer.parseInt(opcoes.getOrDefault("max-pendentes", "10000")),
+            Integer.parseInt(opcoes.getOrDefault("threads-servidor", "200")),
+            jettyXml == null ? null : Path.of(jettyXml),
+            saida == null ? null : Path.of(saida));
+    }
+
+    /**
+     * Mix no formato {@code TRANSFERIR=30,BUSCAR=70}; operações omitidas ficam com peso zero.
+     */
+    static Map<Operacao, Integer> lerPesos(String mix) {
+        Map<Operacao, Integer> pesos = new EnumMap<>(Operacao.class);
+        if (mix == null || mix.isBlank()) {
+            for (Operacao operacao : Operacao.values()) {
+                pesos.put(operacao, operacao.getPesoPadrao());
+            }
+            return pesos;
+        }
+        for (Operacao operacao : Operacao.values()) {
+            pesos.put(operacao, 0);
+        }
+        for (String item : mix.split(",")) {
+            String[] partes = item.split("=");
+            if (partes.length != 2) {
+                throw new IllegalArgumentException("Item do mix inválido: " + item + " (use OPERACAO=peso)");
+            }
+            int peso = Integer.parseInt(partes[1].strip());
+            if (peso < 0) {
+                throw new IllegalArgumentException("Peso não pode ser negativo: " + item);
+            }
+            pesos.put(Operacao.valueOf(partes[0].strip().toUpperCase(Locale.ROOT)), peso);
+        }
+        return pesos;
+    }
+}
@@ -0,0 +1,265 @@
+package com.bip.carga;
+
+import com.bip.infrastructure.seed.DatasetGenerator;
+import com.bip.infrastructure.seed.SeedConfig;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Gerador de carga HTTP em malha aberta (open-loop) para a API.
+ *
+ * <p>As requisições são disparadas em intervalos fixos para atingir a taxa alvo,
+ * sem esperar as respostas anteriores; a latência é medida a partir do instante
+ * <em>previsto</em> de envio. Assim, um servidor lento acumula fila e a espera
+ * aparece nos percentis, em vez de simplesmente reduzir a taxa enviada
+ * (coordinated omission).</p>
+ *
+ * <p>Sem {@code --url}, a aplicação completa é iniciada em um Jetty embarcado com
+ * H2 em memória e {@code --beneficios} benefícios carregados pelo seed em massa.
+ * As contas de cada requisição são escolhidas pelo {@link SeletorContas}.</p>
+ *
+ * <p>Relatório por operação: requisições, respostas por classe de status,
+ * throughput, p50, p99, p99,9 e máximo. Com {@code --saida}, grava também o
+ * histograma completo de cada operação ({@code .hgrm}) e um resumo em TSV.</p>
+ *
+ * <pre>
+ * mvn -Pcarga -DskipTests test-compile exec:exec \
+ *     -Dcarga.argumentos="--rps 500 --duracao 60 --selecao ZIPF --beneficios 10000"
+ * </pre>
+ */
+public final class GeradorCarga {
+
+    private static final long LATENCIA_MAXIMA_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final ConfiguracaoCarga config;
+    private final Map<Operacao, Estatistica> estatisticas = new EnumMap<>(Operacao.class);
+    private final AtomicInteger pendentes = new AtomicInteger();
+
+    GeradorCarga(ConfiguracaoCarga config) {
+        this.config = config;
+        for (Operacao operacao : Operacao.values()) {
+            if (config.pesos().get(operacao) > 0) {
+                estatisticas.put(operacao, new Estatistica());
+            }
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        ConfiguracaoCarga config = ConfiguracaoCarga.fromArgs(args);
+        DatasetGenerator.Parametros parametros = parametrosMassa(config);
+
+        if (config.isEmbarcada()) {
+            prepararSeed(config);
+            try (AplicacaoEmbarcada aplicacao = AplicacaoEmbarcada.iniciar(config.threadsServidor(), config.jettyXml())) {
+                new GeradorCarga(config).executar(aplicacao.getUriBase(), parametros, System.out);
+            }
+        } else {
+            new GeradorCarga(config).executar(URI.create(config.url()), parametros, System.out);
+        }
+    }
+
+    /**
+     * Parâmetros da massa, lidos das mesmas propriedades do seed para que as contas
+     * sorteadas coincidam com as carregadas.
+     */
+    static DatasetGenerator.Parametros parametrosMassa(ConfiguracaoCarga config) {
+        DatasetGenerator.Parametros seed = DatasetGenerator.Parametros.fromSystemProperties(config.beneficios());
+        return new DatasetGenerator.Parametros(seed.semente(), seed.beneficios(), Integer.MAX_VALUE,
+            config.expoenteZipf(), seed.proporcaoInativos(), seed.saldoMediano(), seed.dispersaoSaldo(),
+            seed.valorMedianoTransferencia());
+    }
+
+    /**
+     * Habilita o seed em massa da aplicação embarcada. Saldos altos evitam que o
+     * par quente esgote o saldo durante a medição; propriedades já definidas
+     * ({@code -Dbip.seed.*}) prevalecem.
+     */
+    private static void prepararSeed(ConfiguracaoCarga config) {
+        definirSeAusente(SeedConfig.PREFIXO + "habilitado", "true");
+        definirSeAusente(SeedConfig.PREFIXO + "linhas", Integer.toString(config.beneficios()));
+        definirSeAusente(DatasetGenerator.PREFIXO + "saldo-mediano", "1000000.00");
+    }
+
+    private static void definirSeAusente(String propriedade, String valor) {
+        if (System.getProperty(propriedade) == null) {
+            System.setProperty(propriedade, valor);
+        }
+    }
+
+    /**
+     * Executa o aquecimento e a medição e imprime o relatório.
+     */
+    void executar(URI base, DatasetGenerator.Parametros parametros, PrintStream saida)
+            throws IOException, InterruptedException {
+        SeletorContas contas = new SeletorContas(config.selecao(), parametros, config.proporcaoQuente());
+        Operacao[] sorteio = tabelaDeSorteio(config.pesos());
+        SplittableRandom aleatorio = new SplittableRandom(parametros.semente());
+        HttpClient cliente = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .build();
+
+        saida.printf(Locale.ROOT, "Carga em %s: %d req/s por %d s (+%d s de aquecimento), seleção %s, %d contas ativas%n",
+            base, config.rps(), config.duracaoSegundos(), config.aquecimentoSegundos(), config.selecao(),
+            contas.getQuantidadeAtivos());
+
+        long inicio = System.nanoTime();
+        long inicioMedicao = inicio + TimeUnit.SECONDS.toNanos(config.aquecimentoSegundos());
+        long fim = inicioMedicao + TimeUnit.SECONDS.toNanos(config.duracaoSegundos());
+        double intervaloNanos = 1_000_000_000.0 / config.rps();
+
+        for (long i = 0; ; i++) {
+            long previsto = inicio + (long) (i * intervaloNanos);
+            if (previsto >= fim) {
+                break;
+            }
+            esperarAte(previsto);
+
+            Operacao operacao = sorteio[aleatorio.nextInt(sorteio.length)];
+            HttpRequest requisicao = operacao.requisicao(base, contas, config.valor());
+            Estatistica estatistica = previsto >= inicioMedicao ? estatisticas.get(operacao) : null;
+            if (pendentes.get() >= config.maxPendentes()) {
+                if (estatistica != null) {
+                    estatistica.descartadas.increment();
+                }
+                continue;
+            }
+
+            pendentes.incrementAndGet();
+            cliente.sendAsync(requisicao, HttpResponse.BodyHandlers.discarding())
+                .whenComplete((resposta, erro) -> {
+                    long latencia = System.nanoTime() - previsto;
+                    pendentes.decrementAndGet();
+                    if (estatistica != null) {
+                        estatistica.registrar(resposta, erro, latencia);
+                    }
+                });
+        }
+
+        aguardarPendentes();
+        imprimirRelatorio(saida);
+        if (config.saida() != null) {
+            gravarArquivos(config.saida());
+            saida.println("Histogramas e resumo gravados em " + config.saida().toAbsolutePath());
+        }
+    }
+
+    private static Operacao[] tabelaDeSorteio(Map<Operacao, Integer> pesos) {
+        List<Operacao> tabela = new ArrayList<>();
+        pesos.forEach((operacao, peso) -> {
+            for (int i = 0; i < peso; i++) {
+                tabela.add(operacao);
+            }
+        });
+        return tabela.toArray(new Operacao[0]);
+    }
+
+    private static void esperarAte(long instante) {
+        long restante;
+        while ((restante = instante - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(restante);
+        }
+    }
+
+    private void aguardarPendentes() throws InterruptedException {
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(35);
+        while (pendentes.get() > 0 && System.nanoTime() < limite) {
+            Thread.sleep(10);
+        }
+    }
+
+    private void imprimirRelatorio(PrintStream saida) {
+        saida.printf(Locale.ROOT, "%n%-28s %11s %8s %6s %6s %7s %11s %9s %9s %9s %9s %9s%n",
+            "Operação", "Requisições", "2xx", "4xx", "5xx", "Falhas", "Descartadas",
+            "req/s", "p50 ms", "p99 ms", "p99.9 ms", "máx ms");
+        estatisticas.forEach((operacao, estatistica) -> {
+            Histogram histograma = estatistica.latencias;
+            saida.printf(Locale.ROOT, "%-28s %11d %8d %6d %6d %7d %11d %9.1f %9.2f %9.2f %9.2f %9.2f%n",
+                operacao.getDescricao(), estatistica.total(), estatistica.sucesso.sum(),
+                estatistica.erroCliente.sum(), estatistica.erroServidor.sum(), estatistica.falhas.sum(),
+                estatistica.descartadas.sum(), estatistica.respondidas() / (double) config.duracaoSegundos(),
+                milis(histograma.getValueAtPercentile(50)), milis(histograma.getValueAtPercentile(99)),
+                milis(histograma.getValueAtPercentile(99.9)), milis(histograma.getMaxValue()));
+        });
+    }
+
+    private void gravarArquivos(Path diretorio) throws IOException {
+        Files.createDirectories(diretorio);
+        List<String> resumo = new ArrayList<>();
+        resumo.add("operacao\trequisicoes\t2xx\t4xx\t5xx\tfalhas\tdescartadas\treq_s\tp50_ms\tp99_ms\tp999_ms\tmax_ms");
+        for (Map.Entry<Operacao, Estatistica> entrada : estatisticas.entrySet()) {
+            Estatistica estatistica = entrada.getValue();
+            Histogram histograma = estatistica.latencias;
+            try (PrintStream arquivo = new PrintStream(
+                    Files.newOutputStream(diretorio.resolve(entrada.getKey().name().toLowerCase(Locale.ROOT) + ".hgrm")),
+                    false, StandardCharsets.UTF_8)) {
+                // Valores em microssegundos; o relatório é escalado para milissegundos
+                histograma.outputPercentileDistribution(arquivo, 1_000.0);
+            }
+            resumo.add(String.format(Locale.ROOT, "%s\t%d\t%d\t%d\t%d\t%d\t%d\t%.1f\t%.2f\t%.2f\t%.2f\t%.2f",
+                entrada.getKey().name(), estatistica.total(), estatistica.sucesso.sum(),
+                estatistica.erroCliente.sum(), estatistica.erroServidor.sum(), estatistica.falhas.sum(),
+                estatistica.descartadas.sum(), estatistica.respondidas() / (double) config.duracaoSegundos(),
+                milis(histograma.getValueAtPercentile(50)), milis(histograma.getValueAtPercentile(99)),
+                milis(histograma.getValueAtPercentile(99.9)), milis(histograma.getMaxValue())));
+        }
+        Files.write(diretorio.resolve("resumo.tsv"), resumo, StandardCharsets.UTF_8);
+    }
+
+    private static double milis(long micros) {
+        return micros / 1_000.0;
+    }
+
+    /**
+     * Contadores e histograma de latência (em microssegundos) de uma operação.
+     */
+    private static final class Estatistica {
+
+        private final Histogram latencias = new ConcurrentHistogram(LATENCIA_MAXIMA_MICROS, 3);
+        private final LongAdder sucesso = new LongAdder();
+        private final LongAdder erroCliente = new LongAdder();
+        private final LongAdder erroServidor = new LongAdder();
+        private final LongAdder falhas = new LongAdder();
+        private final LongAdder descartadas = new LongAdder();
+
+        void registrar(HttpResponse<?> resposta, Throwable erro, long latenciaNanos) {
+            latencias.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(latenciaNanos), LATENCIA_MAXIMA_MICROS));
+            if (erro != null) {
+                falhas.increment();
+            } else if (resposta.statusCode() >= 500) {
+                erroServidor.increment();
+            } else if (resposta.statusCode() >= 400) {
+                erroCliente.increment();
+            } else {
+                sucesso.increment();
+            }
+        }
+
+        long respondidas() {
+            return sucesso.sum() + erroCliente.sum() + erroServidor.sum();
+        }
+
+        long total() {
+            return respondidas() + falhas.sum() + descartadas.sum();
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.bip.carga;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+
+/**
+ * Endpoints exercitados pelo gerador de carga, com o peso padrão de cada um no mix.
+ */
+enum Operacao {
+
+    TRANSFERIR("POST /transferencias", 30) {
+        @Override
+        HttpRequest requisicao(URI base, SeletorContas contas, BigDecimal valor) {
+            long[] par = contas.par();
+            String corpo = String.format("{\"beneficioOrigemId\":%d,\"beneficioDestinoId\":%d,\"valor\":%s}",
+                par[0], par[1], valor.toPlainString());
+            return criar(base, "/transferencias")
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(corpo))
+                .build();
+        }
+    },
+
+    BUSCAR("GET /beneficios/{id}", 50) {
+        @Override
+        HttpRequest requisicao(URI base, SeletorContas contas, BigDecimal valor) {
+            return criar(base, "/beneficios/" + contas.conta()).GET().build();
+        }
+    },
+
+    ATIVOS("GET /beneficios/ativos", 5) {
+        @Override
+        HttpRequest requisicao(URI base, SeletorContas contas, BigDecimal valor) {
+            return criar(base, "/beneficios/ativos").GET().build();
+        }
+    },
+
+    ESTATISTICAS("GET /beneficios/estatisticas", 5) {
+        @Override
+        HttpRequest requisicao(URI base, SeletorContas contas, BigDecimal valor) {
+            return criar(base, "/beneficios/estatisticas").GET().build();
+        }
+    },
+
+    TAXA("GET /transferencias/taxa", 10) {
+        @Override
+        HttpRequest requisicao(URI base, SeletorContas contas, BigDecimal valor) {
+            return criar(base, "/transferencias/taxa?valor=" + valor.toPlainString()).GET().build();
+        }
+    };
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private final String descricao;
+    private final int pesoPadrao;
+
+    Operacao(String descricao, int pesoPadrao) {
+        this.descricao = descricao;
+        this.pesoPadrao = pesoPadrao;
+    }
+
+    String getDescricao() {
+        return descricao;
+    }
+
+    int getPesoPadrao() {
+        return pesoPadrao;
+    }
+
+    /**
+     * Monta a próxima requisição da operação, escolhendo as contas pelo seletor.
+     */
+    abstract HttpRequest requisicao(URI base, SeletorContas contas, BigDecimal valor);
+
+    private static HttpRequest.Builder criar(URI base, String caminho) {
+        return HttpRequest.newBuilder(URI.create(base + caminho))
+            .timeout(TIMEOUT)
+            .header("Accept", "application/json");
+    }
+}
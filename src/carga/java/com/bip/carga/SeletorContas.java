@@ -0,0 +1,108 @@
+package com.bip.carga;
+
+import com.bip.infrastructure.seed.DatasetGenerator;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+/**
+ * Escolhe as contas de cada requisição segundo o perfil de contenção.
+ *
+ * <p>As contas são as geradas pelo {@link DatasetGenerator} com os mesmos
+ * parâmetros do seed, de modo que apenas benefícios ativos são sorteados e os IDs
+ * coincidem com as posições (base 1) da massa carregada em um banco vazio.</p>
+ *
+ * <p>Não é thread-safe: é usado apenas pela thread que agenda as requisições.</p>
+ */
+final class SeletorContas {
+
+    /**
+     * Perfil de escolha das contas.
+     */
+    enum Selecao {
+        /** Qualquer benefício ativo, com a mesma probabilidade. */
+        UNIFORME,
+        /** Um único par de contas recebe a maior parte do tráfego; o restante é uniforme. */
+        PAR_QUENTE,
+        /** Popularidade segundo a distribuição de Zipf do {@link DatasetGenerator}. */
+        ZIPF
+    }
+
+    private final Selecao selecao;
+    private final double proporcaoQuente;
+    private final SplittableRandom aleatorio;
+    private final long[] ativos;
+    private final Iterator<DatasetGenerator.Transferencia> zipf;
+
+    SeletorContas(Selecao selecao, DatasetGenerator.Parametros parametros, double proporcaoQuente) {
+        DatasetGenerator gerador = new DatasetGenerator(parametros);
+        this.selecao = selecao;
+        this.proporcaoQuente = proporcaoQuente;
+        this.aleatorio = new SplittableRandom(parametros.semente());
+        this.ativos = IntStream.range(0, parametros.beneficios())
+            .filter(gerador::isAtivo)
+            .mapToLong(posicao -> posicao + 1L)
+            .toArray();
+        if (ativos.length < 2) {
+            throw new IllegalArgumentException("São necessários ao menos dois benefícios ativos");
+        }
+        this.zipf = selecao == Selecao.ZIPF ? gerador.transferencias() : null;
+    }
+
+    /**
+     * Par origem/destino distinto para uma transferência.
+     */
+    long[] par() {
+        switch (selecao) {
+            case ZIPF:
+                DatasetGenerator.Transferencia transferencia = zipf.next();
+                return new long[] {transferencia.origem(), transferencia.destino()};
+            case PAR_QUENTE:
+                if (aleatorio.nextDouble() < proporcaoQuente) {
+                    // Alterna o sentido para que os saldos do par não se esgotem
+                    return aleatorio.nextBoolean()
+                        ? new long[] {ativos[0], ativos[1]}
+                        : new long[] {ativos[1], ativos[0]};
+                }
+                return parUniforme();
+            default:
+                return parUniforme();
+        }
+    }
+
+    /**
+     * Conta consultada por uma leitura.
+     */
+    long conta() {
+        switch (selecao) {
+            case ZIPF:
+                return zipf.next().origem();
+            case PAR_QUENTE:
+                if (aleatorio.nextDouble() < proporcaoQuente) {
+                    return ativos[aleatorio.nextInt(2)];
+                }
+                return ativos[aleatorio.nextInt(ativos.length)];
+            default:
+                return ativos[aleatorio.nextInt(ativos.length)];
+        }
+    }
+
+    int getQuantidadeAtivos() {
+        return ativos.length;
+    }
+
+    long[] getParQuente() {
+        return Arrays.copyOf(ativos, 2);
+    }
+
+    private long[] parUniforme() {
+        int origem = aleatorio.nextInt(ativos.length);
+        int destino = aleatorio.nextInt(ativos.length - 1);
+        if (destino >= origem) {
+            destino++;
+        }
+        return new long[] {ativos[origem], ativos[destino]};
+    }
+}
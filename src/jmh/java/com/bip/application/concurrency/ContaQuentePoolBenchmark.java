@@ -0,0 +1,277 @@
+package com.bip.application.concurrency;
+
+import com.bip.domain.entities.Beneficio;
+import com.bip.domain.entities.SaldoSlot;
+import com.bip.domain.valueobjects.Money;
+import com.bip.infrastructure.persistence.BeneficioRepositoryImpl;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.engine.jdbc.connections.spi.ConnectionProvider;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Transferências concorrentes sobre uma conta quente contra um H2 com pool de
+ * conexões limitado, com o {@link StripedLockManager} ligado e desligado.
+ *
+ * <p>Doze threads transferem entre os benefícios 1 e 2 e quatro entre contas
+ * frias sorteadas, todas pelo caminho pessimista do repositório: transação,
+ * {@code findByIdsWithLock} ({@code SELECT ... FOR UPDATE}), débito, crédito e
+ * commit. O pool tem {@value #CONEXOES} conexões e bloqueia quem chega com ele
+ * esgotado.</p>
+ *
+ * <p>Sem striping, as transferências quentes ocupam as conexões enquanto esperam
+ * o lock de linha no banco, e as frias esperam o pool sem disputar linha alguma.
+ * Com striping, as quentes esperam na JVM antes de abrir a transação, e só uma
+ * ocupa conexão. O score de {@code fria} mostra a vazão devolvida às demais
+ * contas. O contador {@code esperaPoolMs} soma o tempo de espera por conexão
+ * na iteração.</p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Benchmark)
+public class ContaQuentePoolBenchmark {
+
+    static final int CONEXOES = 4;
+    static final int BENEFICIOS = 1_000;
+
+    private static final Long CONTA_QUENTE = 1L;
+    private static final Long CONTA_DESTINO = 2L;
+    private static final Money VALOR = Money.of(new BigDecimal("0.01"));
+    private static final Money SALDO_INICIAL = Money.of(new BigDecimal("1000000000.00"));
+
+    @Param({"true", "false"})
+    private boolean striping;
+
+    private PoolLimitado pool;
+    private SessionFactory sessionFactory;
+    private final StripedLockManager lockManager = new StripedLockManager();
+
+    @Setup(Level.Trial)
+    public void abrirBanco() throws SQLException {
+        lockManager.configurar(striping, 256, 30_000);
+        pool = new PoolLimitado("jdbc:h2:mem:conta-quente;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=30000", CONEXOES);
+
+        Configuration configuracao = new Configuration()
+            .addAnnotatedClass(Beneficio.class)
+            .addAnnotatedClass(SaldoSlot.class)
+            .setProperty("hibernate.hbm2ddl.auto", "create");
+        configuracao.getProperties().put(AvailableSettings.CONNECTION_PROVIDER, pool);
+        sessionFactory = configuracao.buildSessionFactory();
+
+        try (Session session = sessionFactory.openSession()) {
+            session.beginTransaction();
+            for (int i = 1; i <= BENEFICIOS; i++) {
+                session.persist(Beneficio.criar(String.format("Beneficio %09d", i), "Benefício de benchmark",
+                    SALDO_INICIAL));
+            }
+            session.getTransaction().commit();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void fecharBanco() throws SQLException {
+        sessionFactory.close();
+        pool.fechar();
+    }
+
+    /**
+     * Repositório e {@link EntityManager} exclusivos de uma thread, como uma requisição.
+     */
+    @State(Scope.Thread)
+    public static class Acesso {
+
+        // Semente fixa por thread: a mesma sequência de contas em todas as execuções
+        private static final AtomicLong SEMENTES = new AtomicLong(42);
+
+        private final SplittableRandom aleatorio = new SplittableRandom(SEMENTES.getAndIncrement());
+        private EntityManager entityManager;
+        private BeneficioRepositoryImpl repository;
+
+        @Setup(Level.Trial)
+        public void abrir(ContaQuentePoolBenchmark banco) throws ReflectiveOperationException {
+            entityManager = banco.sessionFactory.createEntityManager();
+            repository = new BeneficioRepositoryImpl();
+            Field campo = BeneficioRepositoryImpl.class.getDeclaredField("entityManager");
+            campo.setAccessible(true);
+            campo.set(repository, entityManager);
+        }
+
+        @TearDown(Level.Trial)
+        public void fechar() {
+            entityManager.close();
+        }
+
+        Long contaFria() {
+            // Os benefícios 1 e 2 ficam com as transferências quentes
+            return (long) aleatorio.nextInt(3, BENEFICIOS + 1);
+        }
+    }
+
+    /**
+     * Espera por conexão da thread, somada na iteração.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class EsperaPool {
+
+        private long esperaNanos;
+
+        @Setup(Level.Iteration)
+        public void zerar() {
+            esperaNanos = 0;
+        }
+
+        public double esperaPoolMs() {
+            return esperaNanos / 1_000_000.0;
+        }
+    }
+
+    @Benchmark
+    @Group("transferencias")
+    @GroupThreads(12)
+    public void quente(Acesso acesso, EsperaPool espera) {
+        transferir(acesso, CONTA_QUENTE, CONTA_DESTINO, espera);
+    }
+
+    @Benchmark
+    @Group("transferencias")
+    @GroupThreads(4)
+    public void fria(Acesso acesso, EsperaPool espera) {
+        Long origem = acesso.contaFria();
+        Long destino = acesso.contaFria();
+        while (destino.equals(origem)) {
+            destino = acesso.contaFria();
+        }
+        transferir(acesso, origem, destino, espera);
+    }
+
+    private void transferir(Acesso acesso, Long origemId, Long destinoId, EsperaPool espera) {
+        BeneficioRepositoryImpl repository = acesso.repository;
+        try (StripedLockManager.Bloqueio bloqueio = lockManager.adquirir(origemId, destinoId)) {
+            // Leituras com lock precisam chegar ao banco, não ao contexto de persistência
+            acesso.entityManager.clear();
+            repository.executeInTransaction(() -> {
+                for (Beneficio beneficio : repository.findByIdsWithLock(List.of(origemId, destinoId))) {
+                    if (beneficio.getId().equals(origemId)) {
+                        beneficio.debitar(VALOR);
+                    } else {
+                        beneficio.creditar(VALOR);
+                    }
+                }
+                return null;
+            });
+        } finally {
+            espera.esperaNanos += pool.retirarEspera();
+        }
+    }
+
+    /**
+     * Pool de conexões de tamanho fixo que bloqueia quem chega com ele esgotado,
+     * como o pool de um servidor de aplicação. O pool embutido do Hibernate abre
+     * conexões até o limite e depois falha, sem fila.
+     */
+    static final class PoolLimitado implements ConnectionProvider {
+
+        private static final long ESPERA_MAXIMA_SEGUNDOS = 30;
+
+        private final List<Connection> todas = new ArrayList<>();
+        private final BlockingQueue<Connection> livres;
+        private final ThreadLocal<long[]> esperaDaThread = ThreadLocal.withInitial(() -> new long[1]);
+
+        PoolLimitado(String url, int tamanho) throws SQLException {
+            livres = new ArrayBlockingQueue<>(tamanho);
+            for (int i = 0; i < tamanho; i++) {
+                Connection conexao = DriverManager.getConnection(url, "sa", "");
+                todas.add(conexao);
+                livres.add(conexao);
+            }
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            long inicio = System.nanoTime();
+            Connection conexao;
+            try {
+                conexao = livres.poll(ESPERA_MAXIMA_SEGUNDOS, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SQLException("Interrompido aguardando conexão", e);
+            }
+            esperaDaThread.get()[0] += System.nanoTime() - inicio;
+            if (conexao == null) {
+                throw new SQLException("Nenhuma conexão livre em " + ESPERA_MAXIMA_SEGUNDOS + " s");
+            }
+            return conexao;
+        }
+
+        @Override
+        public void closeConnection(Connection conexao) {
+            livres.add(conexao);
+        }
+
+        @Override
+        public boolean supportsAggressiveRelease() {
+            return false;
+        }
+
+        @Override
+        public boolean isUnwrappableAs(Class<?> tipo) {
+            return false;
+        }
+
+        @Override
+        public <T> T unwrap(Class<T> tipo) {
+            throw new UnsupportedOperationException("PoolLimitado não expõe " + tipo.getName());
+        }
+
+        /**
+         * Espera acumulada pela thread atual desde a última chamada.
+         */
+        long retirarEspera() {
+            long[] espera = esperaDaThread.get();
+            long total = espera[0];
+            espera[0] = 0;
+            return total;
+        }
+
+        void fechar() throws SQLException {
+            for (Connection conexao : todas) {
+                conexao.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.bip.application.concurrency;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Aquisição de stripes do {@link StripedLockManager} com várias threads:
+ * todas sobre a mesma conta quente ou espalhadas entre muitas contas.
+ *
+ * <p>A diferença entre os dois cenários mede o custo da contenção; as
+ * estatísticas de cada stripe somam-se a esse custo em ambos.</p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class StripedLockManagerBenchmark {
+
+    private static final Long CONTA_QUENTE = 1L;
+    private static final Long CONTA_DESTINO = 2L;
+
+    private final StripedLockManager lockManager = new StripedLockManager();
+
+    @Setup
+    public void preparar() {
+        lockManager.configurar(true, 256, 5_000);
+    }
+
+    @State(Scope.Thread)
+    public static class Contas {
+
+        // Semente fixa por thread: a mesma sequência de contas em todas as execuções
+        private static final AtomicLong SEMENTES = new AtomicLong(42);
+
+        private final SplittableRandom aleatorio = new SplittableRandom(SEMENTES.getAndIncrement());
+
+        Long proxima() {
+            return (long) aleatorio.nextInt(1, 100_000);
+        }
+    }
+
+    @Benchmark
+    public void contaQuente() {
+        try (StripedLockManager.Bloqueio bloqueio = lockManager.adquirir(CONTA_QUENTE, CONTA_DESTINO)) {
+            // seção crítica vazia: mede apenas aquisição e liberação
+        }
+    }
+
+    @Benchmark
+    public void contasDistribuidas(Contas contas) {
+        try (StripedLockManager.Bloqueio bloqueio = lockManager.adquirir(contas.proxima(), contas.proxima())) {
+            // seção crítica vazia: mede apenas aquisição e liberação
+        }
+    }
+}
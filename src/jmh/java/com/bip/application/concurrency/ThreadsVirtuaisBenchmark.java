@@ -0,0 +1,114 @@
+package com.bip.application.concurrency;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Vazão de requisições bloqueantes com alta concorrência: o pool de threads de
+ * plataforma do Jetty contra uma thread virtual por requisição.
+ *
+ * <p>Cada invocação dispara {@value #REQUISICOES} requisições simultâneas que
+ * esperam {@code latenciaMillis}, como a ida e volta ao banco, e aguarda todas.
+ * O score é em requisições por segundo. Com {@value #THREADS_PLATAFORMA}
+ * threads (o máximo padrão do Jetty) o pool atende em ondas. Com threads
+ * virtuais todas esperam ao mesmo tempo.</p>
+ *
+ * <p>{@code virtual-fixada} espera dentro de um bloco {@code synchronized}. No
+ * Java 21 isso prende a thread portadora, e a vazão cai para a de um pool do
+ * tamanho do número de núcleos. Por isso o caminho de persistência usa
+ * {@code ReentrantLock}.</p>
+ *
+ * <p>O benchmark isola o agendamento das threads; a comparação com a API
+ * completa (Jersey, compartimentos e H2) é a {@code ComparacaoThreadsVirtuais}
+ * do profile {@code carga}.</p>
+ *
+ * <p>Os modos virtuais exigem Java 21 e falham na preparação em JVMs
+ * anteriores: {@code mvn -Pbenchmarks,java21 -DskipTests test-compile exec:exec
+ * -Djmh.incluir=ThreadsVirtuaisBenchmark}.</p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ThreadsVirtuaisBenchmark {
+
+    static final int REQUISICOES = 2_000;
+    static final int THREADS_PLATAFORMA = 200;
+
+    @Param({"plataforma", "virtual", "virtual-fixada"})
+    private String modo;
+
+    @Param({"2", "10"})
+    private long latenciaMillis;
+
+    private ExecutorService executor;
+    private Runnable requisicao;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        long latenciaNanos = TimeUnit.MILLISECONDS.toNanos(latenciaMillis);
+        switch (modo) {
+            case "plataforma" -> {
+                executor = Executors.newFixedThreadPool(THREADS_PLATAFORMA);
+                requisicao = () -> LockSupport.parkNanos(latenciaNanos);
+            }
+            case "virtual" -> {
+                executor = ThreadsVirtuais.executorPorTarefa("benchmark-");
+                requisicao = () -> LockSupport.parkNanos(latenciaNanos);
+            }
+            case "virtual-fixada" -> {
+                executor = ThreadsVirtuais.executorPorTarefa("benchmark-");
+                requisicao = () -> {
+                    // Um monitor por requisição: sem disputa, apenas a fixação na portadora
+                    Object monitor = new Object();
+                    synchronized (monitor) {
+                        LockSupport.parkNanos(latenciaNanos);
+                    }
+                };
+            }
+            default -> throw new IllegalArgumentException("Modo desconhecido: " + modo);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(30, TimeUnit.SECONDS);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(REQUISICOES)
+    public void requisicoesSimultaneas() throws InterruptedException {
+        CountDownLatch concluidas = new CountDownLatch(REQUISICOES);
+        for (int i = 0; i < REQUISICOES; i++) {
+            executor.execute(() -> {
+                try {
+                    requisicao.run();
+                } finally {
+                    concluidas.countDown();
+                }
+            });
+        }
+        concluidas.await();
+    }
+}
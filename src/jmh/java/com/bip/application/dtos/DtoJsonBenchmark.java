@@ -0,0 +1,90 @@
+package com.bip.application.dtos;
+
+import com.bip.infrastructure.configuration.JacksonConfig;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialização e desserialização dos DTOs da API com o {@link ObjectMapper}
+ * compartilhado pelos endpoints ({@link JacksonConfig#getObjectMapper()}).
+ *
+ * <p>{@code tamanho} vai de uma consulta unitária até uma listagem grande.</p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DtoJsonBenchmark {
+
+    @Param({"1", "100", "1000"})
+    private int tamanho;
+
+    private final ObjectMapper mapper = JacksonConfig.getObjectMapper();
+
+    private List<BeneficioDto> beneficios;
+    private List<HistoricoTransferenciaDto> historico;
+    private byte[] beneficiosJson;
+    private byte[] historicoJson;
+    private JavaType tipoBeneficios;
+    private JavaType tipoHistorico;
+
+    @Setup
+    public void preparar() throws IOException {
+        LocalDateTime agora = LocalDateTime.of(2024, 3, 15, 10, 30, 45, 123_000_000);
+        beneficios = new ArrayList<>(tamanho);
+        historico = new ArrayList<>(tamanho);
+        for (int i = 0; i < tamanho; i++) {
+            beneficios.add(new BeneficioDto((long) i + 1, String.format("Beneficio %06d", i + 1),
+                "Auxílio para despesas com alimentação", BigDecimal.valueOf(150_075 + i, 2), i % 10 != 0,
+                agora.minusDays(i), agora));
+            historico.add(new HistoricoTransferenciaDto((long) i + 1, (long) i + 1, "Vale Alimentação",
+                (long) i + 2, "Vale Refeição", BigDecimal.valueOf(10_050 + i, 2), BigDecimal.valueOf(101, 2),
+                "Transferência entre benefícios", agora.minusMinutes(i), "CONCLUIDA"));
+        }
+
+        tipoBeneficios = mapper.getTypeFactory().constructCollectionType(List.class, BeneficioDto.class);
+        tipoHistorico = mapper.getTypeFactory().constructCollectionType(List.class, HistoricoTransferenciaDto.class);
+        beneficiosJson = mapper.writeValueAsBytes(beneficios);
+        historicoJson = mapper.writeValueAsBytes(historico);
+    }
+
+    @Benchmark
+    public byte[] serializarBeneficios() throws IOException {
+        return mapper.writeValueAsBytes(beneficios);
+    }
+
+    @Benchmark
+    public List<BeneficioDto> desserializarBeneficios() throws IOException {
+        return mapper.readValue(beneficiosJson, tipoBeneficios);
+    }
+
+    @Benchmark
+    public byte[] serializarHistorico() throws IOException {
+        return mapper.writeValueAsBytes(historico);
+    }
+
+    @Benchmark
+    public List<HistoricoTransferenciaDto> desserializarHistorico() throws IOException {
+        return mapper.readValue(historicoJson, tipoHistorico);
+    }
+}
@@ -0,0 +1,64 @@
+package com.bip.application.mappers;
+
+import com.bip.application.dtos.BeneficioDto;
+import com.bip.domain.entities.Beneficio;
+import com.bip.domain.valueobjects.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversão de entidades para DTO, executada em toda listagem e consulta.
+ *
+ * <p>{@code tamanho} cobre a consulta unitária, páginas típicas e a listagem
+ * completa de ativos.</p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BeneficioMapperBenchmark {
+
+    @Param({"1", "10", "100", "1000", "10000"})
+    private int tamanho;
+
+    private final BeneficioMapper mapper = new BeneficioMapper();
+
+    private List<Beneficio> beneficios;
+    private Beneficio beneficio;
+
+    @Setup
+    public void preparar() {
+        beneficios = new ArrayList<>(tamanho);
+        for (int i = 0; i < tamanho; i++) {
+            beneficios.add(Beneficio.criar(String.format("Beneficio %06d", i), "Benefício de benchmark",
+                Money.of(BigDecimal.valueOf(10_000 + i, 2))));
+        }
+        beneficio = beneficios.get(0);
+    }
+
+    @Benchmark
+    public BeneficioDto toDto() {
+        return mapper.toDto(beneficio);
+    }
+
+    @Benchmark
+    public List<BeneficioDto> toDtoList() {
+        return mapper.toDtoList(beneficios);
+    }
+}
@@ -0,0 +1,126 @@
+package com.bip.application.services;
+
+import com.bip.domain.entities.Beneficio;
+import com.bip.domain.entities.SaldoSlot;
+import com.bip.domain.valueobjects.Money;
+import com.bip.infrastructure.persistence.BeneficioRepositoryImpl;
+import com.bip.infrastructure.persistence.SaldoSlotRepositoryImpl;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.Configuration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Créditos concorrentes em um benefício fragmentado contra um H2, variando a
+ * quantidade de slots.
+ *
+ * <p>Oito threads creditam o mesmo benefício pelo {@link SaldoFragmentadoService},
+ * como as transferências que chegam a um fundo central: cada crédito é uma
+ * transação com {@code UPDATE} em um slot sorteado, que segura a linha por
+ * {@code retencaoMicros} antes do commit. A retenção representa o resto da
+ * transferência (a outra perna) e o round trip do commit em um banco remoto;
+ * sem ela o H2 em memória confirma em microssegundos e a disputa não aparece.</p>
+ *
+ * <p>Com um slot, todas as threads esperam a mesma linha e a vazão fica perto
+ * de uma transação por retenção; com mais slots, a espera se divide entre as
+ * linhas. O repositório abre um EntityManager e uma conexão por transação, então
+ * a JVM não serializa os créditos.</p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@Threads(SaldoFragmentadoBenchmark.THREADS)
+@State(Scope.Benchmark)
+public class SaldoFragmentadoBenchmark {
+
+    static final int THREADS = 8;
+
+    private static final Money VALOR = Money.of(new BigDecimal("0.01"));
+
+    @Param({"1", "4", "16"})
+    private int slots;
+
+    @Param({"200"})
+    private long retencaoMicros;
+
+    private SessionFactory sessionFactory;
+    private EntityManager entityManager;
+    private BeneficioRepositoryImpl beneficios;
+    private SaldoFragmentadoService saldoFragmentado;
+    private Beneficio fundo;
+
+    @Setup(Level.Trial)
+    public void abrirBanco() throws ReflectiveOperationException {
+        sessionFactory = new Configuration()
+            .addAnnotatedClass(Beneficio.class)
+            .addAnnotatedClass(SaldoSlot.class)
+            .setProperty("hibernate.connection.url",
+                "jdbc:h2:mem:saldo-fragmentado-" + slots + ";DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=30000")
+            .setProperty("hibernate.connection.username", "sa")
+            .setProperty("hibernate.connection.password", "")
+            .setProperty("hibernate.connection.pool_size", String.valueOf(THREADS * 2))
+            .setProperty("hibernate.hbm2ddl.auto", "create")
+            .buildSessionFactory();
+
+        try (Session session = sessionFactory.openSession()) {
+            session.beginTransaction();
+            fundo = Beneficio.criar("Fundo central", "Benefício quente de benchmark", Money.zero());
+            session.persist(fundo);
+            session.getTransaction().commit();
+        }
+
+        entityManager = sessionFactory.createEntityManager();
+        beneficios = new BeneficioRepositoryImpl();
+        injetar(beneficios, "entityManager", entityManager);
+        SaldoSlotRepositoryImpl slotRepository = new SaldoSlotRepositoryImpl();
+        injetar(slotRepository, "beneficioRepository", beneficios);
+
+        saldoFragmentado = new SaldoFragmentadoService();
+        injetar(saldoFragmentado, "beneficioRepository", beneficios);
+        injetar(saldoFragmentado, "saldoSlotRepository", slotRepository);
+        saldoFragmentado.configurar(Set.of(fundo.getId()), slots);
+    }
+
+    @TearDown(Level.Trial)
+    public void fecharBanco() {
+        entityManager.close();
+        sessionFactory.close();
+    }
+
+    @Benchmark
+    public void creditar() {
+        beneficios.executeInTransaction(() -> {
+            saldoFragmentado.creditar(fundo, VALOR);
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(retencaoMicros));
+            return null;
+        });
+    }
+
+    private static void injetar(Object alvo, String campo, Object valor) throws ReflectiveOperationException {
+        Field field = alvo.getClass().getDeclaredField(campo);
+        field.setAccessible(true);
+        field.set(alvo, valor);
+    }
+}
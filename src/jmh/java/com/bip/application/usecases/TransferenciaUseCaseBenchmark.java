@@ -0,0 +1,47 @@
+package com.bip.application.usecases;
+
+import com.bip.domain.valueobjects.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cálculo da taxa de transferência. Não depende das dependências injetadas,
+ * então o caso de uso é instanciado diretamente.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TransferenciaUseCaseBenchmark {
+
+    @Param({"0.01", "150.75", "98765432.10"})
+    private String valor;
+
+    private final TransferenciaUseCase useCase = new TransferenciaUseCase();
+
+    private BigDecimal decimal;
+
+    @Setup
+    public void preparar() {
+        decimal = new BigDecimal(valor);
+    }
+
+    @Benchmark
+    public Money calcularTaxa() {
+        return useCase.calcularTaxa(decimal);
+    }
+}
@@ -0,0 +1,99 @@
+package com.bip.desempenho;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Carga fixa que não depende do código da aplicação, usada pelo
+ * {@link VerificadorRegressao} como unidade de medida: os tempos do portão são
+ * comparados em múltiplos desta operação, medida na mesma execução.
+ *
+ * <p>Combina os três recursos que os benchmarks do portão disputam com o
+ * restante da máquina: aritmética inteira, alocação de objetos curtos
+ * ({@link BigDecimal}, como em {@code Money}) e leituras fora do cache L1. Uma
+ * CPU mais lenta, um vizinho disputando cache ou banda de memória encarecem
+ * esta operação na mesma direção que os benchmarks medidos.</p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CalibracaoBenchmark {
+
+    private static final int INTEIROS = 256;
+    private static final int PARCELAS = 16;
+    private static final int SALTOS = 64;
+
+    /**
+     * 256 KiB: maior que o L1 e o L2 de um núcleo típico.
+     */
+    private static final int TAMANHO_CICLO = 64 * 1024;
+
+    private long[] inteiros;
+    private BigDecimal[] parcelas;
+    private int[] ciclo;
+    private int posicao;
+
+    @Setup
+    public void preparar() {
+        SplittableRandom aleatorio = new SplittableRandom(42);
+        inteiros = new long[INTEIROS];
+        for (int i = 0; i < INTEIROS; i++) {
+            inteiros[i] = aleatorio.nextLong();
+        }
+        parcelas = new BigDecimal[PARCELAS];
+        for (int i = 0; i < PARCELAS; i++) {
+            parcelas[i] = BigDecimal.valueOf(aleatorio.nextLong(1_000_000), 2);
+        }
+
+        // Permutação em um único ciclo (Sattolo): cada salto cai em uma linha de cache imprevisível
+        ciclo = new int[TAMANHO_CICLO];
+        for (int i = 0; i < TAMANHO_CICLO; i++) {
+            ciclo[i] = i;
+        }
+        for (int i = TAMANHO_CICLO - 1; i > 0; i--) {
+            int j = aleatorio.nextInt(i);
+            int troca = ciclo[i];
+            ciclo[i] = ciclo[j];
+            ciclo[j] = troca;
+        }
+    }
+
+    @Benchmark
+    public long calibrar() {
+        long acumulado = 0;
+        for (long valor : inteiros) {
+            // Finalizador do SplitMix64: multiplicações e deslocamentos dependentes
+            valor = (valor ^ (valor >>> 30)) * 0xBF58476D1CE4E5B9L;
+            valor = (valor ^ (valor >>> 27)) * 0x94D049BB133111EBL;
+            acumulado += valor ^ (valor >>> 31);
+        }
+
+        BigDecimal soma = BigDecimal.ZERO;
+        for (BigDecimal parcela : parcelas) {
+            soma = soma.add(parcela);
+        }
+
+        int atual = posicao;
+        for (int i = 0; i < SALTOS; i++) {
+            atual = ciclo[atual];
+        }
+        posicao = atual;
+
+        return acumulado + soma.unscaledValue().longValue() + atual;
+    }
+}
@@ -0,0 +1,430 @@
+package com.bip.desempenho;
+
+import com.bip.application.mappers.BeneficioMapperBenchmark;
+import com.bip.application.usecases.TransferenciaUseCaseBenchmark;
+import com.bip.domain.entities.BeneficioBenchmark;
+import com.bip.domain.valueobjects.MoneyBenchmark;
+import com.bip.infrastructure.persistence.BeneficioRepositoryBenchmark;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.BenchmarkResult;
+import org.openjdk.jmh.results.IterationResult;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Portão de regressão de desempenho do profile {@code perf}.
+ *
+ * <p>Executa um conjunto curto e determinístico de benchmarks (domínio,
+ * mapeamento, caso de uso de transferência e uma micro-carga do repositório em H2
+ * com 10 mil linhas) e compara cada medição com a referência versionada. A
+ * referência é um TSV com uma linha por benchmark e métrica, cada uma com a sua
+ * faixa de tolerância em porcentagem:</p>
+ *
+ * <pre>
+ * benchmark	metrica	unidade	valor	tolerancia_pct
+ * MoneyBenchmark.add	gc.alloc.rate.norm	B/op	56.000	10
+ * MoneyBenchmark.add	relativo	x	0.016225	100
+ * </pre>
+ *
+ * <p>Tempos absolutos valem só para a máquina e a carga do momento em que foram
+ * medidos. Por isso cada grupo de benchmarks roda junto com o
+ * {@link CalibracaoBenchmark}, e o portão compara o tempo por operação em
+ * múltiplos da calibração ({@code relativo}); throughput é convertido em tempo
+ * por operação antes da divisão. A alocação por operação não depende da máquina
+ * e é comparada em bytes.</p>
+ *
+ * <p>O tempo de cada benchmark, e o da calibração, é o melhor entre as iterações
+ * medidas de {@value #FORKS} forks, não a média. Carga de outros processos só
+ * deixa uma iteração mais lenta, então o mínimo é a estimativa mais estável do
+ * custo da operação. Ainda assim os tempos relativos oscilam bem mais que a
+ * alocação em máquinas compartilhadas, e a faixa padrão deles é larga
+ * ({@value #TOLERANCIA_TEMPO}%): o portão pega o dobro do custo, não
+ * variações finas.</p>
+ *
+ * <p>Uma métrica regride quando sobe além da faixa. Uma tolerância {@code -}
+ * deixa a linha apenas informativa: ela aparece no relatório, mas não reprova.
+ * Medições ausentes da execução também reprovam, para que um benchmark não saia
+ * do portão sem que a referência seja atualizada. O processo termina com código
+ * 1 em caso de regressão, o que interrompe o build.</p>
+ *
+ * <p>Argumentos: {@code <referencia.tsv> <resultado.tsv> <atualizar>}. Com
+ * {@code atualizar=true} a referência é regravada com as medições atuais,
+ * preservando as tolerâncias já definidas.</p>
+ */
+public final class VerificadorRegressao {
+
+    static final String CABECALHO = "benchmark\tmetrica\tunidade\tvalor\ttolerancia_pct";
+
+    static final String METRICA_RELATIVA = "relativo";
+    static final String METRICA_ALOCACAO = "gc.alloc.rate.norm";
+
+    /**
+     * Unidade da métrica relativa: tempo por operação em múltiplos da calibração.
+     */
+    static final String UNIDADE_RELATIVA = "x";
+
+    /**
+     * Forks de cada benchmark; o tempo comparado é o mínimo entre todas as iterações.
+     */
+    static final int FORKS = 3;
+
+    /**
+     * Faixa larga: ver a documentação da classe.
+     */
+    static final double TOLERANCIA_TEMPO = 100.0;
+    private static final double TOLERANCIA_ALOCACAO = 10.0;
+
+    /**
+     * O GCProfiler soma a alocação de todas as threads da JVM. No repositório isso
+     * inclui as threads de fundo do H2, cuja parte por operação cresce quando a
+     * operação fica mais lenta.
+     */
+    private static final double TOLERANCIA_ALOCACAO_REPOSITORIO = 50.0;
+
+    // Arredondamentos de TLAB fazem a alocação oscilar alguns bytes mesmo sem mudança de código
+    private static final double FOLGA_ALOCACAO_BYTES = 32.0;
+
+    private VerificadorRegressao() {
+    }
+
+    public static void main(String[] args) throws RunnerException, IOException {
+        Path referencia = Path.of(args.length > 0 ? args[0] : "src/jmh/referencia.tsv");
+        Path resultado = Path.of(args.length > 1 ? args[1] : "target/perf/resultado.tsv");
+        boolean atualizar = args.length > 2 && Boolean.parseBoolean(args[2]);
+
+        List<Medicao> atuais = new ArrayList<>();
+        atuais.addAll(medir(opcoesDominio(), TOLERANCIA_ALOCACAO));
+        atuais.addAll(medir(opcoesRepositorio(), TOLERANCIA_ALOCACAO_REPOSITORIO));
+
+        Map<String, Medicao> anteriores = Files.exists(referencia) ? ler(referencia) : Map.of();
+        gravar(resultado, atuais);
+
+        if (atualizar) {
+            List<Medicao> novas = atuais.stream()
+                .map(atual -> anteriores.containsKey(atual.chave())
+                    ? atual.comTolerancia(anteriores.get(atual.chave()).tolerancia())
+                    : atual)
+                .toList();
+            gravar(referencia, novas);
+            System.out.println("Referência atualizada em " + referencia.toAbsolutePath());
+            return;
+        }
+        if (anteriores.isEmpty()) {
+            System.err.println("Referência não encontrada em " + referencia.toAbsolutePath()
+                + "; gere-a com -Dperf.atualizar=true");
+            System.exit(1);
+        }
+
+        List<Comparacao> comparacoes = comparar(anteriores, atuais);
+        imprimir(comparacoes);
+        long regressoes = comparacoes.stream().filter(Comparacao::reprovada).count();
+        if (regressoes > 0) {
+            System.err.printf(Locale.ROOT, "%nPortão de desempenho reprovado: %d regressão(ões) além da tolerância.%n"
+                + "Resultado completo em %s. Se a mudança for intencional, regrave a referência com "
+                + "-Dperf.atualizar=true.%n", regressoes, resultado.toAbsolutePath());
+            System.exit(1);
+        }
+        System.out.println("\nPortão de desempenho aprovado.");
+    }
+
+    /**
+     * Operações de domínio e aplicação, em tempo médio por operação.
+     */
+    private static Options opcoesDominio() {
+        return new OptionsBuilder()
+            .include(MoneyBenchmark.class.getName() + "\\.")
+            .include(BeneficioBenchmark.class.getName() + "\\.")
+            .include(BeneficioMapperBenchmark.class.getName() + "\\.toDtoList$")
+            .include(TransferenciaUseCaseBenchmark.class.getName() + "\\.")
+            .include(CalibracaoBenchmark.class.getName() + "\\.")
+            .param("tamanho", "100")
+            .param("valor", "150.75")
+            .warmupIterations(3)
+            .warmupTime(TimeValue.milliseconds(500))
+            .measurementIterations(5)
+            .measurementTime(TimeValue.milliseconds(500))
+            .forks(FORKS)
+            .addProfiler(GCProfiler.class)
+            .shouldFailOnError(true)
+            .build();
+    }
+
+    /**
+     * Micro-carga do repositório: leituras pontuais, agregação, lock e escrita em
+     * uma base pequena, com uma thread.
+     */
+    private static Options opcoesRepositorio() {
+        return new OptionsBuilder()
+            .include(BeneficioRepositoryBenchmark.class.getName()
+                + "\\.(findById|countActive|findByIdsWithLock|save)$")
+            .include(CalibracaoBenchmark.class.getName() + "\\.")
+            .param("linhas", "10000")
+            .threads(1)
+            .warmupIterations(2)
+            .warmupTime(TimeValue.seconds(1))
+            .measurementIterations(3)
+            .measurementTime(TimeValue.seconds(1))
+            .forks(FORKS)
+            .addProfiler(GCProfiler.class)
+            .shouldFailOnError(true)
+            .build();
+    }
+
+    private static List<Medicao> medir(Options opcoes, double toleranciaAlocacao) throws RunnerException {
+        List<RunResult> execucoes = new ArrayList<>(new Runner(opcoes).run());
+        RunResult calibracao = execucoes.stream()
+            .filter(execucao -> execucao.getParams().getBenchmark().startsWith(CalibracaoBenchmark.class.getName()))
+            .findFirst()
+            .orElseThrow(() -> new IllegalStateException("Calibração ausente da execução"));
+        execucoes.remove(calibracao);
+        double calibracaoNanos = melhorNanosPorOperacao(calibracao);
+        System.out.printf(Locale.ROOT, "%nCalibração: %.3f ns/op%n", calibracaoNanos);
+
+        List<Medicao> medicoes = new ArrayList<>();
+        for (RunResult execucao : execucoes) {
+            String benchmark = nome(execucao.getParams());
+            medicoes.add(new Medicao(benchmark, METRICA_RELATIVA, UNIDADE_RELATIVA,
+                melhorNanosPorOperacao(execucao) / calibracaoNanos, TOLERANCIA_TEMPO));
+
+            Result<?> alocacao = execucao.getSecondaryResults().get(METRICA_ALOCACAO);
+            if (alocacao != null) {
+                medicoes.add(new Medicao(benchmark, METRICA_ALOCACAO, alocacao.getScoreUnit(), alocacao.getScore(),
+                    toleranciaAlocacao));
+            }
+        }
+        return medicoes;
+    }
+
+    /**
+     * Menor tempo por operação entre as iterações medidas de todos os forks.
+     */
+    static double melhorNanosPorOperacao(RunResult execucao) {
+        double melhor = Double.POSITIVE_INFINITY;
+        for (BenchmarkResult fork : execucao.getBenchmarkResults()) {
+            for (IterationResult iteracao : fork.getIterationResults()) {
+                melhor = Math.min(melhor, nanosPorOperacao(iteracao.getPrimaryResult()));
+            }
+        }
+        if (Double.isInfinite(melhor)) {
+            throw new IllegalStateException("Nenhuma iteração medida em " + execucao.getParams().getBenchmark());
+        }
+        return melhor;
+    }
+
+    /**
+     * Tempo médio por operação em nanossegundos, a partir de tempo médio
+     * ({@code ns/op}, {@code us/op}...) ou de throughput ({@code ops/s}...).
+     */
+    static double nanosPorOperacao(Result<?> resultado) {
+        return nanosPorOperacao(resultado.getScore(), resultado.getScoreUnit());
+    }
+
+    static double nanosPorOperacao(double valor, String unidade) {
+        boolean throughput = unidade.startsWith("ops/");
+        String tempo = throughput ? unidade.substring("ops/".length()) : unidade.substring(0, unidade.indexOf('/'));
+        double nanos = switch (tempo) {
+            case "ns" -> 1;
+            case "us" -> 1_000;
+            case "ms" -> 1_000_000;
+            case "s" -> 1_000_000_000;
+            case "min" -> 60_000_000_000.0;
+            default -> throw new IllegalArgumentException("Unidade de benchmark não suportada: " + unidade);
+        };
+        return throughput ? nanos / valor : valor * nanos;
+    }
+
+    /**
+     * {@code Classe.metodo[parametro=valor,...]}, estável entre execuções.
+     */
+    private static String nome(BenchmarkParams parametros) {
+        String completo = parametros.getBenchmark();
+        String metodo = completo.substring(completo.lastIndexOf('.', completo.lastIndexOf('.') - 1) + 1);
+        if (parametros.getParamsKeys().isEmpty()) {
+            return metodo;
+        }
+        return parametros.getParamsKeys().stream()
+            .sorted()
+            .map(chave -> chave + "=" + parametros.getParam(chave))
+            .collect(Collectors.joining(",", metodo + "[", "]"));
+    }
+
+    static List<Comparacao> comparar(Map<String, Medicao> referencia, List<Medicao> atuais) {
+        List<Comparacao> comparacoes = new ArrayList<>();
+        Map<String, Medicao> pendentes = new LinkedHashMap<>(referencia);
+        for (Medicao atual : atuais) {
+            comparacoes.add(new Comparacao(pendentes.remove(atual.chave()), atual));
+        }
+        pendentes.values().forEach(ausente -> comparacoes.add(new Comparacao(ausente, null)));
+        return comparacoes;
+    }
+
+    private static void imprimir(List<Comparacao> comparacoes) {
+        int largura = comparacoes.stream()
+            .mapToInt(comparacao -> comparacao.descricao().length())
+            .max()
+            .orElse(10);
+        String formato = "%-" + largura + "s %14s %14s %9s %14s  %s%n";
+
+        System.out.printf(Locale.ROOT, "%n" + formato, "Benchmark", "Referência", "Atual", "Variação", "Limite", "Situação");
+        for (Comparacao comparacao : comparacoes) {
+            System.out.printf(Locale.ROOT, formato, comparacao.descricao(),
+                comparacao.referencia() == null ? "-" : comparacao.referencia().formatado(),
+                comparacao.atual() == null ? "-" : comparacao.atual().formatado(),
+                comparacao.variacao(), comparacao.limite(), comparacao.situacao());
+        }
+    }
+
+    static Map<String, Medicao> ler(Path arquivo) throws IOException {
+        Map<String, Medicao> medicoes = new LinkedHashMap<>();
+        List<String> linhas = Files.readAllLines(arquivo, StandardCharsets.UTF_8);
+        for (String linha : linhas.subList(1, linhas.size())) {
+            if (linha.isBlank()) {
+                continue;
+            }
+            String[] campos = linha.split("\t");
+            if (campos.length != 5) {
+                throw new IllegalArgumentException("Linha inválida na referência " + arquivo + ": " + linha);
+            }
+            Medicao medicao = new Medicao(campos[0], campos[1], campos[2],
+                Double.parseDouble(campos[3]), "-".equals(campos[4]) ? Double.NaN : Double.parseDouble(campos[4]));
+            medicoes.put(medicao.chave(), medicao);
+        }
+        return medicoes;
+    }
+
+    private static void gravar(Path arquivo, List<Medicao> medicoes) throws IOException {
+        List<String> conteudo = new ArrayList<>(medicoes.size() + 1);
+        conteudo.add(CABECALHO);
+        medicoes.stream()
+            .map(medicao -> String.format(Locale.ROOT, "%s\t%s\t%s\t%s\t%s", medicao.benchmark(),
+                medicao.metrica(), medicao.unidade(), medicao.numero(medicao.valor()),
+                medicao.informativa() ? "-" : String.format(Locale.ROOT, "%.0f", medicao.tolerancia())))
+            .sorted()
+            .forEach(conteudo::add);
+        if (arquivo.getParent() != null) {
+            Files.createDirectories(arquivo.getParent());
+        }
+        Files.write(arquivo, conteudo, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Uma métrica de um benchmark, com a faixa de tolerância em porcentagem
+     * ({@code NaN} quando a métrica é apenas informativa).
+     */
+    record Medicao(String benchmark, String metrica, String unidade, double valor, double tolerancia) {
+
+        String chave() {
+            return benchmark + "\t" + metrica;
+        }
+
+        boolean maiorMelhor() {
+            return unidade.startsWith("ops/");
+        }
+
+        boolean informativa() {
+            return Double.isNaN(tolerancia);
+        }
+
+        /**
+         * Pior valor aceito para uma nova medição.
+         */
+        double limite() {
+            if (maiorMelhor()) {
+                return valor * (1 - tolerancia / 100);
+            }
+            double limite = valor * (1 + tolerancia / 100);
+            return METRICA_ALOCACAO.equals(metrica) ? limite + FOLGA_ALOCACAO_BYTES : limite;
+        }
+
+        Medicao comTolerancia(double novaTolerancia) {
+            return new Medicao(benchmark, metrica, unidade, valor, novaTolerancia);
+        }
+
+        String formatado() {
+            return numero(valor) + " " + unidade;
+        }
+
+        /**
+         * Tempos relativos de operações curtas ficam na casa dos milésimos da calibração.
+         */
+        String numero(double numero) {
+            return String.format(Locale.ROOT, UNIDADE_RELATIVA.equals(unidade) ? "%.6f" : "%.3f", numero);
+        }
+    }
+
+    /**
+     * Medição atual diante da referência; qualquer um dos lados pode faltar.
+     */
+    record Comparacao(Medicao referencia, Medicao atual) {
+
+        String descricao() {
+            Medicao medicao = atual != null ? atual : referencia;
+            if (METRICA_ALOCACAO.equals(medicao.metrica())) {
+                return medicao.benchmark() + " alocação";
+            }
+            return medicao.benchmark() + (medicao.maiorMelhor() ? " throughput" : " tempo");
+        }
+
+        boolean reprovada() {
+            return atual == null || (referencia != null && !referencia.informativa()
+                && pior(atual.valor(), referencia.limite()));
+        }
+
+        String situacao() {
+            if (referencia == null) {
+                return "NOVO";
+            }
+            if (atual == null) {
+                return "AUSENTE";
+            }
+            if (reprovada()) {
+                return "REGRESSÃO";
+            }
+            if (referencia.informativa()) {
+                return "info";
+            }
+            double melhorAceito = referencia.maiorMelhor()
+                ? referencia.valor() * (1 + referencia.tolerancia() / 100)
+                : referencia.valor() * (1 - referencia.tolerancia() / 100);
+            return pior(melhorAceito, atual.valor()) ? "MELHORA" : "ok";
+        }
+
+        String variacao() {
+            if (referencia == null || atual == null || referencia.valor() == 0) {
+                return "-";
+            }
+            return String.format(Locale.ROOT, "%+.1f%%", (atual.valor() / referencia.valor() - 1) * 100);
+        }
+
+        String limite() {
+            if (referencia == null || referencia.informativa()) {
+                return "-";
+            }
+            return (referencia.maiorMelhor() ? ">= " : "<= ") + referencia.numero(referencia.limite());
+        }
+
+        /**
+         * {@code true} quando {@code valor} é pior que {@code limite} no sentido da métrica.
+         */
+        private boolean pior(double valor, double limite) {
+            return referencia.maiorMelhor() ? valor < limite : valor > limite;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.bip.domain.entities;
+
+import com.bip.domain.valueobjects.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Débito e crédito de {@link Beneficio}: validações, aritmética de {@link Money}
+ * e atualização do timestamp.
+ *
+ * <p>O saldo inicial é grande o bastante para que os débitos de uma iteração
+ * nunca o esgotem; o benefício é recriado a cada iteração.</p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BeneficioBenchmark {
+
+    private Beneficio beneficio;
+    private Money valor;
+
+    @Setup(Level.Iteration)
+    public void preparar() {
+        beneficio = Beneficio.criar("Benchmark", "Benefício de benchmark",
+            Money.of(new BigDecimal("1000000000000.00")));
+        valor = Money.of(new BigDecimal("0.01"));
+    }
+
+    @Benchmark
+    public Beneficio debitar() {
+        beneficio.debitar(valor);
+        return beneficio;
+    }
+
+    @Benchmark
+    public Beneficio creditar() {
+        beneficio.creditar(valor);
+        return beneficio;
+    }
+
+    @Benchmark
+    public boolean possuiSaldoSuficiente() {
+        return beneficio.possuiSaldoSuficiente(valor);
+    }
+}
@@ -0,0 +1,68 @@
+package com.bip.domain.valueobjects;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Operações aritméticas de {@link Money}, presentes em toda transferência.
+ *
+ * <p>Os operandos ficam em campos não finais do estado para impedir que o JIT
+ * dobre constantes.</p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MoneyBenchmark {
+
+    private Money saldo;
+    private Money valor;
+    private BigDecimal decimal;
+    private double primitivo;
+
+    @Setup
+    public void preparar() {
+        saldo = Money.of(new BigDecimal("1500.75"));
+        valor = Money.of(new BigDecimal("250.10"));
+        decimal = new BigDecimal("1234.5678");
+        primitivo = 1234.5678;
+    }
+
+    @Benchmark
+    public Money add() {
+        return saldo.add(valor);
+    }
+
+    @Benchmark
+    public Money subtract() {
+        return saldo.subtract(valor);
+    }
+
+    @Benchmark
+    public Money ofBigDecimal() {
+        return Money.of(decimal);
+    }
+
+    @Benchmark
+    public Money ofDouble() {
+        return Money.of(primitivo);
+    }
+
+    @Benchmark
+    public int compareTo() {
+        return saldo.compareTo(valor);
+    }
+}
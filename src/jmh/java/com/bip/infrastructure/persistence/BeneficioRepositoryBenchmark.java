@@ -0,0 +1,206 @@
+package com.bip.infrastructure.persistence;
+
+import com.bip.domain.entities.Beneficio;
+import com.bip.domain.entities.SaldoSlot;
+import com.bip.domain.valueobjects.Money;
+import com.bip.infrastructure.seed.SeedConfig;
+import com.bip.infrastructure.seed.SeedLoader;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.Configuration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Métodos do {@link BeneficioRepositoryImpl} contra um H2 em arquivo com o schema
+ * gerado pelo Hibernate a partir das entidades.
+ *
+ * <p>A base de cada tamanho ({@code linhas}) é criada uma única vez em
+ * {@code target/benchmarks/h2} com o {@link SeedLoader} e reaproveitada nas
+ * execuções seguintes; os benefícios inseridos por {@link #save} são removidos ao
+ * final de cada trial.</p>
+ *
+ * <p>Cada thread usa o próprio {@link EntityManager}, como uma requisição, e o
+ * contexto de persistência é limpo antes de cada operação para que as leituras
+ * cheguem ao banco. A quantidade de threads é definida por execução
+ * ({@code -t}); o {@link BeneficioRepositoryBenchmarkRunner} executa a matriz
+ * completa.</p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Benchmark)
+public class BeneficioRepositoryBenchmark {
+
+    static final String DIRETORIO = System.getProperty("bip.bench.h2.diretorio", "target/benchmarks/h2");
+
+    @Param({"10000", "100000", "1000000"})
+    private int linhas;
+
+    private SessionFactory sessionFactory;
+
+    @Setup(Level.Trial)
+    public void abrirBanco() throws SQLException {
+        String url = "jdbc:h2:" + Path.of(DIRETORIO, "beneficios-" + linhas).toAbsolutePath()
+            + ";LOCK_TIMEOUT=10000";
+        sessionFactory = new Configuration()
+            .addAnnotatedClass(Beneficio.class)
+            .addAnnotatedClass(SaldoSlot.class)
+            .setProperty("hibernate.connection.url", url)
+            .setProperty("hibernate.connection.username", "sa")
+            .setProperty("hibernate.connection.password", "")
+            .setProperty("hibernate.connection.pool_size", "64")
+            .setProperty("hibernate.hbm2ddl.auto", "update")
+            .buildSessionFactory();
+
+        try (Session session = sessionFactory.openSession()) {
+            session.doWork(this::prepararDados);
+        }
+    }
+
+    private void prepararDados(Connection conexao) throws SQLException {
+        try (Statement comando = conexao.createStatement()) {
+            // Remove benefícios inseridos por um trial interrompido de save
+            comando.executeUpdate("DELETE FROM beneficio WHERE id > " + linhas);
+            try (ResultSet total = comando.executeQuery("SELECT COUNT(*) FROM beneficio")) {
+                total.next();
+                if (total.getLong(1) == linhas) {
+                    return;
+                }
+            }
+            comando.execute("TRUNCATE TABLE beneficio RESTART IDENTITY");
+        }
+        new SeedLoader().carregar(conexao, new SeedConfig(true, "", linhas, SeedConfig.Estrategia.AUTO, 10_000));
+        try (Statement comando = conexao.createStatement()) {
+            comando.execute("ANALYZE");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void fecharBanco() {
+        try (Session session = sessionFactory.openSession()) {
+            session.doWork(conexao -> {
+                try (Statement comando = conexao.createStatement()) {
+                    comando.executeUpdate("DELETE FROM beneficio WHERE id > " + linhas);
+                }
+            });
+        }
+        sessionFactory.close();
+    }
+
+    /**
+     * Repositório e {@link EntityManager} exclusivos de uma thread.
+     */
+    @State(Scope.Thread)
+    public static class Acesso {
+
+        private static final AtomicLong SEQUENCIA = new AtomicLong();
+        // Semente fixa por thread: a mesma sequência de IDs em todas as execuções
+        private static final AtomicLong SEMENTES = new AtomicLong(42);
+
+        private final SplittableRandom aleatorio = new SplittableRandom(SEMENTES.getAndIncrement());
+        private EntityManager entityManager;
+        private BeneficioRepositoryImpl repository;
+        private int linhas;
+
+        @Setup(Level.Trial)
+        public void abrir(BeneficioRepositoryBenchmark banco) throws ReflectiveOperationException {
+            linhas = banco.linhas;
+            entityManager = banco.sessionFactory.createEntityManager();
+            repository = new BeneficioRepositoryImpl();
+            Field campo = BeneficioRepositoryImpl.class.getDeclaredField("entityManager");
+            campo.setAccessible(true);
+            campo.set(repository, entityManager);
+        }
+
+        @TearDown(Level.Trial)
+        public void fechar() {
+            entityManager.close();
+        }
+
+        Long idAleatorio() {
+            return (long) aleatorio.nextInt(1, linhas + 1);
+        }
+
+        String nomeAleatorio() {
+            // Mesmo formato dos nomes gerados pelo DatasetGenerator
+            return String.format("Beneficio %09d", idAleatorio());
+        }
+
+        BeneficioRepositoryImpl limpo() {
+            entityManager.clear();
+            return repository;
+        }
+    }
+
+    @Benchmark
+    public Optional<Beneficio> findById(Acesso acesso) {
+        return acesso.limpo().findById(acesso.idAleatorio());
+    }
+
+    @Benchmark
+    public Optional<Beneficio> findByNome(Acesso acesso) {
+        return acesso.limpo().findByNome(acesso.nomeAleatorio());
+    }
+
+    @Benchmark
+    public List<Beneficio> findAllActive(Acesso acesso) {
+        return acesso.limpo().findAllActive();
+    }
+
+    @Benchmark
+    public List<Beneficio> findByIdsWithLock(Acesso acesso) {
+        BeneficioRepositoryImpl repository = acesso.limpo();
+        List<Long> ids = List.of(acesso.idAleatorio(), acesso.idAleatorio());
+        return repository.executeInTransaction(() -> repository.findByIdsWithLock(ids));
+    }
+
+    @Benchmark
+    public long countActive(Acesso acesso) {
+        return acesso.limpo().countActive();
+    }
+
+    @Benchmark
+    public BigDecimal sumActiveValues(Acesso acesso) {
+        return acesso.limpo().sumActiveValues();
+    }
+
+    @Benchmark
+    public Beneficio save(Acesso acesso) {
+        Beneficio beneficio = Beneficio.criar("Benchmark " + Acesso.SEQUENCIA.incrementAndGet(),
+            "Benefício de benchmark", Money.of(new BigDecimal("100.00")));
+        return acesso.limpo().save(beneficio);
+    }
+
+    @Benchmark
+    public boolean existsByNome(Acesso acesso) {
+        return acesso.limpo().existsByNome(acesso.nomeAleatorio());
+    }
+}
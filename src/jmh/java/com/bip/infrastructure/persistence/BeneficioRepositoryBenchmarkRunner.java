@@ -0,0 +1,101 @@
+package com.bip.infrastructure.persistence;
+
+import org.openjdk.jmh.results.BenchmarkResult;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Executa o {@link BeneficioRepositoryBenchmark} para cada combinação de
+ * quantidade de linhas e de threads e grava um resumo em TSV.
+ *
+ * <p>O arquivo tem uma linha por método, tamanho e quantidade de threads, sempre
+ * na mesma ordem e com o mesmo número de casas decimais, para ser versionado e
+ * comparado com {@code diff} entre commits.</p>
+ *
+ * <p>{@code findAllActive} materializa todos os ativos em cada thread; combinações
+ * acima de {@value #MAXIMO_ENTIDADES_FIND_ALL} entidades simultâneas em memória
+ * são omitidas.</p>
+ *
+ * <p>Argumentos: {@code <arquivo-tsv> <linhas,...> <threads,...>}.</p>
+ */
+public final class BeneficioRepositoryBenchmarkRunner {
+
+    static final String CABECALHO = "metodo\tlinhas\tthreads\tops_s\terro_ops_s";
+
+    private static final long MAXIMO_ENTIDADES_FIND_ALL = 1_000_000L;
+
+    private BeneficioRepositoryBenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws RunnerException, IOException {
+        Path saida = Path.of(args.length > 0 ? args[0] : "target/benchmarks/repositorio.tsv");
+        int[] linhas = inteiros(args.length > 1 ? args[1] : "10000,100000,1000000");
+        int[] threads = inteiros(args.length > 2 ? args[2] : "1,8,32");
+
+        List<String> resultados = new ArrayList<>();
+        for (int quantidadeLinhas : linhas) {
+            for (int quantidadeThreads : threads) {
+                ChainedOptionsBuilder opcoes = new OptionsBuilder()
+                    .include(BeneficioRepositoryBenchmark.class.getName() + "\\.")
+                    .param("linhas", Integer.toString(quantidadeLinhas))
+                    .threads(quantidadeThreads);
+                if ((long) quantidadeLinhas * quantidadeThreads > MAXIMO_ENTIDADES_FIND_ALL) {
+                    opcoes.exclude("\\.findAllActive$");
+                }
+
+                for (RunResult execucao : new Runner(opcoes.build()).run()) {
+                    BenchmarkResult agregado = execucao.getAggregatedResult();
+                    Result<?> resultado = agregado.getPrimaryResult();
+                    String benchmark = execucao.getParams().getBenchmark();
+                    resultados.add(String.format(Locale.ROOT, "%s\t%d\t%d\t%.1f\t%.1f",
+                        benchmark.substring(benchmark.lastIndexOf('.') + 1), quantidadeLinhas,
+                        quantidadeThreads, resultado.getScore(), resultado.getScoreError()));
+                }
+            }
+        }
+
+        List<String> conteudo = new ArrayList<>(resultados.size() + 1);
+        conteudo.add(CABECALHO);
+        conteudo.addAll(ordenarPorTamanho(resultados));
+        if (saida.getParent() != null) {
+            Files.createDirectories(saida.getParent());
+        }
+        Files.write(saida, conteudo, StandardCharsets.UTF_8);
+        System.out.println("Resultados gravados em " + saida.toAbsolutePath());
+        conteudo.forEach(System.out::println);
+    }
+
+    /**
+     * Ordena por método e, numericamente, por linhas e threads.
+     */
+    private static List<String> ordenarPorTamanho(List<String> resultados) {
+        List<String> ordenados = new ArrayList<>(resultados);
+        ordenados.sort(Comparator
+            .comparing((String linha) -> linha.split("\t")[0])
+            .thenComparingLong(linha -> Long.parseLong(linha.split("\t")[1]))
+            .thenComparingInt(linha -> Integer.parseInt(linha.split("\t")[2])));
+        return ordenados;
+    }
+
+    private static int[] inteiros(String lista) {
+        return Arrays.stream(lista.split(","))
+            .map(String::strip)
+            .filter(valor -> !valor.isEmpty())
+            .mapToInt(Integer::parseInt)
+            .toArray();
+    }
+}
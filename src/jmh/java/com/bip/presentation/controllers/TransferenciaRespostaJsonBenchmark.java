@@ -0,0 +1,150 @@
+package com.bip.presentation.controllers;
+
+import com.bip.application.dtos.HistoricoTransferenciaDto;
+import com.bip.infrastructure.configuration.JacksonConfig;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Respostas do {@link TransferenciaController}: os envelopes {@code Map<String, Object>}
+ * montados pelo controller comparados a records tipados com os mesmos campos.
+ *
+ * <p>Cada variante inclui a montagem do envelope, como acontece a cada requisição.
+ * Os envelopes replicam as chaves usadas em {@code processarTransferencia},
+ * {@code listarTransferencias} e {@code calcularTaxa}.</p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TransferenciaRespostaJsonBenchmark {
+
+    private static final TypeReference<Map<String, Object>> TIPO_MAPA = new TypeReference<>() { };
+
+    @Param({"10", "100"})
+    private int tamanhoListagem;
+
+    private final ObjectMapper mapper = JacksonConfig.getObjectMapper();
+
+    private List<HistoricoTransferenciaDto> transferencias;
+    private LocalDateTime agora;
+    private BigDecimal valor;
+    private BigDecimal taxa;
+    private byte[] resultadoJson;
+
+    @Setup
+    public void preparar() throws IOException {
+        agora = LocalDateTime.of(2024, 3, 15, 10, 30, 45, 123_000_000);
+        valor = new BigDecimal("150.75");
+        taxa = new BigDecimal("1.51");
+        transferencias = new ArrayList<>(tamanhoListagem);
+        for (int i = 0; i < tamanhoListagem; i++) {
+            transferencias.add(new HistoricoTransferenciaDto((long) i + 1, 1L, "Vale Alimentação", 2L,
+                "Vale Refeição", valor, taxa, "Transferência entre benefícios", agora, "CONCLUIDA"));
+        }
+        resultadoJson = mapper.writeValueAsBytes(resultadoRegistro());
+    }
+
+    @Benchmark
+    public byte[] serializarResultadoMapa() throws IOException {
+        Map<String, Object> resultado = new HashMap<>();
+        resultado.put("sucesso", true);
+        resultado.put("mensagem", "Transferência realizada com sucesso");
+        resultado.put("origem", 1L);
+        resultado.put("destino", 2L);
+        resultado.put("valor", valor);
+        resultado.put("descricao", "Transferência entre benefícios");
+        resultado.put("timestamp", agora);
+        return mapper.writeValueAsBytes(resultado);
+    }
+
+    @Benchmark
+    public byte[] serializarResultadoRegistro() throws IOException {
+        return mapper.writeValueAsBytes(resultadoRegistro());
+    }
+
+    @Benchmark
+    public Map<String, Object> desserializarResultadoMapa() throws IOException {
+        return mapper.readValue(resultadoJson, TIPO_MAPA);
+    }
+
+    @Benchmark
+    public ResultadoTransferencia desserializarResultadoRegistro() throws IOException {
+        return mapper.readValue(resultadoJson, ResultadoTransferencia.class);
+    }
+
+    @Benchmark
+    public byte[] serializarListagemMapa() throws IOException {
+        Map<String, Object> resultado = new HashMap<>();
+        resultado.put("transferencias", transferencias);
+        resultado.put("total", transferencias.size());
+        resultado.put("timestamp", agora);
+        return mapper.writeValueAsBytes(resultado);
+    }
+
+    @Benchmark
+    public byte[] serializarListagemRegistro() throws IOException {
+        return mapper.writeValueAsBytes(new ListagemTransferencias(transferencias, transferencias.size(), agora));
+    }
+
+    @Benchmark
+    public byte[] serializarTaxaMapa() throws IOException {
+        Map<String, Object> resultado = new HashMap<>();
+        resultado.put("valorOriginal", valor);
+        resultado.put("taxa", taxa);
+        resultado.put("valorComTaxa", valor.add(taxa));
+        return mapper.writeValueAsBytes(resultado);
+    }
+
+    @Benchmark
+    public byte[] serializarTaxaRegistro() throws IOException {
+        return mapper.writeValueAsBytes(new TaxaTransferencia(valor, taxa, valor.add(taxa)));
+    }
+
+    private ResultadoTransferencia resultadoRegistro() {
+        return new ResultadoTransferencia(true, "Transferência realizada com sucesso", 1L, 2L, valor,
+            "Transferência entre benefícios", agora);
+    }
+
+    /**
+     * Equivalente tipado do envelope de {@code POST /api/transferencias}.
+     */
+    public record ResultadoTransferencia(boolean sucesso, String mensagem, Long origem, Long destino,
+                                         BigDecimal valor, String descricao, LocalDateTime timestamp) {
+    }
+
+    /**
+     * Equivalente tipado do envelope de {@code GET /api/transferencias}.
+     */
+    public record ListagemTransferencias(List<HistoricoTransferenciaDto> transferencias, int total,
+                                         LocalDateTime timestamp) {
+    }
+
+    /**
+     * Equivalente tipado do envelope de {@code GET /api/transferencias/taxa}.
+     */
+    public record TaxaTransferencia(BigDecimal valorOriginal, BigDecimal taxa, BigDecimal valorComTaxa) {
+    }
+}
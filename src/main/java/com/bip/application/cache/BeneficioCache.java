@@ -0,0 +1,538 @@
+package com.bip.application.cache;
+
+import com.bip.application.dtos.BeneficioDto;
+import com.bip.domain.entities.Beneficio;
+import com.bip.domain.repositories.BeneficioRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.annotation.Priority;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.context.Initialized;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.interceptor.Interceptor;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Cache em memória de benefícios já convertidos para DTO.
+ *
+ * <p>Guarda as consultas por ID e a lista de benefícios ativos. Operações de
+ * escrita e transferências invalidam as entradas afetadas; como transferências
+ * feitas por outras instâncias (ou gravadas pelo ledger) não passam por aqui,
+ * cada entrada expira após o TTL configurado.</p>
+ *
+ * <p>Com o cache cheio, um benefício novo ocupa o lugar da entrada admitida há
+ * mais tempo, se ela já expirou. Como o TTL é o mesmo para todas as entradas, a
+ * ordem de admissão é a ordem de expiração: basta olhar a mais antiga.</p>
+ *
+ * <p>No encerramento o conteúdo é gravado em um snapshot binário (ID, versão e
+ * DTO codificado). Na inicialização do contexto, antes de a aplicação ficar
+ * pronta, o snapshot é relido e as versões são conferidas com o banco em uma
+ * única consulta: só voltam ao cache as entradas cuja versão não mudou.</p>
+ *
+ * @author BIP API Team
+ * @since 1.1
+ */
+@ApplicationScoped
+public class BeneficioCache {
+
+    public static final String PREFIXO = "bip.cache.beneficio.";
+
+    private static final Logger LOGGER = Logger.getLogger(BeneficioCache.class.getName());
+
+    private static final int MAGICO = 0x42495043;
+    private static final short VERSAO_FORMATO = 1;
+    private static final int MARCAS = 64;
+
+    @Inject
+    private BeneficioRepository beneficioRepository;
+
+    private boolean habilitado;
+    private int capacidade = 10_000;
+    private long ttlNanos = Duration.ofSeconds(30).toNanos();
+    private Path arquivoSnapshot;
+
+    private final Map<Long, Entrada> entradas = new ConcurrentHashMap<>();
+    private volatile List<Long> idsAtivos;
+
+    /**
+     * Entradas na ordem de admissão; entradas já invalidadas ou substituídas
+     * são descartadas ao chegar à frente da fila ou na compactação.
+     */
+    private final Queue<Admissao> admissoes = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger tamanhoAdmissoes = new AtomicInteger();
+
+    /**
+     * Contadores de invalidação: uma leitura do banco só é armazenada se
+     * nenhuma invalidação ocorreu enquanto ela acontecia.
+     */
+    private final AtomicLongArray marcas = new AtomicLongArray(MARCAS);
+    private final AtomicLong geracao = new AtomicLong();
+
+    private final LongAdder acertos = new LongAdder();
+    private final LongAdder faltas = new LongAdder();
+    private final LongAdder invalidacoes = new LongAdder();
+    private volatile int restaurados;
+
+    @PostConstruct
+    void iniciar() {
+        String snapshot = System.getProperty(PREFIXO + "snapshot", "");
+        configurar(Boolean.getBoolean(PREFIXO + "habilitado"),
+                   Integer.getInteger(PREFIXO + "capacidade", 10_000),
+                   Duration.ofSeconds(Long.getLong(PREFIXO + "ttl-segundos", 30L)),
+                   snapshot.isBlank() ? null : Path.of(snapshot));
+    }
+
+    /**
+     * Restaura o snapshot na inicialização do contexto, depois da carga de
+     * dados e antes do warmup, que usa a prioridade padrão: a aplicação só fica
+     * pronta com o cache já preenchido. Sem o observador, o bean só seria
+     * criado (e o snapshot relido) na primeira requisição.
+     */
+    void aoIniciar(@Observes @Priority(Interceptor.Priority.APPLICATION + 100)
+                   @Initialized(ApplicationScoped.class) Object evento) {
+        if (habilitado && arquivoSnapshot != null) {
+            restaurar(arquivoSnapshot);
+        }
+    }
+
+    @PreDestroy
+    void encerrar() {
+        if (habilitado && arquivoSnapshot != null) {
+            try {
+                gravarSnapshot(arquivoSnapshot);
+            } catch (UncheckedIOException e) {
+                LOGGER.log(Level.WARNING, "Falha ao gravar snapshot do cache de benefícios", e);
+            }
+        }
+    }
+
+    /**
+     * Reconfigura o cache. Deve ser chamado antes do primeiro uso.
+     *
+     * @param habilitado se o cache deve ser consultado e preenchido
+     * @param capacidade quantidade máxima de benefícios em cache
+     * @param ttl tempo de vida de cada entrada
+     * @param arquivoSnapshot arquivo do snapshot; null para não gravar nem restaurar
+     */
+    void configurar(boolean habilitado, int capacidade, Duration ttl, Path arquivoSnapshot) {
+        if (capacidade <= 0) {
+            throw new IllegalArgumentException("Capacidade do cache deve ser positiva");
+        }
+        if (ttl == null || ttl.isNegative() || ttl.isZero()) {
+            throw new IllegalArgumentException("TTL do cache deve ser positivo");
+        }
+        this.capacidade = capacidade;
+        this.ttlNanos = ttl.toNanos();
+        this.arquivoSnapshot = arquivoSnapshot;
+        this.habilitado = habilitado;
+    }
+
+    public boolean isHabilitado() {
+        return habilitado;
+    }
+
+    /**
+     * Marca do benefício, a ser obtida antes da leitura no banco e repassada a
+     * {@link #armazenar(Beneficio, BeneficioDto, long)}.
+     */
+    public long marca(Long id) {
+        return marcas.get(indice(id));
+    }
+
+    /**
+     * Geração global, a ser obtida antes de listar os ativos no banco e repassada a
+     * {@link #armazenarAtivos(List, List, long)}.
+     */
+    public long geracao() {
+        return geracao.get();
+    }
+
+    public Optional<BeneficioDto> buscar(Long id) {
+        if (!habilitado || id == null) {
+            return Optional.empty();
+        }
+        Entrada armazenada = entradas.get(id);
+        Entrada entrada = valida(armazenada);
+        if (entrada == null) {
+            if (armazenada != null) {
+                entradas.remove(id, armazenada);
+            }
+            faltas.increment();
+            return Optional.empty();
+        }
+        acertos.increment();
+        return Optional.of(copiar(entrada.dto()));
+    }
+
+    /**
+     * Armazena o benefício lido do banco, a menos que tenha sido invalidado desde a marca.
+     */
+    public void armazenar(Beneficio beneficio, BeneficioDto dto, long marca) {
+        if (!habilitado || beneficio.getId() == null) {
+            return;
+        }
+        Long id = beneficio.getId();
+        if (marcas.get(indice(id)) != marca) {
+            return;
+        }
+        if (entradas.size() >= capacidade && !entradas.containsKey(id) && !despejarExpirada()) {
+            return;
+        }
+
+        Entrada entrada = new Entrada(beneficio.getVersao(), copiar(dto), System.nanoTime() + ttlNanos);
+        entradas.put(id, entrada);
+        admitir(id, entrada);
+        // Invalidação concorrente entre a verificação e o put
+        if (marcas.get(indice(id)) != marca) {
+            entradas.remove(id);
+        }
+    }
+
+    /**
+     * Lista de benefícios ativos, se todos estiverem em cache.
+     */
+    public Optional<List<BeneficioDto>> buscarAtivos() {
+        List<Long> ids = idsAtivos;
+        if (!habilitado || ids == null) {
+            faltas.increment();
+            return Optional.empty();
+        }
+
+        List<BeneficioDto> resultado = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Entrada entrada = valida(entradas.get(id));
+            if (entrada == null) {
+                faltas.increment();
+                return Optional.empty();
+            }
+            resultado.add(copiar(entrada.dto()));
+        }
+        acertos.increment();
+        return Optional.of(resultado);
+    }
+
+    /**
+     * Armazena a lista de ativos lida do banco, a menos que algo tenha sido invalidado desde a geração.
+     */
+    public void armazenarAtivos(List<Beneficio> beneficios, List<BeneficioDto> dtos, long geracaoLida) {
+        if (!habilitado || beneficios.size() != dtos.size() || beneficios.size() > capacidade) {
+            return;
+        }
+
+        List<Long> ids = new ArrayList<>(beneficios.size());
+        for (int i = 0; i < beneficios.size(); i++) {
+            Beneficio beneficio = beneficios.get(i);
+            armazenar(beneficio, dtos.get(i), marca(beneficio.getId()));
+            ids.add(beneficio.getId());
+        }
+        if (geracao.get() == geracaoLida) {
+            idsAtivos = List.copyOf(ids);
+            if (geracao.get() != geracaoLida) {
+                idsAtivos = null;
+            }
+        }
+    }
+
+    /**
+     * Remove os benefícios do cache; chamado após alterações de saldo ou dados.
+     */
+    public void invalidar(Long... ids) {
+        for (Long id : ids) {
+            if (id == null) {
+                continue;
+            }
+            marcas.incrementAndGet(indice(id));
+            geracao.incrementAndGet();
+            entradas.remove(id);
+            invalidacoes.increment();
+        }
+    }
+
+    /**
+     * Descarta a lista de ativos; chamado quando benefícios são criados, removidos,
+     * renomeados, ativados ou desativados.
+     */
+    public void invalidarAtivos() {
+        geracao.incrementAndGet();
+        idsAtivos = null;
+    }
+
+    public void limpar() {
+        geracao.incrementAndGet();
+        for (int i = 0; i < MARCAS; i++) {
+            marcas.incrementAndGet(i);
+        }
+        idsAtivos = null;
+        entradas.clear();
+        admissoes.clear();
+        tamanhoAdmissoes.set(0);
+    }
+
+    public Estatisticas getEstatisticas() {
+        return new Estatisticas(habilitado, entradas.size(), capacidade, acertos.sum(), faltas.sum(),
+            invalidacoes.sum(), restaurados);
+    }
+
+    /**
+     * Grava as entradas em um snapshot binário, substituindo o arquivo de forma atômica.
+     *
+     * <p>Formato: mágico, versão do formato e quantidade; para cada entrada ID,
+     * versão, tamanho e DTO codificado; ao final o CRC32 de todo o conteúdo.</p>
+     */
+    void gravarSnapshot(Path arquivo) {
+        List<Map.Entry<Long, Entrada>> copia = new ArrayList<>(entradas.entrySet());
+        Path temporario = arquivo.resolveSibling(arquivo.getFileName() + ".tmp");
+        try {
+            if (arquivo.getParent() != null) {
+                Files.createDirectories(arquivo.getParent());
+            }
+
+            CRC32 crc = new CRC32();
+            try (DataOutputStream saida = new DataOutputStream(new CheckedOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(temporario)), crc))) {
+                saida.writeInt(MAGICO);
+                saida.writeShort(VERSAO_FORMATO);
+                saida.writeInt(copia.size());
+                for (Map.Entry<Long, Entrada> entrada : copia) {
+                    byte[] dto = codificar(entrada.getValue().dto());
+                    saida.writeLong(entrada.getKey());
+                    saida.writeLong(entrada.getValue().versao() != null ? entrada.getValue().versao() : -1L);
+                    saida.writeInt(dto.length);
+                    saida.write(dto);
+                }
+                saida.flush();
+                saida.writeInt((int) crc.getValue());
+            }
+            Files.move(temporario, arquivo, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            LOGGER.info(String.format("Snapshot do cache de benefícios gravado: %d entradas", copia.size()));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao gravar snapshot do cache em " + arquivo, e);
+        }
+    }
+
+    /**
+     * Carrega o snapshot, mantendo apenas entradas cuja versão confere com o banco.
+     * Um snapshot ausente ou inválido é ignorado.
+     *
+     * @return quantidade de entradas restauradas
+     */
+    int restaurar(Path arquivo) {
+        if (!Files.isRegularFile(arquivo)) {
+            return 0;
+        }
+
+        try {
+            Map<Long, Entrada> lidas = lerSnapshot(Files.readAllBytes(arquivo));
+            if (lidas.isEmpty()) {
+                return 0;
+            }
+
+            Map<Long, Long> versoes = beneficioRepository.findVersoesByIds(lidas.keySet());
+            long expiraEm = System.nanoTime() + ttlNanos;
+            int quantidade = 0;
+            for (Map.Entry<Long, Entrada> lida : lidas.entrySet()) {
+                Entrada entrada = lida.getValue();
+                if (quantidade < capacidade && entrada.versao() != null
+                        && entrada.versao().equals(versoes.get(lida.getKey()))) {
+                    Entrada restaurada = new Entrada(entrada.versao(), entrada.dto(), expiraEm);
+                    entradas.put(lida.getKey(), restaurada);
+                    admitir(lida.getKey(), restaurada);
+                    quantidade++;
+                }
+            }
+            restaurados = quantidade;
+            LOGGER.info(String.format("Cache de benefícios restaurado: %d de %d entradas com versão atual",
+                quantidade, lidas.size()));
+            return quantidade;
+
+        } catch (IOException | RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Snapshot do cache de benefícios ignorado: " + arquivo, e);
+            return 0;
+        }
+    }
+
+    private static Map<Long, Entrada> lerSnapshot(byte[] conteudo) throws IOException {
+        if (conteudo.length < Integer.BYTES * 3 + Short.BYTES) {
+            throw new IOException("Snapshot truncado");
+        }
+        CRC32 crc = new CRC32();
+        crc.update(conteudo, 0, conteudo.length - Integer.BYTES);
+        if (ByteBuffer.wrap(conteudo, conteudo.length - Integer.BYTES, Integer.BYTES).getInt() != (int) crc.getValue()) {
+            throw new IOException("CRC do snapshot não confere");
+        }
+
+        DataInputStream entrada = new DataInputStream(
+            new ByteArrayInputStream(conteudo, 0, conteudo.length - Integer.BYTES));
+        if (entrada.readInt() != MAGICO || entrada.readShort() != VERSAO_FORMATO) {
+            throw new IOException("Formato de snapshot desconhecido");
+        }
+
+        int quantidade = entrada.readInt();
+        Map<Long, Entrada> lidas = new HashMap<>();
+        for (int i = 0; i < quantidade; i++) {
+            long id = entrada.readLong();
+            long versao = entrada.readLong();
+            byte[] dto = new byte[entrada.readInt()];
+            entrada.readFully(dto);
+            lidas.put(id, new Entrada(versao, decodificar(dto), 0L));
+        }
+        return lidas;
+    }
+
+    /**
+     * Codifica o DTO em binário compacto.
+     */
+    static byte[] codificar(BeneficioDto dto) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+            DataOutputStream saida = new DataOutputStream(bytes);
+            saida.writeLong(dto.getId() != null ? dto.getId() : -1L);
+            escreverTexto(saida, dto.getNome());
+            escreverTexto(saida, dto.getDescricao());
+            escreverTexto(saida, dto.getSaldo() != null ? dto.getSaldo().toPlainString() : null);
+            saida.writeByte(dto.getAtivo() == null ? -1 : dto.getAtivo() ? 1 : 0);
+            escreverData(saida, dto.getCriadoEm());
+            escreverData(saida, dto.getAtualizadoEm());
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static BeneficioDto decodificar(byte[] conteudo) throws IOException {
+        DataInputStream entrada = new DataInputStream(new ByteArrayInputStream(conteudo));
+        long id = entrada.readLong();
+        String nome = lerTexto(entrada);
+        String descricao = lerTexto(entrada);
+        String saldo = lerTexto(entrada);
+        byte ativo = entrada.readByte();
+        return new BeneficioDto(id >= 0 ? id : null, nome, descricao,
+            saldo != null ? new BigDecimal(saldo) : null,
+            ativo < 0 ? null : ativo == 1,
+            lerData(entrada), lerData(entrada));
+    }
+
+    private static void escreverTexto(DataOutputStream saida, String texto) throws IOException {
+        saida.writeBoolean(texto != null);
+        if (texto != null) {
+            saida.writeUTF(texto);
+        }
+    }
+
+    private static String lerTexto(DataInputStream entrada) throws IOException {
+        return entrada.readBoolean() ? entrada.readUTF() : null;
+    }
+
+    private static void escreverData(DataOutputStream saida, LocalDateTime data) throws IOException {
+        saida.writeBoolean(data != null);
+        if (data != null) {
+            saida.writeLong(data.toEpochSecond(ZoneOffset.UTC));
+            saida.writeInt(data.getNano());
+        }
+    }
+
+    private static LocalDateTime lerData(DataInputStream entrada) throws IOException {
+        return entrada.readBoolean()
+            ? LocalDateTime.ofEpochSecond(entrada.readLong(), entrada.readInt(), ZoneOffset.UTC)
+            : null;
+    }
+
+    /**
+     * Remove a entrada admitida há mais tempo, se já expirou.
+     *
+     * @return true se liberou espaço
+     */
+    private boolean despejarExpirada() {
+        long agora = System.nanoTime();
+        Admissao maisAntiga;
+        while ((maisAntiga = admissoes.peek()) != null) {
+            boolean atual = entradas.get(maisAntiga.id()) == maisAntiga.entrada();
+            if (atual && maisAntiga.entrada().expiraEmNanos() - agora > 0) {
+                // A mais antiga ainda vale: nenhuma outra expirou
+                return false;
+            }
+            if (admissoes.remove(maisAntiga)) {
+                tamanhoAdmissoes.decrementAndGet();
+            }
+            if (atual && entradas.remove(maisAntiga.id(), maisAntiga.entrada())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void admitir(Long id, Entrada entrada) {
+        admissoes.add(new Admissao(id, entrada));
+        // Invalidações e substituições deixam admissões obsoletas: compacta a fila
+        // quando passa do dobro da capacidade, em custo amortizado constante
+        if (tamanhoAdmissoes.incrementAndGet() > 2 * capacidade) {
+            admissoes.removeIf(admissao -> entradas.get(admissao.id()) != admissao.entrada());
+            tamanhoAdmissoes.set(admissoes.size());
+        }
+    }
+
+    private Entrada valida(Entrada entrada) {
+        return entrada != null && entrada.expiraEmNanos() - System.nanoTime() > 0 ? entrada : null;
+    }
+
+    private static int indice(Long id) {
+        return Long.hashCode(id) & (MARCAS - 1);
+    }
+
+    private static BeneficioDto copiar(BeneficioDto dto) {
+        return new BeneficioDto(dto.getId(), dto.getNome(), dto.getDescricao(), dto.getSaldo(),
+            dto.getAtivo(), dto.getCriadoEm(), dto.getAtualizadoEm());
+    }
+
+    /**
+     * Estatísticas do cache.
+     *
+     * @param habilitado se o cache está em uso
+     * @param entradas benefícios em cache
+     * @param capacidade quantidade máxima de benefícios
+     * @param acertos consultas atendidas pelo cache
+     * @param faltas consultas que foram ao banco
+     * @param invalidacoes benefícios removidos por alteração
+     * @param restaurados entradas recuperadas do snapshot na inicialização
+     */
+    public record Estatisticas(boolean habilitado, int entradas, int capacidade, long acertos,
+                               long faltas, long invalidacoes, int restaurados) {
+    }
+
+    private record Entrada(Long versao, BeneficioDto dto, long expiraEmNanos) {
+    }
+
+    private record Admissao(Long id, Entrada entrada) {
+    }
+}
@@ -0,0 +1,54 @@
+package com.bip.application.concurrency;
+
+/**
+ * Configuração do detector de benefícios mais disputados nas transferências.
+ *
+ * <p>Os valores são lidos de propriedades de sistema ({@code -Dbip.transferencia.chaves-quentes.*})
+ * para funcionar igualmente no Jetty e nos servidores de aplicação.</p>
+ *
+ * @param habilitado se as transferências alimentam o detector
+ * @param largura contadores por linha do sketch (arredondada para potência de 2);
+ *                o erro de cada estimativa fica abaixo de {@code e / largura} do total
+ * @param profundidade linhas do sketch; a chance de exceder o erro é {@code e^-profundidade}
+ * @param quantidade benefícios mantidos no ranking
+ * @param janelaSegundos intervalo entre os decaimentos, que reduzem todas as contagens à metade
+ *
+ * @author BIP API Team
+ * @since 1.2
+ */
+public record ChavesQuentesConfig(boolean habilitado,
+                                  int largura,
+                                  int profundidade,
+                                  int quantidade,
+                                  long janelaSegundos) {
+
+    public static final String PREFIXO = "bip.transferencia.chaves-quentes.";
+
+    public ChavesQuentesConfig {
+        if (largura <= 0) {
+            throw new IllegalArgumentException("Largura do sketch deve ser positiva");
+        }
+        if (profundidade <= 0) {
+            throw new IllegalArgumentException("Profundidade do sketch deve ser positiva");
+        }
+        if (quantidade <= 0) {
+            throw new IllegalArgumentException("Quantidade de chaves quentes deve ser positiva");
+        }
+        if (janelaSegundos <= 0) {
+            throw new IllegalArgumentException("Janela de decaimento deve ser positiva");
+        }
+    }
+
+    /**
+     * Carrega a configuração a partir das propriedades de sistema.
+     */
+    public static ChavesQuentesConfig fromSystemProperties() {
+        return new ChavesQuentesConfig(
+            Boolean.parseBoolean(System.getProperty(PREFIXO + "habilitado", "true")),
+            Integer.getInteger(PREFIXO + "largura", 2_048),
+            Integer.getInteger(PREFIXO + "profundidade", 4),
+            Integer.getInteger(PREFIXO + "quantidade", 32),
+            Long.getLong(PREFIXO + "janela-segundos", 60L)
+        );
+    }
+}
@@ -0,0 +1,152 @@
+package com.bip.application.concurrency;
+
+import com.bip.application.metrics.MetricasRegistry;
+import com.bip.application.metrics.TempoFases;
+import com.bip.application.tracing.ColetorRastro;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executor limitado de um grupo de requisições (bulkhead): threads e fila de
+ * tamanho fixo, rejeitando o excedente em vez de enfileirá-lo sem limite.
+ *
+ * <p>A tarefa continua a requisição iniciada na thread do container, então a
+ * medição de fases ({@link TempoFases}) e o rastro ({@link ColetorRastro}) são
+ * retirados da thread que submete e vinculados à thread do compartimento
+ * durante a execução. Rejeitada a tarefa, voltam para a thread de origem.</p>
+ *
+ * <p>Exporta, com o rótulo {@code compartimento}, as threads ocupadas, a fila,
+ * a saturação (ocupação de threads e fila somadas), as rejeições e o tempo de
+ * espera na fila.</p>
+ *
+ * @author BIP API Team
+ * @since 1.2
+ */
+public final class Compartimento implements AutoCloseable {
+
+    private final String nome;
+    private final int threads;
+    private final int capacidadeFila;
+    private final ThreadPoolExecutor executor;
+    private final MetricasRegistry.Contador rejeicoes;
+    private final MetricasRegistry.Histograma esperaFila;
+
+    /**
+     * @param nome rótulo das métricas e prefixo das threads
+     * @param threads threads do compartimento
+     * @param capacidadeFila tarefas aguardando thread
+     */
+    public Compartimento(String nome, int threads, int capacidadeFila, MetricasRegistry registry) {
+        if (threads <= 0 || capacidadeFila <= 0) {
+            throw new IllegalArgumentException("Threads e fila do compartimento devem ser positivas");
+        }
+        this.nome = nome;
+        this.threads = threads;
+        this.capacidadeFila = capacidadeFila;
+        this.executor = new ThreadPoolExecutor(
+            threads, threads,
+            0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(capacidadeFila),
+            fabrica("compartimento-" + nome + "-"),
+            (tarefa, pool) -> {
+                throw new RejectedExecutionException("Compartimento " + nome + " saturado: "
+                    + threads + " threads ocupadas e " + capacidadeFila + " requisições na fila");
+            }
+        );
+        this.rejeicoes = registry.contador("bip_compartimento_rejeicoes",
+            "Requisições rejeitadas com o compartimento saturado", "compartimento", nome);
+        this.esperaFila = registry.histograma("bip_compartimento_espera_fila_segundos",
+            "Tempo das requisições na fila do compartimento", MetricasRegistry.LIMITES_LATENCIA,
+            "compartimento", nome);
+        registry.medidor("bip_compartimento_threads_ativas",
+            "Threads do compartimento executando requisições", this::getAtivas, "compartimento", nome);
+        registry.medidor("bip_compartimento_fila",
+            "Requisições aguardando thread no compartimento", this::getNaFila, "compartimento", nome);
+        registry.medidor("bip_compartimento_saturacao",
+            "Ocupação de threads e fila do compartimento (1 = rejeitando)", this::getSaturacao,
+            "compartimento", nome);
+    }
+
+    /**
+     * Executa a tarefa em uma thread do compartimento, levando a medição e o
+     * rastro da requisição corrente.
+     *
+     * @throws RejectedExecutionException com as threads ocupadas e a fila cheia
+     */
+    public void executar(Runnable tarefa) {
+        TempoFases tempo = TempoFases.atual();
+        ColetorRastro coletor = ColetorRastro.desvincular();
+        TempoFases.desvincular();
+        long submissao = System.nanoTime();
+        try {
+            executor.execute(() -> {
+                esperaFila.registrarNanos(System.nanoTime() - submissao);
+                TempoFases.vincular(tempo);
+                ColetorRastro.vincular(coletor);
+                try {
+                    tarefa.run();
+                } finally {
+                    TempoFases.desvincular();
+                    ColetorRastro.liberar();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            TempoFases.vincular(tempo);
+            ColetorRastro.vincular(coletor);
+            rejeicoes.incrementar();
+            throw e;
+        }
+    }
+
+    public String getNome() {
+        return nome;
+    }
+
+    public int getAtivas() {
+        return executor.getActiveCount();
+    }
+
+    public int getNaFila() {
+        return executor.getQueue().size();
+    }
+
+    /**
+     * Fração ocupada de threads e fila; em 1 as novas tarefas são rejeitadas.
+     */
+    public double getSaturacao() {
+        return Math.min(1.0, (double) (getAtivas() + getNaFila()) / (threads + capacidadeFila));
+    }
+
+    public long getRejeicoes() {
+        return rejeicoes.getValor();
+    }
+
+    /**
+     * Para de aceitar tarefas e aguarda as em andamento por até 10 segundos.
+     */
+    @Override
+    public void close() {
+        executor.shutdown();
+        try {
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static ThreadFactory fabrica(String prefixo) {
+        if (ThreadsVirtuais.isHabilitado()) {
+            return ThreadsVirtuais.fabrica(prefixo);
+        }
+        AtomicInteger contador = new AtomicInteger();
+        return tarefa -> {
+            Thread thread = new Thread(tarefa, prefixo + contador.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,59 @@
+package com.bip.application.concurrency;
+
+/**
+ * Configuração dos executores que atendem os recursos REST assíncronos.
+ *
+ * <p>Leituras e escritas (transferências, cadastros) têm pools e filas
+ * separados: uma rajada de transferências presas em locks não ocupa as threads
+ * das consultas, e vice-versa. Com a fila cheia a requisição recebe
+ * {@code 503} com {@code Retry-After}, em vez de esperar sem limite.</p>
+ *
+ * <p>Os valores são lidos de propriedades de sistema ({@code -Dbip.compartimentos.*})
+ * para funcionar igualmente no Jetty e nos servidores de aplicação.</p>
+ *
+ * @param habilitado se os recursos executam nos compartimentos; desabilitado,
+ *                   executam na própria thread do container
+ * @param threadsLeitura threads do compartimento de leitura
+ * @param filaLeitura requisições de leitura aguardando thread
+ * @param threadsEscrita threads do compartimento de escrita
+ * @param filaEscrita requisições de escrita aguardando thread
+ * @param retryAfterSegundos valor do header {@code Retry-After} nas rejeições
+ *
+ * @author BIP API Team
+ * @since 1.2
+ */
+public record CompartimentosConfig(boolean habilitado,
+                                   int threadsLeitura,
+                                   int filaLeitura,
+                                   int threadsEscrita,
+                                   int filaEscrita,
+                                   int retryAfterSegundos) {
+
+    public static final String PREFIXO = "bip.compartimentos.";
+
+    public CompartimentosConfig {
+        if (threadsLeitura <= 0 || threadsEscrita <= 0) {
+            throw new IllegalArgumentException("Threads dos compartimentos devem ser positivas");
+        }
+        if (filaLeitura <= 0 || filaEscrita <= 0) {
+            throw new IllegalArgumentException("Filas dos compartimentos devem ser positivas");
+        }
+        if (retryAfterSegundos <= 0) {
+            throw new IllegalArgumentException("Retry-After deve ser positivo");
+        }
+    }
+
+    /**
+     * Carrega a configuração a partir das propriedades de sistema.
+     */
+    public static CompartimentosConfig fromSystemProperties() {
+        return new CompartimentosConfig(
+            Boolean.parseBoolean(System.getProperty(PREFIXO + "habilitado", "true")),
+            Integer.getInteger(PREFIXO + "leitura.threads", 32),
+            Integer.getInteger(PREFIXO + "leitura.fila", 256),
+            Integer.getInteger(PREFIXO + "escrita.threads", 16),
+            Integer.getInteger(PREFIXO + "escrita.fila", 128),
+            Integer.getInteger(PREFIXO + "retry-after-segundos", 1)
+        );
+    }
+}
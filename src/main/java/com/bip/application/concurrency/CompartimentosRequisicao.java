@@ -0,0 +1,90 @@
+package com.bip.application.concurrency;
+
+import com.bip.application.metrics.MetricasRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.logging.Logger;
+
+/**
+ * Compartimentos de leitura e de escrita que executam os recursos REST
+ * assíncronos, liberando as threads do container enquanto a requisição espera
+ * pelo banco.
+ *
+ * <p>Desabilitado, as tarefas executam na thread que as submete, como nos
+ * recursos síncronos.</p>
+ *
+ * @author BIP API Team
+ * @since 1.2
+ */
+@ApplicationScoped
+public class CompartimentosRequisicao {
+
+    private static final Logger LOGGER = Logger.getLogger(CompartimentosRequisicao.class.getName());
+
+    @Inject
+    private MetricasRegistry registry;
+
+    private final CompartimentosConfig config;
+    private Compartimento leitura;
+    private Compartimento escrita;
+
+    public CompartimentosRequisicao() {
+        this(CompartimentosConfig.fromSystemProperties());
+    }
+
+    CompartimentosRequisicao(CompartimentosConfig config) {
+        this.config = config;
+    }
+
+    @PostConstruct
+    void iniciar() {
+        if (!config.habilitado()) {
+            return;
+        }
+        leitura = new Compartimento("leitura", config.threadsLeitura(), config.filaLeitura(), registry);
+        escrita = new Compartimento("escrita", config.threadsEscrita(), config.filaEscrita(), registry);
+        LOGGER.info("Compartimentos de requisição: leitura=" + config.threadsLeitura() + "/" + config.filaLeitura()
+            + ", escrita=" + config.threadsEscrita() + "/" + config.filaEscrita());
+    }
+
+    @PreDestroy
+    void encerrar() {
+        if (leitura != null) {
+            leitura.close();
+            escrita.close();
+        }
+    }
+
+    /**
+     * Executa uma consulta no compartimento de leitura.
+     *
+     * @throws RejectedExecutionException com o compartimento saturado
+     */
+    public void ler(Runnable tarefa) {
+        executar(leitura, tarefa);
+    }
+
+    /**
+     * Executa uma operação que altera dados no compartimento de escrita.
+     *
+     * @throws RejectedExecutionException com o compartimento saturado
+     */
+    public void escrever(Runnable tarefa) {
+        executar(escrita, tarefa);
+    }
+
+    public CompartimentosConfig getConfig() {
+        return config;
+    }
+
+    private static void executar(Compartimento compartimento, Runnable tarefa) {
+        if (compartimento == null) {
+            tarefa.run();
+        } else {
+            compartimento.executar(tarefa);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.bip.application.concurrency;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Count-min sketch de chaves {@code long}: estimativas de frequência em memória
+ * fixa, que nunca ficam abaixo da contagem real.
+ *
+ * <p>Cada linha usa uma função de hash própria; a estimativa é o menor
+ * contador da chave entre as linhas. Os contadores são atômicos e o registro
+ * não usa locks.</p>
+ *
+ * @author BIP API Team
+ * @since 1.2
+ */
+final class CountMinSketch {
+
+    /**
+     * Sementes das linhas; constantes para que as estimativas sejam reproduzíveis.
+     */
+    private static final long[] SEMENTES = {
+        0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L, 0xD6E8FEB86659FD93L,
+        0xFF51AFD7ED558CCDL, 0xC4CEB9FE1A85EC53L, 0x94D049BB133111EBL, 0xBF58476D1CE4E5B9L
+    };
+
+    private final AtomicLongArray contadores;
+    private final int largura;
+    private final int profundidade;
+    private final int mascara;
+
+    /**
+     * @param largura contadores por linha (arredondada para potência de 2)
+     * @param profundidade linhas, até 8
+     */
+    CountMinSketch(int largura, int profundidade) {
+        if (profundidade > SEMENTES.length) {
+            throw new IllegalArgumentException("Profundidade do sketch deve ser no máximo " + SEMENTES.length);
+        }
+        int arredondada = Integer.highestOneBit(largura);
+        if (arredondada < largura) {
+            arredondada <<= 1;
+        }
+        this.largura = arredondada;
+        this.profundidade = profundidade;
+        this.mascara = arredondada - 1;
+        this.contadores = new AtomicLongArray(arredondada * profundidade);
+    }
+
+    /**
+     * Soma uma ocorrência da chave.
+     *
+     * @return estimativa da chave já com esta ocorrência
+     */
+    long incrementar(long chave) {
+        long estimativa = Long.MAX_VALUE;
+        for (int linha = 0; linha < profundidade; linha++) {
+            estimativa = Math.min(estimativa, contadores.incrementAndGet(indice(linha, chave)));
+        }
+        return estimativa;
+    }
+
+    long estimar(long chave) {
+        long estimativa = Long.MAX_VALUE;
+        for (int linha = 0; linha < profundidade; linha++) {
+            estimativa = Math.min(estimativa, contadores.get(indice(linha, chave)));
+        }
+        return estimativa;
+    }
+
+    /**
+     * Reduz todos os contadores à metade. Incrementos concorrentes podem ser
+     * reduzidos ou não; a diferença é de no máximo uma ocorrência por contador.
+     */
+    void decair() {
+        for (int i = 0; i < contadores.length(); i++) {
+            long valor;
+            do {
+                valor = contadores.get(i);
+            } while (valor != 0 && !contadores.compareAndSet(i, valor, valor >>> 1));
+        }
+    }
+
+    int getLargura() {
+        return largura;
+    }
+
+    int getProfundidade() {
+        return profundidade;
+    }
+
+    private int indice(int linha, long chave) {
+        return linha * largura + (int) (misturar(chave ^ SEMENTES[linha]) & mascara);
+    }
+
+    /**
+     * Finalizador do SplitMix64: espalha chaves sequenciais (IDs) por todos os bits.
+     */
+    private static long misturar(long valor) {
+        valor = (valor ^ (valor >>> 30)) * 0xBF58476D1CE4E5B9L;
+        valor = (valor ^ (valor >>> 27)) * 0x94D049BB133111EBL;
+        return valor ^ (valor >>> 31);
+    }
+}
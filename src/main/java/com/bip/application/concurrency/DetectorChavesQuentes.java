@@ -0,0 +1,290 @@
+package com.bip.application.concurrency;
+
+import com.bip.application.metrics.MetricasRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Identifica os benefícios que mais participam de transferências, como origem
+ * ou destino, para decidir quando aplicar mitigações de conta quente (lock
+ * striping, saldo fragmentado, ledger).
+ *
+ * <p>As frequências ficam em um {@link CountMinSketch} e os maiores em um
+ * heap de mínimo com {@code quantidade} posições. O custo por transferência é
+ * constante: {@code profundidade} incrementos atômicos por benefício e, se a
+ * estimativa entrar no ranking, uma atualização do heap sob
+ * {@link ReentrantLock#tryLock()}. Com o lock ocupado, a atualização é
+ * pulada: a contagem segue no sketch e o ranking é corrigido na próxima
+ * ocorrência.</p>
+ *
+ * <p>A cada janela todas as contagens caem à metade, então o ranking reflete
+ * os últimos minutos, e não o histórico desde a inicialização. O decaimento
+ * roda em uma thread própria: percorrer o sketch inteiro na thread da
+ * requisição somaria milhares de CAS à latência de uma transferência.</p>
+ *
+ * @author BIP API Team
+ * @since 1.2
+ */
+@ApplicationScoped
+public class DetectorChavesQuentes {
+
+    /**
+     * Posições do ranking exportadas em {@code /metrics}.
+     */
+    static final int POSICOES_METRICAS = 5;
+
+    @Inject
+    private MetricasRegistry registry;
+
+    private final ChavesQuentesConfig config;
+    private final CountMinSketch sketch;
+    private final LongAdder total = new LongAdder();
+    private final LongAdder decaimentos = new LongAdder();
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final long[] chaves;
+    private final long[] estimativas;
+    private int tamanho;
+
+    /**
+     * Menor estimativa do heap cheio; abaixo dela o registro nem tenta o lock.
+     */
+    private volatile long minimo;
+
+    private ScheduledExecutorService decaimento;
+
+    public DetectorChavesQuentes() {
+        this(ChavesQuentesConfig.fromSystemProperties());
+    }
+
+    DetectorChavesQuentes(ChavesQuentesConfig config) {
+        this.config = config;
+        this.sketch = new CountMinSketch(config.largura(), config.profundidade());
+        this.chaves = new long[config.quantidade()];
+        this.estimativas = new long[config.quantidade()];
+    }
+
+    /**
+     * Benefício do ranking.
+     *
+     * @param beneficioId benefício
+     * @param estimativa participações estimadas na janela, já com o decaimento
+     * @param participacao fração estimada das participações da janela
+     */
+    public record ChaveQuente(long beneficioId, long estimativa, double participacao) {
+    }
+
+    /**
+     * Situação do detector.
+     *
+     * @param participacoes participações na janela (duas por transferência), com o decaimento
+     * @param erroMaximo erro absoluto máximo das estimativas, com a confiança do sketch
+     */
+    public record Estatisticas(boolean habilitado, long participacoes, long erroMaximo, long decaimentos,
+                               long janelaSegundos, int largura, int profundidade, int quantidade) {
+    }
+
+    @PostConstruct
+    void iniciar() {
+        for (int posicao = 1; posicao <= POSICOES_METRICAS; posicao++) {
+            int indice = posicao - 1;
+            String rotulo = Integer.toString(posicao);
+            registry.medidor("bip_transferencia_chave_quente_participacao",
+                "Fração estimada das participações em transferências do benefício na posição do ranking",
+                () -> valorDaPosicao(indice, true), "posicao", rotulo);
+            registry.medidor("bip_transferencia_chave_quente_beneficio",
+                "Benefício na posição do ranking de participações em transferências (0 se vazia)",
+                () -> valorDaPosicao(indice, false), "posicao", rotulo);
+        }
+
+        if (config.habilitado()) {
+            decaimento = Executors.newSingleThreadScheduledExecutor(tarefa -> {
+                Thread thread = new Thread(tarefa, "chaves-quentes-decaimento");
+                thread.setDaemon(true);
+                return thread;
+            });
+            decaimento.scheduleAtFixedRate(this::decair, config.janelaSegundos(), config.janelaSegundos(),
+                TimeUnit.SECONDS);
+        }
+    }
+
+    @PreDestroy
+    void encerrar() {
+        if (decaimento != null) {
+            decaimento.shutdownNow();
+        }
+    }
+
+    /**
+     * Registra a origem e o destino de uma transferência.
+     */
+    public void registrar(Long origemId, Long destinoId) {
+        if (!config.habilitado()) {
+            return;
+        }
+        total.add(2);
+        registrar(origemId);
+        registrar(destinoId);
+    }
+
+    private void registrar(Long beneficioId) {
+        if (beneficioId == null) {
+            return;
+        }
+        long chave = beneficioId;
+        long estimativa = sketch.incrementar(chave);
+        if (estimativa <= minimo || !lock.tryLock()) {
+            return;
+        }
+        try {
+            atualizarHeap(chave, estimativa);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Reduz contagens e ranking à metade. O sketch é percorrido fora do lock:
+     * registros concorrentes seguem incrementando e só o ranking, com
+     * {@code quantidade} posições, é reduzido sob o lock.
+     */
+    void decair() {
+        sketch.decair();
+        lock.lock();
+        try {
+            long participacoes = total.sumThenReset();
+            total.add(participacoes >>> 1);
+            for (int i = 0; i < tamanho; i++) {
+                estimativas[i] >>>= 1;
+            }
+            // Metade de todos os valores preserva a ordem do heap
+            minimo = tamanho == chaves.length ? estimativas[0] : 0;
+            decaimentos.increment();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void atualizarHeap(long chave, long estimativa) {
+        for (int i = 0; i < tamanho; i++) {
+            if (chaves[i] == chave) {
+                estimativas[i] = estimativa;
+                descer(i);
+                atualizarMinimo();
+                return;
+            }
+        }
+        if (tamanho < chaves.length) {
+            chaves[tamanho] = chave;
+            estimativas[tamanho] = estimativa;
+            subir(tamanho++);
+        } else if (estimativa > estimativas[0]) {
+            chaves[0] = chave;
+            estimativas[0] = estimativa;
+            descer(0);
+        }
+        atualizarMinimo();
+    }
+
+    private void atualizarMinimo() {
+        minimo = tamanho == chaves.length ? estimativas[0] : 0;
+    }
+
+    private void subir(int i) {
+        while (i > 0) {
+            int pai = (i - 1) >>> 1;
+            if (estimativas[pai] <= estimativas[i]) {
+                return;
+            }
+            trocar(i, pai);
+            i = pai;
+        }
+    }
+
+    private void descer(int i) {
+        while (true) {
+            int menor = i;
+            int esquerda = 2 * i + 1;
+            int direita = esquerda + 1;
+            if (esquerda < tamanho && estimativas[esquerda] < estimativas[menor]) {
+                menor = esquerda;
+            }
+            if (direita < tamanho && estimativas[direita] < estimativas[menor]) {
+                menor = direita;
+            }
+            if (menor == i) {
+                return;
+            }
+            trocar(i, menor);
+            i = menor;
+        }
+    }
+
+    private void trocar(int a, int b) {
+        long chave = chaves[a];
+        chaves[a] = chaves[b];
+        chaves[b] = chave;
+        long estimativa = estimativas[a];
+        estimativas[a] = estimativas[b];
+        estimativas[b] = estimativa;
+    }
+
+    /**
+     * Benefícios mais disputados, do mais para o menos frequente.
+     *
+     * @param limite quantidade máxima retornada
+     */
+    public List<ChaveQuente> getMaisQuentes(int limite) {
+        if (limite <= 0) {
+            throw new IllegalArgumentException("Limite deve ser um número positivo");
+        }
+        List<ChaveQuente> ranking = new ArrayList<>();
+        long participacoes;
+        lock.lock();
+        try {
+            participacoes = total.sum();
+            for (int i = 0; i < tamanho; i++) {
+                ranking.add(new ChaveQuente(chaves[i], estimativas[i],
+                    participacoes > 0 ? Math.min(1.0, (double) estimativas[i] / participacoes) : 0.0));
+            }
+        } finally {
+            lock.unlock();
+        }
+        ranking.sort(Comparator.comparingLong(ChaveQuente::estimativa).reversed()
+            .thenComparingLong(ChaveQuente::beneficioId));
+        return ranking.size() > limite ? List.copyOf(ranking.subList(0, limite)) : List.copyOf(ranking);
+    }
+
+    /**
+     * Estimativa de participações do benefício na janela, mesmo fora do ranking.
+     */
+    public long estimar(long beneficioId) {
+        return sketch.estimar(beneficioId);
+    }
+
+    public Estatisticas getEstatisticas() {
+        long participacoes = total.sum();
+        return new Estatisticas(config.habilitado(), participacoes,
+            (long) Math.ceil(Math.E / sketch.getLargura() * participacoes), decaimentos.sum(),
+            config.janelaSegundos(), sketch.getLargura(), sketch.getProfundidade(), config.quantidade());
+    }
+
+    private double valorDaPosicao(int indice, boolean participacao) {
+        List<ChaveQuente> ranking = getMaisQuentes(indice + 1);
+        if (ranking.size() <= indice) {
+            return 0;
+        }
+        ChaveQuente chave = ranking.get(indice);
+        return participacao ? chave.participacao() : chave.beneficioId();
+    }
+}
@@ -0,0 +1,53 @@
+package com.bip.application.concurrency;
+
+/**
+ * Configuração do modo group commit de transferências.
+ *
+ * <p>Os valores são lidos de propriedades de sistema ({@code -Dbip.transferencia.group-commit.*})
+ * para funcionar igualmente no Jetty e nos servidores de aplicação.</p>
+ *
+ * @param habilitado se o modo group commit está ativo
+ * @param tamanhoMaximoLote quantidade máxima de transferências por transação
+ * @param esperaMaximaMicros tempo máximo que um lote aguarda novos itens antes do commit
+ * @param workers quantidade de threads que drenam a fila
+ * @param capacidadeFila capacidade da fila de requisições pendentes
+ *
+ * @author BIP API Team
+ * @since 1.1
+ */
+public record GroupCommitConfig(boolean habilitado,
+                                int tamanhoMaximoLote,
+                                long esperaMaximaMicros,
+                                int workers,
+                                int capacidadeFila) {
+
+    public static final String PREFIXO = "bip.transferencia.group-commit.";
+
+    public GroupCommitConfig {
+        if (tamanhoMaximoLote <= 0) {
+            throw new IllegalArgumentException("Tamanho máximo do lote deve ser positivo");
+        }
+        if (esperaMaximaMicros < 0) {
+            throw new IllegalArgumentException("Espera máxima não pode ser negativa");
+        }
+        if (workers <= 0) {
+            throw new IllegalArgumentException("Quantidade de workers deve ser positiva");
+        }
+        if (capacidadeFila <= 0) {
+            throw new IllegalArgumentException("Capacidade da fila deve ser positiva");
+        }
+    }
+
+    /**
+     * Carrega a configuração a partir das propriedades de sistema.
+     */
+    public static GroupCommitConfig fromSystemProperties() {
+        return new GroupCommitConfig(
+            Boolean.getBoolean(PREFIXO + "habilitado"),
+            Integer.getInteger(PREFIXO + "tamanho-maximo-lote", 64),
+            Long.getLong(PREFIXO + "espera-maxima-micros", 1_000L),
+            Integer.getInteger(PREFIXO + "workers", 2),
+            Integer.getInteger(PREFIXO + "capacidade-fila", 4_096)
+        );
+    }
+}
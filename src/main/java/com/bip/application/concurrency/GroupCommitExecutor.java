@@ -0,0 +1,256 @@
+package com.bip.application.concurrency;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Executor de group commit: agrupa operações individuais em micro-lotes
+ * confirmados em uma única transação.
+ *
+ * <p>Cada chamador recebe o próprio resultado somente após o commit do lote.
+ * Uma falha de regra de negócio afeta apenas o item que a provocou; uma falha
+ * no commit é propagada para todos os itens do lote.</p>
+ *
+ * <p>Um item pode falhar depois de alterar parte do estado (a origem já
+ * debitada, por exemplo). Por isso a falha de um item desfaz a transação do
+ * lote inteiro, e o lote é refeito sem ele: nada do item reprovado chega ao
+ * commit. O custo de uma reprovação é reaplicar os itens anteriores a ela.</p>
+ *
+ * @param <T> tipo do item processado
+ *
+ * @author BIP API Team
+ * @since 1.1
+ */
+public class GroupCommitExecutor<T> implements AutoCloseable {
+
+    private static final Logger LOGGER = Logger.getLogger(GroupCommitExecutor.class.getName());
+    private static final long POLL_OCIOSO_MILLIS = 100L;
+
+    private final GroupCommitConfig config;
+    private final Consumer<T> aplicador;
+    private final Consumer<Runnable> emTransacao;
+    private final BlockingQueue<Pedido<T>> fila;
+    private final List<Thread> workers;
+
+    private final LongAdder lotesProcessados = new LongAdder();
+    private final LongAdder itensProcessados = new LongAdder();
+    private final LongAdder lotesRefeitos = new LongAdder();
+    private final AtomicLong maiorLote = new AtomicLong();
+
+    private volatile boolean ativo = true;
+
+    /**
+     * Cria o executor e inicia os workers.
+     *
+     * @param nome nome usado nas threads de processamento
+     * @param config configuração de lote, espera e fila
+     * @param aplicador aplica um item dentro da transação corrente; exceções reprovam apenas o item
+     * @param emTransacao executa o trabalho recebido em uma única transação, desfeita
+     *                    se o trabalho lançar uma exceção
+     */
+    public GroupCommitExecutor(String nome, GroupCommitConfig config,
+                               Consumer<T> aplicador, Consumer<Runnable> emTransacao) {
+        this.config = config;
+        this.aplicador = aplicador;
+        this.emTransacao = emTransacao;
+        this.fila = new ArrayBlockingQueue<>(config.capacidadeFila());
+        this.workers = new ArrayList<>(config.workers());
+
+        for (int i = 0; i < config.workers(); i++) {
+            Thread worker = new Thread(this::drenar, nome + "-group-commit-" + i);
+            worker.setDaemon(true);
+            workers.add(worker);
+            worker.start();
+        }
+    }
+
+    /**
+     * Enfileira o item para o próximo lote.
+     *
+     * @throws RejectedExecutionException se a fila estiver cheia ou o executor encerrado
+     */
+    public CompletableFuture<Void> submeter(T item) {
+        if (!ativo) {
+            throw new RejectedExecutionException("Group commit encerrado");
+        }
+        Pedido<T> pedido = new Pedido<>(item);
+        if (!fila.offer(pedido)) {
+            throw new RejectedExecutionException("Fila de group commit cheia");
+        }
+        return pedido.resultado;
+    }
+
+    /**
+     * Enfileira o item e aguarda o commit do lote, relançando a falha original do item.
+     */
+    public void executar(T item) {
+        try {
+            submeter(item).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw e;
+        }
+    }
+
+    private void drenar() {
+        List<Pedido<T>> lote = new ArrayList<>(config.tamanhoMaximoLote());
+        while (ativo || !fila.isEmpty()) {
+            try {
+                Pedido<T> primeiro = fila.poll(POLL_OCIOSO_MILLIS, TimeUnit.MILLISECONDS);
+                if (primeiro == null) {
+                    continue;
+                }
+                lote.add(primeiro);
+                completarLote(lote);
+                processarLote(lote);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                lote.forEach(pedido -> pedido.resultado.completeExceptionally(
+                    new RejectedExecutionException("Group commit interrompido")));
+                return;
+            } finally {
+                lote.clear();
+            }
+        }
+    }
+
+    private void completarLote(List<Pedido<T>> lote) throws InterruptedException {
+        int maximo = config.tamanhoMaximoLote();
+        fila.drainTo(lote, maximo - lote.size());
+
+        long prazo = System.nanoTime() + TimeUnit.MICROSECONDS.toNanos(config.esperaMaximaMicros());
+        while (lote.size() < maximo) {
+            long restante = prazo - System.nanoTime();
+            if (restante <= 0) {
+                break;
+            }
+            Pedido<T> proximo = fila.poll(restante, TimeUnit.NANOSECONDS);
+            if (proximo == null) {
+                break;
+            }
+            lote.add(proximo);
+            fila.drainTo(lote, maximo - lote.size());
+        }
+    }
+
+    private void processarLote(List<Pedido<T>> lote) {
+        // Estatísticas antes de completar os futures: quem aguarda o resultado já as enxerga
+        lotesProcessados.increment();
+        itensProcessados.add(lote.size());
+        maiorLote.accumulateAndGet(lote.size(), Math::max);
+
+        List<Pedido<T>> pendentes = new ArrayList<>(lote);
+        while (!pendentes.isEmpty()) {
+            try {
+                emTransacao.accept(() -> {
+                    for (Pedido<T> pedido : pendentes) {
+                        try {
+                            aplicador.accept(pedido.item);
+                        } catch (RuntimeException e) {
+                            throw new ItemReprovado(pedido, e);
+                        }
+                    }
+                });
+                pendentes.forEach(pedido -> pedido.resultado.complete(null));
+                return;
+
+            } catch (RuntimeException e) {
+                ItemReprovado reprovado = itemReprovado(e);
+                if (reprovado == null) {
+                    LOGGER.log(Level.WARNING, "Falha no commit do lote de " + pendentes.size() + " itens", e);
+                    pendentes.forEach(pedido -> pedido.resultado.completeExceptionally(e));
+                    return;
+                }
+                // A transação foi desfeita com as alterações parciais do item; o restante é refeito
+                pendentes.remove(reprovado.pedido);
+                reprovado.pedido.resultado.completeExceptionally(reprovado.getCause());
+                if (!pendentes.isEmpty()) {
+                    lotesRefeitos.increment();
+                }
+            }
+        }
+    }
+
+    private static ItemReprovado itemReprovado(Throwable falha) {
+        for (Throwable causa = falha; causa != null; causa = causa.getCause()) {
+            if (causa instanceof ItemReprovado reprovado) {
+                return reprovado;
+            }
+        }
+        return null;
+    }
+
+    public long getLotesProcessados() {
+        return lotesProcessados.sum();
+    }
+
+    public long getItensProcessados() {
+        return itensProcessados.sum();
+    }
+
+    public long getMaiorLote() {
+        return maiorLote.get();
+    }
+
+    /**
+     * Lotes refeitos sem um item reprovado.
+     */
+    public long getLotesRefeitos() {
+        return lotesRefeitos.sum();
+    }
+
+    public int getTamanhoFila() {
+        return fila.size();
+    }
+
+    /**
+     * Para de aceitar itens e aguarda a drenagem dos pendentes.
+     */
+    @Override
+    public void close() {
+        ativo = false;
+        for (Thread worker : workers) {
+            try {
+                worker.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Interrompe a transação do lote na falha de um item, levando a causa original.
+     */
+    private static final class ItemReprovado extends RuntimeException {
+
+        private final transient Pedido<?> pedido;
+
+        private ItemReprovado(Pedido<?> pedido, RuntimeException causa) {
+            super(causa.getMessage(), causa, false, false);
+            this.pedido = pedido;
+        }
+    }
+
+    private static final class Pedido<T> {
+        private final T item;
+        private final CompletableFuture<Void> resultado = new CompletableFuture<>();
+
+        private Pedido(T item) {
+            this.item = item;
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.bip.application.concurrency;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Ring buffer limitado e sem locks para vários produtores e um único consumidor.
+ *
+ * <p>Cada posição guarda um número de sequência que indica se está livre para o
+ * produtor da volta corrente ou preenchida para o consumidor; produtores
+ * disputam apenas um contador atômico, sem bloqueio.</p>
+ *
+ * @param <E> tipo dos elementos
+ *
+ * @author BIP API Team
+ * @since 1.1
+ */
+public class RingBuffer<E> {
+
+    private final AtomicReferenceArray<E> elementos;
+    private final AtomicLongArray sequencias;
+    private final int mascara;
+    private final AtomicLong posicaoEscrita = new AtomicLong();
+    private final AtomicLong posicaoLeitura = new AtomicLong();
+
+    /**
+     * @param capacidade capacidade do buffer (arredondada para potência de 2)
+     */
+    public RingBuffer(int capacidade) {
+        if (capacidade <= 0) {
+            throw new IllegalArgumentException("Capacidade do ring buffer deve ser positiva");
+        }
+        int tamanho = Integer.highestOneBit(capacidade);
+        if (tamanho < capacidade) {
+            tamanho <<= 1;
+        }
+
+        this.elementos = new AtomicReferenceArray<>(tamanho);
+        this.sequencias = new AtomicLongArray(tamanho);
+        this.mascara = tamanho - 1;
+        for (int i = 0; i < tamanho; i++) {
+            sequencias.set(i, i);
+        }
+    }
+
+    /**
+     * Insere o elemento; seguro para várias threads produtoras.
+     *
+     * @return false se o buffer estiver cheio
+     */
+    public boolean offer(E elemento) {
+        if (elemento == null) {
+            throw new IllegalArgumentException("Elemento não pode ser nulo");
+        }
+
+        while (true) {
+            long posicao = posicaoEscrita.get();
+            int indice = (int) posicao & mascara;
+            long diferenca = sequencias.get(indice) - posicao;
+
+            if (diferenca == 0) {
+                if (posicaoEscrita.compareAndSet(posicao, posicao + 1)) {
+                    elementos.lazySet(indice, elemento);
+                    sequencias.set(indice, posicao + 1);
+                    return true;
+                }
+            } else if (diferenca < 0) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Remove o próximo elemento; deve ser chamado por uma única thread consumidora.
+     *
+     * @return o elemento ou null se o buffer estiver vazio
+     */
+    public E poll() {
+        long posicao = posicaoLeitura.get();
+        int indice = (int) posicao & mascara;
+        if (sequencias.get(indice) != posicao + 1) {
+            return null;
+        }
+
+        E elemento = elementos.get(indice);
+        elementos.lazySet(indice, null);
+        // Libera a posição para o produtor da próxima volta
+        sequencias.set(indice, posicao + mascara + 1);
+        posicaoLeitura.lazySet(posicao + 1);
+        return elemento;
+    }
+
+    /**
+     * Quantidade aproximada de elementos no buffer.
+     */
+    public int size() {
+        long tamanho = posicaoEscrita.get() - posicaoLeitura.get();
+        return (int) Math.max(0, Math.min(tamanho, capacidade()));
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public int capacidade() {
+        return mascara + 1;
+    }
+}
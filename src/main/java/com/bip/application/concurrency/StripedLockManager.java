@@ -0,0 +1,231 @@
+package com.bip.application.concurrency;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Tabela de locks em memória particionada (striped) por ID de benefício.
+ *
+ * <p>Transferências concorrentes sobre o mesmo benefício aguardam na JVM,
+ * antes de abrir a transação, em vez de aguardar o lock de linha no banco
+ * ocupando uma conexão. Os stripes de uma operação são sempre adquiridos em
+ * ordem crescente de índice, o que evita deadlock entre transferências
+ * cruzadas (A→B e B→A).</p>
+ *
+ * <p>O lock é local ao processo: com várias instâncias da aplicação o banco
+ * continua sendo a garantia final de consistência.</p>
+ *
+ * @author BIP API Team
+ * @since 1.1
+ */
+@ApplicationScoped
+public class StripedLockManager {
+
+    public static final String PREFIXO = "bip.transferencia.lock-striping.";
+
+    private static final Bloqueio SEM_BLOQUEIO = () -> { };
+
+    private boolean habilitado;
+    private long esperaMaximaMillis = 5_000L;
+    private Stripe[] stripes = new Stripe[0];
+
+    @PostConstruct
+    void iniciar() {
+        configurar(Boolean.getBoolean(PREFIXO + "habilitado"),
+                   Integer.getInteger(PREFIXO + "stripes", 256),
+                   Long.getLong(PREFIXO + "espera-maxima-millis", 5_000L));
+    }
+
+    /**
+     * Reconfigura a tabela de locks. Deve ser chamado antes do primeiro uso.
+     *
+     * @param habilitado se os locks devem ser adquiridos
+     * @param quantidadeStripes quantidade de stripes (arredondada para potência de 2)
+     * @param esperaMaximaMillis tempo máximo de espera por um stripe
+     */
+    void configurar(boolean habilitado, int quantidadeStripes, long esperaMaximaMillis) {
+        if (quantidadeStripes <= 0) {
+            throw new IllegalArgumentException("Quantidade de stripes deve ser positiva");
+        }
+        if (esperaMaximaMillis <= 0) {
+            throw new IllegalArgumentException("Espera máxima deve ser positiva");
+        }
+
+        int tamanho = Integer.highestOneBit(quantidadeStripes);
+        if (tamanho < quantidadeStripes) {
+            tamanho <<= 1;
+        }
+
+        Stripe[] novos = new Stripe[tamanho];
+        for (int i = 0; i < tamanho; i++) {
+            novos[i] = new Stripe();
+        }
+        this.stripes = novos;
+        this.esperaMaximaMillis = esperaMaximaMillis;
+        this.habilitado = habilitado;
+    }
+
+    public boolean isHabilitado() {
+        return habilitado;
+    }
+
+    /**
+     * Adquire os stripes dos benefícios informados, em ordem de índice.
+     * Usar com try-with-resources; com o modo desabilitado retorna um bloqueio vazio.
+     *
+     * @param beneficioIds IDs dos benefícios envolvidos na operação
+     * @return bloqueio que libera os stripes ao ser fechado
+     * @throws RejectedExecutionException se a espera máxima for excedida
+     */
+    public Bloqueio adquirir(Long... beneficioIds) {
+        if (!habilitado) {
+            return SEM_BLOQUEIO;
+        }
+
+        int[] indices = indicesOrdenados(beneficioIds);
+        List<Stripe> adquiridos = new ArrayList<>(indices.length);
+        try {
+            for (int indice : indices) {
+                Stripe stripe = stripes[indice];
+                stripe.adquirir(esperaMaximaMillis);
+                adquiridos.add(stripe);
+            }
+        } catch (RuntimeException e) {
+            liberar(adquiridos);
+            throw e;
+        }
+        return () -> liberar(adquiridos);
+    }
+
+    /**
+     * Índice do stripe de um benefício.
+     */
+    public int indiceStripe(Long beneficioId) {
+        // Espalha IDs sequenciais entre os stripes (mistura do SplitMix64)
+        long h = beneficioId;
+        h = (h ^ (h >>> 33)) * 0xff51afd7ed558ccdL;
+        h = (h ^ (h >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return (int) h & (stripes.length - 1);
+    }
+
+    public int getQuantidadeStripes() {
+        return stripes.length;
+    }
+
+    /**
+     * Estatísticas dos stripes que já foram utilizados, ordenadas por espera total decrescente.
+     */
+    public List<EstatisticaStripe> getEstatisticas() {
+        List<EstatisticaStripe> estatisticas = new ArrayList<>();
+        for (int i = 0; i < stripes.length; i++) {
+            Stripe stripe = stripes[i];
+            if (stripe.aquisicoes.sum() > 0 || stripe.lock.isLocked()) {
+                estatisticas.add(stripe.estatistica(i));
+            }
+        }
+        estatisticas.sort((a, b) -> Long.compare(b.esperaTotalMicros(), a.esperaTotalMicros()));
+        return estatisticas;
+    }
+
+    private int[] indicesOrdenados(Long[] beneficioIds) {
+        if (beneficioIds == null || beneficioIds.length == 0) {
+            throw new IllegalArgumentException("Informe ao menos um benefício");
+        }
+        int[] indices = new int[beneficioIds.length];
+        for (int i = 0; i < beneficioIds.length; i++) {
+            if (beneficioIds[i] == null) {
+                throw new IllegalArgumentException("ID do benefício não pode ser nulo");
+            }
+            indices[i] = indiceStripe(beneficioIds[i]);
+        }
+        // IDs no mesmo stripe são adquiridos uma única vez
+        return Arrays.stream(indices).sorted().distinct().toArray();
+    }
+
+    private static void liberar(List<Stripe> adquiridos) {
+        for (int i = adquiridos.size() - 1; i >= 0; i--) {
+            adquiridos.get(i).lock.unlock();
+        }
+    }
+
+    /**
+     * Bloqueio adquirido sobre um conjunto de stripes.
+     */
+    @FunctionalInterface
+    public interface Bloqueio extends AutoCloseable {
+
+        @Override
+        void close();
+    }
+
+    /**
+     * Estatísticas de um stripe.
+     *
+     * @param indice índice do stripe
+     * @param aquisicoes total de aquisições
+     * @param contencoes aquisições que precisaram aguardar outra thread
+     * @param timeouts aquisições abandonadas por exceder a espera máxima
+     * @param esperaTotalMicros soma dos tempos de espera
+     * @param esperaMaximaMicros maior tempo de espera observado
+     * @param filaAtual threads aguardando o stripe no momento
+     * @param filaMaxima maior fila observada
+     */
+    public record EstatisticaStripe(int indice, long aquisicoes, long contencoes, long timeouts,
+                                    long esperaTotalMicros, long esperaMaximaMicros,
+                                    int filaAtual, long filaMaxima) {
+    }
+
+    private static final class Stripe {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final LongAdder aquisicoes = new LongAdder();
+        private final LongAdder contencoes = new LongAdder();
+        private final LongAdder timeouts = new LongAdder();
+        private final LongAdder esperaTotalNanos = new LongAdder();
+        private final AtomicLong esperaMaximaNanos = new AtomicLong();
+        private final AtomicLong filaMaxima = new AtomicLong();
+
+        private void adquirir(long esperaMaximaMillis) {
+            if (lock.tryLock()) {
+                aquisicoes.increment();
+                return;
+            }
+
+            contencoes.increment();
+            filaMaxima.accumulateAndGet(lock.getQueueLength() + 1L, Math::max);
+            long inicio = System.nanoTime();
+            boolean adquirido;
+            try {
+                adquirido = lock.tryLock(esperaMaximaMillis, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RejectedExecutionException("Interrompido aguardando lock do benefício", e);
+            } finally {
+                long espera = System.nanoTime() - inicio;
+                esperaTotalNanos.add(espera);
+                esperaMaximaNanos.accumulateAndGet(espera, Math::max);
+            }
+
+            if (!adquirido) {
+                timeouts.increment();
+                throw new RejectedExecutionException("Tempo de espera pelo lock do benefício excedido");
+            }
+            aquisicoes.increment();
+        }
+
+        private EstatisticaStripe estatistica(int indice) {
+            return new EstatisticaStripe(indice, aquisicoes.sum(), contencoes.sum(), timeouts.sum(),
+                TimeUnit.NANOSECONDS.toMicros(esperaTotalNanos.sum()),
+                TimeUnit.NANOSECONDS.toMicros(esperaMaximaNanos.get()),
+                lock.getQueueLength(), filaMaxima.get());
+        }
+    }
+}
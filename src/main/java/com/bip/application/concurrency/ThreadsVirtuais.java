@@ -0,0 +1,129 @@
+package com.bip.application.concurrency;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.logging.Logger;
+
+/**
+ * Acesso às threads virtuais do Java 21 a partir de código compilado para o
+ * Java 17.
+ *
+ * <p>O build padrão continua no Java 17, então a API é resolvida por reflexão
+ * uma única vez. Em uma JVM anterior ao Java 21 o modo fica indisponível e
+ * {@link #isHabilitado()} retorna {@code false} mesmo com a propriedade ligada.
+ * O profile {@code java21} liga a propriedade.</p>
+ *
+ * @author BIP API Team
+ * @since 1.2
+ */
+public final class ThreadsVirtuais {
+
+    public static final String PROPRIEDADE = "bip.threads-virtuais.habilitado";
+
+    private static final Logger LOGGER = Logger.getLogger(ThreadsVirtuais.class.getName());
+
+    private static final Method OF_VIRTUAL = metodo(Thread.class, "ofVirtual");
+    private static final Method NOME = metodo(classe("java.lang.Thread$Builder"), "name", String.class, long.class);
+    private static final Method FABRICA = metodo(classe("java.lang.Thread$Builder"), "factory");
+    private static final Method IS_VIRTUAL = metodo(Thread.class, "isVirtual");
+    private static final Method POR_TAREFA = metodo(Executors.class, "newThreadPerTaskExecutor", ThreadFactory.class);
+
+    // No Java 19 e 20 a API existe, mas como preview
+    private static final boolean SUPORTADO = Runtime.version().feature() >= 21
+        && OF_VIRTUAL != null && NOME != null && FABRICA != null && IS_VIRTUAL != null && POR_TAREFA != null;
+
+    private ThreadsVirtuais() {
+    }
+
+    /**
+     * {@code true} quando a JVM oferece threads virtuais (Java 21 ou superior).
+     */
+    public static boolean isSuportado() {
+        return SUPORTADO;
+    }
+
+    /**
+     * {@code true} com a propriedade {@value #PROPRIEDADE} ligada em uma JVM com
+     * threads virtuais. Ligada em uma JVM sem suporte, registra um aviso.
+     */
+    public static boolean isHabilitado() {
+        if (!Boolean.getBoolean(PROPRIEDADE)) {
+            return false;
+        }
+        if (!isSuportado()) {
+            LOGGER.warning(() -> PROPRIEDADE + " ignorada: a JVM " + Runtime.version()
+                + " não oferece threads virtuais (Java 21+)");
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Fábrica de threads virtuais nomeadas {@code prefixo0}, {@code prefixo1}...
+     *
+     * @throws IllegalStateException se a JVM não oferece threads virtuais
+     */
+    public static ThreadFactory fabrica(String prefixo) {
+        exigirSuporte();
+        Object construtor = invocar(OF_VIRTUAL, null);
+        construtor = invocar(NOME, construtor, prefixo, 0L);
+        return (ThreadFactory) invocar(FABRICA, construtor);
+    }
+
+    /**
+     * Executor que inicia uma thread virtual por tarefa, sem fila nem limite.
+     *
+     * @throws IllegalStateException se a JVM não oferece threads virtuais
+     */
+    public static ExecutorService executorPorTarefa(String prefixo) {
+        return (ExecutorService) invocar(POR_TAREFA, null, fabrica(prefixo));
+    }
+
+    /**
+     * {@code true} se a thread é virtual; sempre {@code false} antes do Java 21.
+     */
+    public static boolean isVirtual(Thread thread) {
+        return SUPORTADO && (Boolean) invocar(IS_VIRTUAL, thread);
+    }
+
+    private static void exigirSuporte() {
+        if (!isSuportado()) {
+            throw new IllegalStateException("Threads virtuais exigem Java 21; JVM atual: " + Runtime.version());
+        }
+    }
+
+    private static Object invocar(Method metodo, Object alvo, Object... argumentos) {
+        try {
+            return metodo.invoke(alvo, argumentos);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        } catch (InvocationTargetException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private static Class<?> classe(String nome) {
+        try {
+            return Class.forName(nome);
+        } catch (ClassNotFoundException e) {
+            return null;
+        }
+    }
+
+    private static Method metodo(Class<?> classe, String nome, Class<?>... parametros) {
+        if (classe == null) {
+            return null;
+        }
+        try {
+            return classe.getMethod(nome, parametros);
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+}
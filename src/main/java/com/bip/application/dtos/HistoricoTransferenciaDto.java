@@ -26,6 +26,7 @@ public class HistoricoTransferenciaDto implements Serializable {
     private String descricao;
     private LocalDateTime dataExecucao;
     private String status;
+    private String motivoFalha;
     
     public HistoricoTransferenciaDto() {}
     
@@ -126,6 +127,14 @@ public class HistoricoTransferenciaDto implements Serializable {
         this.status = status;
     }
     
+    public String getMotivoFalha() {
+        return motivoFalha;
+    }
+    
+    public void setMotivoFalha(String motivoFalha) {
+        this.motivoFalha = motivoFalha;
+    }
+    
     @Override
     public String toString() {
         return String.format("HistoricoTransferenciaDto{id=%d, origem=%s->%s, valor=%s, data=%s}", 
@@ -0,0 +1,66 @@
+package com.bip.application.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evento JFR de uma chamada ao repositório de benefícios.
+ *
+ * <p>Uso: {@link #iniciar(String)} antes da consulta, {@link #concluir(int)}
+ * com as linhas obtidas e {@link #emitir()} em um {@code finally}, para que
+ * consultas com exceção também apareçam na gravação.</p>
+ *
+ * @author BIP API Team
+ * @since 1.2
+ */
+@Name("com.bip.ConsultaRepositorio")
+@Label("Consulta ao Repositório")
+@Category({"BIP", "Repositório"})
+@Description("Chamada a um método do repositório de benefícios")
+@StackTrace(false)
+public class ConsultaRepositorioEvento extends Event {
+
+    @Label("Consulta")
+    @Description("Método do repositório")
+    private String consulta;
+
+    @Label("Linhas")
+    @Description("Linhas lidas ou gravadas; 0 em chamadas que só delimitam a transação")
+    private int linhas;
+
+    @Label("Sucesso")
+    private boolean sucesso;
+
+    /**
+     * Cria o evento e marca o início da duração.
+     *
+     * @param consulta nome do método do repositório
+     */
+    public static ConsultaRepositorioEvento iniciar(String consulta) {
+        ConsultaRepositorioEvento evento = new ConsultaRepositorioEvento();
+        evento.consulta = consulta;
+        evento.begin();
+        return evento;
+    }
+
+    /**
+     * Registra o resultado da chamada; sem esta chamada o evento sai como falha.
+     */
+    public void concluir(int linhas) {
+        this.linhas = linhas;
+        this.sucesso = true;
+    }
+
+    /**
+     * Grava o evento se houver uma gravação ativa que o aceite.
+     */
+    public void emitir() {
+        if (shouldCommit()) {
+            commit();
+        }
+    }
+}
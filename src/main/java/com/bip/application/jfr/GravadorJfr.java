@@ -0,0 +1,174 @@
+package com.bip.application.jfr;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.locks.ReentrantLock;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+
+/**
+ * Controla a gravação do JDK Flight Recorder iniciada pela API de administração.
+ *
+ * <p>Há no máximo uma gravação por vez. Ela inclui os eventos da JVM da
+ * configuração escolhida ({@code default}, com custo abaixo de 1%, ou
+ * {@code profile}, com amostragem mais frequente) e os eventos da aplicação
+ * ({@link TransferenciaEvento}, {@link ConsultaRepositorioEvento}). Depois de
+ * parada, a gravação continua disponível para o dump até a próxima ser iniciada.</p>
+ *
+ * <p>Sem gravação ativa os eventos da aplicação custam uma verificação de flag
+ * por chamada.</p>
+ *
+ * <p>O estado é protegido por um {@link ReentrantLock}. O dump grava uma cópia
+ * da gravação fora do lock, então a escrita em disco não bloqueia as outras
+ * operações.</p>
+ *
+ * @author BIP API Team
+ * @since 1.2
+ */
+@ApplicationScoped
+public class GravadorJfr {
+
+    static final String NOME = "bip";
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private Recording gravacao;
+
+    /**
+     * Inicia uma nova gravação, descartando a anterior já parada.
+     *
+     * @param configuracao {@code default} ou {@code profile}
+     * @param duracaoMaxima a gravação para sozinha após este tempo
+     * @param tamanhoMaximo bytes mantidos em disco; os mais antigos são descartados
+     * @throws IllegalArgumentException se a configuração não existir ou os limites não forem positivos
+     * @throws IllegalStateException se já houver uma gravação em andamento
+     */
+    public Situacao iniciar(String configuracao, Duration duracaoMaxima, long tamanhoMaximo) {
+        if (duracaoMaxima.isNegative() || duracaoMaxima.isZero() || tamanhoMaximo <= 0) {
+            throw new IllegalArgumentException("Duração e tamanho máximos devem ser positivos");
+        }
+        Configuration base = configuracao(configuracao);
+
+        lock.lock();
+        try {
+            if (gravacao != null && gravacao.getState() == RecordingState.RUNNING) {
+                throw new IllegalStateException("Gravação JFR já em andamento");
+            }
+            descartar();
+
+            Recording nova = new Recording(base);
+            nova.setName(NOME);
+            nova.setToDisk(true);
+            nova.setDuration(duracaoMaxima);
+            nova.setMaxSize(tamanhoMaximo);
+            nova.enable(TransferenciaEvento.class);
+            nova.enable(ConsultaRepositorioEvento.class);
+            nova.start();
+            gravacao = nova;
+            return getSituacao();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Para a gravação em andamento, mantendo os dados para o dump.
+     *
+     * @throws IllegalStateException se não houver gravação em andamento
+     */
+    public Situacao parar() {
+        lock.lock();
+        try {
+            if (gravacao == null || gravacao.getState() != RecordingState.RUNNING) {
+                throw new IllegalStateException("Nenhuma gravação JFR em andamento");
+            }
+            gravacao.stop();
+            return getSituacao();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Grava os dados da gravação atual, em andamento ou parada, em um arquivo
+     * temporário. O chamador remove o arquivo após o uso.
+     *
+     * @return caminho do arquivo {@code .jfr}
+     * @throws IllegalStateException se nenhuma gravação foi iniciada
+     */
+    public Path despejar() {
+        Recording copia;
+        lock.lock();
+        try {
+            if (gravacao == null || gravacao.getState() == RecordingState.NEW
+                || gravacao.getState() == RecordingState.CLOSED) {
+                throw new IllegalStateException("Nenhuma gravação JFR disponível");
+            }
+            // A cópia mantém os dados até aqui mesmo que a original seja descartada durante o dump
+            copia = gravacao.copy(true);
+        } finally {
+            lock.unlock();
+        }
+
+        try (copia) {
+            Path arquivo = Files.createTempFile("bip-", ".jfr");
+            copia.dump(arquivo);
+            return arquivo;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao gravar o dump JFR", e);
+        }
+    }
+
+    public Situacao getSituacao() {
+        lock.lock();
+        try {
+            if (gravacao == null) {
+                return new Situacao("NENHUMA", null, null, null, 0);
+            }
+            return new Situacao(gravacao.getState().name(), gravacao.getStartTime(), gravacao.getStopTime(),
+                gravacao.getDuration(), gravacao.getSize());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @PreDestroy
+    void encerrar() {
+        lock.lock();
+        try {
+            descartar();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void descartar() {
+        if (gravacao != null) {
+            gravacao.close();
+            gravacao = null;
+        }
+    }
+
+    private static Configuration configuracao(String nome) {
+        try {
+            return Configuration.getConfiguration(nome);
+        } catch (IOException | ParseException e) {
+            throw new IllegalArgumentException("Configuração JFR inválida: " + nome, e);
+        }
+    }
+
+    /**
+     * Estado da gravação ({@code NENHUMA}, {@code RUNNING}, {@code STOPPED}...),
+     * instantes de início e fim, duração máxima e bytes gravados.
+     */
+    public record Situacao(String estado, Instant inicio, Instant fim, Duration duracaoMaxima, long tamanho) {
+    }
+}
@@ -0,0 +1,97 @@
+package com.bip.application.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Evento JFR de uma transferência entre benefícios.
+ *
+ * <p>A duração do evento cobre a transferência inteira, da validação à
+ * invalidação do cache. {@code esperaLock} e {@code commit} separam o tempo
+ * parado nos locks do striping do tempo de gravação: a transação no modo
+ * direto, a espera pelo lote no group commit ou pelo journal no ledger.</p>
+ *
+ * <p>Sem gravação ativa, {@link #shouldCommit()} é falso e nenhum campo é
+ * preenchido; o objeto não escapa do método e o JIT o elimina.</p>
+ *
+ * @author BIP API Team
+ * @since 1.2
+ */
+@Name("com.bip.Transferencia")
+@Label("Transferência")
+@Category({"BIP", "Transferências"})
+@Description("Transferência entre benefícios")
+@StackTrace(false)
+public class TransferenciaEvento extends Event {
+
+    @Label("Origem")
+    private long origemId;
+
+    @Label("Destino")
+    private long destinoId;
+
+    @Label("Valor (R$)")
+    private double valor;
+
+    @Label("Modo")
+    @Description("direto, group_commit ou ledger")
+    private String modo;
+
+    @Label("Espera por Locks")
+    @Timespan(Timespan.NANOSECONDS)
+    private long esperaLock;
+
+    @Label("Commit")
+    @Timespan(Timespan.NANOSECONDS)
+    private long commit;
+
+    @Label("Falha")
+    @Description("Classe da exceção; vazio quando concluída")
+    private String falha;
+
+    /**
+     * Cria o evento e marca o início da duração.
+     */
+    public static TransferenciaEvento iniciar() {
+        TransferenciaEvento evento = new TransferenciaEvento();
+        evento.begin();
+        return evento;
+    }
+
+    public void setModo(String modo) {
+        this.modo = modo;
+    }
+
+    public long getEsperaLock() {
+        return esperaLock;
+    }
+
+    public void setEsperaLock(long nanos) {
+        this.esperaLock = nanos;
+    }
+
+    public void setCommit(long nanos) {
+        this.commit = nanos;
+    }
+
+    /**
+     * Grava o evento se houver uma gravação ativa que o aceite.
+     *
+     * @param falha exceção que encerrou a transferência, ou {@code null}
+     */
+    public void emitir(Long origemId, Long destinoId, Number valor, Throwable falha) {
+        if (!shouldCommit()) {
+            return;
+        }
+        this.origemId = origemId;
+        this.destinoId = destinoId;
+        this.valor = valor.doubleValue();
+        this.falha = falha != null ? falha.getClass().getSimpleName() : "";
+        commit();
+    }
+}
@@ -0,0 +1,199 @@
+package com.bip.application.ledger;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/**
+ * Journal em arquivo sequencial com registros binários de tamanho fixo.
+ *
+ * <p>Os registros seguem o {@link FormatoRegistro}. Um registro incompleto ou
+ * com CRC inválido no fim do arquivo (escrita interrompida) encerra a leitura
+ * e é descartado na abertura.</p>
+ *
+ * <p>Não é thread-safe: deve ser usado por uma única thread escritora.</p>
+ *
+ * @author BIP API Team
+ * @since 1.1
+ */
+public class FileJournal implements Journal {
+
+    public static final String NOME_ARQUIVO = "ledger.journal";
+
+    static final int TAMANHO_REGISTRO = FormatoRegistro.TAMANHO;
+    private static final int REGISTROS_POR_BUFFER = 1024;
+
+    private final Path arquivo;
+    private final ByteBuffer buffer = ByteBuffer.allocate(TAMANHO_REGISTRO * REGISTROS_POR_BUFFER);
+    private final CRC32 crc = new CRC32();
+    private FileChannel canal;
+    private long ultimaSequencia;
+
+    /**
+     * Abre (ou cria) o journal no diretório informado, descartando um registro final incompleto.
+     */
+    public FileJournal(Path diretorio) {
+        try {
+            Files.createDirectories(diretorio);
+            this.arquivo = diretorio.resolve(NOME_ARQUIVO);
+            abrir();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao abrir journal em " + diretorio, e);
+        }
+    }
+
+    @Override
+    public void append(RegistroJournal registro) {
+        if (buffer.remaining() < TAMANHO_REGISTRO) {
+            escreverBuffer();
+        }
+
+        FormatoRegistro.escrever(buffer, registro, crc);
+        ultimaSequencia = registro.sequencia();
+    }
+
+    @Override
+    public void sync() {
+        escreverBuffer();
+        try {
+            canal.force(false);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha no fsync do journal", e);
+        }
+    }
+
+    @Override
+    public long replay(long aposSequencia, Consumer<RegistroJournal> consumidor) {
+        sync();
+        try {
+            long[] maior = {aposSequencia};
+            escanear(canal, registro -> {
+                if (registro.sequencia() > aposSequencia) {
+                    consumidor.accept(registro);
+                    maior[0] = Math.max(maior[0], registro.sequencia());
+                }
+            });
+            return maior[0];
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao ler journal", e);
+        }
+    }
+
+    @Override
+    public void descartarAte(long sequencia) {
+        sync();
+        try {
+            if (ultimaSequencia <= sequencia) {
+                canal.truncate(0);
+                canal.position(0);
+                return;
+            }
+
+            // Reescreve apenas os registros ainda não refletidos no banco
+            Path temporario = arquivo.resolveSibling(NOME_ARQUIVO + ".tmp");
+            try (FileChannel destino = FileChannel.open(temporario, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer registroBuffer = ByteBuffer.allocate(TAMANHO_REGISTRO);
+                escanear(canal, registro -> {
+                    if (registro.sequencia() > sequencia) {
+                        registroBuffer.clear();
+                        escrever(destino, serializar(registro, registroBuffer));
+                    }
+                });
+                destino.force(false);
+            }
+            canal.close();
+            Files.move(temporario, arquivo, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            abrir();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao compactar journal", e);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (canal == null || !canal.isOpen()) {
+            return;
+        }
+        try {
+            sync();
+            canal.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao fechar journal", e);
+        }
+    }
+
+    private void abrir() throws IOException {
+        canal = FileChannel.open(arquivo, StandardOpenOption.CREATE,
+            StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long[] ultima = {0L};
+        long valido = escanear(canal, registro -> ultima[0] = registro.sequencia());
+        canal.truncate(valido);
+        canal.position(valido);
+        ultimaSequencia = ultima[0];
+    }
+
+    /**
+     * Lê os registros válidos do início do arquivo.
+     *
+     * @return posição logo após o último registro válido
+     */
+    private long escanear(FileChannel origem, Consumer<RegistroJournal> consumidor) throws IOException {
+        ByteBuffer leitura = ByteBuffer.allocate(TAMANHO_REGISTRO);
+        CRC32 verificador = new CRC32();
+        long posicao = 0;
+        long tamanho = origem.size();
+
+        while (posicao + TAMANHO_REGISTRO <= tamanho) {
+            leitura.clear();
+            while (leitura.hasRemaining()) {
+                if (origem.read(leitura, posicao + leitura.position()) < 0) {
+                    return posicao;
+                }
+            }
+            leitura.flip();
+            RegistroJournal registro = FormatoRegistro.ler(leitura, verificador);
+            if (registro == null) {
+                return posicao;
+            }
+            consumidor.accept(registro);
+            posicao += TAMANHO_REGISTRO;
+        }
+        return posicao;
+    }
+
+    private ByteBuffer serializar(RegistroJournal registro, ByteBuffer destino) {
+        FormatoRegistro.escrever(destino, registro, crc);
+        destino.flip();
+        return destino;
+    }
+
+    private void escreverBuffer() {
+        if (buffer.position() == 0) {
+            return;
+        }
+        buffer.flip();
+        try {
+            escrever(canal, buffer);
+        } finally {
+            buffer.clear();
+        }
+    }
+
+    private static void escrever(FileChannel destino, ByteBuffer dados) {
+        try {
+            while (dados.hasRemaining()) {
+                destino.write(dados);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao gravar journal", e);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.bip.application.ledger;
+
+import java.nio.ByteBuffer;
+import java.util.zip.CRC32;
+
+/**
+ * Formato binário dos registros de journal.
+ *
+ * <p>52 bytes: sequência, origem, destino, centavos, timestamp e hash de
+ * idempotência (8 bytes cada) seguidos do CRC32 dos 48 bytes anteriores.
+ * Opera sobre buffers em heap.</p>
+ *
+ * @author BIP API Team
+ * @since 1.1
+ */
+final class FormatoRegistro {
+
+    static final int TAMANHO = 52;
+    private static final int TAMANHO_DADOS = 48;
+
+    private FormatoRegistro() {
+    }
+
+    /**
+     * Grava o registro a partir da posição atual do buffer.
+     */
+    static void escrever(ByteBuffer destino, RegistroJournal registro, CRC32 crc) {
+        int inicio = destino.position();
+        destino.putLong(registro.sequencia())
+               .putLong(registro.origemId())
+               .putLong(registro.destinoId())
+               .putLong(registro.centavos())
+               .putLong(registro.timestampMillis())
+               .putLong(registro.hashIdempotencia());
+        crc.reset();
+        crc.update(destino.array(), destino.arrayOffset() + inicio, TAMANHO_DADOS);
+        destino.putInt((int) crc.getValue());
+    }
+
+    /**
+     * Lê o registro a partir da posição atual do buffer.
+     *
+     * @return o registro ou null se o CRC não confere
+     */
+    static RegistroJournal ler(ByteBuffer origem, CRC32 crc) {
+        crc.reset();
+        crc.update(origem.array(), origem.arrayOffset() + origem.position(), TAMANHO_DADOS);
+        RegistroJournal registro = new RegistroJournal(origem.getLong(), origem.getLong(), origem.getLong(),
+            origem.getLong(), origem.getLong(), origem.getLong());
+        return origem.getInt() == (int) crc.getValue() ? registro : null;
+    }
+}
@@ -0,0 +1,42 @@
+package com.bip.application.ledger;
+
+import java.util.function.Consumer;
+
+/**
+ * Journal sequencial das transferências aplicadas pelo ledger.
+ *
+ * <p>Uma transferência só é confirmada ao cliente depois de {@link #sync()};
+ * na inicialização, os registros posteriores ao último checkpoint são
+ * reaplicados sobre o snapshot do banco.</p>
+ *
+ * @author BIP API Team
+ * @since 1.1
+ */
+public interface Journal extends AutoCloseable {
+
+    /**
+     * Acrescenta um registro; pode permanecer em buffer até {@link #sync()}.
+     */
+    void append(RegistroJournal registro);
+
+    /**
+     * Fronteira de lote: grava em disco os registros acrescentados, conforme a
+     * política de sync da implementação.
+     */
+    void sync();
+
+    /**
+     * Reaplica, em ordem, os registros com sequência maior que a informada.
+     *
+     * @return maior sequência encontrada no journal, ou {@code aposSequencia} se não houver registros
+     */
+    long replay(long aposSequencia, Consumer<RegistroJournal> consumidor);
+
+    /**
+     * Descarta os registros com sequência até a informada, já refletidos no banco.
+     */
+    void descartarAte(long sequencia);
+
+    @Override
+    void close();
+}
@@ -0,0 +1,67 @@
+package com.bip.application.ledger;
+
+import java.util.Locale;
+
+/**
+ * Configuração do journal do ledger.
+ *
+ * <p>Os valores são lidos de propriedades de sistema ({@code -Dbip.ledger.journal.*})
+ * para funcionar igualmente no Jetty e nos servidores de aplicação.</p>
+ *
+ * @param mapeado se usa o journal em segmentos mapeados em memória ({@link MappedJournal})
+ *        em vez do arquivo único ({@link FileJournal})
+ * @param tamanhoSegmentoBytes tamanho pré-alocado de cada segmento
+ * @param politicaSync quando os registros são forçados para o disco
+ * @param intervaloSyncMillis intervalo de sync na política {@link PoliticaSync#INTERVALO}
+ *
+ * @author BIP API Team
+ * @since 1.1
+ */
+public record JournalConfig(boolean mapeado,
+                            long tamanhoSegmentoBytes,
+                            PoliticaSync politicaSync,
+                            long intervaloSyncMillis) {
+
+    public static final String PREFIXO = "bip.ledger.journal.";
+
+    /**
+     * Política de sync do journal.
+     */
+    public enum PoliticaSync {
+        /** Cada registro é forçado para o disco antes de retornar. */
+        REGISTRO,
+        /** Uma thread força o segmento atual a cada intervalo; confirmações podem preceder o sync. */
+        INTERVALO,
+        /** O lote é forçado em {@link Journal#sync()}, antes da confirmação. */
+        LOTE
+    }
+
+    public JournalConfig {
+        if (tamanhoSegmentoBytes < FormatoRegistro.TAMANHO || tamanhoSegmentoBytes > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Tamanho do segmento deve estar entre "
+                + FormatoRegistro.TAMANHO + " e " + Integer.MAX_VALUE + " bytes");
+        }
+        if (politicaSync == null) {
+            throw new IllegalArgumentException("Política de sync é obrigatória");
+        }
+        if (intervaloSyncMillis <= 0) {
+            throw new IllegalArgumentException("Intervalo de sync deve ser positivo");
+        }
+    }
+
+    /**
+     * Carrega a configuração a partir das propriedades de sistema.
+     */
+    public static JournalConfig fromSystemProperties() {
+        String tipo = System.getProperty(PREFIXO + "tipo", "mapeado");
+        if (!tipo.equals("mapeado") && !tipo.equals("arquivo")) {
+            throw new IllegalArgumentException("Tipo de journal inválido: " + tipo);
+        }
+        return new JournalConfig(
+            tipo.equals("mapeado"),
+            Long.getLong(PREFIXO + "tamanho-segmento-bytes", 64L * 1024 * 1024),
+            PoliticaSync.valueOf(System.getProperty(PREFIXO + "politica-sync", "LOTE").toUpperCase(Locale.ROOT)),
+            Long.getLong(PREFIXO + "intervalo-sync-millis", 10L)
+        );
+    }
+}
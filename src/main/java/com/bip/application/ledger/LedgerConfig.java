@@ -0,0 +1,53 @@
+package com.bip.application.ledger;
+
+/**
+ * Configuração do ledger em memória de escritor único.
+ *
+ * <p>Os valores são lidos de propriedades de sistema ({@code -Dbip.ledger.*})
+ * para funcionar igualmente no Jetty e nos servidores de aplicação.</p>
+ *
+ * @param habilitado se as transferências são processadas pelo ledger
+ * @param diretorio diretório do arquivo de journal
+ * @param capacidadeRingBuffer capacidade do ring buffer de comandos pendentes
+ * @param intervaloFlushMillis intervalo mínimo entre gravações de snapshot no banco
+ * @param registrosPorCompactacao registros no journal que disparam a compactação após um snapshot
+ *
+ * @author BIP API Team
+ * @since 1.1
+ */
+public record LedgerConfig(boolean habilitado,
+                           String diretorio,
+                           int capacidadeRingBuffer,
+                           long intervaloFlushMillis,
+                           long registrosPorCompactacao) {
+
+    public static final String PREFIXO = "bip.ledger.";
+
+    public LedgerConfig {
+        if (diretorio == null || diretorio.isBlank()) {
+            throw new IllegalArgumentException("Diretório do journal é obrigatório");
+        }
+        if (capacidadeRingBuffer <= 0) {
+            throw new IllegalArgumentException("Capacidade do ring buffer deve ser positiva");
+        }
+        if (intervaloFlushMillis <= 0) {
+            throw new IllegalArgumentException("Intervalo de flush deve ser positivo");
+        }
+        if (registrosPorCompactacao <= 0) {
+            throw new IllegalArgumentException("Registros por compactação deve ser positivo");
+        }
+    }
+
+    /**
+     * Carrega a configuração a partir das propriedades de sistema.
+     */
+    public static LedgerConfig fromSystemProperties() {
+        return new LedgerConfig(
+            Boolean.getBoolean(PREFIXO + "habilitado"),
+            System.getProperty(PREFIXO + "diretorio", "data/ledger"),
+            Integer.getInteger(PREFIXO + "capacidade-ring-buffer", 65_536),
+            Long.getLong(PREFIXO + "intervalo-flush-millis", 100L),
+            Long.getLong(PREFIXO + "registros-por-compactacao", 1_000_000L)
+        );
+    }
+}
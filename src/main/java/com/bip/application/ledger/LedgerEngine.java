@@ -0,0 +1,473 @@
+package com.bip.application.ledger;
+
+import com.bip.application.concurrency.RingBuffer;
+import com.bip.application.dtos.TransferenciaDto;
+import com.bip.application.services.IdempotenciaService;
+import com.bip.domain.entities.Beneficio;
+import com.bip.domain.exceptions.SaldoInsuficienteException;
+import com.bip.domain.repositories.BeneficioRepository;
+import com.bip.domain.repositories.LedgerRepository;
+import com.bip.domain.valueobjects.Money;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Ledger em memória com uma única thread escritora.
+ *
+ * <p>A thread {@code ledger-writer} é dona de todos os saldos, mantidos em
+ * centavos em um array indexado pelo ID do benefício, e consome as
+ * transferências de um ring buffer sem locks. Cada lote é gravado no journal
+ * ({@link Journal#sync()}) antes de ser confirmado; os saldos alterados são gravados na
+ * tabela de benefícios de forma assíncrona, junto com a sequência do journal
+ * que refletem (checkpoint).</p>
+ *
+ * <p>Na inicialização os saldos são lidos do banco por uma projeção, sem
+ * entidades em contexto de persistência, e os registros do journal posteriores
+ * ao checkpoint são reaplicados. Com o ledger habilitado os saldos só devem ser
+ * alterados por transferências, e as leituras pelo banco ficam defasadas em até
+ * um intervalo de flush: o repositório de benefícios lê cada consulta em um
+ * contexto novo, então enxerga o snapshot assim que ele é confirmado. A
+ * situação (ativo/inativo) é lida uma vez por benefício.</p>
+ *
+ * @author BIP API Team
+ * @since 1.1
+ */
+@ApplicationScoped
+public class LedgerEngine {
+
+    private static final Logger LOGGER = Logger.getLogger(LedgerEngine.class.getName());
+
+    private static final int TAMANHO_MAXIMO_LOTE = 1_024;
+    private static final byte DESCONHECIDO = 0;
+    private static final byte ATIVO = 1;
+    private static final byte INATIVO = 2;
+
+    @Inject
+    private BeneficioRepository beneficioRepository;
+
+    @Inject
+    private LedgerRepository ledgerRepository;
+
+    private volatile boolean habilitado;
+    private volatile boolean executando;
+    private volatile RuntimeException falha;
+    private LedgerConfig config;
+    private Journal journal;
+    private RingBuffer<Comando> ringBuffer;
+    private Thread escritor;
+    private ExecutorService flusher;
+
+    // Estado exclusivo da thread escritora
+    private long[] saldos = new long[0];
+    private byte[] estados = new byte[0];
+    private final BitSet alterados = new BitSet();
+    private long sequencia;
+    private long registrosDesdeCompactacao;
+    private long ultimoFlushNanos;
+    private Future<?> flushEmAndamento;
+    private BitSet idsEmFlush;
+    private long sequenciaEmFlush;
+
+    private volatile long sequenciaConfirmada;
+    private volatile long sequenciaSnapshot;
+    private final LongAdder transferencias = new LongAdder();
+    private final LongAdder rejeitadas = new LongAdder();
+    private final LongAdder lotes = new LongAdder();
+    private final LongAdder snapshots = new LongAdder();
+    private final LongAdder falhasSnapshot = new LongAdder();
+
+    @PostConstruct
+    void iniciar() {
+        LedgerConfig lida = LedgerConfig.fromSystemProperties();
+        if (lida.habilitado()) {
+            JournalConfig journalConfig = JournalConfig.fromSystemProperties();
+            Path diretorio = Path.of(lida.diretorio());
+            iniciar(lida, journalConfig.mapeado()
+                ? new MappedJournal(diretorio, journalConfig)
+                : new FileJournal(diretorio));
+        }
+    }
+
+    /**
+     * Recupera o estado a partir do banco e do journal e inicia a thread escritora.
+     */
+    void iniciar(LedgerConfig config, Journal journal) {
+        this.config = config;
+        this.journal = journal;
+        this.ringBuffer = new RingBuffer<>(config.capacidadeRingBuffer());
+
+        recuperar();
+
+        flusher = Executors.newSingleThreadExecutor(tarefa -> {
+            Thread thread = new Thread(tarefa, "ledger-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ultimoFlushNanos = System.nanoTime();
+        habilitado = true;
+        executando = true;
+        escritor = new Thread(this::executar, "ledger-writer");
+        escritor.setDaemon(true);
+        escritor.start();
+    }
+
+    @PreDestroy
+    void encerrar() {
+        if (escritor == null) {
+            return;
+        }
+        executando = false;
+        LockSupport.unpark(escritor);
+        try {
+            escritor.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flusher.shutdown();
+        journal.close();
+    }
+
+    public boolean isHabilitado() {
+        return habilitado;
+    }
+
+    /**
+     * Executa a transferência e retorna após o registro no journal.
+     *
+     * @throws IllegalArgumentException se um benefício não existir ou o saldo for insuficiente
+     * @throws IllegalStateException se um benefício estiver inativo ou o ledger não estiver em execução
+     * @throws RejectedExecutionException se o ring buffer estiver cheio
+     */
+    public void transferir(TransferenciaDto dto) {
+        try {
+            submeter(dto).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Enfileira a transferência para a thread escritora.
+     *
+     * @return futuro concluído quando a transferência estiver no journal
+     */
+    public CompletableFuture<Void> submeter(TransferenciaDto dto) {
+        if (!executando) {
+            throw new IllegalStateException(falha != null
+                ? falha.getMessage() : "Ledger não está em execução");
+        }
+
+        Comando comando = new Comando(dto.getBeneficioOrigemId(), dto.getBeneficioDestinoId(),
+            centavos(Money.of(dto.getValor())), hashIdempotencia(dto), new CompletableFuture<>());
+        if (!ringBuffer.offer(comando)) {
+            throw new RejectedExecutionException("Fila do ledger cheia");
+        }
+        LockSupport.unpark(escritor);
+        return comando.resultado();
+    }
+
+    public Estatisticas getEstatisticas() {
+        return new Estatisticas(habilitado, falha != null, sequenciaConfirmada, sequenciaSnapshot,
+            transferencias.sum(), rejeitadas.sum(), lotes.sum(), snapshots.sum(), falhasSnapshot.sum(),
+            ringBuffer != null ? ringBuffer.size() : 0,
+            ringBuffer != null ? ringBuffer.capacidade() : 0);
+    }
+
+    private void recuperar() {
+        ledgerRepository.percorrerSaldos(this::registrar);
+
+        long checkpoint = ledgerRepository.buscarCheckpoint();
+        long ultima = journal.replay(checkpoint, this::reaplicar);
+        sequencia = Math.max(checkpoint, ultima);
+
+        if (!alterados.isEmpty()) {
+            ledgerRepository.gravarSnapshot(coletarSaldos(alterados), sequencia);
+            alterados.clear();
+        }
+        // Tudo até aqui está no banco: o journal recomeça vazio
+        journal.descartarAte(sequencia);
+
+        sequenciaConfirmada = sequencia;
+        sequenciaSnapshot = sequencia;
+        LOGGER.info(String.format("Ledger recuperado: checkpoint %d, %d registros reaplicados do journal",
+            checkpoint, sequencia - checkpoint));
+    }
+
+    private void reaplicar(RegistroJournal registro) {
+        if (!carregar(registro.origemId()) || !carregar(registro.destinoId())) {
+            LOGGER.warning("Registro " + registro.sequencia() + " do journal ignorado: benefício inexistente");
+            return;
+        }
+        mover((int) registro.origemId(), (int) registro.destinoId(), registro.centavos());
+    }
+
+    private void executar() {
+        List<Comando> lote = new ArrayList<>(TAMANHO_MAXIMO_LOTE);
+        while (executando || !ringBuffer.isEmpty()) {
+            Comando comando;
+            while (lote.size() < TAMANHO_MAXIMO_LOTE && (comando = ringBuffer.poll()) != null) {
+                lote.add(comando);
+            }
+
+            if (lote.isEmpty()) {
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(config.intervaloFlushMillis()));
+            } else {
+                processarLote(lote);
+                lote.clear();
+            }
+            verificarFlush(false);
+        }
+
+        verificarFlush(true);
+        // Comandos enfileirados durante o encerramento
+        Comando restante;
+        while ((restante = ringBuffer.poll()) != null) {
+            restante.resultado().completeExceptionally(new IllegalStateException("Ledger encerrado"));
+        }
+    }
+
+    private void processarLote(List<Comando> lote) {
+        List<Comando> aplicados = new ArrayList<>(lote.size());
+        try {
+            for (Comando comando : lote) {
+                try {
+                    validar(comando);
+                } catch (RuntimeException e) {
+                    rejeitadas.increment();
+                    comando.resultado().completeExceptionally(e);
+                    continue;
+                }
+
+                mover((int) comando.origemId(), (int) comando.destinoId(), comando.centavos());
+                aplicados.add(comando);
+                journal.append(new RegistroJournal(++sequencia, comando.origemId(), comando.destinoId(),
+                    comando.centavos(), System.currentTimeMillis(), comando.hashIdempotencia()));
+            }
+            if (!aplicados.isEmpty()) {
+                journal.sync();
+            }
+        } catch (RuntimeException e) {
+            falharJournal(lote, aplicados, e);
+            return;
+        }
+
+        for (Comando comando : aplicados) {
+            comando.resultado().complete(null);
+        }
+        transferencias.add(aplicados.size());
+        lotes.increment();
+        registrosDesdeCompactacao += aplicados.size();
+        sequenciaConfirmada = sequencia;
+    }
+
+    /**
+     * Falha de escrita no journal: o conteúdo gravado deixa de ser confiável,
+     * então o lote é desfeito em memória e o ledger para de aceitar transferências.
+     */
+    private void falharJournal(List<Comando> lote, List<Comando> aplicados, RuntimeException causa) {
+        for (int i = aplicados.size() - 1; i >= 0; i--) {
+            Comando comando = aplicados.get(i);
+            mover((int) comando.destinoId(), (int) comando.origemId(), comando.centavos());
+        }
+        sequencia = sequenciaConfirmada;
+
+        falha = new IllegalStateException("Falha ao gravar journal do ledger: " + causa.getMessage(), causa);
+        executando = false;
+        LOGGER.log(Level.SEVERE, "Ledger interrompido por falha no journal", causa);
+        for (Comando comando : lote) {
+            comando.resultado().completeExceptionally(falha);
+        }
+    }
+
+    private void validar(Comando comando) {
+        if (!carregar(comando.origemId())) {
+            throw new IllegalArgumentException("Benefício não encontrado com ID: " + comando.origemId());
+        }
+        if (!carregar(comando.destinoId())) {
+            throw new IllegalArgumentException("Benefício não encontrado com ID: " + comando.destinoId());
+        }
+
+        int origem = (int) comando.origemId();
+        int destino = (int) comando.destinoId();
+        if (estados[origem] == INATIVO) {
+            throw new IllegalStateException("Benefício está inativo: " + comando.origemId());
+        }
+        if (estados[destino] == INATIVO) {
+            throw new IllegalStateException("Benefício está inativo: " + comando.destinoId());
+        }
+        if (saldos[origem] < comando.centavos()) {
+            throw new SaldoInsuficienteException(
+                String.format("Saldo insuficiente. Saldo atual: %s, Tentativa de débito: %s",
+                              dinheiro(saldos[origem]), dinheiro(comando.centavos())));
+        }
+    }
+
+    private void mover(int origem, int destino, long centavos) {
+        saldos[origem] -= centavos;
+        saldos[destino] += centavos;
+        alterados.set(origem);
+        alterados.set(destino);
+    }
+
+    /**
+     * Garante que o benefício está carregado, buscando no banco os criados após a inicialização.
+     *
+     * @return false se o benefício não existe
+     */
+    private boolean carregar(long id) {
+        if (id <= 0 || id >= Integer.MAX_VALUE) {
+            return false;
+        }
+        if (id < estados.length && estados[(int) id] != DESCONHECIDO) {
+            return true;
+        }
+        Optional<Beneficio> beneficio = beneficioRepository.findById(id);
+        beneficio.ifPresent(this::registrar);
+        return beneficio.isPresent();
+    }
+
+    private void registrar(Beneficio beneficio) {
+        registrar(beneficio.getId(), beneficio.getSaldoPrincipal(), Boolean.TRUE.equals(beneficio.getAtivo()));
+    }
+
+    private void registrar(long id, Money saldoPrincipal, boolean ativo) {
+        if (id <= 0 || id >= Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("ID fora do intervalo suportado pelo ledger: " + id);
+        }
+
+        int indice = (int) id;
+        if (indice >= saldos.length) {
+            int tamanho = (int) Math.max(indice + 1L, Math.min(saldos.length * 2L, Integer.MAX_VALUE - 8));
+            saldos = Arrays.copyOf(saldos, tamanho);
+            estados = Arrays.copyOf(estados, tamanho);
+        }
+        saldos[indice] = centavos(saldoPrincipal);
+        estados[indice] = ativo ? ATIVO : INATIVO;
+    }
+
+    private void verificarFlush(boolean encerrando) {
+        if (flushEmAndamento != null) {
+            if (!encerrando && !flushEmAndamento.isDone()) {
+                return;
+            }
+            concluirFlush();
+        }
+
+        if (alterados.isEmpty()
+                || (!encerrando && System.nanoTime() - ultimoFlushNanos
+                        < TimeUnit.MILLISECONDS.toNanos(config.intervaloFlushMillis()))) {
+            return;
+        }
+
+        Map<Long, Money> snapshot = coletarSaldos(alterados);
+        long sequenciaSnapshotAtual = sequencia;
+        idsEmFlush = (BitSet) alterados.clone();
+        sequenciaEmFlush = sequenciaSnapshotAtual;
+        alterados.clear();
+        ultimoFlushNanos = System.nanoTime();
+        flushEmAndamento = flusher.submit(
+            () -> ledgerRepository.gravarSnapshot(snapshot, sequenciaSnapshotAtual));
+
+        if (encerrando) {
+            concluirFlush();
+        }
+    }
+
+    private void concluirFlush() {
+        try {
+            flushEmAndamento.get();
+            snapshots.increment();
+            sequenciaSnapshot = sequenciaEmFlush;
+            if (registrosDesdeCompactacao >= config.registrosPorCompactacao()) {
+                journal.descartarAte(sequenciaEmFlush);
+                registrosDesdeCompactacao = sequencia - sequenciaEmFlush;
+            }
+        } catch (ExecutionException e) {
+            // Os saldos continuam no journal; os IDs voltam para o próximo snapshot
+            falhasSnapshot.increment();
+            alterados.or(idsEmFlush);
+            LOGGER.log(Level.WARNING, "Falha ao gravar snapshot do ledger", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            alterados.or(idsEmFlush);
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Falha ao compactar journal do ledger", e);
+        } finally {
+            flushEmAndamento = null;
+            idsEmFlush = null;
+        }
+    }
+
+    private Map<Long, Money> coletarSaldos(BitSet ids) {
+        Map<Long, Money> resultado = new HashMap<>(ids.cardinality() * 2);
+        for (int id = ids.nextSetBit(0); id >= 0; id = ids.nextSetBit(id + 1)) {
+            resultado.put((long) id, dinheiro(saldos[id]));
+        }
+        return resultado;
+    }
+
+    private static long centavos(Money valor) {
+        return valor.getValor().movePointRight(2).longValueExact();
+    }
+
+    /**
+     * Primeiros 64 bits do hash de idempotência; calculado na thread da requisição.
+     */
+    private static long hashIdempotencia(TransferenciaDto dto) {
+        return Long.parseUnsignedLong(IdempotenciaService.hashTransferencia(dto).substring(0, 16), 16);
+    }
+
+    private static Money dinheiro(long centavos) {
+        return Money.of(BigDecimal.valueOf(centavos, 2));
+    }
+
+    /**
+     * Estatísticas do ledger.
+     *
+     * @param habilitado se as transferências são processadas pelo ledger
+     * @param falhou se o ledger parou por falha no journal
+     * @param sequencia última sequência confirmada no journal
+     * @param sequenciaSnapshot última sequência gravada no banco
+     * @param transferencias transferências aplicadas
+     * @param rejeitadas transferências rejeitadas na validação
+     * @param lotes lotes gravados no journal
+     * @param snapshots snapshots gravados no banco
+     * @param falhasSnapshot snapshots que falharam e foram reagendados
+     * @param pendentes comandos aguardando no ring buffer
+     * @param capacidade capacidade do ring buffer
+     */
+    public record Estatisticas(boolean habilitado, boolean falhou, long sequencia, long sequenciaSnapshot,
+                               long transferencias, long rejeitadas, long lotes, long snapshots,
+                               long falhasSnapshot, int pendentes, int capacidade) {
+    }
+
+    private record Comando(long origemId, long destinoId, long centavos, long hashIdempotencia,
+                           CompletableFuture<Void> resultado) {
+    }
+}
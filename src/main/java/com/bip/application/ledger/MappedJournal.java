@@ -0,0 +1,509 @@
+package com.bip.application.ledger;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Journal write-ahead em segmentos pré-alocados e mapeados em memória.
+ *
+ * <p>Cada segmento ({@code journal-<primeira sequência>.seg}) é criado com o
+ * tamanho configurado preenchido com zeros e mapeado para escrita; acrescentar
+ * um registro é uma cópia de 52 bytes ({@link FormatoRegistro}) para o
+ * mapeamento. Quando o segmento enche, ou a sequência salta, o segmento atual
+ * é forçado para o disco e um novo é criado.</p>
+ *
+ * <p>Na abertura os segmentos são varridos em ordem: a leitura de um segmento
+ * termina no primeiro registro com CRC inválido ou fora de sequência. Os bytes
+ * após o último registro válido são zerados, para que restos de uma execução
+ * anterior nunca sejam reaplicados; segmentos posteriores a uma quebra no meio
+ * da cadeia são renomeados para {@code .descartado}.</p>
+ *
+ * <p>Não é thread-safe: deve ser usado por uma única thread escritora. Na
+ * política {@link JournalConfig.PoliticaSync#INTERVALO} uma thread própria
+ * apenas força o segmento atual.</p>
+ *
+ * @author BIP API Team
+ * @since 1.1
+ */
+public class MappedJournal implements Journal {
+
+    private static final Logger LOGGER = Logger.getLogger(MappedJournal.class.getName());
+
+    static final String PREFIXO_SEGMENTO = "journal-";
+    static final String EXTENSAO_SEGMENTO = ".seg";
+    static final String EXTENSAO_DESCARTADO = ".descartado";
+    private static final int TAMANHO_BLOCO_ZEROS = 1 << 20;
+
+    private final Path diretorio;
+    private final JournalConfig config;
+    private final ByteBuffer registro = ByteBuffer.allocate(FormatoRegistro.TAMANHO);
+    private final CRC32 crc = new CRC32();
+    private final List<Segmento> segmentos = new ArrayList<>();
+    private final Varredura varredura;
+    private volatile Segmento atual;
+    private ScheduledExecutorService sincronizador;
+    private boolean fechado;
+
+    /**
+     * Abre o journal no diretório informado, recuperando os segmentos existentes.
+     */
+    public MappedJournal(Path diretorio, JournalConfig config) {
+        this.diretorio = diretorio;
+        this.config = config;
+        try {
+            Files.createDirectories(diretorio);
+            this.varredura = recuperar();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao abrir journal em " + diretorio, e);
+        }
+
+        if (config.politicaSync() == JournalConfig.PoliticaSync.INTERVALO) {
+            sincronizador = Executors.newSingleThreadScheduledExecutor(tarefa -> {
+                Thread thread = new Thread(tarefa, "journal-sync");
+                thread.setDaemon(true);
+                return thread;
+            });
+            sincronizador.scheduleWithFixedDelay(this::sincronizarAtual,
+                config.intervaloSyncMillis(), config.intervaloSyncMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Varre os segmentos do diretório sem alterá-los.
+     */
+    public static Varredura verificar(Path diretorio) {
+        try {
+            List<Path> arquivos = listarSegmentos(diretorio);
+            long registros = 0;
+            long primeira = 0;
+            long ultima = 0;
+            for (int i = 0; i < arquivos.size(); i++) {
+                long inicio = sequenciaDoNome(arquivos.get(i));
+                Leitura leitura;
+                try (FileChannel canal = FileChannel.open(arquivos.get(i), StandardOpenOption.READ)) {
+                    leitura = lerSegmento(canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size()), inicio, r -> { });
+                }
+                if (leitura.quantidade(inicio) > 0) {
+                    primeira = primeira == 0 ? inicio : primeira;
+                    ultima = leitura.ultimaSequencia();
+                    registros += leitura.quantidade(inicio);
+                }
+                if (leitura.caudaInvalida()) {
+                    return new Varredura(i + 1, registros, primeira, ultima, true, arquivos.size() - i - 1);
+                }
+            }
+            return new Varredura(arquivos.size(), registros, primeira, ultima, false, 0);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao verificar journal em " + diretorio, e);
+        }
+    }
+
+    /**
+     * Resultado da varredura feita na abertura.
+     */
+    public Varredura getVarredura() {
+        return varredura;
+    }
+
+    @Override
+    public void append(RegistroJournal novo) {
+        Segmento segmento = atual;
+        if (segmento == null || segmento.restante() < FormatoRegistro.TAMANHO
+                || novo.sequencia() != segmento.ultimaSequencia + 1) {
+            segmento = rolar(novo.sequencia());
+        }
+
+        registro.clear();
+        FormatoRegistro.escrever(registro, novo, crc);
+        segmento.gravar(registro.array(), novo.sequencia());
+
+        if (config.politicaSync() == JournalConfig.PoliticaSync.REGISTRO) {
+            segmento.forcar();
+        }
+    }
+
+    @Override
+    public void sync() {
+        // Na política INTERVALO o sync fica a cargo da thread journal-sync
+        Segmento segmento = atual;
+        if (segmento != null && config.politicaSync() != JournalConfig.PoliticaSync.INTERVALO) {
+            segmento.forcar();
+        }
+    }
+
+    @Override
+    public long replay(long aposSequencia, Consumer<RegistroJournal> consumidor) {
+        long maior = aposSequencia;
+        try {
+            for (Segmento segmento : segmentos) {
+                if (segmento.ultimaSequencia <= aposSequencia) {
+                    continue;
+                }
+                lerSegmento(segmento.conteudo(), segmento.primeiraSequencia, lido -> {
+                    if (lido.sequencia() > aposSequencia) {
+                        consumidor.accept(lido);
+                    }
+                });
+                maior = Math.max(maior, segmento.ultimaSequencia);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao ler journal", e);
+        }
+        return maior;
+    }
+
+    /**
+     * Remove os segmentos cujos registros já estão todos refletidos no banco.
+     * O segmento atual nunca é removido.
+     */
+    @Override
+    public void descartarAte(long sequencia) {
+        try {
+            while (segmentos.size() > 1 && segmentos.get(0).ultimaSequencia <= sequencia) {
+                Files.deleteIfExists(segmentos.remove(0).arquivo);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao remover segmento do journal", e);
+        }
+    }
+
+    /**
+     * Quantidade de segmentos mantidos no diretório.
+     */
+    public int getQuantidadeSegmentos() {
+        return segmentos.size();
+    }
+
+    @Override
+    public void close() {
+        if (fechado) {
+            return;
+        }
+        fechado = true;
+        if (sincronizador != null) {
+            sincronizador.shutdown();
+            try {
+                sincronizador.awaitTermination(1, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        Segmento segmento = atual;
+        if (segmento != null) {
+            segmento.forcar();
+            segmento.liberar();
+        }
+    }
+
+    private Varredura recuperar() throws IOException {
+        List<Path> arquivos = listarSegmentos(diretorio);
+        long registros = 0;
+        long primeira = 0;
+        long ultima = 0;
+        boolean caudaDescartada = false;
+        int descartados = 0;
+
+        for (int i = 0; i < arquivos.size(); i++) {
+            long inicio = sequenciaDoNome(arquivos.get(i));
+            Segmento segmento = Segmento.abrir(arquivos.get(i), inicio);
+            Leitura leitura = lerSegmento(segmento.mapa, inicio, r -> { });
+            segmento.posicao = leitura.posicao();
+            segmento.ultimaSequencia = leitura.ultimaSequencia();
+            segmentos.add(segmento);
+
+            if (leitura.quantidade(inicio) > 0) {
+                primeira = primeira == 0 ? inicio : primeira;
+                ultima = leitura.ultimaSequencia();
+                registros += leitura.quantidade(inicio);
+            }
+            if (segmento.zerarRestante()) {
+                caudaDescartada = true;
+                LOGGER.warning(String.format("Journal: dados após o registro %d descartados em %s",
+                    leitura.ultimaSequencia(), arquivos.get(i).getFileName()));
+            }
+
+            if (leitura.caudaInvalida() && i < arquivos.size() - 1) {
+                // A cadeia de registros foi interrompida: segmentos seguintes não são confiáveis
+                for (Path posterior : arquivos.subList(i + 1, arquivos.size())) {
+                    Files.move(posterior, posterior.resolveSibling(posterior.getFileName() + EXTENSAO_DESCARTADO),
+                        StandardCopyOption.REPLACE_EXISTING);
+                    descartados++;
+                }
+                LOGGER.severe(String.format("Journal: registro inválido em %s; %d segmentos posteriores descartados",
+                    arquivos.get(i).getFileName(), descartados));
+                break;
+            }
+        }
+
+        for (int i = 0; i < segmentos.size() - 1; i++) {
+            segmentos.get(i).liberar();
+        }
+        atual = segmentos.isEmpty() ? null : segmentos.get(segmentos.size() - 1);
+        return new Varredura(segmentos.size(), registros, primeira, ultima, caudaDescartada, descartados);
+    }
+
+    private Segmento rolar(long primeiraSequencia) {
+        Segmento anterior = atual;
+        if (anterior != null) {
+            // O segmento anterior fica inteiramente em disco antes do próximo começar
+            anterior.forcar();
+            anterior.liberar();
+        }
+
+        try {
+            Segmento novo = Segmento.criar(diretorio.resolve(nomeSegmento(primeiraSequencia)),
+                primeiraSequencia, (int) config.tamanhoSegmentoBytes());
+            sincronizarDiretorio();
+            segmentos.add(novo);
+            atual = novo;
+            return novo;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao criar segmento do journal", e);
+        }
+    }
+
+    private void sincronizarAtual() {
+        try {
+            Segmento segmento = atual;
+            if (segmento != null) {
+                segmento.forcar();
+            }
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Falha no sync periódico do journal", e);
+        }
+    }
+
+    private void sincronizarDiretorio() {
+        try (FileChannel canal = FileChannel.open(diretorio, StandardOpenOption.READ)) {
+            canal.force(true);
+        } catch (IOException e) {
+            // Nem todas as plataformas permitem abrir diretórios; a entrada é gravada pelo sistema de arquivos
+        }
+    }
+
+    /**
+     * Lê os registros válidos e em sequência de um segmento.
+     */
+    private static Leitura lerSegmento(ByteBuffer conteudo, long primeiraSequencia,
+                                       Consumer<RegistroJournal> consumidor) {
+        ByteBuffer leitura = ByteBuffer.allocate(FormatoRegistro.TAMANHO);
+        CRC32 verificador = new CRC32();
+        long esperada = primeiraSequencia;
+        int posicao = 0;
+
+        while (posicao + FormatoRegistro.TAMANHO <= conteudo.limit()) {
+            conteudo.get(posicao, leitura.array());
+            leitura.clear();
+            RegistroJournal lido = FormatoRegistro.ler(leitura, verificador);
+            if (lido == null || lido.sequencia() != esperada) {
+                return new Leitura(posicao, esperada - 1, !zerado(conteudo, posicao, FormatoRegistro.TAMANHO));
+            }
+            consumidor.accept(lido);
+            esperada++;
+            posicao += FormatoRegistro.TAMANHO;
+        }
+        return new Leitura(posicao, esperada - 1, false);
+    }
+
+    private static boolean zerado(ByteBuffer conteudo, int inicio, int tamanho) {
+        int fim = Math.min(conteudo.limit(), inicio + tamanho);
+        for (int i = inicio; i < fim; i++) {
+            if (conteudo.get(i) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static List<Path> listarSegmentos(Path diretorio) throws IOException {
+        if (!Files.isDirectory(diretorio)) {
+            return List.of();
+        }
+        try (Stream<Path> arquivos = Files.list(diretorio)) {
+            return arquivos
+                .filter(arquivo -> {
+                    String nome = arquivo.getFileName().toString();
+                    return nome.startsWith(PREFIXO_SEGMENTO) && nome.endsWith(EXTENSAO_SEGMENTO);
+                })
+                .sorted((a, b) -> Long.compare(sequenciaDoNome(a), sequenciaDoNome(b)))
+                .toList();
+        }
+    }
+
+    static String nomeSegmento(long primeiraSequencia) {
+        return String.format("%s%020d%s", PREFIXO_SEGMENTO, primeiraSequencia, EXTENSAO_SEGMENTO);
+    }
+
+    private static long sequenciaDoNome(Path arquivo) {
+        String nome = arquivo.getFileName().toString();
+        return Long.parseLong(nome.substring(PREFIXO_SEGMENTO.length(), nome.length() - EXTENSAO_SEGMENTO.length()));
+    }
+
+    /**
+     * Resultado da varredura dos segmentos.
+     *
+     * @param segmentos segmentos válidos
+     * @param registros registros válidos
+     * @param primeiraSequencia primeira sequência encontrada, zero se vazio
+     * @param ultimaSequencia última sequência válida, zero se vazio
+     * @param caudaDescartada se havia dados inválidos após o último registro válido
+     * @param segmentosDescartados segmentos após uma quebra na cadeia de registros
+     */
+    public record Varredura(int segmentos, long registros, long primeiraSequencia, long ultimaSequencia,
+                            boolean caudaDescartada, int segmentosDescartados) {
+    }
+
+    private record Leitura(int posicao, long ultimaSequencia, boolean caudaInvalida) {
+
+        long quantidade(long primeiraSequencia) {
+            return ultimaSequencia - primeiraSequencia + 1;
+        }
+    }
+
+    private static final class Segmento {
+        private final Path arquivo;
+        private final long primeiraSequencia;
+        private FileChannel canal;
+        private MappedByteBuffer mapa;
+        private volatile int posicao;
+        private int posicaoSincronizada;
+        private long ultimaSequencia;
+        // Não é monitor: o force() bloqueia em I/O e prenderia a thread portadora de uma thread virtual
+        private final ReentrantLock lock = new ReentrantLock();
+
+        private Segmento(Path arquivo, long primeiraSequencia, FileChannel canal) throws IOException {
+            this.arquivo = arquivo;
+            this.primeiraSequencia = primeiraSequencia;
+            this.canal = canal;
+            this.mapa = canal.map(FileChannel.MapMode.READ_WRITE, 0, canal.size());
+            this.ultimaSequencia = primeiraSequencia - 1;
+        }
+
+        private static Segmento criar(Path arquivo, long primeiraSequencia, int tamanho) throws IOException {
+            try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+                // Pré-aloca os blocos do segmento: gravações posteriores não alteram metadados do arquivo
+                ByteBuffer zeros = ByteBuffer.allocateDirect(Math.min(TAMANHO_BLOCO_ZEROS, tamanho));
+                long gravado = 0;
+                while (gravado < tamanho) {
+                    zeros.clear().limit((int) Math.min(zeros.capacity(), tamanho - gravado));
+                    gravado += canal.write(zeros, gravado);
+                }
+                canal.force(true);
+            }
+            return abrir(arquivo, primeiraSequencia);
+        }
+
+        private static Segmento abrir(Path arquivo, long primeiraSequencia) throws IOException {
+            return new Segmento(arquivo, primeiraSequencia,
+                FileChannel.open(arquivo, StandardOpenOption.READ, StandardOpenOption.WRITE));
+        }
+
+        private int restante() {
+            return mapa.limit() - posicao;
+        }
+
+        private void gravar(byte[] dados, long sequencia) {
+            mapa.put(posicao, dados);
+            ultimaSequencia = sequencia;
+            posicao += dados.length;
+        }
+
+        private void forcar() {
+            lock.lock();
+            try {
+                int fim = posicao;
+                if (mapa != null && fim > posicaoSincronizada) {
+                    mapa.force(posicaoSincronizada, fim - posicaoSincronizada);
+                    posicaoSincronizada = fim;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Zera os bytes após o último registro válido.
+         *
+         * @return true se havia dados a descartar
+         */
+        private boolean zerarRestante() {
+            int fim = mapa.limit();
+            if (!possuiDados(posicao, fim)) {
+                return false;
+            }
+
+            byte[] zeros = new byte[Math.min(TAMANHO_BLOCO_ZEROS, fim - posicao)];
+            for (int i = posicao; i < fim; i += zeros.length) {
+                mapa.put(i, zeros, 0, Math.min(zeros.length, fim - i));
+            }
+            mapa.force();
+            return true;
+        }
+
+        private boolean possuiDados(int inicio, int fim) {
+            int i = inicio;
+            for (; i < fim && (i & 7) != 0; i++) {
+                if (mapa.get(i) != 0) {
+                    return true;
+                }
+            }
+            for (; i + Long.BYTES <= fim; i += Long.BYTES) {
+                if (mapa.getLong(i) != 0) {
+                    return true;
+                }
+            }
+            for (; i < fim; i++) {
+                if (mapa.get(i) != 0) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Registros gravados, lidos do mapeamento atual ou de um mapeamento somente leitura.
+         */
+        private ByteBuffer conteudo() throws IOException {
+            if (mapa != null) {
+                return mapa.duplicate().limit(posicao);
+            }
+            try (FileChannel leitura = FileChannel.open(arquivo, StandardOpenOption.READ)) {
+                return leitura.map(FileChannel.MapMode.READ_ONLY, 0, posicao);
+            }
+        }
+
+        private void liberar() {
+            lock.lock();
+            try {
+                if (canal != null) {
+                    canal.close();
+                }
+            } catch (IOException e) {
+                LOGGER.log(Level.WARNING, "Falha ao fechar segmento do journal " + arquivo, e);
+            } finally {
+                // O mapeamento é liberado pelo GC; o segmento passa a ser lido sob demanda
+                canal = null;
+                mapa = null;
+                lock.unlock();
+            }
+        }
+    }
+}
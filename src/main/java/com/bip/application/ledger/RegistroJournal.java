@@ -0,0 +1,19 @@
+package com.bip.application.ledger;
+
+/**
+ * Registro de uma transferência aplicada pelo ledger.
+ *
+ * @param sequencia número sequencial do registro, crescente e sem lacunas
+ * @param origemId ID do benefício de origem
+ * @param destinoId ID do benefício de destino
+ * @param centavos valor transferido em centavos
+ * @param timestampMillis instante da aplicação (epoch millis)
+ * @param hashIdempotencia primeiros 64 bits do hash de idempotência da requisição
+ *        ({@code IdempotenciaService.hashTransferencia}), zero se desconhecido
+ *
+ * @author BIP API Team
+ * @since 1.1
+ */
+public record RegistroJournal(long sequencia, long origemId, long destinoId, long centavos,
+                              long timestampMillis, long hashIdempotencia) {
+}
@@ -2,17 +2,19 @@ package com.bip.application.mappers;
 
 import com.bip.application.dtos.BeneficioDto;
 import com.bip.application.dtos.CriarBeneficioDto;
+import com.bip.application.metrics.Medido;
 import com.bip.domain.entities.Beneficio;
 import com.bip.domain.valueobjects.Money;
 import jakarta.enterprise.context.ApplicationScoped;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * Mapper para conversão entre entidades Beneficio e DTOs
  * Isola as camadas e facilita manutenção
  */
 @ApplicationScoped
+@Medido("mapeamento")
 public class BeneficioMapper {
     
     /**
@@ -36,15 +38,21 @@ public class BeneficioMapper {
     
     /**
      * Converte lista de entidades para lista de DTOs
+     * 
+     * <p>A lista é criada com o tamanho final: a listagem de ativos passa por aqui
+     * com todos os benefícios e o crescimento incremental copiaria o array várias
+     * vezes.</p>
      */
     public List<BeneficioDto> toDtoList(List<Beneficio> beneficios) {
         if (beneficios == null) {
             return List.of();
         }
         
-        return beneficios.stream()
-                .map(this::toDto)
-                .collect(Collectors.toList());
+        List<BeneficioDto> dtos = new ArrayList<>(beneficios.size());
+        for (Beneficio beneficio : beneficios) {
+            dtos.add(toDto(beneficio));
+        }
+        return dtos;
     }
     
     /**
@@ -0,0 +1,129 @@
+package com.bip.application.metrics;
+
+import com.bip.application.tracing.ColetorRastro;
+import jakarta.inject.Inject;
+import jakarta.interceptor.AroundInvoke;
+import jakarta.interceptor.Interceptor;
+import jakarta.interceptor.InvocationContext;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registra a latência de cada invocação em {@code bip_chamadas_segundos} e as
+ * exceções em {@code bip_chamadas_erros_total}, rotulados por camada, classe e
+ * método.
+ *
+ * <p>Os instrumentos são resolvidos uma vez por método: a invocação custa duas
+ * leituras de {@link System#nanoTime()} e incrementos em {@code LongAdder}s.
+ * Em requisições amostradas pelo {@code Server-Timing}, a duração das camadas
+ * {@code repositorio}, {@code mapeamento} e {@code validacao} também é somada
+ * em {@link TempoFases}. Em requisições rastreadas, cada invocação também
+ * abre um span no {@link ColetorRastro}.</p>
+ *
+ * <p>Invocações feitas dentro de {@link #semRegistro(Runnable)}, como as do
+ * warmup, passam pelo interceptor sem alimentar os histogramas nem os
+ * contadores de erro.</p>
+ *
+ * <p>Habilitado no {@code beans.xml}.</p>
+ *
+ * @author BIP API Team
+ * @since 1.2
+ */
+@Medido
+@Interceptor
+public class MedicaoInterceptor {
+
+    static final String DURACAO = "bip_chamadas_segundos";
+    static final String ERROS = "bip_chamadas_erros";
+
+    @Inject
+    private MetricasRegistry registry;
+
+    /**
+     * Marcada enquanto a thread executa {@link #semRegistro(Runnable)}.
+     */
+    private static final ThreadLocal<Boolean> SEM_REGISTRO = new ThreadLocal<>();
+
+    private final Map<Method, Instrumentos> instrumentos = new ConcurrentHashMap<>();
+
+    /**
+     * Executa a tarefa na thread atual sem registrar as invocações medidas que
+     * ela fizer. O caminho do interceptor é o mesmo; só os registros são omitidos.
+     */
+    public static void semRegistro(Runnable tarefa) {
+        if (SEM_REGISTRO.get() != null) {
+            tarefa.run();
+            return;
+        }
+        SEM_REGISTRO.set(Boolean.TRUE);
+        try {
+            tarefa.run();
+        } finally {
+            SEM_REGISTRO.remove();
+        }
+    }
+
+    @AroundInvoke
+    public Object medir(InvocationContext contexto) throws Exception {
+        Instrumentos medicao = instrumentos.computeIfAbsent(contexto.getMethod(), this::criarInstrumentos);
+        TempoFases tempo = medicao.fase != null ? TempoFases.atual() : null;
+        if (tempo != null) {
+            tempo.entrar(medicao.fase);
+        }
+        ColetorRastro rastro = ColetorRastro.atual();
+        int span = rastro != null ? rastro.abrir(medicao.camada, medicao.nome) : -1;
+        boolean registrar = SEM_REGISTRO.get() == null;
+        Exception erro = null;
+        long inicio = System.nanoTime();
+        try {
+            return contexto.proceed();
+        } catch (Exception e) {
+            erro = e;
+            if (registrar) {
+                medicao.erro(registry, e);
+            }
+            throw e;
+        } finally {
+            long duracao = System.nanoTime() - inicio;
+            if (registrar) {
+                medicao.duracao.registrarNanos(duracao);
+            }
+            if (tempo != null) {
+                tempo.sair(medicao.fase, duracao);
+            }
+            if (rastro != null) {
+                rastro.fechar(span, erro);
+            }
+        }
+    }
+
+    private Instrumentos criarInstrumentos(Method metodo) {
+        Class<?> classe = metodo.getDeclaringClass();
+        String camada = camada(metodo);
+        return new Instrumentos(camada, classe.getSimpleName(), metodo.getName(),
+            classe.getSimpleName() + "." + metodo.getName(), TempoFases.Fase.daCamada(camada),
+            registry.histograma(DURACAO, "Duração das chamadas a casos de uso e repositórios",
+                MetricasRegistry.LIMITES_LATENCIA,
+                "camada", camada, "classe", classe.getSimpleName(), "metodo", metodo.getName()));
+    }
+
+    private static String camada(Method metodo) {
+        Medido medido = metodo.getAnnotation(Medido.class);
+        if (medido == null) {
+            medido = metodo.getDeclaringClass().getAnnotation(Medido.class);
+        }
+        return medido != null ? medido.value() : "";
+    }
+
+    private record Instrumentos(String camada, String classe, String metodo, String nome, TempoFases.Fase fase,
+                                MetricasRegistry.Histograma duracao) {
+
+        void erro(MetricasRegistry registry, Exception e) {
+            // Falhas são raras: a consulta ao registro fica fora do caminho de sucesso
+            registry.contador(ERROS, "Chamadas encerradas com exceção",
+                "camada", camada, "classe", classe, "metodo", metodo,
+                "excecao", e.getClass().getSimpleName()).incrementar();
+        }
+    }
+}
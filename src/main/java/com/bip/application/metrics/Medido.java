@@ -0,0 +1,27 @@
+package com.bip.application.metrics;
+
+import jakarta.enterprise.util.Nonbinding;
+import jakarta.interceptor.InterceptorBinding;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Mede a duração e as falhas de cada método público do bean anotado.
+ *
+ * @see MedicaoInterceptor
+ * @author BIP API Team
+ * @since 1.2
+ */
+@InterceptorBinding
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+public @interface Medido {
+
+    /**
+     * Camada do bean, usada no rótulo {@code camada} (ex.: {@code caso_uso}, {@code repositorio}).
+     */
+    @Nonbinding
+    String value() default "";
+}
@@ -0,0 +1,275 @@
+package com.bip.application.metrics;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Registro de métricas da aplicação, exposto no formato de texto OpenMetrics.
+ *
+ * <p>Cada métrica pertence a uma família (nome, tipo e descrição) e é
+ * identificada pelos seus rótulos. Os instrumentos são criados uma vez e
+ * guardados por quem registra: o caminho quente apenas incrementa
+ * {@link LongAdder}s, sem consultas ao registro.</p>
+ *
+ * <p>Substitui o runtime do MicroProfile Metrics, ausente no Jetty: o mesmo
+ * conteúdo é servido em {@code /api/metrics} em qualquer servidor.</p>
+ *
+ * @author BIP API Team
+ * @since 1.2
+ */
+@ApplicationScoped
+public class MetricasRegistry {
+
+    public static final String CONTENT_TYPE = "application/openmetrics-text; version=1.0.0; charset=utf-8";
+
+    /**
+     * Limites, em segundos, dos histogramas de latência.
+     */
+    public static final double[] LIMITES_LATENCIA = {
+        0.0005, 0.001, 0.0025, 0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1, 2.5, 5, 10
+    };
+
+    private final Map<String, Familia> familias = new ConcurrentSkipListMap<>();
+
+    /**
+     * Contador identificado pelo nome e pelos rótulos; criado na primeira chamada.
+     *
+     * @param nome nome da família, sem o sufixo {@code _total}
+     * @param descricao texto do {@code # HELP}
+     * @param rotulos pares nome/valor
+     */
+    public Contador contador(String nome, String descricao, String... rotulos) {
+        return (Contador) familia(nome, Tipo.COUNTER, descricao, null)
+            .series.computeIfAbsent(formatarRotulos(rotulos), chave -> new Contador());
+    }
+
+    /**
+     * Histograma identificado pelo nome e pelos rótulos; criado na primeira chamada.
+     *
+     * @param limites limites superiores dos buckets, em ordem crescente; todas as
+     *                séries da família usam os limites do primeiro registro
+     */
+    public Histograma histograma(String nome, String descricao, double[] limites, String... rotulos) {
+        Familia familia = familia(nome, Tipo.HISTOGRAM, descricao, limites);
+        return (Histograma) familia.series.computeIfAbsent(formatarRotulos(rotulos),
+            chave -> new Histograma(familia.limites));
+    }
+
+    /**
+     * Medidor identificado pelo nome e pelos rótulos, lido a cada exposição;
+     * um segundo registro com os mesmos rótulos é ignorado.
+     *
+     * @param valor fonte do valor; chamada fora do caminho quente, na leitura de {@code /metrics}
+     */
+    public void medidor(String nome, String descricao, DoubleSupplier valor, String... rotulos) {
+        familia(nome, Tipo.GAUGE, descricao, null)
+            .series.computeIfAbsent(formatarRotulos(rotulos), chave -> new Medidor(valor));
+    }
+
+    /**
+     * Todas as métricas no formato de texto OpenMetrics, terminado por {@code # EOF}.
+     */
+    public String openMetrics() {
+        StringBuilder saida = new StringBuilder(4_096);
+        for (Map.Entry<String, Familia> entrada : familias.entrySet()) {
+            String nome = entrada.getKey();
+            Familia familia = entrada.getValue();
+            saida.append("# TYPE ").append(nome).append(' ').append(familia.tipo.nome).append('\n');
+            saida.append("# HELP ").append(nome).append(' ').append(escaparDescricao(familia.descricao)).append('\n');
+            for (Map.Entry<String, Serie> serie : new TreeMap<>(familia.series).entrySet()) {
+                serie.getValue().escrever(nome, serie.getKey(), saida);
+            }
+        }
+        return saida.append("# EOF\n").toString();
+    }
+
+    private Familia familia(String nome, Tipo tipo, String descricao, double[] limites) {
+        Familia familia = familias.computeIfAbsent(nome, chave -> new Familia(tipo, descricao, limites));
+        if (familia.tipo != tipo) {
+            throw new IllegalArgumentException("Métrica " + nome + " já registrada como " + familia.tipo.nome);
+        }
+        return familia;
+    }
+
+    /**
+     * {@code a="1",b="2"}, na ordem informada; vazio sem rótulos.
+     */
+    static String formatarRotulos(String... rotulos) {
+        if (rotulos.length % 2 != 0) {
+            throw new IllegalArgumentException("Rótulos devem ser pares nome/valor");
+        }
+        StringBuilder formatados = new StringBuilder();
+        for (int i = 0; i < rotulos.length; i += 2) {
+            if (i > 0) {
+                formatados.append(',');
+            }
+            formatados.append(rotulos[i]).append("=\"").append(escaparValor(rotulos[i + 1])).append('"');
+        }
+        return formatados.toString();
+    }
+
+    private static String escaparValor(String valor) {
+        return valor.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    private static String escaparDescricao(String descricao) {
+        return descricao.replace("\\", "\\\\").replace("\n", "\\n");
+    }
+
+    private static void escreverAmostra(StringBuilder saida, String nome, String rotulos, String valor) {
+        saida.append(nome);
+        if (!rotulos.isEmpty()) {
+            saida.append('{').append(rotulos).append('}');
+        }
+        saida.append(' ').append(valor).append('\n');
+    }
+
+    private enum Tipo {
+        COUNTER("counter"),
+        GAUGE("gauge"),
+        HISTOGRAM("histogram");
+
+        private final String nome;
+
+        Tipo(String nome) {
+            this.nome = nome;
+        }
+    }
+
+    private static final class Familia {
+        private final Tipo tipo;
+        private final String descricao;
+        private final double[] limites;
+        private final Map<String, Serie> series = new ConcurrentHashMap<>();
+
+        private Familia(Tipo tipo, String descricao, double[] limites) {
+            this.tipo = tipo;
+            this.descricao = descricao;
+            this.limites = limites != null ? validarLimites(limites) : null;
+        }
+
+        private static double[] validarLimites(double[] limites) {
+            for (int i = 1; i < limites.length; i++) {
+                if (limites[i] <= limites[i - 1]) {
+                    throw new IllegalArgumentException("Limites do histograma devem ser crescentes");
+                }
+            }
+            return limites.clone();
+        }
+    }
+
+    private interface Serie {
+        void escrever(String nome, String rotulos, StringBuilder saida);
+    }
+
+    /**
+     * Contador monotônico.
+     */
+    public static final class Contador implements Serie {
+
+        private final LongAdder valor = new LongAdder();
+
+        public void incrementar() {
+            valor.increment();
+        }
+
+        public long getValor() {
+            return valor.sum();
+        }
+
+        @Override
+        public void escrever(String nome, String rotulos, StringBuilder saida) {
+            escreverAmostra(saida, nome + "_total", rotulos, Long.toString(valor.sum()));
+        }
+    }
+
+    /**
+     * Valor instantâneo lido de uma fonte externa.
+     */
+    private static final class Medidor implements Serie {
+
+        private final DoubleSupplier valor;
+
+        private Medidor(DoubleSupplier valor) {
+            this.valor = valor;
+        }
+
+        @Override
+        public void escrever(String nome, String rotulos, StringBuilder saida) {
+            escreverAmostra(saida, nome, rotulos, Double.toString(valor.getAsDouble()));
+        }
+    }
+
+    /**
+     * Histograma de buckets fixos, com contagem e soma.
+     */
+    public static final class Histograma implements Serie {
+
+        private final double[] limites;
+        private final LongAdder[] buckets;
+        private final LongAdder contagem = new LongAdder();
+        private final DoubleAdder soma = new DoubleAdder();
+
+        private Histograma(double[] limites) {
+            this.limites = limites;
+            this.buckets = new LongAdder[limites.length];
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] = new LongAdder();
+            }
+        }
+
+        public void registrar(double valor) {
+            int indice = Arrays.binarySearch(limites, valor);
+            if (indice < 0) {
+                indice = -indice - 1;
+            }
+            // Acima do último limite conta apenas no bucket +Inf (a contagem total)
+            if (indice < buckets.length) {
+                buckets[indice].increment();
+            }
+            contagem.increment();
+            soma.add(valor);
+        }
+
+        /**
+         * Registra uma duração medida com {@link System#nanoTime()}, em segundos.
+         */
+        public void registrarNanos(long nanos) {
+            registrar(nanos / 1_000_000_000.0);
+        }
+
+        public long getContagem() {
+            return contagem.sum();
+        }
+
+        public double getSoma() {
+            return soma.sum();
+        }
+
+        @Override
+        public void escrever(String nome, String rotulos, StringBuilder saida) {
+            // Lidos uma vez: o bucket +Inf precisa coincidir com _count mesmo com registros concorrentes
+            long acumulado = 0;
+            for (int i = 0; i < limites.length; i++) {
+                acumulado += buckets[i].sum();
+                escreverAmostra(saida, nome + "_bucket", comLe(rotulos, Double.toString(limites[i])),
+                    Long.toString(acumulado));
+            }
+            long total = Math.max(acumulado, contagem.sum());
+            escreverAmostra(saida, nome + "_bucket", comLe(rotulos, "+Inf"), Long.toString(total));
+            escreverAmostra(saida, nome + "_count", rotulos, Long.toString(total));
+            escreverAmostra(saida, nome + "_sum", rotulos, Double.toString(soma.sum()));
+        }
+
+        private static String comLe(String rotulos, String limite) {
+            return (rotulos.isEmpty() ? "" : rotulos + ",") + "le=\"" + limite + "\"";
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.bip.application.metrics;
+
+import java.util.Locale;
+
+/**
+ * Tempo de uma requisição dividido em fases, para o header {@code Server-Timing}.
+ *
+ * <p>A instância fica vinculada à thread da requisição enquanto o recurso
+ * executa. O {@link MedicaoInterceptor} soma nela a duração dos beans cuja
+ * camada corresponde a uma {@link Fase}. Chamadas aninhadas da mesma fase
+ * contam uma vez (ex.: {@code save} dentro de {@code executeInTransaction}).
+ * Trabalho feito em outras threads, como os lotes do group commit e o escritor
+ * do ledger, não é atribuído a nenhuma fase e fica em {@code app}.</p>
+ *
+ * <p>Não é thread-safe: pertence a uma única requisição.</p>
+ *
+ * @author BIP API Team
+ * @since 1.2
+ */
+public final class TempoFases {
+
+    private static final ThreadLocal<TempoFases> ATUAL = new ThreadLocal<>();
+
+    /**
+     * Fases medidas; o restante do tempo da requisição é reportado como {@code app}.
+     * As descrições vão no header e ficam em ASCII.
+     */
+    public enum Fase {
+        LEITURA("leitura", "Leitura do corpo"),
+        VALIDACAO("validacao", "Validacao"),
+        BANCO("db", "Repositorio"),
+        MAPEAMENTO("mapeamento", "Mapeamento"),
+        SERIALIZACAO("serializacao", "Serializacao");
+
+        private final String nome;
+        private final String descricao;
+
+        Fase(String nome, String descricao) {
+            this.nome = nome;
+            this.descricao = descricao;
+        }
+
+        public String getNome() {
+            return nome;
+        }
+
+        /**
+         * Fase correspondente à camada de um bean {@link Medido}, ou {@code null}.
+         */
+        static Fase daCamada(String camada) {
+            return switch (camada) {
+                case "repositorio" -> BANCO;
+                case "mapeamento" -> MAPEAMENTO;
+                case "validacao" -> VALIDACAO;
+                default -> null;
+            };
+        }
+    }
+
+    private final long inicio;
+    private final long[] nanos = new long[Fase.values().length];
+    private final int[] chamadas = new int[Fase.values().length];
+    private final int[] profundidade = new int[Fase.values().length];
+
+    private TempoFases(long inicio) {
+        this.inicio = inicio;
+    }
+
+    /**
+     * Cria a medição da requisição e a vincula à thread corrente.
+     *
+     * @param inicio instante de chegada, de {@link System#nanoTime()}
+     */
+    public static TempoFases iniciar(long inicio) {
+        TempoFases tempo = new TempoFases(inicio);
+        ATUAL.set(tempo);
+        return tempo;
+    }
+
+    /**
+     * Medição vinculada à thread corrente; {@code null} fora de uma requisição amostrada.
+     */
+    public static TempoFases atual() {
+        return ATUAL.get();
+    }
+
+    /**
+     * Desvincula a medição da thread; a instância continua utilizável.
+     */
+    public static void desvincular() {
+        ATUAL.remove();
+    }
+
+    /**
+     * Vincula à thread corrente a medição de uma requisição que continua em outra
+     * thread (recursos assíncronos); {@code null} apenas desvincula.
+     */
+    public static void vincular(TempoFases tempo) {
+        if (tempo == null) {
+            ATUAL.remove();
+        } else {
+            ATUAL.set(tempo);
+        }
+    }
+
+    /**
+     * Marca a entrada em uma chamada da fase; deve ser seguida de {@link #sair}.
+     */
+    public void entrar(Fase fase) {
+        profundidade[fase.ordinal()]++;
+    }
+
+    /**
+     * Marca a saída da chamada; a duração só é somada na chamada mais externa da fase.
+     */
+    public void sair(Fase fase, long duracaoNanos) {
+        int indice = fase.ordinal();
+        if (--profundidade[indice] == 0) {
+            registrar(fase, duracaoNanos);
+        }
+    }
+
+    /**
+     * Soma uma duração medida fora do interceptor (leitura, serialização).
+     */
+    public void registrar(Fase fase, long duracaoNanos) {
+        nanos[fase.ordinal()] += duracaoNanos;
+        chamadas[fase.ordinal()]++;
+    }
+
+    public long getNanos(Fase fase) {
+        return nanos[fase.ordinal()];
+    }
+
+    public int getChamadas(Fase fase) {
+        return chamadas[fase.ordinal()];
+    }
+
+    /**
+     * Valor do header {@code Server-Timing} com as fases medidas, {@code app}
+     * (o restante) e {@code total} até {@code fim}, em milissegundos.
+     *
+     * @param fim instante final, de {@link System#nanoTime()}
+     */
+    public String serverTiming(long fim) {
+        long total = fim - inicio;
+        long medido = 0;
+        StringBuilder header = new StringBuilder(160);
+        for (Fase fase : Fase.values()) {
+            int indice = fase.ordinal();
+            if (chamadas[indice] == 0) {
+                continue;
+            }
+            medido += nanos[indice];
+            header.append(fase.nome).append(";desc=\"").append(fase.descricao);
+            if (chamadas[indice] > 1) {
+                header.append(" (").append(chamadas[indice]).append(')');
+            }
+            header.append("\";dur=").append(milissegundos(nanos[indice])).append(", ");
+        }
+        header.append("app;dur=").append(milissegundos(Math.max(0, total - medido)));
+        header.append(", total;dur=").append(milissegundos(total));
+        return header.toString();
+    }
+
+    private static String milissegundos(long nanos) {
+        return String.format(Locale.ROOT, "%.3f", nanos / 1_000_000.0);
+    }
+}
@@ -0,0 +1,52 @@
+package com.bip.application.metrics;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import java.math.BigDecimal;
+
+/**
+ * Métricas próprias das transferências: espera pelos locks do striping,
+ * rejeições por saldo insuficiente e distribuição dos valores transferidos.
+ *
+ * @author BIP API Team
+ * @since 1.2
+ */
+@ApplicationScoped
+public class TransferenciaMetricas {
+
+    /**
+     * Limites, em reais, do histograma de valores transferidos.
+     */
+    static final double[] LIMITES_VALOR = {1, 10, 50, 100, 500, 1_000, 5_000, 10_000, 50_000, 100_000};
+
+    @Inject
+    private MetricasRegistry registry;
+
+    private MetricasRegistry.Histograma esperaLock;
+    private MetricasRegistry.Contador saldoInsuficiente;
+    private MetricasRegistry.Histograma valor;
+
+    @PostConstruct
+    void iniciar() {
+        esperaLock = registry.histograma("bip_transferencia_espera_lock_segundos",
+            "Espera pelos locks dos benefícios antes da transação (lock striping)",
+            MetricasRegistry.LIMITES_LATENCIA);
+        saldoInsuficiente = registry.contador("bip_transferencia_rejeicoes",
+            "Transferências rejeitadas pelas regras de negócio", "motivo", "saldo_insuficiente");
+        valor = registry.histograma("bip_transferencia_valor",
+            "Valor das transferências concluídas, em reais", LIMITES_VALOR);
+    }
+
+    public void registrarEsperaLock(long nanos) {
+        esperaLock.registrarNanos(nanos);
+    }
+
+    public void registrarSaldoInsuficiente() {
+        saldoInsuficiente.incrementar();
+    }
+
+    public void registrarValor(BigDecimal valorTransferido) {
+        valor.registrar(valorTransferido.doubleValue());
+    }
+}
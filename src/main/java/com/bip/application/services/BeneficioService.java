@@ -1,5 +1,6 @@
 package com.bip.application.services;
 
+import com.bip.application.metrics.Medido;
 import com.bip.domain.entities.Beneficio;
 import com.bip.domain.repositories.BeneficioRepository;
 import jakarta.enterprise.context.ApplicationScoped;
@@ -29,6 +30,9 @@ public class BeneficioService {
     @Inject
     private BeneficioRepository beneficioRepository;
     
+    @Inject
+    private SaldoFragmentadoService saldoFragmentado;
+    
     /**
      * Busca benefício por ID com tratamento de erro padronizado
      * 
@@ -37,8 +41,10 @@ public class BeneficioService {
      * @throws IllegalArgumentException se benefício não for encontrado
      */
     public Beneficio buscarPorId(Long id) {
-        return beneficioRepository.findById(id)
+        Beneficio beneficio = beneficioRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Benefício não encontrado com ID: " + id));
+        saldoFragmentado.aplicar(beneficio);
+        return beneficio;
     }
     
     /**
@@ -47,6 +53,7 @@ public class BeneficioService {
      * @param beneficio Benefício a ser validado
      * @throws IllegalStateException se benefício estiver inativo
      */
+    @Medido("validacao")
     public void validarAtivo(Beneficio beneficio) {
         if (!beneficio.getAtivo()) {
             throw new IllegalStateException("Benefício está inativo: " + beneficio.getId());
@@ -60,6 +67,7 @@ public class BeneficioService {
      * @param destinoId ID do benefício destino
      * @throws IllegalArgumentException se IDs forem iguais
      */
+    @Medido("validacao")
     public void validarBeneficiosDiferentes(Long origemId, Long destinoId) {
         if (origemId.equals(destinoId)) {
             throw new IllegalArgumentException("Benefício de origem e destino não podem ser iguais");
@@ -0,0 +1,25 @@
+package com.bip.application.services;
+
+/**
+ * {@code Idempotency-Key} reutilizada com uma requisição de conteúdo diferente.
+ *
+ * <p>Estende {@link IllegalStateException} para manter a compatibilidade com quem
+ * já tratava o erro genericamente; o tipo próprio permite responder
+ * {@code 409 Conflict} com um código específico, distinto dos erros de validação.</p>
+ *
+ * @author BIP API Team
+ * @since 1.1
+ */
+public class IdempotenciaConflitanteException extends IllegalStateException {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Código de erro devolvido ao cliente.
+     */
+    public static final String CODIGO = "IDEMPOTENCY_KEY_REUSED";
+
+    public IdempotenciaConflitanteException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,287 @@
+package com.bip.application.services;
+
+import com.bip.application.dtos.TransferenciaDto;
+import com.bip.domain.entities.RegistroIdempotencia;
+import com.bip.domain.repositories.IdempotenciaRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.StringJoiner;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Serviço de idempotência para requisições com {@code Idempotency-Key}.
+ *
+ * <p>Respostas concluídas ficam em um mapa em memória com capacidade limitada,
+ * respaldado pela tabela {@code idempotencia_transferencia} com expiração (TTL).
+ * Uma nova tentativa com a mesma chave recebe a resposta original sem reprocessar
+ * a operação; duplicatas concorrentes aguardam a primeira requisição terminar.</p>
+ *
+ * <p>O registro inclui os headers da resposta original (por exemplo
+ * {@code Location}), devolvidos junto com o corpo no replay.</p>
+ *
+ * <p>Respostas 5xx não são registradas: a falha é transitória e o cliente
+ * pode repetir a operação com a mesma chave.</p>
+ *
+ * @author BIP API Team
+ * @since 1.1
+ */
+@ApplicationScoped
+public class IdempotenciaService {
+
+    public static final String PREFIXO = "bip.idempotencia.";
+
+    private static final int TAMANHO_MAXIMO_CHAVE = 255;
+    private static final Logger LOGGER = Logger.getLogger(IdempotenciaService.class.getName());
+
+    @Inject
+    private IdempotenciaRepository idempotenciaRepository;
+
+    private final Map<String, Entrada> entradas = new ConcurrentHashMap<>();
+    private final Queue<String> ordemEntradas = new ConcurrentLinkedQueue<>();
+
+    private Duration ttl = Duration.ofHours(24);
+    private int capacidadeMemoria = 10_000;
+    private ScheduledExecutorService limpeza;
+
+    @PostConstruct
+    void iniciar() {
+        ttl = Duration.ofHours(Long.getLong(PREFIXO + "ttl-horas", 24L));
+        capacidadeMemoria = Integer.getInteger(PREFIXO + "capacidade-memoria", 10_000);
+        long intervalo = Long.getLong(PREFIXO + "intervalo-limpeza-minutos", 10L);
+
+        limpeza = Executors.newSingleThreadScheduledExecutor(tarefa -> {
+            Thread thread = new Thread(tarefa, "idempotencia-limpeza");
+            thread.setDaemon(true);
+            return thread;
+        });
+        limpeza.scheduleWithFixedDelay(this::removerExpirados, intervalo, intervalo, TimeUnit.MINUTES);
+    }
+
+    @PreDestroy
+    void encerrar() {
+        if (limpeza != null) {
+            limpeza.shutdownNow();
+        }
+    }
+
+    /**
+     * Executa a operação uma única vez por chave.
+     *
+     * @param chave valor do header {@code Idempotency-Key}
+     * @param hashRequisicao hash do conteúdo da requisição, ver {@link #calcularHash(String)}
+     * @param operacao operação a executar na primeira requisição
+     * @return resposta original; {@link RespostaIdempotente#reexecutada()} indica replay
+     * @throws IllegalArgumentException se a chave for inválida
+     * @throws IdempotenciaConflitanteException se a chave já foi usada com outra requisição
+     */
+    public RespostaIdempotente executar(String chave, String hashRequisicao,
+                                        Supplier<RespostaIdempotente> operacao) {
+        validarChave(chave);
+        if (hashRequisicao == null) {
+            throw new IllegalArgumentException("Hash da requisição não pode ser nulo");
+        }
+
+        while (true) {
+            Entrada nova = new Entrada(hashRequisicao, LocalDateTime.now().plus(ttl));
+            Entrada existente = entradas.putIfAbsent(chave, nova);
+            if (existente == null) {
+                return executarPrimeira(chave, nova, operacao);
+            }
+
+            validarMesmaRequisicao(existente.hashRequisicao, hashRequisicao);
+            if (existente.resultado.isDone() && existente.isExpirada(LocalDateTime.now())) {
+                entradas.remove(chave, existente);
+                continue;
+            }
+
+            try {
+                return existente.resultado.join().comoReexecucao();
+            } catch (CompletionException | CancellationException e) {
+                // A primeira requisição terminou sem resposta registrável: tenta novamente
+                entradas.remove(chave, existente);
+            }
+        }
+    }
+
+    /**
+     * Calcula o hash SHA-256 (hexadecimal) do conteúdo canônico de uma requisição.
+     */
+    public static String calcularHash(String conteudo) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(conteudo.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    }
+
+    /**
+     * Hash do conteúdo canônico de uma transferência: origem, destino, valor
+     * sem zeros à direita e descrição.
+     */
+    public static String hashTransferencia(TransferenciaDto dto) {
+        BigDecimal valor = dto.getValor() != null ? dto.getValor().stripTrailingZeros() : null;
+        return calcularHash(dto.getBeneficioOrigemId() + "|" + dto.getBeneficioDestinoId()
+            + "|" + (valor != null ? valor.toPlainString() : null) + "|" + dto.getDescricao());
+    }
+
+    /**
+     * Quantidade de chaves mantidas em memória.
+     */
+    public int getEntradasEmMemoria() {
+        return entradas.size();
+    }
+
+    /**
+     * Remove registros expirados da memória e da tabela.
+     */
+    void removerExpirados() {
+        LocalDateTime agora = LocalDateTime.now();
+        entradas.entrySet().removeIf(entrada ->
+            entrada.getValue().resultado.isDone() && entrada.getValue().isExpirada(agora));
+        try {
+            int removidos = idempotenciaRepository.deleteExpiredBefore(agora);
+            if (removidos > 0) {
+                LOGGER.fine("Registros de idempotência expirados removidos: " + removidos);
+            }
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Falha ao remover registros de idempotência expirados", e);
+        }
+    }
+
+    private RespostaIdempotente executarPrimeira(String chave, Entrada entrada,
+                                                 Supplier<RespostaIdempotente> operacao) {
+        try {
+            Optional<RegistroIdempotencia> registro = idempotenciaRepository.findByChave(chave)
+                    .filter(r -> !r.isExpirado(LocalDateTime.now()));
+            if (registro.isPresent()) {
+                validarMesmaRequisicao(registro.get().getHashRequisicao(), entrada.hashRequisicao);
+                RespostaIdempotente armazenada = new RespostaIdempotente(
+                    registro.get().getStatusHttp(), registro.get().getCorpoResposta(),
+                    decodificarCabecalhos(registro.get().getCabecalhosResposta()), true);
+                concluir(chave, entrada, armazenada);
+                return armazenada;
+            }
+
+            RespostaIdempotente resposta = operacao.get();
+            if (resposta.status() >= 500) {
+                entradas.remove(chave, entrada);
+                entrada.resultado.completeExceptionally(
+                    new IllegalStateException("Resposta transitória não registrada"));
+                return resposta;
+            }
+
+            persistir(chave, entrada, resposta);
+            concluir(chave, entrada, resposta);
+            return resposta;
+
+        } catch (RuntimeException e) {
+            entradas.remove(chave, entrada);
+            entrada.resultado.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private void persistir(String chave, Entrada entrada, RespostaIdempotente resposta) {
+        try {
+            idempotenciaRepository.save(new RegistroIdempotencia(chave, entrada.hashRequisicao,
+                resposta.status(), resposta.corpo(), codificarCabecalhos(resposta.cabecalhos()),
+                entrada.expiraEm));
+        } catch (RuntimeException e) {
+            // A resposta continua protegida em memória enquanto a entrada não for descartada
+            LOGGER.log(Level.WARNING, "Falha ao persistir registro de idempotência: " + chave, e);
+        }
+    }
+
+    private void concluir(String chave, Entrada entrada, RespostaIdempotente resposta) {
+        entrada.resultado.complete(resposta);
+        ordemEntradas.add(chave);
+        while (entradas.size() > capacidadeMemoria) {
+            String maisAntiga = ordemEntradas.poll();
+            if (maisAntiga == null) {
+                return;
+            }
+            Entrada antiga = entradas.get(maisAntiga);
+            if (antiga != null && antiga.resultado.isDone()) {
+                entradas.remove(maisAntiga, antiga);
+            }
+        }
+    }
+
+    static String codificarCabecalhos(Map<String, String> cabecalhos) {
+        if (cabecalhos.isEmpty()) {
+            return null;
+        }
+        StringJoiner linhas = new StringJoiner("\n");
+        cabecalhos.forEach((nome, valor) -> linhas.add(nome + ": " + valor));
+        return linhas.toString();
+    }
+
+    static Map<String, String> decodificarCabecalhos(String linhas) {
+        if (linhas == null || linhas.isEmpty()) {
+            return Map.of();
+        }
+        Map<String, String> cabecalhos = new LinkedHashMap<>();
+        for (String linha : linhas.split("\n")) {
+            int separador = linha.indexOf(": ");
+            if (separador > 0) {
+                cabecalhos.put(linha.substring(0, separador), linha.substring(separador + 2));
+            }
+        }
+        return cabecalhos;
+    }
+
+    private static void validarChave(String chave) {
+        if (chave == null || chave.isBlank()) {
+            throw new IllegalArgumentException("Idempotency-Key não pode ser vazia");
+        }
+        if (chave.length() > TAMANHO_MAXIMO_CHAVE) {
+            throw new IllegalArgumentException(
+                "Idempotency-Key não pode exceder " + TAMANHO_MAXIMO_CHAVE + " caracteres");
+        }
+    }
+
+    private static void validarMesmaRequisicao(String hashRegistrado, String hashRequisicao) {
+        if (!hashRegistrado.equals(hashRequisicao)) {
+            throw new IdempotenciaConflitanteException("Idempotency-Key já utilizada com outra requisição");
+        }
+    }
+
+    private static final class Entrada {
+        private final String hashRequisicao;
+        private final LocalDateTime expiraEm;
+        private final CompletableFuture<RespostaIdempotente> resultado = new CompletableFuture<>();
+
+        private Entrada(String hashRequisicao, LocalDateTime expiraEm) {
+            this.hashRequisicao = hashRequisicao;
+            this.expiraEm = expiraEm;
+        }
+
+        private boolean isExpirada(LocalDateTime agora) {
+            return expiraEm.isBefore(agora);
+        }
+    }
+}
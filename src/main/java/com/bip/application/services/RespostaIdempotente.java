@@ -0,0 +1,36 @@
+package com.bip.application.services;
+
+import java.util.Map;
+
+/**
+ * Resposta registrada para uma chave de idempotência.
+ *
+ * @param status status HTTP da resposta original
+ * @param corpo corpo JSON da resposta original
+ * @param cabecalhos headers da resposta original (por exemplo {@code Location}), devolvidos no replay
+ * @param reexecutada indica se a resposta foi devolvida a partir do registro, sem reprocessar
+ *
+ * @author BIP API Team
+ * @since 1.1
+ */
+public record RespostaIdempotente(int status, String corpo, Map<String, String> cabecalhos,
+                                  boolean reexecutada) {
+
+    public RespostaIdempotente {
+        cabecalhos = cabecalhos != null ? Map.copyOf(cabecalhos) : Map.of();
+    }
+
+    /**
+     * Resposta sem headers a registrar.
+     */
+    public RespostaIdempotente(int status, String corpo, boolean reexecutada) {
+        this(status, corpo, Map.of(), reexecutada);
+    }
+
+    /**
+     * Cópia da resposta marcada como devolvida a partir do registro.
+     */
+    public RespostaIdempotente comoReexecucao() {
+        return reexecutada ? this : new RespostaIdempotente(status, corpo, cabecalhos, true);
+    }
+}
@@ -0,0 +1,180 @@
+package com.bip.application.services;
+
+import com.bip.domain.entities.Beneficio;
+import com.bip.domain.repositories.BeneficioRepository;
+import com.bip.domain.repositories.SaldoSlotRepository;
+import com.bip.domain.valueobjects.Money;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/**
+ * Saldo fragmentado para benefícios "quentes".
+ * 
+ * <p>Benefícios que participam da maior parte das transferências (por exemplo,
+ * o fundo central de Auxílio Alimentação) serializam todas as operações na
+ * linha da tabela {@code beneficio}. Para os benefícios configurados, o saldo
+ * é dividido em N slots na tabela {@code beneficio_saldo_slot}:</p>
+ * <ul>
+ *   <li>Crédito: UPDATE em um slot aleatório</li>
+ *   <li>Débito: UPDATE condicional em um slot aleatório; se o slot não tiver
+ *       saldo, varre os slots e, por fim, debita o restante do saldo principal</li>
+ *   <li>Leitura: saldo principal somado aos slots</li>
+ * </ul>
+ * 
+ * <p>Créditos e débitos participam da transação ativa do
+ * {@link BeneficioRepository#executeInTransaction}; sem transação ativa, cada
+ * operação abre a própria. Um débito que combina slots e saldo principal é
+ * desfeito por inteiro em caso de falha. Os slots são criados na primeira
+ * movimentação do benefício, por uma única thread e em transação própria.</p>
+ * 
+ * @author BIP API Team
+ * @since 1.1
+ */
+@ApplicationScoped
+public class SaldoFragmentadoService {
+    
+    public static final String PREFIXO = "bip.saldo-fragmentado.";
+    
+    @Inject
+    private SaldoSlotRepository saldoSlotRepository;
+    
+    @Inject
+    private BeneficioRepository beneficioRepository;
+    
+    private Set<Long> beneficios = Set.of();
+    private int slots = 8;
+    private final Set<Long> inicializados = ConcurrentHashMap.newKeySet();
+    private final ReentrantLock criacaoSlots = new ReentrantLock();
+    
+    @PostConstruct
+    void iniciar() {
+        configurar(lerBeneficios(System.getProperty(PREFIXO + "beneficios", "")),
+                   Integer.getInteger(PREFIXO + "slots", 8));
+    }
+    
+    /**
+     * Define os benefícios fragmentados e a quantidade de slots de cada um.
+     */
+    void configurar(Set<Long> beneficiosFragmentados, int quantidadeSlots) {
+        if (quantidadeSlots <= 0) {
+            throw new IllegalArgumentException("Quantidade de slots deve ser positiva");
+        }
+        this.beneficios = Set.copyOf(beneficiosFragmentados);
+        this.slots = quantidadeSlots;
+        this.inicializados.clear();
+    }
+    
+    /**
+     * Verifica se o benefício tem o saldo fragmentado em slots
+     */
+    public boolean isFragmentado(Long beneficioId) {
+        return beneficioId != null && beneficios.contains(beneficioId);
+    }
+    
+    public Set<Long> getBeneficiosFragmentados() {
+        return beneficios;
+    }
+    
+    public int getSlots() {
+        return slots;
+    }
+    
+    /**
+     * Inclui a soma dos slots no saldo do benefício, se fragmentado
+     */
+    public void aplicar(Beneficio beneficio) {
+        if (beneficio != null && isFragmentado(beneficio.getId())) {
+            beneficio.aplicarSaldoFragmentado(Money.of(saldoSlotRepository.sumByBeneficioId(beneficio.getId())));
+        }
+    }
+    
+    /**
+     * Credita o valor em um slot aleatório do benefício
+     */
+    public void creditar(Beneficio beneficio, Money valor) {
+        validarValor(valor, "crédito");
+        Long id = beneficio.getId();
+        emTransacao(() -> {
+            garantirSlots(id);
+            if (!saldoSlotRepository.creditar(id, slotAleatorio(), valor)) {
+                throw new IllegalStateException("Slot de saldo não encontrado para o benefício: " + id);
+            }
+        });
+    }
+    
+    /**
+     * Debita o valor de um slot aleatório; sem saldo no slot, varre os slots
+     * e debita o restante do saldo principal.
+     * 
+     * @throws IllegalArgumentException se o saldo total for insuficiente
+     */
+    public void debitar(Beneficio beneficio, Money valor) {
+        validarValor(valor, "débito");
+        Long id = beneficio.getId();
+        emTransacao(() -> {
+            garantirSlots(id);
+            if (saldoSlotRepository.debitar(id, slotAleatorio(), valor)) {
+                return;
+            }
+            
+            Money restante = valor.subtract(saldoSlotRepository.debitarVarrendo(id, valor));
+            if (restante.isPositive()) {
+                // Uma exceção aqui desfaz também o que a varredura debitou dos slots
+                beneficio.debitar(restante);
+                beneficioRepository.save(beneficio);
+            }
+        });
+    }
+    
+    private void emTransacao(Runnable operacao) {
+        beneficioRepository.executeInTransaction(() -> {
+            operacao.run();
+            return null;
+        });
+    }
+    
+    private void garantirSlots(Long beneficioId) {
+        if (inicializados.contains(beneficioId)) {
+            return;
+        }
+        // Primeiras movimentações concorrentes: só uma cria, as demais esperam o commit
+        criacaoSlots.lock();
+        try {
+            if (!inicializados.contains(beneficioId)) {
+                saldoSlotRepository.inicializarSlots(beneficioId, slots);
+                inicializados.add(beneficioId);
+            }
+        } finally {
+            criacaoSlots.unlock();
+        }
+    }
+    
+    private int slotAleatorio() {
+        return ThreadLocalRandom.current().nextInt(slots);
+    }
+    
+    private static void validarValor(Money valor, String operacao) {
+        if (valor == null || !valor.isPositive()) {
+            throw new IllegalArgumentException("Valor de " + operacao + " deve ser positivo");
+        }
+    }
+    
+    private static Set<Long> lerBeneficios(String valor) {
+        try {
+            return Arrays.stream(valor.split(","))
+                    .map(String::trim)
+                    .filter(id -> !id.isEmpty())
+                    .map(Long::valueOf)
+                    .collect(Collectors.toSet());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Lista inválida em " + PREFIXO + "beneficios: " + valor, e);
+        }
+    }
+}
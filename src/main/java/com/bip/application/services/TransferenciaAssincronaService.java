@@ -0,0 +1,220 @@
+package com.bip.application.services;
+
+import com.bip.application.dtos.HistoricoTransferenciaDto;
+import com.bip.application.dtos.TransferenciaDto;
+import com.bip.application.usecases.TransferenciaUseCase;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+/**
+ * Serviço de submissão assíncrona de transferências.
+ *
+ * <p>No modo assíncrono a requisição HTTP apenas valida e enfileira a
+ * transferência, recebendo um ticket. Um pool de workers executa as
+ * transferências e o status do ticket pode ser consultado posteriormente
+ * (PENDENTE, CONCLUIDA ou FALHOU).</p>
+ *
+ * <p>Os tickets ficam em memória com retenção limitada: ao exceder o limite,
+ * os tickets finalizados mais antigos são descartados.</p>
+ *
+ * @author BIP API Team
+ * @since 1.1
+ */
+@ApplicationScoped
+public class TransferenciaAssincronaService {
+
+    public static final String PREFIXO = "bip.transferencia.assincrona.";
+
+    public static final String STATUS_PENDENTE = "PENDENTE";
+    public static final String STATUS_CONCLUIDA = "CONCLUIDA";
+    public static final String STATUS_FALHOU = "FALHOU";
+
+    /**
+     * Faixa de IDs separada dos IDs do histórico de transferências.
+     */
+    private static final long PRIMEIRO_TICKET = 1_000_000L;
+
+    private static final Logger LOGGER = Logger.getLogger(TransferenciaAssincronaService.class.getName());
+
+    @Inject
+    private TransferenciaUseCase transferenciaUseCase;
+
+    private final Map<Long, HistoricoTransferenciaDto> tickets = new ConcurrentHashMap<>();
+    private final Queue<Long> ordemTickets = new ConcurrentLinkedQueue<>();
+    private final AtomicLong sequencia = new AtomicLong(PRIMEIRO_TICKET);
+
+    private boolean habilitada;
+    private int ticketsRetidos;
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    void iniciar() {
+        habilitada = Boolean.getBoolean(PREFIXO + "habilitada");
+        ticketsRetidos = Integer.getInteger(PREFIXO + "tickets-retidos", 10_000);
+        if (habilitada) {
+            int workers = Integer.getInteger(PREFIXO + "workers", 4);
+            int capacidadeFila = Integer.getInteger(PREFIXO + "capacidade-fila", 1_024);
+            executor = criarExecutor(workers, capacidadeFila);
+            LOGGER.info("Transferências assíncronas habilitadas: workers=" + workers
+                + ", capacidadeFila=" + capacidadeFila);
+        }
+    }
+
+    @PreDestroy
+    void encerrar() {
+        if (executor != null) {
+            executor.shutdown();
+            try {
+                executor.awaitTermination(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Indica se o modo assíncrono está ativo.
+     */
+    public boolean isHabilitada() {
+        return habilitada;
+    }
+
+    /**
+     * Valida e enfileira a transferência.
+     *
+     * @param dto dados da transferência
+     * @return ticket com status PENDENTE
+     * @throws IllegalArgumentException se os parâmetros forem inválidos
+     * @throws IllegalStateException se o modo assíncrono estiver desabilitado
+     * @throws RejectedExecutionException se a fila de processamento estiver cheia
+     */
+    public HistoricoTransferenciaDto submeter(TransferenciaDto dto) {
+        if (executor == null) {
+            throw new IllegalStateException("Modo de transferência assíncrona desabilitado");
+        }
+        transferenciaUseCase.validarParametrosTransferencia(dto);
+
+        long id = sequencia.getAndIncrement();
+        HistoricoTransferenciaDto ticket = novoTicket(id, dto);
+        tickets.put(id, ticket);
+
+        try {
+            executor.execute(() -> processar(id, dto));
+        } catch (RejectedExecutionException e) {
+            tickets.remove(id);
+            throw e;
+        }
+
+        ordemTickets.add(id);
+        descartarExcedentes();
+        return ticket;
+    }
+
+    /**
+     * Consulta o estado atual de um ticket.
+     */
+    public Optional<HistoricoTransferenciaDto> buscarTicket(Long id) {
+        if (id == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(tickets.get(id));
+    }
+
+    /**
+     * Quantidade de transferências aguardando processamento.
+     */
+    public int getPendentes() {
+        return executor != null ? executor.getQueue().size() + executor.getActiveCount() : 0;
+    }
+
+    private void processar(long id, TransferenciaDto dto) {
+        try {
+            transferenciaUseCase.executarTransferencia(dto);
+            tickets.computeIfPresent(id, (chave, ticket) -> finalizar(ticket, STATUS_CONCLUIDA, null));
+
+        } catch (RuntimeException e) {
+            tickets.computeIfPresent(id, (chave, ticket) -> finalizar(ticket, STATUS_FALHOU, e.getMessage()));
+        }
+    }
+
+    private HistoricoTransferenciaDto novoTicket(long id, TransferenciaDto dto) {
+        return new HistoricoTransferenciaDto(
+            id,
+            dto.getBeneficioOrigemId(),
+            null,
+            dto.getBeneficioDestinoId(),
+            null,
+            dto.getValor(),
+            transferenciaUseCase.calcularTaxa(dto.getValor()).getValor(),
+            dto.getDescricao(),
+            LocalDateTime.now(),
+            STATUS_PENDENTE
+        );
+    }
+
+    /**
+     * Cria um novo snapshot do ticket; o anterior pode estar sendo serializado por outra thread.
+     */
+    private HistoricoTransferenciaDto finalizar(HistoricoTransferenciaDto ticket, String status, String motivo) {
+        HistoricoTransferenciaDto finalizado = new HistoricoTransferenciaDto(
+            ticket.getId(),
+            ticket.getBeneficioOrigemId(),
+            ticket.getBeneficioOrigemNome(),
+            ticket.getBeneficioDestinoId(),
+            ticket.getBeneficioDestinoNome(),
+            ticket.getValor(),
+            ticket.getTaxa(),
+            ticket.getDescricao(),
+            LocalDateTime.now(),
+            status
+        );
+        finalizado.setMotivoFalha(motivo);
+        return finalizado;
+    }
+
+    private void descartarExcedentes() {
+        while (tickets.size() > ticketsRetidos) {
+            Long maisAntigo = ordemTickets.peek();
+            HistoricoTransferenciaDto ticket = maisAntigo != null ? tickets.get(maisAntigo) : null;
+            if (ticket != null && STATUS_PENDENTE.equals(ticket.getStatus())) {
+                return;
+            }
+            if (maisAntigo == null) {
+                return;
+            }
+            if (ordemTickets.remove(maisAntigo)) {
+                tickets.remove(maisAntigo);
+            }
+        }
+    }
+
+    private static ThreadPoolExecutor criarExecutor(int workers, int capacidadeFila) {
+        AtomicInteger contador = new AtomicInteger();
+        return new ThreadPoolExecutor(
+            workers, workers,
+            0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(capacidadeFila),
+            tarefa -> {
+                Thread thread = new Thread(tarefa, "transferencia-async-" + contador.getAndIncrement());
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.AbortPolicy()
+        );
+    }
+}
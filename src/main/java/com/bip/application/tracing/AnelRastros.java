@@ -0,0 +1,74 @@
+package com.bip.application.tracing;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Predicate;
+
+/**
+ * Anel sem locks com os últimos rastros publicados; o mais antigo é sobrescrito.
+ *
+ * <p>Produtores disputam apenas um contador atômico. A leitura percorre o anel
+ * do mais novo para o mais antigo e ignora posições já sobrescritas por uma
+ * volta seguinte, identificadas pelo {@link Rastro#id()}.</p>
+ *
+ * @author BIP API Team
+ * @since 1.2
+ */
+class AnelRastros {
+
+    private final AtomicReferenceArray<Rastro> posicoes;
+    private final int mascara;
+    private final AtomicLong proximo = new AtomicLong();
+
+    /**
+     * @param capacidade capacidade do anel (arredondada para potência de 2)
+     */
+    AnelRastros(int capacidade) {
+        int tamanho = Integer.highestOneBit(capacidade);
+        if (tamanho < capacidade) {
+            tamanho <<= 1;
+        }
+        this.posicoes = new AtomicReferenceArray<>(tamanho);
+        this.mascara = tamanho - 1;
+    }
+
+    /**
+     * Reserva o identificador do próximo rastro.
+     */
+    long reservar() {
+        return proximo.getAndIncrement();
+    }
+
+    /**
+     * Publica o rastro na posição do seu identificador.
+     */
+    void publicar(Rastro rastro) {
+        posicoes.set((int) (rastro.id() & mascara), rastro);
+    }
+
+    /**
+     * Rastros aceitos pelo filtro, do mais novo para o mais antigo.
+     */
+    List<Rastro> consultar(Predicate<Rastro> filtro, int limite) {
+        List<Rastro> resultado = new ArrayList<>(Math.min(limite, posicoes.length()));
+        long ultimo = proximo.get() - 1;
+        for (long id = ultimo; id >= 0 && id > ultimo - posicoes.length() && resultado.size() < limite; id--) {
+            Rastro rastro = posicoes.get((int) (id & mascara));
+            // Nulo: reservado e ainda não publicado; id diferente: sobrescrito por uma volta seguinte
+            if (rastro != null && rastro.id() == id && filtro.test(rastro)) {
+                resultado.add(rastro);
+            }
+        }
+        return resultado;
+    }
+
+    int capacidade() {
+        return posicoes.length();
+    }
+
+    long publicados() {
+        return proximo.get();
+    }
+}
@@ -0,0 +1,214 @@
+package com.bip.application.tracing;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Spans da requisição em andamento na thread corrente.
+ *
+ * <p>Cada thread reutiliza o mesmo coletor, com os spans em arrays
+ * primitivos: requisições que não são guardadas não alocam nada. Os objetos
+ * do {@link Rastro} só são criados em {@link #paraRastro}. Spans além da
+ * capacidade são apenas contados.</p>
+ *
+ * <p>Trabalho feito em outras threads, como os lotes do group commit e o
+ * escritor do ledger, não aparece no rastro: o tempo fica no span que
+ * aguardou por ele.</p>
+ *
+ * <p>Recursos assíncronos continuam a requisição em outra thread: o coletor é
+ * retirado da thread de origem com {@link #desvincular()}, vinculado à de
+ * destino com {@link #vincular} e, ao final, devolvido com {@link #liberar()} a
+ * um estoque de coletores livres, de onde as threads sem coletor retiram o seu.</p>
+ *
+ * <p>Não é thread-safe: pertence a uma única thread por vez.</p>
+ *
+ * @author BIP API Team
+ * @since 1.2
+ */
+public final class ColetorRastro {
+
+    private static final ThreadLocal<ColetorRastro> DA_THREAD = new ThreadLocal<>();
+
+    /**
+     * Coletores devolvidos por requisições assíncronas; não passa do número de
+     * requisições simultâneas.
+     */
+    private static final Queue<ColetorRastro> LIVRES = new ConcurrentLinkedQueue<>();
+
+    private final String[] tipos;
+    private final String[] nomes;
+    private final String[] erros;
+    private final int[] pais;
+    private final long[] inicios;
+    private final long[] fins;
+
+    private boolean ativo;
+    private long inicio;
+    private int quantidade;
+    private int aberto;
+    private int descartados;
+
+    private ColetorRastro(int capacidade) {
+        tipos = new String[capacidade];
+        nomes = new String[capacidade];
+        erros = new String[capacidade];
+        pais = new int[capacidade];
+        inicios = new long[capacidade];
+        fins = new long[capacidade];
+    }
+
+    /**
+     * Reinicia o coletor da thread corrente e o torna ativo.
+     *
+     * @param capacidade máximo de spans guardados
+     * @param inicio instante de chegada, de {@link System#nanoTime()}
+     */
+    static ColetorRastro iniciar(int capacidade, long inicio) {
+        ColetorRastro coletor = DA_THREAD.get();
+        if (coletor == null) {
+            coletor = LIVRES.poll();
+        }
+        if (coletor == null || coletor.tipos.length != capacidade) {
+            coletor = new ColetorRastro(capacidade);
+        }
+        DA_THREAD.set(coletor);
+        coletor.reiniciar(inicio);
+        return coletor;
+    }
+
+    /**
+     * Coletor ativo na thread corrente; {@code null} fora de uma requisição rastreada.
+     */
+    public static ColetorRastro atual() {
+        ColetorRastro coletor = DA_THREAD.get();
+        return coletor != null && coletor.ativo ? coletor : null;
+    }
+
+    /**
+     * Retira da thread corrente o coletor ativo, para que a requisição continue
+     * em outra thread; a próxima requisição desta thread usa outro coletor.
+     *
+     * @return o coletor retirado; {@code null} fora de uma requisição rastreada
+     */
+    public static ColetorRastro desvincular() {
+        ColetorRastro coletor = atual();
+        if (coletor != null) {
+            DA_THREAD.remove();
+        }
+        return coletor;
+    }
+
+    /**
+     * Vincula à thread corrente um coletor retirado com {@link #desvincular()};
+     * {@code null} não altera a thread.
+     */
+    public static void vincular(ColetorRastro coletor) {
+        if (coletor != null) {
+            DA_THREAD.set(coletor);
+        }
+    }
+
+    /**
+     * Desvincula o coletor da thread corrente e o devolve ao estoque se a
+     * requisição já foi concluída. Um coletor ainda ativo é abandonado: outra
+     * thread ainda pode concluí-lo.
+     */
+    public static void liberar() {
+        ColetorRastro coletor = DA_THREAD.get();
+        if (coletor == null) {
+            return;
+        }
+        DA_THREAD.remove();
+        if (!coletor.ativo) {
+            LIVRES.offer(coletor);
+        }
+    }
+
+    private void reiniciar(long instante) {
+        // Referências antigas ficam nos arrays até serem sobrescritas: são literais e nomes cacheados
+        ativo = true;
+        inicio = instante;
+        quantidade = 0;
+        aberto = -1;
+        descartados = 0;
+    }
+
+    /**
+     * Abre um span filho do span aberto mais interno.
+     *
+     * @return índice a passar para {@link #fechar}; -1 se o span foi descartado
+     */
+    public int abrir(String tipo, String nome) {
+        if (quantidade == tipos.length) {
+            descartados++;
+            return -1;
+        }
+        int indice = quantidade++;
+        tipos[indice] = tipo;
+        nomes[indice] = nome;
+        erros[indice] = null;
+        pais[indice] = aberto;
+        inicios[indice] = System.nanoTime();
+        fins[indice] = -1;
+        aberto = indice;
+        return indice;
+    }
+
+    /**
+     * Fecha o span aberto por {@link #abrir}; índices negativos são ignorados.
+     *
+     * @param erro exceção que encerrou o span, ou {@code null}
+     */
+    public void fechar(int indice, Throwable erro) {
+        if (indice < 0 || indice >= quantidade || fins[indice] >= 0) {
+            return;
+        }
+        fins[indice] = System.nanoTime();
+        if (erro != null) {
+            erros[indice] = erro.getClass().getSimpleName();
+        }
+        aberto = pais[indice];
+    }
+
+    /**
+     * Desativa o coletor; as chamadas seguintes de {@link #atual()} devolvem {@code null}.
+     */
+    void encerrar() {
+        ativo = false;
+    }
+
+    long getInicio() {
+        return inicio;
+    }
+
+    int getQuantidade() {
+        return quantidade;
+    }
+
+    int getDescartados() {
+        return descartados;
+    }
+
+    /**
+     * Cópia imutável dos spans coletados.
+     *
+     * @param fim instante final, de {@link System#nanoTime()}
+     */
+    Rastro paraRastro(long id, String endpoint, int status, long fim, boolean lento) {
+        List<Rastro.Span> spans = new ArrayList<>(quantidade);
+        for (int i = 0; i < quantidade; i++) {
+            spans.add(new Rastro.Span(tipos[i], nomes[i], pais[i], micros(inicios[i] - inicio),
+                fins[i] >= 0 ? micros(fins[i] - inicios[i]) : -1, erros[i]));
+        }
+        long duracao = fim - inicio;
+        return new Rastro(id, endpoint, status, Instant.now().minusNanos(System.nanoTime() - inicio),
+            micros(duracao), lento, List.copyOf(spans), descartados);
+    }
+
+    private static long micros(long nanos) {
+        return nanos / 1_000;
+    }
+}
@@ -0,0 +1,109 @@
+package com.bip.application.tracing;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * Registro em memória dos rastros das últimas requisições.
+ *
+ * <p>Os spans de toda requisição são coletados e a decisão de guardar fica
+ * para o fim: entra no anel a fração amostrada e, sempre, qualquer
+ * requisição com duração acima do limite de lentidão. Assim os casos lentos
+ * raros aparecem mesmo com amostragem baixa.</p>
+ *
+ * @author BIP API Team
+ * @since 1.2
+ */
+@ApplicationScoped
+public class RastreadorRequisicoes {
+
+    private final RastroConfig config;
+    private final AnelRastros anel;
+    private final long limiteLentoNanos;
+
+    public RastreadorRequisicoes() {
+        this(RastroConfig.fromSystemProperties());
+    }
+
+    /**
+     * Rastreador com configuração explícita, para uso fora do contêiner.
+     */
+    public RastreadorRequisicoes(RastroConfig config) {
+        this.config = config;
+        this.anel = new AnelRastros(config.capacidade());
+        this.limiteLentoNanos = TimeUnit.MILLISECONDS.toNanos(config.limiteLentoMillis());
+    }
+
+    /**
+     * Começa a coletar os spans da requisição na thread corrente.
+     *
+     * @return coletor a passar para {@link #concluir}; {@code null} com o rastreamento desabilitado
+     */
+    public ColetorRastro iniciar() {
+        if (!config.habilitado()) {
+            return null;
+        }
+        return ColetorRastro.iniciar(config.maximoSpans(), System.nanoTime());
+    }
+
+    /**
+     * Encerra a coleta e guarda o rastro se a requisição foi amostrada ou lenta.
+     * Spans ainda abertos ficam com duração -1.
+     *
+     * @param endpoint verbo e template da rota
+     * @param status status HTTP da resposta
+     * @return rastro guardado, ou {@code null} se foi descartado
+     */
+    public Rastro concluir(ColetorRastro coletor, String endpoint, int status) {
+        long fim = System.nanoTime();
+        coletor.encerrar();
+        boolean lento = fim - coletor.getInicio() >= limiteLentoNanos;
+        if (!lento && ThreadLocalRandom.current().nextDouble() >= config.amostragem()) {
+            return null;
+        }
+        Rastro rastro = coletor.paraRastro(anel.reservar(), endpoint, status, fim, lento);
+        anel.publicar(rastro);
+        return rastro;
+    }
+
+    /**
+     * Rastros guardados, do mais novo para o mais antigo.
+     *
+     * @param somenteLentos apenas os que atingiram o limite de lentidão
+     * @param endpoint trecho do endpoint, sem diferenciar maiúsculas; {@code null} ou vazio para todos
+     * @param limite quantidade máxima retornada
+     */
+    public List<Rastro> consultar(boolean somenteLentos, String endpoint, int limite) {
+        if (limite <= 0) {
+            throw new IllegalArgumentException("Limite deve ser um número positivo");
+        }
+        Predicate<Rastro> filtro = rastro -> !somenteLentos || rastro.lento();
+        if (endpoint != null && !endpoint.isBlank()) {
+            String trecho = endpoint.trim().toLowerCase(Locale.ROOT);
+            filtro = filtro.and(rastro -> rastro.endpoint().toLowerCase(Locale.ROOT).contains(trecho));
+        }
+        return anel.consultar(filtro, limite);
+    }
+
+    public RastroConfig getConfig() {
+        return config;
+    }
+
+    /**
+     * Rastros mantidos no anel; os mais antigos são sobrescritos.
+     */
+    public int getCapacidade() {
+        return anel.capacidade();
+    }
+
+    /**
+     * Rastros guardados desde a inicialização, incluindo os já sobrescritos.
+     */
+    public long getGuardados() {
+        return anel.publicados();
+    }
+}
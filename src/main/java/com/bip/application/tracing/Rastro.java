@@ -0,0 +1,42 @@
+package com.bip.application.tracing;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Rastro imutável de uma requisição concluída.
+ *
+ * @param id sequência do rastro no registro
+ * @param endpoint verbo e template da rota, ex.: {@code GET /beneficios/{id}}
+ * @param status status HTTP da resposta
+ * @param inicio instante de chegada
+ * @param duracaoMicros duração até a resposta, sem a serialização do corpo
+ * @param lento se a duração atingiu o limite de requisição lenta
+ * @param spans spans em pré-ordem; {@link Span#pai()} indica o aninhamento
+ * @param spansDescartados spans além do máximo configurado
+ *
+ * @author BIP API Team
+ * @since 1.2
+ */
+public record Rastro(long id,
+                     String endpoint,
+                     int status,
+                     Instant inicio,
+                     long duracaoMicros,
+                     boolean lento,
+                     List<Span> spans,
+                     int spansDescartados) {
+
+    /**
+     * Trecho da requisição.
+     *
+     * @param tipo {@code controller}, {@code caso_uso}, {@code repositorio}, {@code commit}...
+     * @param nome classe e método, ex.: {@code BeneficioRepositoryImpl.findById}
+     * @param pai índice do span que o contém; -1 na raiz
+     * @param inicioMicros deslocamento a partir do início do rastro
+     * @param duracaoMicros duração; -1 se o span não foi fechado
+     * @param erro classe da exceção, ou {@code null}
+     */
+    public record Span(String tipo, String nome, int pai, long inicioMicros, long duracaoMicros, String erro) {
+    }
+}
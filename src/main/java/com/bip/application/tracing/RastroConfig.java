@@ -0,0 +1,52 @@
+package com.bip.application.tracing;
+
+/**
+ * Configuração do registro de rastros de requisições.
+ *
+ * <p>Os valores são lidos de propriedades de sistema ({@code -Dbip.rastros.*}).</p>
+ *
+ * @param habilitado se as requisições são rastreadas
+ * @param amostragem fração das requisições guardadas independentemente da duração, de 0 a 1
+ * @param limiteLentoMillis requisições com duração igual ou maior são sempre guardadas
+ * @param capacidade quantidade de rastros mantidos (arredondada para potência de 2)
+ * @param maximoSpans spans guardados por rastro; os excedentes são apenas contados
+ *
+ * @author BIP API Team
+ * @since 1.2
+ */
+public record RastroConfig(boolean habilitado,
+                           double amostragem,
+                           long limiteLentoMillis,
+                           int capacidade,
+                           int maximoSpans) {
+
+    public static final String PREFIXO = "bip.rastros.";
+
+    public RastroConfig {
+        if (amostragem < 0 || amostragem > 1) {
+            throw new IllegalArgumentException("Amostragem deve estar entre 0 e 1");
+        }
+        if (limiteLentoMillis < 0) {
+            throw new IllegalArgumentException("Limite de requisição lenta não pode ser negativo");
+        }
+        if (capacidade <= 0) {
+            throw new IllegalArgumentException("Capacidade de rastros deve ser positiva");
+        }
+        if (maximoSpans <= 0) {
+            throw new IllegalArgumentException("Máximo de spans deve ser positivo");
+        }
+    }
+
+    /**
+     * Carrega a configuração a partir das propriedades de sistema.
+     */
+    public static RastroConfig fromSystemProperties() {
+        return new RastroConfig(
+            Boolean.parseBoolean(System.getProperty(PREFIXO + "habilitado", "true")),
+            Double.parseDouble(System.getProperty(PREFIXO + "amostragem", "0.01")),
+            Long.getLong(PREFIXO + "limite-lento-ms", 250L),
+            Integer.getInteger(PREFIXO + "capacidade", 512),
+            Integer.getInteger(PREFIXO + "maximo-spans", 128)
+        );
+    }
+}
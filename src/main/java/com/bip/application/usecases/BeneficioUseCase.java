@@ -1,10 +1,13 @@
 package com.bip.application.usecases;
 
+import com.bip.application.cache.BeneficioCache;
 import com.bip.application.dtos.AtualizarBeneficioDto;
 import com.bip.application.dtos.BeneficioDto;
 import com.bip.application.dtos.CriarBeneficioDto;
 import com.bip.application.mappers.BeneficioMapper;
+import com.bip.application.metrics.Medido;
 import com.bip.application.services.BeneficioService;
+import com.bip.application.services.SaldoFragmentadoService;
 import com.bip.domain.entities.Beneficio;
 import com.bip.domain.repositories.BeneficioRepository;
 import jakarta.enterprise.context.ApplicationScoped;
@@ -22,6 +25,7 @@ import java.util.Optional;
  */
 @ApplicationScoped
 @Transactional
+@Medido("caso_uso")
 public class BeneficioUseCase {
     
     @Inject
@@ -33,11 +37,18 @@ public class BeneficioUseCase {
     @Inject
     private BeneficioService beneficioService;
     
+    @Inject
+    private SaldoFragmentadoService saldoFragmentado;
+    
+    @Inject
+    private BeneficioCache cache;
+    
     /**
      * Lista todos os benefícios
      */
     public List<BeneficioDto> listarTodos() {
         List<Beneficio> beneficios = beneficioRepository.findAll();
+        beneficios.forEach(saldoFragmentado::aplicar);
         return beneficioMapper.toDtoList(beneficios);
     }
     
@@ -45,16 +56,36 @@ public class BeneficioUseCase {
      * Lista apenas benefícios ativos
      */
     public List<BeneficioDto> listarAtivos() {
+        Optional<List<BeneficioDto>> emCache = cache.buscarAtivos();
+        if (emCache.isPresent()) {
+            return emCache.get();
+        }
+        
+        long geracao = cache.geracao();
         List<Beneficio> beneficios = beneficioRepository.findAllActive();
-        return beneficioMapper.toDtoList(beneficios);
+        beneficios.forEach(saldoFragmentado::aplicar);
+        List<BeneficioDto> dtos = beneficioMapper.toDtoList(beneficios);
+        
+        // Saldo de benefícios fragmentados muda sem passar pela linha do benefício
+        if (beneficios.stream().noneMatch(b -> saldoFragmentado.isFragmentado(b.getId()))) {
+            cache.armazenarAtivos(beneficios, dtos, geracao);
+        }
+        return dtos;
     }
     
     /**
      * Busca benefício por ID
      */
     public Optional<BeneficioDto> buscarPorId(@NotNull @Positive Long id) {
+        Optional<BeneficioDto> emCache = cache.buscar(id);
+        if (emCache.isPresent()) {
+            return emCache;
+        }
+        
+        long marca = cache.marca(id);
         return beneficioRepository.findById(id)
-                .map(beneficioMapper::toDto);
+                .map(this::comSaldoFragmentado)
+                .map(beneficio -> paraDtoEmCache(beneficio, marca));
     }
     
     /**
@@ -62,6 +93,7 @@ public class BeneficioUseCase {
      */
     public Optional<BeneficioDto> buscarPorNome(@NotNull String nome) {
         return beneficioRepository.findByNome(nome)
+                .map(this::comSaldoFragmentado)
                 .map(beneficioMapper::toDto);
     }
     
@@ -77,6 +109,7 @@ public class BeneficioUseCase {
         // Converter DTO para entidade e salvar
         Beneficio beneficio = beneficioMapper.toEntity(dto);
         Beneficio salvo = beneficioRepository.save(beneficio);
+        cache.invalidarAtivos();
         
         return beneficioMapper.toDto(salvo);
     }
@@ -99,6 +132,7 @@ public class BeneficioUseCase {
         
         // Salvar e retornar
         Beneficio atualizado = beneficioRepository.save(beneficio);
+        invalidarCache(id);
         return beneficioMapper.toDto(atualizado);
     }
     
@@ -110,6 +144,7 @@ public class BeneficioUseCase {
         beneficio.ativar();
         
         Beneficio atualizado = beneficioRepository.save(beneficio);
+        invalidarCache(id);
         return beneficioMapper.toDto(atualizado);
     }
     
@@ -121,6 +156,7 @@ public class BeneficioUseCase {
         beneficio.desativar();
         
         Beneficio atualizado = beneficioRepository.save(beneficio);
+        invalidarCache(id);
         return beneficioMapper.toDto(atualizado);
     }
     
@@ -134,6 +170,8 @@ public class BeneficioUseCase {
             beneficioRepository.deleteById(id);
         } catch (RuntimeException e) {
             throw new RuntimeException("Benefício não encontrado");
+        } finally {
+            invalidarCache(id);
         }
     }
     
@@ -151,6 +189,30 @@ public class BeneficioUseCase {
         return beneficioRepository.sumActiveValues();
     }
     
+    /**
+     * Inclui no saldo os slots de benefícios fragmentados
+     */
+    private Beneficio comSaldoFragmentado(Beneficio beneficio) {
+        saldoFragmentado.aplicar(beneficio);
+        return beneficio;
+    }
+    
+    /**
+     * Converte para DTO e guarda no cache; benefícios fragmentados não são guardados
+     */
+    private BeneficioDto paraDtoEmCache(Beneficio beneficio, long marca) {
+        BeneficioDto dto = beneficioMapper.toDto(beneficio);
+        if (dto != null && !saldoFragmentado.isFragmentado(beneficio.getId())) {
+            cache.armazenar(beneficio, dto, marca);
+        }
+        return dto;
+    }
+    
+    private void invalidarCache(Long id) {
+        cache.invalidar(id);
+        cache.invalidarAtivos();
+    }
+    
     /**
      * Método auxiliar para buscar benefício com tratamento de erro
      */
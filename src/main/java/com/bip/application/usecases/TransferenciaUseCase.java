@@ -1,11 +1,25 @@
 package com.bip.application.usecases;
 
+import com.bip.application.cache.BeneficioCache;
+import com.bip.application.concurrency.DetectorChavesQuentes;
+import com.bip.application.concurrency.GroupCommitConfig;
+import com.bip.application.concurrency.GroupCommitExecutor;
+import com.bip.application.concurrency.StripedLockManager;
 import com.bip.application.dtos.HistoricoTransferenciaDto;
 import com.bip.application.dtos.TransferenciaDto;
+import com.bip.application.jfr.TransferenciaEvento;
+import com.bip.application.ledger.LedgerEngine;
+import com.bip.application.metrics.Medido;
+import com.bip.application.metrics.TransferenciaMetricas;
 import com.bip.application.services.BeneficioService;
+import com.bip.application.services.SaldoFragmentadoService;
 import com.bip.domain.entities.Beneficio;
+import com.bip.domain.exceptions.ConflitoConcorrenciaException;
+import com.bip.domain.exceptions.SaldoInsuficienteException;
 import com.bip.domain.repositories.BeneficioRepository;
 import com.bip.domain.valueobjects.Money;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import jakarta.validation.Valid;
@@ -16,28 +30,236 @@ import java.util.ArrayList;
 import java.util.List;
 
 @ApplicationScoped
+@Medido("caso_uso")
 public class TransferenciaUseCase {
     
+    /**
+     * Tentativas de um lote do group commit que perde a corrida por um benefício
+     * para o lote de outro worker.
+     */
+    static final int TENTATIVAS_LOTE = 3;
+    
     @Inject
     private BeneficioRepository beneficioRepository;
     
     @Inject
     private BeneficioService beneficioService;
     
+    @Inject
+    private StripedLockManager lockManager;
+    
+    @Inject
+    private SaldoFragmentadoService saldoFragmentado;
+    
+    @Inject
+    private LedgerEngine ledger;
+
+    @Inject
+    private BeneficioCache cache;
+
+    @Inject
+    private TransferenciaMetricas metricas;
+
+    @Inject
+    private DetectorChavesQuentes chavesQuentes;
+
+    /**
+     * Executor de group commit; nulo quando o modo está desabilitado.
+     */
+    private GroupCommitExecutor<TransferenciaDto> groupCommit;
+    
+    @PostConstruct
+    void iniciar() {
+        GroupCommitConfig config = GroupCommitConfig.fromSystemProperties();
+        if (config.habilitado()) {
+            // O lote já corre em uma transação: cada item só movimenta os saldos
+            groupCommit = new GroupCommitExecutor<>("transferencias", config, this::movimentar,
+                this::executarLote);
+        }
+    }
+    
+    @PreDestroy
+    void encerrar() {
+        if (groupCommit != null) {
+            groupCommit.close();
+        }
+    }
+    
+    /**
+     * Executa a transferência. Com o ledger em memória habilitado a transferência
+     * é aplicada pela thread escritora do ledger e o método retorna após o
+     * registro no journal. No modo group commit a transferência é agrupada
+     * com outras em um micro-lote e o método retorna após o commit do lote.
+     * 
+     * <p>Fora do group commit, com lock striping habilitado, transferências sobre
+     * os mesmos benefícios aguardam na JVM antes de iniciar a transação.</p>
+     * 
+     * <p>Com uma gravação JFR ativa, cada chamada emite um {@link TransferenciaEvento}.
+     * Origem e destino alimentam o {@link DetectorChavesQuentes}.</p>
+     */
     public void executarTransferencia(@Valid @NotNull TransferenciaDto dto) {
         validarParametrosTransferencia(dto);
-        
+        chavesQuentes.registrar(dto.getBeneficioOrigemId(), dto.getBeneficioDestinoId());
+
+        TransferenciaEvento evento = TransferenciaEvento.iniciar();
+        RuntimeException falha = null;
+        long inicio = System.nanoTime();
+        try {
+            transferir(dto, evento);
+            metricas.registrarValor(dto.getValor());
+        } catch (RuntimeException e) {
+            falha = e;
+            if (e instanceof SaldoInsuficienteException) {
+                metricas.registrarSaldoInsuficiente();
+            }
+            throw e;
+        } finally {
+            evento.setCommit(System.nanoTime() - inicio - evento.getEsperaLock());
+            // Mesmo em falha: o commit pode ter ocorrido antes da exceção
+            cache.invalidar(dto.getBeneficioOrigemId(), dto.getBeneficioDestinoId());
+            evento.emitir(dto.getBeneficioOrigemId(), dto.getBeneficioDestinoId(), dto.getValor(), falha);
+        }
+    }
+    
+    private void transferir(TransferenciaDto dto, TransferenciaEvento evento) {
+        if (ledger.isHabilitado()) {
+            evento.setModo("ledger");
+            ledger.transferir(dto);
+            return;
+        }
+
+        if (groupCommit != null) {
+            evento.setModo("group_commit");
+            groupCommit.executar(dto);
+            return;
+        }
+
+        evento.setModo("direto");
+        long inicioEspera = System.nanoTime();
+        try (StripedLockManager.Bloqueio bloqueio =
+                 lockManager.adquirir(dto.getBeneficioOrigemId(), dto.getBeneficioDestinoId())) {
+            long espera = System.nanoTime() - inicioEspera;
+            evento.setEsperaLock(espera);
+            if (lockManager.isHabilitado()) {
+                metricas.registrarEsperaLock(espera);
+            }
+            aplicarTransferencia(dto);
+        }
+    }
+    
+    private void aplicarTransferencia(TransferenciaDto dto) {
+        // Leituras, slots e benefícios na mesma transação: uma falha desfaz as duas pernas,
+        // e as leituras e saves encontram as entidades já gerenciadas pelo bloqueio
+        beneficioRepository.executeInTransaction(() -> {
+            bloquearLinhas(dto);
+            movimentar(dto);
+            return null;
+        });
+    }
+    
+    /**
+     * Bloqueia até o commit as linhas dos benefícios não fragmentados, em ordem
+     * de ID: transferências concorrentes sobre o mesmo benefício esperam no
+     * banco em vez de falhar na verificação de versão. Os fragmentados
+     * movimentam só os slots.
+     */
+    private void bloquearLinhas(TransferenciaDto dto) {
+        Long origemId = dto.getBeneficioOrigemId();
+        Long destinoId = dto.getBeneficioDestinoId();
+        boolean origem = !saldoFragmentado.isFragmentado(origemId);
+        boolean destino = !saldoFragmentado.isFragmentado(destinoId);
+        if (origem && destino) {
+            beneficioRepository.findByIdsWithLock(List.of(origemId, destinoId));
+        } else if (origem || destino) {
+            beneficioRepository.findByIdsWithLock(List.of(origem ? origemId : destinoId));
+        }
+    }
+    
+    /**
+     * Lotes de workers distintos correm em transações paralelas, sem bloqueio de
+     * linha: um lote com benefício já alterado por outro é refeito com os
+     * saldos atuais.
+     */
+    private void executarLote(Runnable trabalho) {
+        for (int tentativa = 1; ; tentativa++) {
+            try {
+                beneficioRepository.executeInTransaction(() -> {
+                    trabalho.run();
+                    return null;
+                });
+                return;
+            } catch (ConflitoConcorrenciaException e) {
+                if (tentativa == TENTATIVAS_LOTE) {
+                    throw e;
+                }
+            }
+        }
+    }
+    
+    private void movimentar(TransferenciaDto dto) {
         Beneficio origem = beneficioService.buscarPorId(dto.getBeneficioOrigemId());
         Beneficio destino = beneficioService.buscarPorId(dto.getBeneficioDestinoId());
         
         validarBeneficios(origem, destino);
         
         Money valorTransferencia = Money.of(dto.getValor());
-        origem.debitar(valorTransferencia);
-        destino.creditar(valorTransferencia);
+        boolean origemFragmentada = saldoFragmentado.isFragmentado(origem.getId());
+        boolean destinoFragmentado = saldoFragmentado.isFragmentado(destino.getId());
+        
+        // Benefícios fragmentados movimentam os slots de saldo, não a linha do benefício
+        if (origemFragmentada) {
+            saldoFragmentado.debitar(origem, valorTransferencia);
+        } else {
+            origem.debitar(valorTransferencia);
+        }
+        if (destinoFragmentado) {
+            saldoFragmentado.creditar(destino, valorTransferencia);
+        } else {
+            destino.creditar(valorTransferencia);
+        }
+        
+        if (!origemFragmentada) {
+            beneficioRepository.save(origem);
+        }
+        if (!destinoFragmentado) {
+            beneficioRepository.save(destino);
+        }
+    }
+    
+    /**
+     * Percorre o caminho direto da transferência (lock, leituras, validação,
+     * débito, crédito e gravação, até o envio dos {@code UPDATE}s) em uma
+     * transação sempre desfeita.
+     * 
+     * <p>Usado pelo warmup. Não passa pelo ledger nem pelo group commit, cujos
+     * efeitos não seriam desfeitos, e não alimenta as métricas de transferência,
+     * o detector de chaves quentes nem os eventos JFR de transferência. Os
+     * histogramas {@code @Medido} ficam de fora porque o warmup executa o ensaio
+     * em {@code MedicaoInterceptor.semRegistro}.</p>
+     * 
+     * @throws IllegalArgumentException se um dos benefícios tiver saldo fragmentado:
+     *         os slots são criados em transação própria, que o ensaio não desfaz
+     */
+    public void ensaiarTransferencia(@Valid @NotNull TransferenciaDto dto) {
+        validarParametrosTransferencia(dto);
+        if (saldoFragmentado.isFragmentado(dto.getBeneficioOrigemId())
+                || saldoFragmentado.isFragmentado(dto.getBeneficioDestinoId())) {
+            throw new IllegalArgumentException("Ensaio não suporta benefício com saldo fragmentado");
+        }
         
-        beneficioRepository.save(origem);
-        beneficioRepository.save(destino);
+        try (StripedLockManager.Bloqueio bloqueio =
+                 lockManager.adquirir(dto.getBeneficioOrigemId(), dto.getBeneficioDestinoId())) {
+            beneficioRepository.executeInTransaction(() -> {
+                bloquearLinhas(dto);
+                movimentar(dto);
+                // Dirty checking, UPDATEs e verificação de versão também precisam aquecer
+                beneficioRepository.flush();
+                // Desfaz tudo: nada do ensaio é confirmado
+                throw new EnsaioDesfeito();
+            });
+        } catch (EnsaioDesfeito esperado) {
+            // transação desfeita
+        }
     }
     
     public boolean validarTransferencia(@Valid @NotNull TransferenciaDto dto) {
@@ -153,7 +375,12 @@ public class TransferenciaUseCase {
         return (long) listarTransferencias().size();
     }
     
-    private void validarParametrosTransferencia(TransferenciaDto dto) {
+    /**
+     * Valida os parâmetros da transferência sem acessar o banco de dados.
+     * 
+     * @throws IllegalArgumentException se os IDs forem iguais ou o valor não for positivo
+     */
+    public void validarParametrosTransferencia(TransferenciaDto dto) {
         beneficioService.validarBeneficiosDiferentes(dto.getBeneficioOrigemId(), dto.getBeneficioDestinoId());
         
         if (dto.getValor().compareTo(BigDecimal.ZERO) <= 0) {
@@ -165,4 +392,15 @@ public class TransferenciaUseCase {
         beneficioService.validarAtivo(origem);
         beneficioService.validarAtivo(destino);
     }
+    
+    /**
+     * Lançada para desfazer a transação do ensaio.
+     */
+    private static final class EnsaioDesfeito extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+        
+        EnsaioDesfeito() {
+            super("Ensaio de transferência desfeito", null, false, false);
+        }
+    }
 }
\ No newline at end of file
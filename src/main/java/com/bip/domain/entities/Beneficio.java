@@ -1,5 +1,6 @@
 package com.bip.domain.entities;
 
+import com.bip.domain.exceptions.SaldoInsuficienteException;
 import com.bip.domain.valueobjects.Money;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
@@ -28,10 +29,17 @@ import java.util.Objects;
                 query = "SELECT b FROM Beneficio b WHERE UPPER(b.nome) = UPPER(:nome)"),
     @NamedQuery(name = "Beneficio.findByIdsWithLock",
                 query = "SELECT b FROM Beneficio b WHERE b.id IN :ids ORDER BY b.id"),
+    @NamedQuery(name = "Beneficio.findVersoes",
+                query = "SELECT b.id, b.versao FROM Beneficio b WHERE b.id IN :ids"),
+    @NamedQuery(name = "Beneficio.findSaldos",
+                query = "SELECT b.id, b.saldo.valor, b.ativo FROM Beneficio b ORDER BY b.id"),
     @NamedQuery(name = "Beneficio.countActive",
                 query = "SELECT COUNT(b) FROM Beneficio b WHERE b.ativo = true"),
     @NamedQuery(name = "Beneficio.sumActiveValues",
-                query = "SELECT COALESCE(SUM(b.saldo.valor), 0) FROM Beneficio b WHERE b.ativo = true")
+                query = "SELECT COALESCE(SUM(b.saldo.valor), 0) FROM Beneficio b WHERE b.ativo = true"),
+    @NamedQuery(name = "Beneficio.updateSaldo",
+                query = "UPDATE Beneficio b SET b.saldo.valor = :valor, b.versao = b.versao + 1, "
+                      + "b.atualizadoEm = :agora WHERE b.id = :id")
 })
 public class Beneficio implements Serializable {
     
@@ -69,6 +77,12 @@ public class Beneficio implements Serializable {
     @Version
     @Column(nullable = false)
     private Long versao = 0L;
+    
+    /**
+     * Soma dos slots de saldo quando o benefício é fragmentado; não persistido.
+     */
+    @Transient
+    private Money saldoFragmentado;
 
     // ================================
     // Construtores
@@ -111,11 +125,11 @@ public class Beneficio implements Serializable {
         if (valorDebito == null) {
             return false;
         }
-        return this.saldo.isGreaterThanOrEqual(valorDebito);
+        return getSaldo().isGreaterThanOrEqual(valorDebito);
     }
     
     /**
-     * Realiza débito no benefício com validação de saldo
+     * Realiza débito no saldo principal do benefício com validação de saldo
      */
     public void debitar(final Money valorDebito) {
         validarBeneficioAtivo("débito");
@@ -124,8 +138,8 @@ public class Beneficio implements Serializable {
             throw new IllegalArgumentException("Valor de débito deve ser positivo");
         }
         
-        if (!possuiSaldoSuficiente(valorDebito)) {
-            throw new IllegalArgumentException(
+        if (!this.saldo.isGreaterThanOrEqual(valorDebito)) {
+            throw new SaldoInsuficienteException(
                 String.format("Saldo insuficiente. Saldo atual: %s, Tentativa de débito: %s", 
                              saldo, valorDebito));
         }
@@ -187,6 +201,14 @@ public class Beneficio implements Serializable {
         this.atualizadoEm = LocalDateTime.now();
     }
     
+    /**
+     * Define a soma dos slots de saldo de um benefício fragmentado.
+     * O saldo informado por {@link #getSaldo()} passa a incluir os slots.
+     */
+    public void aplicarSaldoFragmentado(final Money saldoSlots) {
+        this.saldoFragmentado = saldoSlots;
+    }
+    
     /**
      * Verifica se o benefício está ativo para operações
      */
@@ -238,7 +260,18 @@ public class Beneficio implements Serializable {
         return descricao;
     }
     
+    /**
+     * Saldo total: saldo principal somado aos slots, quando fragmentado
+     */
     public Money getSaldo() {
+        Money principal = getSaldoPrincipal();
+        return saldoFragmentado != null ? principal.add(saldoFragmentado) : principal;
+    }
+    
+    /**
+     * Saldo da coluna {@code valor}, sem os slots
+     */
+    public Money getSaldoPrincipal() {
         return saldo != null ? saldo : Money.zero();
     }
     
@@ -0,0 +1,57 @@
+package com.bip.domain.entities;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Última sequência do journal do ledger cujos saldos já foram gravados na
+ * tabela de benefícios. Linha única, atualizada na mesma transação do snapshot.
+ */
+@Entity
+@Table(name = "ledger_checkpoint")
+public class LedgerCheckpoint implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    public static final Long ID_UNICO = 1L;
+
+    @Id
+    private Long id;
+
+    @Column(nullable = false)
+    private long sequencia;
+
+    @Column(nullable = false, name = "atualizado_em")
+    private LocalDateTime atualizadoEm;
+
+    /**
+     * Construtor padrão para JPA
+     */
+    protected LedgerCheckpoint() {
+    }
+
+    public LedgerCheckpoint(final long sequencia) {
+        if (sequencia < 0) {
+            throw new IllegalArgumentException("Sequência não pode ser negativa");
+        }
+        this.id = ID_UNICO;
+        this.sequencia = sequencia;
+        this.atualizadoEm = LocalDateTime.now();
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public long getSequencia() {
+        return sequencia;
+    }
+
+    public LocalDateTime getAtualizadoEm() {
+        return atualizadoEm;
+    }
+}
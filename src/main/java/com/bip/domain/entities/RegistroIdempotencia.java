@@ -0,0 +1,133 @@
+package com.bip.domain.entities;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Lob;
+import jakarta.persistence.NamedQueries;
+import jakarta.persistence.NamedQuery;
+import jakarta.persistence.Table;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Registro de uma requisição já processada com {@code Idempotency-Key}.
+ * Guarda a resposta original para que novas tentativas do cliente
+ * recebam o mesmo resultado sem reprocessar a operação.
+ */
+@Entity
+@Table(name = "idempotencia_transferencia",
+       indexes = @Index(name = "idx_idempotencia_expira_em", columnList = "expira_em"))
+@NamedQueries({
+    @NamedQuery(name = "RegistroIdempotencia.deleteExpired",
+                query = "DELETE FROM RegistroIdempotencia r WHERE r.expiraEm < :agora")
+})
+public class RegistroIdempotencia implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @Column(length = 255)
+    private String chave;
+
+    @Column(nullable = false, name = "hash_requisicao", length = 64)
+    private String hashRequisicao;
+
+    @Column(nullable = false, name = "status_http")
+    private int statusHttp;
+
+    @Lob
+    @Column(name = "corpo_resposta")
+    private String corpoResposta;
+
+    @Column(name = "cabecalhos_resposta", length = 2000)
+    private String cabecalhosResposta;
+
+    @Column(nullable = false, name = "criado_em")
+    private LocalDateTime criadoEm;
+
+    @Column(nullable = false, name = "expira_em")
+    private LocalDateTime expiraEm;
+
+    /**
+     * Construtor padrão para JPA
+     */
+    protected RegistroIdempotencia() {
+    }
+
+    public RegistroIdempotencia(final String chave, final String hashRequisicao, final int statusHttp,
+                                final String corpoResposta, final LocalDateTime expiraEm) {
+        this(chave, hashRequisicao, statusHttp, corpoResposta, null, expiraEm);
+    }
+
+    /**
+     * @param cabecalhosResposta headers da resposta original, um {@code Nome: valor} por linha
+     */
+    public RegistroIdempotencia(final String chave, final String hashRequisicao, final int statusHttp,
+                                final String corpoResposta, final String cabecalhosResposta,
+                                final LocalDateTime expiraEm) {
+        this.chave = Objects.requireNonNull(chave, "Chave não pode ser nula");
+        this.hashRequisicao = Objects.requireNonNull(hashRequisicao, "Hash da requisição não pode ser nulo");
+        this.statusHttp = statusHttp;
+        this.corpoResposta = corpoResposta;
+        this.cabecalhosResposta = cabecalhosResposta;
+        this.criadoEm = LocalDateTime.now();
+        this.expiraEm = Objects.requireNonNull(expiraEm, "Expiração não pode ser nula");
+    }
+
+    /**
+     * Verifica se o registro já expirou
+     */
+    public boolean isExpirado(final LocalDateTime agora) {
+        return expiraEm.isBefore(agora);
+    }
+
+    public String getChave() {
+        return chave;
+    }
+
+    public String getHashRequisicao() {
+        return hashRequisicao;
+    }
+
+    public int getStatusHttp() {
+        return statusHttp;
+    }
+
+    public String getCorpoResposta() {
+        return corpoResposta;
+    }
+
+    public String getCabecalhosResposta() {
+        return cabecalhosResposta;
+    }
+
+    public LocalDateTime getCriadoEm() {
+        return criadoEm;
+    }
+
+    public LocalDateTime getExpiraEm() {
+        return expiraEm;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        RegistroIdempotencia that = (RegistroIdempotencia) o;
+        return Objects.equals(chave, that.chave);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(chave);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("RegistroIdempotencia{chave='%s', status=%d, expiraEm=%s}",
+                           chave, statusHttp, expiraEm);
+    }
+}
@@ -0,0 +1,112 @@
+package com.bip.domain.entities;
+
+import com.bip.domain.valueobjects.Money;
+import jakarta.persistence.*;
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * Fração (slot) do saldo de um benefício fragmentado.
+ * O saldo total do benefício é o saldo principal somado aos slots;
+ * créditos concorrentes atualizam slots distintos em vez da mesma linha.
+ */
+@Entity
+@Table(name = "beneficio_saldo_slot",
+       uniqueConstraints = @UniqueConstraint(columnNames = {"beneficio_id", "slot"}),
+       indexes = @Index(name = "idx_saldo_slot_beneficio", columnList = "beneficio_id"))
+@NamedQueries({
+    @NamedQuery(name = "SaldoSlot.findByBeneficio",
+                query = "SELECT s FROM SaldoSlot s WHERE s.beneficioId = :beneficioId ORDER BY s.slot"),
+    @NamedQuery(name = "SaldoSlot.countByBeneficio",
+                query = "SELECT COUNT(s) FROM SaldoSlot s WHERE s.beneficioId = :beneficioId"),
+    @NamedQuery(name = "SaldoSlot.sumByBeneficio",
+                query = "SELECT COALESCE(SUM(s.saldo.valor), 0) FROM SaldoSlot s WHERE s.beneficioId = :beneficioId"),
+    @NamedQuery(name = "SaldoSlot.sumActive",
+                query = "SELECT COALESCE(SUM(s.saldo.valor), 0) FROM SaldoSlot s "
+                      + "WHERE s.beneficioId IN (SELECT b.id FROM Beneficio b WHERE b.ativo = true)"),
+    @NamedQuery(name = "SaldoSlot.credit",
+                query = "UPDATE SaldoSlot s SET s.saldo.valor = s.saldo.valor + :valor "
+                      + "WHERE s.beneficioId = :beneficioId AND s.slot = :slot"),
+    @NamedQuery(name = "SaldoSlot.debit",
+                query = "UPDATE SaldoSlot s SET s.saldo.valor = s.saldo.valor - :valor "
+                      + "WHERE s.beneficioId = :beneficioId AND s.slot = :slot AND s.saldo.valor >= :valor")
+})
+public class SaldoSlot implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, name = "beneficio_id")
+    private Long beneficioId;
+
+    @Column(nullable = false)
+    private int slot;
+
+    @Embedded
+    @AttributeOverride(name = "valor", column = @Column(name = "valor", nullable = false, precision = 19, scale = 2))
+    private Money saldo;
+
+    /**
+     * Construtor padrão para JPA
+     */
+    protected SaldoSlot() {
+        this.saldo = Money.zero();
+    }
+
+    public SaldoSlot(final Long beneficioId, final int slot, final Money saldo) {
+        this.beneficioId = Objects.requireNonNull(beneficioId, "ID do benefício não pode ser nulo");
+        if (slot < 0) {
+            throw new IllegalArgumentException("Slot não pode ser negativo");
+        }
+        this.slot = slot;
+        this.saldo = saldo != null ? saldo : Money.zero();
+    }
+
+    /**
+     * Debita até o valor informado, limitado ao saldo do slot
+     *
+     * @return valor efetivamente debitado
+     */
+    public Money debitarAte(final Money valor) {
+        Money debitado = saldo.isLessThan(valor) ? saldo : valor;
+        this.saldo = saldo.subtract(debitado);
+        return debitado;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getBeneficioId() {
+        return beneficioId;
+    }
+
+    public int getSlot() {
+        return slot;
+    }
+
+    public Money getSaldo() {
+        return saldo != null ? saldo : Money.zero();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        SaldoSlot that = (SaldoSlot) o;
+        return slot == that.slot && Objects.equals(beneficioId, that.beneficioId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(beneficioId, slot);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("SaldoSlot{beneficioId=%d, slot=%d, saldo=%s}", beneficioId, slot, saldo);
+    }
+}
@@ -0,0 +1,19 @@
+package com.bip.domain.exceptions;
+
+/**
+ * Transação desfeita porque outra transação alterou antes os mesmos benefícios
+ * (versão diferente da lida).
+ *
+ * <p>A operação pode ser refeita: uma nova tentativa lê os valores atuais.</p>
+ *
+ * @author BIP API Team
+ * @since 1.2
+ */
+public class ConflitoConcorrenciaException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public ConflitoConcorrenciaException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,20 @@
+package com.bip.domain.exceptions;
+
+/**
+ * Débito maior que o saldo disponível do benefício.
+ *
+ * <p>Estende {@link IllegalArgumentException} para manter o tratamento existente
+ * (HTTP 400); o tipo próprio permite contar as rejeições por saldo sem
+ * depender do texto da mensagem.</p>
+ *
+ * @author BIP API Team
+ * @since 1.2
+ */
+public class SaldoInsuficienteException extends IllegalArgumentException {
+
+    private static final long serialVersionUID = 1L;
+
+    public SaldoInsuficienteException(String message) {
+        super(message);
+    }
+}
@@ -1,8 +1,11 @@
 package com.bip.domain.repositories;
 
 import com.bip.domain.entities.Beneficio;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 /**
  * Interface de repositório para Benefício seguindo DDD
@@ -35,6 +38,13 @@ public interface BeneficioRepository {
      */
     List<Beneficio> findByIdsWithLock(List<Long> ids);
     
+    /**
+     * Busca a versão atual de cada benefício em uma única consulta
+     * 
+     * @return versão por ID; IDs inexistentes ficam fora do mapa
+     */
+    Map<Long, Long> findVersoesByIds(Collection<Long> ids);
+    
     /**
      * Conta benefícios ativos
      */
@@ -69,4 +79,23 @@ public interface BeneficioRepository {
      * Verifica se existe benefício por ID
      */
     boolean existsById(Long id);
+    
+    /**
+     * Executa um bloco de trabalho em uma única transação.
+     * Reaproveita a transação aberta pela mesma thread quando houver; caso
+     * contrário abre, confirma (ou desfaz em caso de erro) uma nova transação.
+     *
+     * @throws com.bip.domain.exceptions.ConflitoConcorrenciaException se outra
+     *         transação alterou antes um benefício gravado pelo trabalho
+     */
+    <T> T executeInTransaction(Supplier<T> work);
+    
+    /**
+     * Envia ao banco as alterações pendentes da transação aberta pela mesma
+     * thread, sem confirmá-la; fora de uma transação não há o que enviar
+     *
+     * @throws com.bip.domain.exceptions.ConflitoConcorrenciaException se outra
+     *         transação alterou antes um benefício pendente
+     */
+    void flush();
 }
\ No newline at end of file
@@ -0,0 +1,29 @@
+package com.bip.domain.repositories;
+
+import com.bip.domain.entities.RegistroIdempotencia;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Interface de repositório para registros de idempotência
+ * Define operações de persistência sem expor detalhes de implementação
+ */
+public interface IdempotenciaRepository {
+
+    /**
+     * Busca registro pela chave de idempotência
+     */
+    Optional<RegistroIdempotencia> findByChave(String chave);
+
+    /**
+     * Salva registro de idempotência
+     */
+    RegistroIdempotencia save(RegistroIdempotencia registro);
+
+    /**
+     * Remove registros expirados antes do instante informado
+     *
+     * @return quantidade de registros removidos
+     */
+    int deleteExpiredBefore(LocalDateTime agora);
+}
@@ -0,0 +1,43 @@
+package com.bip.domain.repositories;
+
+import com.bip.domain.valueobjects.Money;
+import java.util.Map;
+
+/**
+ * Interface de repositório para os snapshots do ledger em memória
+ * Define operações de persistência sem expor detalhes de implementação
+ */
+public interface LedgerRepository {
+
+    /**
+     * Busca a sequência do journal refletida no último snapshot
+     *
+     * @return sequência do checkpoint ou zero se nenhum snapshot foi gravado
+     */
+    long buscarCheckpoint();
+
+    /**
+     * Percorre saldo principal e situação de todos os benefícios em ordem de ID,
+     * sem carregar as entidades
+     *
+     * @param consumidor recebe cada benefício
+     */
+    void percorrerSaldos(ConsumidorSaldo consumidor);
+
+    /**
+     * Grava os saldos dos benefícios e o checkpoint em uma única transação
+     *
+     * @param saldos saldo atual de cada benefício alterado desde o último snapshot
+     * @param sequencia última sequência do journal refletida nos saldos
+     */
+    void gravarSnapshot(Map<Long, Money> saldos, long sequencia);
+
+    /**
+     * Recebe os saldos percorridos por {@link #percorrerSaldos(ConsumidorSaldo)}
+     */
+    @FunctionalInterface
+    interface ConsumidorSaldo {
+
+        void aceitar(long beneficioId, Money saldoPrincipal, boolean ativo);
+    }
+}
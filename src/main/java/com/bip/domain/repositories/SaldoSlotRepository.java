@@ -0,0 +1,52 @@
+package com.bip.domain.repositories;
+
+import com.bip.domain.entities.SaldoSlot;
+import com.bip.domain.valueobjects.Money;
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Interface de repositório para slots de saldo de benefícios fragmentados
+ * Define operações de persistência sem expor detalhes de implementação
+ */
+public interface SaldoSlotRepository {
+
+    /**
+     * Lista os slots do benefício ordenados por número do slot
+     */
+    List<SaldoSlot> findByBeneficioId(Long beneficioId);
+
+    /**
+     * Soma o saldo dos slots do benefício
+     */
+    BigDecimal sumByBeneficioId(Long beneficioId);
+
+    /**
+     * Cria com saldo zero os slots que ainda não existem para o benefício, em
+     * transação própria: confirmados mesmo que a transação ativa seja desfeita
+     *
+     * @return true se algum slot foi criado
+     */
+    boolean inicializarSlots(Long beneficioId, int quantidade);
+
+    /**
+     * Credita o valor em um slot
+     *
+     * @return true se o slot existe e foi atualizado
+     */
+    boolean creditar(Long beneficioId, int slot, Money valor);
+
+    /**
+     * Debita o valor de um slot somente se o saldo do slot for suficiente
+     *
+     * @return true se o débito foi realizado
+     */
+    boolean debitar(Long beneficioId, int slot, Money valor);
+
+    /**
+     * Debita até o valor informado varrendo os slots em uma única transação
+     *
+     * @return valor efetivamente debitado, que pode ser menor que o solicitado
+     */
+    Money debitarVarrendo(Long beneficioId, Money valor);
+}
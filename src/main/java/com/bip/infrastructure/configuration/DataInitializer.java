@@ -3,9 +3,14 @@ package com.bip.infrastructure.configuration;
 import com.bip.domain.entities.Beneficio;
 import com.bip.domain.repositories.BeneficioRepository;
 import com.bip.domain.valueobjects.Money;
-import jakarta.annotation.PostConstruct;
+import com.bip.infrastructure.seed.SeedConfig;
+import com.bip.infrastructure.seed.SeedLoader;
+import jakarta.annotation.Priority;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.context.Initialized;
+import jakarta.enterprise.event.Observes;
 import jakarta.inject.Inject;
+import jakarta.interceptor.Interceptor;
 import java.math.BigDecimal;
 import java.util.logging.Logger;
 
@@ -17,7 +22,16 @@ public class DataInitializer {
     @Inject
     private BeneficioRepository beneficioRepository;
     
-    @PostConstruct
+    @Inject
+    private SeedLoader seedLoader;
+    
+    /**
+     * Executa na inicialização do contexto, antes do warmup (prioridade menor).
+     */
+    void aoIniciar(@Observes @Priority(Interceptor.Priority.APPLICATION) @Initialized(ApplicationScoped.class) Object evento) {
+        initializeData();
+    }
+    
     public void initializeData() {
         try {
             logger.info("Iniciando carregamento de dados de demonstração...");
@@ -27,7 +41,17 @@ public class DataInitializer {
                 return;
             }
             
-            criarBeneficiosDemo();
+            SeedConfig seed = SeedConfig.fromSystemProperties();
+            if (seed.habilitado()) {
+                seedLoader.carregar(seed);
+                return;
+            }
+            
+            // Uma única transação para todos os benefícios de demonstração
+            beneficioRepository.executeInTransaction(() -> {
+                criarBeneficiosDemo();
+                return null;
+            });
             
             logger.info("Dados de demonstração carregados com sucesso!");
             
@@ -1,5 +1,6 @@
 package com.bip.infrastructure.configuration;
 
+import com.bip.infrastructure.persistence.MonitoramentoConsultasConfig;
 import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
 import jakarta.enterprise.context.ApplicationScoped;
@@ -7,12 +8,18 @@ import jakarta.enterprise.inject.Produces;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityManagerFactory;
 import jakarta.persistence.Persistence;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.logging.Logger;
 import java.util.logging.Level;
 
 /**
  * Configuração CDI para produção do EntityManager
  * Parte da camada de infraestrutura seguindo Clean Architecture
+ * 
+ * <p>As estatísticas e o log de consultas lentas do Hibernate são ligados
+ * aqui, conforme {@link MonitoramentoConsultasConfig}, sobrepondo o
+ * {@code persistence.xml}.</p>
  */
 @ApplicationScoped
 public class EntityManagerProducer {
@@ -24,7 +31,8 @@ public class EntityManagerProducer {
     public void init() {
         try {
             LOGGER.info("Inicializando EntityManagerFactory...");
-            emf = Persistence.createEntityManagerFactory("bipPU");
+            emf = Persistence.createEntityManagerFactory("bipPU",
+                propriedadesMonitoramento(MonitoramentoConsultasConfig.fromSystemProperties()));
             LOGGER.info("EntityManagerFactory inicializado com sucesso!");
         } catch (Exception e) {
             LOGGER.log(Level.SEVERE, "Erro ao inicializar EntityManagerFactory", e);
@@ -32,6 +40,26 @@ public class EntityManagerProducer {
         }
     }
     
+    static Map<String, Object> propriedadesMonitoramento(MonitoramentoConsultasConfig config) {
+        Map<String, Object> propriedades = new HashMap<>();
+        propriedades.put("hibernate.generate_statistics", Boolean.toString(config.estatisticas()));
+        if (config.limiteLentoMillis() > 0) {
+            // No Hibernate, 0 desliga o log de consultas lentas
+            propriedades.put("hibernate.log_slow_query", Long.toString(config.limiteLentoMillis()));
+        }
+        return propriedades;
+    }
+    
+    /**
+     * Fábrica da unidade de persistência, para as estatísticas do Hibernate.
+     */
+    public EntityManagerFactory getEntityManagerFactory() {
+        if (emf == null) {
+            throw new IllegalStateException("EntityManagerFactory não foi inicializado");
+        }
+        return emf;
+    }
+    
     @Produces
     public EntityManager createEntityManager() {
         if (emf == null) {
@@ -11,16 +11,31 @@ import jakarta.ws.rs.ext.Provider;
 @Provider
 public class JacksonConfig implements ContextResolver<ObjectMapper> {
 
-    private final ObjectMapper objectMapper;
+    /**
+     * Instância única usada pelos endpoints; compartilhada para que o warmup
+     * preencha o mesmo cache de serializadores usado pelas requisições.
+     */
+    private static final ObjectMapper OBJECT_MAPPER = criarObjectMapper();
 
-    public JacksonConfig() {
-        objectMapper = new ObjectMapper();
-        objectMapper.registerModule(new JavaTimeModule());
-        objectMapper.disable(com.fasterxml.jackson.databind.SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    /**
+     * Cria um ObjectMapper com a mesma configuração usada pelos endpoints JAX-RS.
+     */
+    public static ObjectMapper criarObjectMapper() {
+        ObjectMapper mapper = new ObjectMapper();
+        mapper.registerModule(new JavaTimeModule());
+        mapper.disable(com.fasterxml.jackson.databind.SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        return mapper;
+    }
+
+    /**
+     * ObjectMapper usado pelos endpoints JAX-RS.
+     */
+    public static ObjectMapper getObjectMapper() {
+        return OBJECT_MAPPER;
     }
 
     @Override
     public ObjectMapper getContext(Class<?> type) {
-        return objectMapper;
+        return OBJECT_MAPPER;
     }
 }
\ No newline at end of file
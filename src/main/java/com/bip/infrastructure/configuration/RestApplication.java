@@ -51,8 +51,15 @@ public class RestApplication extends Application {
         
         classes.add(com.bip.presentation.controllers.BeneficioController.class);
         classes.add(com.bip.presentation.controllers.TransferenciaController.class);
+        classes.add(com.bip.presentation.controllers.AdminController.class);
+        classes.add(com.bip.presentation.controllers.HealthController.class);
+        classes.add(com.bip.presentation.controllers.MetricasController.class);
         
         classes.add(com.bip.presentation.handlers.GlobalExceptionHandler.class);
+        classes.add(com.bip.presentation.filters.MetricasHttpFilter.class);
+        classes.add(com.bip.presentation.filters.ServerTimingFilter.class);
+        classes.add(com.bip.presentation.filters.ServerTimingInterceptor.class);
+        classes.add(com.bip.presentation.filters.RastreamentoFilter.class);
         
         classes.add(JacksonConfig.class);
         
@@ -1,6 +1,10 @@
 package com.bip.infrastructure.persistence;
 
+import com.bip.application.jfr.ConsultaRepositorioEvento;
+import com.bip.application.metrics.Medido;
+import com.bip.application.tracing.ColetorRastro;
 import com.bip.domain.entities.Beneficio;
+import com.bip.domain.exceptions.ConflitoConcorrenciaException;
 import com.bip.domain.repositories.BeneficioRepository;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
@@ -8,29 +12,72 @@ import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityTransaction;
 import jakarta.persistence.LockModeType;
 import jakarta.persistence.NoResultException;
+import jakarta.persistence.OptimisticLockException;
 import jakarta.persistence.TypedQuery;
 import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
  * Implementação JPA do repositório de Benefício
  * Implementa interface do domain sem depender de detalhes externos
+ * 
+ * <p>Cada método emite um {@link ConsultaRepositorioEvento} quando há uma
+ * gravação JFR ativa. Nas requisições rastreadas, os commits aparecem como
+ * spans próprios dentro do span do método. Consultas acima do limite de
+ * lentidão vão para o {@link RegistroConsultasLentas} com os parâmetros.</p>
+ *
+ * <p>Nenhum EntityManager é compartilhado entre threads. {@code executeInTransaction}
+ * abre um EntityManager próprio da transação, usado por todos os métodos chamados
+ * pela mesma thread dentro dela e fechado no commit ou rollback; fora de uma
+ * transação, cada método usa um EntityManager novo. Transações de threads
+ * distintas correm em paralelo, uma gravação avulsa nunca entra na transação de
+ * outra thread e nenhum contexto de persistência sobrevive à operação que o
+ * abriu, então leituras não devolvem entidades antigas.</p>
  */
 @ApplicationScoped
+@Medido("repositorio")
 public class BeneficioRepositoryImpl implements BeneficioRepository {
     
+    /**
+     * Usado só para chegar à fábrica: as operações abrem os próprios EntityManagers.
+     */
     @Inject
     private EntityManager entityManager;
     
+    /**
+     * Substituído pela instância do contêiner; o padrão atende quem cria o
+     * repositório diretamente, como os benchmarks.
+     */
+    @Inject
+    private RegistroConsultasLentas consultasLentas = new RegistroConsultasLentas();
+    
+    /**
+     * EntityManager da transação aberta pela thread em {@code executeInTransaction}.
+     */
+    private final ThreadLocal<EntityManager> transacaoDaThread = new ThreadLocal<>();
+    
     @Override
     public Optional<Beneficio> findById(Long id) {
         if (id == null) {
             return Optional.empty();
         }
         
-        Beneficio beneficio = entityManager.find(Beneficio.class, id);
-        return Optional.ofNullable(beneficio);
+        ConsultaRepositorioEvento evento = ConsultaRepositorioEvento.iniciar("findById");
+        long inicio = System.nanoTime();
+        try {
+            Beneficio beneficio = comContexto(em -> em.find(Beneficio.class, id));
+            evento.concluir(beneficio != null ? 1 : 0);
+            return Optional.ofNullable(beneficio);
+        } finally {
+            evento.emitir();
+            consultasLentas.registrar("findById", inicio, id);
+        }
     }
     
     @Override
@@ -39,28 +86,54 @@ public class BeneficioRepositoryImpl implements BeneficioRepository {
             return Optional.empty();
         }
         
+        ConsultaRepositorioEvento evento = ConsultaRepositorioEvento.iniciar("findByNome");
+        long inicio = System.nanoTime();
         try {
-            TypedQuery<Beneficio> query = entityManager.createNamedQuery("Beneficio.findByName", Beneficio.class);
-            query.setParameter("nome", nome.trim());
-            
-            Beneficio beneficio = query.getSingleResult();
-            return Optional.of(beneficio);
-            
-        } catch (NoResultException e) {
-            return Optional.empty();
+            Optional<Beneficio> beneficio = comContexto(em -> {
+                TypedQuery<Beneficio> query = em.createNamedQuery("Beneficio.findByName", Beneficio.class);
+                query.setParameter("nome", nome.trim());
+                try {
+                    return Optional.of(query.getSingleResult());
+                } catch (NoResultException e) {
+                    return Optional.<Beneficio>empty();
+                }
+            });
+            evento.concluir(beneficio.isPresent() ? 1 : 0);
+            return beneficio;
+        } finally {
+            evento.emitir();
+            consultasLentas.registrar("findByNome", inicio, nome);
         }
     }
     
     @Override
     public List<Beneficio> findAll() {
-        TypedQuery<Beneficio> query = entityManager.createNamedQuery("Beneficio.findAll", Beneficio.class);
-        return query.getResultList();
+        ConsultaRepositorioEvento evento = ConsultaRepositorioEvento.iniciar("findAll");
+        long inicio = System.nanoTime();
+        try {
+            List<Beneficio> beneficios = comContexto(em ->
+                em.createNamedQuery("Beneficio.findAll", Beneficio.class).getResultList());
+            evento.concluir(beneficios.size());
+            return beneficios;
+        } finally {
+            evento.emitir();
+            consultasLentas.registrar("findAll", inicio);
+        }
     }
     
     @Override
     public List<Beneficio> findAllActive() {
-        TypedQuery<Beneficio> query = entityManager.createNamedQuery("Beneficio.findAllActive", Beneficio.class);
-        return query.getResultList();
+        ConsultaRepositorioEvento evento = ConsultaRepositorioEvento.iniciar("findAllActive");
+        long inicio = System.nanoTime();
+        try {
+            List<Beneficio> beneficios = comContexto(em ->
+                em.createNamedQuery("Beneficio.findAllActive", Beneficio.class).getResultList());
+            evento.concluir(beneficios.size());
+            return beneficios;
+        } finally {
+            evento.emitir();
+            consultasLentas.registrar("findAllActive", inicio);
+        }
     }
     
     @Override
@@ -75,24 +148,85 @@ public class BeneficioRepositoryImpl implements BeneficioRepository {
                 .sorted()
                 .toList();
         
-        TypedQuery<Beneficio> query = entityManager.createNamedQuery("Beneficio.findByIdsWithLock", Beneficio.class);
-        query.setParameter("ids", sortedIds);
-        query.setLockMode(LockModeType.PESSIMISTIC_WRITE);
+        ConsultaRepositorioEvento evento = ConsultaRepositorioEvento.iniciar("findByIdsWithLock");
+        long inicio = System.nanoTime();
+        try {
+            List<Beneficio> beneficios = comContexto(em -> {
+                TypedQuery<Beneficio> query = em.createNamedQuery("Beneficio.findByIdsWithLock", Beneficio.class);
+                query.setParameter("ids", sortedIds);
+                query.setLockMode(LockModeType.PESSIMISTIC_WRITE);
+                return query.getResultList();
+            });
+            evento.concluir(beneficios.size());
+            return beneficios;
+        } finally {
+            evento.emitir();
+            consultasLentas.registrar("findByIdsWithLock", inicio, sortedIds);
+        }
+    }
+    
+    @Override
+    public Map<Long, Long> findVersoesByIds(Collection<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return Map.of();
+        }
         
-        return query.getResultList();
+        ConsultaRepositorioEvento evento = ConsultaRepositorioEvento.iniciar("findVersoesByIds");
+        long inicio = System.nanoTime();
+        try {
+            List<Object[]> linhas = comContexto(em -> em.createNamedQuery("Beneficio.findVersoes", Object[].class)
+                    .setParameter("ids", ids)
+                    .getResultList());
+            
+            Map<Long, Long> versoes = new HashMap<>();
+            for (Object[] linha : linhas) {
+                versoes.put((Long) linha[0], (Long) linha[1]);
+            }
+            evento.concluir(versoes.size());
+            return versoes;
+        } finally {
+            evento.emitir();
+            consultasLentas.registrar("findVersoesByIds", inicio, ids);
+        }
     }
     
     @Override
     public long countActive() {
-        TypedQuery<Long> query = entityManager.createNamedQuery("Beneficio.countActive", Long.class);
-        return query.getSingleResult();
+        ConsultaRepositorioEvento evento = ConsultaRepositorioEvento.iniciar("countActive");
+        long inicio = System.nanoTime();
+        try {
+            long total = comContexto(em -> em.createNamedQuery("Beneficio.countActive", Long.class)
+                    .getSingleResult());
+            evento.concluir(1);
+            return total;
+        } finally {
+            evento.emitir();
+            consultasLentas.registrar("countActive", inicio);
+        }
     }
     
     @Override
     public BigDecimal sumActiveValues() {
-        TypedQuery<BigDecimal> query = entityManager.createNamedQuery("Beneficio.sumActiveValues", BigDecimal.class);
-        BigDecimal result = query.getSingleResult();
-        return result != null ? result : BigDecimal.ZERO;
+        ConsultaRepositorioEvento evento = ConsultaRepositorioEvento.iniciar("sumActiveValues");
+        long inicio = System.nanoTime();
+        try {
+            BigDecimal total = comContexto(em -> {
+                BigDecimal result = em.createNamedQuery("Beneficio.sumActiveValues", BigDecimal.class)
+                        .getSingleResult();
+                
+                // Benefícios fragmentados guardam parte do saldo em slots
+                BigDecimal saldoSlots = em.createNamedQuery("SaldoSlot.sumActive", BigDecimal.class)
+                        .getSingleResult();
+                
+                return (result != null ? result : BigDecimal.ZERO)
+                        .add(saldoSlots != null ? saldoSlots : BigDecimal.ZERO);
+            });
+            evento.concluir(2);
+            return total;
+        } finally {
+            evento.emitir();
+            consultasLentas.registrar("sumActiveValues", inicio);
+        }
     }
     
     @Override
@@ -101,37 +235,28 @@ public class BeneficioRepositoryImpl implements BeneficioRepository {
             throw new IllegalArgumentException("Benefício não pode ser nulo");
         }
         
-        EntityTransaction transaction = entityManager.getTransaction();
-        boolean startedTransaction = false;
-        
+        ConsultaRepositorioEvento evento = ConsultaRepositorioEvento.iniciar("save");
+        long inicio = System.nanoTime();
         try {
-            if (!transaction.isActive()) {
-                transaction.begin();
-                startedTransaction = true;
-            }
-            
-            Beneficio resultado;
-            if (beneficio.getId() == null) {
-                // Nova entidade
-                entityManager.persist(beneficio);
-                entityManager.flush(); // Força a execução do INSERT para gerar o ID
-                resultado = beneficio;
-            } else {
+            Beneficio resultado = emTransacao(em -> {
+                if (beneficio.getId() == null) {
+                    // Nova entidade
+                    em.persist(beneficio);
+                    em.flush(); // Força a execução do INSERT para gerar o ID
+                    return beneficio;
+                }
                 // Entidade existente
-                resultado = entityManager.merge(beneficio);
-            }
-            
-            if (startedTransaction) {
-                transaction.commit();
-            }
+                return em.merge(beneficio);
+            });
             
+            evento.concluir(1);
             return resultado;
             
         } catch (Exception e) {
-            if (startedTransaction && transaction.isActive()) {
-                transaction.rollback();
-            }
             throw new RuntimeException("Erro ao salvar benefício: " + e.getMessage(), e);
+        } finally {
+            evento.emitir();
+            consultasLentas.registrar("save", inicio, beneficio.getId());
         }
     }
     
@@ -141,34 +266,29 @@ public class BeneficioRepositoryImpl implements BeneficioRepository {
             return;
         }
         
-        EntityTransaction transaction = entityManager.getTransaction();
-        boolean startedTransaction = false;
-        
+        ConsultaRepositorioEvento evento = ConsultaRepositorioEvento.iniciar("delete");
+        long inicio = System.nanoTime();
         try {
-            if (!transaction.isActive()) {
-                transaction.begin();
-                startedTransaction = true;
-            }
-            
-            if (entityManager.contains(beneficio)) {
-                entityManager.remove(beneficio);
-            } else {
+            int removidos = emTransacao(em -> {
+                if (em.contains(beneficio)) {
+                    em.remove(beneficio);
+                    return 1;
+                }
                 // Buscar entidade gerenciada para remover
-                Beneficio managed = entityManager.find(Beneficio.class, beneficio.getId());
+                Beneficio managed = em.find(Beneficio.class, beneficio.getId());
                 if (managed != null) {
-                    entityManager.remove(managed);
+                    em.remove(managed);
+                    return 1;
                 }
-            }
-            
-            if (startedTransaction) {
-                transaction.commit();
-            }
+                return 0;
+            });
+            evento.concluir(removidos);
             
         } catch (Exception e) {
-            if (startedTransaction && transaction.isActive()) {
-                transaction.rollback();
-            }
             throw new RuntimeException("Erro ao deletar benefício: " + e.getMessage(), e);
+        } finally {
+            evento.emitir();
+            consultasLentas.registrar("delete", inicio, beneficio.getId());
         }
     }
     
@@ -178,9 +298,21 @@ public class BeneficioRepositoryImpl implements BeneficioRepository {
             return;
         }
         
-        Beneficio beneficio = entityManager.find(Beneficio.class, id);
-        if (beneficio != null) {
-            entityManager.remove(beneficio);
+        ConsultaRepositorioEvento evento = ConsultaRepositorioEvento.iniciar("deleteById");
+        long inicio = System.nanoTime();
+        try {
+            int removidos = emTransacao(em -> {
+                Beneficio beneficio = em.find(Beneficio.class, id);
+                if (beneficio == null) {
+                    return 0;
+                }
+                em.remove(beneficio);
+                return 1;
+            });
+            evento.concluir(removidos);
+        } finally {
+            evento.emitir();
+            consultasLentas.registrar("deleteById", inicio, id);
         }
     }
     
@@ -190,16 +322,22 @@ public class BeneficioRepositoryImpl implements BeneficioRepository {
             return false;
         }
         
+        ConsultaRepositorioEvento evento = ConsultaRepositorioEvento.iniciar("existsByNome");
+        long inicio = System.nanoTime();
         try {
-            TypedQuery<Long> query = entityManager.createQuery(
+            boolean existe = comContexto(em -> em.createQuery(
                 "SELECT COUNT(b) FROM Beneficio b WHERE UPPER(b.nome) = UPPER(:nome)", 
-                Long.class);
-            query.setParameter("nome", nome.trim());
-            
-            return query.getSingleResult() > 0;
+                Long.class)
+                    .setParameter("nome", nome.trim())
+                    .getSingleResult()) > 0;
+            evento.concluir(1);
+            return existe;
             
         } catch (Exception e) {
             return false;
+        } finally {
+            evento.emitir();
+            consultasLentas.registrar("existsByNome", inicio, nome);
         }
     }
     
@@ -209,16 +347,158 @@ public class BeneficioRepositoryImpl implements BeneficioRepository {
             return false;
         }
         
+        ConsultaRepositorioEvento evento = ConsultaRepositorioEvento.iniciar("existsById");
+        long inicio = System.nanoTime();
         try {
-            TypedQuery<Long> query = entityManager.createQuery(
+            boolean existe = comContexto(em -> em.createQuery(
                 "SELECT COUNT(b) FROM Beneficio b WHERE b.id = :id", 
-                Long.class);
-            query.setParameter("id", id);
-            
-            return query.getSingleResult() > 0;
+                Long.class)
+                    .setParameter("id", id)
+                    .getSingleResult()) > 0;
+            evento.concluir(1);
+            return existe;
             
         } catch (Exception e) {
             return false;
+        } finally {
+            evento.emitir();
+            consultasLentas.registrar("existsById", inicio, id);
+        }
+    }
+    
+    /**
+     * Executa o trabalho em uma transação com EntityManager próprio, ligado à
+     * thread até o commit ou rollback. Chamadas aninhadas da mesma thread
+     * participam da transação já aberta.
+     */
+    @Override
+    public <T> T executeInTransaction(Supplier<T> work) {
+        if (work == null) {
+            throw new IllegalArgumentException("Trabalho transacional não pode ser nulo");
+        }
+        
+        // Sem registro de consulta lenta: a duração é a da unidade de trabalho
+        // inteira, e as consultas feitas dentro dela já se registram sozinhas
+        ConsultaRepositorioEvento evento = ConsultaRepositorioEvento.iniciar("executeInTransaction");
+        try {
+            T resultado = emTransacao(em -> work.get());
+            evento.concluir(0);
+            return resultado;
+        } catch (RuntimeException e) {
+            if (conflitoDeVersao(e)) {
+                throw new ConflitoConcorrenciaException("Benefício alterado por outra transação", e);
+            }
+            throw e;
+        } finally {
+            evento.emitir();
+        }
+    }
+    
+    @Override
+    public void flush() {
+        ConsultaRepositorioEvento evento = ConsultaRepositorioEvento.iniciar("flush");
+        long inicio = System.nanoTime();
+        try {
+            emTransacao(em -> {
+                em.flush();
+                return null;
+            });
+            evento.concluir(0);
+        } catch (RuntimeException e) {
+            if (conflitoDeVersao(e)) {
+                throw new ConflitoConcorrenciaException("Benefício alterado por outra transação", e);
+            }
+            throw e;
+        } finally {
+            evento.emitir();
+            consultasLentas.registrar("flush", inicio);
+        }
+    }
+    
+    /**
+     * Executa o trabalho com o EntityManager da transação da thread ou, fora
+     * de uma transação, com um EntityManager aberto só para ele. Os slots de
+     * saldo usam o mesmo contexto para participar da transação dos benefícios.
+     */
+    <T> T comContexto(Function<EntityManager, T> trabalho) {
+        EntityManager transacional = transacaoDaThread.get();
+        if (transacional != null) {
+            return trabalho.apply(transacional);
+        }
+        EntityManager avulso = entityManager.getEntityManagerFactory().createEntityManager();
+        try {
+            return trabalho.apply(avulso);
+        } finally {
+            avulso.close();
+        }
+    }
+    
+    /**
+     * Junta-se à transação aberta por esta thread ou abre uma nova, com
+     * EntityManager próprio, desfeita se o trabalho falhar. Alterações de slots
+     * de threads distintas correm em transações e conexões distintas.
+     */
+    <T> T emTransacao(Function<EntityManager, T> trabalho) {
+        EntityManager transacional = transacaoDaThread.get();
+        if (transacional != null) {
+            return trabalho.apply(transacional);
+        }
+        
+        return emTransacaoPropria(proprio -> {
+            transacaoDaThread.set(proprio);
+            try {
+                return trabalho.apply(proprio);
+            } finally {
+                transacaoDaThread.remove();
+            }
+        });
+    }
+    
+    /**
+     * Executa o trabalho em uma transação nova, confirmada por conta própria
+     * mesmo quando a thread tem uma transação aberta.
+     */
+    <T> T emTransacaoPropria(Function<EntityManager, T> trabalho) {
+        EntityManager proprio = entityManager.getEntityManagerFactory().createEntityManager();
+        EntityTransaction transaction = proprio.getTransaction();
+        try {
+            transaction.begin();
+            T resultado = trabalho.apply(proprio);
+            commit(transaction);
+            return resultado;
+            
+        } catch (RuntimeException e) {
+            if (transaction.isActive()) {
+                transaction.rollback();
+            }
+            throw e;
+        } finally {
+            proprio.close();
+        }
+    }
+    
+    private static boolean conflitoDeVersao(Throwable falha) {
+        for (Throwable causa = falha; causa != null; causa = causa.getCause()) {
+            if (causa instanceof OptimisticLockException) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private static void commit(EntityTransaction transaction) {
+        ColetorRastro rastro = ColetorRastro.atual();
+        int span = rastro != null ? rastro.abrir("commit", "EntityTransaction.commit") : -1;
+        RuntimeException erro = null;
+        try {
+            transaction.commit();
+        } catch (RuntimeException e) {
+            erro = e;
+            throw e;
+        } finally {
+            if (rastro != null) {
+                rastro.fechar(span, erro);
+            }
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,190 @@
+package com.bip.infrastructure.persistence;
+
+import com.bip.infrastructure.configuration.EntityManagerProducer;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.NamedQuery;
+import jakarta.persistence.metamodel.EntityType;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.QueryStatistics;
+import org.hibernate.stat.Statistics;
+
+/**
+ * Resumo das estatísticas do Hibernate ({@code hibernate.generate_statistics}).
+ *
+ * <p>O Hibernate agrupa as consultas pelo HQL; as que correspondem a uma
+ * {@link NamedQuery} das entidades são identificadas pelo nome
+ * ({@code Beneficio.findAll}). As demais aparecem pelo próprio HQL.</p>
+ *
+ * @author BIP API Team
+ * @since 1.2
+ */
+@ApplicationScoped
+public class EstatisticasHibernate {
+
+    @Inject
+    private EntityManagerProducer producer;
+
+    private EntityManagerFactory fabrica;
+    private volatile Map<String, String> nomesPorHql;
+
+    public EstatisticasHibernate() {
+    }
+
+    /**
+     * Estatísticas de uma fábrica criada fora do contêiner.
+     */
+    EstatisticasHibernate(EntityManagerFactory fabrica) {
+        this.fabrica = fabrica;
+    }
+
+    /**
+     * Estatísticas de uma consulta.
+     *
+     * @param nome nome da {@link NamedQuery}, ou o HQL se a consulta não for nomeada
+     * @param hql consulta executada
+     * @param execucoes execuções desde a última limpeza
+     * @param linhas linhas retornadas no total
+     * @param tempoMedioMillis média das execuções
+     * @param tempoMaximoMillis execução mais lenta
+     * @param tempoTotalMillis soma das execuções
+     */
+    public record Consulta(String nome, String hql, long execucoes, long linhas, double tempoMedioMillis,
+                           long tempoMaximoMillis, long tempoTotalMillis, Cache cache) {
+    }
+
+    /**
+     * Acertos de um cache do Hibernate; {@code taxaAcerto} é 0 sem consultas.
+     */
+    public record Cache(long acertos, long faltas, long insercoes, double taxaAcerto) {
+
+        static Cache de(long acertos, long faltas, long insercoes) {
+            long consultas = acertos + faltas;
+            return new Cache(acertos, faltas, insercoes, consultas > 0 ? (double) acertos / consultas : 0.0);
+        }
+    }
+
+    /**
+     * Contadores da fábrica desde {@code inicio} (inicialização ou última limpeza).
+     *
+     * @param consultas consultas mais caras pelo tempo total
+     */
+    public record Resumo(boolean habilitado,
+                         Instant inicio,
+                         long sessoes,
+                         long conexoes,
+                         long transacoes,
+                         long flushes,
+                         long statementsPreparados,
+                         long execucoesConsultas,
+                         long tempoMaximoConsultaMillis,
+                         String consultaMaisLenta,
+                         long entidadesCarregadas,
+                         long entidadesBuscadas,
+                         long entidadesInseridas,
+                         long entidadesAtualizadas,
+                         long entidadesRemovidas,
+                         long falhasOtimistas,
+                         Cache cacheSegundoNivel,
+                         Cache cacheConsultas,
+                         Cache cachePlanos,
+                         List<Consulta> consultas) {
+    }
+
+    /**
+     * Resumo atual das estatísticas.
+     *
+     * @param limite quantidade máxima de consultas detalhadas, ordenadas pelo tempo total;
+     *               consultas ainda não executadas ficam de fora
+     */
+    public Resumo getResumo(int limite) {
+        if (limite <= 0) {
+            throw new IllegalArgumentException("Limite deve ser um número positivo");
+        }
+        Statistics estatisticas = estatisticas();
+        Map<String, String> nomes = nomesPorHql();
+
+        List<Consulta> consultas = new ArrayList<>();
+        for (String hql : estatisticas.getQueries()) {
+            QueryStatistics consulta = estatisticas.getQueryStatistics(hql);
+            if (consulta.getExecutionCount() == 0) {
+                // Consultas nomeadas são compiladas na inicialização e aparecem antes de executar
+                continue;
+            }
+            consultas.add(new Consulta(nomes.getOrDefault(hql, hql), hql,
+                consulta.getExecutionCount(), consulta.getExecutionRowCount(),
+                consulta.getExecutionAvgTimeAsDouble(), consulta.getExecutionMaxTime(),
+                consulta.getExecutionTotalTime(),
+                Cache.de(consulta.getCacheHitCount(), consulta.getCacheMissCount(), consulta.getCachePutCount())));
+        }
+        consultas.sort(Comparator.comparingLong(Consulta::tempoTotalMillis)
+            .thenComparingLong(Consulta::execucoes).reversed());
+
+        String maisLenta = estatisticas.getQueryExecutionMaxTimeQueryString();
+        return new Resumo(
+            estatisticas.isStatisticsEnabled(),
+            estatisticas.getStart(),
+            estatisticas.getSessionOpenCount(),
+            estatisticas.getConnectCount(),
+            estatisticas.getTransactionCount(),
+            estatisticas.getFlushCount(),
+            estatisticas.getPrepareStatementCount(),
+            estatisticas.getQueryExecutionCount(),
+            estatisticas.getQueryExecutionMaxTime(),
+            maisLenta != null ? nomes.getOrDefault(maisLenta, maisLenta) : null,
+            estatisticas.getEntityLoadCount(),
+            estatisticas.getEntityFetchCount(),
+            estatisticas.getEntityInsertCount(),
+            estatisticas.getEntityUpdateCount(),
+            estatisticas.getEntityDeleteCount(),
+            estatisticas.getOptimisticFailureCount(),
+            Cache.de(estatisticas.getSecondLevelCacheHitCount(), estatisticas.getSecondLevelCacheMissCount(),
+                estatisticas.getSecondLevelCachePutCount()),
+            Cache.de(estatisticas.getQueryCacheHitCount(), estatisticas.getQueryCacheMissCount(),
+                estatisticas.getQueryCachePutCount()),
+            Cache.de(estatisticas.getQueryPlanCacheHitCount(), estatisticas.getQueryPlanCacheMissCount(), 0),
+            List.copyOf(consultas.subList(0, Math.min(limite, consultas.size())))
+        );
+    }
+
+    /**
+     * Zera os contadores; {@link Resumo#inicio()} passa a ser o instante da limpeza.
+     */
+    public void limpar() {
+        estatisticas().clear();
+    }
+
+    private Statistics estatisticas() {
+        return fabrica().unwrap(SessionFactory.class).getStatistics();
+    }
+
+    private EntityManagerFactory fabrica() {
+        if (fabrica == null) {
+            fabrica = producer.getEntityManagerFactory();
+        }
+        return fabrica;
+    }
+
+    private Map<String, String> nomesPorHql() {
+        Map<String, String> nomes = nomesPorHql;
+        if (nomes == null) {
+            // As entidades não mudam depois da inicialização: o mapa é montado uma vez
+            nomes = new HashMap<>();
+            for (EntityType<?> entidade : fabrica().getMetamodel().getEntities()) {
+                for (NamedQuery consulta : entidade.getJavaType().getAnnotationsByType(NamedQuery.class)) {
+                    nomes.put(consulta.query(), consulta.name());
+                }
+            }
+            nomes = Map.copyOf(nomes);
+            nomesPorHql = nomes;
+        }
+        return nomes;
+    }
+}
@@ -0,0 +1,88 @@
+package com.bip.infrastructure.persistence;
+
+import com.bip.domain.entities.RegistroIdempotencia;
+import com.bip.domain.repositories.IdempotenciaRepository;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityTransaction;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Implementação JPA do repositório de registros de idempotência
+ */
+@ApplicationScoped
+public class IdempotenciaRepositoryImpl implements IdempotenciaRepository {
+
+    @Inject
+    private EntityManager entityManager;
+
+    /**
+     * O EntityManager é compartilhado pelo bean e não é thread-safe.
+     */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    @Override
+    public Optional<RegistroIdempotencia> findByChave(String chave) {
+        if (chave == null) {
+            return Optional.empty();
+        }
+
+        lock.lock();
+        try {
+            return Optional.ofNullable(entityManager.find(RegistroIdempotencia.class, chave));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public RegistroIdempotencia save(RegistroIdempotencia registro) {
+        if (registro == null) {
+            throw new IllegalArgumentException("Registro de idempotência não pode ser nulo");
+        }
+
+        try {
+            return executarEmTransacao(() -> entityManager.merge(registro));
+        } catch (Exception e) {
+            throw new RuntimeException("Erro ao salvar registro de idempotência: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public int deleteExpiredBefore(LocalDateTime agora) {
+        try {
+            return executarEmTransacao(() -> entityManager.createNamedQuery("RegistroIdempotencia.deleteExpired")
+                    .setParameter("agora", agora)
+                    .executeUpdate());
+        } catch (Exception e) {
+            throw new RuntimeException("Erro ao remover registros expirados: " + e.getMessage(), e);
+        }
+    }
+
+    private <T> T executarEmTransacao(Supplier<T> trabalho) {
+        lock.lock();
+        try {
+            EntityTransaction transaction = entityManager.getTransaction();
+            try {
+                transaction.begin();
+                T resultado = trabalho.get();
+                transaction.commit();
+                return resultado;
+
+            } catch (RuntimeException e) {
+                if (transaction.isActive()) {
+                    transaction.rollback();
+                }
+                throw e;
+            }
+        } finally {
+            // Registros não precisam permanecer gerenciados após a transação
+            entityManager.clear();
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.bip.infrastructure.persistence;
+
+import com.bip.domain.entities.LedgerCheckpoint;
+import com.bip.domain.repositories.LedgerRepository;
+import com.bip.domain.valueobjects.Money;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityTransaction;
+import jakarta.persistence.Query;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Implementação JPA do repositório de snapshots do ledger
+ */
+@ApplicationScoped
+public class LedgerRepositoryImpl implements LedgerRepository {
+
+    @Inject
+    private EntityManager entityManager;
+
+    /**
+     * O EntityManager é exclusivo do bean, mas compartilhado por suas chamadas
+     * e não é thread-safe. Cada chamada termina com {@code clear()}: nenhuma
+     * leitura posterior enxerga um saldo anterior a um snapshot.
+     */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    @Override
+    public long buscarCheckpoint() {
+        lock.lock();
+        try {
+            LedgerCheckpoint checkpoint = entityManager.find(LedgerCheckpoint.class, LedgerCheckpoint.ID_UNICO);
+            return checkpoint != null ? checkpoint.getSequencia() : 0L;
+        } finally {
+            entityManager.clear();
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void percorrerSaldos(ConsumidorSaldo consumidor) {
+        lock.lock();
+        // Projeção em vez de entidades: nada fica no contexto de persistência
+        try (Stream<Object[]> linhas = entityManager.createNamedQuery("Beneficio.findSaldos", Object[].class)
+                .getResultStream()) {
+            linhas.forEach(linha -> consumidor.aceitar((Long) linha[0], Money.of((BigDecimal) linha[1]),
+                Boolean.TRUE.equals(linha[2])));
+        } finally {
+            entityManager.clear();
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void gravarSnapshot(Map<Long, Money> saldos, long sequencia) {
+        if (saldos == null) {
+            throw new IllegalArgumentException("Saldos não podem ser nulos");
+        }
+
+        lock.lock();
+        try {
+            EntityTransaction transaction = entityManager.getTransaction();
+            try {
+                transaction.begin();
+
+                LocalDateTime agora = LocalDateTime.now();
+                Query update = entityManager.createNamedQuery("Beneficio.updateSaldo");
+                for (Map.Entry<Long, Money> saldo : saldos.entrySet()) {
+                    update.setParameter("id", saldo.getKey())
+                          .setParameter("valor", saldo.getValue().getValor())
+                          .setParameter("agora", agora)
+                          .executeUpdate();
+                }
+                // Checkpoint na mesma transação: o replay após o checkpoint é exato
+                entityManager.merge(new LedgerCheckpoint(sequencia));
+
+                transaction.commit();
+
+            } catch (RuntimeException e) {
+                if (transaction.isActive()) {
+                    transaction.rollback();
+                }
+                throw new RuntimeException("Erro ao gravar snapshot do ledger: " + e.getMessage(), e);
+            }
+        } finally {
+            entityManager.clear();
+            lock.unlock();
+        }
+    }
+}
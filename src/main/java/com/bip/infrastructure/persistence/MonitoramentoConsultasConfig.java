@@ -0,0 +1,39 @@
+package com.bip.infrastructure.persistence;
+
+/**
+ * Configuração das estatísticas do Hibernate e do log de consultas lentas.
+ *
+ * <p>Os valores são lidos de propriedades de sistema ({@code -Dbip.consultas.*})
+ * para funcionar igualmente no Jetty e nos servidores de aplicação.</p>
+ *
+ * @param estatisticas se o Hibernate coleta estatísticas ({@code hibernate.generate_statistics})
+ * @param limiteLentoMillis duração a partir da qual uma consulta vai para o log; 0 registra todas
+ * @param capacidadeLentas consultas lentas mantidas para o endpoint administrativo
+ *
+ * @author BIP API Team
+ * @since 1.2
+ */
+public record MonitoramentoConsultasConfig(boolean estatisticas, long limiteLentoMillis, int capacidadeLentas) {
+
+    public static final String PREFIXO = "bip.consultas.";
+
+    public MonitoramentoConsultasConfig {
+        if (limiteLentoMillis < 0) {
+            throw new IllegalArgumentException("Limite de consulta lenta não pode ser negativo");
+        }
+        if (capacidadeLentas <= 0) {
+            throw new IllegalArgumentException("Capacidade do log de consultas lentas deve ser positiva");
+        }
+    }
+
+    /**
+     * Carrega a configuração a partir das propriedades de sistema.
+     */
+    public static MonitoramentoConsultasConfig fromSystemProperties() {
+        return new MonitoramentoConsultasConfig(
+            Boolean.parseBoolean(System.getProperty(PREFIXO + "estatisticas", "true")),
+            Long.getLong(PREFIXO + "limite-lento-ms", 100L),
+            Integer.getInteger(PREFIXO + "capacidade-lentas", 100)
+        );
+    }
+}
@@ -0,0 +1,140 @@
+package com.bip.infrastructure.persistence;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Logger;
+
+/**
+ * Log das consultas dos repositórios acima do limite de lentidão, com os
+ * parâmetros informados na chamada.
+ *
+ * <p>Cada consulta lenta gera um aviso no log e fica entre as últimas
+ * registradas para o endpoint administrativo. Consultas rápidas custam uma
+ * leitura de {@link System#nanoTime()} e uma comparação.</p>
+ *
+ * <p>O Hibernate recebe o mesmo limite ({@code hibernate.log_slow_query}) e
+ * registra o SQL gerado no logger {@code org.hibernate.SQL_SLOW}.</p>
+ *
+ * @author BIP API Team
+ * @since 1.2
+ */
+@ApplicationScoped
+public class RegistroConsultasLentas {
+
+    private static final Logger LOGGER = Logger.getLogger(RegistroConsultasLentas.class.getName());
+
+    /**
+     * Tamanho máximo de cada parâmetro no log; listas de IDs longas são truncadas.
+     */
+    static final int TAMANHO_MAXIMO_PARAMETRO = 200;
+
+    private final MonitoramentoConsultasConfig config;
+    private final long limiteNanos;
+    private final Deque<ConsultaLenta> recentes = new ArrayDeque<>();
+    // Lock explícito: um monitor prenderia a thread portadora das threads virtuais
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LongAdder total = new LongAdder();
+
+    public RegistroConsultasLentas() {
+        this(MonitoramentoConsultasConfig.fromSystemProperties());
+    }
+
+    RegistroConsultasLentas(MonitoramentoConsultasConfig config) {
+        this.config = config;
+        this.limiteNanos = TimeUnit.MILLISECONDS.toNanos(config.limiteLentoMillis());
+    }
+
+    /**
+     * Consulta que atingiu o limite de lentidão.
+     *
+     * @param consulta nome da operação do repositório
+     * @param instante fim da consulta
+     * @param duracaoMillis duração, em milissegundos
+     * @param parametros parâmetros informados, como texto
+     */
+    public record ConsultaLenta(String consulta, Instant instante, double duracaoMillis, List<String> parametros) {
+    }
+
+    /**
+     * Registra a consulta se a duração desde {@code inicio} atingiu o limite.
+     *
+     * @param consulta nome da operação do repositório
+     * @param inicio instante inicial, de {@link System#nanoTime()}
+     * @param parametros parâmetros da consulta
+     */
+    public void registrar(String consulta, long inicio, Object... parametros) {
+        long duracao = System.nanoTime() - inicio;
+        if (duracao >= limiteNanos) {
+            registrarLenta(consulta, duracao, parametros);
+        }
+    }
+
+    private void registrarLenta(String consulta, long duracao, Object[] parametros) {
+        List<String> formatados = new ArrayList<>(parametros.length);
+        for (Object parametro : parametros) {
+            formatados.add(formatar(parametro));
+        }
+        ConsultaLenta lenta = new ConsultaLenta(consulta, Instant.now(), duracao / 1_000_000.0, List.copyOf(formatados));
+        total.increment();
+        lock.lock();
+        try {
+            if (recentes.size() == config.capacidadeLentas()) {
+                recentes.removeFirst();
+            }
+            recentes.addLast(lenta);
+        } finally {
+            lock.unlock();
+        }
+        LOGGER.warning(() -> String.format(Locale.ROOT, "Consulta lenta: %s levou %.3f ms; parâmetros %s",
+            consulta, lenta.duracaoMillis(), lenta.parametros()));
+    }
+
+    private static String formatar(Object parametro) {
+        String texto = String.valueOf(parametro);
+        return texto.length() > TAMANHO_MAXIMO_PARAMETRO
+            ? texto.substring(0, TAMANHO_MAXIMO_PARAMETRO) + "..."
+            : texto;
+    }
+
+    /**
+     * Consultas lentas mais recentes, da mais nova para a mais antiga.
+     *
+     * @param limite quantidade máxima retornada
+     */
+    public List<ConsultaLenta> getRecentes(int limite) {
+        if (limite <= 0) {
+            throw new IllegalArgumentException("Limite deve ser um número positivo");
+        }
+        List<ConsultaLenta> resultado = new ArrayList<>(Math.min(limite, config.capacidadeLentas()));
+        lock.lock();
+        try {
+            Iterator<ConsultaLenta> iterador = recentes.descendingIterator();
+            while (iterador.hasNext() && resultado.size() < limite) {
+                resultado.add(iterador.next());
+            }
+        } finally {
+            lock.unlock();
+        }
+        return resultado;
+    }
+
+    /**
+     * Consultas lentas registradas desde a inicialização, incluindo as já descartadas.
+     */
+    public long getTotal() {
+        return total.sum();
+    }
+
+    public MonitoramentoConsultasConfig getConfig() {
+        return config;
+    }
+}
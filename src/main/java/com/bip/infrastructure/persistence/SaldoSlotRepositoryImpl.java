@@ -0,0 +1,119 @@
+package com.bip.infrastructure.persistence;
+
+import com.bip.domain.entities.SaldoSlot;
+import com.bip.domain.repositories.SaldoSlotRepository;
+import com.bip.domain.valueobjects.Money;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Implementação JPA do repositório de slots de saldo
+ * Créditos e débitos simples são UPDATEs condicionais em uma única linha
+ *
+ * <p>Os slots usam o EntityManager e a transação que o {@link BeneficioRepositoryImpl}
+ * abriu para a thread: dentro de {@code executeInTransaction} as alterações dos
+ * slots e dos benefícios são confirmadas ou desfeitas juntas. Fora dela, cada
+ * alteração abre a própria, com EntityManager e conexão próprios, então
+ * créditos concorrentes em slots distintos só disputam a linha do slot no
+ * banco.</p>
+ */
+@ApplicationScoped
+public class SaldoSlotRepositoryImpl implements SaldoSlotRepository {
+
+    @Inject
+    private BeneficioRepositoryImpl beneficioRepository;
+
+    @Override
+    public List<SaldoSlot> findByBeneficioId(Long beneficioId) {
+        return beneficioRepository.comContexto(entityManager -> desanexar(entityManager,
+                entityManager.createNamedQuery("SaldoSlot.findByBeneficio", SaldoSlot.class)
+                        .setParameter("beneficioId", beneficioId)
+                        .getResultList()));
+    }
+
+    @Override
+    public BigDecimal sumByBeneficioId(Long beneficioId) {
+        return beneficioRepository.comContexto(entityManager -> {
+            BigDecimal result = entityManager.createNamedQuery("SaldoSlot.sumByBeneficio", BigDecimal.class)
+                    .setParameter("beneficioId", beneficioId)
+                    .getSingleResult();
+            return result != null ? result : BigDecimal.ZERO;
+        });
+    }
+
+    @Override
+    public boolean inicializarSlots(Long beneficioId, int quantidade) {
+        if (quantidade <= 0) {
+            throw new IllegalArgumentException("Quantidade de slots deve ser positiva");
+        }
+
+        // Transação própria: os slots ficam criados mesmo que a movimentação seja desfeita
+        return beneficioRepository.emTransacaoPropria(entityManager -> {
+            Long existentes = entityManager.createNamedQuery("SaldoSlot.countByBeneficio", Long.class)
+                    .setParameter("beneficioId", beneficioId)
+                    .getSingleResult();
+            int criados = existentes != null ? existentes.intValue() : 0;
+            if (criados >= quantidade) {
+                return false;
+            }
+
+            // Slots são numerados sem lacunas: ao aumentar a quantidade, cria apenas os novos
+            for (int slot = criados; slot < quantidade; slot++) {
+                entityManager.persist(new SaldoSlot(beneficioId, slot, Money.zero()));
+            }
+            return true;
+        });
+    }
+
+    @Override
+    public boolean creditar(Long beneficioId, int slot, Money valor) {
+        return atualizarSlot("SaldoSlot.credit", beneficioId, slot, valor);
+    }
+
+    @Override
+    public boolean debitar(Long beneficioId, int slot, Money valor) {
+        return atualizarSlot("SaldoSlot.debit", beneficioId, slot, valor);
+    }
+
+    @Override
+    public Money debitarVarrendo(Long beneficioId, Money valor) {
+        return beneficioRepository.emTransacao(entityManager -> {
+            List<SaldoSlot> slots = entityManager.createNamedQuery("SaldoSlot.findByBeneficio", SaldoSlot.class)
+                    .setParameter("beneficioId", beneficioId)
+                    .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                    .getResultList();
+
+            Money restante = valor;
+            for (SaldoSlot slot : slots) {
+                if (restante.isZero()) {
+                    break;
+                }
+                restante = restante.subtract(slot.debitarAte(restante));
+            }
+            entityManager.flush();
+            desanexar(entityManager, slots);
+            return valor.subtract(restante);
+        });
+    }
+
+    private boolean atualizarSlot(String namedQuery, Long beneficioId, int slot, Money valor) {
+        return beneficioRepository.emTransacao(entityManager -> entityManager.createNamedQuery(namedQuery)
+                .setParameter("valor", valor.getValor())
+                .setParameter("beneficioId", beneficioId)
+                .setParameter("slot", slot)
+                .executeUpdate() > 0);
+    }
+
+    /**
+     * Slots também são atualizados por UPDATEs em massa: instâncias gerenciadas
+     * ficariam com saldos antigos no contexto da transação dos benefícios.
+     */
+    private static List<SaldoSlot> desanexar(EntityManager entityManager, List<SaldoSlot> slots) {
+        slots.forEach(entityManager::detach);
+        return slots;
+    }
+}
@@ -0,0 +1,343 @@
+package com.bip.infrastructure.seed;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.SplittableRandom;
+
+/**
+ * Gerador determinístico de massas de dados para testes de carga.
+ *
+ * <p>Produz N benefícios e M transferências a partir de uma semente: a mesma
+ * semente e os mesmos parâmetros geram exatamente os mesmos dados, permitindo
+ * comparar execuções de benchmark.</p>
+ *
+ * <ul>
+ *   <li><b>Saldos</b>: distribuição log-normal em torno de {@code saldoMediano};</li>
+ *   <li><b>Inativos</b>: exatamente {@code proporcaoInativos} dos benefícios,
+ *       espalhados de forma uniforme;</li>
+ *   <li><b>Transferências</b>: origem e destino escolhidos entre os ativos por uma
+ *       distribuição de Zipf, concentrando o tráfego em poucas contas quentes. As
+ *       contas quentes são embaralhadas para não coincidirem com os primeiros IDs.</li>
+ * </ul>
+ *
+ * <p>As transferências referenciam os benefícios pela posição (1 a N), que
+ * coincide com o ID quando a massa é carregada em um banco vazio.</p>
+ *
+ * <p>Uso pela linha de comando (grava {@code beneficios.csv.gz} e
+ * {@code transferencias.csv.gz}, e opcionalmente carrega os benefícios pelo
+ * {@link SeedLoader}):</p>
+ *
+ * <pre>
+ * java -cp ... com.bip.infrastructure.seed.DatasetGenerator --beneficios 1000000 \
+ *     --transferencias 5000000 --semente 42 --zipf 1.1 --saida data/fixtures \
+ *     [--jdbc jdbc:h2:./data/bip --usuario sa --senha ""]
+ * </pre>
+ *
+ * @author BIP API Team
+ * @since 1.1
+ */
+public final class DatasetGenerator {
+
+    public static final String PREFIXO = "bip.seed.gerador.";
+
+    static final String CABECALHO_TRANSFERENCIAS = "origem,destino,valor";
+
+    private final Parametros parametros;
+
+    /**
+     * Posição (base 0) dos benefícios ativos, ordenada da conta mais quente para a mais fria.
+     */
+    private int[] ativosPorPopularidade;
+
+    /**
+     * Distribuição acumulada de Zipf sobre {@link #ativosPorPopularidade}.
+     */
+    private double[] acumuladaZipf;
+
+    public DatasetGenerator(Parametros parametros) {
+        this.parametros = parametros;
+    }
+
+    public Parametros getParametros() {
+        return parametros;
+    }
+
+    /**
+     * Indica se o benefício na posição informada (base 0) é gerado como ativo.
+     * Os inativos são espaçados de forma que a proporção seja exata.
+     */
+    public boolean isAtivo(int posicao) {
+        double proporcao = parametros.proporcaoInativos();
+        return Math.floor((posicao + 1) * proporcao) == Math.floor(posicao * proporcao);
+    }
+
+    /**
+     * Benefícios no formato da fixture do {@link SeedLoader}.
+     */
+    Iterator<SeedLoader.LinhaSeed> beneficios() {
+        SplittableRandom aleatorio = new SplittableRandom(parametros.semente());
+        return new Iterator<>() {
+            private int posicao;
+
+            @Override
+            public boolean hasNext() {
+                return posicao < parametros.beneficios();
+            }
+
+            @Override
+            public SeedLoader.LinhaSeed next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                int atual = posicao++;
+                BigDecimal saldo = logNormal(aleatorio, parametros.saldoMediano(), parametros.dispersaoSaldo());
+                return new SeedLoader.LinhaSeed(String.format("Beneficio %09d", atual + 1),
+                    "Benefício sintético", saldo, isAtivo(atual));
+            }
+        };
+    }
+
+    /**
+     * Transferências entre benefícios ativos, com origem e destino distintos.
+     */
+    public Iterator<Transferencia> transferencias() {
+        prepararZipf();
+        if (ativosPorPopularidade.length < 2) {
+            throw new IllegalStateException("São necessários ao menos dois benefícios ativos para gerar transferências");
+        }
+
+        // Fluxo próprio: os saldos não mudam quando só a quantidade de transferências muda
+        SplittableRandom aleatorio = new SplittableRandom(parametros.semente() ^ 0x5DEECE66DL);
+        return new Iterator<>() {
+            private int geradas;
+
+            @Override
+            public boolean hasNext() {
+                return geradas < parametros.transferencias();
+            }
+
+            @Override
+            public Transferencia next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                geradas++;
+                int origem = sortearAtivo(aleatorio);
+                int destino;
+                do {
+                    destino = sortearAtivo(aleatorio);
+                } while (destino == origem);
+                BigDecimal valor = logNormal(aleatorio, parametros.valorMedianoTransferencia(), 0.75)
+                    .max(new BigDecimal("0.01"));
+                return new Transferencia(origem + 1L, destino + 1L, valor);
+            }
+        };
+    }
+
+    /**
+     * Grava os benefícios como fixture do {@link SeedLoader} ({@code .gz} compacta).
+     */
+    public void escreverBeneficios(Path destino) throws IOException {
+        SeedLoader.escreverCsv(beneficios(), parametros.beneficios(), destino);
+    }
+
+    /**
+     * Grava as transferências em CSV com cabeçalho {@code origem,destino,valor}.
+     */
+    public void escreverTransferencias(Path destino) throws IOException {
+        try (Writer saida = SeedLoader.abrirEscrita(destino)) {
+            saida.write(CABECALHO_TRANSFERENCIAS);
+            saida.write('\n');
+            Iterator<Transferencia> transferencias = transferencias();
+            while (transferencias.hasNext()) {
+                Transferencia transferencia = transferencias.next();
+                saida.write(Long.toString(transferencia.origem()));
+                saida.write(',');
+                saida.write(Long.toString(transferencia.destino()));
+                saida.write(',');
+                saida.write(transferencia.valor().toPlainString());
+                saida.write('\n');
+            }
+        }
+    }
+
+    private void prepararZipf() {
+        if (acumuladaZipf != null) {
+            return;
+        }
+
+        int[] ativos = new int[parametros.beneficios()];
+        int quantidade = 0;
+        for (int posicao = 0; posicao < parametros.beneficios(); posicao++) {
+            if (isAtivo(posicao)) {
+                ativos[quantidade++] = posicao;
+            }
+        }
+        ativos = Arrays.copyOf(ativos, quantidade);
+
+        // Fisher-Yates determinístico: a popularidade independe da posição
+        SplittableRandom aleatorio = new SplittableRandom(~parametros.semente());
+        for (int i = ativos.length - 1; i > 0; i--) {
+            int j = aleatorio.nextInt(i + 1);
+            int troca = ativos[i];
+            ativos[i] = ativos[j];
+            ativos[j] = troca;
+        }
+
+        double[] acumulada = new double[ativos.length];
+        double soma = 0;
+        for (int rank = 0; rank < ativos.length; rank++) {
+            soma += 1.0 / Math.pow(rank + 1, parametros.expoenteZipf());
+            acumulada[rank] = soma;
+        }
+        for (int rank = 0; rank < acumulada.length; rank++) {
+            acumulada[rank] /= soma;
+        }
+
+        ativosPorPopularidade = ativos;
+        acumuladaZipf = acumulada;
+    }
+
+    private int sortearAtivo(SplittableRandom aleatorio) {
+        int rank = Arrays.binarySearch(acumuladaZipf, aleatorio.nextDouble());
+        if (rank < 0) {
+            rank = -rank - 1;
+        }
+        return ativosPorPopularidade[Math.min(rank, ativosPorPopularidade.length - 1)];
+    }
+
+    private static BigDecimal logNormal(SplittableRandom aleatorio, BigDecimal mediana, double dispersao) {
+        double valor = mediana.doubleValue() * Math.exp(dispersao * aleatorio.nextGaussian());
+        return BigDecimal.valueOf(valor).setScale(2, RoundingMode.HALF_EVEN);
+    }
+
+    /**
+     * Linha de comando: gera as fixtures e, com {@code --jdbc}, carrega os benefícios.
+     */
+    public static void main(String[] args) throws IOException, SQLException {
+        Map<String, String> opcoes = lerOpcoes(args);
+        Parametros parametros = new Parametros(
+            Long.parseLong(opcoes.getOrDefault("semente", "42")),
+            Integer.parseInt(opcoes.getOrDefault("beneficios", "100000")),
+            Integer.parseInt(opcoes.getOrDefault("transferencias", "0")),
+            Double.parseDouble(opcoes.getOrDefault("zipf", "1.1")),
+            Double.parseDouble(opcoes.getOrDefault("inativos", "0.1")),
+            new BigDecimal(opcoes.getOrDefault("saldo-mediano", "500.00")),
+            Double.parseDouble(opcoes.getOrDefault("dispersao-saldo", "1.0")),
+            new BigDecimal(opcoes.getOrDefault("valor-mediano", "50.00")));
+        Path saida = Path.of(opcoes.getOrDefault("saida", "data/fixtures"));
+        Files.createDirectories(saida);
+
+        DatasetGenerator gerador = new DatasetGenerator(parametros);
+        Path beneficios = saida.resolve("beneficios.csv.gz");
+        gerador.escreverBeneficios(beneficios);
+        System.out.printf("Benefícios: %d em %s%n", parametros.beneficios(), beneficios);
+        if (parametros.transferencias() > 0) {
+            Path transferencias = saida.resolve("transferencias.csv.gz");
+            gerador.escreverTransferencias(transferencias);
+            System.out.printf("Transferências: %d em %s%n", parametros.transferencias(), transferencias);
+        }
+
+        String jdbc = opcoes.get("jdbc");
+        if (jdbc != null) {
+            try (Connection conexao = DriverManager.getConnection(jdbc,
+                    opcoes.getOrDefault("usuario", "sa"), opcoes.getOrDefault("senha", ""))) {
+                SeedLoader.Resultado resultado = new SeedLoader().carregar(conexao, new SeedConfig(true,
+                    beneficios.toString(), parametros.beneficios(), SeedConfig.Estrategia.AUTO, 10_000));
+                System.out.printf("Carregados %d benefícios em %d ms (%s)%n",
+                    resultado.linhas(), resultado.duracaoMillis(), resultado.estrategia());
+            }
+        }
+    }
+
+    private static Map<String, String> lerOpcoes(String[] args) {
+        Map<String, String> opcoes = new HashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            if (!args[i].startsWith("--") || i + 1 >= args.length) {
+                throw new IllegalArgumentException("Opção inválida: " + args[i] + " (use --nome valor)");
+            }
+            opcoes.put(args[i].substring(2), args[++i]);
+        }
+        return opcoes;
+    }
+
+    /**
+     * Parâmetros da massa gerada.
+     *
+     * @param semente semente dos geradores pseudoaleatórios
+     * @param beneficios quantidade de benefícios
+     * @param transferencias quantidade de transferências
+     * @param expoenteZipf expoente da distribuição de Zipf (0 = uniforme; maior = mais concentrado)
+     * @param proporcaoInativos fração dos benefícios gerados como inativos
+     * @param saldoMediano mediana da distribuição log-normal de saldos
+     * @param dispersaoSaldo desvio padrão do logaritmo dos saldos
+     * @param valorMedianoTransferencia mediana dos valores transferidos
+     */
+    public record Parametros(long semente,
+                             int beneficios,
+                             int transferencias,
+                             double expoenteZipf,
+                             double proporcaoInativos,
+                             BigDecimal saldoMediano,
+                             double dispersaoSaldo,
+                             BigDecimal valorMedianoTransferencia) {
+
+        public Parametros {
+            if (beneficios <= 0) {
+                throw new IllegalArgumentException("Quantidade de benefícios deve ser positiva");
+            }
+            if (transferencias < 0) {
+                throw new IllegalArgumentException("Quantidade de transferências não pode ser negativa");
+            }
+            if (expoenteZipf < 0) {
+                throw new IllegalArgumentException("Expoente de Zipf não pode ser negativo");
+            }
+            if (proporcaoInativos < 0 || proporcaoInativos >= 1) {
+                throw new IllegalArgumentException("Proporção de inativos deve estar entre 0 e 1");
+            }
+            if (saldoMediano == null || saldoMediano.signum() <= 0
+                    || valorMedianoTransferencia == null || valorMedianoTransferencia.signum() <= 0) {
+                throw new IllegalArgumentException("Saldo e valor medianos devem ser positivos");
+            }
+            if (dispersaoSaldo < 0) {
+                throw new IllegalArgumentException("Dispersão do saldo não pode ser negativa");
+            }
+        }
+
+        /**
+         * Parâmetros a partir das propriedades de sistema ({@code -Dbip.seed.gerador.*}).
+         *
+         * @param beneficios quantidade de benefícios a gerar
+         */
+        public static Parametros fromSystemProperties(int beneficios) {
+            return new Parametros(
+                Long.getLong(PREFIXO + "semente", 42L),
+                beneficios,
+                0,
+                Double.parseDouble(System.getProperty(PREFIXO + "zipf", "1.1")),
+                Double.parseDouble(System.getProperty(PREFIXO + "inativos", "0.1")),
+                new BigDecimal(System.getProperty(PREFIXO + "saldo-mediano", "500.00")),
+                Double.parseDouble(System.getProperty(PREFIXO + "dispersao-saldo", "1.0")),
+                new BigDecimal(System.getProperty(PREFIXO + "valor-mediano", "50.00"))
+            );
+        }
+    }
+
+    /**
+     * Transferência gerada; origem e destino são posições de 1 a N.
+     */
+    public record Transferencia(long origem, long destino, BigDecimal valor) {
+    }
+}
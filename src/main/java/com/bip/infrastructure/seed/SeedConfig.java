@@ -0,0 +1,65 @@
+package com.bip.infrastructure.seed;
+
+/**
+ * Configuração da carga em massa de benefícios na inicialização.
+ *
+ * <p>Os valores são lidos de propriedades de sistema ({@code -Dbip.seed.*})
+ * para funcionar igualmente no Jetty e nos servidores de aplicação.</p>
+ *
+ * @param habilitado se a carga em massa substitui os dados de demonstração
+ * @param arquivo fixture CSV ({@code .csv} ou {@code .csv.gz}); vazio para gerar linhas sintéticas
+ * @param linhas quantidade máxima de linhas carregadas
+ * @param estrategia forma de inserção no banco
+ * @param tamanhoLote linhas por lote JDBC na estratégia {@link Estrategia#BATCH}
+ *
+ * @author BIP API Team
+ * @since 1.1
+ */
+public record SeedConfig(boolean habilitado,
+                         String arquivo,
+                         int linhas,
+                         Estrategia estrategia,
+                         int tamanhoLote) {
+
+    public static final String PREFIXO = "bip.seed.";
+
+    /**
+     * Forma de inserção das linhas no banco.
+     */
+    public enum Estrategia {
+        /** {@link #CSVREAD} no H2; {@link #BATCH} nos demais bancos. */
+        AUTO,
+        /** INSERTs preparados enviados em lotes JDBC. */
+        BATCH,
+        /** Um único {@code INSERT ... SELECT FROM CSVREAD(...)} executado pelo H2. */
+        CSVREAD
+    }
+
+    public SeedConfig {
+        if (arquivo == null) {
+            arquivo = "";
+        }
+        if (linhas <= 0) {
+            throw new IllegalArgumentException("Quantidade de linhas do seed deve ser positiva");
+        }
+        if (estrategia == null) {
+            throw new IllegalArgumentException("Estratégia do seed é obrigatória");
+        }
+        if (tamanhoLote <= 0) {
+            throw new IllegalArgumentException("Tamanho do lote do seed deve ser positivo");
+        }
+    }
+
+    /**
+     * Carrega a configuração a partir das propriedades de sistema.
+     */
+    public static SeedConfig fromSystemProperties() {
+        return new SeedConfig(
+            Boolean.getBoolean(PREFIXO + "habilitado"),
+            System.getProperty(PREFIXO + "arquivo", ""),
+            Integer.getInteger(PREFIXO + "linhas", 100_000),
+            Estrategia.valueOf(System.getProperty(PREFIXO + "estrategia", "AUTO").toUpperCase()),
+            Integer.getInteger(PREFIXO + "tamanho-lote", 1_000)
+        );
+    }
+}
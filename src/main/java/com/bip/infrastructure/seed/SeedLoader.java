@@ -0,0 +1,397 @@
+package com.bip.infrastructure.seed;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.logging.Logger;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import org.hibernate.Session;
+
+/**
+ * Carga em massa de benefícios para ambientes de performance.
+ *
+ * <p>Lê uma fixture CSV, opcionalmente compactada com gzip, ou gera linhas
+ * sintéticas pelo {@link DatasetGenerator}, e insere diretamente pela conexão JDBC do Hibernate, sem
+ * passar pelo contexto de persistência:</p>
+ *
+ * <ul>
+ *   <li><b>BATCH</b>: INSERTs preparados enviados em lotes, com um único commit ao final;</li>
+ *   <li><b>CSVREAD</b>: um único {@code INSERT ... SELECT FROM CSVREAD(...)} que o
+ *       H2 executa lendo o arquivo diretamente.</li>
+ * </ul>
+ *
+ * <p>As duas estratégias carregam em uma única transação: uma falha no meio da
+ * carga não deixa um seed parcial que o {@code DataInitializer} tomaria por
+ * completo na próxima inicialização.</p>
+ *
+ * <p>Formato da fixture: cabeçalho {@code nome,descricao,valor,ativo} e uma linha
+ * por benefício; campos com vírgula ou aspas vêm entre aspas duplas.</p>
+ *
+ * @author BIP API Team
+ * @since 1.1
+ */
+@ApplicationScoped
+public class SeedLoader {
+
+    private static final Logger LOGGER = Logger.getLogger(SeedLoader.class.getName());
+
+    static final String CABECALHO = "nome,descricao,valor,ativo";
+
+    private static final String INSERT =
+        "INSERT INTO beneficio (nome, descricao, valor, ativo, criado_em, atualizado_em, versao) "
+        + "VALUES (?, ?, ?, ?, ?, ?, 0)";
+
+    private static final String INSERT_CSVREAD =
+        "INSERT INTO beneficio (nome, descricao, valor, ativo, criado_em, atualizado_em, versao) "
+        + "SELECT nome, descricao, CAST(valor AS DECIMAL(19, 2)), CAST(ativo AS BOOLEAN), ?, ?, 0 "
+        + "FROM CSVREAD('%s', NULL, 'charset=UTF-8') LIMIT ?";
+
+    @Inject
+    private EntityManager entityManager;
+
+    /**
+     * Carrega os benefícios pela conexão JDBC do EntityManager.
+     *
+     * @return resultado da carga
+     */
+    public Resultado carregar(SeedConfig config) {
+        Session session = entityManager.unwrap(Session.class);
+        return session.doReturningWork(conexao -> carregar(conexao, config));
+    }
+
+    /**
+     * Carrega os benefícios na conexão informada. O auto-commit da conexão é
+     * restaurado ao final. Usado também por ferramentas fora do contêiner
+     * (gerador de massa e benchmarks).
+     *
+     * @return resultado da carga
+     */
+    public Resultado carregar(Connection conexao, SeedConfig config) throws SQLException {
+        SeedConfig.Estrategia estrategia = resolverEstrategia(conexao, config.estrategia());
+        LOGGER.info(String.format("Iniciando seed de até %d benefícios (%s, fonte: %s)...", config.linhas(),
+            estrategia, config.arquivo().isBlank() ? "sintética" : config.arquivo()));
+
+        long inicio = System.nanoTime();
+        boolean autoCommit = conexao.getAutoCommit();
+        conexao.setAutoCommit(false);
+        long linhas;
+        try {
+            linhas = estrategia == SeedConfig.Estrategia.CSVREAD
+                ? carregarCsvRead(conexao, config)
+                : carregarEmLotes(conexao, config);
+        } catch (SQLException | RuntimeException e) {
+            conexao.rollback();
+            throw e;
+        } finally {
+            conexao.setAutoCommit(autoCommit);
+        }
+
+        long duracaoMillis = (System.nanoTime() - inicio) / 1_000_000;
+        Resultado resultado = new Resultado(estrategia, linhas, duracaoMillis);
+        LOGGER.info(String.format("Seed concluído: %d benefícios em %d ms (%d linhas/s)",
+            linhas, duracaoMillis, resultado.linhasPorSegundo()));
+        return resultado;
+    }
+
+    private long carregarEmLotes(Connection conexao, SeedConfig config) throws SQLException {
+        Timestamp agora = Timestamp.valueOf(LocalDateTime.now());
+        long linhas = 0;
+
+        try (FonteSeed fonte = abrirFonte(config);
+             PreparedStatement insert = conexao.prepareStatement(INSERT)) {
+            while (linhas < config.linhas() && fonte.hasNext()) {
+                LinhaSeed linha = fonte.next();
+                insert.setString(1, linha.nome());
+                insert.setString(2, linha.descricao());
+                insert.setBigDecimal(3, linha.valor());
+                insert.setBoolean(4, linha.ativo());
+                insert.setTimestamp(5, agora);
+                insert.setTimestamp(6, agora);
+                insert.addBatch();
+
+                if (++linhas % config.tamanhoLote() == 0) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+            conexao.commit();
+        }
+        return linhas;
+    }
+
+    private long carregarCsvRead(Connection conexao, SeedConfig config) throws SQLException {
+        Path arquivo = config.arquivo().isBlank() ? null : Path.of(config.arquivo());
+        Path temporario = null;
+        try {
+            // CSVREAD só lê CSV sem compressão: fixtures .gz e linhas sintéticas são materializadas antes
+            if (arquivo == null || isCompactado(arquivo)) {
+                temporario = Files.createTempFile("bip-seed-", ".csv");
+                try (FonteSeed fonte = abrirFonte(config)) {
+                    escreverCsv(fonte, config.linhas(), temporario);
+                }
+                arquivo = temporario;
+            }
+
+            Timestamp agora = Timestamp.valueOf(LocalDateTime.now());
+            // O H2 exige o nome do arquivo como literal: a função é resolvida ao preparar a instrução
+            String caminho = arquivo.toAbsolutePath().toString().replace("'", "''");
+            try (PreparedStatement insert = conexao.prepareStatement(String.format(INSERT_CSVREAD, caminho))) {
+                insert.setTimestamp(1, agora);
+                insert.setTimestamp(2, agora);
+                insert.setInt(3, config.linhas());
+                int linhas = insert.executeUpdate();
+                conexao.commit();
+                return linhas;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao preparar o arquivo do seed", e);
+        } finally {
+            if (temporario != null) {
+                try {
+                    Files.deleteIfExists(temporario);
+                } catch (IOException e) {
+                    LOGGER.warning("Não foi possível remover o arquivo temporário do seed: " + temporario);
+                }
+            }
+        }
+    }
+
+    private static SeedConfig.Estrategia resolverEstrategia(Connection conexao, SeedConfig.Estrategia estrategia)
+            throws SQLException {
+        boolean h2 = "H2".equalsIgnoreCase(conexao.getMetaData().getDatabaseProductName());
+        if (estrategia == SeedConfig.Estrategia.AUTO) {
+            return h2 ? SeedConfig.Estrategia.CSVREAD : SeedConfig.Estrategia.BATCH;
+        }
+        if (estrategia == SeedConfig.Estrategia.CSVREAD && !h2) {
+            throw new IllegalStateException("Estratégia CSVREAD disponível apenas no H2");
+        }
+        return estrategia;
+    }
+
+    private static FonteSeed abrirFonte(SeedConfig config) {
+        if (config.arquivo().isBlank()) {
+            return new FonteSintetica(new DatasetGenerator(
+                DatasetGenerator.Parametros.fromSystemProperties(config.linhas())).beneficios());
+        }
+        try {
+            Path arquivo = Path.of(config.arquivo());
+            InputStream entrada = Files.newInputStream(arquivo);
+            if (isCompactado(arquivo)) {
+                entrada = new GZIPInputStream(entrada, 64 * 1024);
+            }
+            return new FonteCsv(new BufferedReader(new InputStreamReader(entrada, StandardCharsets.UTF_8)));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao abrir a fixture do seed: " + config.arquivo(), e);
+        }
+    }
+
+    private static boolean isCompactado(Path arquivo) {
+        return arquivo.getFileName().toString().endsWith(".gz");
+    }
+
+    /**
+     * Grava até {@code limite} linhas em um CSV no formato da fixture ({@code .gz} compacta).
+     */
+    static void escreverCsv(Iterator<LinhaSeed> linhas, long limite, Path destino) throws IOException {
+        try (BufferedWriter saida = abrirEscrita(destino)) {
+            saida.write(CABECALHO);
+            saida.newLine();
+            for (long i = 0; i < limite && linhas.hasNext(); i++) {
+                LinhaSeed linha = linhas.next();
+                saida.write(campoCsv(linha.nome()));
+                saida.write(',');
+                saida.write(campoCsv(linha.descricao()));
+                saida.write(',');
+                saida.write(linha.valor().toPlainString());
+                saida.write(',');
+                saida.write(Boolean.toString(linha.ativo()));
+                saida.newLine();
+            }
+        }
+    }
+
+    /**
+     * Abre o arquivo para escrita em UTF-8, compactando com gzip quando termina em {@code .gz}.
+     */
+    static BufferedWriter abrirEscrita(Path destino) throws IOException {
+        OutputStream saida = Files.newOutputStream(destino);
+        if (isCompactado(destino)) {
+            saida = new GZIPOutputStream(saida, 64 * 1024);
+        }
+        return new BufferedWriter(new OutputStreamWriter(saida, StandardCharsets.UTF_8), 64 * 1024);
+    }
+
+    private static String campoCsv(String valor) {
+        if (valor == null) {
+            return "";
+        }
+        if (valor.indexOf(',') < 0 && valor.indexOf('"') < 0) {
+            return valor;
+        }
+        return '"' + valor.replace("\"", "\"\"") + '"';
+    }
+
+    /**
+     * Divide uma linha CSV respeitando campos entre aspas duplas.
+     */
+    static List<String> dividirCsv(String linha) {
+        List<String> campos = new ArrayList<>(4);
+        StringBuilder campo = new StringBuilder();
+        boolean entreAspas = false;
+        for (int i = 0; i < linha.length(); i++) {
+            char c = linha.charAt(i);
+            if (entreAspas) {
+                if (c == '"' && i + 1 < linha.length() && linha.charAt(i + 1) == '"') {
+                    campo.append('"');
+                    i++;
+                } else if (c == '"') {
+                    entreAspas = false;
+                } else {
+                    campo.append(c);
+                }
+            } else if (c == '"') {
+                entreAspas = true;
+            } else if (c == ',') {
+                campos.add(campo.toString());
+                campo.setLength(0);
+            } else {
+                campo.append(c);
+            }
+        }
+        campos.add(campo.toString());
+        return campos;
+    }
+
+    /**
+     * Linha da fixture.
+     */
+    record LinhaSeed(String nome, String descricao, BigDecimal valor, boolean ativo) {
+    }
+
+    /**
+     * Resultado da carga.
+     *
+     * @param estrategia estratégia efetivamente usada
+     * @param linhas benefícios inseridos
+     * @param duracaoMillis duração da carga
+     */
+    public record Resultado(SeedConfig.Estrategia estrategia, long linhas, long duracaoMillis) {
+
+        public long linhasPorSegundo() {
+            return linhas * 1_000 / Math.max(1, duracaoMillis);
+        }
+    }
+
+    private interface FonteSeed extends Iterator<LinhaSeed>, AutoCloseable {
+        @Override
+        void close();
+    }
+
+    /**
+     * Linhas lidas da fixture CSV.
+     */
+    private static final class FonteCsv implements FonteSeed {
+
+        private final BufferedReader leitor;
+        private String proxima;
+        private long numeroLinha = 1;
+
+        FonteCsv(BufferedReader leitor) throws IOException {
+            this.leitor = leitor;
+            String cabecalho = leitor.readLine();
+            if (cabecalho == null || !CABECALHO.equals(cabecalho.strip().replace("\uFEFF", ""))) {
+                leitor.close();
+                throw new IllegalArgumentException("Cabeçalho da fixture deve ser: " + CABECALHO);
+            }
+            avancar();
+        }
+
+        private void avancar() throws IOException {
+            do {
+                proxima = leitor.readLine();
+                numeroLinha++;
+            } while (proxima != null && proxima.isBlank());
+        }
+
+        @Override
+        public boolean hasNext() {
+            return proxima != null;
+        }
+
+        @Override
+        public LinhaSeed next() {
+            if (proxima == null) {
+                throw new NoSuchElementException();
+            }
+            List<String> campos = dividirCsv(proxima);
+            if (campos.size() != 4) {
+                throw new IllegalArgumentException("Linha " + numeroLinha + " da fixture deve ter 4 campos");
+            }
+            LinhaSeed linha = new LinhaSeed(campos.get(0), campos.get(1).isEmpty() ? null : campos.get(1),
+                new BigDecimal(campos.get(2)), Boolean.parseBoolean(campos.get(3)));
+            try {
+                avancar();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return linha;
+        }
+
+        @Override
+        public void close() {
+            try {
+                leitor.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * Linhas geradas pelo {@link DatasetGenerator} quando nenhuma fixture é informada.
+     */
+    private static final class FonteSintetica implements FonteSeed {
+
+        private final Iterator<LinhaSeed> linhas;
+
+        FonteSintetica(Iterator<LinhaSeed> linhas) {
+            this.linhas = linhas;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return linhas.hasNext();
+        }
+
+        @Override
+        public LinhaSeed next() {
+            return linhas.next();
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.bip.infrastructure.warmup;
+
+/**
+ * Configuração do warmup executado na inicialização.
+ *
+ * <p>Os valores são lidos de propriedades de sistema ({@code -Dbip.warmup.*})
+ * para funcionar igualmente no Jetty e nos servidores de aplicação.</p>
+ *
+ * @param habilitado se o warmup é executado antes de a aplicação ficar pronta
+ * @param iteracoes repetições de cada etapa do warmup
+ *
+ * @author BIP API Team
+ * @since 1.1
+ */
+public record WarmupConfig(boolean habilitado, int iteracoes) {
+
+    public static final String PREFIXO = "bip.warmup.";
+
+    public WarmupConfig {
+        if (iteracoes <= 0) {
+            throw new IllegalArgumentException("Iterações do warmup devem ser positivas");
+        }
+    }
+
+    /**
+     * Carrega a configuração a partir das propriedades de sistema.
+     */
+    public static WarmupConfig fromSystemProperties() {
+        return new WarmupConfig(
+            Boolean.parseBoolean(System.getProperty(PREFIXO + "habilitado", "true")),
+            Integer.getInteger(PREFIXO + "iteracoes", 200)
+        );
+    }
+}
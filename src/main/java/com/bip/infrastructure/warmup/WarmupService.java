@@ -0,0 +1,279 @@
+package com.bip.infrastructure.warmup;
+
+import com.bip.application.dtos.AtualizarBeneficioDto;
+import com.bip.application.dtos.BeneficioDto;
+import com.bip.application.dtos.CriarBeneficioDto;
+import com.bip.application.dtos.TransferenciaDto;
+import com.bip.application.mappers.BeneficioMapper;
+import com.bip.application.metrics.MedicaoInterceptor;
+import com.bip.application.services.SaldoFragmentadoService;
+import com.bip.application.usecases.TransferenciaUseCase;
+import com.bip.domain.entities.Beneficio;
+import com.bip.domain.valueobjects.Money;
+import com.bip.infrastructure.configuration.JacksonConfig;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.context.Initialized;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityTransaction;
+import jakarta.persistence.NamedQueries;
+import jakarta.persistence.NamedQuery;
+import jakarta.persistence.Parameter;
+import jakarta.persistence.Query;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Aquece a JVM na inicialização, antes de a aplicação se declarar pronta.
+ *
+ * <p>As primeiras requisições pagariam a compilação JIT, a tradução das
+ * consultas do Hibernate e a criação dos serializadores do Jackson. O warmup
+ * executa cada etapa por um número configurável de iterações:</p>
+ *
+ * <ol>
+ *   <li>todas as consultas nomeadas de {@link Beneficio}, com parâmetros sintéticos,
+ *       em uma transação desfeita ao final;</li>
+ *   <li>o {@link BeneficioMapper} sobre entidades e DTOs sintéticos;</li>
+ *   <li>serialização e desserialização dos DTOs pelo ObjectMapper dos endpoints;</li>
+ *   <li>o caminho direto do {@link TransferenciaUseCase} (lock, leituras, débito,
+ *       crédito e gravação) entre dois benefícios existentes, em uma transação
+ *       desfeita ao final.</li>
+ * </ol>
+ *
+ * <p>As etapas correm em {@link MedicaoInterceptor#semRegistro(Runnable)}: as
+ * chamadas sintéticas não entram nos histogramas dos beans {@code @Medido}.</p>
+ *
+ * <p>Falhas em uma etapa são registradas no relatório e não impedem a
+ * aplicação de ficar pronta: o warmup só antecipa custos.</p>
+ *
+ * @author BIP API Team
+ * @since 1.1
+ */
+@ApplicationScoped
+public class WarmupService {
+
+    private static final Logger LOGGER = Logger.getLogger(WarmupService.class.getName());
+
+    private static final BigDecimal VALOR_SINTETICO = new BigDecimal("0.01");
+
+    @Inject
+    private TransferenciaUseCase transferenciaUseCase;
+
+    @Inject
+    private SaldoFragmentadoService saldoFragmentado;
+
+    @Inject
+    private BeneficioMapper beneficioMapper;
+
+    /**
+     * EntityManager próprio: as consultas nomeadas rodam fora da transação do repositório.
+     */
+    @Inject
+    private EntityManager entityManager;
+
+    private volatile Relatorio relatorio;
+
+    void aoIniciar(@Observes @Initialized(ApplicationScoped.class) Object evento) {
+        executar(WarmupConfig.fromSystemProperties());
+    }
+
+    /**
+     * Executa o warmup e marca a aplicação como pronta ao final.
+     *
+     * @return relatório com a duração de cada etapa
+     */
+    Relatorio executar(WarmupConfig config) {
+        if (!config.habilitado()) {
+            relatorio = new Relatorio(false, 0, 0L, Map.of(), List.of(), List.of());
+            LOGGER.info("Warmup desabilitado");
+            return relatorio;
+        }
+
+        LOGGER.info(String.format("Iniciando warmup com %d iterações...", config.iteracoes()));
+        long inicio = System.nanoTime();
+        Map<String, Long> etapas = new LinkedHashMap<>();
+        List<String> falhas = new ArrayList<>();
+        List<String> consultas = consultasNomeadas().stream().map(NamedQuery::name).toList();
+
+        executarEtapa("consultas", etapas, falhas, () -> aquecerConsultas(config.iteracoes()));
+        executarEtapa("mapper", etapas, falhas, () -> aquecerMapper(config.iteracoes()));
+        executarEtapa("jackson", etapas, falhas, () -> aquecerJackson(config.iteracoes()));
+        executarEtapa("transferencia", etapas, falhas, () -> aquecerTransferencia(config.iteracoes()));
+
+        long duracaoMillis = (System.nanoTime() - inicio) / 1_000_000;
+        relatorio = new Relatorio(true, config.iteracoes(), duracaoMillis, Collections.unmodifiableMap(etapas),
+            consultas, List.copyOf(falhas));
+        LOGGER.info(String.format("Warmup concluído em %d ms: %s%s", duracaoMillis, etapas,
+            falhas.isEmpty() ? "" : " (falhas: " + falhas + ")"));
+        return relatorio;
+    }
+
+    /**
+     * Indica se o warmup terminou (ou está desabilitado).
+     */
+    public boolean isPronto() {
+        return relatorio != null;
+    }
+
+    /**
+     * Relatório do warmup; nulo enquanto não terminou.
+     */
+    public Relatorio getRelatorio() {
+        return relatorio;
+    }
+
+    private void executarEtapa(String nome, Map<String, Long> etapas, List<String> falhas, Runnable etapa) {
+        long inicio = System.nanoTime();
+        try {
+            MedicaoInterceptor.semRegistro(etapa);
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Falha na etapa de warmup: " + nome, e);
+            falhas.add(nome + ": " + e.getMessage());
+        }
+        etapas.put(nome, (System.nanoTime() - inicio) / 1_000_000);
+    }
+
+    private void aquecerConsultas(int iteracoes) {
+        List<NamedQuery> consultas = consultasNomeadas();
+        EntityTransaction transacao = entityManager.getTransaction();
+
+        for (int i = 0; i < iteracoes; i++) {
+            transacao.begin();
+            try {
+                for (NamedQuery consulta : consultas) {
+                    Query query = entityManager.createNamedQuery(consulta.name());
+                    for (Parameter<?> parametro : query.getParameters()) {
+                        query.setParameter(parametro.getName(), valorSintetico(parametro.getName()));
+                    }
+                    if (isAlteracao(consulta)) {
+                        query.executeUpdate();
+                    } else {
+                        query.setMaxResults(1).getResultList();
+                    }
+                }
+            } finally {
+                transacao.rollback();
+                entityManager.clear();
+            }
+        }
+    }
+
+    private void aquecerMapper(int iteracoes) {
+        for (int i = 0; i < iteracoes; i++) {
+            Beneficio beneficio = beneficioSintetico("Warmup " + i);
+            beneficioMapper.toDto(beneficio);
+            beneficioMapper.toDtoList(List.of(beneficio, beneficio));
+            beneficioMapper.toEntity(new CriarBeneficioDto("Warmup " + i, "Warmup", new BigDecimal("10.00")));
+        }
+    }
+
+    private void aquecerJackson(int iteracoes) {
+        ObjectMapper objectMapper = JacksonConfig.getObjectMapper();
+        try {
+            for (int i = 0; i < iteracoes; i++) {
+                BeneficioDto dto = new BeneficioDto((long) i, "Warmup " + i, "Warmup", new BigDecimal("10.00"),
+                    true, LocalDateTime.now(), LocalDateTime.now());
+                objectMapper.writeValueAsBytes(dto);
+                objectMapper.writeValueAsBytes(List.of(dto, dto));
+                objectMapper.writeValueAsBytes(Map.of("mensagem", "Warmup", "dados", dto,
+                    "timestamp", LocalDateTime.now()));
+
+                String transferencia = objectMapper.writeValueAsString(
+                    new TransferenciaDto(1L, 2L, new BigDecimal("1.00"), "Warmup"));
+                objectMapper.readValue(transferencia, TransferenciaDto.class);
+                objectMapper.readValue(objectMapper.writeValueAsString(
+                    new CriarBeneficioDto("Warmup", "Warmup", BigDecimal.TEN)), CriarBeneficioDto.class);
+                objectMapper.readValue("{\"nome\":\"Warmup\",\"descricao\":\"Warmup\",\"valorInicial\":10.00}",
+                    AtualizarBeneficioDto.class);
+            }
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Falha ao aquecer o Jackson", e);
+        }
+    }
+
+    private void aquecerTransferencia(int iteracoes) {
+        List<Long> ids = beneficiosParaEnsaio();
+        if (ids.size() < 2) {
+            LOGGER.info("Warmup da transferência ignorado: menos de dois benefícios ativos sem saldo fragmentado");
+            return;
+        }
+
+        // Benefícios existentes: inserir sintéticos consumiria valores da identidade mesmo desfeitos
+        TransferenciaDto dto = new TransferenciaDto(ids.get(0), ids.get(1), VALOR_SINTETICO, "Warmup");
+        for (int i = 0; i < iteracoes; i++) {
+            transferenciaUseCase.ensaiarTransferencia(dto);
+        }
+    }
+
+    /**
+     * Dois benefícios ativos sem saldo fragmentado, a origem com o maior saldo.
+     */
+    private List<Long> beneficiosParaEnsaio() {
+        Set<Long> fragmentados = saldoFragmentado.getBeneficiosFragmentados();
+        try {
+            return entityManager.createQuery(
+                    "SELECT b.id FROM Beneficio b WHERE b.ativo = true ORDER BY b.saldo.valor DESC", Long.class)
+                .setMaxResults(2 + fragmentados.size())
+                .getResultList().stream()
+                .filter(id -> !fragmentados.contains(id))
+                .limit(2)
+                .toList();
+        } finally {
+            entityManager.clear();
+        }
+    }
+
+    private static Beneficio beneficioSintetico(String nome) {
+        return Beneficio.criar(nome, "Warmup", Money.of(new BigDecimal("10.00")));
+    }
+
+    static List<NamedQuery> consultasNomeadas() {
+        NamedQueries consultas = Beneficio.class.getAnnotation(NamedQueries.class);
+        return consultas != null ? List.of(consultas.value()) : List.of();
+    }
+
+    private static boolean isAlteracao(NamedQuery consulta) {
+        String jpql = consulta.query().stripLeading().toUpperCase();
+        return jpql.startsWith("UPDATE") || jpql.startsWith("DELETE");
+    }
+
+    /**
+     * Valores que não correspondem a nenhum benefício: as consultas percorrem o
+     * plano completo sem retornar nem alterar linhas.
+     */
+    private static Object valorSintetico(String parametro) {
+        return switch (parametro) {
+            case "id" -> -1L;
+            case "ids" -> List.of(-1L);
+            case "nome" -> "__warmup__";
+            case "valor" -> BigDecimal.ZERO;
+            case "agora" -> LocalDateTime.now();
+            default -> throw new IllegalStateException("Parâmetro sem valor sintético no warmup: " + parametro);
+        };
+    }
+
+    /**
+     * Relatório do warmup.
+     *
+     * @param habilitado se o warmup foi executado
+     * @param iteracoes repetições de cada etapa
+     * @param duracaoMillis duração total
+     * @param etapasMillis duração de cada etapa, na ordem de execução
+     * @param consultas consultas nomeadas aquecidas
+     * @param falhas etapas que falharam, com a mensagem de erro
+     */
+    public record Relatorio(boolean habilitado, int iteracoes, long duracaoMillis,
+                            Map<String, Long> etapasMillis, List<String> consultas, List<String> falhas) {
+    }
+}
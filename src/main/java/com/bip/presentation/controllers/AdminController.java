@@ -0,0 +1,406 @@
+package com.bip.presentation.controllers;
+
+import com.bip.application.cache.BeneficioCache;
+import com.bip.application.concurrency.DetectorChavesQuentes;
+import com.bip.application.concurrency.StripedLockManager;
+import com.bip.application.jfr.GravadorJfr;
+import com.bip.application.ledger.LedgerEngine;
+import com.bip.application.tracing.Rastro;
+import com.bip.application.tracing.RastreadorRequisicoes;
+import com.bip.infrastructure.persistence.EstatisticasHibernate;
+import com.bip.infrastructure.persistence.RegistroConsultasLentas;
+import com.bip.presentation.utils.ErrorResponseBuilder;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.DefaultValue;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Controller REST com endpoints operacionais de diagnóstico.
+ * 
+ * <p>Expõe métricas internas (locks, filas, executores) para acompanhamento
+ * de contenção sob carga, os benefícios mais disputados em transferências,
+ * as estatísticas do Hibernate, as consultas lentas,
+ * os rastros das últimas requisições e controla a gravação do JDK Flight
+ * Recorder.
+ * Não altera estado de negócio.</p>
+ * 
+ * @author BIP API Team
+ * @since 1.1
+ */
+@Path("/admin")
+@Produces(MediaType.APPLICATION_JSON)
+public class AdminController {
+    
+    @Inject
+    private StripedLockManager lockManager;
+    
+    @Inject
+    private LedgerEngine ledger;
+    
+    @Inject
+    private BeneficioCache cache;
+    
+    @Inject
+    private DetectorChavesQuentes chavesQuentes;
+    
+    @Inject
+    private GravadorJfr gravadorJfr;
+    
+    @Inject
+    private RastreadorRequisicoes rastreador;
+    
+    @Inject
+    private EstatisticasHibernate estatisticasHibernate;
+    
+    @Inject
+    private RegistroConsultasLentas consultasLentas;
+    
+    @Inject
+    private ErrorResponseBuilder errorResponseBuilder;
+    
+    /**
+     * Métricas por stripe da tabela de locks de benefícios.
+     * 
+     * @param limite quantidade máxima de stripes retornados, ordenados por espera total
+     * @return resposta com resumo e estatísticas dos stripes mais disputados
+     */
+    @GET
+    @Path("/locks")
+    public Response getLocks(@QueryParam("limite") @DefaultValue("20") int limite) {
+        try {
+            if (limite <= 0) {
+                return errorResponseBuilder.buildBadRequestError(
+                    new IllegalArgumentException("Limite deve ser um número positivo"));
+            }
+            
+            List<StripedLockManager.EstatisticaStripe> estatisticas = lockManager.getEstatisticas();
+            
+            Map<String, Object> resultado = new HashMap<>();
+            resultado.put("habilitado", lockManager.isHabilitado());
+            resultado.put("stripes", lockManager.getQuantidadeStripes());
+            resultado.put("stripesUtilizados", estatisticas.size());
+            resultado.put("aquisicoes", estatisticas.stream().mapToLong(e -> e.aquisicoes()).sum());
+            resultado.put("contencoes", estatisticas.stream().mapToLong(e -> e.contencoes()).sum());
+            resultado.put("timeouts", estatisticas.stream().mapToLong(e -> e.timeouts()).sum());
+            resultado.put("aguardandoAgora", estatisticas.stream().mapToInt(e -> e.filaAtual()).sum());
+            resultado.put("maisDisputados", estatisticas.stream().limit(limite).toList());
+            resultado.put("timestamp", LocalDateTime.now());
+            
+            return errorResponseBuilder.buildSuccessResponse(resultado);
+            
+        } catch (Exception e) {
+            return errorResponseBuilder.buildInternalServerError(e);
+        }
+    }
+    
+    /**
+     * Situação do ledger em memória: sequências do journal e do último
+     * snapshot gravado no banco, ocupação do ring buffer e contadores.
+     * 
+     * @return resposta com as estatísticas do ledger
+     */
+    @GET
+    @Path("/ledger")
+    public Response getLedger() {
+        try {
+            LedgerEngine.Estatisticas estatisticas = ledger.getEstatisticas();
+            
+            Map<String, Object> resultado = new HashMap<>();
+            resultado.put("habilitado", estatisticas.habilitado());
+            resultado.put("falhou", estatisticas.falhou());
+            resultado.put("sequencia", estatisticas.sequencia());
+            resultado.put("sequenciaSnapshot", estatisticas.sequenciaSnapshot());
+            resultado.put("defasagemSnapshot", estatisticas.sequencia() - estatisticas.sequenciaSnapshot());
+            resultado.put("transferencias", estatisticas.transferencias());
+            resultado.put("rejeitadas", estatisticas.rejeitadas());
+            resultado.put("lotes", estatisticas.lotes());
+            resultado.put("snapshots", estatisticas.snapshots());
+            resultado.put("falhasSnapshot", estatisticas.falhasSnapshot());
+            resultado.put("pendentes", estatisticas.pendentes());
+            resultado.put("capacidade", estatisticas.capacidade());
+            resultado.put("timestamp", LocalDateTime.now());
+            
+            return errorResponseBuilder.buildSuccessResponse(resultado);
+            
+        } catch (Exception e) {
+            return errorResponseBuilder.buildInternalServerError(e);
+        }
+    }
+    
+    /**
+     * Situação do cache de benefícios: ocupação, taxa de acerto e entradas
+     * restauradas do snapshot na inicialização.
+     * 
+     * @return resposta com as estatísticas do cache
+     */
+    @GET
+    @Path("/cache")
+    public Response getCache() {
+        try {
+            BeneficioCache.Estatisticas estatisticas = cache.getEstatisticas();
+            long consultas = estatisticas.acertos() + estatisticas.faltas();
+            
+            Map<String, Object> resultado = new HashMap<>();
+            resultado.put("habilitado", estatisticas.habilitado());
+            resultado.put("entradas", estatisticas.entradas());
+            resultado.put("capacidade", estatisticas.capacidade());
+            resultado.put("acertos", estatisticas.acertos());
+            resultado.put("faltas", estatisticas.faltas());
+            resultado.put("taxaAcerto", consultas > 0 ? (double) estatisticas.acertos() / consultas : 0.0);
+            resultado.put("invalidacoes", estatisticas.invalidacoes());
+            resultado.put("restaurados", estatisticas.restaurados());
+            resultado.put("timestamp", LocalDateTime.now());
+            
+            return errorResponseBuilder.buildSuccessResponse(resultado);
+            
+        } catch (Exception e) {
+            return errorResponseBuilder.buildInternalServerError(e);
+        }
+    }
+    
+    /**
+     * Benefícios que mais participam de transferências na janela recente, como
+     * origem ou destino, com as estimativas do count-min sketch.
+     * 
+     * @param limite quantidade máxima de benefícios retornados
+     * @return resposta com a configuração do detector, o erro máximo das estimativas e o ranking
+     */
+    @GET
+    @Path("/chaves-quentes")
+    public Response getChavesQuentes(@QueryParam("limite") @DefaultValue("10") int limite) {
+        try {
+            if (limite <= 0) {
+                return errorResponseBuilder.buildBadRequestError(
+                    new IllegalArgumentException("Limite deve ser um número positivo"));
+            }
+            
+            DetectorChavesQuentes.Estatisticas estatisticas = chavesQuentes.getEstatisticas();
+            
+            Map<String, Object> resultado = new HashMap<>();
+            resultado.put("habilitado", estatisticas.habilitado());
+            resultado.put("participacoes", estatisticas.participacoes());
+            resultado.put("erroMaximo", estatisticas.erroMaximo());
+            resultado.put("decaimentos", estatisticas.decaimentos());
+            resultado.put("janelaSegundos", estatisticas.janelaSegundos());
+            resultado.put("largura", estatisticas.largura());
+            resultado.put("profundidade", estatisticas.profundidade());
+            resultado.put("quantidade", estatisticas.quantidade());
+            resultado.put("maisQuentes", chavesQuentes.getMaisQuentes(limite));
+            resultado.put("timestamp", LocalDateTime.now());
+            
+            return errorResponseBuilder.buildSuccessResponse(resultado);
+            
+        } catch (Exception e) {
+            return errorResponseBuilder.buildInternalServerError(e);
+        }
+    }
+    
+    /**
+     * Estatísticas do Hibernate: execuções e tempos por consulta, caches,
+     * flushes, conexões e entidades carregadas.
+     * 
+     * @param limite quantidade máxima de consultas detalhadas, ordenadas pelo tempo total
+     * @return resposta com o resumo das estatísticas
+     */
+    @GET
+    @Path("/hibernate")
+    public Response getHibernate(@QueryParam("limite") @DefaultValue("20") int limite) {
+        try {
+            if (limite <= 0) {
+                return errorResponseBuilder.buildBadRequestError(
+                    new IllegalArgumentException("Limite deve ser um número positivo"));
+            }
+            return errorResponseBuilder.buildSuccessResponse(estatisticasHibernate.getResumo(limite));
+        } catch (Exception e) {
+            return errorResponseBuilder.buildInternalServerError(e);
+        }
+    }
+    
+    /**
+     * Zera as estatísticas do Hibernate, para medir um intervalo a partir de agora.
+     * 
+     * @return resposta com o resumo zerado
+     */
+    @POST
+    @Path("/hibernate/limpar")
+    public Response limparHibernate() {
+        try {
+            estatisticasHibernate.limpar();
+            return errorResponseBuilder.buildSuccessResponse(estatisticasHibernate.getResumo(20));
+        } catch (Exception e) {
+            return errorResponseBuilder.buildInternalServerError(e);
+        }
+    }
+    
+    /**
+     * Consultas dos repositórios acima do limite de lentidão, com os parâmetros.
+     * 
+     * @param limite quantidade máxima de consultas retornadas, da mais nova para a mais antiga
+     * @return resposta com o limite configurado e as consultas lentas recentes
+     */
+    @GET
+    @Path("/consultas-lentas")
+    public Response getConsultasLentas(@QueryParam("limite") @DefaultValue("50") int limite) {
+        try {
+            if (limite <= 0) {
+                return errorResponseBuilder.buildBadRequestError(
+                    new IllegalArgumentException("Limite deve ser um número positivo"));
+            }
+            
+            List<RegistroConsultasLentas.ConsultaLenta> recentes = consultasLentas.getRecentes(limite);
+            
+            Map<String, Object> resultado = new HashMap<>();
+            resultado.put("limiteLentoMs", consultasLentas.getConfig().limiteLentoMillis());
+            resultado.put("capacidade", consultasLentas.getConfig().capacidadeLentas());
+            resultado.put("total", consultasLentas.getTotal());
+            resultado.put("consultas", recentes);
+            resultado.put("timestamp", LocalDateTime.now());
+            
+            return errorResponseBuilder.buildSuccessResponse(resultado);
+            
+        } catch (Exception e) {
+            return errorResponseBuilder.buildInternalServerError(e);
+        }
+    }
+    
+    /**
+     * Rastros das últimas requisições guardadas, do mais novo para o mais antigo.
+     * 
+     * @param lentos apenas as requisições acima do limite de lentidão
+     * @param endpoint trecho do endpoint, ex.: {@code POST /transferencias}
+     * @param limite quantidade máxima de rastros retornados
+     * @return resposta com a configuração do rastreamento e os rastros com seus spans
+     */
+    @GET
+    @Path("/traces")
+    public Response getTraces(@QueryParam("lentos") @DefaultValue("false") boolean lentos,
+                              @QueryParam("endpoint") String endpoint,
+                              @QueryParam("limite") @DefaultValue("50") int limite) {
+        try {
+            if (limite <= 0) {
+                return errorResponseBuilder.buildBadRequestError(
+                    new IllegalArgumentException("Limite deve ser um número positivo"));
+            }
+            
+            List<Rastro> rastros = rastreador.consultar(lentos, endpoint, limite);
+            
+            Map<String, Object> resultado = new HashMap<>();
+            resultado.put("habilitado", rastreador.getConfig().habilitado());
+            resultado.put("amostragem", rastreador.getConfig().amostragem());
+            resultado.put("limiteLentoMs", rastreador.getConfig().limiteLentoMillis());
+            resultado.put("capacidade", rastreador.getCapacidade());
+            resultado.put("guardados", rastreador.getGuardados());
+            resultado.put("retornados", rastros.size());
+            resultado.put("rastros", rastros);
+            resultado.put("timestamp", LocalDateTime.now());
+            
+            return errorResponseBuilder.buildSuccessResponse(resultado);
+            
+        } catch (Exception e) {
+            return errorResponseBuilder.buildInternalServerError(e);
+        }
+    }
+    
+    /**
+     * Situação da gravação JFR.
+     * 
+     * @return resposta com estado, início, fim e tamanho da gravação
+     */
+    @GET
+    @Path("/jfr")
+    public Response getJfr() {
+        try {
+            return errorResponseBuilder.buildSuccessResponse(gravadorJfr.getSituacao());
+        } catch (Exception e) {
+            return errorResponseBuilder.buildInternalServerError(e);
+        }
+    }
+    
+    /**
+     * Inicia uma gravação JFR com os eventos da JVM e da aplicação.
+     * 
+     * @param configuracao {@code default} (custo abaixo de 1%) ou {@code profile}
+     * @param duracaoMaxima segundos até a gravação parar sozinha
+     * @param tamanhoMaximo megabytes mantidos; os dados mais antigos são descartados
+     * @return resposta com a situação da gravação; 409 se já houver uma em andamento
+     */
+    @POST
+    @Path("/jfr/iniciar")
+    public Response iniciarJfr(@QueryParam("configuracao") @DefaultValue("default") String configuracao,
+                               @QueryParam("duracaoMaxima") @DefaultValue("600") long duracaoMaxima,
+                               @QueryParam("tamanhoMaximo") @DefaultValue("256") long tamanhoMaximo) {
+        try {
+            return errorResponseBuilder.buildSuccessResponse(gravadorJfr.iniciar(configuracao,
+                Duration.ofSeconds(duracaoMaxima), tamanhoMaximo * 1024 * 1024));
+        } catch (IllegalArgumentException e) {
+            return errorResponseBuilder.buildBadRequestError(e);
+        } catch (IllegalStateException e) {
+            return errorResponseBuilder.buildErrorResponse(Response.Status.CONFLICT,
+                "Gravação JFR em andamento", e.getMessage());
+        } catch (Exception e) {
+            return errorResponseBuilder.buildInternalServerError(e);
+        }
+    }
+    
+    /**
+     * Para a gravação JFR em andamento; os dados seguem disponíveis em {@code /jfr/dump}.
+     * 
+     * @return resposta com a situação da gravação; 409 se não houver uma em andamento
+     */
+    @POST
+    @Path("/jfr/parar")
+    public Response pararJfr() {
+        try {
+            return errorResponseBuilder.buildSuccessResponse(gravadorJfr.parar());
+        } catch (IllegalStateException e) {
+            return errorResponseBuilder.buildErrorResponse(Response.Status.CONFLICT,
+                "Nenhuma gravação JFR em andamento", e.getMessage());
+        } catch (Exception e) {
+            return errorResponseBuilder.buildInternalServerError(e);
+        }
+    }
+    
+    /**
+     * Arquivo {@code .jfr} da gravação atual, em andamento ou parada, para
+     * abrir no JDK Mission Control ou com {@code jfr print}.
+     * 
+     * @return resposta com o arquivo; 404 se nenhuma gravação foi iniciada
+     */
+    @GET
+    @Path("/jfr/dump")
+    @Produces(MediaType.APPLICATION_OCTET_STREAM)
+    public Response despejarJfr() {
+        try {
+            java.nio.file.Path arquivo = gravadorJfr.despejar();
+            StreamingOutput conteudo = saida -> {
+                try {
+                    Files.copy(arquivo, saida);
+                } finally {
+                    Files.deleteIfExists(arquivo);
+                }
+            };
+            String nome = "bip-" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".jfr";
+            return Response.ok(conteudo, MediaType.APPLICATION_OCTET_STREAM)
+                .header("Content-Disposition", "attachment; filename=\"" + nome + "\"")
+                .build();
+        } catch (IllegalStateException e) {
+            return errorResponseBuilder.buildNotFoundError(e);
+        } catch (Exception e) {
+            return errorResponseBuilder.buildInternalServerError(e);
+        }
+    }
+}
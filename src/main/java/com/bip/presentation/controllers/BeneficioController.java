@@ -5,9 +5,12 @@ import com.bip.application.dtos.BeneficioDto;
 import com.bip.application.dtos.CriarBeneficioDto;
 import com.bip.application.usecases.BeneficioUseCase;
 import com.bip.presentation.utils.ErrorResponseBuilder;
+import com.bip.presentation.utils.RespostasAssincronas;
 import jakarta.inject.Inject;
 import jakarta.validation.Valid;
 import jakarta.ws.rs.*;
+import jakarta.ws.rs.container.AsyncResponse;
+import jakarta.ws.rs.container.Suspended;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 import java.util.List;
@@ -26,6 +29,9 @@ public class BeneficioController {
     @Inject
     private ErrorResponseBuilder errorResponseBuilder;
     
+    @Inject
+    private RespostasAssincronas respostas;
+    
     @GET
     @Path("/status")
     public Response getStatus() {
@@ -49,138 +55,156 @@ public class BeneficioController {
     }
 
     @GET
-    public Response listarTodos() {
-        try {
-            final List<BeneficioDto> beneficios = beneficioUseCase.listarTodos();
-            return errorResponseBuilder.buildSuccessResponse(beneficios);
+    public void listarTodos(@Suspended final AsyncResponse respostaAssincrona) {
+        respostas.ler(respostaAssincrona, () -> {
+            try {
+                final List<BeneficioDto> beneficios = beneficioUseCase.listarTodos();
+                return errorResponseBuilder.buildSuccessResponse(beneficios);
             
-        } catch (Exception e) {
-            return errorResponseBuilder.buildInternalServerError(e);
-        }
+            } catch (Exception e) {
+                return errorResponseBuilder.buildInternalServerError(e);
+            }
+        });
     }
     
     @GET
     @Path("/ativos")
-    public Response listarAtivos() {
-        try {
-            final List<BeneficioDto> beneficios = beneficioUseCase.listarAtivos();
-            return errorResponseBuilder.buildSuccessResponse(beneficios);
+    public void listarAtivos(@Suspended final AsyncResponse respostaAssincrona) {
+        respostas.ler(respostaAssincrona, () -> {
+            try {
+                final List<BeneficioDto> beneficios = beneficioUseCase.listarAtivos();
+                return errorResponseBuilder.buildSuccessResponse(beneficios);
             
-        } catch (Exception e) {
-            return errorResponseBuilder.buildInternalServerError(e);
-        }
+            } catch (Exception e) {
+                return errorResponseBuilder.buildInternalServerError(e);
+            }
+        });
     }
     
     @GET
     @Path("/{id}")
-    public Response buscarPorId(@PathParam("id") final Long id) {
-        try {
-            if (id == null || id <= 0) {
-                final Map<String, Object> erro = new ConcurrentHashMap<>();
-                erro.put("erro", "ID deve ser um número positivo");
-                return Response.status(Response.Status.BAD_REQUEST).entity(erro).build();
-            }
+    public void buscarPorId(@PathParam("id") final Long id,
+                            @Suspended final AsyncResponse respostaAssincrona) {
+        respostas.ler(respostaAssincrona, () -> {
+            try {
+                if (id == null || id <= 0) {
+                    final Map<String, Object> erro = new ConcurrentHashMap<>();
+                    erro.put("erro", "ID deve ser um número positivo");
+                    return Response.status(Response.Status.BAD_REQUEST).entity(erro).build();
+                }
             
-            final Optional<BeneficioDto> beneficio = beneficioUseCase.buscarPorId(id);
+                final Optional<BeneficioDto> beneficio = beneficioUseCase.buscarPorId(id);
             
-            if (beneficio.isPresent()) {
-                return errorResponseBuilder.buildSuccessResponse(beneficio.get());
-            } else {
-                final Map<String, Object> erro = new ConcurrentHashMap<>();
-                erro.put("erro", "Benefício não encontrado");
-                erro.put("id", id);
-                return Response.status(Response.Status.NOT_FOUND).entity(erro).build();
-            }
+                if (beneficio.isPresent()) {
+                    return errorResponseBuilder.buildSuccessResponse(beneficio.get());
+                } else {
+                    final Map<String, Object> erro = new ConcurrentHashMap<>();
+                    erro.put("erro", "Benefício não encontrado");
+                    erro.put("id", id);
+                    return Response.status(Response.Status.NOT_FOUND).entity(erro).build();
+                }
             
-        } catch (Exception e) {
-            return errorResponseBuilder.buildInternalServerError(e);
-        }
+            } catch (Exception e) {
+                return errorResponseBuilder.buildInternalServerError(e);
+            }
+        });
     }
     
     @POST
-    public Response criar(@Valid final CriarBeneficioDto dto) {
-        try {
-            final BeneficioDto beneficioCriado = beneficioUseCase.criar(dto);
-            return Response.status(Response.Status.CREATED).entity(beneficioCriado).build();
+    public void criar(@Valid final CriarBeneficioDto dto,
+                      @Suspended final AsyncResponse respostaAssincrona) {
+        respostas.escrever(respostaAssincrona, () -> {
+            try {
+                final BeneficioDto beneficioCriado = beneficioUseCase.criar(dto);
+                return Response.status(Response.Status.CREATED).entity(beneficioCriado).build();
                     
-        } catch (IllegalArgumentException e) {
-            final Map<String, Object> erro = new ConcurrentHashMap<>();
-            erro.put("erro", "Dados inválidos");
-            erro.put("detalhes", e.getMessage());
-            return Response.status(Response.Status.BAD_REQUEST).entity(erro).build();
+            } catch (IllegalArgumentException e) {
+                final Map<String, Object> erro = new ConcurrentHashMap<>();
+                erro.put("erro", "Dados inválidos");
+                erro.put("detalhes", e.getMessage());
+                return Response.status(Response.Status.BAD_REQUEST).entity(erro).build();
                     
-        } catch (Exception e) {
-            return errorResponseBuilder.buildInternalServerError(e);
-        }
+            } catch (Exception e) {
+                return errorResponseBuilder.buildInternalServerError(e);
+            }
+        });
     }
     
     @PUT
     @Path("/{id}")
-    public Response atualizar(@PathParam("id") final Long id, @Valid final AtualizarBeneficioDto dto) {
-        try {
-            if (id == null || id <= 0) {
-                final Map<String, Object> erro = new ConcurrentHashMap<>();
-                erro.put("erro", "ID deve ser um número positivo");
-                return Response.status(Response.Status.BAD_REQUEST).entity(erro).build();
-            }
+    public void atualizar(@PathParam("id") final Long id, @Valid final AtualizarBeneficioDto dto,
+                          @Suspended final AsyncResponse respostaAssincrona) {
+        respostas.escrever(respostaAssincrona, () -> {
+            try {
+                if (id == null || id <= 0) {
+                    final Map<String, Object> erro = new ConcurrentHashMap<>();
+                    erro.put("erro", "ID deve ser um número positivo");
+                    return Response.status(Response.Status.BAD_REQUEST).entity(erro).build();
+                }
             
-            final BeneficioDto beneficioAtualizado = beneficioUseCase.atualizar(id, dto);
-            return errorResponseBuilder.buildSuccessResponse(beneficioAtualizado);
+                final BeneficioDto beneficioAtualizado = beneficioUseCase.atualizar(id, dto);
+                return errorResponseBuilder.buildSuccessResponse(beneficioAtualizado);
                     
-        } catch (IllegalArgumentException e) {
-            final Map<String, Object> erro = new ConcurrentHashMap<>();
-            erro.put("erro", "Dados inválidos");
-            erro.put("detalhes", e.getMessage());
-            return Response.status(Response.Status.BAD_REQUEST).entity(erro).build();
+            } catch (IllegalArgumentException e) {
+                final Map<String, Object> erro = new ConcurrentHashMap<>();
+                erro.put("erro", "Dados inválidos");
+                erro.put("detalhes", e.getMessage());
+                return Response.status(Response.Status.BAD_REQUEST).entity(erro).build();
                     
-        } catch (Exception e) {
-            return errorResponseBuilder.buildInternalServerError(e);
-        }
+            } catch (Exception e) {
+                return errorResponseBuilder.buildInternalServerError(e);
+            }
+        });
     }
     
     @DELETE
     @Path("/{id}")
-    public Response remover(@PathParam("id") final Long id) {
-        try {
-            if (id == null || id <= 0) {
-                final Map<String, Object> erro = new ConcurrentHashMap<>();
-                erro.put("erro", "ID deve ser um número positivo");
-                return Response.status(Response.Status.BAD_REQUEST).entity(erro).build();
-            }
+    public void remover(@PathParam("id") final Long id,
+                        @Suspended final AsyncResponse respostaAssincrona) {
+        respostas.escrever(respostaAssincrona, () -> {
+            try {
+                if (id == null || id <= 0) {
+                    final Map<String, Object> erro = new ConcurrentHashMap<>();
+                    erro.put("erro", "ID deve ser um número positivo");
+                    return Response.status(Response.Status.BAD_REQUEST).entity(erro).build();
+                }
             
-            beneficioUseCase.remover(id);
-            final Map<String, Object> sucesso = new ConcurrentHashMap<>();
-            sucesso.put("mensagem", "Benefício removido com sucesso");
-            sucesso.put("id", id);
-            return Response.ok(sucesso).build();
+                beneficioUseCase.remover(id);
+                final Map<String, Object> sucesso = new ConcurrentHashMap<>();
+                sucesso.put("mensagem", "Benefício removido com sucesso");
+                sucesso.put("id", id);
+                return Response.ok(sucesso).build();
                     
-        } catch (IllegalArgumentException e) {
-            final Map<String, Object> erro = new ConcurrentHashMap<>();
-            erro.put("erro", "Benefício não encontrado");
-            erro.put("detalhes", e.getMessage());
-            return Response.status(Response.Status.NOT_FOUND).entity(erro).build();
+            } catch (IllegalArgumentException e) {
+                final Map<String, Object> erro = new ConcurrentHashMap<>();
+                erro.put("erro", "Benefício não encontrado");
+                erro.put("detalhes", e.getMessage());
+                return Response.status(Response.Status.NOT_FOUND).entity(erro).build();
                     
-        } catch (Exception e) {
-            return errorResponseBuilder.buildInternalServerError(e);
-        }
+            } catch (Exception e) {
+                return errorResponseBuilder.buildInternalServerError(e);
+            }
+        });
     }
     
     @GET
     @Path("/estatisticas")
-    public Response estatisticas() {
-        try {
-            final long totalAtivos = beneficioUseCase.contarAtivos();
-            final java.math.BigDecimal somaValores = beneficioUseCase.somarValoresAtivos();
+    public void estatisticas(@Suspended final AsyncResponse respostaAssincrona) {
+        respostas.ler(respostaAssincrona, () -> {
+            try {
+                final long totalAtivos = beneficioUseCase.contarAtivos();
+                final java.math.BigDecimal somaValores = beneficioUseCase.somarValoresAtivos();
             
-            final java.util.Map<String, Object> estatisticas = new java.util.concurrent.ConcurrentHashMap<>();
-            estatisticas.put("totalBeneficiosAtivos", totalAtivos);
-            estatisticas.put("somaTotalValores", somaValores);
-            estatisticas.put("timestamp", java.time.LocalDateTime.now());
+                final java.util.Map<String, Object> estatisticas = new java.util.concurrent.ConcurrentHashMap<>();
+                estatisticas.put("totalBeneficiosAtivos", totalAtivos);
+                estatisticas.put("somaTotalValores", somaValores);
+                estatisticas.put("timestamp", java.time.LocalDateTime.now());
             
-            return errorResponseBuilder.buildSuccessResponse(estatisticas);
+                return errorResponseBuilder.buildSuccessResponse(estatisticas);
             
-        } catch (Exception e) {
-            return errorResponseBuilder.buildInternalServerError(e);
-        }
+            } catch (Exception e) {
+                return errorResponseBuilder.buildInternalServerError(e);
+            }
+        });
     }
 }
\ No newline at end of file
@@ -0,0 +1,65 @@
+package com.bip.presentation.controllers;
+
+import com.bip.infrastructure.warmup.WarmupService;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Controller REST com as sondas de liveness e readiness.
+ *
+ * <p>A aplicação só se declara pronta após o warmup de inicialização, para
+ * que o balanceador não envie tráfego a uma JVM ainda fria.</p>
+ *
+ * @author BIP API Team
+ * @since 1.1
+ */
+@Path("/health")
+@Produces(MediaType.APPLICATION_JSON)
+public class HealthController {
+
+    @Inject
+    private WarmupService warmupService;
+
+    /**
+     * Liveness: o processo está respondendo.
+     *
+     * @return resposta 200 com status UP
+     */
+    @GET
+    @Path("/live")
+    public Response live() {
+        Map<String, Object> resultado = new HashMap<>();
+        resultado.put("status", "UP");
+        resultado.put("timestamp", LocalDateTime.now());
+        return Response.ok(resultado).build();
+    }
+
+    /**
+     * Readiness: UP após o warmup, com o relatório do que foi aquecido;
+     * DOWN (503) enquanto o warmup não terminou.
+     *
+     * @return resposta 200 quando pronta, 503 caso contrário
+     */
+    @GET
+    @Path("/ready")
+    public Response ready() {
+        Map<String, Object> resultado = new HashMap<>();
+        resultado.put("timestamp", LocalDateTime.now());
+
+        if (!warmupService.isPronto()) {
+            resultado.put("status", "DOWN");
+            return Response.status(Response.Status.SERVICE_UNAVAILABLE).entity(resultado).build();
+        }
+
+        resultado.put("status", "UP");
+        resultado.put("warmup", warmupService.getRelatorio());
+        return Response.ok(resultado).build();
+    }
+}
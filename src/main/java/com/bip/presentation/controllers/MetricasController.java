@@ -0,0 +1,37 @@
+package com.bip.presentation.controllers;
+
+import com.bip.application.metrics.MetricasRegistry;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+
+/**
+ * Controller REST que expõe as métricas no formato de texto OpenMetrics,
+ * para coleta pelo Prometheus.
+ *
+ * <p>Equivale ao endpoint {@code /metrics} de um runtime MicroProfile Metrics,
+ * que não existe no Jetty.</p>
+ *
+ * @author BIP API Team
+ * @since 1.2
+ */
+@Path("/metrics")
+public class MetricasController {
+
+    @Inject
+    private MetricasRegistry registry;
+
+    /**
+     * Todas as métricas registradas.
+     *
+     * @return resposta 200 com o texto OpenMetrics
+     */
+    @GET
+    @Produces({MetricasRegistry.CONTENT_TYPE, MediaType.TEXT_PLAIN})
+    public Response metricas() {
+        return Response.ok(registry.openMetrics()).build();
+    }
+}
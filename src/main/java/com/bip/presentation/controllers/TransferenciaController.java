@@ -2,18 +2,31 @@ package com.bip.presentation.controllers;
 
 import com.bip.application.dtos.HistoricoTransferenciaDto;
 import com.bip.application.dtos.TransferenciaDto;
+import com.bip.application.services.IdempotenciaConflitanteException;
+import com.bip.application.services.IdempotenciaService;
+import com.bip.application.services.RespostaIdempotente;
+import com.bip.application.services.TransferenciaAssincronaService;
 import com.bip.application.usecases.TransferenciaUseCase;
+import com.bip.infrastructure.configuration.JacksonConfig;
 import com.bip.presentation.utils.ErrorResponseBuilder;
+import com.bip.presentation.utils.RespostasAssincronas;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.inject.Inject;
 import jakarta.validation.Valid;
 import jakarta.ws.rs.*;
+import jakarta.ws.rs.container.AsyncResponse;
+import jakarta.ws.rs.container.Suspended;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 import java.math.BigDecimal;
+import java.net.URI;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * Controller REST para operações de transferência entre benefícios.
@@ -30,6 +43,11 @@ import java.util.Map;
  * <p>Todos os endpoints seguem padrões REST e utilizam tratamento
  * de erro padronizado através do {@link ErrorResponseBuilder}.</p>
  * 
+ * <p>Os endpoints que acessam o banco são assíncronos: executam nos
+ * compartimentos de leitura ou de escrita ({@link RespostasAssincronas}) e
+ * respondem {@code 503} com {@code Retry-After} quando o compartimento está
+ * saturado.</p>
+ * 
  * @author BIP API Team
  * @since 1.0
  * @version 3.0.0
@@ -39,107 +57,186 @@ import java.util.Map;
 @Consumes(MediaType.APPLICATION_JSON)
 public class TransferenciaController {
     
+    /**
+     * Segundos sugeridos ao cliente quando a fila de processamento está cheia.
+     */
+    private static final int RETRY_AFTER_SEGUNDOS = 1;
+    
+    /**
+     * Header enviado pelo cliente para tornar a transferência idempotente.
+     */
+    public static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    
+    /**
+     * Header de resposta que indica uma resposta reenviada a partir do registro.
+     */
+    public static final String IDEMPOTENT_REPLAYED = "Idempotent-Replayed";
+    
+    private static final ObjectMapper OBJECT_MAPPER = JacksonConfig.criarObjectMapper();
+    
     @Inject
     private TransferenciaUseCase transferenciaUseCase;
     
+    @Inject
+    private TransferenciaAssincronaService transferenciaAssincrona;
+    
+    @Inject
+    private IdempotenciaService idempotenciaService;
+    
     @Inject
     private ErrorResponseBuilder errorResponseBuilder;
     
+    @Inject
+    private RespostasAssincronas respostas;
+    
     /**
      * Retorna o status do módulo de transferências.
      * 
-     * @return resposta com informações do status
+     * @param respostaAssincrona concluída com as informações do status
      */
     @GET
     @Path("/status")
-    public Response getStatus() {
-        try {
-            Map<String, Object> status = new HashMap<>();
-            status.put("modulo", "Transferências");
-            status.put("status", "Operacional");
-            status.put("timestamp", LocalDateTime.now());
-            status.put("totalTransferencias", transferenciaUseCase.contarTransferencias());
-            status.put("endpoints", List.of(
-                "GET /api/transferencias - Lista histórico de transferências",
-                "GET /api/transferencias/{id} - Busca transferência por ID",
-                "POST /api/transferencias - Executa nova transferência",
-                "POST /api/transferencias/validar - Valida transferência",
-                "GET /api/transferencias/taxa?valor=X - Calcula taxa",
-                "GET /api/transferencias/status - Status do módulo"
-            ));
-            
-            return errorResponseBuilder.buildSuccessResponse(status);
+    public void getStatus(@Suspended final AsyncResponse respostaAssincrona) {
+        respostas.ler(respostaAssincrona, () -> {
+            try {
+                Map<String, Object> status = new HashMap<>();
+                status.put("modulo", "Transferências");
+                status.put("status", "Operacional");
+                status.put("timestamp", LocalDateTime.now());
+                status.put("totalTransferencias", transferenciaUseCase.contarTransferencias());
+                status.put("endpoints", List.of(
+                    "GET /api/transferencias - Lista histórico de transferências",
+                    "GET /api/transferencias/{id} - Busca transferência por ID",
+                    "POST /api/transferencias - Executa nova transferência",
+                    "POST /api/transferencias/validar - Valida transferência",
+                    "GET /api/transferencias/taxa?valor=X - Calcula taxa",
+                    "GET /api/transferencias/status - Status do módulo"
+                ));
             
-        } catch (Exception e) {
-            return errorResponseBuilder.buildInternalServerError(e);
-        }
+                return errorResponseBuilder.buildSuccessResponse(status);
+            
+            } catch (Exception e) {
+                return errorResponseBuilder.buildInternalServerError(e);
+            }
+        });
     }
     
     /**
      * Lista todas as transferências realizadas.
      * 
-     * @return resposta com lista de transferências
+     * @param respostaAssincrona concluída com a lista de transferências
      */
     @GET
-    public Response listarTransferencias() {
-        try {
-            List<HistoricoTransferenciaDto> transferencias = transferenciaUseCase.listarTransferencias();
+    public void listarTransferencias(@Suspended final AsyncResponse respostaAssincrona) {
+        respostas.ler(respostaAssincrona, () -> {
+            try {
+                List<HistoricoTransferenciaDto> transferencias = transferenciaUseCase.listarTransferencias();
             
-            Map<String, Object> resultado = new HashMap<>();
-            resultado.put("transferencias", transferencias);
-            resultado.put("total", transferencias.size());
-            resultado.put("timestamp", LocalDateTime.now());
+                Map<String, Object> resultado = new HashMap<>();
+                resultado.put("transferencias", transferencias);
+                resultado.put("total", transferencias.size());
+                resultado.put("timestamp", LocalDateTime.now());
             
-            return errorResponseBuilder.buildSuccessResponse(resultado);
+                return errorResponseBuilder.buildSuccessResponse(resultado);
             
-        } catch (Exception e) {
-            return errorResponseBuilder.buildInternalServerError(e);
-        }
+            } catch (Exception e) {
+                return errorResponseBuilder.buildInternalServerError(e);
+            }
+        });
     }
     
     /**
      * Busca uma transferência específica por ID.
      * 
      * @param id ID da transferência
-     * @return resposta com dados da transferência
+     * @param respostaAssincrona concluída com os dados da transferência
      */
     @GET
     @Path("/{id}")
-    public Response buscarPorId(@PathParam("id") Long id) {
-        try {
-            if (id == null || id <= 0) {
-                return errorResponseBuilder.buildBadRequestError(
-                    new IllegalArgumentException("ID deve ser um número positivo"));
-            }
+    public void buscarPorId(@PathParam("id") Long id,
+                            @Suspended final AsyncResponse respostaAssincrona) {
+        respostas.ler(respostaAssincrona, () -> {
+            try {
+                if (id == null || id <= 0) {
+                    return errorResponseBuilder.buildBadRequestError(
+                        new IllegalArgumentException("ID deve ser um número positivo"));
+                }
             
-            HistoricoTransferenciaDto transferencia = transferenciaUseCase.buscarPorId(id);
+                HistoricoTransferenciaDto transferencia = transferenciaAssincrona.buscarTicket(id)
+                        .orElseGet(() -> transferenciaUseCase.buscarPorId(id));
             
-            if (transferencia != null) {
-                return errorResponseBuilder.buildSuccessResponse(transferencia);
-            } else {
-                Map<String, Object> erro = new HashMap<>();
-                erro.put("erro", "Transferência não encontrada");
-                erro.put("id", id);
-                return Response.status(Response.Status.NOT_FOUND).entity(erro).build();
-            }
+                if (transferencia != null) {
+                    return errorResponseBuilder.buildSuccessResponse(transferencia);
+                } else {
+                    Map<String, Object> erro = new HashMap<>();
+                    erro.put("erro", "Transferência não encontrada");
+                    erro.put("id", id);
+                    return Response.status(Response.Status.NOT_FOUND).entity(erro).build();
+                }
             
-        } catch (IllegalArgumentException e) {
-            return errorResponseBuilder.buildBadRequestError(e);
+            } catch (IllegalArgumentException e) {
+                return errorResponseBuilder.buildBadRequestError(e);
             
-        } catch (Exception e) {
-            return errorResponseBuilder.buildInternalServerError(e);
-        }
+            } catch (Exception e) {
+                return errorResponseBuilder.buildInternalServerError(e);
+            }
+        });
     }
     
     /**
      * Executa uma transferência entre dois benefícios.
      * 
+     * <p>No modo assíncrono a transferência é apenas validada e enfileirada,
+     * retornando {@code 202 Accepted} com o ticket para consulta em
+     * {@code GET /api/transferencias/{id}}.</p>
+     * 
+     * <p>Com o header {@code Idempotency-Key}, novas tentativas com a mesma chave
+     * recebem a resposta original, com seus headers, sem movimentar saldos.
+     * Reutilizar a chave com outro conteúdo responde {@code 409 Conflict} com
+     * o código {@value IdempotenciaConflitanteException#CODIGO}.</p>
+     * 
      * @param dto dados da transferência
-     * @return resposta com resultado da operação
+     * @param chaveIdempotencia valor opcional do header {@code Idempotency-Key}
+     * @param respostaAssincrona concluída com o resultado da operação
      */
     @POST
-    public Response executarTransferencia(@Valid TransferenciaDto dto) {
+    public void executarTransferencia(@Valid TransferenciaDto dto,
+                                      @HeaderParam(IDEMPOTENCY_KEY) String chaveIdempotencia,
+                                      @Suspended final AsyncResponse respostaAssincrona) {
+        respostas.escrever(respostaAssincrona, () -> {
+            if (chaveIdempotencia == null) {
+                return processarTransferencia(dto);
+            }
+        
+            try {
+                RespostaIdempotente resposta = idempotenciaService.executar(chaveIdempotencia,
+                    IdempotenciaService.hashTransferencia(dto), () -> registrar(processarTransferencia(dto)));
+            
+                Response.ResponseBuilder builder = Response.status(resposta.status())
+                        .entity(resposta.corpo())
+                        .type(MediaType.APPLICATION_JSON)
+                        .header(IDEMPOTENT_REPLAYED, resposta.reexecutada());
+                resposta.cabecalhos().forEach(builder::header);
+                return builder.build();
+            
+            } catch (IdempotenciaConflitanteException e) {
+                return errorResponseBuilder.buildConflictError(e, IdempotenciaConflitanteException.CODIGO);
+            
+            } catch (IllegalArgumentException | IllegalStateException e) {
+                return errorResponseBuilder.buildBadRequestError(e);
+            
+            } catch (Exception e) {
+                return errorResponseBuilder.buildInternalServerError(e);
+            }
+        });
+    }
+    
+    private Response processarTransferencia(TransferenciaDto dto) {
         try {
+            if (transferenciaAssincrona.isHabilitada()) {
+                return aceitarTransferencia(dto);
+            }
+            
             transferenciaUseCase.executarTransferencia(dto);
             
             Map<String, Object> resultado = new HashMap<>();
@@ -159,38 +256,77 @@ public class TransferenciaController {
         } catch (IllegalStateException e) {
             return errorResponseBuilder.buildBadRequestError(e);
             
+        } catch (RejectedExecutionException e) {
+            return errorResponseBuilder.buildServiceUnavailableError(e, RETRY_AFTER_SEGUNDOS);
+            
         } catch (Exception e) {
             return errorResponseBuilder.buildInternalServerError(e);
         }
     }
     
+    private RespostaIdempotente registrar(Response response) {
+        try {
+            String corpo = OBJECT_MAPPER.writeValueAsString(response.getEntity());
+            Map<String, String> cabecalhos = new HashMap<>();
+            response.getStringHeaders().forEach((nome, valores) -> {
+                if (!HttpHeaders.CONTENT_TYPE.equalsIgnoreCase(nome)) {
+                    cabecalhos.put(nome, String.join(",", valores));
+                }
+            });
+            return new RespostaIdempotente(response.getStatus(), corpo, cabecalhos, false);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Falha ao registrar resposta idempotente", e);
+        }
+    }
+    
+    private Response aceitarTransferencia(TransferenciaDto dto) {
+        HistoricoTransferenciaDto ticket = transferenciaAssincrona.submeter(dto);
+        
+        Map<String, Object> resultado = new HashMap<>();
+        resultado.put("sucesso", true);
+        resultado.put("mensagem", "Transferência aceita para processamento");
+        resultado.put("ticketId", ticket.getId());
+        resultado.put("status", ticket.getStatus());
+        resultado.put("origem", dto.getBeneficioOrigemId());
+        resultado.put("destino", dto.getBeneficioDestinoId());
+        resultado.put("valor", dto.getValor());
+        resultado.put("timestamp", ticket.getDataExecucao());
+        
+        return Response.accepted(resultado)
+                .location(URI.create("/api/transferencias/" + ticket.getId()))
+                .build();
+    }
+    
     /**
      * Valida uma transferência sem executá-la.
      * 
      * @param dto dados da transferência
-     * @return resposta indicando se a transferência é válida
+     * @param respostaAssincrona concluída indicando se a transferência é válida
      */
     @POST
     @Path("/validar")
-    public Response validarTransferencia(@Valid TransferenciaDto dto) {
-        try {
-            boolean valida = transferenciaUseCase.validarTransferencia(dto);
+    public void validarTransferencia(@Valid TransferenciaDto dto,
+                                     @Suspended final AsyncResponse respostaAssincrona) {
+        respostas.ler(respostaAssincrona, () -> {
+            try {
+                boolean valida = transferenciaUseCase.validarTransferencia(dto);
             
-            Map<String, Object> resultado = new HashMap<>();
-            resultado.put("valida", valida);
-            resultado.put("origem", dto.getBeneficioOrigemId());
-            resultado.put("destino", dto.getBeneficioDestinoId());
-            resultado.put("valor", dto.getValor());
+                Map<String, Object> resultado = new HashMap<>();
+                resultado.put("valida", valida);
+                resultado.put("origem", dto.getBeneficioOrigemId());
+                resultado.put("destino", dto.getBeneficioDestinoId());
+                resultado.put("valor", dto.getValor());
             
-            if (!valida) {
-                resultado.put("motivo", "Transferência não é possível (saldo insuficiente, benefícios inativos ou IDs iguais)");
-            }
+                if (!valida) {
+                    resultado.put("motivo", "Transferência não é possível (saldo insuficiente, benefícios inativos ou IDs iguais)");
+                }
             
-            return errorResponseBuilder.buildSuccessResponse(resultado);
+                return errorResponseBuilder.buildSuccessResponse(resultado);
             
-        } catch (Exception e) {
-            return errorResponseBuilder.buildInternalServerError(e);
-        }
+            } catch (Exception e) {
+                return errorResponseBuilder.buildInternalServerError(e);
+            }
+        });
     }
     
     /**
@@ -0,0 +1,123 @@
+package com.bip.presentation.filters;
+
+import com.bip.application.metrics.MetricasRegistry;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.HttpMethod;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.container.ContainerResponseFilter;
+import jakarta.ws.rs.container.ResourceInfo;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.ext.Provider;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Mede a latência de cada endpoint em {@code bip_http_requisicoes_segundos},
+ * rotulada pelo verbo, pelo template da rota e pela classe do status.
+ *
+ * <p>A rota vem das anotações {@link Path} do recurso, e não da URI, para que
+ * {@code /beneficios/1} e {@code /beneficios/2} caiam na mesma série.
+ * Requisições sem recurso correspondente são agrupadas em {@code rota="desconhecida"}.</p>
+ *
+ * @author BIP API Team
+ * @since 1.2
+ */
+@Provider
+public class MetricasHttpFilter implements ContainerRequestFilter, ContainerResponseFilter {
+
+    static final String METRICA = "bip_http_requisicoes_segundos";
+    static final String ROTA_DESCONHECIDA = "desconhecida";
+
+    private static final String INICIO = MetricasHttpFilter.class.getName() + ".inicio";
+    private static final String[] CLASSES_STATUS = {"1xx", "2xx", "3xx", "4xx", "5xx"};
+
+    @Inject
+    private MetricasRegistry registry;
+
+    @Context
+    private ResourceInfo resourceInfo;
+
+    /**
+     * Histogramas por método do recurso, indexados pela classe do status.
+     */
+    private final Map<Method, MetricasRegistry.Histograma[]> porRecurso = new ConcurrentHashMap<>();
+
+    @Override
+    public void filter(ContainerRequestContext requisicao) {
+        requisicao.setProperty(INICIO, System.nanoTime());
+    }
+
+    @Override
+    public void filter(ContainerRequestContext requisicao, ContainerResponseContext resposta) {
+        if (!(requisicao.getProperty(INICIO) instanceof Long inicio)) {
+            return;
+        }
+        long duracao = System.nanoTime() - inicio;
+        int classeStatus = Math.min(Math.max(resposta.getStatus() / 100, 1), 5) - 1;
+
+        Method metodo = resourceInfo != null ? resourceInfo.getResourceMethod() : null;
+        if (metodo == null) {
+            histograma(requisicao.getMethod(), ROTA_DESCONHECIDA, CLASSES_STATUS[classeStatus]).registrarNanos(duracao);
+            return;
+        }
+        MetricasRegistry.Histograma[] histogramas =
+            porRecurso.computeIfAbsent(metodo, m -> new MetricasRegistry.Histograma[CLASSES_STATUS.length]);
+        MetricasRegistry.Histograma histograma = histogramas[classeStatus];
+        if (histograma == null) {
+            // Corrida benigna: o registro devolve a mesma série para os mesmos rótulos
+            histograma = histograma(verbo(metodo), rota(metodo), CLASSES_STATUS[classeStatus]);
+            histogramas[classeStatus] = histograma;
+        }
+        histograma.registrarNanos(duracao);
+    }
+
+    private MetricasRegistry.Histograma histograma(String verbo, String rota, String status) {
+        return registry.histograma(METRICA, "Duração das requisições HTTP por endpoint",
+            MetricasRegistry.LIMITES_LATENCIA, "metodo", verbo, "rota", rota, "status", status);
+    }
+
+    /**
+     * Template da rota, ex.: {@code /beneficios/{id}}.
+     */
+    static String rota(Method metodo) {
+        if (metodo == null) {
+            return ROTA_DESCONHECIDA;
+        }
+        StringBuilder rota = new StringBuilder();
+        anexar(rota, metodo.getDeclaringClass().getAnnotation(Path.class));
+        anexar(rota, metodo.getAnnotation(Path.class));
+        return rota.length() == 0 ? "/" : rota.toString();
+    }
+
+    private static void anexar(StringBuilder rota, Path path) {
+        if (path == null) {
+            return;
+        }
+        String valor = path.value();
+        if (valor.isEmpty() || "/".equals(valor)) {
+            return;
+        }
+        if (valor.charAt(0) != '/') {
+            rota.append('/');
+        }
+        rota.append(valor.endsWith("/") ? valor.substring(0, valor.length() - 1) : valor);
+    }
+
+    /**
+     * Verbo HTTP declarado no método do recurso; {@code HEAD} implícito conta como {@code GET}.
+     */
+    static String verbo(Method metodo) {
+        for (Annotation anotacao : metodo.getAnnotations()) {
+            HttpMethod httpMethod = anotacao.annotationType().getAnnotation(HttpMethod.class);
+            if (httpMethod != null) {
+                return httpMethod.value();
+            }
+        }
+        return "";
+    }
+}
@@ -0,0 +1,80 @@
+package com.bip.presentation.filters;
+
+import com.bip.application.tracing.ColetorRastro;
+import com.bip.application.tracing.RastreadorRequisicoes;
+import jakarta.annotation.Priority;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.container.ContainerResponseFilter;
+import jakarta.ws.rs.container.ResourceInfo;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.ext.Provider;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Abre o rastro de cada requisição com o span raiz {@code controller} e o
+ * entrega ao {@link RastreadorRequisicoes} na resposta.
+ *
+ * <p>Roda depois do casamento de rotas, para nomear o endpoint pelo template
+ * ({@code GET /beneficios/{id}}), e antes dos demais filtros. A serialização
+ * do corpo acontece depois do filtro de resposta e fica fora do rastro.</p>
+ *
+ * @author BIP API Team
+ * @since 1.2
+ */
+@Provider
+@Priority(RastreamentoFilter.PRIORIDADE)
+public class RastreamentoFilter implements ContainerRequestFilter, ContainerResponseFilter {
+
+    /**
+     * Abaixo das prioridades padrão do JAX-RS: primeiro na entrada, último na saída.
+     */
+    static final int PRIORIDADE = 100;
+
+    static final String TIPO = "controller";
+
+    private static final String PROPRIEDADE = ColetorRastro.class.getName();
+    private static final String SPAN = RastreamentoFilter.class.getName() + ".span";
+
+    @Inject
+    private RastreadorRequisicoes rastreador;
+
+    @Context
+    private ResourceInfo resourceInfo;
+
+    private final Map<Method, String> endpoints = new ConcurrentHashMap<>();
+
+    @Override
+    public void filter(ContainerRequestContext requisicao) {
+        ColetorRastro coletor = rastreador.iniciar();
+        if (coletor == null) {
+            return;
+        }
+        requisicao.setProperty(PROPRIEDADE, coletor);
+        requisicao.setProperty(SPAN, coletor.abrir(TIPO, endpoint(requisicao)));
+    }
+
+    @Override
+    public void filter(ContainerRequestContext requisicao, ContainerResponseContext resposta) {
+        if (!(requisicao.getProperty(PROPRIEDADE) instanceof ColetorRastro coletor)) {
+            return;
+        }
+        if (requisicao.getProperty(SPAN) instanceof Integer span) {
+            coletor.fechar(span, null);
+        }
+        rastreador.concluir(coletor, endpoint(requisicao), resposta.getStatus());
+    }
+
+    private String endpoint(ContainerRequestContext requisicao) {
+        Method metodo = resourceInfo != null ? resourceInfo.getResourceMethod() : null;
+        if (metodo == null) {
+            return requisicao.getMethod() + " " + MetricasHttpFilter.ROTA_DESCONHECIDA;
+        }
+        return endpoints.computeIfAbsent(metodo,
+            m -> MetricasHttpFilter.verbo(m) + " " + MetricasHttpFilter.rota(m));
+    }
+}
@@ -0,0 +1,33 @@
+package com.bip.presentation.filters;
+
+/**
+ * Configuração do header {@code Server-Timing}.
+ *
+ * <p>Os valores são lidos de propriedades de sistema ({@code -Dbip.server-timing.*}).</p>
+ *
+ * @param habilitado se o header é emitido
+ * @param amostragem fração das requisições medidas, de 0 a 1
+ *
+ * @author BIP API Team
+ * @since 1.2
+ */
+public record ServerTimingConfig(boolean habilitado, double amostragem) {
+
+    public static final String PREFIXO = "bip.server-timing.";
+
+    public ServerTimingConfig {
+        if (amostragem < 0 || amostragem > 1) {
+            throw new IllegalArgumentException("Amostragem deve estar entre 0 e 1");
+        }
+    }
+
+    /**
+     * Carrega a configuração a partir das propriedades de sistema.
+     */
+    public static ServerTimingConfig fromSystemProperties() {
+        return new ServerTimingConfig(
+            Boolean.getBoolean(PREFIXO + "habilitado"),
+            Double.parseDouble(System.getProperty(PREFIXO + "amostragem", "0.01"))
+        );
+    }
+}
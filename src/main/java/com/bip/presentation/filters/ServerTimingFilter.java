@@ -0,0 +1,75 @@
+package com.bip.presentation.filters;
+
+import com.bip.application.metrics.TempoFases;
+import jakarta.annotation.Priority;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.container.ContainerResponseFilter;
+import jakarta.ws.rs.container.PreMatching;
+import jakarta.ws.rs.ext.Provider;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Abre e fecha a medição de fases das requisições amostradas e, nas respostas
+ * sem corpo, escreve o header {@code Server-Timing}.
+ *
+ * <p>Roda antes do casamento de rotas e antes dos demais filtros, para que
+ * {@code total} cubra o processamento inteiro no Jersey. Nas respostas com
+ * corpo, o header é escrito pelo {@link ServerTimingInterceptor} depois da
+ * serialização.</p>
+ *
+ * <p>Requisições fora da amostra custam um sorteio; com o header desabilitado,
+ * uma verificação de flag.</p>
+ *
+ * @author BIP API Team
+ * @since 1.2
+ */
+@Provider
+@PreMatching
+@Priority(ServerTimingFilter.PRIORIDADE)
+public class ServerTimingFilter implements ContainerRequestFilter, ContainerResponseFilter {
+
+    public static final String HEADER = "Server-Timing";
+
+    /**
+     * Abaixo das prioridades padrão do JAX-RS: primeiro na entrada, último na saída.
+     */
+    static final int PRIORIDADE = 100;
+
+    static final String PROPRIEDADE = TempoFases.class.getName();
+
+    private final ServerTimingConfig config;
+
+    public ServerTimingFilter() {
+        this(ServerTimingConfig.fromSystemProperties());
+    }
+
+    ServerTimingFilter(ServerTimingConfig config) {
+        this.config = config;
+    }
+
+    @Override
+    public void filter(ContainerRequestContext requisicao) {
+        if (!config.habilitado()) {
+            return;
+        }
+        if (ThreadLocalRandom.current().nextDouble() >= config.amostragem()) {
+            // Garante que uma medição abandonada na thread não receba as fases desta requisição
+            TempoFases.desvincular();
+            return;
+        }
+        requisicao.setProperty(PROPRIEDADE, TempoFases.iniciar(System.nanoTime()));
+    }
+
+    @Override
+    public void filter(ContainerRequestContext requisicao, ContainerResponseContext resposta) {
+        if (!(requisicao.getProperty(PROPRIEDADE) instanceof TempoFases tempo)) {
+            return;
+        }
+        TempoFases.desvincular();
+        if (!resposta.hasEntity()) {
+            resposta.getHeaders().putSingle(HEADER, tempo.serverTiming(System.nanoTime()));
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.bip.presentation.filters;
+
+import com.bip.application.metrics.TempoFases;
+import jakarta.annotation.Priority;
+import jakarta.ws.rs.ext.Provider;
+import jakarta.ws.rs.ext.ReaderInterceptor;
+import jakarta.ws.rs.ext.ReaderInterceptorContext;
+import jakarta.ws.rs.ext.WriterInterceptor;
+import jakarta.ws.rs.ext.WriterInterceptorContext;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Mede a leitura do corpo da requisição e a serialização da resposta nas
+ * requisições amostradas pelo {@link ServerTimingFilter}.
+ *
+ * <p>O header só pode ser escrito antes do corpo. Por isso, nas requisições
+ * amostradas, a resposta é serializada em um buffer: o header é adicionado com
+ * a duração da serialização e só então o buffer é copiado para a conexão. As
+ * demais requisições seguem sem buffer.</p>
+ *
+ * @author BIP API Team
+ * @since 1.2
+ */
+@Provider
+@Priority(ServerTimingFilter.PRIORIDADE)
+public class ServerTimingInterceptor implements ReaderInterceptor, WriterInterceptor {
+
+    @Override
+    public Object aroundReadFrom(ReaderInterceptorContext contexto) throws IOException {
+        if (!(contexto.getProperty(ServerTimingFilter.PROPRIEDADE) instanceof TempoFases tempo)) {
+            return contexto.proceed();
+        }
+        long inicio = System.nanoTime();
+        try {
+            return contexto.proceed();
+        } finally {
+            tempo.registrar(TempoFases.Fase.LEITURA, System.nanoTime() - inicio);
+        }
+    }
+
+    @Override
+    public void aroundWriteTo(WriterInterceptorContext contexto) throws IOException {
+        if (!(contexto.getProperty(ServerTimingFilter.PROPRIEDADE) instanceof TempoFases tempo)) {
+            contexto.proceed();
+            return;
+        }
+        OutputStream conexao = contexto.getOutputStream();
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(1_024);
+        contexto.setOutputStream(buffer);
+        long inicio = System.nanoTime();
+        try {
+            contexto.proceed();
+        } finally {
+            contexto.setOutputStream(conexao);
+        }
+        long fim = System.nanoTime();
+        tempo.registrar(TempoFases.Fase.SERIALIZACAO, fim - inicio);
+        contexto.getHeaders().putSingle(ServerTimingFilter.HEADER, tempo.serverTiming(fim));
+        buffer.writeTo(conexao);
+    }
+}
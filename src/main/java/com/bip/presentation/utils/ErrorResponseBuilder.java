@@ -44,6 +44,23 @@ public class ErrorResponseBuilder {
         );
     }
 
+    /**
+     * Cria uma resposta de erro com status de conflito (409).
+     * O campo {@code codigo} permite ao cliente distinguir o conflito dos erros de validação.
+     * 
+     * @param exception a exceção que causou o erro
+     * @param codigo código específico do conflito
+     * @return Response com o erro formatado
+     */
+    public Response buildConflictError(final Exception exception, final String codigo) {
+        final Map<String, Object> erro = new ConcurrentHashMap<>();
+        erro.put("erro", "Conflito com o estado atual do recurso");
+        erro.put("detalhes", exception.getMessage() != null ? exception.getMessage() : "Detalhes não disponíveis");
+        erro.put("codigo", codigo);
+        
+        return Response.status(Response.Status.CONFLICT).entity(erro).build();
+    }
+
     /**
      * Cria uma resposta de erro com status não encontrado (404).
      * 
@@ -68,6 +85,25 @@ public class ErrorResponseBuilder {
         return buildNotFoundError(exception.getMessage());
     }
 
+    /**
+     * Cria uma resposta de erro com status serviço indisponível (503).
+     * Usada quando filas ou executores estão saturados; o cliente pode tentar novamente.
+     * 
+     * @param exception a exceção que causou o erro
+     * @param retryAfterSeconds segundos sugeridos para o header Retry-After
+     * @return Response com o erro formatado e o header Retry-After
+     */
+    public Response buildServiceUnavailableError(final Exception exception, final int retryAfterSeconds) {
+        final Response erro = buildErrorResponse(
+            Response.Status.SERVICE_UNAVAILABLE, 
+            "Serviço temporariamente sobrecarregado", 
+            exception.getMessage()
+        );
+        return Response.fromResponse(erro)
+            .header("Retry-After", retryAfterSeconds)
+            .build();
+    }
+
     /**
      * Cria uma resposta de erro com status e mensagens personalizadas.
      * 
@@ -0,0 +1,70 @@
+package com.bip.presentation.utils;
+
+import com.bip.application.concurrency.CompartimentosRequisicao;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.container.AsyncResponse;
+import jakarta.ws.rs.core.Response;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * Conclui respostas suspensas ({@code @Suspended AsyncResponse}) nos
+ * compartimentos de leitura e de escrita.
+ *
+ * <p>A resposta é retomada na própria thread do compartimento, então os filtros
+ * de resposta e a serialização também executam nela. Com o compartimento
+ * saturado, a requisição é retomada na thread do container com {@code 503} e
+ * {@code Retry-After}.</p>
+ *
+ * @author BIP API Team
+ * @since 1.2
+ */
+@ApplicationScoped
+public class RespostasAssincronas {
+
+    @Inject
+    private CompartimentosRequisicao compartimentos;
+
+    @Inject
+    private ErrorResponseBuilder errorResponseBuilder;
+
+    /**
+     * Executa uma consulta no compartimento de leitura e retoma a resposta com o resultado.
+     */
+    public void ler(final AsyncResponse resposta, final Supplier<Response> acao) {
+        try {
+            compartimentos.ler(() -> retomar(resposta, acao));
+        } catch (RejectedExecutionException e) {
+            rejeitar(resposta, e);
+        }
+    }
+
+    /**
+     * Executa uma alteração no compartimento de escrita e retoma a resposta com o resultado.
+     */
+    public void escrever(final AsyncResponse resposta, final Supplier<Response> acao) {
+        try {
+            compartimentos.escrever(() -> retomar(resposta, acao));
+        } catch (RejectedExecutionException e) {
+            rejeitar(resposta, e);
+        }
+    }
+
+    private static void retomar(final AsyncResponse resposta, final Supplier<Response> acao) {
+        final Response resultado;
+        try {
+            resultado = acao.get();
+        } catch (RuntimeException e) {
+            // Segue para os mapeadores de exceção, como no recurso síncrono
+            resposta.resume(e);
+            return;
+        }
+        resposta.resume(resultado);
+    }
+
+    private void rejeitar(final AsyncResponse resposta, final RejectedExecutionException e) {
+        resposta.resume(errorResponseBuilder.buildServiceUnavailableError(e,
+            compartimentos.getConfig().retryAfterSegundos()));
+    }
+}
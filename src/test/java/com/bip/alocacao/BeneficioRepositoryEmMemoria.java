@@ -0,0 +1,148 @@
+package com.bip.alocacao;
+
+import com.bip.domain.entities.Beneficio;
+import com.bip.domain.repositories.BeneficioRepository;
+
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * {@link BeneficioRepository} em um {@link HashMap}, sem JPA: as medições de
+ * alocação contam apenas o código da aplicação. Não é thread-safe.
+ */
+final class BeneficioRepositoryEmMemoria implements BeneficioRepository {
+
+    private static final Field ID = campoId();
+    private static final Comparator<Beneficio> POR_ID = Comparator.comparing(Beneficio::getId);
+
+    private final Map<Long, Beneficio> beneficios = new HashMap<>();
+    private long proximoId = 1;
+
+    @Override
+    public Optional<Beneficio> findById(Long id) {
+        return Optional.ofNullable(beneficios.get(id));
+    }
+
+    @Override
+    public Optional<Beneficio> findByNome(String nome) {
+        return beneficios.values().stream()
+            .filter(beneficio -> beneficio.getNome().equalsIgnoreCase(nome))
+            .findFirst();
+    }
+
+    @Override
+    public List<Beneficio> findAll() {
+        List<Beneficio> todos = new ArrayList<>(beneficios.values());
+        todos.sort(Comparator.comparing(Beneficio::getId));
+        return todos;
+    }
+
+    @Override
+    public List<Beneficio> findAllActive() {
+        return findAll().stream().filter(Beneficio::getAtivo).toList();
+    }
+
+    @Override
+    public List<Beneficio> findByIdsWithLock(List<Long> ids) {
+        // Sem streams: a alocação do dublê entra na medida dos orçamentos
+        List<Beneficio> encontrados = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Beneficio beneficio = beneficios.get(id);
+            if (beneficio != null && !encontrados.contains(beneficio)) {
+                encontrados.add(beneficio);
+            }
+        }
+        encontrados.sort(POR_ID);
+        return encontrados;
+    }
+
+    @Override
+    public Map<Long, Long> findVersoesByIds(Collection<Long> ids) {
+        Map<Long, Long> versoes = new HashMap<>();
+        for (Long id : ids) {
+            Beneficio beneficio = beneficios.get(id);
+            if (beneficio != null) {
+                versoes.put(id, beneficio.getVersao());
+            }
+        }
+        return versoes;
+    }
+
+    @Override
+    public long countActive() {
+        return beneficios.values().stream().filter(Beneficio::getAtivo).count();
+    }
+
+    @Override
+    public BigDecimal sumActiveValues() {
+        return beneficios.values().stream()
+            .filter(Beneficio::getAtivo)
+            .map(beneficio -> beneficio.getSaldo().getValor())
+            .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    @Override
+    public Beneficio save(Beneficio beneficio) {
+        if (beneficio.getId() == null) {
+            definirId(beneficio, proximoId++);
+        }
+        beneficios.put(beneficio.getId(), beneficio);
+        return beneficio;
+    }
+
+    @Override
+    public void delete(Beneficio beneficio) {
+        beneficios.remove(beneficio.getId());
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        beneficios.remove(id);
+    }
+
+    @Override
+    public boolean existsByNome(String nome) {
+        return findByNome(nome).isPresent();
+    }
+
+    @Override
+    public boolean existsById(Long id) {
+        return beneficios.containsKey(id);
+    }
+
+    @Override
+    public <T> T executeInTransaction(Supplier<T> work) {
+        return work.get();
+    }
+
+    @Override
+    public void flush() {
+        // Sem banco: as alterações já estão nas entidades
+    }
+
+    private static void definirId(Beneficio beneficio, long id) {
+        try {
+            ID.set(beneficio, id);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Field campoId() {
+        try {
+            Field campo = Beneficio.class.getDeclaredField("id");
+            campo.setAccessible(true);
+            return campo;
+        } catch (NoSuchFieldException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.bip.alocacao;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Mede os bytes alocados no heap por operação na thread corrente, com o contador
+ * de alocação por thread da JVM ({@code com.sun.management.ThreadMXBean}).
+ *
+ * <p>A operação é aquecida antes da medição para que o JIT compile o caminho
+ * quente; objetos eliminados pela análise de escape deixam de contar, como em
+ * produção. O valor é a média entre as repetições, então alocações ocasionais
+ * (crescimento de mapas, caches) se diluem.</p>
+ */
+final class MedidorAlocacao {
+
+    private static final int AQUECIMENTO = 20_000;
+    private static final int REPETICOES = 10_000;
+
+    private static final com.sun.management.ThreadMXBean THREADS = threads();
+
+    private MedidorAlocacao() {
+    }
+
+    /**
+     * {@code true} quando a JVM expõe a alocação por thread e a medição está ativa.
+     */
+    static boolean isSuportado() {
+        return THREADS != null && THREADS.isThreadAllocatedMemorySupported()
+            && THREADS.isThreadAllocatedMemoryEnabled();
+    }
+
+    /**
+     * Média de bytes alocados por execução de {@code operacao}.
+     */
+    static long bytesPorOperacao(Runnable operacao) {
+        if (!isSuportado()) {
+            throw new IllegalStateException("JVM não expõe a alocação por thread");
+        }
+        for (int i = 0; i < AQUECIMENTO; i++) {
+            operacao.run();
+        }
+        long antes = THREADS.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < REPETICOES; i++) {
+            operacao.run();
+        }
+        long depois = THREADS.getCurrentThreadAllocatedBytes();
+        return (depois - antes) / REPETICOES;
+    }
+
+    private static com.sun.management.ThreadMXBean threads() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        return threads instanceof com.sun.management.ThreadMXBean sun ? sun : null;
+    }
+}
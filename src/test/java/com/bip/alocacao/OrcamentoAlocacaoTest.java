@@ -0,0 +1,326 @@
+package com.bip.alocacao;
+
+import com.bip.application.cache.BeneficioCache;
+import com.bip.application.concurrency.CompartimentosRequisicao;
+import com.bip.application.concurrency.DetectorChavesQuentes;
+import com.bip.application.concurrency.StripedLockManager;
+import com.bip.application.dtos.TransferenciaDto;
+import com.bip.application.ledger.LedgerEngine;
+import com.bip.application.mappers.BeneficioMapper;
+import com.bip.application.metrics.MetricasRegistry;
+import com.bip.application.metrics.TransferenciaMetricas;
+import com.bip.application.services.BeneficioService;
+import com.bip.application.services.SaldoFragmentadoService;
+import com.bip.application.usecases.BeneficioUseCase;
+import com.bip.application.usecases.TransferenciaUseCase;
+import com.bip.domain.entities.Beneficio;
+import com.bip.domain.valueobjects.Money;
+import com.bip.presentation.controllers.BeneficioController;
+import com.bip.presentation.utils.ErrorResponseBuilder;
+import com.bip.presentation.utils.RespostasAssincronas;
+import jakarta.ws.rs.container.AsyncResponse;
+import jakarta.ws.rs.container.TimeoutHandler;
+import jakarta.ws.rs.core.Response;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Orçamentos de alocação por operação nos caminhos quentes das requisições.
+ *
+ * <p>Os componentes são os reais, ligados à mão com um repositório em memória e
+ * com cache, lock striping, group commit e ledger desabilitados (o padrão). Mocks
+ * não servem aqui: o Mockito registra cada invocação e essa alocação seria medida
+ * junto.</p>
+ *
+ * <p>Os orçamentos têm folga sobre o medido com o JIT aquecido, para absorver
+ * diferenças entre JVMs e a instrumentação de cobertura; um estouro indica
+ * objetos novos no caminho (envelopes, formatação de mensagens, cópias de
+ * {@code BigDecimal}) e deve ser investigado antes de se ajustar o orçamento.</p>
+ */
+@DisplayName("Orçamentos de alocação")
+class OrcamentoAlocacaoTest {
+
+    // Bytes por operação; medidos com HotSpot 17, oops comprimidas e o agente do JaCoCo
+    /** Medido: ~1,3 KB, quase todo na montagem do {@link Response} pelo Jersey. */
+    private static final long ORCAMENTO_BUSCAR_POR_ID = 2_048;
+    /** Medido: ~1,5 KB; inclui o envelope de erro em {@code ConcurrentHashMap}. */
+    private static final long ORCAMENTO_NAO_ENCONTRADO = 2_048;
+    /** Medido: ~0,5 KB; novos saldos ({@code Money}/{@code BigDecimal}), carimbos de data e varargs. */
+    private static final long ORCAMENTO_TRANSFERENCIA = 1_024;
+    /** Medido: ~4,5 KB, um DTO por item e a lista já dimensionada. */
+    private static final long ORCAMENTO_TO_DTO_LIST_100 = 5_120;
+
+    private BeneficioRepositoryEmMemoria repository;
+    private BeneficioMapper mapper;
+    private BeneficioCache cache;
+    private BeneficioService beneficioService;
+    private SaldoFragmentadoService saldoFragmentado;
+
+    @BeforeEach
+    void setUp() {
+        assumeTrue(MedidorAlocacao.isSuportado(), "JVM sem medição de alocação por thread");
+
+        repository = new BeneficioRepositoryEmMemoria();
+        mapper = new BeneficioMapper();
+        cache = new BeneficioCache();
+        saldoFragmentado = new SaldoFragmentadoService();
+        beneficioService = new BeneficioService();
+        injetar(cache, "beneficioRepository", repository);
+        injetar(saldoFragmentado, "beneficioRepository", repository);
+        injetar(beneficioService, "beneficioRepository", repository);
+        injetar(beneficioService, "saldoFragmentado", saldoFragmentado);
+
+        for (int i = 1; i <= 100; i++) {
+            repository.save(Beneficio.criar(String.format("Beneficio %03d", i), "Benefício de teste",
+                Money.of(new BigDecimal("1000000.00"))));
+        }
+    }
+
+    @Nested
+    @DisplayName("BeneficioController.buscarPorId")
+    class BuscarPorId {
+
+        private BeneficioController controller;
+        private final RespostaRetida resposta = new RespostaRetida();
+
+        @BeforeEach
+        void setUp() {
+            BeneficioUseCase useCase = new BeneficioUseCase();
+            injetar(useCase, "beneficioRepository", repository);
+            injetar(useCase, "beneficioMapper", mapper);
+            injetar(useCase, "beneficioService", beneficioService);
+            injetar(useCase, "saldoFragmentado", saldoFragmentado);
+            injetar(useCase, "cache", cache);
+
+            controller = new BeneficioController();
+            injetar(controller, "beneficioUseCase", useCase);
+            injetar(controller, "errorResponseBuilder", new ErrorResponseBuilder());
+
+            // Sem o @PostConstruct os compartimentos executam na thread do teste
+            RespostasAssincronas respostas = new RespostasAssincronas();
+            injetar(respostas, "compartimentos", new CompartimentosRequisicao());
+            injetar(respostas, "errorResponseBuilder", new ErrorResponseBuilder());
+            injetar(controller, "respostas", respostas);
+        }
+
+        private Response buscarPorId(Long id) {
+            controller.buscarPorId(id, resposta);
+            return resposta.valor;
+        }
+
+        @Test
+        @DisplayName("Deve ler do repositório dentro do orçamento")
+        void deveLerDoRepositorioDentroDoOrcamento() {
+            // Arrange
+            assertThat(buscarPorId(1L).getStatus()).isEqualTo(200);
+
+            // Act
+            long bytes = MedidorAlocacao.bytesPorOperacao(() -> buscarPorId(1L));
+
+            // Assert
+            assertThat(bytes).as("bytes por buscarPorId sem cache").isLessThanOrEqualTo(ORCAMENTO_BUSCAR_POR_ID);
+        }
+
+        @Test
+        @DisplayName("Deve responder do cache dentro do orçamento")
+        void deveResponderDoCacheDentroDoOrcamento() {
+            // Arrange
+            injetar(cache, "habilitado", true);
+            buscarPorId(1L);
+
+            // Act
+            long bytes = MedidorAlocacao.bytesPorOperacao(() -> buscarPorId(1L));
+
+            // Assert
+            assertThat(bytes).as("bytes por buscarPorId com acerto no cache").isLessThanOrEqualTo(ORCAMENTO_BUSCAR_POR_ID);
+        }
+
+        @Test
+        @DisplayName("Deve montar o 404 dentro do orçamento")
+        void deveMontarNaoEncontradoDentroDoOrcamento() {
+            // Arrange
+            assertThat(buscarPorId(999L).getStatus()).isEqualTo(404);
+
+            // Act
+            long bytes = MedidorAlocacao.bytesPorOperacao(() -> buscarPorId(999L));
+
+            // Assert
+            assertThat(bytes).as("bytes por buscarPorId inexistente").isLessThanOrEqualTo(ORCAMENTO_NAO_ENCONTRADO);
+        }
+    }
+
+    @Nested
+    @DisplayName("TransferenciaUseCase.executarTransferencia")
+    class ExecutarTransferencia {
+
+        private TransferenciaUseCase useCase;
+
+        @BeforeEach
+        void setUp() {
+            useCase = new TransferenciaUseCase();
+            injetar(useCase, "beneficioRepository", repository);
+            injetar(useCase, "beneficioService", beneficioService);
+            injetar(useCase, "lockManager", new StripedLockManager());
+            injetar(useCase, "saldoFragmentado", saldoFragmentado);
+            injetar(useCase, "ledger", new LedgerEngine());
+            injetar(useCase, "cache", cache);
+
+            TransferenciaMetricas metricas = new TransferenciaMetricas();
+            injetar(metricas, "registry", new MetricasRegistry());
+            invocar(metricas, "iniciar");
+            injetar(useCase, "metricas", metricas);
+            injetar(useCase, "chavesQuentes", new DetectorChavesQuentes());
+        }
+
+        @Test
+        @DisplayName("Deve transferir dentro do orçamento")
+        void deveTransferirDentroDoOrcamento() {
+            // Arrange: alterna o sentido para que os saldos não se esgotem
+            TransferenciaDto ida = new TransferenciaDto(1L, 2L, new BigDecimal("1.00"), null);
+            TransferenciaDto volta = new TransferenciaDto(2L, 1L, new BigDecimal("1.00"), null);
+            Runnable parDeTransferencias = () -> {
+                useCase.executarTransferencia(ida);
+                useCase.executarTransferencia(volta);
+            };
+
+            // Act
+            long bytes = MedidorAlocacao.bytesPorOperacao(parDeTransferencias) / 2;
+
+            // Assert
+            assertThat(bytes).as("bytes por transferência").isLessThanOrEqualTo(ORCAMENTO_TRANSFERENCIA);
+            assertThat(repository.findById(1L).orElseThrow().getSaldo())
+                .isEqualTo(Money.of(new BigDecimal("1000000.00")));
+        }
+    }
+
+    @Nested
+    @DisplayName("BeneficioMapper.toDtoList")
+    class ToDtoList {
+
+        @Test
+        @DisplayName("Deve converter 100 benefícios dentro do orçamento")
+        void deveConverterDentroDoOrcamento() {
+            // Arrange
+            List<Beneficio> beneficios = repository.findAll();
+            assertThat(beneficios).hasSize(100);
+
+            // Act
+            long bytes = MedidorAlocacao.bytesPorOperacao(() -> mapper.toDtoList(beneficios));
+
+            // Assert
+            assertThat(bytes).as("bytes por toDtoList de 100 itens").isLessThanOrEqualTo(ORCAMENTO_TO_DTO_LIST_100);
+        }
+    }
+
+    private static void injetar(Object alvo, String campo, Object valor) {
+        try {
+            Field field = alvo.getClass().getDeclaredField(campo);
+            field.setAccessible(true);
+            field.set(alvo, valor);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void invocar(Object alvo, String metodo) {
+        try {
+            Method method = alvo.getClass().getDeclaredMethod(metodo);
+            method.setAccessible(true);
+            method.invoke(alvo);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Guarda a resposta retomada; sem o registro de invocações de um mock.
+     */
+    private static final class RespostaRetida implements AsyncResponse {
+
+        private Response valor;
+
+        @Override
+        public boolean resume(Object resposta) {
+            valor = (Response) resposta;
+            return true;
+        }
+
+        @Override
+        public boolean resume(Throwable falha) {
+            throw new AssertionError(falha);
+        }
+
+        @Override
+        public boolean cancel() {
+            return false;
+        }
+
+        @Override
+        public boolean cancel(int retryAfter) {
+            return false;
+        }
+
+        @Override
+        public boolean cancel(Date retryAfter) {
+            return false;
+        }
+
+        @Override
+        public boolean isSuspended() {
+            return true;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return false;
+        }
+
+        @Override
+        public boolean isDone() {
+            return false;
+        }
+
+        @Override
+        public boolean setTimeout(long time, TimeUnit unit) {
+            return true;
+        }
+
+        @Override
+        public void setTimeoutHandler(TimeoutHandler handler) {
+        }
+
+        @Override
+        public Collection<Class<?>> register(Class<?> callback) {
+            return List.of();
+        }
+
+        @Override
+        public Map<Class<?>, Collection<Class<?>>> register(Class<?> callback, Class<?>... callbacks) {
+            return Map.of();
+        }
+
+        @Override
+        public Collection<Class<?>> register(Object callback) {
+            return List.of();
+        }
+
+        @Override
+        public Map<Class<?>, Collection<Class<?>>> register(Object callback, Object... callbacks) {
+            return Map.of();
+        }
+    }
+}
@@ -0,0 +1,353 @@
+package com.bip.application.cache;
+
+import com.bip.application.dtos.BeneficioDto;
+import com.bip.domain.entities.Beneficio;
+import com.bip.domain.repositories.BeneficioRepository;
+import com.bip.domain.valueobjects.Money;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("BeneficioCache")
+class BeneficioCacheTest {
+
+    @Mock
+    private BeneficioRepository beneficioRepository;
+
+    @InjectMocks
+    private BeneficioCache cache;
+
+    @TempDir
+    Path diretorio;
+
+    @BeforeEach
+    void setUp() {
+        cache.configurar(true, 100, Duration.ofMinutes(1), null);
+    }
+
+    @Nested
+    @DisplayName("Consulta e Armazenamento")
+    class ConsultaTests {
+
+        @Test
+        @DisplayName("Deve retornar cópia do DTO armazenado")
+        void deveRetornarCopiaDoDto() throws Exception {
+            // Arrange
+            Beneficio beneficio = beneficio(1L, 0L);
+            BeneficioDto dto = dto(1L);
+            cache.armazenar(beneficio, dto, cache.marca(1L));
+
+            // Act
+            Optional<BeneficioDto> primeiro = cache.buscar(1L);
+            primeiro.get().setSaldo(BigDecimal.ZERO);
+            Optional<BeneficioDto> segundo = cache.buscar(1L);
+
+            // Assert
+            assertThat(segundo).isPresent();
+            assertThat(segundo.get().getSaldo()).isEqualByComparingTo("1000.00");
+            assertThat(cache.getEstatisticas().acertos()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("Não deve armazenar quando houve invalidação durante a leitura")
+        void naoDeveArmazenarAposInvalidacao() throws Exception {
+            // Arrange
+            long marca = cache.marca(1L);
+            cache.invalidar(1L);
+
+            // Act
+            cache.armazenar(beneficio(1L, 0L), dto(1L), marca);
+
+            // Assert
+            assertThat(cache.buscar(1L)).isEmpty();
+            assertThat(cache.getEstatisticas().faltas()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Deve remover a entrada ao invalidar")
+        void deveRemoverAoInvalidar() throws Exception {
+            // Arrange
+            cache.armazenar(beneficio(1L, 0L), dto(1L), cache.marca(1L));
+            cache.armazenar(beneficio(2L, 0L), dto(2L), cache.marca(2L));
+
+            // Act
+            cache.invalidar(1L, 2L);
+
+            // Assert
+            assertThat(cache.buscar(1L)).isEmpty();
+            assertThat(cache.buscar(2L)).isEmpty();
+            assertThat(cache.getEstatisticas().invalidacoes()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("Não deve ultrapassar a capacidade")
+        void naoDeveUltrapassarCapacidade() throws Exception {
+            // Arrange
+            cache.configurar(true, 2, Duration.ofMinutes(1), null);
+
+            // Act
+            for (long id = 1; id <= 3; id++) {
+                cache.armazenar(beneficio(id, 0L), dto(id), cache.marca(id));
+            }
+
+            // Assert
+            assertThat(cache.getEstatisticas().entradas()).isEqualTo(2);
+            assertThat(cache.buscar(3L)).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Deve admitir novo benefício após o TTL expirar com o cache cheio")
+        void deveAdmitirAposExpirarNaCapacidade() throws Exception {
+            // Arrange
+            cache.configurar(true, 2, Duration.ofMillis(20), null);
+            for (long id = 1; id <= 2; id++) {
+                cache.armazenar(beneficio(id, 0L), dto(id), cache.marca(id));
+            }
+            Thread.sleep(40);
+
+            // Act
+            cache.armazenar(beneficio(3L, 0L), dto(3L), cache.marca(3L));
+
+            // Assert
+            assertThat(cache.buscar(3L)).isPresent();
+            assertThat(cache.buscar(1L)).isEmpty();
+            assertThat(cache.getEstatisticas().entradas()).isLessThanOrEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("Deve expirar entradas após o TTL")
+        void deveExpirarAposTtl() throws Exception {
+            // Arrange
+            cache.configurar(true, 100, Duration.ofMillis(1), null);
+            cache.armazenar(beneficio(1L, 0L), dto(1L), cache.marca(1L));
+
+            // Act
+            Thread.sleep(5);
+
+            // Assert
+            assertThat(cache.buscar(1L)).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Não deve consultar nem armazenar quando desabilitado")
+        void naoDeveUsarQuandoDesabilitado() throws Exception {
+            // Arrange
+            cache.configurar(false, 100, Duration.ofMinutes(1), null);
+
+            // Act
+            cache.armazenar(beneficio(1L, 0L), dto(1L), cache.marca(1L));
+
+            // Assert
+            assertThat(cache.buscar(1L)).isEmpty();
+            assertThat(cache.getEstatisticas().entradas()).isZero();
+        }
+
+        @Test
+        @DisplayName("Deve rejeitar configuração inválida")
+        void deveRejeitarConfiguracaoInvalida() {
+            assertThatThrownBy(() -> cache.configurar(true, 0, Duration.ofMinutes(1), null))
+                .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> cache.configurar(true, 10, Duration.ZERO, null))
+                .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("Lista de Ativos")
+    class AtivosTests {
+
+        @Test
+        @DisplayName("Deve retornar a lista de ativos armazenada")
+        void deveRetornarAtivos() throws Exception {
+            // Arrange
+            cache.armazenarAtivos(List.of(beneficio(1L, 0L), beneficio(2L, 0L)), List.of(dto(1L), dto(2L)),
+                cache.geracao());
+
+            // Act
+            Optional<List<BeneficioDto>> ativos = cache.buscarAtivos();
+
+            // Assert
+            assertThat(ativos).isPresent();
+            assertThat(ativos.get()).extracting(BeneficioDto::getId).containsExactly(1L, 2L);
+        }
+
+        @Test
+        @DisplayName("Deve falhar a consulta quando um dos benefícios foi invalidado")
+        void deveFalharQuandoBeneficioInvalidado() throws Exception {
+            // Arrange
+            cache.armazenarAtivos(List.of(beneficio(1L, 0L), beneficio(2L, 0L)), List.of(dto(1L), dto(2L)),
+                cache.geracao());
+
+            // Act
+            cache.invalidar(2L);
+
+            // Assert
+            assertThat(cache.buscarAtivos()).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Não deve armazenar a lista quando houve invalidação durante a leitura")
+        void naoDeveArmazenarAposInvalidacao() throws Exception {
+            // Arrange
+            long geracao = cache.geracao();
+            cache.invalidarAtivos();
+
+            // Act
+            cache.armazenarAtivos(List.of(beneficio(1L, 0L)), List.of(dto(1L)), geracao);
+
+            // Assert
+            assertThat(cache.buscarAtivos()).isEmpty();
+        }
+    }
+
+    @Nested
+    @DisplayName("Snapshot")
+    class SnapshotTests {
+
+        @Test
+        @DisplayName("Deve restaurar apenas entradas com versão atual em uma única consulta")
+        @SuppressWarnings("unchecked")
+        void deveRestaurarApenasVersaoAtual() throws Exception {
+            // Arrange
+            Path arquivo = diretorio.resolve("cache/beneficios.snapshot");
+            cache.armazenar(beneficio(1L, 4L), dto(1L), cache.marca(1L));
+            cache.armazenar(beneficio(2L, 7L), dto(2L), cache.marca(2L));
+            cache.armazenar(beneficio(3L, 1L), dto(3L), cache.marca(3L));
+            cache.gravarSnapshot(arquivo);
+
+            BeneficioCache restaurado = novoCache();
+            when(beneficioRepository.findVersoesByIds(any(Collection.class)))
+                .thenReturn(Map.of(1L, 4L, 2L, 8L));
+
+            // Act
+            int quantidade = restaurado.restaurar(arquivo);
+
+            // Assert
+            assertThat(quantidade).isEqualTo(1);
+            assertThat(restaurado.buscar(1L)).get()
+                .usingRecursiveComparison().isEqualTo(dto(1L));
+            assertThat(restaurado.buscar(2L)).isEmpty();
+            assertThat(restaurado.buscar(3L)).isEmpty();
+            assertThat(restaurado.getEstatisticas().restaurados()).isEqualTo(1);
+            verify(beneficioRepository, times(1)).findVersoesByIds(any(Collection.class));
+        }
+
+        @Test
+        @DisplayName("Deve restaurar o snapshot configurado na inicialização do contexto")
+        @SuppressWarnings("unchecked")
+        void deveRestaurarNaInicializacaoDoContexto() throws Exception {
+            // Arrange
+            Path arquivo = diretorio.resolve("beneficios.snapshot");
+            cache.armazenar(beneficio(1L, 4L), dto(1L), cache.marca(1L));
+            cache.gravarSnapshot(arquivo);
+
+            BeneficioCache restaurado = novoCache();
+            restaurado.configurar(true, 100, Duration.ofMinutes(1), arquivo);
+            when(beneficioRepository.findVersoesByIds(any(Collection.class))).thenReturn(Map.of(1L, 4L));
+
+            // Act
+            restaurado.aoIniciar(new Object());
+
+            // Assert
+            assertThat(restaurado.buscar(1L)).isPresent();
+            assertThat(restaurado.getEstatisticas().restaurados()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Deve ignorar snapshot corrompido")
+        void deveIgnorarSnapshotCorrompido() throws Exception {
+            // Arrange
+            Path arquivo = diretorio.resolve("beneficios.snapshot");
+            cache.armazenar(beneficio(1L, 0L), dto(1L), cache.marca(1L));
+            cache.gravarSnapshot(arquivo);
+            byte[] conteudo = Files.readAllBytes(arquivo);
+            conteudo[conteudo.length / 2] ^= 0x5A;
+            Files.write(arquivo, conteudo);
+
+            BeneficioCache restaurado = novoCache();
+
+            // Act
+            int quantidade = restaurado.restaurar(arquivo);
+
+            // Assert
+            assertThat(quantidade).isZero();
+            verifyNoInteractions(beneficioRepository);
+        }
+
+        @Test
+        @DisplayName("Deve ignorar snapshot ausente")
+        void deveIgnorarSnapshotAusente() {
+            // Act
+            int quantidade = cache.restaurar(diretorio.resolve("inexistente.snapshot"));
+
+            // Assert
+            assertThat(quantidade).isZero();
+            verifyNoInteractions(beneficioRepository);
+        }
+
+        @Test
+        @DisplayName("Deve codificar e decodificar DTO com campos nulos")
+        void deveCodificarDtoComCamposNulos() throws Exception {
+            // Arrange
+            BeneficioDto dto = new BeneficioDto(5L, "Sem descrição", null, new BigDecimal("0.10"), false,
+                LocalDateTime.of(2024, 1, 2, 3, 4, 5, 123_456_789), null);
+
+            // Act
+            BeneficioDto decodificado = BeneficioCache.decodificar(BeneficioCache.codificar(dto));
+
+            // Assert
+            assertThat(decodificado).usingRecursiveComparison().isEqualTo(dto);
+        }
+
+        private BeneficioCache novoCache() throws Exception {
+            BeneficioCache novo = new BeneficioCache();
+            Field repositorio = BeneficioCache.class.getDeclaredField("beneficioRepository");
+            repositorio.setAccessible(true);
+            repositorio.set(novo, beneficioRepository);
+            novo.configurar(true, 100, Duration.ofMinutes(1), null);
+            return novo;
+        }
+    }
+
+    private static Beneficio beneficio(Long id, Long versao) throws Exception {
+        Beneficio beneficio = new Beneficio("Benefício " + id, "Teste", Money.of(new BigDecimal("1000.00")));
+        Field idField = Beneficio.class.getDeclaredField("id");
+        idField.setAccessible(true);
+        idField.set(beneficio, id);
+        Field versaoField = Beneficio.class.getDeclaredField("versao");
+        versaoField.setAccessible(true);
+        versaoField.set(beneficio, versao);
+        return beneficio;
+    }
+
+    private static BeneficioDto dto(Long id) {
+        return new BeneficioDto(id, "Benefício " + id, "Teste", new BigDecimal("1000.00"), true,
+            LocalDateTime.of(2024, 5, 1, 10, 30), LocalDateTime.of(2024, 5, 2, 11, 45, 0, 500));
+    }
+}
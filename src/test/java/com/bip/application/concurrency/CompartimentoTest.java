@@ -0,0 +1,207 @@
+package com.bip.application.concurrency;
+
+import com.bip.application.metrics.MetricasRegistry;
+import com.bip.application.metrics.TempoFases;
+import com.bip.application.tracing.ColetorRastro;
+import com.bip.application.tracing.RastreadorRequisicoes;
+import com.bip.application.tracing.RastroConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Compartimento")
+class CompartimentoTest {
+
+    private final RastreadorRequisicoes rastreador = new RastreadorRequisicoes(new RastroConfig(true, 1.0, 250, 16, 4));
+    private MetricasRegistry registry;
+    private Compartimento compartimento;
+    private final CountDownLatch liberar = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() {
+        registry = new MetricasRegistry();
+        compartimento = new Compartimento("teste", 1, 1, registry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        liberar.countDown();
+        compartimento.close();
+        TempoFases.desvincular();
+        ColetorRastro.desvincular();
+    }
+
+    @Nested
+    @DisplayName("Execução")
+    class ExecucaoTests {
+
+        @Test
+        @DisplayName("Deve executar a tarefa em uma thread do compartimento")
+        void deveExecutarNaThreadDoCompartimento() throws Exception {
+            // Arrange
+            CompletableFuture<String> thread = new CompletableFuture<>();
+
+            // Act
+            compartimento.executar(() -> thread.complete(Thread.currentThread().getName()));
+
+            // Assert
+            assertThat(thread.get(5, TimeUnit.SECONDS)).isEqualTo("compartimento-teste-0");
+        }
+
+        @Test
+        @DisplayName("Deve registrar a espera na fila")
+        void deveRegistrarEsperaNaFila() throws Exception {
+            // Arrange
+            CountDownLatch concluida = new CountDownLatch(1);
+
+            // Act
+            compartimento.executar(concluida::countDown);
+            assertThat(concluida.await(5, TimeUnit.SECONDS)).isTrue();
+
+            // Assert
+            assertThat(registry.openMetrics())
+                .contains("bip_compartimento_espera_fila_segundos_count{compartimento=\"teste\"} 1");
+        }
+    }
+
+    @Nested
+    @DisplayName("Saturação")
+    class SaturacaoTests {
+
+        @Test
+        @DisplayName("Deve rejeitar com a thread ocupada e a fila cheia")
+        void deveRejeitarQuandoSaturado() throws Exception {
+            // Arrange
+            ocuparThreadEFila();
+
+            // Act & Assert
+            assertThatThrownBy(() -> compartimento.executar(() -> { }))
+                .isInstanceOf(RejectedExecutionException.class)
+                .hasMessageContaining("Compartimento teste saturado");
+            assertThat(compartimento.getRejeicoes()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Deve exportar ocupação, fila, saturação e rejeições")
+        void deveExportarMetricas() throws Exception {
+            // Arrange
+            ocuparThreadEFila();
+            assertThatThrownBy(() -> compartimento.executar(() -> { }))
+                .isInstanceOf(RejectedExecutionException.class);
+
+            // Act
+            String metricas = registry.openMetrics();
+
+            // Assert
+            assertThat(compartimento.getSaturacao()).isEqualTo(1.0);
+            assertThat(metricas)
+                .contains("bip_compartimento_threads_ativas{compartimento=\"teste\"} 1.0")
+                .contains("bip_compartimento_fila{compartimento=\"teste\"} 1.0")
+                .contains("bip_compartimento_saturacao{compartimento=\"teste\"} 1.0")
+                .contains("bip_compartimento_rejeicoes_total{compartimento=\"teste\"} 1");
+        }
+
+        @Test
+        @DisplayName("Deve rejeitar depois de encerrado")
+        void deveRejeitarDepoisDeEncerrado() {
+            // Arrange
+            compartimento.close();
+
+            // Act & Assert
+            assertThatThrownBy(() -> compartimento.executar(() -> { }))
+                .isInstanceOf(RejectedExecutionException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("Contexto da requisição")
+    class ContextoTests {
+
+        @Test
+        @DisplayName("Deve levar a medição e o rastro para a thread do compartimento")
+        void deveLevarContextoParaAThreadDoCompartimento() throws Exception {
+            // Arrange
+            TempoFases tempo = TempoFases.iniciar(System.nanoTime());
+            ColetorRastro coletor = rastreador.iniciar();
+            CompletableFuture<Object[]> vistos = new CompletableFuture<>();
+
+            // Act
+            compartimento.executar(() -> vistos.complete(new Object[] {TempoFases.atual(), ColetorRastro.atual()}));
+
+            // Assert
+            assertThat(TempoFases.atual()).isNull();
+            assertThat(ColetorRastro.atual()).isNull();
+            assertThat(vistos.get(5, TimeUnit.SECONDS)).containsExactly(tempo, coletor);
+        }
+
+        @Test
+        @DisplayName("Deve desvincular o contexto da thread do compartimento ao final")
+        void deveDesvincularAoFinal() throws Exception {
+            // Arrange
+            TempoFases.iniciar(System.nanoTime());
+            rastreador.iniciar();
+            compartimento.executar(() -> { });
+            CompletableFuture<Object[]> vistos = new CompletableFuture<>();
+
+            // Act: a única thread executa a próxima tarefa sem contexto
+            compartimento.executar(() -> vistos.complete(new Object[] {TempoFases.atual(), ColetorRastro.atual()}));
+
+            // Assert
+            assertThat(vistos.get(5, TimeUnit.SECONDS)).containsOnlyNulls();
+        }
+
+        @Test
+        @DisplayName("Deve devolver o contexto à thread de origem na rejeição")
+        void deveDevolverContextoNaRejeicao() throws Exception {
+            // Arrange
+            ocuparThreadEFila();
+            TempoFases tempo = TempoFases.iniciar(System.nanoTime());
+            ColetorRastro coletor = rastreador.iniciar();
+
+            // Act
+            assertThatThrownBy(() -> compartimento.executar(() -> { }))
+                .isInstanceOf(RejectedExecutionException.class);
+
+            // Assert
+            assertThat(TempoFases.atual()).isSameAs(tempo);
+            assertThat(ColetorRastro.atual()).isSameAs(coletor);
+        }
+    }
+
+    @Test
+    @DisplayName("Deve validar threads e fila")
+    void deveValidarThreadsEFila() {
+        assertThatThrownBy(() -> new Compartimento("invalido", 0, 1, registry))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new Compartimento("invalido", 1, 0, registry))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private void ocuparThreadEFila() throws InterruptedException {
+        CountDownLatch ocupada = new CountDownLatch(1);
+        compartimento.executar(() -> {
+            ocupada.countDown();
+            aguardar(liberar);
+        });
+        assertThat(ocupada.await(5, TimeUnit.SECONDS)).isTrue();
+        compartimento.executar(() -> { });
+    }
+
+    private static void aguardar(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.bip.application.concurrency;
+
+import com.bip.application.metrics.MetricasRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Field;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("CompartimentosRequisicao")
+class CompartimentosRequisicaoTest {
+
+    private static final CompartimentosConfig HABILITADO = new CompartimentosConfig(true, 2, 4, 1, 2, 3);
+
+    private CompartimentosRequisicao compartimentos;
+
+    @AfterEach
+    void tearDown() {
+        if (compartimentos != null) {
+            compartimentos.encerrar();
+        }
+    }
+
+    @Nested
+    @DisplayName("Execução")
+    class ExecucaoTests {
+
+        @Test
+        @DisplayName("Deve separar leituras e escritas em threads próprias")
+        void deveSepararLeiturasEEscritas() throws Exception {
+            // Arrange
+            compartimentos = iniciar(HABILITADO);
+            CompletableFuture<String> leitura = new CompletableFuture<>();
+            CompletableFuture<String> escrita = new CompletableFuture<>();
+
+            // Act
+            compartimentos.ler(() -> leitura.complete(Thread.currentThread().getName()));
+            compartimentos.escrever(() -> escrita.complete(Thread.currentThread().getName()));
+
+            // Assert
+            assertThat(leitura.get(5, TimeUnit.SECONDS)).startsWith("compartimento-leitura-");
+            assertThat(escrita.get(5, TimeUnit.SECONDS)).startsWith("compartimento-escrita-");
+        }
+
+        @Test
+        @DisplayName("Deve executar na thread corrente quando desabilitado")
+        void deveExecutarNaThreadCorrenteQuandoDesabilitado() {
+            // Arrange
+            compartimentos = iniciar(new CompartimentosConfig(false, 2, 4, 1, 2, 3));
+            Thread[] executora = new Thread[2];
+
+            // Act
+            compartimentos.ler(() -> executora[0] = Thread.currentThread());
+            compartimentos.escrever(() -> executora[1] = Thread.currentThread());
+
+            // Assert
+            assertThat(executora).containsOnly(Thread.currentThread());
+        }
+
+        @Test
+        @DisplayName("Deve exportar as métricas de cada compartimento")
+        void deveExportarMetricasDeCadaCompartimento() {
+            // Arrange
+            MetricasRegistry registry = new MetricasRegistry();
+
+            // Act
+            compartimentos = iniciar(HABILITADO, registry);
+
+            // Assert
+            assertThat(registry.openMetrics())
+                .contains("bip_compartimento_saturacao{compartimento=\"leitura\"} 0.0")
+                .contains("bip_compartimento_saturacao{compartimento=\"escrita\"} 0.0");
+        }
+    }
+
+    @Nested
+    @DisplayName("Configuração")
+    class ConfiguracaoTests {
+
+        @Test
+        @DisplayName("Deve rejeitar threads, filas e Retry-After não positivos")
+        void deveRejeitarValoresNaoPositivos() {
+            assertThatThrownBy(() -> new CompartimentosConfig(true, 0, 4, 1, 2, 3))
+                .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> new CompartimentosConfig(true, 2, 4, 1, 0, 3))
+                .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> new CompartimentosConfig(true, 2, 4, 1, 2, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+        }
+
+        @Test
+        @DisplayName("Deve ler a configuração das propriedades de sistema")
+        void deveLerPropriedadesDeSistema() {
+            // Arrange
+            System.setProperty(CompartimentosConfig.PREFIXO + "escrita.fila", "7");
+            try {
+                // Act
+                CompartimentosConfig config = CompartimentosConfig.fromSystemProperties();
+
+                // Assert
+                assertThat(config.filaEscrita()).isEqualTo(7);
+                assertThat(config.habilitado()).isTrue();
+                assertThat(config.retryAfterSegundos()).isEqualTo(1);
+            } finally {
+                System.clearProperty(CompartimentosConfig.PREFIXO + "escrita.fila");
+            }
+        }
+    }
+
+    private static CompartimentosRequisicao iniciar(CompartimentosConfig config) {
+        return iniciar(config, new MetricasRegistry());
+    }
+
+    private static CompartimentosRequisicao iniciar(CompartimentosConfig config, MetricasRegistry registry) {
+        CompartimentosRequisicao compartimentos = new CompartimentosRequisicao(config);
+        try {
+            Field campo = CompartimentosRequisicao.class.getDeclaredField("registry");
+            campo.setAccessible(true);
+            campo.set(compartimentos, registry);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+        compartimentos.iniciar();
+        return compartimentos;
+    }
+}
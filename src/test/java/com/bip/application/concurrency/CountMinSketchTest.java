@@ -0,0 +1,111 @@
+package com.bip.application.concurrency;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("CountMinSketch")
+class CountMinSketchTest {
+
+    @Test
+    @DisplayName("Deve arredondar a largura para potência de 2")
+    void deveArredondarLargura() {
+        assertThat(new CountMinSketch(1_000, 4).getLargura()).isEqualTo(1_024);
+        assertThat(new CountMinSketch(512, 4).getLargura()).isEqualTo(512);
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar profundidade acima das sementes disponíveis")
+    void deveRejeitarProfundidadeExcessiva() {
+        assertThatThrownBy(() -> new CountMinSketch(64, 9)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Não deve subestimar e deve errar dentro do limite teórico")
+    void naoDeveSubestimar() {
+        // Arrange: 10 mil IDs com 1% das ocorrências concentradas no ID 7
+        CountMinSketch sketch = new CountMinSketch(1_024, 4);
+        long[] reais = new long[10_001];
+        SplittableRandom aleatorio = new SplittableRandom(42);
+        int ocorrencias = 200_000;
+        for (int i = 0; i < ocorrencias; i++) {
+            long id = i % 100 == 0 ? 7 : 1 + aleatorio.nextInt(10_000);
+            reais[(int) id]++;
+            sketch.incrementar(id);
+        }
+
+        // Act & Assert
+        long erroMaximo = (long) Math.ceil(Math.E / sketch.getLargura() * ocorrencias);
+        int acimaDoErro = 0;
+        for (int id = 1; id <= 10_000; id++) {
+            long estimativa = sketch.estimar(id);
+            assertThat(estimativa).isGreaterThanOrEqualTo(reais[id]);
+            if (estimativa - reais[id] > erroMaximo) {
+                acimaDoErro++;
+            }
+        }
+        // Probabilidade teórica e^-4 (~1,8%) por chave
+        assertThat(acimaDoErro).isLessThan(200);
+        assertThat(sketch.estimar(7)).isBetween(reais[7], reais[7] + erroMaximo);
+    }
+
+    @Test
+    @DisplayName("Deve devolver a estimativa atualizada ao incrementar")
+    void deveDevolverEstimativaAoIncrementar() {
+        // Arrange
+        CountMinSketch sketch = new CountMinSketch(64, 2);
+
+        // Act
+        sketch.incrementar(5);
+        long estimativa = sketch.incrementar(5);
+
+        // Assert
+        assertThat(estimativa).isEqualTo(2);
+        assertThat(sketch.estimar(5)).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Deve reduzir as contagens à metade ao decair")
+    void deveDecair() {
+        // Arrange
+        CountMinSketch sketch = new CountMinSketch(64, 3);
+        for (int i = 0; i < 9; i++) {
+            sketch.incrementar(11);
+        }
+
+        // Act
+        sketch.decair();
+
+        // Assert
+        assertThat(sketch.estimar(11)).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Deve contar sem perdas sob concorrência")
+    void deveContarSobConcorrencia() throws InterruptedException {
+        // Arrange
+        CountMinSketch sketch = new CountMinSketch(64, 4);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        // Act
+        for (int t = 0; t < 4; t++) {
+            executor.submit(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    sketch.incrementar(3);
+                }
+            });
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+
+        // Assert
+        assertThat(sketch.estimar(3)).isEqualTo(40_000);
+    }
+}
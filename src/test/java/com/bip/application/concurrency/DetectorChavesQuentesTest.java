@@ -0,0 +1,295 @@
+package com.bip.application.concurrency;
+
+import com.bip.application.metrics.MetricasRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("DetectorChavesQuentes")
+class DetectorChavesQuentesTest {
+
+    private static final ChavesQuentesConfig CONFIG = new ChavesQuentesConfig(true, 1_024, 4, 8, 3_600);
+
+    @Nested
+    @DisplayName("Ranking")
+    class RankingTests {
+
+        @Test
+        @DisplayName("Deve colocar os benefícios mais disputados no topo")
+        void deveColocarMaisDisputadosNoTopo() {
+            // Arrange: 1 e 2 participam de metade das transferências; o resto é uniforme
+            DetectorChavesQuentes detector = new DetectorChavesQuentes(CONFIG);
+            SplittableRandom aleatorio = new SplittableRandom(7);
+
+            // Act
+            for (int i = 0; i < 50_000; i++) {
+                long outro = 100 + aleatorio.nextInt(5_000);
+                if (i % 2 == 0) {
+                    detector.registrar(i % 4 == 0 ? 1L : 2L, outro);
+                } else {
+                    detector.registrar(outro, 100L + aleatorio.nextInt(5_000));
+                }
+            }
+
+            // Assert
+            List<DetectorChavesQuentes.ChaveQuente> ranking = detector.getMaisQuentes(3);
+            assertThat(ranking).hasSize(3);
+            assertThat(ranking.subList(0, 2)).extracting(DetectorChavesQuentes.ChaveQuente::beneficioId)
+                .containsExactlyInAnyOrder(1L, 2L);
+            assertThat(ranking.get(0).participacao()).isBetween(0.12, 0.14);
+            assertThat(ranking.get(2).estimativa()).isLessThan(ranking.get(1).estimativa() / 10);
+        }
+
+        @Test
+        @DisplayName("Deve manter no máximo a quantidade configurada")
+        void deveLimitarQuantidade() {
+            // Arrange
+            DetectorChavesQuentes detector = new DetectorChavesQuentes(CONFIG);
+
+            // Act
+            for (long id = 1; id <= 100; id++) {
+                for (int i = 0; i < id; i++) {
+                    detector.registrar(id, null);
+                }
+            }
+
+            // Assert
+            assertThat(detector.getMaisQuentes(100)).extracting(DetectorChavesQuentes.ChaveQuente::beneficioId)
+                .containsExactly(100L, 99L, 98L, 97L, 96L, 95L, 94L, 93L);
+        }
+
+        @Test
+        @DisplayName("Deve estimar benefícios fora do ranking")
+        void deveEstimarForaDoRanking() {
+            // Arrange
+            DetectorChavesQuentes detector = new DetectorChavesQuentes(CONFIG);
+
+            // Act
+            detector.registrar(1L, 2L);
+            detector.registrar(1L, 3L);
+
+            // Assert
+            assertThat(detector.estimar(1)).isEqualTo(2);
+            assertThat(detector.estimar(4)).isZero();
+        }
+
+        @Test
+        @DisplayName("Não deve registrar com o detector desabilitado")
+        void naoDeveRegistrarDesabilitado() {
+            // Arrange
+            DetectorChavesQuentes detector = new DetectorChavesQuentes(new ChavesQuentesConfig(false, 64, 2, 4, 60));
+
+            // Act
+            detector.registrar(1L, 2L);
+
+            // Assert
+            assertThat(detector.getMaisQuentes(10)).isEmpty();
+            assertThat(detector.getEstatisticas().participacoes()).isZero();
+        }
+
+        @Test
+        @DisplayName("Deve rejeitar limite não positivo")
+        void deveRejeitarLimiteInvalido() {
+            DetectorChavesQuentes detector = new DetectorChavesQuentes(CONFIG);
+
+            assertThatThrownBy(() -> detector.getMaisQuentes(0)).isInstanceOf(IllegalArgumentException.class);
+        }
+
+        @Test
+        @DisplayName("Deve aceitar registros concorrentes")
+        void deveAceitarRegistrosConcorrentes() throws Exception {
+            // Arrange
+            DetectorChavesQuentes detector = new DetectorChavesQuentes(CONFIG);
+            ExecutorService executor = Executors.newFixedThreadPool(4);
+            CountDownLatch largada = new CountDownLatch(1);
+            List<Future<?>> tarefas = new ArrayList<>();
+
+            // Act
+            for (int t = 0; t < 4; t++) {
+                long outro = 10 + t;
+                tarefas.add(executor.submit(() -> {
+                    largada.await();
+                    for (int i = 0; i < 10_000; i++) {
+                        detector.registrar(1L, outro);
+                    }
+                    return null;
+                }));
+            }
+            largada.countDown();
+            for (Future<?> tarefa : tarefas) {
+                tarefa.get(30, TimeUnit.SECONDS);
+            }
+            executor.shutdown();
+            // Um registro sem disputa pelo lock atualiza o ranking com a estimativa final
+            detector.registrar(1L, null);
+
+            // Assert
+            assertThat(detector.getEstatisticas().participacoes()).isEqualTo(80_002);
+            DetectorChavesQuentes.ChaveQuente primeira = detector.getMaisQuentes(1).get(0);
+            assertThat(primeira.beneficioId()).isEqualTo(1L);
+            assertThat(primeira.estimativa()).isEqualTo(40_001);
+        }
+    }
+
+    @Nested
+    @DisplayName("Decaimento")
+    class DecaimentoTests {
+
+        @Test
+        @DisplayName("Deve reduzir contagens e ranking à metade")
+        void deveReduzirAMetade() {
+            // Arrange
+            DetectorChavesQuentes detector = new DetectorChavesQuentes(new ChavesQuentesConfig(true, 64, 2, 4, 60));
+            for (int i = 0; i < 10; i++) {
+                detector.registrar(1L, 2L);
+            }
+
+            // Act
+            detector.decair();
+            detector.registrar(3L, 4L);
+
+            // Assert
+            assertThat(detector.getEstatisticas().decaimentos()).isEqualTo(1);
+            assertThat(detector.getEstatisticas().participacoes()).isEqualTo(12);
+            assertThat(detector.estimar(1)).isEqualTo(5);
+            assertThat(detector.getMaisQuentes(1).get(0).estimativa()).isEqualTo(5);
+        }
+
+        @Test
+        @DisplayName("Deve decair em segundo plano a cada janela, fora da thread do registro")
+        void deveDecairEmSegundoPlano() throws Exception {
+            // Arrange
+            DetectorChavesQuentes detector = new DetectorChavesQuentes(new ChavesQuentesConfig(true, 64, 2, 4, 1));
+            injetarRegistry(detector);
+            for (int i = 0; i < 8; i++) {
+                detector.registrar(1L, 2L);
+            }
+
+            // Act
+            detector.iniciar();
+            try {
+                long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+                while (detector.getEstatisticas().decaimentos() == 0 && System.nanoTime() < limite) {
+                    Thread.sleep(50);
+                }
+            } finally {
+                detector.encerrar();
+            }
+
+            // Assert
+            assertThat(detector.getEstatisticas().decaimentos()).isPositive();
+            assertThat(detector.estimar(1)).isLessThanOrEqualTo(4);
+        }
+
+        @Test
+        @DisplayName("Não deve decair no registro, mesmo após a janela")
+        void naoDeveDecairNoRegistro() {
+            // Arrange
+            DetectorChavesQuentes detector = new DetectorChavesQuentes(new ChavesQuentesConfig(true, 64, 2, 4, 1));
+
+            // Act
+            for (int i = 0; i < 10; i++) {
+                detector.registrar(1L, 2L);
+            }
+
+            // Assert
+            assertThat(detector.getEstatisticas().decaimentos()).isZero();
+            assertThat(detector.estimar(1)).isEqualTo(10);
+        }
+    }
+
+    @Nested
+    @DisplayName("Métricas")
+    class MetricasTests {
+
+        @Test
+        @DisplayName("Deve exportar participação e benefício por posição")
+        void deveExportarPorPosicao() throws ReflectiveOperationException {
+            // Arrange
+            DetectorChavesQuentes detector = new DetectorChavesQuentes(CONFIG);
+            MetricasRegistry registry = injetarRegistry(detector);
+            detector.iniciar();
+            detector.encerrar();
+            detector.registrar(42L, 42L);
+
+            // Act
+            String texto = registry.openMetrics();
+
+            // Assert
+            assertThat(texto).contains(
+                "bip_transferencia_chave_quente_participacao{posicao=\"1\"} 1.0\n",
+                "bip_transferencia_chave_quente_beneficio{posicao=\"1\"} 42.0\n",
+                "bip_transferencia_chave_quente_beneficio{posicao=\"2\"} 0.0\n");
+        }
+    }
+
+    @Nested
+    @DisplayName("Configuração")
+    class ConfiguracaoTests {
+
+        @Test
+        @DisplayName("Deve usar os padrões sem propriedades de sistema")
+        void deveUsarPadroes() {
+            // Act
+            ChavesQuentesConfig config = ChavesQuentesConfig.fromSystemProperties();
+
+            // Assert
+            assertThat(config.habilitado()).isTrue();
+            assertThat(config.largura()).isEqualTo(2_048);
+            assertThat(config.profundidade()).isEqualTo(4);
+            assertThat(config.quantidade()).isEqualTo(32);
+            assertThat(config.janelaSegundos()).isEqualTo(60);
+        }
+
+        @Test
+        @DisplayName("Deve calcular o erro máximo pela largura do sketch")
+        void deveCalcularErroMaximo() {
+            // Arrange
+            DetectorChavesQuentes detector = new DetectorChavesQuentes(CONFIG);
+            for (int i = 0; i < 512; i++) {
+                detector.registrar((long) i, (long) i + 1);
+            }
+
+            // Act
+            DetectorChavesQuentes.Estatisticas estatisticas = detector.getEstatisticas();
+
+            // Assert
+            assertThat(estatisticas.participacoes()).isEqualTo(1_024);
+            assertThat(estatisticas.erroMaximo()).isEqualTo(3);
+        }
+
+        @Test
+        @DisplayName("Deve rejeitar valores inválidos")
+        void deveRejeitarValoresInvalidos() {
+            assertThatThrownBy(() -> new ChavesQuentesConfig(true, 0, 4, 8, 60))
+                .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> new ChavesQuentesConfig(true, 64, 0, 8, 60))
+                .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> new ChavesQuentesConfig(true, 64, 4, 0, 60))
+                .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> new ChavesQuentesConfig(true, 64, 4, 8, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    private static MetricasRegistry injetarRegistry(DetectorChavesQuentes detector) throws ReflectiveOperationException {
+        MetricasRegistry registry = new MetricasRegistry();
+        Field campo = DetectorChavesQuentes.class.getDeclaredField("registry");
+        campo.setAccessible(true);
+        campo.set(detector, registry);
+        return registry;
+    }
+}
@@ -0,0 +1,194 @@
+package com.bip.application.concurrency;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("GroupCommitExecutor")
+class GroupCommitExecutorTest {
+
+    private GroupCommitExecutor<Integer> executor;
+
+    @AfterEach
+    void tearDown() {
+        if (executor != null) {
+            executor.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve agrupar itens concorrentes em menos transações que itens")
+    void deveAgruparItensEmLotes() {
+        // Arrange
+        AtomicInteger transacoes = new AtomicInteger();
+        List<Integer> aplicados = new CopyOnWriteArrayList<>();
+        executor = new GroupCommitExecutor<>("teste", config(16, 50_000, 1, 128),
+            aplicados::add, trabalho -> {
+                transacoes.incrementAndGet();
+                trabalho.run();
+            });
+
+        // Act
+        List<CompletableFuture<Void>> resultados = new ArrayList<>();
+        for (int i = 0; i < 32; i++) {
+            resultados.add(executor.submeter(i));
+        }
+        CompletableFuture.allOf(resultados.toArray(new CompletableFuture[0])).join();
+
+        // Assert
+        assertThat(aplicados).hasSize(32);
+        assertThat(transacoes.get()).isLessThan(32);
+        assertThat(executor.getItensProcessados()).isEqualTo(32);
+        assertThat(executor.getMaiorLote()).isLessThanOrEqualTo(16);
+    }
+
+    @Test
+    @DisplayName("Falha de um item não deve afetar os demais itens do lote")
+    void falhaDeItemNaoDeveAfetarLote() {
+        // Arrange
+        executor = new GroupCommitExecutor<>("teste", config(8, 50_000, 1, 16),
+            item -> {
+                if (item == 2) {
+                    throw new IllegalArgumentException("Saldo insuficiente");
+                }
+            }, Runnable::run);
+
+        // Act
+        CompletableFuture<Void> primeiro = executor.submeter(1);
+        CompletableFuture<Void> comFalha = executor.submeter(2);
+        CompletableFuture<Void> terceiro = executor.submeter(3);
+
+        // Assert
+        assertThat(primeiro.join()).isNull();
+        assertThat(terceiro.join()).isNull();
+        assertThatThrownBy(() -> executor.executar(2))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("Saldo insuficiente");
+        assertThat(comFalha).isCompletedExceptionally();
+    }
+
+    @Test
+    @DisplayName("Falha na segunda perna de um item não deve persistir a primeira")
+    void falhaNaSegundaPernaNaoDevePersistirAPrimeira() {
+        // Arrange: saldos com commit e rollback, como a transação do repositório
+        Map<String, Integer> banco = new HashMap<>(Map.of("origem", 100, "destino", 0, "bloqueado", 0));
+        Map<String, Integer> transacao = new HashMap<>();
+        Consumer<Runnable> emTransacao = trabalho -> {
+            transacao.clear();
+            transacao.putAll(banco);
+            trabalho.run();
+            banco.clear();
+            banco.putAll(transacao);
+        };
+        // Cada item debita a origem e credita o destino; o item 2 falha no crédito
+        executor = new GroupCommitExecutor<>("teste", config(8, 50_000, 1, 16),
+            item -> {
+                transacao.merge("origem", -10, Integer::sum);
+                if (item == 2) {
+                    throw new IllegalStateException("Destino bloqueado");
+                }
+                transacao.merge("destino", 10, Integer::sum);
+            }, emTransacao);
+
+        // Act
+        CompletableFuture<Void> primeiro = executor.submeter(1);
+        CompletableFuture<Void> comFalha = executor.submeter(2);
+        CompletableFuture<Void> terceiro = executor.submeter(3);
+        CompletableFuture.allOf(primeiro, terceiro).join();
+
+        // Assert
+        assertThat(comFalha).isCompletedExceptionally();
+        assertThat(banco).containsEntry("origem", 80).containsEntry("destino", 20);
+        assertThat(executor.getLotesRefeitos()).isLessThanOrEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Falha no commit deve ser propagada para todos os itens do lote")
+    void falhaNoCommitDevePropagarParaTodos() {
+        // Arrange
+        Consumer<Runnable> commitComFalha = trabalho -> {
+            trabalho.run();
+            throw new IllegalStateException("Falha no commit");
+        };
+        executor = new GroupCommitExecutor<>("teste", config(8, 1_000, 1, 16), item -> { }, commitComFalha);
+
+        // Act & Assert
+        assertThatThrownBy(() -> executor.executar(1))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessage("Falha no commit");
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar itens quando a fila estiver cheia")
+    void deveRejeitarQuandoFilaCheia() throws InterruptedException {
+        // Arrange
+        CountDownLatch bloqueio = new CountDownLatch(1);
+        CountDownLatch emProcessamento = new CountDownLatch(1);
+        executor = new GroupCommitExecutor<>("teste", config(1, 0, 1, 1),
+            item -> {
+                emProcessamento.countDown();
+                aguardar(bloqueio);
+            }, Runnable::run);
+
+        executor.submeter(1);
+        assertThat(emProcessamento.await(5, TimeUnit.SECONDS)).isTrue();
+        executor.submeter(2);
+
+        // Act & Assert
+        assertThatThrownBy(() -> executor.submeter(3))
+            .isInstanceOf(RejectedExecutionException.class)
+            .hasMessage("Fila de group commit cheia");
+
+        bloqueio.countDown();
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar itens após encerramento")
+    void deveRejeitarAposEncerramento() {
+        // Arrange
+        executor = new GroupCommitExecutor<>("teste", config(4, 0, 1, 4), item -> { }, Runnable::run);
+
+        // Act
+        executor.close();
+
+        // Assert
+        assertThatThrownBy(() -> executor.submeter(1))
+            .isInstanceOf(RejectedExecutionException.class);
+    }
+
+    @Test
+    @DisplayName("Deve validar configuração inválida")
+    void deveValidarConfiguracao() {
+        assertThatThrownBy(() -> config(0, 0, 1, 1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> config(1, -1, 1, 1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> config(1, 0, 0, 1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> config(1, 0, 1, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static GroupCommitConfig config(int lote, long esperaMicros, int workers, int capacidade) {
+        return new GroupCommitConfig(true, lote, esperaMicros, workers, capacidade);
+    }
+
+    private static void aguardar(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.bip.application.concurrency;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("RingBuffer")
+class RingBufferTest {
+
+    @Test
+    @DisplayName("Deve arredondar a capacidade para potência de 2")
+    void deveArredondarCapacidade() {
+        assertThat(new RingBuffer<String>(100).capacidade()).isEqualTo(128);
+        assertThat(new RingBuffer<String>(64).capacidade()).isEqualTo(64);
+        assertThatThrownBy(() -> new RingBuffer<String>(0))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Deve manter a ordem FIFO e recusar inserção quando cheio")
+    void deveManterOrdemERecusarQuandoCheio() {
+        // Arrange
+        RingBuffer<Integer> buffer = new RingBuffer<>(4);
+
+        // Act
+        for (int i = 0; i < 4; i++) {
+            assertThat(buffer.offer(i)).isTrue();
+        }
+
+        // Assert
+        assertThat(buffer.offer(99)).isFalse();
+        assertThat(buffer.size()).isEqualTo(4);
+        assertThat(buffer.poll()).isEqualTo(0);
+        assertThat(buffer.offer(4)).isTrue();
+        assertThat(List.of(buffer.poll(), buffer.poll(), buffer.poll(), buffer.poll()))
+            .containsExactly(1, 2, 3, 4);
+        assertThat(buffer.poll()).isNull();
+        assertThat(buffer.isEmpty()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar elemento nulo")
+    void deveRejeitarElementoNulo() {
+        assertThatThrownBy(() -> new RingBuffer<String>(4).offer(null))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Deve entregar uma única vez todos os elementos de vários produtores")
+    void deveEntregarElementosDeVariosProdutores() throws Exception {
+        // Arrange
+        RingBuffer<Integer> buffer = new RingBuffer<>(1_024);
+        int produtores = 4;
+        int porProdutor = 10_000;
+        ExecutorService executor = Executors.newFixedThreadPool(produtores);
+        CountDownLatch largada = new CountDownLatch(1);
+        List<Future<?>> tarefas = new ArrayList<>();
+
+        // Act
+        for (int p = 0; p < produtores; p++) {
+            int base = p * porProdutor;
+            tarefas.add(executor.submit(() -> {
+                largada.await();
+                for (int i = 0; i < porProdutor; i++) {
+                    while (!buffer.offer(base + i)) {
+                        Thread.yield();
+                    }
+                }
+                return null;
+            }));
+        }
+        largada.countDown();
+
+        Set<Integer> recebidos = new HashSet<>();
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (recebidos.size() < produtores * porProdutor && System.nanoTime() < limite) {
+            Integer elemento = buffer.poll();
+            if (elemento != null) {
+                assertThat(recebidos.add(elemento)).isTrue();
+            } else {
+                Thread.yield();
+            }
+        }
+        for (Future<?> tarefa : tarefas) {
+            tarefa.get(5, TimeUnit.SECONDS);
+        }
+        executor.shutdownNow();
+
+        // Assert
+        assertThat(recebidos).hasSize(produtores * porProdutor);
+        assertThat(buffer.poll()).isNull();
+    }
+}
@@ -0,0 +1,193 @@
+package com.bip.application.concurrency;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("StripedLockManager")
+class StripedLockManagerTest {
+
+    private StripedLockManager lockManager;
+
+    @BeforeEach
+    void setUp() {
+        lockManager = new StripedLockManager();
+        lockManager.configurar(true, 64, 1_000L);
+    }
+
+    @Nested
+    @DisplayName("Configuração")
+    class ConfiguracaoTests {
+
+        @Test
+        @DisplayName("Deve arredondar a quantidade de stripes para potência de 2")
+        void deveArredondarStripes() {
+            // Act
+            lockManager.configurar(true, 100, 1_000L);
+
+            // Assert
+            assertThat(lockManager.getQuantidadeStripes()).isEqualTo(128);
+        }
+
+        @Test
+        @DisplayName("Deve retornar bloqueio vazio quando desabilitado")
+        void deveRetornarBloqueioVazioQuandoDesabilitado() {
+            // Arrange
+            lockManager.configurar(false, 64, 1_000L);
+
+            // Act
+            try (StripedLockManager.Bloqueio bloqueio = lockManager.adquirir(1L, 2L)) {
+                // Assert
+                assertThat(bloqueio).isNotNull();
+            }
+            assertThat(lockManager.isHabilitado()).isFalse();
+            assertThat(lockManager.getEstatisticas()).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Deve rejeitar configuração e IDs inválidos")
+        void deveRejeitarParametrosInvalidos() {
+            assertThatThrownBy(() -> lockManager.configurar(true, 0, 1_000L))
+                .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> lockManager.configurar(true, 64, 0L))
+                .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> lockManager.adquirir())
+                .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> lockManager.adquirir(1L, null))
+                .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("Aquisição")
+    class AquisicaoTests {
+
+        @Test
+        @DisplayName("Deve adquirir uma única vez IDs do mesmo stripe")
+        void deveAdquirirMesmoStripeUmaVez() {
+            // Act
+            try (StripedLockManager.Bloqueio bloqueio = lockManager.adquirir(7L, 7L)) {
+                // Assert
+                assertThat(lockManager.getEstatisticas()).hasSize(1);
+                assertThat(lockManager.getEstatisticas().get(0).aquisicoes()).isEqualTo(1);
+            }
+        }
+
+        @Test
+        @DisplayName("Deve serializar operações concorrentes sobre o mesmo benefício")
+        void deveSerializarOperacoesNoMesmoBeneficio() throws Exception {
+            // Arrange
+            int threads = 8;
+            AtomicInteger dentro = new AtomicInteger();
+            AtomicInteger maximoSimultaneo = new AtomicInteger();
+            ExecutorService executor = Executors.newFixedThreadPool(threads);
+            CountDownLatch largada = new CountDownLatch(1);
+            List<Future<?>> tarefas = new ArrayList<>();
+
+            // Act
+            for (int i = 0; i < threads; i++) {
+                long destino = 100L + i;
+                tarefas.add(executor.submit(() -> {
+                    largada.await();
+                    try (StripedLockManager.Bloqueio bloqueio = lockManager.adquirir(1L, destino)) {
+                        maximoSimultaneo.accumulateAndGet(dentro.incrementAndGet(), Math::max);
+                        Thread.sleep(5);
+                        dentro.decrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            largada.countDown();
+            for (Future<?> tarefa : tarefas) {
+                tarefa.get(5, TimeUnit.SECONDS);
+            }
+            executor.shutdownNow();
+
+            // Assert
+            assertThat(maximoSimultaneo).hasValue(1);
+            StripedLockManager.EstatisticaStripe quente = lockManager.getEstatisticas().stream()
+                .filter(e -> e.indice() == lockManager.indiceStripe(1L))
+                .findFirst().orElseThrow();
+            assertThat(quente.aquisicoes()).isEqualTo(threads);
+            assertThat(quente.contencoes()).isPositive();
+            assertThat(quente.filaMaxima()).isPositive();
+            assertThat(quente.filaAtual()).isZero();
+        }
+
+        @Test
+        @DisplayName("Não deve haver deadlock em transferências cruzadas")
+        void naoDeveHaverDeadlockEmTransferenciasCruzadas() throws Exception {
+            // Arrange
+            ExecutorService executor = Executors.newFixedThreadPool(2);
+            AtomicInteger concluidas = new AtomicInteger();
+            Runnable ida = () -> repetir(() -> lockManager.adquirir(1L, 2L), concluidas);
+            Runnable volta = () -> repetir(() -> lockManager.adquirir(2L, 1L), concluidas);
+
+            // Act
+            Future<?> primeira = executor.submit(ida);
+            Future<?> segunda = executor.submit(volta);
+            primeira.get(10, TimeUnit.SECONDS);
+            segunda.get(10, TimeUnit.SECONDS);
+            executor.shutdownNow();
+
+            // Assert
+            assertThat(concluidas).hasValue(2_000);
+        }
+
+        @Test
+        @DisplayName("Deve rejeitar e liberar stripes quando a espera máxima é excedida")
+        void deveRejeitarQuandoEsperaExcedida() throws Exception {
+            // Arrange
+            lockManager.configurar(true, 64, 20L);
+            CountDownLatch adquirido = new CountDownLatch(1);
+            CountDownLatch liberar = new CountDownLatch(1);
+            Thread dono = new Thread(() -> {
+                try (StripedLockManager.Bloqueio bloqueio = lockManager.adquirir(1L)) {
+                    adquirido.countDown();
+                    liberar.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            dono.start();
+            adquirido.await();
+
+            // Act & Assert
+            assertThatThrownBy(() -> lockManager.adquirir(1L, 2L))
+                .isInstanceOf(RejectedExecutionException.class);
+            liberar.countDown();
+            dono.join();
+
+            // Stripes parcialmente adquiridos devem estar livres para outras threads
+            ExecutorService outra = Executors.newSingleThreadExecutor();
+            outra.submit(() -> lockManager.adquirir(2L).close()).get(5, TimeUnit.SECONDS);
+            outra.shutdownNow();
+            assertThat(lockManager.getEstatisticas())
+                .anySatisfy(e -> assertThat(e.timeouts()).isEqualTo(1));
+        }
+    }
+
+    private static void repetir(Supplier<StripedLockManager.Bloqueio> aquisicao,
+                                AtomicInteger concluidas) {
+        for (int i = 0; i < 1_000; i++) {
+            try (StripedLockManager.Bloqueio bloqueio = aquisicao.get()) {
+                concluidas.incrementAndGet();
+            }
+        }
+    }
+}
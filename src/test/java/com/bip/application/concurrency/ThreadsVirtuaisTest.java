@@ -0,0 +1,100 @@
+package com.bip.application.concurrency;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+@DisplayName("ThreadsVirtuais")
+class ThreadsVirtuaisTest {
+
+    @AfterEach
+    void tearDown() {
+        System.clearProperty(ThreadsVirtuais.PROPRIEDADE);
+    }
+
+    @Test
+    @DisplayName("Deve acompanhar a versão da JVM")
+    void deveAcompanharVersaoDaJvm() {
+        assertThat(ThreadsVirtuais.isSuportado()).isEqualTo(Runtime.version().feature() >= 21);
+    }
+
+    @Test
+    @DisplayName("Deve ficar desabilitado sem a propriedade")
+    void deveFicarDesabilitadoSemPropriedade() {
+        assertThat(ThreadsVirtuais.isHabilitado()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Não deve considerar threads de plataforma virtuais")
+    void naoDeveConsiderarThreadsDePlataformaVirtuais() {
+        assertThat(ThreadsVirtuais.isVirtual(Thread.currentThread())).isFalse();
+    }
+
+    @Nested
+    @DisplayName("Antes do Java 21")
+    class SemSuporte {
+
+        @Test
+        @DisplayName("Deve ignorar a propriedade ligada")
+        void deveIgnorarPropriedade() {
+            // Arrange
+            assumeFalse(ThreadsVirtuais.isSuportado());
+            System.setProperty(ThreadsVirtuais.PROPRIEDADE, "true");
+
+            // Act & Assert
+            assertThat(ThreadsVirtuais.isHabilitado()).isFalse();
+        }
+
+        @Test
+        @DisplayName("Deve recusar a criação de executores")
+        void deveRecusarExecutores() {
+            assumeFalse(ThreadsVirtuais.isSuportado());
+
+            assertThatThrownBy(() -> ThreadsVirtuais.executorPorTarefa("teste-"))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Java 21");
+        }
+    }
+
+    @Nested
+    @DisplayName("No Java 21")
+    class ComSuporte {
+
+        @Test
+        @DisplayName("Deve habilitar com a propriedade ligada")
+        void deveHabilitarComPropriedade() {
+            // Arrange
+            assumeTrue(ThreadsVirtuais.isSuportado());
+            System.setProperty(ThreadsVirtuais.PROPRIEDADE, "true");
+
+            // Act & Assert
+            assertThat(ThreadsVirtuais.isHabilitado()).isTrue();
+        }
+
+        @Test
+        @DisplayName("Deve executar cada tarefa em uma thread virtual nomeada")
+        void deveExecutarEmThreadVirtual() throws Exception {
+            // Arrange
+            assumeTrue(ThreadsVirtuais.isSuportado());
+            ExecutorService executor = ThreadsVirtuais.executorPorTarefa("teste-");
+
+            // Act
+            Future<Thread> thread = executor.submit(Thread::currentThread);
+
+            // Assert
+            assertThat(ThreadsVirtuais.isVirtual(thread.get(5, TimeUnit.SECONDS))).isTrue();
+            assertThat(thread.get().getName()).startsWith("teste-");
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package com.bip.application.jfr;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("GravadorJfr")
+class GravadorJfrTest {
+
+    private static final long TAMANHO = 16 * 1024 * 1024;
+
+    private GravadorJfr gravador;
+
+    @BeforeEach
+    void setUp() {
+        gravador = new GravadorJfr();
+    }
+
+    @AfterEach
+    void tearDown() {
+        gravador.encerrar();
+    }
+
+    @Nested
+    @DisplayName("Ciclo da gravação")
+    class CicloTests {
+
+        @Test
+        @DisplayName("Deve informar NENHUMA antes da primeira gravação")
+        void deveInformarNenhuma() {
+            assertThat(gravador.getSituacao().estado()).isEqualTo("NENHUMA");
+        }
+
+        @Test
+        @DisplayName("Deve iniciar, parar e manter a gravação para o dump")
+        void deveIniciarEParar() {
+            // Act
+            GravadorJfr.Situacao iniciada = gravador.iniciar("default", Duration.ofMinutes(1), TAMANHO);
+            GravadorJfr.Situacao parada = gravador.parar();
+
+            // Assert
+            assertThat(iniciada.estado()).isEqualTo("RUNNING");
+            assertThat(iniciada.inicio()).isNotNull();
+            assertThat(iniciada.duracaoMaxima()).isEqualTo(Duration.ofMinutes(1));
+            assertThat(parada.estado()).isEqualTo("STOPPED");
+            assertThat(parada.fim()).isNotNull();
+        }
+
+        @Test
+        @DisplayName("Deve rejeitar uma segunda gravação simultânea")
+        void deveRejeitarGravacaoSimultanea() {
+            // Arrange
+            gravador.iniciar("default", Duration.ofMinutes(1), TAMANHO);
+
+            // Act & Assert
+            assertThatThrownBy(() -> gravador.iniciar("default", Duration.ofMinutes(1), TAMANHO))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("em andamento");
+        }
+
+        @Test
+        @DisplayName("Deve permitir nova gravação após parar a anterior")
+        void devePermitirNovaGravacao() {
+            // Arrange
+            gravador.iniciar("default", Duration.ofMinutes(1), TAMANHO);
+            gravador.parar();
+
+            // Act
+            GravadorJfr.Situacao nova = gravador.iniciar("profile", Duration.ofMinutes(1), TAMANHO);
+
+            // Assert
+            assertThat(nova.estado()).isEqualTo("RUNNING");
+        }
+
+        @Test
+        @DisplayName("Deve despejar uma cópia sem interromper a gravação em andamento")
+        void deveDespejarSemInterromper() throws IOException {
+            // Arrange
+            gravador.iniciar("default", Duration.ofMinutes(1), TAMANHO);
+
+            // Act
+            Path arquivo = gravador.despejar();
+
+            // Assert
+            try {
+                assertThat(Files.size(arquivo)).isPositive();
+                assertThat(gravador.getSituacao().estado()).isEqualTo("RUNNING");
+            } finally {
+                Files.deleteIfExists(arquivo);
+            }
+        }
+
+        @Test
+        @DisplayName("Deve rejeitar configuração inexistente e limites inválidos")
+        void deveRejeitarParametrosInvalidos() {
+            assertThatThrownBy(() -> gravador.iniciar("inexistente", Duration.ofMinutes(1), TAMANHO))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("inexistente");
+            assertThatThrownBy(() -> gravador.iniciar("default", Duration.ZERO, TAMANHO))
+                .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> gravador.iniciar("default", Duration.ofMinutes(1), 0))
+                .isInstanceOf(IllegalArgumentException.class);
+        }
+
+        @Test
+        @DisplayName("Deve falhar ao parar ou despejar sem gravação")
+        void deveFalharSemGravacao() {
+            assertThatThrownBy(() -> gravador.parar())
+                .isInstanceOf(IllegalStateException.class);
+            assertThatThrownBy(() -> gravador.despejar())
+                .isInstanceOf(IllegalStateException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("Eventos da aplicação")
+    class EventosTests {
+
+        @Test
+        @DisplayName("Deve gravar transferências e consultas no dump")
+        void deveGravarEventosDaAplicacao() throws IOException {
+            // Arrange
+            gravador.iniciar("default", Duration.ofMinutes(1), TAMANHO);
+
+            TransferenciaEvento transferencia = TransferenciaEvento.iniciar();
+            transferencia.setModo("direto");
+            transferencia.setEsperaLock(1_000);
+            transferencia.setCommit(2_000);
+            transferencia.emitir(1L, 2L, new BigDecimal("150.75"), null);
+
+            ConsultaRepositorioEvento consulta = ConsultaRepositorioEvento.iniciar("findAll");
+            consulta.concluir(42);
+            consulta.emitir();
+
+            ConsultaRepositorioEvento falha = ConsultaRepositorioEvento.iniciar("save");
+            falha.emitir();
+
+            // Act
+            gravador.parar();
+            Path arquivo = gravador.despejar();
+            List<RecordedEvent> eventos;
+            try {
+                eventos = RecordingFile.readAllEvents(arquivo);
+            } finally {
+                Files.deleteIfExists(arquivo);
+            }
+
+            // Assert
+            RecordedEvent gravada = eventos.stream()
+                .filter(e -> e.getEventType().getName().equals("com.bip.Transferencia"))
+                .findFirst().orElseThrow();
+            assertThat(gravada.getLong("origemId")).isEqualTo(1L);
+            assertThat(gravada.getLong("destinoId")).isEqualTo(2L);
+            assertThat(gravada.getDouble("valor")).isEqualTo(150.75);
+            assertThat(gravada.getString("modo")).isEqualTo("direto");
+            assertThat(gravada.getDuration("esperaLock")).isEqualTo(Duration.ofNanos(1_000));
+            assertThat(gravada.getDuration("commit")).isEqualTo(Duration.ofNanos(2_000));
+            assertThat(gravada.getString("falha")).isEmpty();
+
+            List<RecordedEvent> consultas = eventos.stream()
+                .filter(e -> e.getEventType().getName().equals("com.bip.ConsultaRepositorio"))
+                .toList();
+            assertThat(consultas).extracting(e -> e.getString("consulta")).containsExactly("findAll", "save");
+            assertThat(consultas.get(0).getInt("linhas")).isEqualTo(42);
+            assertThat(consultas.get(0).getBoolean("sucesso")).isTrue();
+            assertThat(consultas.get(1).getBoolean("sucesso")).isFalse();
+        }
+
+        @Test
+        @DisplayName("Deve registrar a classe da exceção na transferência com falha")
+        void deveRegistrarFalha() throws IOException {
+            // Arrange
+            gravador.iniciar("default", Duration.ofMinutes(1), TAMANHO);
+            TransferenciaEvento evento = TransferenciaEvento.iniciar();
+            evento.emitir(1L, 2L, BigDecimal.TEN, new IllegalStateException("inativo"));
+
+            // Act
+            Path arquivo = gravador.despejar();
+            List<RecordedEvent> eventos;
+            try {
+                eventos = RecordingFile.readAllEvents(arquivo);
+            } finally {
+                Files.deleteIfExists(arquivo);
+            }
+
+            // Assert
+            assertThat(eventos)
+                .filteredOn(e -> e.getEventType().getName().equals("com.bip.Transferencia"))
+                .extracting(e -> e.getString("falha"))
+                .containsExactly("IllegalStateException");
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.bip.application.ledger;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("FileJournal")
+class FileJournalTest {
+
+    @TempDir
+    Path diretorio;
+
+    @Test
+    @DisplayName("Deve reaplicar apenas registros posteriores à sequência informada")
+    void deveReaplicarRegistrosPosteriores() {
+        // Arrange
+        try (FileJournal journal = new FileJournal(diretorio)) {
+            for (long i = 1; i <= 5; i++) {
+                journal.append(registro(i));
+            }
+            journal.sync();
+        }
+
+        // Act
+        List<RegistroJournal> lidos = new ArrayList<>();
+        long ultima;
+        try (FileJournal journal = new FileJournal(diretorio)) {
+            ultima = journal.replay(2, lidos::add);
+        }
+
+        // Assert
+        assertThat(ultima).isEqualTo(5);
+        assertThat(lidos).extracting(RegistroJournal::sequencia).containsExactly(3L, 4L, 5L);
+        assertThat(lidos.get(0)).isEqualTo(registro(3));
+    }
+
+    @Test
+    @DisplayName("Deve descartar registro incompleto ou corrompido no fim do arquivo")
+    void deveDescartarRegistroFinalInvalido() throws Exception {
+        // Arrange
+        try (FileJournal journal = new FileJournal(diretorio)) {
+            journal.append(registro(1));
+            journal.append(registro(2));
+            journal.sync();
+        }
+        Path arquivo = diretorio.resolve(FileJournal.NOME_ARQUIVO);
+        // Corrompe o segundo registro e simula escrita interrompida de um terceiro
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.WRITE)) {
+            canal.write(ByteBuffer.wrap(new byte[] {42}), FileJournal.TAMANHO_REGISTRO + 10);
+            canal.write(ByteBuffer.wrap(new byte[10]), FileJournal.TAMANHO_REGISTRO * 2L);
+        }
+
+        // Act
+        List<RegistroJournal> lidos = new ArrayList<>();
+        try (FileJournal journal = new FileJournal(diretorio)) {
+            journal.replay(0, lidos::add);
+            journal.append(registro(2));
+        }
+
+        // Assert
+        assertThat(lidos).extracting(RegistroJournal::sequencia).containsExactly(1L);
+        assertThat(Files.size(arquivo)).isEqualTo(FileJournal.TAMANHO_REGISTRO * 2L);
+    }
+
+    @Test
+    @DisplayName("Deve compactar mantendo apenas registros após a sequência descartada")
+    void deveCompactarJournal() throws Exception {
+        // Arrange
+        List<RegistroJournal> lidos = new ArrayList<>();
+        try (FileJournal journal = new FileJournal(diretorio)) {
+            for (long i = 1; i <= 4; i++) {
+                journal.append(registro(i));
+            }
+
+            // Act
+            journal.descartarAte(3);
+            journal.append(registro(5));
+            journal.replay(0, lidos::add);
+        }
+
+        // Assert
+        assertThat(lidos).extracting(RegistroJournal::sequencia).containsExactly(4L, 5L);
+        assertThat(Files.size(diretorio.resolve(FileJournal.NOME_ARQUIVO)))
+            .isEqualTo(FileJournal.TAMANHO_REGISTRO * 2L);
+    }
+
+    @Test
+    @DisplayName("Deve esvaziar o arquivo quando todos os registros são descartados")
+    void deveEsvaziarQuandoTudoDescartado() throws Exception {
+        // Arrange
+        try (FileJournal journal = new FileJournal(diretorio)) {
+            journal.append(registro(1));
+            journal.append(registro(2));
+
+            // Act
+            journal.descartarAte(2);
+        }
+
+        // Assert
+        assertThat(Files.size(diretorio.resolve(FileJournal.NOME_ARQUIVO))).isZero();
+    }
+
+    private static RegistroJournal registro(long sequencia) {
+        return new RegistroJournal(sequencia, 1L, 2L, sequencia * 100, 1_700_000_000_000L + sequencia, -sequencia);
+    }
+}
@@ -0,0 +1,293 @@
+package com.bip.application.ledger;
+
+import com.bip.application.dtos.TransferenciaDto;
+import com.bip.application.services.IdempotenciaService;
+import com.bip.domain.entities.Beneficio;
+import com.bip.domain.exceptions.SaldoInsuficienteException;
+import com.bip.domain.repositories.BeneficioRepository;
+import com.bip.domain.repositories.LedgerRepository;
+import com.bip.domain.valueobjects.Money;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("LedgerEngine")
+class LedgerEngineTest {
+
+    @Mock
+    private BeneficioRepository beneficioRepository;
+
+    @Mock
+    private LedgerRepository ledgerRepository;
+
+    @Captor
+    private ArgumentCaptor<Map<Long, Money>> snapshotCaptor;
+
+    @InjectMocks
+    private LedgerEngine engine;
+
+    @TempDir
+    Path diretorio;
+
+    /**
+     * Estado "persistido" pelos snapshots gravados no repositório mockado.
+     */
+    private final Map<Long, Money> banco = new ConcurrentHashMap<>();
+    private volatile long checkpoint;
+
+    /**
+     * Liberado ao final de cada snapshot; o verify com timeout enxerga a
+     * chamada antes de a resposta do mock terminar de executar.
+     */
+    private final Semaphore snapshotsGravados = new Semaphore(0);
+
+    @BeforeEach
+    void setUp() throws Exception {
+        List<Beneficio> beneficios = List.of(
+            beneficio(1L, "1000.00", true),
+            beneficio(2L, "500.00", true),
+            beneficio(3L, "50.00", false));
+        doAnswer(invocation -> {
+            LedgerRepository.ConsumidorSaldo consumidor = invocation.getArgument(0);
+            for (Beneficio beneficio : beneficios) {
+                consumidor.aceitar(beneficio.getId(), beneficio.getSaldoPrincipal(), beneficio.getAtivo());
+            }
+            return null;
+        }).when(ledgerRepository).percorrerSaldos(any());
+        when(beneficioRepository.findById(anyLong())).thenReturn(Optional.empty());
+        when(ledgerRepository.buscarCheckpoint()).thenAnswer(invocation -> checkpoint);
+        doAnswer(invocation -> {
+            Map<Long, Money> saldos = invocation.getArgument(0);
+            banco.putAll(saldos);
+            checkpoint = invocation.getArgument(1);
+            snapshotsGravados.release();
+            return null;
+        }).when(ledgerRepository).gravarSnapshot(anyMap(), anyLong());
+    }
+
+    @AfterEach
+    void tearDown() {
+        engine.encerrar();
+    }
+
+    @Nested
+    @DisplayName("Transferências")
+    class TransferenciaTests {
+
+        @BeforeEach
+        void iniciar() {
+            engine.iniciar(config(), new FileJournal(diretorio));
+        }
+
+        @Test
+        @DisplayName("Deve aplicar a transferência e gravar o snapshot de forma assíncrona")
+        void deveAplicarEGravarSnapshot() throws Exception {
+            // Act
+            engine.transferir(new TransferenciaDto(1L, 2L, new BigDecimal("100.00"), "Teste"));
+
+            // Assert
+            verify(ledgerRepository, timeout(2_000)).gravarSnapshot(anyMap(), eq(1L));
+            assertThat(snapshotsGravados.tryAcquire(2, TimeUnit.SECONDS)).isTrue();
+            assertThat(banco.get(1L)).isEqualTo(Money.of(new BigDecimal("900.00")));
+            assertThat(banco.get(2L)).isEqualTo(Money.of(new BigDecimal("600.00")));
+            assertThat(engine.getEstatisticas().transferencias()).isEqualTo(1);
+            assertThat(engine.getEstatisticas().sequencia()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Deve gravar no journal o hash de idempotência da requisição")
+        void deveGravarHashDeIdempotencia() {
+            // Arrange
+            TransferenciaDto dto = new TransferenciaDto(1L, 2L, new BigDecimal("100.00"), "Teste");
+
+            // Act
+            engine.transferir(dto);
+            engine.encerrar();
+
+            // Assert
+            List<RegistroJournal> registros = new ArrayList<>();
+            try (FileJournal journal = new FileJournal(diretorio)) {
+                journal.replay(0, registros::add);
+            }
+            String hash = IdempotenciaService.hashTransferencia(dto);
+            assertThat(registros).singleElement().satisfies(registro -> {
+                assertThat(registro.centavos()).isEqualTo(10_000);
+                assertThat(registro.hashIdempotencia())
+                    .isEqualTo(Long.parseUnsignedLong(hash.substring(0, 16), 16));
+            });
+        }
+
+        @Test
+        @DisplayName("Deve rejeitar saldo insuficiente, benefício inativo e inexistente")
+        void deveRejeitarTransferenciasInvalidas() {
+            assertThatThrownBy(() -> engine.transferir(new TransferenciaDto(2L, 1L, new BigDecimal("500.01"), "")))
+                .isInstanceOf(SaldoInsuficienteException.class)
+                .hasMessageContaining("Saldo insuficiente");
+            assertThatThrownBy(() -> engine.transferir(new TransferenciaDto(1L, 3L, BigDecimal.TEN, "")))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("inativo");
+            assertThatThrownBy(() -> engine.transferir(new TransferenciaDto(1L, 99L, BigDecimal.TEN, "")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("não encontrado");
+
+            assertThat(engine.getEstatisticas().rejeitadas()).isEqualTo(3);
+            assertThat(engine.getEstatisticas().sequencia()).isZero();
+        }
+
+        @Test
+        @DisplayName("Deve carregar benefícios criados após a inicialização")
+        void deveCarregarBeneficioNovo() throws Exception {
+            // Arrange
+            Beneficio novo = beneficio(4L, "0.00", true);
+            when(beneficioRepository.findById(4L)).thenReturn(Optional.of(novo));
+
+            // Act
+            engine.transferir(new TransferenciaDto(1L, 4L, new BigDecimal("10.00"), ""));
+            engine.encerrar();
+
+            // Assert
+            assertThat(banco.get(4L)).isEqualTo(Money.of(new BigDecimal("10.00")));
+        }
+
+        @Test
+        @DisplayName("Deve preservar o total com transferências concorrentes")
+        void devePreservarTotalComConcorrencia() throws Exception {
+            // Arrange
+            List<CompletableFuture<Void>> resultados = new ArrayList<>();
+
+            // Act
+            for (int i = 0; i < 2_000; i++) {
+                long origem = i % 2 == 0 ? 1L : 2L;
+                resultados.add(CompletableFuture.runAsync(() -> engine.transferir(
+                    new TransferenciaDto(origem, 3 - origem, new BigDecimal("1.00"), ""))));
+            }
+            CompletableFuture.allOf(resultados.toArray(CompletableFuture[]::new)).get(10, TimeUnit.SECONDS);
+            engine.encerrar();
+
+            // Assert
+            assertThat(banco.get(1L).add(banco.get(2L))).isEqualTo(Money.of(new BigDecimal("1500.00")));
+            assertThat(checkpoint).isEqualTo(2_000);
+        }
+
+        @Test
+        @DisplayName("Deve recusar transferências após o encerramento")
+        void deveRecusarAposEncerramento() {
+            // Act
+            engine.encerrar();
+
+            // Assert
+            assertThatThrownBy(() -> engine.transferir(new TransferenciaDto(1L, 2L, BigDecimal.ONE, "")))
+                .isInstanceOf(IllegalStateException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("Recuperação")
+    class RecuperacaoTests {
+
+        @Test
+        @DisplayName("Deve reaplicar o journal posterior ao checkpoint na inicialização")
+        void deveReaplicarJournalPosteriorAoCheckpoint() {
+            // Arrange: transferências no journal que não chegaram ao banco
+            try (FileJournal journal = new FileJournal(diretorio)) {
+                journal.append(new RegistroJournal(1, 1L, 2L, 10_000, 0, 0));
+                journal.append(new RegistroJournal(2, 2L, 1L, 2_500, 0, 0));
+                journal.sync();
+            }
+
+            // Act
+            engine.iniciar(config(), new FileJournal(diretorio));
+
+            // Assert
+            verify(beneficioRepository, never()).findAll();
+            verify(ledgerRepository).gravarSnapshot(anyMap(), eq(2L));
+            assertThat(banco.get(1L)).isEqualTo(Money.of(new BigDecimal("925.00")));
+            assertThat(banco.get(2L)).isEqualTo(Money.of(new BigDecimal("575.00")));
+            assertThat(engine.getEstatisticas().sequencia()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("Não deve reaplicar registros já refletidos no checkpoint")
+        void naoDeveReaplicarRegistrosDoCheckpoint() {
+            // Arrange
+            checkpoint = 2;
+            try (FileJournal journal = new FileJournal(diretorio)) {
+                journal.append(new RegistroJournal(1, 1L, 2L, 10_000, 0, 0));
+                journal.append(new RegistroJournal(2, 2L, 1L, 2_500, 0, 0));
+                journal.sync();
+            }
+
+            // Act
+            engine.iniciar(config(), new FileJournal(diretorio));
+
+            // Assert
+            verify(ledgerRepository, never()).gravarSnapshot(anyMap(), anyLong());
+            assertThat(engine.getEstatisticas().sequencia()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("Deve reagendar os saldos quando o snapshot falha")
+        void deveReagendarQuandoSnapshotFalha() {
+            // Arrange
+            engine.iniciar(config(), new FileJournal(diretorio));
+            doThrow(new RuntimeException("Banco indisponível"))
+                .doAnswer(invocation -> null)
+                .when(ledgerRepository).gravarSnapshot(anyMap(), anyLong());
+
+            // Act
+            engine.transferir(new TransferenciaDto(1L, 2L, new BigDecimal("1.00"), ""));
+
+            // Assert
+            verify(ledgerRepository, timeout(2_000).times(2)).gravarSnapshot(snapshotCaptor.capture(), eq(1L));
+            assertThat(snapshotCaptor.getAllValues().get(1)).containsKeys(1L, 2L);
+            assertThat(engine.getEstatisticas().falhasSnapshot()).isEqualTo(1);
+        }
+    }
+
+    private static LedgerConfig config() {
+        return new LedgerConfig(true, "ignorado", 1_024, 10L, 1_000_000L);
+    }
+
+    private static Beneficio beneficio(Long id, String saldo, boolean ativo) throws Exception {
+        Beneficio beneficio = new Beneficio("Benefício " + id, "Teste", Money.of(new BigDecimal(saldo)));
+        Field idField = Beneficio.class.getDeclaredField("id");
+        idField.setAccessible(true);
+        idField.set(beneficio, id);
+        if (!ativo) {
+            beneficio.desativar();
+        }
+        return beneficio;
+    }
+}
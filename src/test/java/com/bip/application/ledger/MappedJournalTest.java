@@ -0,0 +1,219 @@
+package com.bip.application.ledger;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("MappedJournal")
+class MappedJournalTest {
+
+    /**
+     * Segmentos pequenos (4 registros) para exercitar a troca de segmento.
+     */
+    private static final int REGISTROS_POR_SEGMENTO = 4;
+
+    @TempDir
+    Path diretorio;
+
+    @Nested
+    @DisplayName("Escrita e Leitura")
+    class EscritaTests {
+
+        @Test
+        @DisplayName("Deve trocar de segmento ao encher e reaplicar todos os registros em ordem")
+        void deveTrocarDeSegmentoEReaplicar() {
+            // Arrange
+            try (MappedJournal journal = new MappedJournal(diretorio, config(JournalConfig.PoliticaSync.LOTE))) {
+                for (long i = 1; i <= 10; i++) {
+                    journal.append(registro(i));
+                }
+                journal.sync();
+
+                // Assert
+                assertThat(journal.getQuantidadeSegmentos()).isEqualTo(3);
+            }
+
+            // Act
+            List<RegistroJournal> lidos = new ArrayList<>();
+            long ultima;
+            try (MappedJournal journal = new MappedJournal(diretorio, config(JournalConfig.PoliticaSync.LOTE))) {
+                ultima = journal.replay(3, lidos::add);
+                assertThat(journal.getVarredura().registros()).isEqualTo(10);
+            }
+
+            // Assert
+            assertThat(ultima).isEqualTo(10);
+            assertThat(lidos).extracting(RegistroJournal::sequencia).containsExactly(4L, 5L, 6L, 7L, 8L, 9L, 10L);
+            assertThat(lidos.get(0)).isEqualTo(registro(4));
+            assertThat(diretorio.resolve(MappedJournal.nomeSegmento(5))).exists()
+                .hasSize((long) FormatoRegistro.TAMANHO * REGISTROS_POR_SEGMENTO);
+        }
+
+        @Test
+        @DisplayName("Deve abrir novo segmento quando a sequência salta")
+        void deveAbrirNovoSegmentoQuandoSequenciaSalta() {
+            // Arrange
+            List<RegistroJournal> lidos = new ArrayList<>();
+            try (MappedJournal journal = new MappedJournal(diretorio, config(JournalConfig.PoliticaSync.REGISTRO))) {
+                journal.append(registro(1));
+                journal.append(registro(2));
+
+                // Act
+                journal.append(registro(50));
+                journal.replay(0, lidos::add);
+
+                // Assert
+                assertThat(journal.getQuantidadeSegmentos()).isEqualTo(2);
+            }
+            assertThat(lidos).extracting(RegistroJournal::sequencia).containsExactly(1L, 2L, 50L);
+            assertThat(MappedJournal.verificar(diretorio).registros()).isEqualTo(3);
+        }
+
+        @Test
+        @DisplayName("Deve remover apenas segmentos inteiramente refletidos no banco")
+        void deveRemoverSegmentosDescartados() {
+            try (MappedJournal journal = new MappedJournal(diretorio, config(JournalConfig.PoliticaSync.LOTE))) {
+                // Arrange
+                for (long i = 1; i <= 10; i++) {
+                    journal.append(registro(i));
+                }
+
+                // Act
+                journal.descartarAte(6);
+
+                // Assert
+                assertThat(journal.getQuantidadeSegmentos()).isEqualTo(2);
+                assertThat(diretorio.resolve(MappedJournal.nomeSegmento(1))).doesNotExist();
+
+                journal.descartarAte(10);
+                assertThat(journal.getQuantidadeSegmentos()).isEqualTo(1);
+            }
+        }
+
+        @Test
+        @DisplayName("Deve sincronizar periodicamente na política por intervalo")
+        void deveSincronizarPorIntervalo() {
+            // Arrange
+            JournalConfig config = new JournalConfig(true, (long) FormatoRegistro.TAMANHO * REGISTROS_POR_SEGMENTO,
+                JournalConfig.PoliticaSync.INTERVALO, 5L);
+
+            // Act
+            try (MappedJournal journal = new MappedJournal(diretorio, config)) {
+                journal.append(registro(1));
+                journal.sync();
+            }
+
+            // Assert
+            assertThat(MappedJournal.verificar(diretorio).ultimaSequencia()).isEqualTo(1);
+        }
+    }
+
+    @Nested
+    @DisplayName("Recuperação")
+    class RecuperacaoTests {
+
+        @Test
+        @DisplayName("Deve descartar registro corrompido e zerar o restante do segmento")
+        void deveDescartarRegistroCorrompido() throws Exception {
+            // Arrange
+            try (MappedJournal journal = new MappedJournal(diretorio, config(JournalConfig.PoliticaSync.LOTE))) {
+                for (long i = 1; i <= 3; i++) {
+                    journal.append(registro(i));
+                }
+            }
+            Path segmento = diretorio.resolve(MappedJournal.nomeSegmento(1));
+            corromper(segmento, FormatoRegistro.TAMANHO + 10);
+
+            // Act
+            MappedJournal.Varredura verificacao = MappedJournal.verificar(diretorio);
+            List<RegistroJournal> lidos = new ArrayList<>();
+            try (MappedJournal journal = new MappedJournal(diretorio, config(JournalConfig.PoliticaSync.LOTE))) {
+                assertThat(journal.getVarredura().caudaDescartada()).isTrue();
+                journal.append(registro(2));
+                journal.replay(0, lidos::add);
+            }
+
+            // Assert
+            assertThat(verificacao.registros()).isEqualTo(1);
+            assertThat(verificacao.caudaDescartada()).isTrue();
+            assertThat(lidos).extracting(RegistroJournal::sequencia).containsExactly(1L, 2L);
+            // O registro 3 da execução anterior não volta após a nova escrita do 2
+            assertThat(MappedJournal.verificar(diretorio).ultimaSequencia()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("Deve descartar segmentos posteriores a uma quebra na cadeia")
+        void deveDescartarSegmentosAposQuebra() throws Exception {
+            // Arrange
+            try (MappedJournal journal = new MappedJournal(diretorio, config(JournalConfig.PoliticaSync.LOTE))) {
+                for (long i = 1; i <= 6; i++) {
+                    journal.append(registro(i));
+                }
+            }
+            corromper(diretorio.resolve(MappedJournal.nomeSegmento(1)), FormatoRegistro.TAMANHO * 2 + 3);
+
+            // Act
+            MappedJournal.Varredura varredura;
+            List<RegistroJournal> lidos = new ArrayList<>();
+            try (MappedJournal journal = new MappedJournal(diretorio, config(JournalConfig.PoliticaSync.LOTE))) {
+                varredura = journal.getVarredura();
+                journal.replay(0, lidos::add);
+            }
+
+            // Assert
+            assertThat(varredura.segmentosDescartados()).isEqualTo(1);
+            assertThat(lidos).extracting(RegistroJournal::sequencia).containsExactly(1L, 2L);
+            try (Stream<Path> arquivos = Files.list(diretorio)) {
+                assertThat(arquivos.map(p -> p.getFileName().toString()))
+                    .contains(MappedJournal.nomeSegmento(5) + MappedJournal.EXTENSAO_DESCARTADO);
+            }
+        }
+
+        @Test
+        @DisplayName("Deve retornar varredura vazia para diretório sem segmentos")
+        void deveRetornarVarreduraVazia() {
+            // Act
+            MappedJournal.Varredura varredura = MappedJournal.verificar(diretorio.resolve("inexistente"));
+
+            // Assert
+            assertThat(varredura.segmentos()).isZero();
+            assertThat(varredura.registros()).isZero();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar segmento menor que um registro")
+    void deveRejeitarConfiguracaoInvalida() {
+        assertThatThrownBy(() -> new JournalConfig(true, 10, JournalConfig.PoliticaSync.LOTE, 10L))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new JournalConfig(true, 1_024, null, 10L))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static JournalConfig config(JournalConfig.PoliticaSync politica) {
+        return new JournalConfig(true, (long) FormatoRegistro.TAMANHO * REGISTROS_POR_SEGMENTO, politica, 10L);
+    }
+
+    private static void corromper(Path arquivo, long posicao) throws Exception {
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.WRITE)) {
+            canal.write(ByteBuffer.wrap(new byte[] {42}), posicao);
+        }
+    }
+
+    private static RegistroJournal registro(long sequencia) {
+        return new RegistroJournal(sequencia, 1L, 2L, sequencia * 100, 1_700_000_000_000L + sequencia, sequencia << 32);
+    }
+}
@@ -0,0 +1,200 @@
+package com.bip.application.metrics;
+
+import com.bip.application.tracing.ColetorRastro;
+import com.bip.application.tracing.RastreadorRequisicoes;
+import com.bip.application.tracing.Rastro;
+import com.bip.application.tracing.RastroConfig;
+import jakarta.interceptor.InvocationContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.lang.reflect.Method;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("MedicaoInterceptor")
+class MedicaoInterceptorTest {
+
+    @Spy
+    private MetricasRegistry registry = new MetricasRegistry();
+
+    @InjectMocks
+    private MedicaoInterceptor interceptor;
+
+    @Mock
+    private InvocationContext contexto;
+
+    @AfterEach
+    void tearDown() {
+        TempoFases.desvincular();
+        rastreador.concluir(rastreador.iniciar(), "", 0);
+    }
+
+    private final RastreadorRequisicoes rastreador = new RastreadorRequisicoes(new RastroConfig(true, 1.0, 250, 16, 8));
+
+    @Medido("caso_uso")
+    static class CasoDeUso {
+        public String executar() {
+            return "ok";
+        }
+
+        @Medido("repositorio")
+        public String consultar() {
+            return "ok";
+        }
+    }
+
+    @Test
+    @DisplayName("Deve medir a duração com a camada da classe")
+    void deveMedirDuracao() throws Exception {
+        // Arrange
+        when(contexto.getMethod()).thenReturn(CasoDeUso.class.getMethod("executar"));
+        when(contexto.proceed()).thenReturn("ok");
+
+        // Act
+        Object resultado = interceptor.medir(contexto);
+        interceptor.medir(contexto);
+
+        // Assert
+        assertThat(resultado).isEqualTo("ok");
+        assertThat(registry.openMetrics()).contains(
+            "bip_chamadas_segundos_count{camada=\"caso_uso\",classe=\"CasoDeUso\",metodo=\"executar\"} 2\n");
+    }
+
+    @Test
+    @DisplayName("Deve preferir a camada declarada no método")
+    void devePreferirCamadaDoMetodo() throws Exception {
+        // Arrange
+        when(contexto.getMethod()).thenReturn(CasoDeUso.class.getMethod("consultar"));
+
+        // Act
+        interceptor.medir(contexto);
+
+        // Assert
+        assertThat(registry.openMetrics()).contains(
+            "bip_chamadas_segundos_count{camada=\"repositorio\",classe=\"CasoDeUso\",metodo=\"consultar\"} 1\n");
+    }
+
+    @Test
+    @DisplayName("Deve contar a exceção e propagá-la")
+    void deveContarExcecao() throws Exception {
+        // Arrange
+        Method metodo = CasoDeUso.class.getMethod("executar");
+        when(contexto.getMethod()).thenReturn(metodo);
+        when(contexto.proceed()).thenThrow(new IllegalArgumentException("Inválido"));
+
+        // Act & Assert
+        assertThatThrownBy(() -> interceptor.medir(contexto))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("Inválido");
+        assertThat(registry.openMetrics()).contains(
+            "bip_chamadas_erros_total{camada=\"caso_uso\",classe=\"CasoDeUso\",metodo=\"executar\","
+                + "excecao=\"IllegalArgumentException\"} 1\n",
+            "bip_chamadas_segundos_count{camada=\"caso_uso\",classe=\"CasoDeUso\",metodo=\"executar\"} 1\n");
+    }
+
+    @Test
+    @DisplayName("Não deve registrar duração nem erro dentro de semRegistro")
+    void naoDeveRegistrarDentroDeSemRegistro() throws Exception {
+        // Arrange
+        when(contexto.getMethod()).thenReturn(CasoDeUso.class.getMethod("executar"));
+        when(contexto.proceed()).thenReturn("ok").thenThrow(new IllegalStateException("Ensaio"));
+
+        // Act
+        MedicaoInterceptor.semRegistro(() -> {
+            try {
+                interceptor.medir(contexto);
+                interceptor.medir(contexto);
+            } catch (Exception esperada) {
+                // o erro do ensaio também fica fora das métricas
+            }
+        });
+        doReturn("ok").when(contexto).proceed();
+        interceptor.medir(contexto);
+
+        // Assert
+        assertThat(registry.openMetrics())
+            .contains("bip_chamadas_segundos_count{camada=\"caso_uso\",classe=\"CasoDeUso\",metodo=\"executar\"} 1\n")
+            .doesNotContain("bip_chamadas_erros_total{");
+    }
+
+    @Test
+    @DisplayName("Deve resolver os instrumentos uma única vez por método")
+    void deveResolverInstrumentosUmaVez() throws Exception {
+        // Arrange
+        when(contexto.getMethod()).thenReturn(CasoDeUso.class.getMethod("executar"));
+
+        // Act
+        for (int i = 0; i < 5; i++) {
+            interceptor.medir(contexto);
+        }
+
+        // Assert
+        verify(registry, times(1)).histograma(anyString(), anyString(), any(double[].class), any(String[].class));
+    }
+
+    @Test
+    @DisplayName("Deve somar a duração na fase da requisição amostrada")
+    void deveSomarNaFaseDaRequisicao() throws Exception {
+        // Arrange
+        TempoFases tempo = TempoFases.iniciar(System.nanoTime());
+        when(contexto.getMethod()).thenReturn(CasoDeUso.class.getMethod("consultar"));
+
+        // Act
+        interceptor.medir(contexto);
+        interceptor.medir(contexto);
+
+        // Assert
+        assertThat(tempo.getChamadas(TempoFases.Fase.BANCO)).isEqualTo(2);
+        assertThat(tempo.getNanos(TempoFases.Fase.BANCO)).isPositive();
+    }
+
+    @Test
+    @DisplayName("Não deve somar camadas que não são fases")
+    void naoDeveSomarCamadasSemFase() throws Exception {
+        // Arrange
+        TempoFases tempo = TempoFases.iniciar(System.nanoTime());
+        when(contexto.getMethod()).thenReturn(CasoDeUso.class.getMethod("executar"));
+
+        // Act
+        interceptor.medir(contexto);
+
+        // Assert
+        for (TempoFases.Fase fase : TempoFases.Fase.values()) {
+            assertThat(tempo.getChamadas(fase)).isZero();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve abrir um span por invocação na requisição rastreada")
+    void deveAbrirSpanNoRastro() throws Exception {
+        // Arrange
+        ColetorRastro coletor = rastreador.iniciar();
+        when(contexto.getMethod()).thenReturn(CasoDeUso.class.getMethod("consultar"));
+        when(contexto.proceed()).thenReturn("ok").thenThrow(new IllegalStateException("Falha"));
+
+        // Act
+        interceptor.medir(contexto);
+        assertThatThrownBy(() -> interceptor.medir(contexto)).isInstanceOf(IllegalStateException.class);
+        Rastro rastro = rastreador.concluir(coletor, "GET /a", 500);
+
+        // Assert
+        assertThat(rastro.spans()).extracting(Rastro.Span::tipo).containsExactly("repositorio", "repositorio");
+        assertThat(rastro.spans()).extracting(Rastro.Span::nome)
+            .containsOnly("CasoDeUso.consultar");
+        assertThat(rastro.spans()).extracting(Rastro.Span::erro).containsExactly(null, "IllegalStateException");
+        assertThat(rastro.spans()).extracting(Rastro.Span::pai).containsExactly(-1, -1);
+    }
+}
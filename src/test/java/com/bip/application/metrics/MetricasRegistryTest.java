@@ -0,0 +1,220 @@
+package com.bip.application.metrics;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("MetricasRegistry")
+class MetricasRegistryTest {
+
+    private MetricasRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new MetricasRegistry();
+    }
+
+    @Nested
+    @DisplayName("Contadores")
+    class ContadorTests {
+
+        @Test
+        @DisplayName("Deve devolver a mesma série para os mesmos rótulos")
+        void deveDevolverMesmaSerie() {
+            // Act
+            MetricasRegistry.Contador primeiro = registry.contador("bip_teste", "Teste", "motivo", "a");
+            MetricasRegistry.Contador segundo = registry.contador("bip_teste", "Teste", "motivo", "a");
+            MetricasRegistry.Contador outro = registry.contador("bip_teste", "Teste", "motivo", "b");
+
+            // Assert
+            assertThat(primeiro).isSameAs(segundo);
+            assertThat(outro).isNotSameAs(primeiro);
+        }
+
+        @Test
+        @DisplayName("Deve exportar com sufixo _total e rótulos")
+        void deveExportarComSufixoTotal() {
+            // Arrange
+            MetricasRegistry.Contador contador = registry.contador("bip_teste", "Teste", "motivo", "a");
+            contador.incrementar();
+            contador.incrementar();
+
+            // Act
+            String texto = registry.openMetrics();
+
+            // Assert
+            assertThat(texto).contains(
+                "# TYPE bip_teste counter\n",
+                "# HELP bip_teste Teste\n",
+                "bip_teste_total{motivo=\"a\"} 2\n");
+            assertThat(contador.getValor()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("Deve contar sem perdas sob concorrência")
+        void deveContarSobConcorrencia() throws InterruptedException {
+            // Arrange
+            MetricasRegistry.Contador contador = registry.contador("bip_teste", "Teste");
+            ExecutorService executor = Executors.newFixedThreadPool(4);
+
+            // Act
+            for (int i = 0; i < 4; i++) {
+                executor.submit(() -> {
+                    for (int j = 0; j < 10_000; j++) {
+                        contador.incrementar();
+                    }
+                });
+            }
+            executor.shutdown();
+            assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+            // Assert
+            assertThat(contador.getValor()).isEqualTo(40_000);
+        }
+    }
+
+    @Nested
+    @DisplayName("Histogramas")
+    class HistogramaTests {
+
+        @Test
+        @DisplayName("Deve exportar buckets cumulativos, +Inf, _count e _sum")
+        void deveExportarBucketsCumulativos() {
+            // Arrange
+            MetricasRegistry.Histograma histograma =
+                registry.histograma("bip_valor", "Valores", new double[] {1, 10}, "tipo", "x");
+            histograma.registrar(0.5);
+            histograma.registrar(1);
+            histograma.registrar(5);
+            histograma.registrar(50);
+
+            // Act
+            String texto = registry.openMetrics();
+
+            // Assert
+            assertThat(texto).contains(
+                "# TYPE bip_valor histogram\n",
+                "bip_valor_bucket{tipo=\"x\",le=\"1.0\"} 2\n",
+                "bip_valor_bucket{tipo=\"x\",le=\"10.0\"} 3\n",
+                "bip_valor_bucket{tipo=\"x\",le=\"+Inf\"} 4\n",
+                "bip_valor_count{tipo=\"x\"} 4\n",
+                "bip_valor_sum{tipo=\"x\"} 56.5\n");
+        }
+
+        @Test
+        @DisplayName("Deve converter nanossegundos em segundos")
+        void deveConverterNanossegundos() {
+            // Arrange
+            MetricasRegistry.Histograma histograma =
+                registry.histograma("bip_duracao_segundos", "Duração", MetricasRegistry.LIMITES_LATENCIA);
+
+            // Act
+            histograma.registrarNanos(2_000_000);
+
+            // Assert
+            assertThat(histograma.getContagem()).isEqualTo(1);
+            assertThat(histograma.getSoma()).isEqualTo(0.002);
+            assertThat(registry.openMetrics()).contains("bip_duracao_segundos_bucket{le=\"0.0025\"} 1\n");
+        }
+
+        @Test
+        @DisplayName("Deve rejeitar limites fora de ordem")
+        void deveRejeitarLimitesForaDeOrdem() {
+            assertThatThrownBy(() -> registry.histograma("bip_valor", "Valores", new double[] {10, 1}))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("crescentes");
+        }
+    }
+
+    @Nested
+    @DisplayName("Medidores")
+    class MedidorTests {
+
+        @Test
+        @DisplayName("Deve ler o valor a cada exposição")
+        void deveLerValorACadaExposicao() {
+            // Arrange
+            double[] valor = {0.25};
+            registry.medidor("bip_teste_fracao", "Teste", () -> valor[0], "posicao", "1");
+
+            // Act
+            String antes = registry.openMetrics();
+            valor[0] = 0.5;
+            String depois = registry.openMetrics();
+
+            // Assert
+            assertThat(antes).contains("# TYPE bip_teste_fracao gauge\n", "bip_teste_fracao{posicao=\"1\"} 0.25\n");
+            assertThat(depois).contains("bip_teste_fracao{posicao=\"1\"} 0.5\n");
+        }
+
+        @Test
+        @DisplayName("Deve manter o primeiro registro dos mesmos rótulos")
+        void deveManterPrimeiroRegistro() {
+            // Act
+            registry.medidor("bip_teste_fracao", "Teste", () -> 1, "posicao", "1");
+            registry.medidor("bip_teste_fracao", "Teste", () -> 2, "posicao", "1");
+
+            // Assert
+            assertThat(registry.openMetrics()).contains("bip_teste_fracao{posicao=\"1\"} 1.0\n");
+        }
+    }
+
+    @Nested
+    @DisplayName("Formato OpenMetrics")
+    class FormatoTests {
+
+        @Test
+        @DisplayName("Deve terminar com # EOF mesmo sem métricas")
+        void deveTerminarComEof() {
+            assertThat(registry.openMetrics()).isEqualTo("# EOF\n");
+        }
+
+        @Test
+        @DisplayName("Deve ordenar as famílias pelo nome")
+        void deveOrdenarFamilias() {
+            // Arrange
+            registry.contador("bip_b", "B");
+            registry.contador("bip_a", "A");
+
+            // Act
+            String texto = registry.openMetrics();
+
+            // Assert
+            assertThat(texto.indexOf("bip_a")).isLessThan(texto.indexOf("bip_b"));
+        }
+
+        @Test
+        @DisplayName("Deve escapar aspas, barras e quebras de linha nos rótulos")
+        void deveEscaparRotulos() {
+            assertThat(MetricasRegistry.formatarRotulos("rota", "a\"b\\c\nd"))
+                .isEqualTo("rota=\"a\\\"b\\\\c\\nd\"");
+        }
+
+        @Test
+        @DisplayName("Deve rejeitar rótulos sem valor")
+        void deveRejeitarRotulosImpares() {
+            assertThatThrownBy(() -> registry.contador("bip_teste", "Teste", "motivo"))
+                .isInstanceOf(IllegalArgumentException.class);
+        }
+
+        @Test
+        @DisplayName("Deve rejeitar o mesmo nome com outro tipo")
+        void deveRejeitarTipoDiferente() {
+            // Arrange
+            registry.contador("bip_teste", "Teste");
+
+            // Act & Assert
+            assertThatThrownBy(() -> registry.histograma("bip_teste", "Teste", new double[] {1}))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("counter");
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.bip.application.metrics;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("TempoFases")
+class TempoFasesTest {
+
+    @AfterEach
+    void tearDown() {
+        TempoFases.desvincular();
+    }
+
+    @Nested
+    @DisplayName("Vínculo com a thread")
+    class VinculoTests {
+
+        @Test
+        @DisplayName("Deve vincular e desvincular a medição da thread")
+        void deveVincularEDesvincular() {
+            // Act
+            TempoFases tempo = TempoFases.iniciar(0);
+
+            // Assert
+            assertThat(TempoFases.atual()).isSameAs(tempo);
+            TempoFases.desvincular();
+            assertThat(TempoFases.atual()).isNull();
+        }
+
+        @Test
+        @DisplayName("Não deve expor a medição a outras threads")
+        void naoDeveExporAOutrasThreads() throws InterruptedException {
+            // Arrange
+            TempoFases.iniciar(0);
+            TempoFases[] vista = new TempoFases[1];
+
+            // Act
+            Thread outra = new Thread(() -> vista[0] = TempoFases.atual());
+            outra.start();
+            outra.join();
+
+            // Assert
+            assertThat(vista[0]).isNull();
+        }
+
+        @Test
+        @DisplayName("Deve vincular a medição de uma requisição em outra thread")
+        void deveVincularEmOutraThread() throws InterruptedException {
+            // Arrange
+            TempoFases tempo = TempoFases.iniciar(0);
+            TempoFases.desvincular();
+            TempoFases[] vista = new TempoFases[2];
+
+            // Act
+            Thread outra = new Thread(() -> {
+                TempoFases.vincular(tempo);
+                vista[0] = TempoFases.atual();
+                TempoFases.vincular(null);
+                vista[1] = TempoFases.atual();
+            });
+            outra.start();
+            outra.join();
+
+            // Assert
+            assertThat(vista).containsExactly(tempo, null);
+        }
+    }
+
+    @Nested
+    @DisplayName("Acúmulo por fase")
+    class AcumuloTests {
+
+        @Test
+        @DisplayName("Deve somar apenas a chamada mais externa de chamadas aninhadas")
+        void deveSomarApenasChamadaExterna() {
+            // Arrange
+            TempoFases tempo = TempoFases.iniciar(0);
+
+            // Act: executeInTransaction (10 ms) chamando save (4 ms)
+            tempo.entrar(TempoFases.Fase.BANCO);
+            tempo.entrar(TempoFases.Fase.BANCO);
+            tempo.sair(TempoFases.Fase.BANCO, 4_000_000);
+            tempo.sair(TempoFases.Fase.BANCO, 10_000_000);
+
+            // Assert
+            assertThat(tempo.getNanos(TempoFases.Fase.BANCO)).isEqualTo(10_000_000);
+            assertThat(tempo.getChamadas(TempoFases.Fase.BANCO)).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Deve somar chamadas sequenciais")
+        void deveSomarChamadasSequenciais() {
+            // Arrange
+            TempoFases tempo = TempoFases.iniciar(0);
+
+            // Act
+            tempo.registrar(TempoFases.Fase.MAPEAMENTO, 1_000);
+            tempo.registrar(TempoFases.Fase.MAPEAMENTO, 2_000);
+
+            // Assert
+            assertThat(tempo.getNanos(TempoFases.Fase.MAPEAMENTO)).isEqualTo(3_000);
+            assertThat(tempo.getChamadas(TempoFases.Fase.MAPEAMENTO)).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("Deve mapear as camadas do @Medido para as fases")
+        void deveMapearCamadas() {
+            assertThat(TempoFases.Fase.daCamada("repositorio")).isEqualTo(TempoFases.Fase.BANCO);
+            assertThat(TempoFases.Fase.daCamada("mapeamento")).isEqualTo(TempoFases.Fase.MAPEAMENTO);
+            assertThat(TempoFases.Fase.daCamada("validacao")).isEqualTo(TempoFases.Fase.VALIDACAO);
+            assertThat(TempoFases.Fase.daCamada("caso_uso")).isNull();
+        }
+    }
+
+    @Nested
+    @DisplayName("Header Server-Timing")
+    class HeaderTests {
+
+        @Test
+        @DisplayName("Deve listar as fases medidas, app e total em milissegundos")
+        void deveMontarHeader() {
+            // Arrange
+            TempoFases tempo = TempoFases.iniciar(1_000_000);
+            tempo.registrar(TempoFases.Fase.BANCO, 3_000_000);
+            tempo.registrar(TempoFases.Fase.BANCO, 1_500_000);
+            tempo.registrar(TempoFases.Fase.SERIALIZACAO, 250_000);
+
+            // Act
+            String header = tempo.serverTiming(11_000_000);
+
+            // Assert
+            assertThat(header).isEqualTo(
+                "db;desc=\"Repositorio (2)\";dur=4.500, "
+                    + "serializacao;desc=\"Serializacao\";dur=0.250, "
+                    + "app;dur=5.250, total;dur=10.000");
+        }
+
+        @Test
+        @DisplayName("Deve reportar apenas app e total sem fases medidas")
+        void deveReportarSemFases() {
+            // Arrange
+            TempoFases tempo = TempoFases.iniciar(0);
+
+            // Act & Assert
+            assertThat(tempo.serverTiming(2_000_000)).isEqualTo("app;dur=2.000, total;dur=2.000");
+        }
+
+        @Test
+        @DisplayName("Deve manter app em zero quando as fases excedem o total")
+        void deveLimitarAppEmZero() {
+            // Arrange
+            TempoFases tempo = TempoFases.iniciar(0);
+            tempo.registrar(TempoFases.Fase.LEITURA, 5_000_000);
+
+            // Act & Assert
+            assertThat(tempo.serverTiming(4_000_000)).contains("app;dur=0.000");
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.bip.application.metrics;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("TransferenciaMetricas")
+class TransferenciaMetricasTest {
+
+    @Spy
+    private MetricasRegistry registry = new MetricasRegistry();
+
+    @InjectMocks
+    private TransferenciaMetricas metricas;
+
+    @BeforeEach
+    void setUp() {
+        metricas.iniciar();
+    }
+
+    @Test
+    @DisplayName("Deve expor as três métricas já na inicialização")
+    void deveExporMetricasNaInicializacao() {
+        // Act
+        String texto = registry.openMetrics();
+
+        // Assert
+        assertThat(texto).contains(
+            "bip_transferencia_espera_lock_segundos_count 0\n",
+            "bip_transferencia_rejeicoes_total{motivo=\"saldo_insuficiente\"} 0\n",
+            "bip_transferencia_valor_count 0\n");
+    }
+
+    @Test
+    @DisplayName("Deve registrar espera, rejeição e valor")
+    void deveRegistrarEventos() {
+        // Act
+        metricas.registrarEsperaLock(3_000_000);
+        metricas.registrarSaldoInsuficiente();
+        metricas.registrarValor(new BigDecimal("150.75"));
+
+        // Assert
+        assertThat(registry.openMetrics()).contains(
+            "bip_transferencia_espera_lock_segundos_bucket{le=\"0.005\"} 1\n",
+            "bip_transferencia_rejeicoes_total{motivo=\"saldo_insuficiente\"} 1\n",
+            "bip_transferencia_valor_bucket{le=\"100.0\"} 0\n",
+            "bip_transferencia_valor_bucket{le=\"500.0\"} 1\n",
+            "bip_transferencia_valor_sum 150.75\n");
+    }
+}
@@ -0,0 +1,309 @@
+package com.bip.application.services;
+
+import com.bip.domain.entities.RegistroIdempotencia;
+import com.bip.domain.repositories.IdempotenciaRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("IdempotenciaService")
+class IdempotenciaServiceTest {
+
+    private static final String HASH = IdempotenciaService.calcularHash("1|2|100|teste");
+
+    @Mock
+    private IdempotenciaRepository idempotenciaRepository;
+
+    @InjectMocks
+    private IdempotenciaService service;
+
+    private final AtomicInteger execucoes = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        when(idempotenciaRepository.findByChave(anyString())).thenReturn(Optional.empty());
+        when(idempotenciaRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        service.iniciar();
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.encerrar();
+    }
+
+    private RespostaIdempotente operacao() {
+        execucoes.incrementAndGet();
+        return new RespostaIdempotente(200, "{\"sucesso\":true}", false);
+    }
+
+    @Nested
+    @DisplayName("Execução única por chave")
+    class ExecucaoUnicaTests {
+
+        @Test
+        @DisplayName("Deve executar na primeira requisição e reenviar resposta nas seguintes")
+        void deveReenviarResposta() {
+            // Act
+            RespostaIdempotente primeira = service.executar("chave-1", HASH, IdempotenciaServiceTest.this::operacao);
+            RespostaIdempotente segunda = service.executar("chave-1", HASH, IdempotenciaServiceTest.this::operacao);
+
+            // Assert
+            assertThat(execucoes).hasValue(1);
+            assertThat(primeira.reexecutada()).isFalse();
+            assertThat(segunda.reexecutada()).isTrue();
+            assertThat(segunda.status()).isEqualTo(200);
+            assertThat(segunda.corpo()).isEqualTo(primeira.corpo());
+            verify(idempotenciaRepository, times(1)).save(any());
+        }
+
+        @Test
+        @DisplayName("Deve persistir a resposta com o hash e a expiração")
+        void devePersistirResposta() {
+            // Act
+            service.executar("chave-1", HASH, IdempotenciaServiceTest.this::operacao);
+
+            // Assert
+            ArgumentCaptor<RegistroIdempotencia> captor = ArgumentCaptor.forClass(RegistroIdempotencia.class);
+            verify(idempotenciaRepository).save(captor.capture());
+            assertThat(captor.getValue().getChave()).isEqualTo("chave-1");
+            assertThat(captor.getValue().getHashRequisicao()).isEqualTo(HASH);
+            assertThat(captor.getValue().getStatusHttp()).isEqualTo(200);
+            assertThat(captor.getValue().getExpiraEm()).isAfter(LocalDateTime.now());
+        }
+
+        @Test
+        @DisplayName("Deve executar apenas uma vez com requisições duplicadas concorrentes")
+        void deveExecutarUmaVezComConcorrencia() throws Exception {
+            // Arrange
+            int threads = 8;
+            CountDownLatch largada = new CountDownLatch(1);
+            ExecutorService executor = Executors.newFixedThreadPool(threads);
+            List<Future<RespostaIdempotente>> respostas = new ArrayList<>();
+
+            // Act
+            for (int i = 0; i < threads; i++) {
+                respostas.add(executor.submit(() -> {
+                    largada.await();
+                    return service.executar("chave-1", HASH, () -> {
+                        sleep(50);
+                        return operacao();
+                    });
+                }));
+            }
+            largada.countDown();
+
+            // Assert
+            int reexecutadas = 0;
+            for (Future<RespostaIdempotente> resposta : respostas) {
+                if (resposta.get(5, TimeUnit.SECONDS).reexecutada()) {
+                    reexecutadas++;
+                }
+            }
+            executor.shutdownNow();
+            assertThat(execucoes).hasValue(1);
+            assertThat(reexecutadas).isEqualTo(threads - 1);
+        }
+
+        @Test
+        @DisplayName("Deve reenviar resposta registrada no banco")
+        void deveReenviarRespostaDoBanco() {
+            // Arrange
+            RegistroIdempotencia registro = new RegistroIdempotencia(
+                "chave-1", HASH, 200, "{\"sucesso\":true}", LocalDateTime.now().plusHours(1));
+            when(idempotenciaRepository.findByChave("chave-1")).thenReturn(Optional.of(registro));
+
+            // Act
+            RespostaIdempotente resposta = service.executar("chave-1", HASH, IdempotenciaServiceTest.this::operacao);
+
+            // Assert
+            assertThat(execucoes).hasValue(0);
+            assertThat(resposta.reexecutada()).isTrue();
+            assertThat(resposta.corpo()).isEqualTo("{\"sucesso\":true}");
+        }
+
+        @Test
+        @DisplayName("Deve persistir e reenviar os headers da resposta original")
+        void deveReenviarCabecalhosDoBanco() {
+            // Arrange
+            ArgumentCaptor<RegistroIdempotencia> salvo = ArgumentCaptor.forClass(RegistroIdempotencia.class);
+            service.executar("chave-1", HASH, () -> new RespostaIdempotente(202, "{}",
+                Map.of("Location", "/api/transferencias/7"), false));
+            verify(idempotenciaRepository).save(salvo.capture());
+            when(idempotenciaRepository.findByChave("chave-2")).thenReturn(Optional.of(new RegistroIdempotencia(
+                "chave-2", HASH, 202, "{}", salvo.getValue().getCabecalhosResposta(),
+                LocalDateTime.now().plusHours(1))));
+
+            // Act
+            RespostaIdempotente resposta = service.executar("chave-2", HASH, IdempotenciaServiceTest.this::operacao);
+
+            // Assert
+            assertThat(resposta.reexecutada()).isTrue();
+            assertThat(resposta.cabecalhos()).containsExactly(Map.entry("Location", "/api/transferencias/7"));
+        }
+
+        @Test
+        @DisplayName("Deve ignorar registro expirado no banco")
+        void deveIgnorarRegistroExpirado() {
+            // Arrange
+            RegistroIdempotencia registro = new RegistroIdempotencia(
+                "chave-1", HASH, 200, "{}", LocalDateTime.now().minusMinutes(1));
+            when(idempotenciaRepository.findByChave("chave-1")).thenReturn(Optional.of(registro));
+
+            // Act
+            RespostaIdempotente resposta = service.executar("chave-1", HASH, IdempotenciaServiceTest.this::operacao);
+
+            // Assert
+            assertThat(execucoes).hasValue(1);
+            assertThat(resposta.reexecutada()).isFalse();
+        }
+    }
+
+    @Nested
+    @DisplayName("Falhas e validações")
+    class FalhasTests {
+
+        @Test
+        @DisplayName("Deve rejeitar chave reutilizada com outra requisição")
+        void deveRejeitarHashDiferente() {
+            // Arrange
+            service.executar("chave-1", HASH, IdempotenciaServiceTest.this::operacao);
+
+            // Act & Assert
+            assertThatThrownBy(() -> service.executar("chave-1", IdempotenciaService.calcularHash("outra"),
+                    IdempotenciaServiceTest.this::operacao))
+                .isInstanceOf(IdempotenciaConflitanteException.class)
+                .hasMessageContaining("outra requisição");
+            assertThat(execucoes).hasValue(1);
+        }
+
+        @Test
+        @DisplayName("Não deve registrar respostas 5xx")
+        void naoDeveRegistrarErroDoServidor() {
+            // Arrange
+            RespostaIdempotente erro = new RespostaIdempotente(500, "{}", false);
+
+            // Act
+            service.executar("chave-1", HASH, () -> erro);
+            service.executar("chave-1", HASH, IdempotenciaServiceTest.this::operacao);
+
+            // Assert
+            assertThat(execucoes).hasValue(1);
+            verify(idempotenciaRepository, times(1)).save(any());
+        }
+
+        @Test
+        @DisplayName("Deve liberar a chave quando a operação lança exceção")
+        void deveLiberarChaveAposExcecao() {
+            // Act
+            assertThatThrownBy(() -> service.executar("chave-1", HASH, () -> {
+                throw new IllegalArgumentException("Saldo insuficiente");
+            })).isInstanceOf(IllegalArgumentException.class);
+            RespostaIdempotente resposta = service.executar("chave-1", HASH, IdempotenciaServiceTest.this::operacao);
+
+            // Assert
+            assertThat(resposta.reexecutada()).isFalse();
+            assertThat(execucoes).hasValue(1);
+        }
+
+        @Test
+        @DisplayName("Deve manter resposta em memória quando persistência falha")
+        void deveManterRespostaQuandoPersistenciaFalha() {
+            // Arrange
+            when(idempotenciaRepository.save(any())).thenThrow(new RuntimeException("Banco indisponível"));
+
+            // Act
+            service.executar("chave-1", HASH, IdempotenciaServiceTest.this::operacao);
+            RespostaIdempotente segunda = service.executar("chave-1", HASH, IdempotenciaServiceTest.this::operacao);
+
+            // Assert
+            assertThat(segunda.reexecutada()).isTrue();
+            assertThat(execucoes).hasValue(1);
+        }
+
+        @Test
+        @DisplayName("Deve rejeitar chave vazia ou longa demais")
+        void deveRejeitarChaveInvalida() {
+            // Act & Assert
+            assertThatThrownBy(() -> service.executar(" ", HASH, IdempotenciaServiceTest.this::operacao))
+                .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> service.executar("x".repeat(256), HASH, IdempotenciaServiceTest.this::operacao))
+                .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("Expiração e capacidade")
+    class ExpiracaoTests {
+
+        @Test
+        @DisplayName("Deve remover registros expirados do banco")
+        void deveRemoverExpirados() {
+            // Arrange
+            when(idempotenciaRepository.deleteExpiredBefore(any())).thenReturn(3);
+
+            // Act
+            service.removerExpirados();
+
+            // Assert
+            verify(idempotenciaRepository).deleteExpiredBefore(any(LocalDateTime.class));
+        }
+
+        @Test
+        @DisplayName("Deve limitar entradas mantidas em memória")
+        void deveLimitarEntradasEmMemoria() {
+            // Arrange
+            service.encerrar();
+            System.setProperty(IdempotenciaService.PREFIXO + "capacidade-memoria", "10");
+            try {
+                service.iniciar();
+
+                // Act
+                for (int i = 0; i < 50; i++) {
+                    service.executar("chave-" + i, HASH, IdempotenciaServiceTest.this::operacao);
+                }
+
+                // Assert
+                assertThat(service.getEntradasEmMemoria()).isLessThanOrEqualTo(10);
+            } finally {
+                System.clearProperty(IdempotenciaService.PREFIXO + "capacidade-memoria");
+            }
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,276 @@
+package com.bip.application.services;
+
+import com.bip.domain.entities.Beneficio;
+import com.bip.domain.repositories.BeneficioRepository;
+import com.bip.domain.repositories.SaldoSlotRepository;
+import com.bip.domain.valueobjects.Money;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("SaldoFragmentadoService")
+class SaldoFragmentadoServiceTest {
+
+    private static final Long HOT_ID = 1L;
+
+    @Mock
+    private SaldoSlotRepository saldoSlotRepository;
+
+    @Mock
+    private BeneficioRepository beneficioRepository;
+
+    @InjectMocks
+    private SaldoFragmentadoService service;
+
+    private Beneficio quente;
+    private Money cem;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        service.configurar(Set.of(HOT_ID), 4);
+        when(beneficioRepository.executeInTransaction(any())).thenAnswer(invocation -> {
+            Supplier<?> trabalho = invocation.getArgument(0);
+            return trabalho.get();
+        });
+        quente = beneficioComId(HOT_ID, "50.00");
+        cem = Money.of(new BigDecimal("100.00"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        System.clearProperty(SaldoFragmentadoService.PREFIXO + "beneficios");
+    }
+
+    @Nested
+    @DisplayName("Configuração e leitura")
+    class ConfiguracaoTests {
+
+        @Test
+        @DisplayName("Deve ler benefícios fragmentados das propriedades de sistema")
+        void deveLerPropriedades() {
+            // Arrange
+            System.setProperty(SaldoFragmentadoService.PREFIXO + "beneficios", " 1, 7 ,");
+
+            // Act
+            service.iniciar();
+
+            // Assert
+            assertThat(service.getBeneficiosFragmentados()).containsExactlyInAnyOrder(1L, 7L);
+            assertThat(service.getSlots()).isEqualTo(8);
+            assertThat(service.isFragmentado(7L)).isTrue();
+            assertThat(service.isFragmentado(2L)).isFalse();
+            assertThat(service.isFragmentado(null)).isFalse();
+        }
+
+        @Test
+        @DisplayName("Deve rejeitar lista inválida e quantidade de slots não positiva")
+        void deveRejeitarConfiguracaoInvalida() {
+            System.setProperty(SaldoFragmentadoService.PREFIXO + "beneficios", "1,abc");
+            assertThatThrownBy(() -> service.iniciar()).isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> service.configurar(Set.of(1L), 0)).isInstanceOf(IllegalArgumentException.class);
+        }
+
+        @Test
+        @DisplayName("Deve incluir slots no saldo apenas de benefícios fragmentados")
+        void deveAplicarSaldoDosSlots() throws Exception {
+            // Arrange
+            Beneficio comum = beneficioComId(2L, "10.00");
+            when(saldoSlotRepository.sumByBeneficioId(HOT_ID)).thenReturn(new BigDecimal("400.00"));
+
+            // Act
+            service.aplicar(quente);
+            service.aplicar(comum);
+            service.aplicar(null);
+
+            // Assert
+            assertThat(quente.getSaldo()).isEqualTo(Money.of(new BigDecimal("450.00")));
+            assertThat(comum.getSaldo()).isEqualTo(Money.of(new BigDecimal("10.00")));
+            verify(saldoSlotRepository, never()).sumByBeneficioId(2L);
+        }
+    }
+
+    @Nested
+    @DisplayName("Crédito")
+    class CreditoTests {
+
+        @Test
+        @DisplayName("Deve inicializar slots uma vez e creditar em slot aleatório")
+        void deveCreditarEmSlot() {
+            // Arrange
+            when(saldoSlotRepository.creditar(eq(HOT_ID), anyInt(), eq(cem))).thenReturn(true);
+
+            // Act
+            service.creditar(quente, cem);
+            service.creditar(quente, cem);
+
+            // Assert
+            verify(saldoSlotRepository, times(1)).inicializarSlots(HOT_ID, 4);
+            verify(saldoSlotRepository, times(2)).creditar(eq(HOT_ID), intThat(slot -> slot >= 0 && slot < 4), eq(cem));
+            verify(beneficioRepository, never()).save(any());
+        }
+
+        @Test
+        @DisplayName("Deve criar os slots uma vez com primeiros créditos concorrentes")
+        void deveCriarSlotsUmaVezComCreditosConcorrentes() throws Exception {
+            // Arrange
+            when(saldoSlotRepository.creditar(eq(HOT_ID), anyInt(), eq(cem))).thenReturn(true);
+            when(saldoSlotRepository.inicializarSlots(HOT_ID, 4)).thenAnswer(invocation -> {
+                Thread.sleep(50);
+                return true;
+            });
+            ExecutorService threads = Executors.newFixedThreadPool(4);
+            CountDownLatch largada = new CountDownLatch(1);
+
+            // Act
+            List<Future<?>> creditos = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                creditos.add(threads.submit(() -> {
+                    largada.await();
+                    service.creditar(quente, cem);
+                    return null;
+                }));
+            }
+            largada.countDown();
+            for (Future<?> credito : creditos) {
+                credito.get(10, TimeUnit.SECONDS);
+            }
+            threads.shutdown();
+
+            // Assert
+            verify(saldoSlotRepository, times(1)).inicializarSlots(HOT_ID, 4);
+            verify(saldoSlotRepository, times(4)).creditar(eq(HOT_ID), anyInt(), eq(cem));
+        }
+
+        @Test
+        @DisplayName("Deve falhar quando o slot não existe")
+        void deveFalharSemSlot() {
+            assertThatThrownBy(() -> service.creditar(quente, cem))
+                .isInstanceOf(IllegalStateException.class);
+        }
+
+        @Test
+        @DisplayName("Deve rejeitar valor não positivo")
+        void deveRejeitarValorInvalido() {
+            assertThatThrownBy(() -> service.creditar(quente, Money.zero()))
+                .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> service.debitar(quente, null))
+                .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("Débito")
+    class DebitoTests {
+
+        @Test
+        @DisplayName("Deve debitar de um único slot quando houver saldo")
+        void deveDebitarDeUmSlot() {
+            // Arrange
+            when(saldoSlotRepository.debitar(eq(HOT_ID), anyInt(), eq(cem))).thenReturn(true);
+
+            // Act
+            service.debitar(quente, cem);
+
+            // Assert
+            verify(saldoSlotRepository, never()).debitarVarrendo(anyLong(), any());
+            verify(beneficioRepository, never()).save(any());
+        }
+
+        @Test
+        @DisplayName("Deve varrer os slots quando o slot escolhido não tem saldo")
+        void deveVarrerSlots() {
+            // Arrange
+            when(saldoSlotRepository.debitarVarrendo(HOT_ID, cem)).thenReturn(cem);
+
+            // Act
+            service.debitar(quente, cem);
+
+            // Assert
+            verify(saldoSlotRepository).debitarVarrendo(HOT_ID, cem);
+            verify(beneficioRepository, never()).save(any());
+        }
+
+        @Test
+        @DisplayName("Deve debitar o restante do saldo principal")
+        void deveDebitarRestanteDoSaldoPrincipal() {
+            // Arrange
+            when(saldoSlotRepository.debitarVarrendo(HOT_ID, cem)).thenReturn(Money.of(new BigDecimal("70.00")));
+
+            // Act
+            service.debitar(quente, cem);
+
+            // Assert
+            assertThat(quente.getSaldoPrincipal()).isEqualTo(Money.of(new BigDecimal("20.00")));
+            verify(beneficioRepository).save(quente);
+        }
+
+        @Test
+        @DisplayName("Deve falhar na transação, sem compensar os slots, quando o saldo total é insuficiente")
+        void deveFalharNaTransacaoQuandoInsuficiente() {
+            // Arrange
+            Money varrido = Money.of(new BigDecimal("30.00"));
+            when(saldoSlotRepository.debitarVarrendo(HOT_ID, cem)).thenReturn(varrido);
+
+            // Act & Assert
+            assertThatThrownBy(() -> service.debitar(quente, cem))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Saldo insuficiente");
+            verify(beneficioRepository).executeInTransaction(any());
+            verify(saldoSlotRepository, never()).creditar(anyLong(), anyInt(), any());
+            verify(beneficioRepository, never()).save(any());
+        }
+
+        @Test
+        @DisplayName("Não deve recriar os slots após uma transação desfeita")
+        void naoDeveRecriarSlotsAposFalha() {
+            // Arrange
+            when(saldoSlotRepository.debitarVarrendo(HOT_ID, cem)).thenReturn(Money.zero());
+            when(saldoSlotRepository.debitar(eq(HOT_ID), anyInt(), eq(Money.of(BigDecimal.TEN)))).thenReturn(true);
+
+            // Act
+            assertThatThrownBy(() -> service.debitar(quente, cem)).isInstanceOf(IllegalArgumentException.class);
+            service.debitar(quente, Money.of(BigDecimal.TEN));
+
+            // Assert: criados em transação própria, confirmada antes da falha
+            verify(saldoSlotRepository, times(1)).inicializarSlots(HOT_ID, 4);
+        }
+    }
+
+    private static Beneficio beneficioComId(Long id, String saldo) throws Exception {
+        Beneficio beneficio = new Beneficio("Benefício " + id, "Teste", Money.of(new BigDecimal(saldo)));
+        Field idField = Beneficio.class.getDeclaredField("id");
+        idField.setAccessible(true);
+        idField.set(beneficio, id);
+        return beneficio;
+    }
+}
@@ -0,0 +1,150 @@
+package com.bip.application.services;
+
+import com.bip.application.dtos.HistoricoTransferenciaDto;
+import com.bip.application.dtos.TransferenciaDto;
+import com.bip.application.usecases.TransferenciaUseCase;
+import com.bip.domain.valueobjects.Money;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("TransferenciaAssincronaService")
+class TransferenciaAssincronaServiceTest {
+
+    @Mock
+    private TransferenciaUseCase transferenciaUseCase;
+
+    @InjectMocks
+    private TransferenciaAssincronaService service;
+
+    private TransferenciaDto transferenciaDto;
+
+    @BeforeEach
+    void setUp() {
+        transferenciaDto = new TransferenciaDto(1L, 2L, new BigDecimal("100.00"), "Transferência teste");
+        when(transferenciaUseCase.calcularTaxa(any())).thenReturn(Money.of(new BigDecimal("1.00")));
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.encerrar();
+        System.clearProperty(TransferenciaAssincronaService.PREFIXO + "habilitada");
+    }
+
+    @Nested
+    @DisplayName("Modo habilitado")
+    class ModoHabilitadoTests {
+
+        @BeforeEach
+        void habilitar() {
+            System.setProperty(TransferenciaAssincronaService.PREFIXO + "habilitada", "true");
+            service.iniciar();
+        }
+
+        @Test
+        @DisplayName("Deve retornar ticket pendente e concluir a transferência")
+        void deveConcluirTransferencia() {
+            // Act
+            HistoricoTransferenciaDto ticket = service.submeter(transferenciaDto);
+
+            // Assert
+            assertThat(service.isHabilitada()).isTrue();
+            assertThat(ticket.getStatus()).isEqualTo(TransferenciaAssincronaService.STATUS_PENDENTE);
+            assertThat(ticket.getTaxa()).isEqualByComparingTo("1.00");
+            await().atMost(Duration.ofSeconds(5)).untilAsserted(() ->
+                assertThat(service.buscarTicket(ticket.getId()))
+                    .hasValueSatisfying(atual -> assertThat(atual.getStatus())
+                        .isEqualTo(TransferenciaAssincronaService.STATUS_CONCLUIDA)));
+            verify(transferenciaUseCase).validarParametrosTransferencia(transferenciaDto);
+            verify(transferenciaUseCase).executarTransferencia(transferenciaDto);
+        }
+
+        @Test
+        @DisplayName("Deve marcar ticket como falho com o motivo")
+        void deveRegistrarFalha() {
+            // Arrange
+            doThrow(new IllegalArgumentException("Saldo insuficiente"))
+                .when(transferenciaUseCase).executarTransferencia(transferenciaDto);
+
+            // Act
+            HistoricoTransferenciaDto ticket = service.submeter(transferenciaDto);
+
+            // Assert
+            await().atMost(Duration.ofSeconds(5)).untilAsserted(() ->
+                assertThat(service.buscarTicket(ticket.getId())).hasValueSatisfying(atual -> {
+                    assertThat(atual.getStatus()).isEqualTo(TransferenciaAssincronaService.STATUS_FALHOU);
+                    assertThat(atual.getMotivoFalha()).isEqualTo("Saldo insuficiente");
+                }));
+        }
+
+        @Test
+        @DisplayName("Deve rejeitar sincronamente parâmetros inválidos")
+        void deveRejeitarParametrosInvalidos() {
+            // Arrange
+            doThrow(new IllegalArgumentException("Benefício de origem e destino não podem ser iguais"))
+                .when(transferenciaUseCase).validarParametrosTransferencia(transferenciaDto);
+
+            // Act & Assert
+            assertThatThrownBy(() -> service.submeter(transferenciaDto))
+                .isInstanceOf(IllegalArgumentException.class);
+            verify(transferenciaUseCase, never()).executarTransferencia(any());
+        }
+
+        @Test
+        @DisplayName("Deve gerar IDs de ticket distintos")
+        void deveGerarIdsDistintos() {
+            // Act
+            HistoricoTransferenciaDto primeiro = service.submeter(transferenciaDto);
+            HistoricoTransferenciaDto segundo = service.submeter(transferenciaDto);
+
+            // Assert
+            assertThat(primeiro.getId()).isNotEqualTo(segundo.getId());
+            assertThat(primeiro.getId()).isGreaterThanOrEqualTo(1_000_000L);
+        }
+    }
+
+    @Nested
+    @DisplayName("Modo desabilitado")
+    class ModoDesabilitadoTests {
+
+        @Test
+        @DisplayName("Deve lançar exceção ao submeter com modo desabilitado")
+        void deveLancarExcecaoQuandoDesabilitado() {
+            // Arrange
+            service.iniciar();
+
+            // Act & Assert
+            assertThat(service.isHabilitada()).isFalse();
+            assertThatThrownBy(() -> service.submeter(transferenciaDto))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("Modo de transferência assíncrona desabilitado");
+            assertThat(service.getPendentes()).isZero();
+        }
+
+        @Test
+        @DisplayName("Deve retornar vazio para ticket inexistente ou nulo")
+        void deveRetornarVazioParaTicketInexistente() {
+            assertThat(service.buscarTicket(null)).isEmpty();
+            assertThat(service.buscarTicket(42L)).isEmpty();
+        }
+    }
+}
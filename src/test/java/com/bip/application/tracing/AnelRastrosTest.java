@@ -0,0 +1,130 @@
+package com.bip.application.tracing;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("AnelRastros")
+class AnelRastrosTest {
+
+    @Test
+    @DisplayName("Deve arredondar a capacidade para potência de 2")
+    void deveArredondarCapacidade() {
+        assertThat(new AnelRastros(100).capacidade()).isEqualTo(128);
+        assertThat(new AnelRastros(64).capacidade()).isEqualTo(64);
+        assertThat(new AnelRastros(1).capacidade()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Deve devolver do mais novo para o mais antigo")
+    void deveDevolverDoMaisNovo() {
+        // Arrange
+        AnelRastros anel = new AnelRastros(8);
+        for (int i = 0; i < 3; i++) {
+            anel.publicar(rastro(anel.reservar(), "GET /a"));
+        }
+
+        // Act
+        List<Rastro> rastros = anel.consultar(r -> true, 10);
+
+        // Assert
+        assertThat(rastros).extracting(Rastro::id).containsExactly(2L, 1L, 0L);
+    }
+
+    @Test
+    @DisplayName("Deve sobrescrever os mais antigos ao dar a volta")
+    void deveSobrescreverMaisAntigos() {
+        // Arrange
+        AnelRastros anel = new AnelRastros(4);
+        for (int i = 0; i < 10; i++) {
+            anel.publicar(rastro(anel.reservar(), "GET /a"));
+        }
+
+        // Act
+        List<Rastro> rastros = anel.consultar(r -> true, 10);
+
+        // Assert
+        assertThat(rastros).extracting(Rastro::id).containsExactly(9L, 8L, 7L, 6L);
+        assertThat(anel.publicados()).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("Deve aplicar filtro e limite")
+    void deveAplicarFiltroELimite() {
+        // Arrange
+        AnelRastros anel = new AnelRastros(16);
+        for (int i = 0; i < 10; i++) {
+            anel.publicar(rastro(anel.reservar(), i % 2 == 0 ? "GET /par" : "GET /impar"));
+        }
+
+        // Act
+        List<Rastro> rastros = anel.consultar(r -> r.endpoint().equals("GET /par"), 3);
+
+        // Assert
+        assertThat(rastros).extracting(Rastro::id).containsExactly(8L, 6L, 4L);
+    }
+
+    @Test
+    @DisplayName("Deve ignorar posições reservadas e ainda não publicadas")
+    void deveIgnorarReservasPendentes() {
+        // Arrange
+        AnelRastros anel = new AnelRastros(4);
+        anel.publicar(rastro(anel.reservar(), "GET /a"));
+        anel.reservar();
+
+        // Act
+        List<Rastro> rastros = anel.consultar(r -> true, 10);
+
+        // Assert
+        assertThat(rastros).extracting(Rastro::id).containsExactly(0L);
+    }
+
+    @Test
+    @DisplayName("Deve aceitar publicações concorrentes sem perder a consistência")
+    void deveAceitarPublicacoesConcorrentes() throws Exception {
+        // Arrange
+        AnelRastros anel = new AnelRastros(64);
+        int threads = 4;
+        int porThread = 1_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch largada = new CountDownLatch(1);
+        List<Future<?>> tarefas = new ArrayList<>();
+
+        // Act
+        for (int t = 0; t < threads; t++) {
+            tarefas.add(executor.submit(() -> {
+                largada.await();
+                for (int i = 0; i < porThread; i++) {
+                    anel.publicar(rastro(anel.reservar(), "GET /a"));
+                    anel.consultar(r -> true, 8);
+                }
+                return null;
+            }));
+        }
+        largada.countDown();
+        for (Future<?> tarefa : tarefas) {
+            tarefa.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // Assert
+        List<Rastro> rastros = anel.consultar(r -> true, 100);
+        assertThat(anel.publicados()).isEqualTo(threads * porThread);
+        assertThat(rastros).hasSize(64);
+        assertThat(rastros).extracting(Rastro::id).isSortedAccordingTo((a, b) -> Long.compare(b, a));
+    }
+
+    private static Rastro rastro(long id, String endpoint) {
+        return new Rastro(id, endpoint, 200, Instant.now(), 10, false, List.of(), 0);
+    }
+}
@@ -0,0 +1,195 @@
+package com.bip.application.tracing;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("ColetorRastro")
+class ColetorRastroTest {
+
+    @AfterEach
+    void tearDown() {
+        ColetorRastro coletor = ColetorRastro.atual();
+        if (coletor != null) {
+            coletor.encerrar();
+        }
+    }
+
+    @Test
+    @DisplayName("Não deve haver coletor ativo fora de uma requisição")
+    void naoDeveHaverColetorAtivo() {
+        assertThat(ColetorRastro.atual()).isNull();
+    }
+
+    @Test
+    @DisplayName("Deve aninhar os spans pelo span aberto mais interno")
+    void deveAninharSpans() {
+        // Arrange
+        ColetorRastro coletor = ColetorRastro.iniciar(8, System.nanoTime());
+
+        // Act
+        int raiz = coletor.abrir("controller", "GET /beneficios");
+        int casoUso = coletor.abrir("caso_uso", "BeneficioUseCase.listarTodos");
+        int repositorio = coletor.abrir("repositorio", "BeneficioRepositoryImpl.findAll");
+        coletor.fechar(repositorio, null);
+        int mapeamento = coletor.abrir("mapeamento", "BeneficioMapper.toDtoList");
+        coletor.fechar(mapeamento, null);
+        coletor.fechar(casoUso, null);
+        coletor.fechar(raiz, null);
+        Rastro rastro = coletor.paraRastro(7, "GET /beneficios", 200, System.nanoTime(), false);
+
+        // Assert
+        assertThat(ColetorRastro.atual()).isSameAs(coletor);
+        assertThat(rastro.id()).isEqualTo(7);
+        assertThat(rastro.spans()).extracting(Rastro.Span::pai).containsExactly(-1, 0, 1, 1);
+        assertThat(rastro.spans()).extracting(Rastro.Span::tipo)
+            .containsExactly("controller", "caso_uso", "repositorio", "mapeamento");
+        assertThat(rastro.spans()).allSatisfy(span -> assertThat(span.duracaoMicros()).isGreaterThanOrEqualTo(0));
+    }
+
+    @Test
+    @DisplayName("Deve registrar a exceção que encerrou o span")
+    void deveRegistrarExcecao() {
+        // Arrange
+        ColetorRastro coletor = ColetorRastro.iniciar(8, System.nanoTime());
+        int span = coletor.abrir("repositorio", "BeneficioRepositoryImpl.save");
+
+        // Act
+        coletor.fechar(span, new IllegalStateException("Falha"));
+        Rastro rastro = coletor.paraRastro(0, "POST /beneficios", 500, System.nanoTime(), false);
+
+        // Assert
+        assertThat(rastro.spans().get(0).erro()).isEqualTo("IllegalStateException");
+    }
+
+    @Test
+    @DisplayName("Deve descartar e contar spans além da capacidade")
+    void deveDescartarSpansExcedentes() {
+        // Arrange
+        ColetorRastro coletor = ColetorRastro.iniciar(2, System.nanoTime());
+
+        // Act
+        int raiz = coletor.abrir("controller", "GET /a");
+        coletor.fechar(coletor.abrir("repositorio", "R.a"), null);
+        int descartado = coletor.abrir("repositorio", "R.b");
+        coletor.fechar(descartado, null);
+        coletor.fechar(raiz, null);
+        Rastro rastro = coletor.paraRastro(0, "GET /a", 200, System.nanoTime(), false);
+
+        // Assert
+        assertThat(descartado).isEqualTo(-1);
+        assertThat(rastro.spans()).hasSize(2);
+        assertThat(rastro.spansDescartados()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Deve marcar com -1 a duração de spans não fechados")
+    void deveMarcarSpansAbertos() {
+        // Arrange
+        ColetorRastro coletor = ColetorRastro.iniciar(4, System.nanoTime());
+        coletor.abrir("controller", "GET /a");
+
+        // Act
+        Rastro rastro = coletor.paraRastro(0, "GET /a", 200, System.nanoTime(), false);
+
+        // Assert
+        assertThat(rastro.spans().get(0).duracaoMicros()).isEqualTo(-1);
+    }
+
+    @Test
+    @DisplayName("Deve reutilizar o coletor da thread e reiniciar os spans")
+    void deveReutilizarColetor() {
+        // Arrange
+        ColetorRastro primeiro = ColetorRastro.iniciar(4, System.nanoTime());
+        primeiro.abrir("controller", "GET /a");
+        primeiro.encerrar();
+
+        // Act
+        ColetorRastro segundo = ColetorRastro.iniciar(4, System.nanoTime());
+
+        // Assert
+        assertThat(segundo).isSameAs(primeiro);
+        assertThat(segundo.getQuantidade()).isZero();
+        assertThat(segundo.abrir("controller", "GET /b")).isZero();
+    }
+
+    @Test
+    @DisplayName("Deve deixar de ser o coletor atual ao encerrar")
+    void deveEncerrar() {
+        // Arrange
+        ColetorRastro coletor = ColetorRastro.iniciar(4, System.nanoTime());
+
+        // Act
+        coletor.encerrar();
+
+        // Assert
+        assertThat(ColetorRastro.atual()).isNull();
+    }
+
+    @Test
+    @DisplayName("Deve passar o coletor ativo para outra thread")
+    void devePassarColetorParaOutraThread() throws InterruptedException {
+        // Arrange
+        ColetorRastro coletor = ColetorRastro.iniciar(4, System.nanoTime());
+        ColetorRastro[] vista = new ColetorRastro[1];
+
+        // Act
+        ColetorRastro desvinculado = ColetorRastro.desvincular();
+        Thread outra = new Thread(() -> {
+            ColetorRastro.vincular(desvinculado);
+            vista[0] = ColetorRastro.atual();
+        });
+        outra.start();
+        outra.join();
+
+        // Assert
+        assertThat(desvinculado).isSameAs(coletor);
+        assertThat(ColetorRastro.atual()).isNull();
+        assertThat(vista[0]).isSameAs(coletor);
+    }
+
+    @Test
+    @DisplayName("Deve reaproveitar em outra thread o coletor liberado após a requisição")
+    void deveReaproveitarColetorLiberado() throws InterruptedException {
+        // Arrange
+        ColetorRastro[] coletores = new ColetorRastro[2];
+        Thread primeira = new Thread(() -> {
+            coletores[0] = ColetorRastro.iniciar(4, System.nanoTime());
+            coletores[0].encerrar();
+            ColetorRastro.liberar();
+        });
+        primeira.start();
+        primeira.join();
+
+        // Act
+        Thread segunda = new Thread(() -> coletores[1] = ColetorRastro.iniciar(4, System.nanoTime()));
+        segunda.start();
+        segunda.join();
+
+        // Assert
+        assertThat(coletores[1]).isSameAs(coletores[0]);
+    }
+
+    @Test
+    @DisplayName("Não deve reaproveitar um coletor ainda ativo")
+    void naoDeveReaproveitarColetorAtivo() throws InterruptedException {
+        // Arrange
+        ColetorRastro[] coletores = new ColetorRastro[2];
+        Thread primeira = new Thread(() -> {
+            coletores[0] = ColetorRastro.iniciar(4, System.nanoTime());
+            ColetorRastro.liberar();
+        });
+        primeira.start();
+        primeira.join();
+
+        // Act
+        Thread segunda = new Thread(() -> coletores[1] = ColetorRastro.iniciar(4, System.nanoTime()));
+        segunda.start();
+        segunda.join();
+
+        // Assert
+        assertThat(coletores[1]).isNotSameAs(coletores[0]);
+    }
+}
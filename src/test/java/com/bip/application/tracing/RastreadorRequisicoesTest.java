@@ -0,0 +1,172 @@
+package com.bip.application.tracing;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("RastreadorRequisicoes")
+class RastreadorRequisicoesTest {
+
+    @AfterEach
+    void tearDown() {
+        ColetorRastro coletor = ColetorRastro.atual();
+        if (coletor != null) {
+            coletor.encerrar();
+        }
+    }
+
+    @Nested
+    @DisplayName("Coleta")
+    class ColetaTests {
+
+        @Test
+        @DisplayName("Não deve coletar com o rastreamento desabilitado")
+        void naoDeveColetarDesabilitado() {
+            // Arrange
+            RastreadorRequisicoes rastreador = new RastreadorRequisicoes(new RastroConfig(false, 1.0, 250, 16, 8));
+
+            // Act
+            ColetorRastro coletor = rastreador.iniciar();
+
+            // Assert
+            assertThat(coletor).isNull();
+            assertThat(ColetorRastro.atual()).isNull();
+        }
+
+        @Test
+        @DisplayName("Deve guardar as requisições amostradas")
+        void deveGuardarAmostradas() {
+            // Arrange
+            RastreadorRequisicoes rastreador = new RastreadorRequisicoes(new RastroConfig(true, 1.0, 250, 16, 8));
+            ColetorRastro coletor = rastreador.iniciar();
+            coletor.fechar(coletor.abrir("controller", "GET /beneficios"), null);
+
+            // Act
+            Rastro rastro = rastreador.concluir(coletor, "GET /beneficios", 200);
+
+            // Assert
+            assertThat(rastro).isNotNull();
+            assertThat(rastro.lento()).isFalse();
+            assertThat(rastro.status()).isEqualTo(200);
+            assertThat(rastro.spans()).hasSize(1);
+            assertThat(ColetorRastro.atual()).isNull();
+            assertThat(rastreador.consultar(false, null, 10)).containsExactly(rastro);
+        }
+
+        @Test
+        @DisplayName("Deve descartar as rápidas fora da amostra")
+        void deveDescartarRapidasForaDaAmostra() {
+            // Arrange
+            RastreadorRequisicoes rastreador = new RastreadorRequisicoes(new RastroConfig(true, 0.0, 60_000, 16, 8));
+            ColetorRastro coletor = rastreador.iniciar();
+
+            // Act
+            Rastro rastro = rastreador.concluir(coletor, "GET /beneficios", 200);
+
+            // Assert
+            assertThat(rastro).isNull();
+            assertThat(rastreador.getGuardados()).isZero();
+        }
+
+        @Test
+        @DisplayName("Deve guardar as lentas mesmo fora da amostra")
+        void deveGuardarLentas() {
+            // Arrange
+            RastreadorRequisicoes rastreador = new RastreadorRequisicoes(new RastroConfig(true, 0.0, 0, 16, 8));
+            ColetorRastro coletor = rastreador.iniciar();
+
+            // Act
+            Rastro rastro = rastreador.concluir(coletor, "POST /transferencias", 200);
+
+            // Assert
+            assertThat(rastro).isNotNull();
+            assertThat(rastro.lento()).isTrue();
+        }
+    }
+
+    @Nested
+    @DisplayName("Consulta")
+    class ConsultaTests {
+
+        private final RastreadorRequisicoes rastreador =
+            new RastreadorRequisicoes(new RastroConfig(true, 1.0, 60_000, 16, 8));
+
+        @Test
+        @DisplayName("Deve filtrar por trecho do endpoint sem diferenciar maiúsculas")
+        void deveFiltrarPorEndpoint() {
+            // Arrange
+            guardar("GET /beneficios");
+            guardar("POST /transferencias");
+            guardar("GET /beneficios/{id}");
+
+            // Act
+            List<Rastro> rastros = rastreador.consultar(false, " /BENEFICIOS", 10);
+
+            // Assert
+            assertThat(rastros).extracting(Rastro::endpoint)
+                .containsExactly("GET /beneficios/{id}", "GET /beneficios");
+        }
+
+        @Test
+        @DisplayName("Deve retornar apenas as lentas quando solicitado")
+        void deveRetornarApenasLentas() {
+            // Arrange
+            guardar("GET /beneficios");
+
+            // Act
+            List<Rastro> rastros = rastreador.consultar(true, null, 10);
+
+            // Assert
+            assertThat(rastros).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Deve rejeitar limite não positivo")
+        void deveRejeitarLimiteInvalido() {
+            assertThatThrownBy(() -> rastreador.consultar(false, null, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+        }
+
+        private void guardar(String endpoint) {
+            rastreador.concluir(rastreador.iniciar(), endpoint, 200);
+        }
+    }
+
+    @Nested
+    @DisplayName("Configuração")
+    class ConfiguracaoTests {
+
+        @Test
+        @DisplayName("Deve usar os padrões sem propriedades de sistema")
+        void deveUsarPadroes() {
+            // Act
+            RastroConfig config = RastroConfig.fromSystemProperties();
+
+            // Assert
+            assertThat(config.habilitado()).isTrue();
+            assertThat(config.amostragem()).isEqualTo(0.01);
+            assertThat(config.limiteLentoMillis()).isEqualTo(250);
+            assertThat(config.capacidade()).isEqualTo(512);
+            assertThat(config.maximoSpans()).isEqualTo(128);
+        }
+
+        @Test
+        @DisplayName("Deve rejeitar valores inválidos")
+        void deveRejeitarValoresInvalidos() {
+            assertThatThrownBy(() -> new RastroConfig(true, 1.5, 250, 16, 8))
+                .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> new RastroConfig(true, 0.1, -1, 16, 8))
+                .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> new RastroConfig(true, 0.1, 250, 0, 8))
+                .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> new RastroConfig(true, 0.1, 250, 16, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+}
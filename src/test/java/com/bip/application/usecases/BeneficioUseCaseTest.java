@@ -1,10 +1,12 @@
 package com.bip.application.usecases;
 
+import com.bip.application.cache.BeneficioCache;
 import com.bip.application.dtos.AtualizarBeneficioDto;
 import com.bip.application.dtos.BeneficioDto;
 import com.bip.application.dtos.CriarBeneficioDto;
 import com.bip.application.mappers.BeneficioMapper;
 import com.bip.application.services.BeneficioService;
+import com.bip.application.services.SaldoFragmentadoService;
 import com.bip.domain.entities.Beneficio;
 import com.bip.domain.repositories.BeneficioRepository;
 import com.bip.domain.valueobjects.Money;
@@ -47,6 +49,12 @@ class BeneficioUseCaseTest {
     @Mock
     private BeneficioService beneficioService;
 
+    @Mock
+    private SaldoFragmentadoService saldoFragmentado;
+
+    @Mock
+    private BeneficioCache cache;
+
     @InjectMocks
     private BeneficioUseCase useCase;
 
@@ -525,4 +533,117 @@ class BeneficioUseCaseTest {
             verify(repository).sumActiveValues();
         }
     }
-}
\ No newline at end of file
+
+    @Nested
+    @DisplayName("Cache de Benefícios Tests")
+    class CacheTests {
+
+        @Test
+        @DisplayName("Deve retornar do cache sem consultar o banco")
+        void deveRetornarDoCache() {
+            // Arrange
+            when(cache.buscar(1L)).thenReturn(Optional.of(beneficioDtoSample));
+
+            // Act
+            Optional<BeneficioDto> resultado = useCase.buscarPorId(1L);
+
+            // Assert
+            assertThat(resultado).contains(beneficioDtoSample);
+            verifyNoInteractions(repository, mapper);
+        }
+
+        @Test
+        @DisplayName("Deve armazenar no cache com a marca obtida antes da consulta")
+        void deveArmazenarComMarca() {
+            // Arrange
+            when(cache.marca(1L)).thenReturn(7L);
+            when(repository.findById(1L)).thenReturn(Optional.of(beneficioSample));
+            when(mapper.toDto(beneficioSample)).thenReturn(beneficioDtoSample);
+
+            // Act
+            Optional<BeneficioDto> resultado = useCase.buscarPorId(1L);
+
+            // Assert
+            assertThat(resultado).contains(beneficioDtoSample);
+            verify(cache).armazenar(beneficioSample, beneficioDtoSample, 7L);
+        }
+
+        @Test
+        @DisplayName("Não deve armazenar benefício fragmentado")
+        void naoDeveArmazenarFragmentado() {
+            // Arrange
+            when(repository.findById(1L)).thenReturn(Optional.of(beneficioSample));
+            when(mapper.toDto(beneficioSample)).thenReturn(beneficioDtoSample);
+            when(saldoFragmentado.isFragmentado(beneficioSample.getId())).thenReturn(true);
+
+            // Act
+            useCase.buscarPorId(1L);
+
+            // Assert
+            verify(cache, never()).armazenar(any(), any(), anyLong());
+        }
+
+        @Test
+        @DisplayName("Deve retornar ativos do cache sem consultar o banco")
+        void deveRetornarAtivosDoCache() {
+            // Arrange
+            when(cache.buscarAtivos()).thenReturn(Optional.of(List.of(beneficioDtoSample)));
+
+            // Act
+            List<BeneficioDto> resultado = useCase.listarAtivos();
+
+            // Assert
+            assertThat(resultado).containsExactly(beneficioDtoSample);
+            verifyNoInteractions(repository);
+        }
+
+        @Test
+        @DisplayName("Deve armazenar ativos com a geração obtida antes da consulta")
+        void deveArmazenarAtivosComGeracao() {
+            // Arrange
+            List<Beneficio> beneficios = List.of(beneficioSample);
+            List<BeneficioDto> dtos = List.of(beneficioDtoSample);
+            when(cache.geracao()).thenReturn(3L);
+            when(repository.findAllActive()).thenReturn(beneficios);
+            when(mapper.toDtoList(beneficios)).thenReturn(dtos);
+
+            // Act
+            useCase.listarAtivos();
+
+            // Assert
+            verify(cache).armazenarAtivos(beneficios, dtos, 3L);
+        }
+
+        @Test
+        @DisplayName("Deve invalidar o benefício e a lista de ativos ao desativar")
+        void deveInvalidarAoDesativar() {
+            // Arrange
+            when(beneficioService.buscarPorId(1L)).thenReturn(beneficioSample);
+            when(repository.save(beneficioSample)).thenReturn(beneficioSample);
+            when(mapper.toDto(beneficioSample)).thenReturn(beneficioDtoSample);
+
+            // Act
+            useCase.desativar(1L);
+
+            // Assert
+            verify(cache).invalidar(1L);
+            verify(cache).invalidarAtivos();
+        }
+
+        @Test
+        @DisplayName("Deve invalidar a lista de ativos ao criar")
+        void deveInvalidarAtivosAoCriar() {
+            // Arrange
+            when(repository.existsByNome("João Silva")).thenReturn(false);
+            when(mapper.toEntity(criarBeneficioDtoSample)).thenReturn(beneficioSample);
+            when(repository.save(beneficioSample)).thenReturn(beneficioSample);
+            when(mapper.toDto(beneficioSample)).thenReturn(beneficioDtoSample);
+
+            // Act
+            useCase.criar(criarBeneficioDtoSample);
+
+            // Assert
+            verify(cache).invalidarAtivos();
+        }
+    }
+}
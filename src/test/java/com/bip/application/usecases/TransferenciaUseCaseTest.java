@@ -1,10 +1,20 @@
 package com.bip.application.usecases;
 
+import com.bip.application.cache.BeneficioCache;
+import com.bip.application.concurrency.DetectorChavesQuentes;
+import com.bip.application.concurrency.GroupCommitConfig;
+import com.bip.application.concurrency.StripedLockManager;
 import com.bip.application.dtos.TransferenciaDto;
+import com.bip.application.ledger.LedgerEngine;
+import com.bip.application.metrics.TransferenciaMetricas;
 import com.bip.application.services.BeneficioService;
+import com.bip.application.services.SaldoFragmentadoService;
 import com.bip.domain.entities.Beneficio;
+import com.bip.domain.exceptions.ConflitoConcorrenciaException;
+import com.bip.domain.exceptions.SaldoInsuficienteException;
 import com.bip.domain.repositories.BeneficioRepository;
 import com.bip.domain.valueobjects.Money;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -14,6 +24,7 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -25,6 +36,7 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -45,6 +57,24 @@ class TransferenciaUseCaseTest {
     @Mock
     private BeneficioService beneficioService;
 
+    @Mock
+    private StripedLockManager lockManager;
+
+    @Mock
+    private SaldoFragmentadoService saldoFragmentado;
+
+    @Mock
+    private LedgerEngine ledger;
+
+    @Mock
+    private BeneficioCache cache;
+
+    @Mock
+    private TransferenciaMetricas metricas;
+
+    @Mock
+    private DetectorChavesQuentes chavesQuentes;
+
     @InjectMocks
     private TransferenciaUseCase transferenciaUseCase;
 
@@ -74,6 +104,12 @@ class TransferenciaUseCaseTest {
             new BigDecimal("100.00"),
             "Transferência de teste"
         );
+
+        // Executa o trabalho transacional como o repositório real
+        when(beneficioRepository.executeInTransaction(any())).thenAnswer(invocation -> {
+            Supplier<?> trabalho = invocation.getArgument(0);
+            return trabalho.get();
+        });
     }
 
     @Nested
@@ -95,6 +131,24 @@ class TransferenciaUseCaseTest {
             assertThat(beneficioDestino.getSaldo()).isEqualTo(Money.of(new BigDecimal("600.00")));
             
             verify(beneficioRepository, times(2)).save(any(Beneficio.class));
+            verify(chavesQuentes).registrar(1L, 2L);
+        }
+
+        @Test
+        @DisplayName("Deve bloquear as linhas dos benefícios na transação antes de movimentar")
+        void deveBloquearLinhasAntesDeMovimentar() {
+            // Arrange
+            when(beneficioService.buscarPorId(1L)).thenReturn(beneficioOrigem);
+            when(beneficioService.buscarPorId(2L)).thenReturn(beneficioDestino);
+
+            // Act
+            transferenciaUseCase.executarTransferencia(transferenciaDto);
+
+            // Assert
+            InOrder ordem = inOrder(beneficioRepository, beneficioService);
+            ordem.verify(beneficioRepository).executeInTransaction(any());
+            ordem.verify(beneficioRepository).findByIdsWithLock(List.of(1L, 2L));
+            ordem.verify(beneficioService).buscarPorId(1L);
         }
 
         @Test
@@ -573,4 +627,466 @@ class TransferenciaUseCaseTest {
             verify(beneficioRepository).findAll();
         }
     }
-}
\ No newline at end of file
+
+    @Nested
+    @DisplayName("Modo Group Commit")
+    class GroupCommitTests {
+
+        @BeforeEach
+        void habilitarGroupCommit() {
+            System.setProperty(GroupCommitConfig.PREFIXO + "habilitado", "true");
+            transferenciaUseCase.iniciar();
+        }
+
+        @AfterEach
+        void desabilitarGroupCommit() {
+            transferenciaUseCase.encerrar();
+            System.clearProperty(GroupCommitConfig.PREFIXO + "habilitado");
+        }
+
+        @Test
+        @DisplayName("Deve executar transferência dentro da transação do lote")
+        void deveExecutarTransferenciaNoLote() {
+            // Arrange
+            when(beneficioService.buscarPorId(1L)).thenReturn(beneficioOrigem);
+            when(beneficioService.buscarPorId(2L)).thenReturn(beneficioDestino);
+
+            // Act
+            transferenciaUseCase.executarTransferencia(transferenciaDto);
+
+            // Assert
+            assertThat(beneficioOrigem.getSaldo()).isEqualTo(Money.of(new BigDecimal("900.00")));
+            assertThat(beneficioDestino.getSaldo()).isEqualTo(Money.of(new BigDecimal("600.00")));
+            verify(beneficioRepository).executeInTransaction(any());
+            verify(beneficioRepository, times(2)).save(any(Beneficio.class));
+            verify(beneficioRepository, never()).findByIdsWithLock(any());
+        }
+
+        @Test
+        @DisplayName("Deve refazer o lote que perdeu a corrida para outro worker")
+        void deveRefazerLoteEmConflito() {
+            // Arrange
+            when(beneficioService.buscarPorId(1L)).thenReturn(beneficioOrigem);
+            when(beneficioService.buscarPorId(2L)).thenReturn(beneficioDestino);
+            doThrow(new ConflitoConcorrenciaException("Conflito", null))
+                .doAnswer(invocation -> {
+                    Supplier<?> trabalho = invocation.getArgument(0);
+                    return trabalho.get();
+                })
+                .when(beneficioRepository).executeInTransaction(any());
+
+            // Act
+            transferenciaUseCase.executarTransferencia(transferenciaDto);
+
+            // Assert
+            verify(beneficioRepository, times(2)).executeInTransaction(any());
+            assertThat(beneficioOrigem.getSaldo()).isEqualTo(Money.of(new BigDecimal("900.00")));
+        }
+
+        @Test
+        @DisplayName("Deve desistir do lote após as tentativas em conflito")
+        void deveDesistirAposTentativas() {
+            // Arrange
+            doThrow(new ConflitoConcorrenciaException("Conflito", null))
+                .when(beneficioRepository).executeInTransaction(any());
+
+            // Act & Assert
+            assertThatThrownBy(() -> transferenciaUseCase.executarTransferencia(transferenciaDto))
+                .isInstanceOf(ConflitoConcorrenciaException.class);
+            verify(beneficioRepository, times(TransferenciaUseCase.TENTATIVAS_LOTE)).executeInTransaction(any());
+        }
+
+        @Test
+        @DisplayName("Deve propagar falha de saldo insuficiente ao chamador")
+        void devePropagarFalhaDoItem() {
+            // Arrange
+            when(beneficioService.buscarPorId(1L)).thenReturn(beneficioOrigem);
+            when(beneficioService.buscarPorId(2L)).thenReturn(beneficioDestino);
+            TransferenciaDto excessiva = new TransferenciaDto(1L, 2L, new BigDecimal("5000.00"), "Excessiva");
+
+            // Act & Assert
+            assertThatThrownBy(() -> transferenciaUseCase.executarTransferencia(excessiva))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Saldo insuficiente");
+            verify(beneficioRepository, never()).save(any(Beneficio.class));
+        }
+    }
+
+    @Nested
+    @DisplayName("Lock Striping")
+    class LockStripingTests {
+
+        private StripedLockManager.Bloqueio bloqueio;
+
+        @BeforeEach
+        void configurarBloqueio() {
+            bloqueio = mock(StripedLockManager.Bloqueio.class);
+            when(lockManager.adquirir(1L, 2L)).thenReturn(bloqueio);
+            when(beneficioService.buscarPorId(1L)).thenReturn(beneficioOrigem);
+            when(beneficioService.buscarPorId(2L)).thenReturn(beneficioDestino);
+        }
+
+        @Test
+        @DisplayName("Deve adquirir locks dos benefícios antes de salvar e liberá-los depois")
+        void deveAdquirirLocksAntesDaTransacao() {
+            // Act
+            transferenciaUseCase.executarTransferencia(transferenciaDto);
+
+            // Assert
+            var ordem = inOrder(lockManager, beneficioRepository, bloqueio);
+            ordem.verify(lockManager).adquirir(1L, 2L);
+            ordem.verify(beneficioRepository, times(2)).save(any(Beneficio.class));
+            ordem.verify(bloqueio).close();
+        }
+
+        @Test
+        @DisplayName("Deve liberar locks quando a transferência falha")
+        void deveLiberarLocksQuandoFalha() {
+            // Arrange
+            TransferenciaDto excessiva = new TransferenciaDto(1L, 2L, new BigDecimal("5000.00"), "Excessiva");
+
+            // Act & Assert
+            assertThatThrownBy(() -> transferenciaUseCase.executarTransferencia(excessiva))
+                .isInstanceOf(IllegalArgumentException.class);
+            verify(bloqueio).close();
+        }
+
+        @Test
+        @DisplayName("Não deve adquirir locks quando parâmetros são inválidos")
+        void naoDeveAdquirirLocksComParametrosInvalidos() {
+            // Arrange
+            TransferenciaDto valorNegativo = new TransferenciaDto(1L, 2L, new BigDecimal("-10.00"), "Inválida");
+
+            // Act & Assert
+            assertThatThrownBy(() -> transferenciaUseCase.executarTransferencia(valorNegativo))
+                .isInstanceOf(IllegalArgumentException.class);
+            verify(lockManager, never()).adquirir(any(Long[].class));
+        }
+    }
+
+    @Nested
+    @DisplayName("Saldo Fragmentado")
+    class SaldoFragmentadoTests {
+
+        @BeforeEach
+        void configurarIds() throws Exception {
+            java.lang.reflect.Field idField = Beneficio.class.getDeclaredField("id");
+            idField.setAccessible(true);
+            idField.set(beneficioOrigem, 1L);
+            idField.set(beneficioDestino, 2L);
+            when(beneficioService.buscarPorId(1L)).thenReturn(beneficioOrigem);
+            when(beneficioService.buscarPorId(2L)).thenReturn(beneficioDestino);
+        }
+
+        @Test
+        @DisplayName("Deve creditar destino fragmentado nos slots sem salvar a linha do benefício")
+        void deveCreditarDestinoFragmentado() {
+            // Arrange
+            when(saldoFragmentado.isFragmentado(2L)).thenReturn(true);
+
+            // Act
+            transferenciaUseCase.executarTransferencia(transferenciaDto);
+
+            // Assert
+            Money valor = Money.of(new BigDecimal("100.00"));
+            verify(saldoFragmentado).creditar(beneficioDestino, valor);
+            verify(beneficioRepository).save(beneficioOrigem);
+            verify(beneficioRepository, never()).save(beneficioDestino);
+            assertThat(beneficioOrigem.getSaldo()).isEqualTo(Money.of(new BigDecimal("900.00")));
+            assertThat(beneficioDestino.getSaldo()).isEqualTo(Money.of(new BigDecimal("500.00")));
+        }
+
+        @Test
+        @DisplayName("Deve debitar origem fragmentada pelos slots")
+        void deveDebitarOrigemFragmentada() {
+            // Arrange
+            when(saldoFragmentado.isFragmentado(1L)).thenReturn(true);
+
+            // Act
+            transferenciaUseCase.executarTransferencia(transferenciaDto);
+
+            // Assert
+            verify(saldoFragmentado).debitar(beneficioOrigem, Money.of(new BigDecimal("100.00")));
+            verify(beneficioRepository, never()).save(beneficioOrigem);
+            verify(beneficioRepository).save(beneficioDestino);
+        }
+
+        @Test
+        @DisplayName("Deve executar as duas pernas em uma única transação")
+        void deveExecutarPernasNaMesmaTransacao() {
+            // Arrange
+            when(saldoFragmentado.isFragmentado(1L)).thenReturn(true);
+            doThrow(new IllegalStateException("Falha ao salvar destino"))
+                .when(beneficioRepository).save(beneficioDestino);
+
+            // Act & Assert
+            assertThatThrownBy(() -> transferenciaUseCase.executarTransferencia(transferenciaDto))
+                .isInstanceOf(IllegalStateException.class);
+            verify(beneficioRepository).executeInTransaction(any());
+            verify(saldoFragmentado).debitar(beneficioOrigem, Money.of(new BigDecimal("100.00")));
+        }
+
+        @Test
+        @DisplayName("Deve bloquear só a linha do benefício não fragmentado")
+        void deveBloquearSoLinhaNaoFragmentada() {
+            // Arrange
+            when(saldoFragmentado.isFragmentado(1L)).thenReturn(true);
+
+            // Act
+            transferenciaUseCase.executarTransferencia(transferenciaDto);
+
+            // Assert
+            verify(beneficioRepository).findByIdsWithLock(List.of(2L));
+        }
+    }
+
+    @Nested
+    @DisplayName("Ledger em Memória")
+    class LedgerTests {
+
+        @BeforeEach
+        void habilitarLedger() {
+            when(ledger.isHabilitado()).thenReturn(true);
+        }
+
+        @Test
+        @DisplayName("Deve delegar a transferência ao ledger sem acessar o banco")
+        void deveDelegarAoLedger() {
+            // Act
+            transferenciaUseCase.executarTransferencia(transferenciaDto);
+
+            // Assert
+            verify(ledger).transferir(transferenciaDto);
+            verify(beneficioService, never()).buscarPorId(any());
+            verify(beneficioRepository, never()).save(any(Beneficio.class));
+            verify(lockManager, never()).adquirir(any(Long[].class));
+        }
+
+        @Test
+        @DisplayName("Deve propagar a rejeição do ledger")
+        void devePropagarRejeicaoDoLedger() {
+            // Arrange
+            doThrow(new IllegalArgumentException("Saldo insuficiente"))
+                .when(ledger).transferir(transferenciaDto);
+
+            // Act & Assert
+            assertThatThrownBy(() -> transferenciaUseCase.executarTransferencia(transferenciaDto))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Saldo insuficiente");
+        }
+
+        @Test
+        @DisplayName("Deve validar os parâmetros antes de enviar ao ledger")
+        void deveValidarParametrosAntesDoLedger() {
+            // Arrange
+            TransferenciaDto valorNegativo = new TransferenciaDto(1L, 2L, new BigDecimal("-10.00"), "Inválida");
+
+            // Act & Assert
+            assertThatThrownBy(() -> transferenciaUseCase.executarTransferencia(valorNegativo))
+                .isInstanceOf(IllegalArgumentException.class);
+            verify(ledger, never()).transferir(any());
+        }
+    }
+
+    @Nested
+    @DisplayName("Ensaio de Transferência")
+    class EnsaioTests {
+
+        @BeforeEach
+        void configurarTransacao() {
+            when(beneficioService.buscarPorId(1L)).thenReturn(beneficioOrigem);
+            when(beneficioService.buscarPorId(2L)).thenReturn(beneficioDestino);
+        }
+
+        @Test
+        @DisplayName("Deve percorrer o caminho direto e desfazer a transação")
+        void devePercorrerCaminhoEDesfazer() {
+            // Arrange
+            when(ledger.isHabilitado()).thenReturn(true);
+
+            // Act
+            transferenciaUseCase.ensaiarTransferencia(transferenciaDto);
+
+            // Assert
+            verify(lockManager).adquirir(1L, 2L);
+            verify(beneficioRepository).executeInTransaction(any());
+            verify(beneficioRepository, times(2)).save(any(Beneficio.class));
+            verify(ledger, never()).transferir(any());
+        }
+
+        @Test
+        @DisplayName("Deve enviar os UPDATEs antes de desfazer a transação")
+        void deveEnviarUpdatesAntesDeDesfazer() {
+            // Act
+            transferenciaUseCase.ensaiarTransferencia(transferenciaDto);
+
+            // Assert
+            var ordem = inOrder(beneficioRepository);
+            ordem.verify(beneficioRepository, times(2)).save(any(Beneficio.class));
+            ordem.verify(beneficioRepository).flush();
+        }
+
+        @Test
+        @DisplayName("Não deve alimentar métricas nem o detector de chaves quentes")
+        void naoDeveAlimentarMetricas() {
+            // Act
+            transferenciaUseCase.ensaiarTransferencia(transferenciaDto);
+
+            // Assert
+            verifyNoInteractions(metricas, chavesQuentes, cache);
+        }
+
+        @Test
+        @DisplayName("Deve rejeitar benefício com saldo fragmentado")
+        void deveRejeitarBeneficioFragmentado() {
+            // Arrange
+            when(saldoFragmentado.isFragmentado(2L)).thenReturn(true);
+
+            // Act & Assert
+            assertThatThrownBy(() -> transferenciaUseCase.ensaiarTransferencia(transferenciaDto))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("fragmentado");
+            verify(beneficioRepository, never()).executeInTransaction(any());
+        }
+
+        @Test
+        @DisplayName("Deve propagar falhas de validação do caminho")
+        void devePropagarFalhasDeValidacao() {
+            // Arrange
+            TransferenciaDto excessiva = new TransferenciaDto(1L, 2L, new BigDecimal("5000.00"), "Excessiva");
+
+            // Act & Assert
+            assertThatThrownBy(() -> transferenciaUseCase.ensaiarTransferencia(excessiva))
+                .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("Cache de benefícios")
+    class CacheTests {
+
+        @Test
+        @DisplayName("Deve invalidar origem e destino após a transferência")
+        void deveInvalidarOrigemEDestino() {
+            // Arrange
+            when(beneficioService.buscarPorId(1L)).thenReturn(beneficioOrigem);
+            when(beneficioService.buscarPorId(2L)).thenReturn(beneficioDestino);
+
+            // Act
+            transferenciaUseCase.executarTransferencia(transferenciaDto);
+
+            // Assert
+            verify(cache).invalidar(1L, 2L);
+        }
+
+        @Test
+        @DisplayName("Deve invalidar também quando a transferência falha")
+        void deveInvalidarQuandoFalha() {
+            // Arrange
+            when(ledger.isHabilitado()).thenReturn(true);
+            doThrow(new IllegalStateException("Journal indisponível")).when(ledger).transferir(transferenciaDto);
+
+            // Act & Assert
+            assertThatThrownBy(() -> transferenciaUseCase.executarTransferencia(transferenciaDto))
+                .isInstanceOf(IllegalStateException.class);
+            verify(cache).invalidar(1L, 2L);
+        }
+
+        @Test
+        @DisplayName("Não deve invalidar quando os parâmetros são inválidos")
+        void naoDeveInvalidarParametrosInvalidos() {
+            // Arrange
+            TransferenciaDto valorNegativo = new TransferenciaDto(1L, 2L, new BigDecimal("-10.00"), "Inválida");
+
+            // Act & Assert
+            assertThatThrownBy(() -> transferenciaUseCase.executarTransferencia(valorNegativo))
+                .isInstanceOf(IllegalArgumentException.class);
+            verifyNoInteractions(cache);
+        }
+    }
+
+    @Nested
+    @DisplayName("Métricas")
+    class MetricasTests {
+
+        @BeforeEach
+        void configurarBeneficios() {
+            when(beneficioService.buscarPorId(1L)).thenReturn(beneficioOrigem);
+            when(beneficioService.buscarPorId(2L)).thenReturn(beneficioDestino);
+        }
+
+        @Test
+        @DisplayName("Deve registrar o valor da transferência concluída")
+        void deveRegistrarValorTransferido() {
+            // Act
+            transferenciaUseCase.executarTransferencia(transferenciaDto);
+
+            // Assert
+            verify(metricas).registrarValor(new BigDecimal("100.00"));
+            verify(metricas, never()).registrarSaldoInsuficiente();
+        }
+
+        @Test
+        @DisplayName("Deve contar a rejeição por saldo insuficiente")
+        void deveContarSaldoInsuficiente() {
+            // Arrange
+            TransferenciaDto excessiva = new TransferenciaDto(1L, 2L, new BigDecimal("5000.00"), "Excessiva");
+
+            // Act & Assert
+            assertThatThrownBy(() -> transferenciaUseCase.executarTransferencia(excessiva))
+                .isInstanceOf(SaldoInsuficienteException.class);
+            verify(metricas).registrarSaldoInsuficiente();
+            verify(metricas, never()).registrarValor(any());
+        }
+
+        @Test
+        @DisplayName("Deve contar a rejeição por saldo vinda do ledger")
+        void deveContarSaldoInsuficienteDoLedger() {
+            // Arrange
+            when(ledger.isHabilitado()).thenReturn(true);
+            doThrow(new SaldoInsuficienteException("Saldo insuficiente")).when(ledger).transferir(transferenciaDto);
+
+            // Act & Assert
+            assertThatThrownBy(() -> transferenciaUseCase.executarTransferencia(transferenciaDto))
+                .isInstanceOf(SaldoInsuficienteException.class);
+            verify(metricas).registrarSaldoInsuficiente();
+        }
+
+        @Test
+        @DisplayName("Não deve contar outras falhas como saldo insuficiente")
+        void naoDeveContarOutrasFalhas() {
+            // Arrange
+            doThrow(new IllegalStateException("Benefício está inativo: 2"))
+                .when(beneficioService).validarAtivo(beneficioDestino);
+
+            // Act & Assert
+            assertThatThrownBy(() -> transferenciaUseCase.executarTransferencia(transferenciaDto))
+                .isInstanceOf(IllegalStateException.class);
+            verify(metricas, never()).registrarSaldoInsuficiente();
+        }
+
+        @Test
+        @DisplayName("Deve medir a espera pelos locks com lock striping habilitado")
+        void deveMedirEsperaPorLocks() {
+            // Arrange
+            when(lockManager.isHabilitado()).thenReturn(true);
+            when(lockManager.adquirir(1L, 2L)).thenReturn(mock(StripedLockManager.Bloqueio.class));
+
+            // Act
+            transferenciaUseCase.executarTransferencia(transferenciaDto);
+
+            // Assert
+            verify(metricas).registrarEsperaLock(anyLong());
+        }
+
+        @Test
+        @DisplayName("Não deve medir espera com lock striping desabilitado")
+        void naoDeveMedirEsperaSemLockStriping() {
+            // Act
+            transferenciaUseCase.executarTransferencia(transferenciaDto);
+
+            // Assert
+            verify(metricas, never()).registrarEsperaLock(anyLong());
+        }
+    }
+}
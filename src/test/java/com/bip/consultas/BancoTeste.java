@@ -0,0 +1,35 @@
+package com.bip.consultas;
+
+import com.bip.domain.entities.Beneficio;
+import com.bip.domain.entities.LedgerCheckpoint;
+import com.bip.domain.entities.SaldoSlot;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.Configuration;
+
+/**
+ * Banco H2 em memória com o schema gerado pelo Hibernate a partir das
+ * entidades e as estatísticas ligadas, para testes que contam consultas.
+ */
+public final class BancoTeste {
+
+    private BancoTeste() {
+    }
+
+    /**
+     * Abre uma base vazia e exclusiva; deve ser fechada pelo chamador.
+     *
+     * @param nome identifica a base, para que testes não compartilhem dados
+     */
+    public static SessionFactory abrir(String nome) {
+        return new Configuration()
+            .addAnnotatedClass(Beneficio.class)
+            .addAnnotatedClass(LedgerCheckpoint.class)
+            .addAnnotatedClass(SaldoSlot.class)
+            .setProperty("hibernate.connection.url", "jdbc:h2:mem:" + nome + "-" + System.nanoTime())
+            .setProperty("hibernate.connection.username", "sa")
+            .setProperty("hibernate.connection.password", "")
+            .setProperty("hibernate.hbm2ddl.auto", "create")
+            .setProperty("hibernate.generate_statistics", "true")
+            .buildSessionFactory();
+    }
+}
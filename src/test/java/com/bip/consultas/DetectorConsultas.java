@@ -0,0 +1,60 @@
+package com.bip.consultas;
+
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+/**
+ * Falha os testes anotados com {@link MaximoConsultas} que enviam mais
+ * comandos SQL que o declarado.
+ *
+ * <p>As estatísticas do Hibernate são zeradas imediatamente antes do método de
+ * teste, depois dos {@code @BeforeEach}: a preparação dos dados não conta.
+ * Um N+1 introduzido em um caso de uso aparece como estouro do máximo.</p>
+ */
+public final class DetectorConsultas implements BeforeTestExecutionCallback, AfterTestExecutionCallback {
+
+    private final Supplier<Statistics> estatisticas;
+
+    /**
+     * @param estatisticas estatísticas da fábrica usada pelo teste, resolvidas a cada execução
+     */
+    public DetectorConsultas(Supplier<Statistics> estatisticas) {
+        this.estatisticas = estatisticas;
+    }
+
+    @Override
+    public void beforeTestExecution(ExtensionContext contexto) {
+        if (maximo(contexto) != null) {
+            estatisticas.get().clear();
+        }
+    }
+
+    @Override
+    public void afterTestExecution(ExtensionContext contexto) {
+        MaximoConsultas maximo = maximo(contexto);
+        if (maximo != null && contexto.getExecutionException().isEmpty()) {
+            verificar(estatisticas.get(), maximo.value());
+        }
+    }
+
+    /**
+     * Falha se as estatísticas registram mais comandos que {@code maximo}.
+     */
+    static void verificar(Statistics estatisticas, int maximo) {
+        long executadas = estatisticas.getPrepareStatementCount();
+        if (executadas > maximo) {
+            throw new AssertionError(String.format(
+                "%d comandos SQL enviados, máximo declarado %d; consultas HQL: %s",
+                executadas, maximo, Arrays.toString(estatisticas.getQueries())));
+        }
+    }
+
+    private static MaximoConsultas maximo(ExtensionContext contexto) {
+        return contexto.getTestMethod().map(metodo -> metodo.getAnnotation(MaximoConsultas.class)).orElse(null);
+    }
+}
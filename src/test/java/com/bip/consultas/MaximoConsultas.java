@@ -0,0 +1,17 @@
+package com.bip.consultas;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Quantidade máxima de comandos SQL que o teste pode enviar ao banco; verificada
+ * pelo {@link DetectorConsultas}.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface MaximoConsultas {
+
+    int value();
+}
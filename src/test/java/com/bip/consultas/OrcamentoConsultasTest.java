@@ -0,0 +1,204 @@
+package com.bip.consultas;
+
+import com.bip.application.cache.BeneficioCache;
+import com.bip.application.concurrency.DetectorChavesQuentes;
+import com.bip.application.concurrency.StripedLockManager;
+import com.bip.application.dtos.TransferenciaDto;
+import com.bip.application.ledger.LedgerEngine;
+import com.bip.application.mappers.BeneficioMapper;
+import com.bip.application.metrics.MetricasRegistry;
+import com.bip.application.metrics.TransferenciaMetricas;
+import com.bip.application.services.BeneficioService;
+import com.bip.application.services.SaldoFragmentadoService;
+import com.bip.application.usecases.BeneficioUseCase;
+import com.bip.application.usecases.TransferenciaUseCase;
+import com.bip.domain.entities.Beneficio;
+import com.bip.domain.valueobjects.Money;
+import com.bip.infrastructure.persistence.BeneficioRepositoryImpl;
+import com.bip.infrastructure.persistence.RegistroConsultasLentas;
+import com.bip.infrastructure.persistence.SaldoSlotRepositoryImpl;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Orçamentos de consultas SQL por caso de uso, contra um H2 com o schema real.
+ *
+ * <p>Os componentes são os reais, ligados à mão como no contêiner, com cache,
+ * lock striping, group commit e ledger desabilitados (o padrão). O repositório
+ * abre um contexto de persistência por operação ou transação, então as leituras
+ * sempre chegam ao banco.</p>
+ */
+@DisplayName("Orçamentos de consultas")
+class OrcamentoConsultasTest {
+
+    private SessionFactory sessionFactory;
+    private EntityManager entityManager;
+    private BeneficioUseCase beneficioUseCase;
+    private TransferenciaUseCase transferenciaUseCase;
+
+    @RegisterExtension
+    final DetectorConsultas detector = new DetectorConsultas(() -> sessionFactory.getStatistics());
+
+    @BeforeEach
+    void setUp() {
+        sessionFactory = BancoTeste.abrir("orcamento-consultas");
+        entityManager = sessionFactory.createEntityManager();
+
+        BeneficioRepositoryImpl repository = new BeneficioRepositoryImpl();
+        injetar(repository, "entityManager", entityManager);
+        injetar(repository, "consultasLentas", new RegistroConsultasLentas());
+        SaldoSlotRepositoryImpl slots = new SaldoSlotRepositoryImpl();
+        injetar(slots, "beneficioRepository", repository);
+
+        BeneficioMapper mapper = new BeneficioMapper();
+        BeneficioCache cache = new BeneficioCache();
+        SaldoFragmentadoService saldoFragmentado = new SaldoFragmentadoService();
+        BeneficioService beneficioService = new BeneficioService();
+        injetar(cache, "beneficioRepository", repository);
+        injetar(saldoFragmentado, "beneficioRepository", repository);
+        injetar(saldoFragmentado, "saldoSlotRepository", slots);
+        injetar(beneficioService, "beneficioRepository", repository);
+        injetar(beneficioService, "saldoFragmentado", saldoFragmentado);
+
+        beneficioUseCase = new BeneficioUseCase();
+        injetar(beneficioUseCase, "beneficioRepository", repository);
+        injetar(beneficioUseCase, "beneficioMapper", mapper);
+        injetar(beneficioUseCase, "beneficioService", beneficioService);
+        injetar(beneficioUseCase, "saldoFragmentado", saldoFragmentado);
+        injetar(beneficioUseCase, "cache", cache);
+
+        TransferenciaMetricas metricas = new TransferenciaMetricas();
+        injetar(metricas, "registry", new MetricasRegistry());
+        invocar(metricas, "iniciar");
+        transferenciaUseCase = new TransferenciaUseCase();
+        injetar(transferenciaUseCase, "beneficioRepository", repository);
+        injetar(transferenciaUseCase, "beneficioService", beneficioService);
+        injetar(transferenciaUseCase, "lockManager", new StripedLockManager());
+        injetar(transferenciaUseCase, "saldoFragmentado", saldoFragmentado);
+        injetar(transferenciaUseCase, "ledger", new LedgerEngine());
+        injetar(transferenciaUseCase, "cache", cache);
+        injetar(transferenciaUseCase, "metricas", metricas);
+        injetar(transferenciaUseCase, "chavesQuentes", new DetectorChavesQuentes());
+
+        for (int i = 1; i <= 20; i++) {
+            repository.save(Beneficio.criar(String.format("Beneficio %03d", i), "Benefício de teste",
+                Money.of(new BigDecimal("1000.00"))));
+        }
+        entityManager.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        entityManager.close();
+        sessionFactory.close();
+    }
+
+    @Nested
+    @DisplayName("BeneficioUseCase")
+    class BeneficioUseCaseTests {
+
+        @Test
+        @MaximoConsultas(1)
+        @DisplayName("buscarPorId deve ler uma linha")
+        void buscarPorId() {
+            assertThat(beneficioUseCase.buscarPorId(1L)).isPresent();
+        }
+
+        @Test
+        @MaximoConsultas(1)
+        @DisplayName("listarTodos deve usar uma consulta, sem N+1")
+        void listarTodos() {
+            assertThat(beneficioUseCase.listarTodos()).hasSize(20);
+        }
+
+        @Test
+        @MaximoConsultas(1)
+        @DisplayName("listarAtivos deve usar uma consulta, sem N+1")
+        void listarAtivos() {
+            assertThat(beneficioUseCase.listarAtivos()).hasSize(20);
+        }
+
+        @Test
+        @MaximoConsultas(2)
+        @DisplayName("somarValoresAtivos deve somar benefícios e slots")
+        void somarValoresAtivos() {
+            assertThat(beneficioUseCase.somarValoresAtivos()).isEqualByComparingTo("20000.00");
+        }
+    }
+
+    @Nested
+    @DisplayName("TransferenciaUseCase")
+    class TransferenciaUseCaseTests {
+
+        @Test
+        @MaximoConsultas(3)
+        @DisplayName("executarTransferencia deve bloquear e atualizar os dois benefícios")
+        void executarTransferencia() {
+            transferenciaUseCase.executarTransferencia(new TransferenciaDto(1L, 2L, new BigDecimal("10.00"), null));
+        }
+    }
+
+    @Nested
+    @DisplayName("DetectorConsultas")
+    class DetectorTests {
+
+        @Test
+        @DisplayName("Deve falhar quando o teste excede o máximo declarado")
+        void deveFalharAoExcederMaximo() {
+            // Arrange
+            sessionFactory.getStatistics().clear();
+            beneficioUseCase.buscarPorId(1L);
+            entityManager.clear();
+            beneficioUseCase.buscarPorId(2L);
+
+            // Act & Assert
+            assertThatThrownBy(() -> DetectorConsultas.verificar(sessionFactory.getStatistics(), 1))
+                .isInstanceOf(AssertionError.class)
+                .hasMessageContaining("2 comandos SQL enviados, máximo declarado 1");
+        }
+
+        @Test
+        @DisplayName("Deve aceitar quando o teste fica dentro do máximo")
+        void deveAceitarDentroDoMaximo() {
+            // Arrange
+            sessionFactory.getStatistics().clear();
+            beneficioUseCase.buscarPorId(1L);
+
+            // Act & Assert
+            DetectorConsultas.verificar(sessionFactory.getStatistics(), 1);
+        }
+    }
+
+    private static void injetar(Object alvo, String campo, Object valor) {
+        try {
+            Field field = alvo.getClass().getDeclaredField(campo);
+            field.setAccessible(true);
+            field.set(alvo, valor);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void invocar(Object alvo, String metodo) {
+        try {
+            Method method = alvo.getClass().getDeclaredMethod(metodo);
+            method.setAccessible(true);
+            method.invoke(alvo);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.bip.domain.entities;
 
+import com.bip.domain.exceptions.SaldoInsuficienteException;
 import com.bip.domain.valueobjects.Money;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -118,7 +119,7 @@ class BeneficioTest {
         
         // When & Then
         assertThatThrownBy(() -> beneficio.debitar(valorDebito))
-            .isInstanceOf(IllegalArgumentException.class)
+            .isInstanceOf(SaldoInsuficienteException.class)
             .hasMessageContaining("Saldo insuficiente");
     }
 
@@ -642,4 +643,36 @@ class BeneficioTest {
         assertThat(saldo).isEqualTo(Money.zero());
         assertThat(saldo.getValor()).isEqualByComparingTo(BigDecimal.ZERO);
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Deve somar slots ao saldo de benefício fragmentado")
+    void deveSomarSlotsAoSaldoFragmentado() {
+        // Given
+        Beneficio beneficio = new Beneficio("Auxílio Alimentação", "Fundo central", Money.of(new BigDecimal("100.00")));
+        
+        // When
+        beneficio.aplicarSaldoFragmentado(Money.of(new BigDecimal("400.00")));
+        
+        // Then
+        assertThat(beneficio.getSaldo()).isEqualTo(Money.of(new BigDecimal("500.00")));
+        assertThat(beneficio.getSaldoPrincipal()).isEqualTo(Money.of(new BigDecimal("100.00")));
+        assertThat(beneficio.possuiSaldoSuficiente(Money.of(new BigDecimal("450.00")))).isTrue();
+    }
+
+    @Test
+    @DisplayName("Débito deve considerar apenas o saldo principal")
+    void debitoDeveConsiderarApenasSaldoPrincipal() {
+        // Given
+        Beneficio beneficio = new Beneficio("Auxílio Alimentação", "Fundo central", Money.of(new BigDecimal("100.00")));
+        beneficio.aplicarSaldoFragmentado(Money.of(new BigDecimal("400.00")));
+        
+        // When & Then
+        assertThatThrownBy(() -> beneficio.debitar(Money.of(new BigDecimal("150.00"))))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("Saldo insuficiente");
+        
+        beneficio.debitar(Money.of(new BigDecimal("100.00")));
+        assertThat(beneficio.getSaldoPrincipal()).isEqualTo(Money.zero());
+        assertThat(beneficio.getSaldo()).isEqualTo(Money.of(new BigDecimal("400.00")));
+    }
+}
@@ -0,0 +1,63 @@
+package com.bip.domain.entities;
+
+import com.bip.domain.valueobjects.Money;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("SaldoSlot Domain Entity Tests")
+class SaldoSlotTest {
+
+    @Test
+    @DisplayName("Deve criar slot com saldo zero quando saldo for nulo")
+    void deveCriarSlotComSaldoZero() {
+        // When
+        SaldoSlot slot = new SaldoSlot(1L, 3, null);
+        
+        // Then
+        assertThat(slot.getBeneficioId()).isEqualTo(1L);
+        assertThat(slot.getSlot()).isEqualTo(3);
+        assertThat(slot.getSaldo()).isEqualTo(Money.zero());
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção para benefício nulo ou slot negativo")
+    void deveLancarExcecaoParaDadosInvalidos() {
+        assertThatThrownBy(() -> new SaldoSlot(null, 0, Money.zero()))
+            .isInstanceOf(NullPointerException.class);
+        assertThatThrownBy(() -> new SaldoSlot(1L, -1, Money.zero()))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Deve debitar até o saldo disponível no slot")
+    void deveDebitarAteSaldoDisponivel() {
+        // Given
+        SaldoSlot slot = new SaldoSlot(1L, 0, Money.of(new BigDecimal("30.00")));
+        
+        // When
+        Money parcial = slot.debitarAte(Money.of(new BigDecimal("10.00")));
+        Money restante = slot.debitarAte(Money.of(new BigDecimal("50.00")));
+        
+        // Then
+        assertThat(parcial).isEqualTo(Money.of(new BigDecimal("10.00")));
+        assertThat(restante).isEqualTo(Money.of(new BigDecimal("20.00")));
+        assertThat(slot.getSaldo()).isEqualTo(Money.zero());
+    }
+
+    @Test
+    @DisplayName("Deve comparar slots por benefício e número")
+    void deveCompararPorBeneficioESlot() {
+        // Given
+        SaldoSlot slot = new SaldoSlot(1L, 2, Money.zero());
+        
+        // Then
+        assertThat(slot).isEqualTo(new SaldoSlot(1L, 2, Money.of(BigDecimal.TEN)));
+        assertThat(slot).isNotEqualTo(new SaldoSlot(1L, 3, Money.zero()));
+        assertThat(slot.hashCode()).isEqualTo(new SaldoSlot(1L, 2, Money.zero()).hashCode());
+        assertThat(slot.toString()).contains("slot=2");
+    }
+}
@@ -1,32 +1,40 @@
 package com.bip.infrastructure.persistence;
 
 import com.bip.domain.entities.Beneficio;
+import com.bip.domain.exceptions.ConflitoConcorrenciaException;
 import com.bip.domain.valueobjects.Money;
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
 import jakarta.persistence.EntityTransaction;
 import jakarta.persistence.LockModeType;
 import jakarta.persistence.NoResultException;
+import jakarta.persistence.OptimisticLockException;
+import jakarta.persistence.RollbackException;
 import jakarta.persistence.TypedQuery;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 
+import java.lang.reflect.Field;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
@@ -51,6 +59,18 @@ class BeneficioRepositoryImplTest {
     @Mock
     private TypedQuery<BigDecimal> bigDecimalQuery;
 
+    @Mock
+    private TypedQuery<BigDecimal> slotSumQuery;
+
+    @Mock
+    private TypedQuery<Object[]> versoesQuery;
+
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
+
+    @Mock
+    private RegistroConsultasLentas consultasLentas;
+
     @InjectMocks
     private BeneficioRepositoryImpl repository;
 
@@ -72,6 +92,10 @@ class BeneficioRepositoryImplTest {
             Money.of(BigDecimal.valueOf(500))
         );
 
+        // Cada operação abre um EntityManager da fábrica; aqui, sempre o mock
+        when(entityManager.getEntityManagerFactory()).thenReturn(entityManagerFactory);
+        when(entityManagerFactory.createEntityManager()).thenReturn(entityManager);
+
         // Setup padrão para transaction
         when(entityManager.getTransaction()).thenReturn(transaction);
         when(transaction.isActive()).thenReturn(false);
@@ -97,6 +121,36 @@ class BeneficioRepositoryImplTest {
             verify(entityManager).find(Beneficio.class, id);
         }
 
+        @Test
+        @DisplayName("Deve informar a consulta e o ID ao log de consultas lentas")
+        void shouldReportToSlowQueryLog() {
+            // Arrange
+            when(entityManager.find(Beneficio.class, 1L)).thenThrow(new IllegalStateException("Falha"));
+
+            // Act
+            assertThatThrownBy(() -> repository.findById(1L)).isInstanceOf(IllegalStateException.class);
+
+            // Assert
+            verify(consultasLentas).registrar(eq("findById"), anyLong(), eq(1L));
+        }
+
+        @Test
+        @DisplayName("Deve funcionar sem injeção do log de consultas lentas")
+        void shouldWorkWithoutInjectedSlowQueryLog() throws ReflectiveOperationException {
+            // Arrange
+            BeneficioRepositoryImpl criadoDiretamente = new BeneficioRepositoryImpl();
+            Field campo = BeneficioRepositoryImpl.class.getDeclaredField("entityManager");
+            campo.setAccessible(true);
+            campo.set(criadoDiretamente, entityManager);
+            when(entityManager.find(Beneficio.class, 1L)).thenReturn(beneficioExistente);
+
+            // Act
+            Optional<Beneficio> result = criadoDiretamente.findById(1L);
+
+            // Assert
+            assertThat(result).contains(beneficioExistente);
+        }
+
         @Test
         @DisplayName("Deve retornar empty quando benefício não encontrado")
         void shouldReturnEmptyWhenBeneficioNotFound() {
@@ -258,6 +312,39 @@ class BeneficioRepositoryImplTest {
         }
     }
 
+    @Nested
+    @DisplayName("findVersoesByIds")
+    class FindVersoesByIdsTests {
+
+        @Test
+        @DisplayName("Deve buscar as versões em uma única consulta")
+        void shouldFindVersoesInSingleQuery() {
+            // Arrange
+            List<Long> ids = Arrays.asList(1L, 2L);
+            when(entityManager.createNamedQuery("Beneficio.findVersoes", Object[].class)).thenReturn(versoesQuery);
+            when(versoesQuery.setParameter("ids", ids)).thenReturn(versoesQuery);
+            when(versoesQuery.getResultList()).thenReturn(List.of(new Object[]{1L, 3L}, new Object[]{2L, 0L}));
+
+            // Act
+            Map<Long, Long> result = repository.findVersoesByIds(ids);
+
+            // Assert
+            assertThat(result).containsExactlyInAnyOrderEntriesOf(Map.of(1L, 3L, 2L, 0L));
+            verify(entityManager, times(1)).createNamedQuery(anyString(), any());
+        }
+
+        @Test
+        @DisplayName("Deve retornar mapa vazio quando IDs é vazio")
+        void shouldReturnEmptyMapWhenIdsIsEmpty() {
+            // Act
+            Map<Long, Long> result = repository.findVersoesByIds(List.of());
+
+            // Assert
+            assertThat(result).isEmpty();
+            verify(entityManager, never()).createNamedQuery(anyString(), any());
+        }
+    }
+
     @Nested
     @DisplayName("findByIdsWithLock")
     class FindByIdsWithLockTests {
@@ -354,7 +441,9 @@ class BeneficioRepositoryImplTest {
             // Arrange
             BigDecimal sum = BigDecimal.valueOf(5000);
             when(entityManager.createNamedQuery("Beneficio.sumActiveValues", BigDecimal.class)).thenReturn(bigDecimalQuery);
+            when(entityManager.createNamedQuery("SaldoSlot.sumActive", BigDecimal.class)).thenReturn(slotSumQuery);
             when(bigDecimalQuery.getSingleResult()).thenReturn(sum);
+            when(slotSumQuery.getSingleResult()).thenReturn(BigDecimal.ZERO);
 
             // Act
             BigDecimal result = repository.sumActiveValues();
@@ -363,12 +452,30 @@ class BeneficioRepositoryImplTest {
             assertThat(result).isEqualTo(sum);
         }
 
+        @Test
+        @DisplayName("Deve incluir saldo dos slots de benefícios fragmentados")
+        void shouldIncludeSlotBalances() {
+            // Arrange
+            when(entityManager.createNamedQuery("Beneficio.sumActiveValues", BigDecimal.class)).thenReturn(bigDecimalQuery);
+            when(entityManager.createNamedQuery("SaldoSlot.sumActive", BigDecimal.class)).thenReturn(slotSumQuery);
+            when(bigDecimalQuery.getSingleResult()).thenReturn(BigDecimal.valueOf(5000));
+            when(slotSumQuery.getSingleResult()).thenReturn(BigDecimal.valueOf(750));
+
+            // Act
+            BigDecimal result = repository.sumActiveValues();
+
+            // Assert
+            assertThat(result).isEqualByComparingTo("5750");
+        }
+
         @Test
         @DisplayName("Deve retornar zero quando resultado é nulo")
         void shouldReturnZeroWhenResultIsNull() {
             // Arrange
             when(entityManager.createNamedQuery("Beneficio.sumActiveValues", BigDecimal.class)).thenReturn(bigDecimalQuery);
+            when(entityManager.createNamedQuery("SaldoSlot.sumActive", BigDecimal.class)).thenReturn(slotSumQuery);
             when(bigDecimalQuery.getSingleResult()).thenReturn(null);
+            when(slotSumQuery.getSingleResult()).thenReturn(null);
 
             // Act
             BigDecimal result = repository.sumActiveValues();
@@ -438,7 +545,7 @@ class BeneficioRepositoryImplTest {
         @DisplayName("Deve fazer rollback em caso de erro")
         void shouldRollbackOnError() {
             // Arrange
-            when(transaction.isActive()).thenReturn(false, true); // primeiro false, depois true após begin
+            when(transaction.isActive()).thenReturn(true); // ativa após o begin
             doNothing().when(transaction).begin();
             doThrow(new RuntimeException("Erro no banco")).when(entityManager).persist(novoBeneficio);
             doNothing().when(transaction).rollback();
@@ -452,18 +559,33 @@ class BeneficioRepositoryImplTest {
         }
 
         @Test
-        @DisplayName("Não deve iniciar transação se já estiver ativa")
-        void shouldNotStartTransactionIfAlreadyActive() {
+        @DisplayName("Deve participar da transação aberta pela thread")
+        void shouldJoinTransactionOpenedByThread() {
             // Arrange
-            when(transaction.isActive()).thenReturn(true);
             when(entityManager.merge(beneficioExistente)).thenReturn(beneficioExistente);
 
             // Act
-            repository.save(beneficioExistente);
+            repository.executeInTransaction(() -> repository.save(beneficioExistente));
 
             // Assert
-            verify(transaction, never()).begin();
-            verify(transaction, never()).commit();
+            verify(entityManagerFactory).createEntityManager();
+            verify(transaction).begin();
+            verify(transaction).commit();
+        }
+
+        @Test
+        @DisplayName("Deve gravar em EntityManager próprio fechado após o commit")
+        void shouldUseOwnEntityManagerOutsideTransaction() {
+            // Act
+            repository.save(novoBeneficio);
+
+            // Assert
+            InOrder ordem = inOrder(entityManagerFactory, transaction, entityManager);
+            ordem.verify(entityManagerFactory).createEntityManager();
+            ordem.verify(transaction).begin();
+            ordem.verify(entityManager).persist(novoBeneficio);
+            ordem.verify(transaction).commit();
+            ordem.verify(entityManager).close();
         }
     }
 
@@ -526,7 +648,7 @@ class BeneficioRepositoryImplTest {
         void shouldRollbackOnError() {
             // Arrange
             when(entityManager.contains(beneficioExistente)).thenReturn(true);
-            when(transaction.isActive()).thenReturn(false, true); // primeiro false, depois true após begin
+            when(transaction.isActive()).thenReturn(true); // ativa após o begin
             doNothing().when(transaction).begin();
             doThrow(new RuntimeException("Erro no banco")).when(entityManager).remove(beneficioExistente);
             doNothing().when(transaction).rollback();
@@ -721,4 +843,90 @@ class BeneficioRepositoryImplTest {
             assertThat(result).isFalse();
         }
     }
-}
\ No newline at end of file
+
+    @Nested
+    @DisplayName("executeInTransaction")
+    class ExecuteInTransactionTests {
+
+        @Test
+        @DisplayName("Deve abrir e confirmar transação quando não há transação ativa")
+        void shouldBeginAndCommitWhenNoActiveTransaction() {
+            // Act
+            String result = repository.executeInTransaction(() -> "ok");
+
+            // Assert
+            assertThat(result).isEqualTo("ok");
+            verify(transaction).begin();
+            verify(transaction).commit();
+            verify(transaction, never()).rollback();
+        }
+
+        @Test
+        @DisplayName("Não deve registrar a transação como consulta lenta")
+        void shouldNotRegisterTransactionAsSlowQuery() {
+            // Act
+            repository.executeInTransaction(() -> repository.findById(1L));
+
+            // Assert
+            verify(consultasLentas).registrar(eq("findById"), anyLong(), eq(1L));
+            verify(consultasLentas, never()).registrar(eq("executeInTransaction"), anyLong(), any());
+            verify(consultasLentas, never()).registrar(eq("executeInTransaction"), anyLong());
+        }
+
+        @Test
+        @DisplayName("Deve reutilizar a transação aberta pela mesma thread")
+        void shouldJoinActiveTransaction() {
+            // Act
+            Integer result = repository.executeInTransaction(() -> repository.executeInTransaction(() -> 42));
+
+            // Assert
+            assertThat(result).isEqualTo(42);
+            verify(entityManagerFactory).createEntityManager();
+            verify(transaction).begin();
+            verify(transaction).commit();
+        }
+
+        @Test
+        @DisplayName("Deve desfazer transação e fechar o contexto em caso de erro")
+        void shouldRollbackAndClearOnError() {
+            // Arrange
+            doAnswer(invocation -> {
+                when(transaction.isActive()).thenReturn(true);
+                return null;
+            }).when(transaction).begin();
+
+            // Act & Assert
+            assertThatThrownBy(() -> repository.executeInTransaction(() -> {
+                throw new IllegalStateException("Falha no lote");
+            }))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("Falha no lote");
+
+            verify(transaction).rollback();
+            verify(entityManager).close();
+            verify(transaction, never()).commit();
+        }
+
+        @Test
+        @DisplayName("Deve sinalizar conflito quando outra transação alterou o benefício")
+        void shouldSignalConflictOnStaleVersion() {
+            // Arrange
+            doThrow(new RollbackException(new OptimisticLockException("Versão antiga")))
+                .when(transaction).commit();
+
+            // Act & Assert
+            assertThatThrownBy(() -> repository.executeInTransaction(() -> "lote"))
+                .isInstanceOf(ConflitoConcorrenciaException.class)
+                .hasRootCauseInstanceOf(OptimisticLockException.class);
+            verify(entityManager).close();
+        }
+
+        @Test
+        @DisplayName("Deve lançar exceção quando trabalho é nulo")
+        void shouldThrowWhenWorkIsNull() {
+            assertThatThrownBy(() -> repository.executeInTransaction(null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Trabalho transacional não pode ser nulo");
+        }
+    }
+}
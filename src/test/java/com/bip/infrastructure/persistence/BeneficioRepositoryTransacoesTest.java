@@ -0,0 +1,135 @@
+package com.bip.infrastructure.persistence;
+
+import com.bip.consultas.BancoTeste;
+import com.bip.domain.entities.Beneficio;
+import com.bip.domain.valueobjects.Money;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Transações do repositório abertas por threads distintas, contra um H2 com o
+ * schema real.
+ */
+@DisplayName("BeneficioRepositoryImpl - transações concorrentes")
+class BeneficioRepositoryTransacoesTest {
+
+    private static final long ESPERA_SEGUNDOS = 10;
+
+    private SessionFactory sessionFactory;
+    private EntityManager entityManager;
+    private BeneficioRepositoryImpl repository;
+
+    @BeforeEach
+    void setUp() throws ReflectiveOperationException {
+        sessionFactory = BancoTeste.abrir("transacoes-concorrentes");
+        entityManager = sessionFactory.createEntityManager();
+        repository = new BeneficioRepositoryImpl();
+        Field campo = BeneficioRepositoryImpl.class.getDeclaredField("entityManager");
+        campo.setAccessible(true);
+        campo.set(repository, entityManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        entityManager.close();
+        sessionFactory.close();
+    }
+
+    @Test
+    @DisplayName("Save de outra thread durante um lote desfeito deve ser confirmado")
+    void saveConcorrenteDeveSobreviverAoRollbackDoLote() throws Exception {
+        // Arrange
+        CountDownLatch loteAberto = new CountDownLatch(1);
+        CountDownLatch avulsoGravado = new CountDownLatch(1);
+        CompletableFuture<Void> lote = CompletableFuture.runAsync(() -> repository.executeInTransaction(() -> {
+            repository.save(beneficio("Lote"));
+            loteAberto.countDown();
+            aguardar(avulsoGravado);
+            throw new IllegalStateException("Falha no lote");
+        }));
+        aguardar(loteAberto);
+
+        // Act
+        repository.save(beneficio("Avulso"));
+        avulsoGravado.countDown();
+
+        // Assert
+        assertThatThrownBy(() -> lote.get(ESPERA_SEGUNDOS, TimeUnit.SECONDS))
+            .hasRootCauseInstanceOf(IllegalStateException.class);
+        assertThat(repository.findByNome("Avulso")).isPresent();
+        assertThat(repository.findByNome("Lote")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Transações de threads distintas devem correr em paralelo")
+    void transacoesDeThreadsDistintasDevemCorrerEmParalelo() throws Exception {
+        // Arrange
+        CountDownLatch primeiraAberta = new CountDownLatch(1);
+        CountDownLatch segundaConcluida = new CountDownLatch(1);
+        CompletableFuture<Void> primeira = CompletableFuture.runAsync(() -> repository.executeInTransaction(() -> {
+            repository.save(beneficio("Primeira"));
+            primeiraAberta.countDown();
+            aguardar(segundaConcluida);
+            return null;
+        }));
+        aguardar(primeiraAberta);
+
+        // Act: a segunda confirma enquanto a primeira ainda está aberta
+        repository.executeInTransaction(() -> repository.save(beneficio("Segunda")));
+        segundaConcluida.countDown();
+        primeira.get(ESPERA_SEGUNDOS, TimeUnit.SECONDS);
+
+        // Assert
+        assertThat(repository.findByNome("Primeira")).isPresent();
+        assertThat(repository.findByNome("Segunda")).isPresent();
+    }
+
+    @Test
+    @DisplayName("Leituras devem enxergar gravações feitas por outro EntityManager")
+    void leiturasDevemEnxergarGravacoesExternas() {
+        // Arrange
+        Long id = repository.save(beneficio("Externo")).getId();
+        assertThat(repository.findById(id)).map(Beneficio::getSaldo).contains(Money.of(new BigDecimal("100.00")));
+
+        // Act
+        entityManager.getTransaction().begin();
+        entityManager.createNamedQuery("Beneficio.updateSaldo")
+            .setParameter("id", id)
+            .setParameter("valor", new BigDecimal("250.00"))
+            .setParameter("agora", LocalDateTime.now())
+            .executeUpdate();
+        entityManager.getTransaction().commit();
+
+        // Assert
+        assertThat(repository.findById(id)).map(Beneficio::getSaldo).contains(Money.of(new BigDecimal("250.00")));
+    }
+
+    private static Beneficio beneficio(String nome) {
+        return Beneficio.criar(nome, "Benefício de teste", Money.of(new BigDecimal("100.00")));
+    }
+
+    private static void aguardar(CountDownLatch sinal) {
+        try {
+            if (!sinal.await(ESPERA_SEGUNDOS, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("Sinal não recebido em " + ESPERA_SEGUNDOS + " s");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
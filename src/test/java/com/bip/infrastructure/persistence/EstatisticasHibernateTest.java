@@ -0,0 +1,114 @@
+package com.bip.infrastructure.persistence;
+
+import com.bip.consultas.BancoTeste;
+import com.bip.domain.entities.Beneficio;
+import com.bip.domain.valueobjects.Money;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("EstatisticasHibernate")
+class EstatisticasHibernateTest {
+
+    private SessionFactory sessionFactory;
+    private EntityManager entityManager;
+    private EstatisticasHibernate estatisticas;
+
+    @BeforeEach
+    void setUp() {
+        sessionFactory = BancoTeste.abrir("estatisticas-hibernate");
+        entityManager = sessionFactory.createEntityManager();
+        estatisticas = new EstatisticasHibernate(sessionFactory);
+
+        entityManager.getTransaction().begin();
+        for (int i = 1; i <= 3; i++) {
+            entityManager.persist(Beneficio.criar("Beneficio " + i, "Benefício de teste",
+                Money.of(new BigDecimal("100.00"))));
+        }
+        entityManager.getTransaction().commit();
+        entityManager.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        entityManager.close();
+        sessionFactory.close();
+    }
+
+    @Test
+    @DisplayName("Deve identificar as consultas nomeadas pelo nome")
+    void deveIdentificarConsultasNomeadas() {
+        // Arrange
+        entityManager.createNamedQuery("Beneficio.findAll", Beneficio.class).getResultList();
+        entityManager.createNamedQuery("Beneficio.findAll", Beneficio.class).getResultList();
+        entityManager.createNamedQuery("Beneficio.countActive", Long.class).getSingleResult();
+
+        // Act
+        EstatisticasHibernate.Resumo resumo = estatisticas.getResumo(10);
+
+        // Assert
+        assertThat(resumo.habilitado()).isTrue();
+        assertThat(resumo.execucoesConsultas()).isEqualTo(3);
+        assertThat(resumo.consultas()).extracting(EstatisticasHibernate.Consulta::nome)
+            .contains("Beneficio.findAll", "Beneficio.countActive");
+        EstatisticasHibernate.Consulta findAll = resumo.consultas().stream()
+            .filter(consulta -> consulta.nome().equals("Beneficio.findAll")).findFirst().orElseThrow();
+        assertThat(findAll.execucoes()).isEqualTo(2);
+        assertThat(findAll.linhas()).isEqualTo(6);
+        assertThat(findAll.hql()).isEqualTo("SELECT b FROM Beneficio b ORDER BY b.id");
+        assertThat(resumo.consultas()).allSatisfy(consulta -> assertThat(consulta.execucoes()).isPositive());
+    }
+
+    @Test
+    @DisplayName("Deve contar entidades, flushes e statements")
+    void deveContarEntidades() {
+        // Arrange
+        entityManager.find(Beneficio.class, 1L);
+
+        // Act
+        EstatisticasHibernate.Resumo resumo = estatisticas.getResumo(10);
+
+        // Assert
+        assertThat(resumo.entidadesInseridas()).isEqualTo(3);
+        assertThat(resumo.entidadesCarregadas()).isEqualTo(1);
+        assertThat(resumo.flushes()).isPositive();
+        assertThat(resumo.statementsPreparados()).isPositive();
+        assertThat(resumo.cacheSegundoNivel().taxaAcerto()).isZero();
+    }
+
+    @Test
+    @DisplayName("Deve limitar as consultas detalhadas")
+    void deveLimitarConsultas() {
+        // Arrange
+        entityManager.createNamedQuery("Beneficio.findAll", Beneficio.class).getResultList();
+        entityManager.createNamedQuery("Beneficio.countActive", Long.class).getSingleResult();
+
+        // Act & Assert
+        assertThat(estatisticas.getResumo(1).consultas()).hasSize(1);
+        assertThatThrownBy(() -> estatisticas.getResumo(0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Deve zerar os contadores ao limpar")
+    void deveZerarAoLimpar() {
+        // Arrange
+        entityManager.createNamedQuery("Beneficio.findAll", Beneficio.class).getResultList();
+
+        // Act
+        estatisticas.limpar();
+
+        // Assert
+        EstatisticasHibernate.Resumo resumo = estatisticas.getResumo(10);
+        assertThat(resumo.execucoesConsultas()).isZero();
+        assertThat(resumo.entidadesInseridas()).isZero();
+        assertThat(resumo.consultas()).isEmpty();
+    }
+}
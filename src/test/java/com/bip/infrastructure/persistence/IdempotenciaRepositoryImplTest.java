@@ -0,0 +1,117 @@
+package com.bip.infrastructure.persistence;
+
+import com.bip.domain.entities.RegistroIdempotencia;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityTransaction;
+import jakarta.persistence.Query;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("IdempotenciaRepositoryImpl")
+class IdempotenciaRepositoryImplTest {
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private EntityTransaction transaction;
+
+    @Mock
+    private Query query;
+
+    @InjectMocks
+    private IdempotenciaRepositoryImpl repository;
+
+    private RegistroIdempotencia registro;
+
+    @BeforeEach
+    void setUp() {
+        registro = new RegistroIdempotencia("chave-1", "hash", 200, "{}", LocalDateTime.now().plusHours(1));
+        when(entityManager.getTransaction()).thenReturn(transaction);
+        when(entityManager.createNamedQuery(anyString())).thenReturn(query);
+        when(query.setParameter(anyString(), any())).thenReturn(query);
+    }
+
+    @Test
+    @DisplayName("Deve buscar registro pela chave")
+    void deveBuscarPorChave() {
+        // Arrange
+        when(entityManager.find(RegistroIdempotencia.class, "chave-1")).thenReturn(registro);
+
+        // Act & Assert
+        assertThat(repository.findByChave("chave-1")).contains(registro);
+        assertThat(repository.findByChave(null)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Deve salvar registro em transação")
+    void deveSalvarEmTransacao() {
+        // Arrange
+        when(entityManager.merge(registro)).thenReturn(registro);
+
+        // Act
+        RegistroIdempotencia salvo = repository.save(registro);
+
+        // Assert
+        assertThat(salvo).isSameAs(registro);
+        verify(transaction).begin();
+        verify(transaction).commit();
+        verify(entityManager).clear();
+    }
+
+    @Test
+    @DisplayName("Deve fazer rollback quando salvar falha")
+    void deveFazerRollbackQuandoSalvarFalha() {
+        // Arrange
+        when(entityManager.merge(registro)).thenThrow(new IllegalStateException("Falha"));
+        when(transaction.isActive()).thenReturn(true);
+
+        // Act & Assert
+        assertThatThrownBy(() -> repository.save(registro))
+            .isInstanceOf(RuntimeException.class)
+            .hasMessageContaining("Erro ao salvar registro de idempotência");
+        verify(transaction).rollback();
+        verify(entityManager).clear();
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar registro nulo")
+    void deveRejeitarRegistroNulo() {
+        assertThatThrownBy(() -> repository.save(null))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Deve remover registros expirados")
+    void deveRemoverExpirados() {
+        // Arrange
+        LocalDateTime agora = LocalDateTime.now();
+        when(query.executeUpdate()).thenReturn(5);
+
+        // Act
+        int removidos = repository.deleteExpiredBefore(agora);
+
+        // Assert
+        assertThat(removidos).isEqualTo(5);
+        verify(entityManager).createNamedQuery("RegistroIdempotencia.deleteExpired");
+        verify(query).setParameter("agora", agora);
+        verify(transaction).commit();
+    }
+}
@@ -0,0 +1,194 @@
+package com.bip.infrastructure.persistence;
+
+import com.bip.consultas.BancoTeste;
+import com.bip.domain.entities.Beneficio;
+import com.bip.domain.entities.LedgerCheckpoint;
+import com.bip.domain.valueobjects.Money;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityTransaction;
+import jakarta.persistence.Query;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("LedgerRepositoryImpl")
+class LedgerRepositoryImplTest {
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private EntityTransaction transaction;
+
+    @Mock
+    private Query query;
+
+    @InjectMocks
+    private LedgerRepositoryImpl repository;
+
+    @BeforeEach
+    void setUp() {
+        when(entityManager.getTransaction()).thenReturn(transaction);
+        when(entityManager.createNamedQuery(anyString())).thenReturn(query);
+        when(query.setParameter(anyString(), any())).thenReturn(query);
+    }
+
+    @Test
+    @DisplayName("Deve retornar zero quando não há checkpoint")
+    void deveRetornarZeroSemCheckpoint() {
+        // Arrange
+        when(entityManager.find(LedgerCheckpoint.class, LedgerCheckpoint.ID_UNICO))
+            .thenReturn(null, new LedgerCheckpoint(42L));
+
+        // Act & Assert
+        assertThat(repository.buscarCheckpoint()).isZero();
+        assertThat(repository.buscarCheckpoint()).isEqualTo(42L);
+    }
+
+    @Test
+    @DisplayName("Deve gravar saldos e checkpoint na mesma transação")
+    void deveGravarSaldosECheckpointNaMesmaTransacao() {
+        // Arrange
+        Map<Long, Money> saldos = Map.of(
+            1L, Money.of(new BigDecimal("900.00")),
+            2L, Money.of(new BigDecimal("600.00")));
+
+        // Act
+        repository.gravarSnapshot(saldos, 7L);
+
+        // Assert
+        ArgumentCaptor<LedgerCheckpoint> checkpoint = ArgumentCaptor.forClass(LedgerCheckpoint.class);
+        var ordem = inOrder(transaction, query, entityManager);
+        ordem.verify(transaction).begin();
+        ordem.verify(query, times(2)).executeUpdate();
+        ordem.verify(entityManager).merge(checkpoint.capture());
+        ordem.verify(transaction).commit();
+        verify(entityManager).createNamedQuery("Beneficio.updateSaldo");
+        verify(query).setParameter("valor", new BigDecimal("900.00"));
+        assertThat(checkpoint.getValue().getSequencia()).isEqualTo(7L);
+    }
+
+    @Test
+    @DisplayName("Deve fazer rollback quando a gravação falha")
+    void deveFazerRollbackQuandoFalha() {
+        // Arrange
+        when(query.executeUpdate()).thenThrow(new IllegalStateException("Falha"));
+        when(transaction.isActive()).thenReturn(true);
+
+        // Act & Assert
+        assertThatThrownBy(() -> repository.gravarSnapshot(Map.of(1L, Money.zero()), 1L))
+            .isInstanceOf(RuntimeException.class)
+            .hasMessageContaining("Erro ao gravar snapshot do ledger");
+        verify(transaction).rollback();
+        verify(entityManager, never()).merge(any());
+        verify(entityManager).clear();
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar saldos nulos")
+    void deveRejeitarSaldosNulos() {
+        assertThatThrownBy(() -> repository.gravarSnapshot(null, 1L))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Deve percorrer os saldos pela projeção e limpar o contexto")
+    @SuppressWarnings("unchecked")
+    void devePercorrerSaldosPelaProjecao() {
+        // Arrange
+        TypedQuery<Object[]> projecao = mock(TypedQuery.class);
+        when(entityManager.createNamedQuery(eq("Beneficio.findSaldos"), eq(Object[].class))).thenReturn(projecao);
+        when(projecao.getResultStream()).thenReturn(Stream.of(
+            new Object[] {1L, new BigDecimal("900.00"), true},
+            new Object[] {2L, new BigDecimal("50.00"), false}));
+        List<String> percorridos = new ArrayList<>();
+
+        // Act
+        repository.percorrerSaldos((id, saldo, ativo) -> percorridos.add(id + ":" + saldo.getValor() + ":" + ativo));
+
+        // Assert
+        assertThat(percorridos).containsExactly("1:900.00:true", "2:50.00:false");
+        verify(entityManager).clear();
+    }
+
+    @Nested
+    @DisplayName("Snapshot contra os benefícios (H2)")
+    class SnapshotBancoTests {
+
+        private SessionFactory sessionFactory;
+        private EntityManager banco;
+        private EntityManager ledger;
+        private BeneficioRepositoryImpl beneficios;
+        private LedgerRepositoryImpl snapshots;
+
+        @BeforeEach
+        void abrirBanco() throws ReflectiveOperationException {
+            sessionFactory = BancoTeste.abrir("ledger-snapshot");
+            banco = sessionFactory.createEntityManager();
+            ledger = sessionFactory.createEntityManager();
+            beneficios = new BeneficioRepositoryImpl();
+            Field campoBeneficios = BeneficioRepositoryImpl.class.getDeclaredField("entityManager");
+            campoBeneficios.setAccessible(true);
+            campoBeneficios.set(beneficios, banco);
+            snapshots = new LedgerRepositoryImpl();
+            Field campoLedger = LedgerRepositoryImpl.class.getDeclaredField("entityManager");
+            campoLedger.setAccessible(true);
+            campoLedger.set(snapshots, ledger);
+        }
+
+        @AfterEach
+        void fecharBanco() {
+            ledger.close();
+            banco.close();
+            sessionFactory.close();
+        }
+
+        @Test
+        @DisplayName("Leituras após o snapshot devem enxergar saldo e versão gravados")
+        void leiturasDevemEnxergarSnapshot() {
+            // Arrange: recuperação e leitura antes do snapshot
+            Long id = beneficios.save(Beneficio.criar("Fundo", "Fundo central", Money.of(new BigDecimal("100.00"))))
+                .getId();
+            List<Long> recuperados = new ArrayList<>();
+            snapshots.percorrerSaldos((beneficioId, saldo, ativo) -> recuperados.add(beneficioId));
+            Beneficio antes = beneficios.findById(id).orElseThrow();
+
+            // Act
+            snapshots.gravarSnapshot(Map.of(id, Money.of(new BigDecimal("75.00"))), 3L);
+
+            // Assert
+            Beneficio depois = beneficios.findById(id).orElseThrow();
+            assertThat(recuperados).containsExactly(id);
+            assertThat(depois.getSaldoPrincipal()).isEqualTo(Money.of(new BigDecimal("75.00")));
+            assertThat(depois.getVersao()).isEqualTo(antes.getVersao() + 1);
+            assertThat(snapshots.buscarCheckpoint()).isEqualTo(3L);
+        }
+    }
+}
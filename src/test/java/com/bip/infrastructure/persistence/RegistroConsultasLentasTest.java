@@ -0,0 +1,138 @@
+package com.bip.infrastructure.persistence;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("RegistroConsultasLentas")
+class RegistroConsultasLentasTest {
+
+    @Nested
+    @DisplayName("Registro")
+    class RegistroTests {
+
+        @Test
+        @DisplayName("Não deve registrar consultas abaixo do limite")
+        void naoDeveRegistrarRapidas() {
+            // Arrange
+            RegistroConsultasLentas registro = new RegistroConsultasLentas(new MonitoramentoConsultasConfig(true, 60_000, 10));
+
+            // Act
+            registro.registrar("findById", System.nanoTime(), 1L);
+
+            // Assert
+            assertThat(registro.getTotal()).isZero();
+            assertThat(registro.getRecentes(10)).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Deve registrar a consulta lenta com os parâmetros")
+        void deveRegistrarLentaComParametros() {
+            // Arrange
+            RegistroConsultasLentas registro = new RegistroConsultasLentas(new MonitoramentoConsultasConfig(true, 5, 10));
+            long inicio = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(20);
+
+            // Act
+            registro.registrar("findByIdsWithLock", inicio, List.of(1L, 2L), null);
+
+            // Assert
+            List<RegistroConsultasLentas.ConsultaLenta> recentes = registro.getRecentes(10);
+            assertThat(recentes).hasSize(1);
+            assertThat(recentes.get(0).consulta()).isEqualTo("findByIdsWithLock");
+            assertThat(recentes.get(0).duracaoMillis()).isGreaterThanOrEqualTo(20.0);
+            assertThat(recentes.get(0).parametros()).containsExactly("[1, 2]", "null");
+        }
+
+        @Test
+        @DisplayName("Deve registrar todas as consultas com limite zero")
+        void deveRegistrarTodasComLimiteZero() {
+            // Arrange
+            RegistroConsultasLentas registro = new RegistroConsultasLentas(new MonitoramentoConsultasConfig(true, 0, 10));
+
+            // Act
+            registro.registrar("findAll", System.nanoTime());
+
+            // Assert
+            assertThat(registro.getTotal()).isEqualTo(1);
+            assertThat(registro.getRecentes(10).get(0).parametros()).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Deve truncar parâmetros longos")
+        void deveTruncarParametrosLongos() {
+            // Arrange
+            RegistroConsultasLentas registro = new RegistroConsultasLentas(new MonitoramentoConsultasConfig(true, 0, 10));
+
+            // Act
+            registro.registrar("findByNome", System.nanoTime(), "x".repeat(1_000));
+
+            // Assert
+            assertThat(registro.getRecentes(1).get(0).parametros().get(0))
+                .hasSize(RegistroConsultasLentas.TAMANHO_MAXIMO_PARAMETRO + 3)
+                .endsWith("...");
+        }
+    }
+
+    @Nested
+    @DisplayName("Consulta")
+    class ConsultaTests {
+
+        @Test
+        @DisplayName("Deve manter apenas as mais recentes, da mais nova para a mais antiga")
+        void deveManterMaisRecentes() {
+            // Arrange
+            RegistroConsultasLentas registro = new RegistroConsultasLentas(new MonitoramentoConsultasConfig(true, 0, 3));
+
+            // Act
+            for (int i = 1; i <= 5; i++) {
+                registro.registrar("findById", System.nanoTime(), (long) i);
+            }
+
+            // Assert
+            assertThat(registro.getTotal()).isEqualTo(5);
+            assertThat(registro.getRecentes(10)).extracting(c -> c.parametros().get(0))
+                .containsExactly("5", "4", "3");
+            assertThat(registro.getRecentes(2)).hasSize(2);
+        }
+
+        @Test
+        @DisplayName("Deve rejeitar limite não positivo")
+        void deveRejeitarLimiteInvalido() {
+            RegistroConsultasLentas registro = new RegistroConsultasLentas(new MonitoramentoConsultasConfig(true, 0, 3));
+
+            assertThatThrownBy(() -> registro.getRecentes(0)).isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("Configuração")
+    class ConfiguracaoTests {
+
+        @Test
+        @DisplayName("Deve usar os padrões sem propriedades de sistema")
+        void deveUsarPadroes() {
+            // Act
+            MonitoramentoConsultasConfig config = MonitoramentoConsultasConfig.fromSystemProperties();
+
+            // Assert
+            assertThat(config.estatisticas()).isTrue();
+            assertThat(config.limiteLentoMillis()).isEqualTo(100);
+            assertThat(config.capacidadeLentas()).isEqualTo(100);
+        }
+
+        @Test
+        @DisplayName("Deve rejeitar valores inválidos")
+        void deveRejeitarValoresInvalidos() {
+            assertThatThrownBy(() -> new MonitoramentoConsultasConfig(true, -1, 10))
+                .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> new MonitoramentoConsultasConfig(true, 100, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+}
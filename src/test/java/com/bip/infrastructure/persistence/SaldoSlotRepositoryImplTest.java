@@ -0,0 +1,288 @@
+package com.bip.infrastructure.persistence;
+
+import com.bip.consultas.BancoTeste;
+import com.bip.domain.entities.Beneficio;
+import com.bip.domain.entities.SaldoSlot;
+import com.bip.domain.valueobjects.Money;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.EntityTransaction;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.Query;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("SaldoSlotRepositoryImpl")
+class SaldoSlotRepositoryImplTest {
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private EntityTransaction transaction;
+
+    @Mock
+    private Query updateQuery;
+
+    @Mock
+    private TypedQuery<SaldoSlot> slotQuery;
+
+    @Mock
+    private TypedQuery<Long> countQuery;
+
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
+
+    @Mock
+    private RegistroConsultasLentas consultasLentas;
+
+    @InjectMocks
+    private BeneficioRepositoryImpl beneficioRepository;
+
+    private SaldoSlotRepositoryImpl repository;
+
+    @BeforeEach
+    void setUp() throws ReflectiveOperationException {
+        repository = new SaldoSlotRepositoryImpl();
+        Field campo = SaldoSlotRepositoryImpl.class.getDeclaredField("beneficioRepository");
+        campo.setAccessible(true);
+        campo.set(repository, beneficioRepository);
+
+        when(entityManager.getEntityManagerFactory()).thenReturn(entityManagerFactory);
+        when(entityManagerFactory.createEntityManager()).thenReturn(entityManager);
+        when(entityManager.getTransaction()).thenReturn(transaction);
+        when(entityManager.createNamedQuery(anyString())).thenReturn(updateQuery);
+        when(updateQuery.setParameter(anyString(), any())).thenReturn(updateQuery);
+        when(entityManager.createNamedQuery("SaldoSlot.findByBeneficio", SaldoSlot.class)).thenReturn(slotQuery);
+        when(slotQuery.setParameter(anyString(), any())).thenReturn(slotQuery);
+        when(slotQuery.setLockMode(any())).thenReturn(slotQuery);
+        when(entityManager.createNamedQuery("SaldoSlot.countByBeneficio", Long.class)).thenReturn(countQuery);
+        when(countQuery.setParameter(anyString(), any())).thenReturn(countQuery);
+    }
+
+    @Test
+    @DisplayName("Deve criar apenas os slots que ainda não existem")
+    void deveCriarSlotsFaltantes() {
+        // Arrange
+        when(countQuery.getSingleResult()).thenReturn(2L);
+
+        // Act
+        boolean criados = repository.inicializarSlots(1L, 4);
+
+        // Assert
+        ArgumentCaptor<SaldoSlot> captor = ArgumentCaptor.forClass(SaldoSlot.class);
+        verify(entityManager, times(2)).persist(captor.capture());
+        assertThat(criados).isTrue();
+        assertThat(captor.getAllValues()).extracting(SaldoSlot::getSlot).containsExactly(2, 3);
+        verify(transaction).commit();
+    }
+
+    @Test
+    @DisplayName("Não deve criar slots quando já existem")
+    void naoDeveCriarSlotsExistentes() {
+        // Arrange
+        when(countQuery.getSingleResult()).thenReturn(4L);
+
+        // Act & Assert
+        assertThat(repository.inicializarSlots(1L, 4)).isFalse();
+        verify(entityManager, never()).persist(any());
+        assertThatThrownBy(() -> repository.inicializarSlots(1L, 0))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Deve creditar e debitar com UPDATE condicional no slot")
+    void deveAtualizarSlot() {
+        // Arrange
+        Money valor = Money.of(new BigDecimal("10.00"));
+        when(updateQuery.executeUpdate()).thenReturn(1, 0);
+
+        // Act
+        boolean creditado = repository.creditar(1L, 3, valor);
+        boolean debitado = repository.debitar(1L, 3, valor);
+
+        // Assert
+        assertThat(creditado).isTrue();
+        assertThat(debitado).isFalse();
+        verify(entityManager).createNamedQuery("SaldoSlot.credit");
+        verify(entityManager).createNamedQuery("SaldoSlot.debit");
+        verify(updateQuery, times(2)).setParameter("slot", 3);
+    }
+
+    @Test
+    @DisplayName("Deve varrer slots com lock e debitar até o valor disponível")
+    void deveVarrerSlots() {
+        // Arrange
+        SaldoSlot primeiro = new SaldoSlot(1L, 0, Money.of(new BigDecimal("30.00")));
+        SaldoSlot segundo = new SaldoSlot(1L, 1, Money.of(new BigDecimal("50.00")));
+        when(slotQuery.getResultList()).thenReturn(List.of(primeiro, segundo));
+
+        // Act
+        Money debitado = repository.debitarVarrendo(1L, Money.of(new BigDecimal("100.00")));
+
+        // Assert
+        assertThat(debitado).isEqualTo(Money.of(new BigDecimal("80.00")));
+        assertThat(primeiro.getSaldo()).isEqualTo(Money.zero());
+        assertThat(segundo.getSaldo()).isEqualTo(Money.zero());
+        verify(slotQuery).setLockMode(LockModeType.PESSIMISTIC_WRITE);
+        verify(transaction).commit();
+    }
+
+    @Test
+    @DisplayName("Deve fazer rollback quando a atualização falha")
+    void deveFazerRollback() {
+        // Arrange
+        when(updateQuery.executeUpdate()).thenThrow(new IllegalStateException("Falha"));
+        when(transaction.isActive()).thenReturn(true);
+
+        // Act & Assert
+        assertThatThrownBy(() -> repository.creditar(1L, 0, Money.of(BigDecimal.ONE)))
+            .isInstanceOf(IllegalStateException.class);
+        verify(transaction).rollback();
+        verify(entityManager).close();
+    }
+
+    @Test
+    @DisplayName("Deve participar da transação ativa dos benefícios sem confirmá-la")
+    void deveParticiparDaTransacaoAtiva() {
+        // Arrange
+        when(updateQuery.executeUpdate()).thenReturn(1);
+
+        // Act
+        boolean creditado = beneficioRepository.executeInTransaction(
+            () -> repository.creditar(1L, 0, Money.of(BigDecimal.ONE)));
+
+        // Assert
+        assertThat(creditado).isTrue();
+        verify(entityManagerFactory).createEntityManager();
+        verify(transaction).begin();
+        verify(transaction).commit();
+    }
+
+    @Test
+    @DisplayName("Deve desanexar os slots varridos do contexto da transação")
+    void deveDesanexarSlotsVarridos() {
+        // Arrange
+        SaldoSlot slot = new SaldoSlot(1L, 0, Money.of(new BigDecimal("30.00")));
+        when(slotQuery.getResultList()).thenReturn(List.of(slot));
+
+        // Act
+        repository.debitarVarrendo(1L, Money.of(BigDecimal.TEN));
+
+        // Assert
+        verify(entityManager).flush();
+        verify(entityManager).detach(slot);
+        verify(entityManager, never()).clear();
+    }
+    @Nested
+    @DisplayName("Transação compartilhada com os benefícios (H2)")
+    class TransacaoCompartilhadaTests {
+
+        private SessionFactory sessionFactory;
+        private EntityManager banco;
+        private BeneficioRepositoryImpl beneficios;
+        private SaldoSlotRepositoryImpl slots;
+        private Long id;
+
+        @BeforeEach
+        void abrirBanco() throws ReflectiveOperationException {
+            sessionFactory = BancoTeste.abrir("saldo-slot-transacao");
+            banco = sessionFactory.createEntityManager();
+            beneficios = new BeneficioRepositoryImpl();
+            Field campoEntityManager = BeneficioRepositoryImpl.class.getDeclaredField("entityManager");
+            campoEntityManager.setAccessible(true);
+            campoEntityManager.set(beneficios, banco);
+            slots = new SaldoSlotRepositoryImpl();
+            Field campoRepositorio = SaldoSlotRepositoryImpl.class.getDeclaredField("beneficioRepository");
+            campoRepositorio.setAccessible(true);
+            campoRepositorio.set(slots, beneficios);
+
+            id = beneficios.save(Beneficio.criar("Fundo", "Fundo central", Money.of(new BigDecimal("100.00")))).getId();
+            slots.inicializarSlots(id, 2);
+            slots.creditar(id, 0, Money.of(new BigDecimal("50.00")));
+        }
+
+        @AfterEach
+        void fecharBanco() {
+            banco.close();
+            sessionFactory.close();
+        }
+
+        @Test
+        @DisplayName("Deve desfazer os slots junto com os benefícios quando a transação falha")
+        void deveDesfazerSlotsComBeneficios() {
+            // Act
+            assertThatThrownBy(() -> beneficios.executeInTransaction(() -> {
+                assertThat(slots.debitarVarrendo(id, Money.of(new BigDecimal("30.00"))))
+                    .isEqualTo(Money.of(new BigDecimal("30.00")));
+                slots.creditar(id, 1, Money.of(new BigDecimal("5.00")));
+                Beneficio beneficio = beneficios.findById(id).orElseThrow();
+                beneficio.debitar(Money.of(new BigDecimal("40.00")));
+                beneficios.save(beneficio);
+                throw new IllegalStateException("Falha na segunda perna");
+            })).isInstanceOf(IllegalStateException.class);
+
+            // Assert
+            banco.clear();
+            assertThat(slots.sumByBeneficioId(id)).isEqualByComparingTo("50.00");
+            assertThat(beneficios.findById(id).orElseThrow().getSaldoPrincipal())
+                .isEqualTo(Money.of(new BigDecimal("100.00")));
+        }
+
+        @Test
+        @DisplayName("Deve manter os slots criados quando a transação da thread é desfeita")
+        void deveManterSlotsCriadosAposRollback() {
+            // Act
+            assertThatThrownBy(() -> beneficios.executeInTransaction(() -> {
+                slots.inicializarSlots(id, 4);
+                throw new IllegalStateException("Falha na movimentação");
+            })).isInstanceOf(IllegalStateException.class);
+
+            // Assert
+            assertThat(slots.findByBeneficioId(id)).extracting(SaldoSlot::getSlot).containsExactly(0, 1, 2, 3);
+        }
+
+        @Test
+        @DisplayName("Deve confirmar slots e benefícios no mesmo commit")
+        void deveConfirmarSlotsComBeneficios() {
+            // Act
+            beneficios.executeInTransaction(() -> {
+                slots.debitarVarrendo(id, Money.of(new BigDecimal("30.00")));
+                Beneficio beneficio = beneficios.findById(id).orElseThrow();
+                beneficio.creditar(Money.of(new BigDecimal("30.00")));
+                return beneficios.save(beneficio);
+            });
+
+            // Assert
+            banco.clear();
+            assertThat(slots.findByBeneficioId(id)).extracting(SaldoSlot::getSaldo)
+                .containsExactly(Money.of(new BigDecimal("20.00")), Money.zero());
+            assertThat(beneficios.findById(id).orElseThrow().getSaldoPrincipal())
+                .isEqualTo(Money.of(new BigDecimal("130.00")));
+        }
+    }
+}
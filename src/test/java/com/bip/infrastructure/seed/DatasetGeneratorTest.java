@@ -0,0 +1,188 @@
+package com.bip.infrastructure.seed;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("DatasetGenerator")
+class DatasetGeneratorTest {
+
+    @TempDir
+    Path diretorio;
+
+    private static DatasetGenerator.Parametros parametros(long semente, int beneficios, int transferencias,
+                                                          double zipf) {
+        return new DatasetGenerator.Parametros(semente, beneficios, transferencias, zipf, 0.1,
+            new BigDecimal("500.00"), 1.0, new BigDecimal("50.00"));
+    }
+
+    @Nested
+    @DisplayName("Benefícios")
+    class BeneficiosTests {
+
+        @Test
+        @DisplayName("Deve gerar a mesma massa para a mesma semente")
+        void deveSerDeterministico() {
+            // Act
+            List<SeedLoader.LinhaSeed> primeira = listar(new DatasetGenerator(parametros(7, 500, 0, 1.1)).beneficios());
+            List<SeedLoader.LinhaSeed> segunda = listar(new DatasetGenerator(parametros(7, 500, 0, 1.1)).beneficios());
+            List<SeedLoader.LinhaSeed> outra = listar(new DatasetGenerator(parametros(8, 500, 0, 1.1)).beneficios());
+
+            // Assert
+            assertThat(primeira).hasSize(500).isEqualTo(segunda);
+            assertThat(outra).isNotEqualTo(primeira);
+        }
+
+        @Test
+        @DisplayName("Deve gerar exatamente a proporção de inativos configurada")
+        void deveRespeitarProporcaoDeInativos() {
+            // Act
+            List<SeedLoader.LinhaSeed> linhas = listar(new DatasetGenerator(parametros(1, 2_000, 0, 1.1)).beneficios());
+
+            // Assert
+            assertThat(linhas.stream().filter(linha -> !linha.ativo()).count()).isEqualTo(200);
+            assertThat(linhas).allSatisfy(linha -> {
+                assertThat(linha.valor().scale()).isEqualTo(2);
+                assertThat(linha.valor()).isPositive();
+            });
+        }
+
+        @Test
+        @DisplayName("Deve rejeitar parâmetros inválidos")
+        void deveRejeitarParametrosInvalidos() {
+            assertThatThrownBy(() -> parametros(1, 0, 0, 1.1)).isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> parametros(1, 10, -1, 1.1)).isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> parametros(1, 10, 0, -0.5)).isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> new DatasetGenerator.Parametros(1, 10, 0, 1.1, 1.0,
+                BigDecimal.TEN, 1.0, BigDecimal.ONE)).isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("Transferências")
+    class TransferenciasTests {
+
+        @Test
+        @DisplayName("Deve transferir apenas entre benefícios ativos e distintos")
+        void deveTransferirEntreAtivosDistintos() {
+            // Arrange
+            DatasetGenerator gerador = new DatasetGenerator(parametros(3, 200, 5_000, 1.1));
+
+            // Act
+            List<DatasetGenerator.Transferencia> transferencias = listar(gerador.transferencias());
+
+            // Assert
+            assertThat(transferencias).hasSize(5_000).allSatisfy(transferencia -> {
+                assertThat(transferencia.origem()).isNotEqualTo(transferencia.destino());
+                assertThat(gerador.isAtivo((int) transferencia.origem() - 1)).isTrue();
+                assertThat(gerador.isAtivo((int) transferencia.destino() - 1)).isTrue();
+                assertThat(transferencia.valor()).isGreaterThanOrEqualTo(new BigDecimal("0.01"));
+            });
+            assertThat(listar(new DatasetGenerator(parametros(3, 200, 5_000, 1.1)).transferencias()))
+                .isEqualTo(transferencias);
+        }
+
+        @Test
+        @DisplayName("Deve concentrar o tráfego nas contas quentes conforme o expoente de Zipf")
+        void deveConcentrarTrafegoComZipf() {
+            // Act
+            double concentrado = participacaoDasDezMaisUsadas(new DatasetGenerator(parametros(5, 1_000, 20_000, 1.2)));
+            double uniforme = participacaoDasDezMaisUsadas(new DatasetGenerator(parametros(5, 1_000, 20_000, 0.0)));
+
+            // Assert
+            assertThat(concentrado).isGreaterThan(0.4);
+            assertThat(uniforme).isLessThan(0.05);
+        }
+
+        @Test
+        @DisplayName("Deve exigir ao menos dois benefícios ativos")
+        void deveExigirDoisAtivos() {
+            assertThatThrownBy(() -> new DatasetGenerator(parametros(1, 1, 10, 1.1)).transferencias())
+                .isInstanceOf(IllegalStateException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("Fixtures")
+    class FixturesTests {
+
+        @Test
+        @DisplayName("Deve gravar fixtures gzip carregáveis pelo SeedLoader")
+        void deveGravarFixturesCarregaveis() throws Exception {
+            // Arrange
+            DatasetGenerator gerador = new DatasetGenerator(parametros(11, 1_000, 100, 1.1));
+            Path beneficios = diretorio.resolve("beneficios.csv.gz");
+            Path transferencias = diretorio.resolve("transferencias.csv.gz");
+
+            // Act
+            gerador.escreverBeneficios(beneficios);
+            gerador.escreverTransferencias(transferencias);
+
+            // Assert
+            try (BufferedReader leitor = new BufferedReader(new InputStreamReader(
+                    new GZIPInputStream(Files.newInputStream(transferencias)), StandardCharsets.UTF_8))) {
+                assertThat(leitor.readLine()).isEqualTo(DatasetGenerator.CABECALHO_TRANSFERENCIAS);
+                assertThat(leitor.lines().count()).isEqualTo(100);
+            }
+            try (Connection conexao = DriverManager.getConnection("jdbc:h2:mem:gerador-" + System.nanoTime())) {
+                try (Statement ddl = conexao.createStatement()) {
+                    ddl.execute("CREATE TABLE beneficio ("
+                        + "id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, "
+                        + "nome VARCHAR(100) NOT NULL UNIQUE, descricao VARCHAR(500), "
+                        + "valor DECIMAL(19, 2) NOT NULL, ativo BOOLEAN NOT NULL, "
+                        + "criado_em TIMESTAMP NOT NULL, atualizado_em TIMESTAMP NOT NULL, versao BIGINT NOT NULL)");
+                }
+                SeedLoader.Resultado resultado = new SeedLoader().carregar(conexao,
+                    new SeedConfig(true, beneficios.toString(), 1_000, SeedConfig.Estrategia.CSVREAD, 100));
+
+                assertThat(resultado.linhas()).isEqualTo(1_000);
+                try (Statement consulta = conexao.createStatement();
+                     ResultSet inativos = consulta.executeQuery("SELECT COUNT(*) FROM beneficio WHERE ativo = false")) {
+                    inativos.next();
+                    assertThat(inativos.getLong(1)).isEqualTo(100);
+                }
+            }
+        }
+    }
+
+    private static double participacaoDasDezMaisUsadas(DatasetGenerator gerador) {
+        Map<Long, Integer> usos = new HashMap<>();
+        Iterator<DatasetGenerator.Transferencia> transferencias = gerador.transferencias();
+        while (transferencias.hasNext()) {
+            usos.merge(transferencias.next().origem(), 1, Integer::sum);
+        }
+        int dezMaisUsadas = usos.values().stream()
+            .sorted((a, b) -> Integer.compare(b, a))
+            .limit(10)
+            .mapToInt(Integer::intValue)
+            .sum();
+        return dezMaisUsadas / (double) gerador.getParametros().transferencias();
+    }
+
+    private static <T> List<T> listar(Iterator<T> iterador) {
+        List<T> itens = new ArrayList<>();
+        iterador.forEachRemaining(itens::add);
+        return itens;
+    }
+}
@@ -0,0 +1,222 @@
+package com.bip.infrastructure.seed;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.io.OutputStreamWriter;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("SeedLoader")
+class SeedLoaderTest {
+
+    private final SeedLoader seedLoader = new SeedLoader();
+
+    @TempDir
+    Path diretorio;
+
+    private Connection conexao;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        conexao = DriverManager.getConnection("jdbc:h2:mem:seed-" + System.nanoTime());
+        try (Statement ddl = conexao.createStatement()) {
+            ddl.execute("CREATE TABLE beneficio ("
+                + "id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, "
+                + "nome VARCHAR(100) NOT NULL UNIQUE, descricao VARCHAR(500), "
+                + "valor DECIMAL(19, 2) NOT NULL, ativo BOOLEAN NOT NULL, "
+                + "criado_em TIMESTAMP NOT NULL, atualizado_em TIMESTAMP NOT NULL, versao BIGINT NOT NULL)");
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        conexao.close();
+    }
+
+    @Nested
+    @DisplayName("Estratégia BATCH")
+    class BatchTests {
+
+        @Test
+        @DisplayName("Deve gerar a quantidade configurada de linhas sintéticas em lotes")
+        void deveGerarLinhasSinteticas() throws Exception {
+            // Act
+            SeedLoader.Resultado resultado = seedLoader.carregar(conexao,
+                new SeedConfig(true, "", 2_500, SeedConfig.Estrategia.BATCH, 1_000));
+
+            // Assert
+            assertThat(resultado.estrategia()).isEqualTo(SeedConfig.Estrategia.BATCH);
+            assertThat(resultado.linhas()).isEqualTo(2_500);
+            assertThat(contar("SELECT COUNT(*) FROM beneficio")).isEqualTo(2_500);
+            assertThat(contar("SELECT COUNT(*) FROM beneficio WHERE ativo = false")).isEqualTo(250);
+            assertThat(conexao.getAutoCommit()).isTrue();
+        }
+
+        @Test
+        @DisplayName("Deve ler fixture gzip com campos entre aspas")
+        void deveLerFixtureGzip() throws Exception {
+            // Arrange
+            Path fixture = fixtureGzip("beneficios.csv.gz", List.of(
+                SeedLoader.CABECALHO,
+                "Auxilio Alimentacao,\"Alimentacao, refeicao\",500.00,true",
+                "\"Vale \"\"VT\"\"\",,200.50,false"));
+
+            // Act
+            SeedLoader.Resultado resultado = seedLoader.carregar(conexao,
+                new SeedConfig(true, fixture.toString(), 100, SeedConfig.Estrategia.BATCH, 10));
+
+            // Assert
+            assertThat(resultado.linhas()).isEqualTo(2);
+            try (Statement consulta = conexao.createStatement();
+                 ResultSet linhas = consulta.executeQuery(
+                     "SELECT nome, descricao, valor, ativo FROM beneficio ORDER BY id")) {
+                linhas.next();
+                assertThat(linhas.getString(1)).isEqualTo("Auxilio Alimentacao");
+                assertThat(linhas.getString(2)).isEqualTo("Alimentacao, refeicao");
+                assertThat(linhas.getBigDecimal(3)).isEqualByComparingTo("500.00");
+                linhas.next();
+                assertThat(linhas.getString(1)).isEqualTo("Vale \"VT\"");
+                assertThat(linhas.getString(2)).isNull();
+                assertThat(linhas.getBoolean(4)).isFalse();
+            }
+        }
+
+        @Test
+        @DisplayName("Deve desfazer os lotes já enviados quando a carga falha no meio")
+        void deveDesfazerLotesQuandoFalhaNoMeio() throws Exception {
+            // Arrange
+            List<String> linhas = new ArrayList<>();
+            linhas.add(SeedLoader.CABECALHO);
+            for (int i = 0; i < 25; i++) {
+                linhas.add("Beneficio " + i + ",,10.00,true");
+            }
+            linhas.add("Beneficio invalido,,10.00");
+            Path fixture = fixtureGzip("truncada.csv.gz", linhas);
+
+            // Act & Assert
+            assertThatThrownBy(() -> seedLoader.carregar(conexao,
+                new SeedConfig(true, fixture.toString(), 100, SeedConfig.Estrategia.BATCH, 10)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("4 campos");
+            assertThat(contar("SELECT COUNT(*) FROM beneficio")).isZero();
+            assertThat(conexao.getAutoCommit()).isTrue();
+        }
+
+        @Test
+        @DisplayName("Deve rejeitar fixture sem cabeçalho")
+        void deveRejeitarFixtureSemCabecalho() throws Exception {
+            // Arrange
+            Path fixture = fixtureGzip("sem-cabecalho.csv.gz", List.of("Vale,Transporte,10.00,true"));
+
+            // Act & Assert
+            assertThatThrownBy(() -> seedLoader.carregar(conexao,
+                new SeedConfig(true, fixture.toString(), 10, SeedConfig.Estrategia.BATCH, 10)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining(SeedLoader.CABECALHO);
+            assertThat(contar("SELECT COUNT(*) FROM beneficio")).isZero();
+        }
+    }
+
+    @Nested
+    @DisplayName("Estratégia CSVREAD")
+    class CsvReadTests {
+
+        @Test
+        @DisplayName("Deve escolher CSVREAD automaticamente no H2")
+        void deveEscolherCsvReadNoH2() throws Exception {
+            // Act
+            SeedLoader.Resultado resultado = seedLoader.carregar(conexao,
+                new SeedConfig(true, "", 1_000, SeedConfig.Estrategia.AUTO, 100));
+
+            // Assert
+            assertThat(resultado.estrategia()).isEqualTo(SeedConfig.Estrategia.CSVREAD);
+            assertThat(resultado.linhas()).isEqualTo(1_000);
+            assertThat(contar("SELECT COUNT(*) FROM beneficio")).isEqualTo(1_000);
+        }
+
+        @Test
+        @DisplayName("Deve respeitar o limite de linhas ao ler fixture gzip")
+        void deveRespeitarLimiteDeLinhas() throws Exception {
+            // Arrange
+            Path fixture = fixtureGzip("beneficios.csv.gz", List.of(
+                SeedLoader.CABECALHO,
+                "Auxilio Alimentacao,\"Alimentacao, refeicao\",500.00,true",
+                "Vale Transporte,Transporte,200.00,true",
+                "Plano de Saude,Saude,1000.00,false"));
+
+            // Act
+            SeedLoader.Resultado resultado = seedLoader.carregar(conexao,
+                new SeedConfig(true, fixture.toString(), 2, SeedConfig.Estrategia.CSVREAD, 100));
+
+            // Assert
+            assertThat(resultado.linhas()).isEqualTo(2);
+            assertThat(contar("SELECT COUNT(*) FROM beneficio WHERE descricao = 'Alimentacao, refeicao'"))
+                .isEqualTo(1);
+            try (Statement consulta = conexao.createStatement();
+                 ResultSet soma = consulta.executeQuery("SELECT SUM(valor) FROM beneficio")) {
+                soma.next();
+                assertThat(soma.getBigDecimal(1)).isEqualByComparingTo(new BigDecimal("700.00"));
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("CSV")
+    class CsvTests {
+
+        @Test
+        @DisplayName("Deve dividir campos respeitando aspas")
+        void deveDividirCamposComAspas() {
+            assertThat(SeedLoader.dividirCsv("a,\"b, c\",\"d \"\"e\"\"\",")).containsExactly("a", "b, c", "d \"e\"", "");
+        }
+
+        @Test
+        @DisplayName("Deve rejeitar configuração inválida")
+        void deveRejeitarConfiguracaoInvalida() {
+            assertThatThrownBy(() -> new SeedConfig(true, "", 0, SeedConfig.Estrategia.BATCH, 10))
+                .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> new SeedConfig(true, "", 10, SeedConfig.Estrategia.BATCH, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    private long contar(String sql) throws SQLException {
+        try (Statement consulta = conexao.createStatement(); ResultSet resultado = consulta.executeQuery(sql)) {
+            resultado.next();
+            return resultado.getLong(1);
+        }
+    }
+
+    private Path fixtureGzip(String nome, List<String> linhas) throws IOException {
+        Path arquivo = diretorio.resolve(nome);
+        try (OutputStream saida = new GZIPOutputStream(Files.newOutputStream(arquivo));
+             Writer escritor = new OutputStreamWriter(saida, StandardCharsets.UTF_8)) {
+            for (String linha : linhas) {
+                escritor.write(linha);
+                escritor.write('\n');
+            }
+        }
+        return arquivo;
+    }
+}
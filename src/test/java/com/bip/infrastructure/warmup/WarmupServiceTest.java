@@ -0,0 +1,222 @@
+package com.bip.infrastructure.warmup;
+
+import com.bip.application.dtos.TransferenciaDto;
+import com.bip.application.mappers.BeneficioMapper;
+import com.bip.application.services.SaldoFragmentadoService;
+import com.bip.application.usecases.TransferenciaUseCase;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityTransaction;
+import jakarta.persistence.NamedQuery;
+import jakarta.persistence.Parameter;
+import jakarta.persistence.Query;
+import jakarta.persistence.TypedQuery;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("WarmupService")
+class WarmupServiceTest {
+
+    private static final int ITERACOES = 3;
+
+    @Mock
+    private TransferenciaUseCase transferenciaUseCase;
+
+    @Mock
+    private SaldoFragmentadoService saldoFragmentado;
+
+    @Spy
+    private BeneficioMapper beneficioMapper = new BeneficioMapper();
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private EntityTransaction transacao;
+
+    @Mock
+    private Query query;
+
+    @Mock
+    private TypedQuery<Long> consultaIds;
+
+    @InjectMocks
+    private WarmupService warmupService;
+
+    @BeforeEach
+    void setUp() {
+        when(entityManager.getTransaction()).thenReturn(transacao);
+        when(entityManager.createNamedQuery(anyString())).thenReturn(query);
+        when(query.getParameters()).thenReturn(Set.of());
+        when(query.setMaxResults(anyInt())).thenReturn(query);
+        when(query.getResultList()).thenReturn(List.of());
+
+        when(entityManager.createQuery(anyString(), eq(Long.class))).thenReturn(consultaIds);
+        when(consultaIds.setMaxResults(anyInt())).thenReturn(consultaIds);
+        when(consultaIds.getResultList()).thenReturn(List.of(1L, 2L));
+        when(saldoFragmentado.getBeneficiosFragmentados()).thenReturn(Set.of());
+    }
+
+    @Nested
+    @DisplayName("Execução")
+    class ExecucaoTests {
+
+        @Test
+        @DisplayName("Não deve estar pronto antes do warmup")
+        void naoDeveEstarProntoAntes() {
+            assertThat(warmupService.isPronto()).isFalse();
+            assertThat(warmupService.getRelatorio()).isNull();
+        }
+
+        @Test
+        @DisplayName("Deve executar todas as consultas nomeadas em transações desfeitas")
+        void deveExecutarTodasAsConsultasNomeadas() {
+            // Arrange
+            List<NamedQuery> consultas = WarmupService.consultasNomeadas();
+
+            // Act
+            WarmupService.Relatorio relatorio = warmupService.executar(new WarmupConfig(true, ITERACOES));
+
+            // Assert
+            for (NamedQuery consulta : consultas) {
+                verify(entityManager, times(ITERACOES)).createNamedQuery(consulta.name());
+            }
+            verify(query, times(ITERACOES)).executeUpdate();
+            verify(transacao, times(ITERACOES)).rollback();
+            verify(transacao, never()).commit();
+            assertThat(relatorio.consultas()).contains("Beneficio.findAll", "Beneficio.updateSaldo");
+        }
+
+        @Test
+        @DisplayName("Deve vincular valores sintéticos aos parâmetros das consultas")
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        void deveVincularParametrosSinteticos() {
+            // Arrange
+            Parameter parametro = mock(Parameter.class);
+            when(parametro.getName()).thenReturn("ids");
+            when(query.getParameters()).thenReturn((Set) Set.of(parametro));
+
+            // Act
+            warmupService.executar(new WarmupConfig(true, 1));
+
+            // Assert
+            verify(query, atLeastOnce()).setParameter("ids", List.of(-1L));
+        }
+
+        @Test
+        @DisplayName("Deve ensaiar a transferência pelo caso de uso entre benefícios existentes")
+        void deveEnsaiarTransferenciaPeloCasoDeUso() {
+            // Arrange
+            ArgumentCaptor<TransferenciaDto> captor = ArgumentCaptor.forClass(TransferenciaDto.class);
+
+            // Act
+            WarmupService.Relatorio relatorio = warmupService.executar(new WarmupConfig(true, ITERACOES));
+
+            // Assert
+            verify(transferenciaUseCase, times(ITERACOES)).ensaiarTransferencia(captor.capture());
+            verify(transferenciaUseCase, never()).executarTransferencia(any());
+            TransferenciaDto dto = captor.getValue();
+            assertThat(dto.getBeneficioOrigemId()).isEqualTo(1L);
+            assertThat(dto.getBeneficioDestinoId()).isEqualTo(2L);
+            assertThat(dto.getValor()).isEqualByComparingTo(new BigDecimal("0.01"));
+            assertThat(relatorio.falhas()).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Não deve ensaiar com benefícios de saldo fragmentado")
+        void naoDeveEnsaiarComBeneficiosFragmentados() {
+            // Arrange
+            when(saldoFragmentado.getBeneficiosFragmentados()).thenReturn(Set.of(1L));
+            when(consultaIds.getResultList()).thenReturn(List.of(1L, 2L, 3L));
+
+            // Act
+            warmupService.executar(new WarmupConfig(true, 1));
+
+            // Assert
+            verify(consultaIds).setMaxResults(3);
+            verify(transferenciaUseCase).ensaiarTransferencia(argThat(dto ->
+                dto.getBeneficioOrigemId() == 2L && dto.getBeneficioDestinoId() == 3L));
+        }
+
+        @Test
+        @DisplayName("Deve pular a transferência sem dois benefícios ativos")
+        void devePularTransferenciaSemBeneficios() {
+            // Arrange
+            when(consultaIds.getResultList()).thenReturn(List.of(1L));
+
+            // Act
+            WarmupService.Relatorio relatorio = warmupService.executar(new WarmupConfig(true, ITERACOES));
+
+            // Assert
+            verifyNoInteractions(transferenciaUseCase);
+            assertThat(relatorio.falhas()).isEmpty();
+            assertThat(relatorio.etapasMillis()).containsKey("transferencia");
+        }
+
+        @Test
+        @DisplayName("Deve reportar duração de cada etapa e ficar pronto")
+        void deveReportarEtapas() {
+            // Act
+            WarmupService.Relatorio relatorio = warmupService.executar(new WarmupConfig(true, ITERACOES));
+
+            // Assert
+            assertThat(warmupService.isPronto()).isTrue();
+            assertThat(relatorio.habilitado()).isTrue();
+            assertThat(relatorio.iteracoes()).isEqualTo(ITERACOES);
+            assertThat(relatorio.etapasMillis().keySet())
+                .containsExactly("consultas", "mapper", "jackson", "transferencia");
+            verify(beneficioMapper, times(ITERACOES)).toEntity(any());
+        }
+
+        @Test
+        @DisplayName("Deve registrar falha de uma etapa e continuar")
+        void deveRegistrarFalhaEContinuar() {
+            // Arrange
+            when(entityManager.createNamedQuery(anyString())).thenThrow(new IllegalStateException("Banco indisponível"));
+
+            // Act
+            WarmupService.Relatorio relatorio = warmupService.executar(new WarmupConfig(true, ITERACOES));
+
+            // Assert
+            assertThat(relatorio.falhas()).containsExactly("consultas: Banco indisponível");
+            assertThat(warmupService.isPronto()).isTrue();
+            verify(transacao).rollback();
+            verify(transferenciaUseCase, times(ITERACOES)).ensaiarTransferencia(any());
+        }
+
+        @Test
+        @DisplayName("Deve ficar pronto sem aquecer quando desabilitado")
+        void deveFicarProntoQuandoDesabilitado() {
+            // Act
+            WarmupService.Relatorio relatorio = warmupService.executar(new WarmupConfig(false, ITERACOES));
+
+            // Assert
+            assertThat(warmupService.isPronto()).isTrue();
+            assertThat(relatorio.habilitado()).isFalse();
+            verifyNoInteractions(entityManager, transferenciaUseCase);
+        }
+    }
+}
@@ -0,0 +1,487 @@
+package com.bip.presentation.controllers;
+
+import com.bip.application.cache.BeneficioCache;
+import com.bip.application.concurrency.DetectorChavesQuentes;
+import com.bip.application.concurrency.StripedLockManager;
+import com.bip.application.jfr.GravadorJfr;
+import com.bip.application.ledger.LedgerEngine;
+import com.bip.application.tracing.RastreadorRequisicoes;
+import com.bip.application.tracing.Rastro;
+import com.bip.application.tracing.RastroConfig;
+import com.bip.infrastructure.persistence.EstatisticasHibernate;
+import com.bip.infrastructure.persistence.MonitoramentoConsultasConfig;
+import com.bip.infrastructure.persistence.RegistroConsultasLentas;
+import com.bip.presentation.utils.ErrorResponseBuilder;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("AdminController")
+class AdminControllerTest {
+    
+    @Mock
+    private StripedLockManager lockManager;
+    
+    @Mock
+    private LedgerEngine ledger;
+    
+    @Mock
+    private BeneficioCache cache;
+    
+    @Mock
+    private DetectorChavesQuentes chavesQuentes;
+    
+    @Mock
+    private GravadorJfr gravadorJfr;
+    
+    @Mock
+    private RastreadorRequisicoes rastreador;
+    
+    @Mock
+    private EstatisticasHibernate estatisticasHibernate;
+    
+    @Mock
+    private RegistroConsultasLentas consultasLentas;
+    
+    @Mock
+    private ErrorResponseBuilder errorResponseBuilder;
+    
+    @InjectMocks
+    private AdminController controller;
+    
+    @BeforeEach
+    void setUp() {
+        when(errorResponseBuilder.buildSuccessResponse(any())).thenAnswer(invocation ->
+            Response.ok(invocation.getArgument(0)).build());
+        when(errorResponseBuilder.buildBadRequestError(any(Exception.class))).thenReturn(
+            Response.status(Response.Status.BAD_REQUEST).build());
+        when(errorResponseBuilder.buildInternalServerError(any(Exception.class))).thenReturn(
+            Response.status(Response.Status.INTERNAL_SERVER_ERROR).build());
+        when(errorResponseBuilder.buildNotFoundError(any(Exception.class))).thenReturn(
+            Response.status(Response.Status.NOT_FOUND).build());
+        when(errorResponseBuilder.buildErrorResponse(eq(Response.Status.CONFLICT), anyString(), anyString()))
+            .thenReturn(Response.status(Response.Status.CONFLICT).build());
+    }
+    
+    @Nested
+    @DisplayName("GET /admin/locks")
+    class LocksTests {
+        
+        @Test
+        @DisplayName("Deve retornar resumo e stripes mais disputados")
+        void shouldReturnLockStatistics() {
+            // Arrange
+            when(lockManager.isHabilitado()).thenReturn(true);
+            when(lockManager.getQuantidadeStripes()).thenReturn(256);
+            when(lockManager.getEstatisticas()).thenReturn(List.of(
+                new StripedLockManager.EstatisticaStripe(3, 100, 40, 1, 9_000, 800, 2, 7),
+                new StripedLockManager.EstatisticaStripe(9, 50, 5, 0, 1_000, 300, 0, 2)
+            ));
+            
+            // Act
+            Response response = controller.getLocks(1);
+            
+            // Assert
+            assertThat(response.getStatus()).isEqualTo(200);
+            
+            @SuppressWarnings("unchecked")
+            Map<String, Object> resultado = (Map<String, Object>) response.getEntity();
+            
+            assertThat(resultado.get("habilitado")).isEqualTo(true);
+            assertThat(resultado.get("stripes")).isEqualTo(256);
+            assertThat(resultado.get("stripesUtilizados")).isEqualTo(2);
+            assertThat(resultado.get("aquisicoes")).isEqualTo(150L);
+            assertThat(resultado.get("contencoes")).isEqualTo(45L);
+            assertThat(resultado.get("timeouts")).isEqualTo(1L);
+            assertThat(resultado.get("aguardandoAgora")).isEqualTo(2);
+            assertThat((List<?>) resultado.get("maisDisputados")).hasSize(1);
+        }
+        
+        @Test
+        @DisplayName("Deve retornar 400 quando limite não é positivo")
+        void shouldReturn400WhenLimitIsInvalid() {
+            // Act
+            Response response = controller.getLocks(0);
+            
+            // Assert
+            assertThat(response.getStatus()).isEqualTo(400);
+            verify(lockManager, never()).getEstatisticas();
+        }
+        
+        @Test
+        @DisplayName("Deve retornar 500 quando ocorre erro inesperado")
+        void shouldReturn500OnUnexpectedError() {
+            // Arrange
+            when(lockManager.getEstatisticas()).thenThrow(new RuntimeException("Falha"));
+            
+            // Act
+            Response response = controller.getLocks(20);
+            
+            // Assert
+            assertThat(response.getStatus()).isEqualTo(500);
+        }
+    }
+    
+    @Nested
+    @DisplayName("GET /admin/ledger")
+    class LedgerTests {
+        
+        @Test
+        @DisplayName("Deve retornar sequências e defasagem do snapshot")
+        void shouldReturnLedgerStatistics() {
+            // Arrange
+            when(ledger.getEstatisticas()).thenReturn(
+                new LedgerEngine.Estatisticas(true, false, 120, 100, 118, 2, 15, 4, 0, 3, 65_536));
+            
+            // Act
+            Response response = controller.getLedger();
+            
+            // Assert
+            assertThat(response.getStatus()).isEqualTo(200);
+            
+            @SuppressWarnings("unchecked")
+            Map<String, Object> resultado = (Map<String, Object>) response.getEntity();
+            
+            assertThat(resultado.get("habilitado")).isEqualTo(true);
+            assertThat(resultado.get("sequencia")).isEqualTo(120L);
+            assertThat(resultado.get("defasagemSnapshot")).isEqualTo(20L);
+            assertThat(resultado.get("rejeitadas")).isEqualTo(2L);
+            assertThat(resultado.get("pendentes")).isEqualTo(3);
+        }
+        
+        @Test
+        @DisplayName("Deve retornar 500 quando ocorre erro inesperado")
+        void shouldReturn500OnUnexpectedError() {
+            // Arrange
+            when(ledger.getEstatisticas()).thenThrow(new RuntimeException("Falha"));
+            
+            // Act
+            Response response = controller.getLedger();
+            
+            // Assert
+            assertThat(response.getStatus()).isEqualTo(500);
+        }
+    }
+    
+    @Nested
+    @DisplayName("GET /admin/cache")
+    class CacheTests {
+        
+        @Test
+        @DisplayName("Deve retornar ocupação e taxa de acerto")
+        void shouldReturnCacheStatistics() {
+            // Arrange
+            when(cache.getEstatisticas()).thenReturn(
+                new BeneficioCache.Estatisticas(true, 40, 10_000, 75, 25, 12, 30));
+            
+            // Act
+            Response response = controller.getCache();
+            
+            // Assert
+            assertThat(response.getStatus()).isEqualTo(200);
+            
+            @SuppressWarnings("unchecked")
+            Map<String, Object> resultado = (Map<String, Object>) response.getEntity();
+            
+            assertThat(resultado.get("entradas")).isEqualTo(40);
+            assertThat(resultado.get("taxaAcerto")).isEqualTo(0.75);
+            assertThat(resultado.get("restaurados")).isEqualTo(30);
+        }
+        
+        @Test
+        @DisplayName("Deve retornar taxa de acerto zero sem consultas")
+        void shouldReturnZeroHitRateWithoutQueries() {
+            // Arrange
+            when(cache.getEstatisticas()).thenReturn(
+                new BeneficioCache.Estatisticas(false, 0, 10_000, 0, 0, 0, 0));
+            
+            // Act
+            Response response = controller.getCache();
+            
+            // Assert
+            @SuppressWarnings("unchecked")
+            Map<String, Object> resultado = (Map<String, Object>) response.getEntity();
+            
+            assertThat(resultado.get("taxaAcerto")).isEqualTo(0.0);
+        }
+    }
+    
+    @Nested
+    @DisplayName("Estatísticas do Hibernate")
+    class HibernateTests {
+        
+        private final EstatisticasHibernate.Cache cache = new EstatisticasHibernate.Cache(0, 0, 0, 0.0);
+        private final EstatisticasHibernate.Resumo resumo = new EstatisticasHibernate.Resumo(true, Instant.now(),
+            1, 1, 1, 1, 3, 2, 5, "Beneficio.findAll", 10, 0, 0, 0, 0, 0, cache, cache, cache,
+            List.of(new EstatisticasHibernate.Consulta("Beneficio.findAll", "SELECT b FROM Beneficio b ORDER BY b.id",
+                2, 20, 2.5, 5, 5, cache)));
+        
+        @Test
+        @DisplayName("Deve retornar o resumo com o limite informado")
+        void shouldReturnSummary() {
+            // Arrange
+            when(estatisticasHibernate.getResumo(5)).thenReturn(resumo);
+            
+            // Act
+            Response response = controller.getHibernate(5);
+            
+            // Assert
+            assertThat(response.getStatus()).isEqualTo(200);
+            assertThat(response.getEntity()).isSameAs(resumo);
+        }
+        
+        @Test
+        @DisplayName("Deve rejeitar limite não positivo")
+        void shouldRejectInvalidLimit() {
+            // Act
+            Response response = controller.getHibernate(0);
+            
+            // Assert
+            assertThat(response.getStatus()).isEqualTo(400);
+            verify(estatisticasHibernate, never()).getResumo(anyInt());
+        }
+        
+        @Test
+        @DisplayName("Deve zerar as estatísticas")
+        void shouldClearStatistics() {
+            // Arrange
+            when(estatisticasHibernate.getResumo(20)).thenReturn(resumo);
+            
+            // Act
+            Response response = controller.limparHibernate();
+            
+            // Assert
+            assertThat(response.getStatus()).isEqualTo(200);
+            verify(estatisticasHibernate).limpar();
+        }
+        
+        @Test
+        @DisplayName("Deve retornar 500 quando as estatísticas falharem")
+        void shouldReturnInternalErrorOnFailure() {
+            // Arrange
+            when(estatisticasHibernate.getResumo(anyInt())).thenThrow(new IllegalStateException("Sem fábrica"));
+            
+            // Act
+            Response response = controller.getHibernate(20);
+            
+            // Assert
+            assertThat(response.getStatus()).isEqualTo(500);
+        }
+    }
+    
+    @Nested
+    @DisplayName("GET /admin/consultas-lentas")
+    class ConsultasLentasTests {
+        
+        @Test
+        @DisplayName("Deve retornar as consultas lentas com o limite configurado")
+        @SuppressWarnings("unchecked")
+        void shouldReturnSlowQueries() {
+            // Arrange
+            RegistroConsultasLentas.ConsultaLenta lenta = new RegistroConsultasLentas.ConsultaLenta(
+                "findByIdsWithLock", Instant.now(), 150.0, List.of("[1, 2]"));
+            when(consultasLentas.getRecentes(10)).thenReturn(List.of(lenta));
+            when(consultasLentas.getConfig()).thenReturn(new MonitoramentoConsultasConfig(true, 100, 50));
+            when(consultasLentas.getTotal()).thenReturn(7L);
+            
+            // Act
+            Response response = controller.getConsultasLentas(10);
+            
+            // Assert
+            assertThat(response.getStatus()).isEqualTo(200);
+            Map<String, Object> corpo = (Map<String, Object>) response.getEntity();
+            assertThat(corpo).containsEntry("limiteLentoMs", 100L)
+                .containsEntry("capacidade", 50)
+                .containsEntry("total", 7L)
+                .containsEntry("consultas", List.of(lenta));
+        }
+        
+        @Test
+        @DisplayName("Deve rejeitar limite não positivo")
+        void shouldRejectInvalidLimit() {
+            // Act
+            Response response = controller.getConsultasLentas(-1);
+            
+            // Assert
+            assertThat(response.getStatus()).isEqualTo(400);
+        }
+    }
+    
+    @Nested
+    @DisplayName("GET /admin/traces")
+    class TracesTests {
+        
+        @Test
+        @DisplayName("Deve retornar os rastros com a configuração")
+        @SuppressWarnings("unchecked")
+        void shouldReturnTraces() {
+            // Arrange
+            Rastro rastro = new Rastro(3, "POST /transferencias", 200, Instant.now(), 300_000, true,
+                List.of(new Rastro.Span("controller", "POST /transferencias", -1, 0, 300_000, null)), 0);
+            when(rastreador.consultar(true, "transferencias", 10)).thenReturn(List.of(rastro));
+            when(rastreador.getConfig()).thenReturn(new RastroConfig(true, 0.01, 250, 512, 128));
+            when(rastreador.getCapacidade()).thenReturn(512);
+            when(rastreador.getGuardados()).thenReturn(4L);
+            
+            // Act
+            Response response = controller.getTraces(true, "transferencias", 10);
+            
+            // Assert
+            assertThat(response.getStatus()).isEqualTo(200);
+            Map<String, Object> corpo = (Map<String, Object>) response.getEntity();
+            assertThat(corpo).containsEntry("habilitado", true)
+                .containsEntry("limiteLentoMs", 250L)
+                .containsEntry("capacidade", 512)
+                .containsEntry("guardados", 4L)
+                .containsEntry("retornados", 1)
+                .containsEntry("rastros", List.of(rastro));
+        }
+        
+        @Test
+        @DisplayName("Deve rejeitar limite não positivo")
+        void shouldRejectInvalidLimit() {
+            // Act
+            Response response = controller.getTraces(false, null, 0);
+            
+            // Assert
+            assertThat(response.getStatus()).isEqualTo(400);
+            verify(rastreador, never()).consultar(anyBoolean(), any(), anyInt());
+        }
+    }
+    
+    @Nested
+    @DisplayName("Gravação JFR")
+    class JfrTests {
+        
+        private final GravadorJfr.Situacao gravando =
+            new GravadorJfr.Situacao("RUNNING", Instant.now(), null, Duration.ofMinutes(10), 0);
+        
+        @Test
+        @DisplayName("Deve iniciar com a configuração e os limites informados")
+        void shouldStartRecording() {
+            // Arrange
+            when(gravadorJfr.iniciar("profile", Duration.ofSeconds(60), 8L * 1024 * 1024)).thenReturn(gravando);
+            
+            // Act
+            Response response = controller.iniciarJfr("profile", 60, 8);
+            
+            // Assert
+            assertThat(response.getStatus()).isEqualTo(200);
+            assertThat(response.getEntity()).isSameAs(gravando);
+        }
+        
+        @Test
+        @DisplayName("Deve retornar 409 quando já houver gravação")
+        void shouldReturnConflictWhenRecording() {
+            // Arrange
+            when(gravadorJfr.iniciar(anyString(), any(), anyLong()))
+                .thenThrow(new IllegalStateException("Gravação JFR já em andamento"));
+            
+            // Act
+            Response response = controller.iniciarJfr("default", 600, 256);
+            
+            // Assert
+            assertThat(response.getStatus()).isEqualTo(409);
+        }
+        
+        @Test
+        @DisplayName("Deve retornar 400 para configuração inválida")
+        void shouldReturnBadRequestForInvalidConfiguration() {
+            // Arrange
+            when(gravadorJfr.iniciar(anyString(), any(), anyLong()))
+                .thenThrow(new IllegalArgumentException("Configuração JFR inválida: x"));
+            
+            // Act
+            Response response = controller.iniciarJfr("x", 600, 256);
+            
+            // Assert
+            assertThat(response.getStatus()).isEqualTo(400);
+        }
+        
+        @Test
+        @DisplayName("Deve parar a gravação e retornar 409 sem gravação")
+        void shouldStopRecording() {
+            // Arrange
+            when(gravadorJfr.parar())
+                .thenReturn(new GravadorJfr.Situacao("STOPPED", Instant.now(), Instant.now(), null, 1024))
+                .thenThrow(new IllegalStateException("Nenhuma gravação JFR em andamento"));
+            
+            // Act
+            Response parada = controller.pararJfr();
+            Response semGravacao = controller.pararJfr();
+            
+            // Assert
+            assertThat(parada.getStatus()).isEqualTo(200);
+            assertThat(semGravacao.getStatus()).isEqualTo(409);
+        }
+        
+        @Test
+        @DisplayName("Deve retornar a situação da gravação")
+        void shouldReturnRecordingStatus() {
+            // Arrange
+            when(gravadorJfr.getSituacao()).thenReturn(gravando);
+            
+            // Act
+            Response response = controller.getJfr();
+            
+            // Assert
+            assertThat(response.getStatus()).isEqualTo(200);
+            assertThat(response.getEntity()).isSameAs(gravando);
+        }
+        
+        @Test
+        @DisplayName("Deve enviar o dump como anexo e remover o arquivo temporário")
+        void shouldStreamDumpAndDeleteFile() throws Exception {
+            // Arrange
+            Path arquivo = Files.createTempFile("bip-teste-", ".jfr");
+            Files.write(arquivo, new byte[] {1, 2, 3});
+            when(gravadorJfr.despejar()).thenReturn(arquivo);
+            
+            // Act
+            Response response = controller.despejarJfr();
+            ByteArrayOutputStream saida = new ByteArrayOutputStream();
+            ((StreamingOutput) response.getEntity()).write(saida);
+            
+            // Assert
+            assertThat(response.getStatus()).isEqualTo(200);
+            assertThat(response.getHeaderString("Content-Disposition")).startsWith("attachment; filename=\"bip-");
+            assertThat(saida.toByteArray()).containsExactly(1, 2, 3);
+            assertThat(arquivo).doesNotExist();
+        }
+        
+        @Test
+        @DisplayName("Deve retornar 404 sem gravação para o dump")
+        void shouldReturnNotFoundWithoutRecording() {
+            // Arrange
+            when(gravadorJfr.despejar()).thenThrow(new IllegalStateException("Nenhuma gravação JFR disponível"));
+            
+            // Act
+            Response response = controller.despejarJfr();
+            
+            // Assert
+            assertThat(response.getStatus()).isEqualTo(404);
+        }
+    }
+}
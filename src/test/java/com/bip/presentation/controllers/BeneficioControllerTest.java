@@ -5,17 +5,21 @@ import com.bip.application.dtos.BeneficioDto;
 import com.bip.application.dtos.CriarBeneficioDto;
 import com.bip.application.usecases.BeneficioUseCase;
 import com.bip.presentation.utils.ErrorResponseBuilder;
+import com.bip.presentation.utils.RespostasAssincronas;
+import jakarta.ws.rs.container.AsyncResponse;
 import jakarta.ws.rs.core.Response;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
+import org.mockito.stubbing.Answer;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -23,6 +27,8 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.*;
@@ -38,6 +44,9 @@ class BeneficioControllerTest {
     @Mock
     private ErrorResponseBuilder errorResponseBuilder;
     
+    @Mock
+    private RespostasAssincronas respostas;
+    
     @InjectMocks
     private BeneficioController controller;
     
@@ -92,6 +101,16 @@ class BeneficioControllerTest {
                 .entity(Map.of("erro", "Erro interno do servidor", "detalhes", "Erro interno"))
                 .build()
         );
+        
+        // Compartimentos executam na própria thread do teste
+        Answer<Void> naMesmaThread = invocation -> {
+            AsyncResponse resposta = invocation.getArgument(0);
+            Supplier<Response> acao = invocation.getArgument(1);
+            resposta.resume(acao.get());
+            return null;
+        };
+        doAnswer(naMesmaThread).when(respostas).ler(any(AsyncResponse.class), any());
+        doAnswer(naMesmaThread).when(respostas).escrever(any(AsyncResponse.class), any());
     }
     
     @Nested
@@ -133,7 +152,7 @@ class BeneficioControllerTest {
             when(beneficioUseCase.listarTodos()).thenReturn(beneficios);
             
             // Act
-            Response response = controller.listarTodos();
+            Response response = responder(controller::listarTodos);
             
             // Assert
             assertThat(response.getStatus()).isEqualTo(200);
@@ -148,7 +167,7 @@ class BeneficioControllerTest {
             when(beneficioUseCase.listarTodos()).thenThrow(new RuntimeException("Erro interno"));
             
             // Act
-            Response response = controller.listarTodos();
+            Response response = responder(controller::listarTodos);
             
             // Assert
             assertThat(response.getStatus()).isEqualTo(500);
@@ -174,7 +193,7 @@ class BeneficioControllerTest {
             when(beneficioUseCase.listarAtivos()).thenReturn(beneficios);
             
             // Act
-            Response response = controller.listarAtivos();
+            Response response = responder(controller::listarAtivos);
             
             // Assert
             assertThat(response.getStatus()).isEqualTo(200);
@@ -189,7 +208,7 @@ class BeneficioControllerTest {
             when(beneficioUseCase.listarAtivos()).thenThrow(new RuntimeException("Erro interno"));
             
             // Act
-            Response response = controller.listarAtivos();
+            Response response = responder(controller::listarAtivos);
             
             // Assert
             assertThat(response.getStatus()).isEqualTo(500);
@@ -215,7 +234,7 @@ class BeneficioControllerTest {
             when(beneficioUseCase.buscarPorId(id)).thenReturn(Optional.of(beneficioDtoValido));
             
             // Act
-            Response response = controller.buscarPorId(id);
+            Response response = responder(asyncResponse -> controller.buscarPorId(id, asyncResponse));
             
             // Assert
             assertThat(response.getStatus()).isEqualTo(200);
@@ -231,7 +250,7 @@ class BeneficioControllerTest {
             when(beneficioUseCase.buscarPorId(id)).thenReturn(Optional.empty());
             
             // Act
-            Response response = controller.buscarPorId(id);
+            Response response = responder(asyncResponse -> controller.buscarPorId(id, asyncResponse));
             
             // Assert
             assertThat(response.getStatus()).isEqualTo(404);
@@ -248,7 +267,7 @@ class BeneficioControllerTest {
         @DisplayName("Deve retornar 400 quando ID é nulo")
         void shouldReturn400WhenIdIsNull() {
             // Act
-            Response response = controller.buscarPorId(null);
+            Response response = responder(asyncResponse -> controller.buscarPorId(null, asyncResponse));
             
             // Assert
             assertThat(response.getStatus()).isEqualTo(400);
@@ -264,7 +283,7 @@ class BeneficioControllerTest {
         @DisplayName("Deve retornar 400 quando ID é negativo")
         void shouldReturn400WhenIdIsNegative() {
             // Act
-            Response response = controller.buscarPorId(-1L);
+            Response response = responder(asyncResponse -> controller.buscarPorId(-1L, asyncResponse));
             
             // Assert
             assertThat(response.getStatus()).isEqualTo(400);
@@ -284,7 +303,7 @@ class BeneficioControllerTest {
             when(beneficioUseCase.buscarPorId(id)).thenThrow(new RuntimeException("Erro interno"));
             
             // Act
-            Response response = controller.buscarPorId(id);
+            Response response = responder(asyncResponse -> controller.buscarPorId(id, asyncResponse));
             
             // Assert
             assertThat(response.getStatus()).isEqualTo(500);
@@ -309,7 +328,7 @@ class BeneficioControllerTest {
             when(beneficioUseCase.criar(criarBeneficioDtoValido)).thenReturn(beneficioDtoValido);
             
             // Act
-            Response response = controller.criar(criarBeneficioDtoValido);
+            Response response = responder(asyncResponse -> controller.criar(criarBeneficioDtoValido, asyncResponse));
             
             // Assert
             assertThat(response.getStatus()).isEqualTo(201);
@@ -325,7 +344,7 @@ class BeneficioControllerTest {
                 .thenThrow(new IllegalArgumentException("Nome é obrigatório"));
             
             // Act
-            Response response = controller.criar(criarBeneficioDtoValido);
+            Response response = responder(asyncResponse -> controller.criar(criarBeneficioDtoValido, asyncResponse));
             
             // Assert
             assertThat(response.getStatus()).isEqualTo(400);
@@ -346,7 +365,7 @@ class BeneficioControllerTest {
                 .thenThrow(new RuntimeException("Erro interno"));
             
             // Act
-            Response response = controller.criar(criarBeneficioDtoValido);
+            Response response = responder(asyncResponse -> controller.criar(criarBeneficioDtoValido, asyncResponse));
             
             // Assert
             assertThat(response.getStatus()).isEqualTo(500);
@@ -372,7 +391,7 @@ class BeneficioControllerTest {
             when(beneficioUseCase.atualizar(id, atualizarBeneficioDtoValido)).thenReturn(beneficioDtoValido);
             
             // Act
-            Response response = controller.atualizar(id, atualizarBeneficioDtoValido);
+            Response response = responder(asyncResponse -> controller.atualizar(id, atualizarBeneficioDtoValido, asyncResponse));
             
             // Assert
             assertThat(response.getStatus()).isEqualTo(200);
@@ -384,7 +403,7 @@ class BeneficioControllerTest {
         @DisplayName("Deve retornar 400 quando ID é inválido")
         void shouldReturn400WhenIdIsInvalid() {
             // Act
-            Response response = controller.atualizar(0L, atualizarBeneficioDtoValido);
+            Response response = responder(asyncResponse -> controller.atualizar(0L, atualizarBeneficioDtoValido, asyncResponse));
             
             // Assert
             assertThat(response.getStatus()).isEqualTo(400);
@@ -405,7 +424,7 @@ class BeneficioControllerTest {
                 .thenThrow(new IllegalArgumentException("Dados inválidos"));
             
             // Act
-            Response response = controller.atualizar(id, atualizarBeneficioDtoValido);
+            Response response = responder(asyncResponse -> controller.atualizar(id, atualizarBeneficioDtoValido, asyncResponse));
             
             // Assert
             assertThat(response.getStatus()).isEqualTo(400);
@@ -427,7 +446,7 @@ class BeneficioControllerTest {
                 .thenThrow(new RuntimeException("Erro interno"));
             
             // Act
-            Response response = controller.atualizar(id, atualizarBeneficioDtoValido);
+            Response response = responder(asyncResponse -> controller.atualizar(id, atualizarBeneficioDtoValido, asyncResponse));
             
             // Assert
             assertThat(response.getStatus()).isEqualTo(500);
@@ -453,7 +472,7 @@ class BeneficioControllerTest {
             doNothing().when(beneficioUseCase).remover(id);
             
             // Act
-            Response response = controller.remover(id);
+            Response response = responder(asyncResponse -> controller.remover(id, asyncResponse));
             
             // Assert
             assertThat(response.getStatus()).isEqualTo(200);
@@ -470,7 +489,7 @@ class BeneficioControllerTest {
         @DisplayName("Deve retornar 400 quando ID é inválido")
         void shouldReturn400WhenIdIsInvalid() {
             // Act
-            Response response = controller.remover(-1L);
+            Response response = responder(asyncResponse -> controller.remover(-1L, asyncResponse));
             
             // Assert
             assertThat(response.getStatus()).isEqualTo(400);
@@ -491,7 +510,7 @@ class BeneficioControllerTest {
                 .when(beneficioUseCase).remover(id);
             
             // Act
-            Response response = controller.remover(id);
+            Response response = responder(asyncResponse -> controller.remover(id, asyncResponse));
             
             // Assert
             assertThat(response.getStatus()).isEqualTo(404);
@@ -512,7 +531,7 @@ class BeneficioControllerTest {
             doThrow(new RuntimeException("Erro interno")).when(beneficioUseCase).remover(id);
             
             // Act
-            Response response = controller.remover(id);
+            Response response = responder(asyncResponse -> controller.remover(id, asyncResponse));
             
             // Assert
             assertThat(response.getStatus()).isEqualTo(500);
@@ -541,7 +560,7 @@ class BeneficioControllerTest {
             when(beneficioUseCase.somarValoresAtivos()).thenReturn(somaValores);
             
             // Act
-            Response response = controller.estatisticas();
+            Response response = responder(controller::estatisticas);
             
             // Assert
             assertThat(response.getStatus()).isEqualTo(200);
@@ -564,7 +583,7 @@ class BeneficioControllerTest {
             when(beneficioUseCase.contarAtivos()).thenThrow(new RuntimeException("Erro interno"));
             
             // Act
-            Response response = controller.estatisticas();
+            Response response = responder(controller::estatisticas);
             
             // Assert
             assertThat(response.getStatus()).isEqualTo(500);
@@ -577,4 +596,61 @@ class BeneficioControllerTest {
             verify(beneficioUseCase).contarAtivos();
         }
     }
-}
\ No newline at end of file
+
+    @Nested
+    @DisplayName("Compartimentos")
+    class CompartimentosTests {
+        
+        @Test
+        @DisplayName("Deve executar consultas no compartimento de leitura")
+        void shouldReadOnLeitura() {
+            // Arrange
+            when(beneficioUseCase.buscarPorId(1L)).thenReturn(Optional.of(beneficioDtoValido));
+            
+            // Act
+            responder(controller::listarTodos);
+            responder(asyncResponse -> controller.buscarPorId(1L, asyncResponse));
+            
+            // Assert
+            verify(respostas, times(2)).ler(any(AsyncResponse.class), any());
+            verify(respostas, never()).escrever(any(AsyncResponse.class), any());
+        }
+        
+        @Test
+        @DisplayName("Deve executar alterações no compartimento de escrita")
+        void shouldWriteOnEscrita() {
+            // Arrange
+            when(beneficioUseCase.criar(criarBeneficioDtoValido)).thenReturn(beneficioDtoValido);
+            
+            // Act
+            responder(asyncResponse -> controller.criar(criarBeneficioDtoValido, asyncResponse));
+            responder(asyncResponse -> controller.remover(1L, asyncResponse));
+            
+            // Assert
+            verify(respostas, times(2)).escrever(any(AsyncResponse.class), any());
+            verify(respostas, never()).ler(any(AsyncResponse.class), any());
+        }
+        
+        @Test
+        @DisplayName("Deve responder o status sem passar pelos compartimentos")
+        void shouldAnswerStatusSynchronously() {
+            // Act
+            Response response = controller.getStatus();
+            
+            // Assert
+            assertThat(response.getStatus()).isEqualTo(200);
+            verifyNoInteractions(respostas);
+        }
+    }
+    
+    /**
+     * Chama o recurso assíncrono e devolve a resposta com que foi retomado.
+     */
+    private static Response responder(Consumer<AsyncResponse> chamada) {
+        AsyncResponse asyncResponse = mock(AsyncResponse.class);
+        chamada.accept(asyncResponse);
+        ArgumentCaptor<Object> resposta = ArgumentCaptor.forClass(Object.class);
+        verify(asyncResponse).resume(resposta.capture());
+        return (Response) resposta.getValue();
+    }
+}
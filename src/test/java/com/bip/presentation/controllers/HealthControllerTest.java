@@ -0,0 +1,92 @@
+package com.bip.presentation.controllers;
+
+import com.bip.infrastructure.warmup.WarmupService;
+import jakarta.ws.rs.core.Response;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("HealthController")
+class HealthControllerTest {
+
+    @Mock
+    private WarmupService warmupService;
+
+    @InjectMocks
+    private HealthController controller;
+
+    @Nested
+    @DisplayName("GET /health/live")
+    class LiveTests {
+
+        @Test
+        @DisplayName("Deve retornar UP mesmo antes do warmup")
+        void shouldReturnUpBeforeWarmup() {
+            // Arrange
+            when(warmupService.isPronto()).thenReturn(false);
+
+            // Act
+            Response response = controller.live();
+
+            // Assert
+            assertThat(response.getStatus()).isEqualTo(200);
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /health/ready")
+    class ReadyTests {
+
+        @Test
+        @DisplayName("Deve retornar 503 enquanto o warmup não terminou")
+        void shouldReturn503BeforeWarmup() {
+            // Arrange
+            when(warmupService.isPronto()).thenReturn(false);
+
+            // Act
+            Response response = controller.ready();
+
+            // Assert
+            assertThat(response.getStatus()).isEqualTo(503);
+
+            @SuppressWarnings("unchecked")
+            Map<String, Object> resultado = (Map<String, Object>) response.getEntity();
+            assertThat(resultado.get("status")).isEqualTo("DOWN");
+        }
+
+        @Test
+        @DisplayName("Deve retornar UP com o relatório do warmup")
+        void shouldReturnUpWithReport() {
+            // Arrange
+            WarmupService.Relatorio relatorio = new WarmupService.Relatorio(true, 200, 850L,
+                Map.of("consultas", 400L), List.of("Beneficio.findAll"), List.of());
+            when(warmupService.isPronto()).thenReturn(true);
+            when(warmupService.getRelatorio()).thenReturn(relatorio);
+
+            // Act
+            Response response = controller.ready();
+
+            // Assert
+            assertThat(response.getStatus()).isEqualTo(200);
+
+            @SuppressWarnings("unchecked")
+            Map<String, Object> resultado = (Map<String, Object>) response.getEntity();
+            assertThat(resultado.get("status")).isEqualTo("UP");
+            assertThat(resultado.get("warmup")).isEqualTo(relatorio);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.bip.presentation.controllers;
+
+import com.bip.application.metrics.MetricasRegistry;
+import jakarta.ws.rs.core.Response;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("MetricasController")
+class MetricasControllerTest {
+
+    @Spy
+    private MetricasRegistry registry = new MetricasRegistry();
+
+    @InjectMocks
+    private MetricasController controller;
+
+    @Test
+    @DisplayName("Deve retornar o texto OpenMetrics do registro")
+    void deveRetornarOpenMetrics() {
+        // Arrange
+        registry.contador("bip_teste", "Teste").incrementar();
+
+        // Act
+        Response response = controller.metricas();
+
+        // Assert
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat((String) response.getEntity())
+            .contains("bip_teste_total 1\n")
+            .endsWith("# EOF\n");
+    }
+}
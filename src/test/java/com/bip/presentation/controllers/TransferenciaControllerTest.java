@@ -1,23 +1,38 @@
 package com.bip.presentation.controllers;
 
+import com.bip.application.dtos.HistoricoTransferenciaDto;
 import com.bip.application.dtos.TransferenciaDto;
+import com.bip.application.services.IdempotenciaConflitanteException;
+import com.bip.application.services.IdempotenciaService;
+import com.bip.application.services.RespostaIdempotente;
+import com.bip.application.services.TransferenciaAssincronaService;
 import com.bip.application.usecases.TransferenciaUseCase;
 import com.bip.domain.valueobjects.Money;
 import com.bip.presentation.utils.ErrorResponseBuilder;
+import com.bip.presentation.utils.RespostasAssincronas;
+import jakarta.ws.rs.container.AsyncResponse;
 import jakarta.ws.rs.core.Response;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
+import org.mockito.stubbing.Answer;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.*;
@@ -30,9 +45,18 @@ class TransferenciaControllerTest {
     @Mock
     private TransferenciaUseCase transferenciaUseCase;
     
+    @Mock
+    private TransferenciaAssincronaService transferenciaAssincrona;
+    
+    @Mock
+    private IdempotenciaService idempotenciaService;
+    
     @Mock
     private ErrorResponseBuilder errorResponseBuilder;
     
+    @Mock
+    private RespostasAssincronas respostas;
+    
     @InjectMocks
     private TransferenciaController controller;
     
@@ -69,12 +93,28 @@ class TransferenciaControllerTest {
                 .build();
         });
         
+        // Mock para fila saturada - serviço indisponível
+        when(errorResponseBuilder.buildServiceUnavailableError(any(RejectedExecutionException.class), anyInt()))
+            .thenAnswer(invocation -> Response.status(Response.Status.SERVICE_UNAVAILABLE)
+                .header("Retry-After", invocation.getArgument(1))
+                .build());
+        
         // Mock genérico para Exception - erro interno
         when(errorResponseBuilder.buildInternalServerError(any(Exception.class))).thenReturn(
             Response.status(Response.Status.INTERNAL_SERVER_ERROR)
                 .entity(Map.of("erro", "Erro interno do servidor", "detalhes", "Erro interno"))
                 .build()
         );
+        
+        // Compartimentos executam na própria thread do teste
+        Answer<Void> naMesmaThread = invocation -> {
+            AsyncResponse resposta = invocation.getArgument(0);
+            Supplier<Response> acao = invocation.getArgument(1);
+            resposta.resume(acao.get());
+            return null;
+        };
+        doAnswer(naMesmaThread).when(respostas).ler(any(AsyncResponse.class), any());
+        doAnswer(naMesmaThread).when(respostas).escrever(any(AsyncResponse.class), any());
     }
     
     @Nested
@@ -88,7 +128,7 @@ class TransferenciaControllerTest {
             doNothing().when(transferenciaUseCase).executarTransferencia(transferenciaDtoValida);
             
             // Act
-            Response response = controller.executarTransferencia(transferenciaDtoValida);
+            Response response = responder(asyncResponse -> controller.executarTransferencia(transferenciaDtoValida, null, asyncResponse));
             
             // Assert
             assertThat(response.getStatus()).isEqualTo(200);
@@ -115,7 +155,7 @@ class TransferenciaControllerTest {
                 .when(transferenciaUseCase).executarTransferencia(transferenciaDtoValida);
             
             // Act
-            Response response = controller.executarTransferencia(transferenciaDtoValida);
+            Response response = responder(asyncResponse -> controller.executarTransferencia(transferenciaDtoValida, null, asyncResponse));
             
             // Assert
             assertThat(response.getStatus()).isEqualTo(400);
@@ -136,7 +176,7 @@ class TransferenciaControllerTest {
                 .when(transferenciaUseCase).executarTransferencia(transferenciaDtoValida);
             
             // Act
-            Response response = controller.executarTransferencia(transferenciaDtoValida);
+            Response response = responder(asyncResponse -> controller.executarTransferencia(transferenciaDtoValida, null, asyncResponse));
             
             // Assert
             assertThat(response.getStatus()).isEqualTo(400);
@@ -157,7 +197,7 @@ class TransferenciaControllerTest {
                 .when(transferenciaUseCase).executarTransferencia(transferenciaDtoValida);
             
             // Act
-            Response response = controller.executarTransferencia(transferenciaDtoValida);
+            Response response = responder(asyncResponse -> controller.executarTransferencia(transferenciaDtoValida, null, asyncResponse));
             
             // Assert
             assertThat(response.getStatus()).isEqualTo(500);
@@ -182,7 +222,7 @@ class TransferenciaControllerTest {
             when(transferenciaUseCase.validarTransferencia(transferenciaDtoValida)).thenReturn(true);
             
             // Act
-            Response response = controller.validarTransferencia(transferenciaDtoValida);
+            Response response = responder(asyncResponse -> controller.validarTransferencia(transferenciaDtoValida, asyncResponse));
             
             // Assert
             assertThat(response.getStatus()).isEqualTo(200);
@@ -206,7 +246,7 @@ class TransferenciaControllerTest {
             when(transferenciaUseCase.validarTransferencia(transferenciaDtoValida)).thenReturn(false);
             
             // Act
-            Response response = controller.validarTransferencia(transferenciaDtoValida);
+            Response response = responder(asyncResponse -> controller.validarTransferencia(transferenciaDtoValida, asyncResponse));
             
             // Assert
             assertThat(response.getStatus()).isEqualTo(200);
@@ -231,7 +271,7 @@ class TransferenciaControllerTest {
                 .thenThrow(new RuntimeException("Erro interno"));
             
             // Act
-            Response response = controller.validarTransferencia(transferenciaDtoValida);
+            Response response = responder(asyncResponse -> controller.validarTransferencia(transferenciaDtoValida, asyncResponse));
             
             // Assert
             assertThat(response.getStatus()).isEqualTo(500);
@@ -346,4 +386,253 @@ class TransferenciaControllerTest {
             verify(transferenciaUseCase).calcularTaxa(valor);
         }
     }
-}
\ No newline at end of file
+    
+    @Nested
+    @DisplayName("Modo assíncrono")
+    class TransferenciaAssincronaTests {
+        
+        private HistoricoTransferenciaDto ticket;
+        
+        @BeforeEach
+        void setUp() {
+            ticket = new HistoricoTransferenciaDto(1_000_000L, 1L, null, 2L, null,
+                BigDecimal.valueOf(100), BigDecimal.ONE, "Transferência teste",
+                LocalDateTime.now(), TransferenciaAssincronaService.STATUS_PENDENTE);
+            when(transferenciaAssincrona.isHabilitada()).thenReturn(true);
+        }
+        
+        @Test
+        @DisplayName("Deve retornar 202 com ticket quando modo assíncrono habilitado")
+        void shouldReturn202WithTicket() {
+            // Arrange
+            when(transferenciaAssincrona.submeter(transferenciaDtoValida)).thenReturn(ticket);
+            
+            // Act
+            Response response = responder(asyncResponse -> controller.executarTransferencia(transferenciaDtoValida, null, asyncResponse));
+            
+            // Assert
+            assertThat(response.getStatus()).isEqualTo(202);
+            assertThat(response.getLocation()).hasToString("/api/transferencias/1000000");
+            
+            @SuppressWarnings("unchecked")
+            Map<String, Object> resultado = (Map<String, Object>) response.getEntity();
+            
+            assertThat(resultado.get("ticketId")).isEqualTo(1_000_000L);
+            assertThat(resultado.get("status")).isEqualTo("PENDENTE");
+            verify(transferenciaUseCase, never()).executarTransferencia(any());
+        }
+        
+        @Test
+        @DisplayName("Deve retornar 503 com Retry-After quando fila está cheia")
+        void shouldReturn503WhenQueueIsFull() {
+            // Arrange
+            when(transferenciaAssincrona.submeter(transferenciaDtoValida))
+                .thenThrow(new RejectedExecutionException("Fila cheia"));
+            
+            // Act
+            Response response = responder(asyncResponse -> controller.executarTransferencia(transferenciaDtoValida, null, asyncResponse));
+            
+            // Assert
+            assertThat(response.getStatus()).isEqualTo(503);
+            assertThat(response.getHeaderString("Retry-After")).isEqualTo("1");
+        }
+        
+        @Test
+        @DisplayName("Deve retornar 400 quando parâmetros são inválidos")
+        void shouldReturn400WhenParametersAreInvalid() {
+            // Arrange
+            when(transferenciaAssincrona.submeter(transferenciaDtoValida))
+                .thenThrow(new IllegalArgumentException("Benefício de origem e destino não podem ser iguais"));
+            
+            // Act
+            Response response = responder(asyncResponse -> controller.executarTransferencia(transferenciaDtoValida, null, asyncResponse));
+            
+            // Assert
+            assertThat(response.getStatus()).isEqualTo(400);
+        }
+        
+        @Test
+        @DisplayName("Deve consultar status do ticket por ID")
+        void shouldReturnTicketStatus() {
+            // Arrange
+            when(transferenciaAssincrona.buscarTicket(1_000_000L)).thenReturn(Optional.of(ticket));
+            
+            // Act
+            Response response = responder(asyncResponse -> controller.buscarPorId(1_000_000L, asyncResponse));
+            
+            // Assert
+            assertThat(response.getStatus()).isEqualTo(200);
+            assertThat(response.getEntity()).isSameAs(ticket);
+            verify(transferenciaUseCase, never()).buscarPorId(any());
+        }
+    }
+    
+    @Nested
+    @DisplayName("Idempotency-Key")
+    class IdempotenciaTests {
+        
+        @Test
+        @DisplayName("Deve executar transferência e registrar resposta na primeira requisição")
+        void shouldExecuteAndRecordOnFirstRequest() {
+            // Arrange
+            when(idempotenciaService.executar(eq("chave-1"), anyString(), any())).thenAnswer(invocation -> {
+                Supplier<RespostaIdempotente> operacao = invocation.getArgument(2);
+                return operacao.get();
+            });
+            
+            // Act
+            Response response = responder(asyncResponse -> controller.executarTransferencia(transferenciaDtoValida, "chave-1", asyncResponse));
+            
+            // Assert
+            assertThat(response.getStatus()).isEqualTo(200);
+            assertThat(response.getHeaderString(TransferenciaController.IDEMPOTENT_REPLAYED)).isEqualTo("false");
+            assertThat((String) response.getEntity()).contains("\"sucesso\":true");
+            verify(transferenciaUseCase).executarTransferencia(transferenciaDtoValida);
+        }
+        
+        @Test
+        @DisplayName("Deve devolver resposta registrada sem executar transferência novamente")
+        void shouldReplayRecordedResponse() {
+            // Arrange
+            when(idempotenciaService.executar(eq("chave-1"), anyString(), any()))
+                .thenReturn(new RespostaIdempotente(200, "{\"sucesso\":true}", true));
+            
+            // Act
+            Response response = responder(asyncResponse -> controller.executarTransferencia(transferenciaDtoValida, "chave-1", asyncResponse));
+            
+            // Assert
+            assertThat(response.getStatus()).isEqualTo(200);
+            assertThat(response.getEntity()).isEqualTo("{\"sucesso\":true}");
+            assertThat(response.getHeaderString(TransferenciaController.IDEMPOTENT_REPLAYED)).isEqualTo("true");
+            verify(transferenciaUseCase, never()).executarTransferencia(any());
+        }
+        
+        @Test
+        @DisplayName("Deve calcular o mesmo hash para valores equivalentes")
+        void shouldHashEquivalentValuesEqually() {
+            // Arrange
+            TransferenciaDto mesmaTransferencia = new TransferenciaDto(
+                1L, 2L, new BigDecimal("100.00"), "Transferência teste");
+            when(idempotenciaService.executar(eq("chave-1"), anyString(), any()))
+                .thenReturn(new RespostaIdempotente(200, "{}", true));
+            
+            // Act
+            responder(asyncResponse -> controller.executarTransferencia(transferenciaDtoValida, "chave-1", asyncResponse));
+            responder(asyncResponse -> controller.executarTransferencia(mesmaTransferencia, "chave-1", asyncResponse));
+            
+            // Assert
+            verify(idempotenciaService, times(2)).executar(eq("chave-1"),
+                eq(IdempotenciaService.calcularHash("1|2|100|Transferência teste")), any());
+        }
+        
+        @Test
+        @DisplayName("Deve registrar e reenviar o header Location da resposta original")
+        void shouldRecordAndReplayLocationHeader() {
+            // Arrange
+            HistoricoTransferenciaDto ticket = new HistoricoTransferenciaDto(1_000_000L, 1L, null, 2L, null,
+                BigDecimal.valueOf(100), BigDecimal.ONE, "Transferência teste",
+                LocalDateTime.now(), TransferenciaAssincronaService.STATUS_PENDENTE);
+            when(transferenciaAssincrona.isHabilitada()).thenReturn(true);
+            when(transferenciaAssincrona.submeter(transferenciaDtoValida)).thenReturn(ticket);
+            AtomicReference<RespostaIdempotente> registrada = new AtomicReference<>();
+            when(idempotenciaService.executar(eq("chave-1"), anyString(), any())).thenAnswer(invocation -> {
+                if (registrada.get() == null) {
+                    Supplier<RespostaIdempotente> operacao = invocation.getArgument(2);
+                    registrada.set(operacao.get());
+                    return registrada.get();
+                }
+                return registrada.get().comoReexecucao();
+            });
+            
+            // Act
+            Response primeira = responder(asyncResponse -> controller.executarTransferencia(transferenciaDtoValida, "chave-1", asyncResponse));
+            Response replay = responder(asyncResponse -> controller.executarTransferencia(transferenciaDtoValida, "chave-1", asyncResponse));
+            
+            // Assert
+            assertThat(registrada.get().cabecalhos()).containsEntry("Location", "/api/transferencias/1000000");
+            assertThat(primeira.getStatus()).isEqualTo(202);
+            assertThat(replay.getStatus()).isEqualTo(202);
+            assertThat(replay.getHeaderString("Location")).isEqualTo("/api/transferencias/1000000");
+            assertThat(replay.getHeaderString(TransferenciaController.IDEMPOTENT_REPLAYED)).isEqualTo("true");
+            verify(transferenciaAssincrona, times(1)).submeter(transferenciaDtoValida);
+        }
+        
+        @Test
+        @DisplayName("Deve retornar 409 com código específico quando chave foi usada com outra requisição")
+        void shouldReturn409WhenKeyReusedWithDifferentRequest() {
+            // Arrange
+            when(idempotenciaService.executar(eq("chave-1"), anyString(), any()))
+                .thenThrow(new IdempotenciaConflitanteException("Idempotency-Key já utilizada com outra requisição"));
+            when(errorResponseBuilder.buildConflictError(any(), eq(IdempotenciaConflitanteException.CODIGO)))
+                .thenAnswer(invocation -> Response.status(Response.Status.CONFLICT)
+                    .entity(Map.of("codigo", invocation.getArgument(1)))
+                    .build());
+            
+            // Act
+            Response response = responder(asyncResponse -> controller.executarTransferencia(transferenciaDtoValida, "chave-1", asyncResponse));
+            
+            // Assert
+            assertThat(response.getStatus()).isEqualTo(409);
+            assertThat(response.getEntity()).isEqualTo(Map.of("codigo", "IDEMPOTENCY_KEY_REUSED"));
+            verify(errorResponseBuilder, never()).buildBadRequestError(any());
+            verify(transferenciaUseCase, never()).executarTransferencia(any());
+        }
+    }
+
+    @Nested
+    @DisplayName("Compartimentos")
+    class CompartimentosTests {
+        
+        @Test
+        @DisplayName("Deve executar transferências no compartimento de escrita")
+        void shouldTransferOnEscrita() {
+            // Act
+            responder(asyncResponse -> controller.executarTransferencia(transferenciaDtoValida, null, asyncResponse));
+            
+            // Assert
+            verify(respostas).escrever(any(AsyncResponse.class), any());
+            verify(respostas, never()).ler(any(AsyncResponse.class), any());
+        }
+        
+        @Test
+        @DisplayName("Deve executar consultas e validações no compartimento de leitura")
+        void shouldReadOnLeitura() {
+            // Arrange
+            when(transferenciaUseCase.validarTransferencia(transferenciaDtoValida)).thenReturn(true);
+            
+            // Act
+            responder(controller::listarTransferencias);
+            responder(asyncResponse -> controller.validarTransferencia(transferenciaDtoValida, asyncResponse));
+            
+            // Assert
+            verify(respostas, times(2)).ler(any(AsyncResponse.class), any());
+            verify(respostas, never()).escrever(any(AsyncResponse.class), any());
+        }
+        
+        @Test
+        @DisplayName("Deve calcular a taxa sem passar pelos compartimentos")
+        void shouldCalculateFeeSynchronously() {
+            // Arrange
+            when(transferenciaUseCase.calcularTaxa(BigDecimal.valueOf(100)))
+                .thenReturn(new Money(BigDecimal.ONE));
+            
+            // Act
+            Response response = controller.calcularTaxa(BigDecimal.valueOf(100));
+            
+            // Assert
+            assertThat(response.getStatus()).isEqualTo(200);
+            verifyNoInteractions(respostas);
+        }
+    }
+    
+    /**
+     * Chama o recurso assíncrono e devolve a resposta com que foi retomado.
+     */
+    private static Response responder(Consumer<AsyncResponse> chamada) {
+        AsyncResponse asyncResponse = mock(AsyncResponse.class);
+        chamada.accept(asyncResponse);
+        ArgumentCaptor<Object> resposta = ArgumentCaptor.forClass(Object.class);
+        verify(asyncResponse).resume(resposta.capture());
+        return (Response) resposta.getValue();
+    }
+}
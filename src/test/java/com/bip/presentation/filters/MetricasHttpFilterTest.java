@@ -0,0 +1,139 @@
+package com.bip.presentation.filters;
+
+import com.bip.application.metrics.MetricasRegistry;
+import com.bip.presentation.controllers.BeneficioController;
+import com.bip.presentation.controllers.HealthController;
+import jakarta.ws.rs.container.AsyncResponse;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.container.ResourceInfo;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.lang.reflect.Method;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("MetricasHttpFilter")
+class MetricasHttpFilterTest {
+
+    @Spy
+    private MetricasRegistry registry = new MetricasRegistry();
+
+    @Mock
+    private ResourceInfo resourceInfo;
+
+    @InjectMocks
+    private MetricasHttpFilter filter;
+
+    @Mock
+    private ContainerRequestContext requisicao;
+
+    @Mock
+    private ContainerResponseContext resposta;
+
+    @Nested
+    @DisplayName("Rotas")
+    class RotaTests {
+
+        @Test
+        @DisplayName("Deve combinar o @Path da classe e do método")
+        void deveCombinarPaths() throws NoSuchMethodException {
+            // Arrange
+            Method metodo = BeneficioController.class.getMethod("buscarPorId", Long.class, AsyncResponse.class);
+
+            // Act & Assert
+            assertThat(MetricasHttpFilter.rota(metodo)).isEqualTo("/beneficios/{id}");
+            assertThat(MetricasHttpFilter.verbo(metodo)).isEqualTo("GET");
+        }
+
+        @Test
+        @DisplayName("Deve usar o @Path da classe quando o método não declara um")
+        void deveUsarPathDaClasse() throws NoSuchMethodException {
+            // Arrange
+            Method metodo = HealthController.class.getMethod("live");
+
+            // Act & Assert
+            assertThat(MetricasHttpFilter.rota(metodo)).isEqualTo("/health/live");
+        }
+
+        @Test
+        @DisplayName("Deve agrupar requisições sem recurso")
+        void deveAgruparSemRecurso() {
+            assertThat(MetricasHttpFilter.rota(null)).isEqualTo(MetricasHttpFilter.ROTA_DESCONHECIDA);
+        }
+    }
+
+    @Nested
+    @DisplayName("Medição")
+    class MedicaoTests {
+
+        @Test
+        @DisplayName("Deve registrar a duração pelo template da rota e classe do status")
+        void deveRegistrarDuracao() throws NoSuchMethodException {
+            // Arrange
+            when(resourceInfo.getResourceMethod()).thenReturn(BeneficioController.class.getMethod("buscarPorId", Long.class, AsyncResponse.class));
+            when(requisicao.getProperty(anyString())).thenReturn(System.nanoTime());
+            when(resposta.getStatus()).thenReturn(404);
+
+            // Act
+            filter.filter(requisicao, resposta);
+            filter.filter(requisicao, resposta);
+
+            // Assert
+            assertThat(registry.openMetrics()).contains(
+                "bip_http_requisicoes_segundos_count{metodo=\"GET\",rota=\"/beneficios/{id}\",status=\"4xx\"} 2\n");
+            verify(registry, times(1)).histograma(eq(MetricasHttpFilter.METRICA), anyString(), any(double[].class),
+                any(String[].class));
+        }
+
+        @Test
+        @DisplayName("Deve marcar o início na requisição")
+        void deveMarcarInicio() {
+            // Act
+            filter.filter(requisicao);
+
+            // Assert
+            verify(requisicao).setProperty(anyString(), anyLong());
+        }
+
+        @Test
+        @DisplayName("Deve usar o verbo da requisição quando não há recurso")
+        void deveRegistrarSemRecurso() {
+            // Arrange
+            when(requisicao.getProperty(anyString())).thenReturn(System.nanoTime());
+            when(requisicao.getMethod()).thenReturn("POST");
+            when(resposta.getStatus()).thenReturn(404);
+
+            // Act
+            filter.filter(requisicao, resposta);
+
+            // Assert
+            assertThat(registry.openMetrics()).contains(
+                "bip_http_requisicoes_segundos_count{metodo=\"POST\",rota=\"desconhecida\",status=\"4xx\"} 1\n");
+        }
+
+        @Test
+        @DisplayName("Não deve registrar sem o início marcado")
+        void naoDeveRegistrarSemInicio() {
+            // Act
+            filter.filter(requisicao, resposta);
+
+            // Assert
+            assertThat(registry.openMetrics()).isEqualTo("# EOF\n");
+        }
+    }
+}
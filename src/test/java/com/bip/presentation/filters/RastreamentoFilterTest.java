@@ -0,0 +1,124 @@
+package com.bip.presentation.filters;
+
+import com.bip.application.tracing.ColetorRastro;
+import com.bip.application.tracing.RastreadorRequisicoes;
+import com.bip.application.tracing.Rastro;
+import com.bip.application.tracing.RastroConfig;
+import com.bip.presentation.controllers.BeneficioController;
+import jakarta.ws.rs.container.AsyncResponse;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.container.ResourceInfo;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("RastreamentoFilter")
+class RastreamentoFilterTest {
+
+    @Spy
+    private RastreadorRequisicoes rastreador = new RastreadorRequisicoes(new RastroConfig(true, 1.0, 250, 16, 8));
+
+    @Mock
+    private ResourceInfo resourceInfo;
+
+    @InjectMocks
+    private RastreamentoFilter filter;
+
+    @Mock
+    private ContainerRequestContext requisicao;
+
+    @Mock
+    private ContainerResponseContext resposta;
+
+    private final Map<String, Object> propriedades = new HashMap<>();
+
+    @BeforeEach
+    void setUp() throws NoSuchMethodException {
+        doAnswer(invocacao -> propriedades.put(invocacao.getArgument(0), invocacao.getArgument(1)))
+            .when(requisicao).setProperty(anyString(), any());
+        when(requisicao.getProperty(anyString())).thenAnswer(invocacao -> propriedades.get(invocacao.getArgument(0)));
+        when(requisicao.getMethod()).thenReturn("GET");
+        when(resourceInfo.getResourceMethod())
+            .thenReturn(BeneficioController.class.getMethod("buscarPorId", Long.class, AsyncResponse.class));
+        when(resposta.getStatus()).thenReturn(200);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ColetorRastro coletor = ColetorRastro.atual();
+        if (coletor != null) {
+            rastreador.concluir(coletor, "", 0);
+        }
+    }
+
+    @Test
+    @DisplayName("Deve abrir o span raiz com o template da rota")
+    void deveAbrirSpanRaiz() {
+        // Act
+        filter.filter(requisicao);
+        ColetorRastro coletor = ColetorRastro.atual();
+        coletor.fechar(coletor.abrir("caso_uso", "BeneficioUseCase.buscarPorId"), null);
+        filter.filter(requisicao, resposta);
+
+        // Assert
+        List<Rastro> rastros = rastreador.consultar(false, null, 10);
+        assertThat(rastros).hasSize(1);
+        Rastro rastro = rastros.get(0);
+        assertThat(rastro.endpoint()).isEqualTo("GET /beneficios/{id}");
+        assertThat(rastro.status()).isEqualTo(200);
+        assertThat(rastro.spans()).extracting(Rastro.Span::tipo).containsExactly("controller", "caso_uso");
+        assertThat(rastro.spans()).extracting(Rastro.Span::pai).containsExactly(-1, 0);
+        assertThat(rastro.spans().get(0).duracaoMicros()).isGreaterThanOrEqualTo(0);
+        assertThat(ColetorRastro.atual()).isNull();
+    }
+
+    @Test
+    @DisplayName("Deve agrupar requisições sem recurso")
+    void deveAgruparSemRecurso() {
+        // Arrange
+        when(resourceInfo.getResourceMethod()).thenReturn(null);
+
+        // Act
+        filter.filter(requisicao);
+        filter.filter(requisicao, resposta);
+
+        // Assert
+        assertThat(rastreador.consultar(false, null, 10)).extracting(Rastro::endpoint)
+            .containsExactly("GET " + MetricasHttpFilter.ROTA_DESCONHECIDA);
+    }
+
+    @Test
+    @DisplayName("Não deve rastrear com o rastreamento desabilitado")
+    void naoDeveRastrearDesabilitado() {
+        // Arrange
+        when(rastreador.iniciar()).thenReturn(null);
+
+        // Act
+        filter.filter(requisicao);
+        filter.filter(requisicao, resposta);
+
+        // Assert
+        verify(requisicao, never()).setProperty(anyString(), any());
+        verify(rastreador, never()).concluir(any(), anyString(), anyInt());
+    }
+}
@@ -0,0 +1,158 @@
+package com.bip.presentation.filters;
+
+import com.bip.application.metrics.TempoFases;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.core.MultivaluedHashMap;
+import jakarta.ws.rs.core.MultivaluedMap;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("ServerTimingFilter")
+class ServerTimingFilterTest {
+
+    @Mock
+    private ContainerRequestContext requisicao;
+
+    @Mock
+    private ContainerResponseContext resposta;
+
+    private MultivaluedMap<String, Object> headers;
+
+    @BeforeEach
+    void setUp() {
+        headers = new MultivaluedHashMap<>();
+        when(resposta.getHeaders()).thenReturn(headers);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TempoFases.desvincular();
+    }
+
+    @Nested
+    @DisplayName("Amostragem")
+    class AmostragemTests {
+
+        @Test
+        @DisplayName("Não deve medir com o header desabilitado")
+        void naoDeveMedirDesabilitado() {
+            // Arrange
+            ServerTimingFilter filter = new ServerTimingFilter(new ServerTimingConfig(false, 1.0));
+
+            // Act
+            filter.filter(requisicao);
+
+            // Assert
+            verify(requisicao, never()).setProperty(anyString(), any());
+            assertThat(TempoFases.atual()).isNull();
+        }
+
+        @Test
+        @DisplayName("Deve medir todas as requisições com amostragem 1")
+        void deveMedirComAmostragemTotal() {
+            // Arrange
+            ServerTimingFilter filter = new ServerTimingFilter(new ServerTimingConfig(true, 1.0));
+
+            // Act
+            filter.filter(requisicao);
+
+            // Assert
+            verify(requisicao).setProperty(eq(ServerTimingFilter.PROPRIEDADE), any(TempoFases.class));
+            assertThat(TempoFases.atual()).isNotNull();
+        }
+
+        @Test
+        @DisplayName("Não deve medir e deve limpar a thread com amostragem 0")
+        void naoDeveMedirComAmostragemZero() {
+            // Arrange
+            TempoFases.iniciar(0);
+            ServerTimingFilter filter = new ServerTimingFilter(new ServerTimingConfig(true, 0.0));
+
+            // Act
+            filter.filter(requisicao);
+
+            // Assert
+            verify(requisicao, never()).setProperty(anyString(), any());
+            assertThat(TempoFases.atual()).isNull();
+        }
+
+        @Test
+        @DisplayName("Deve rejeitar amostragem fora de 0 a 1")
+        void deveRejeitarAmostragemInvalida() {
+            assertThatThrownBy(() -> new ServerTimingConfig(true, 1.5))
+                .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("Resposta")
+    class RespostaTests {
+
+        @Test
+        @DisplayName("Deve escrever o header em resposta sem corpo")
+        void deveEscreverHeaderSemCorpo() {
+            // Arrange
+            ServerTimingFilter filter = new ServerTimingFilter(new ServerTimingConfig(true, 1.0));
+            TempoFases tempo = TempoFases.iniciar(System.nanoTime());
+            tempo.registrar(TempoFases.Fase.BANCO, 1_000_000);
+            when(requisicao.getProperty(ServerTimingFilter.PROPRIEDADE)).thenReturn(tempo);
+            when(resposta.hasEntity()).thenReturn(false);
+
+            // Act
+            filter.filter(requisicao, resposta);
+
+            // Assert
+            assertThat((String) headers.getFirst(ServerTimingFilter.HEADER))
+                .startsWith("db;desc=\"Repositorio\";dur=1.000, app;dur=")
+                .contains("total;dur=");
+            assertThat(TempoFases.atual()).isNull();
+        }
+
+        @Test
+        @DisplayName("Deve deixar o header para o interceptor em resposta com corpo")
+        void deveDeixarHeaderParaInterceptor() {
+            // Arrange
+            ServerTimingFilter filter = new ServerTimingFilter(new ServerTimingConfig(true, 1.0));
+            when(requisicao.getProperty(ServerTimingFilter.PROPRIEDADE)).thenReturn(TempoFases.iniciar(0));
+            when(resposta.hasEntity()).thenReturn(true);
+
+            // Act
+            filter.filter(requisicao, resposta);
+
+            // Assert
+            assertThat(headers).doesNotContainKey(ServerTimingFilter.HEADER);
+            assertThat(TempoFases.atual()).isNull();
+        }
+
+        @Test
+        @DisplayName("Não deve alterar respostas de requisições fora da amostra")
+        void naoDeveAlterarForaDaAmostra() {
+            // Arrange
+            ServerTimingFilter filter = new ServerTimingFilter(new ServerTimingConfig(true, 1.0));
+
+            // Act
+            filter.filter(requisicao, resposta);
+
+            // Assert
+            assertThat(headers).isEmpty();
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.bip.presentation.filters;
+
+import com.bip.application.metrics.TempoFases;
+import jakarta.ws.rs.core.MultivaluedHashMap;
+import jakarta.ws.rs.core.MultivaluedMap;
+import jakarta.ws.rs.ext.ReaderInterceptorContext;
+import jakarta.ws.rs.ext.WriterInterceptorContext;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("ServerTimingInterceptor")
+class ServerTimingInterceptorTest {
+
+    private final ServerTimingInterceptor interceptor = new ServerTimingInterceptor();
+
+    @Mock
+    private ReaderInterceptorContext leitura;
+
+    @Mock
+    private WriterInterceptorContext escrita;
+
+    @Nested
+    @DisplayName("Leitura do corpo")
+    class LeituraTests {
+
+        @Test
+        @DisplayName("Deve medir a leitura da requisição amostrada")
+        void deveMedirLeitura() throws Exception {
+            // Arrange
+            TempoFases tempo = TempoFases.iniciar(0);
+            TempoFases.desvincular();
+            when(leitura.getProperty(ServerTimingFilter.PROPRIEDADE)).thenReturn(tempo);
+            when(leitura.proceed()).thenReturn("dto");
+
+            // Act
+            Object resultado = interceptor.aroundReadFrom(leitura);
+
+            // Assert
+            assertThat(resultado).isEqualTo("dto");
+            assertThat(tempo.getChamadas(TempoFases.Fase.LEITURA)).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Deve apenas prosseguir fora da amostra")
+        void deveProsseguirForaDaAmostra() throws Exception {
+            // Arrange
+            when(leitura.proceed()).thenReturn("dto");
+
+            // Act & Assert
+            assertThat(interceptor.aroundReadFrom(leitura)).isEqualTo("dto");
+        }
+    }
+
+    @Nested
+    @DisplayName("Serialização da resposta")
+    class EscritaTests {
+
+        @Test
+        @DisplayName("Deve escrever o header antes do corpo, com a serialização medida")
+        void deveEscreverHeaderAntesDoCorpo() throws Exception {
+            // Arrange
+            TempoFases tempo = TempoFases.iniciar(System.nanoTime());
+            TempoFases.desvincular();
+            MultivaluedMap<String, Object> headers = new MultivaluedHashMap<>();
+            List<String> ordem = new ArrayList<>();
+            ByteArrayOutputStream conexao = new ByteArrayOutputStream() {
+                @Override
+                public synchronized void write(byte[] b, int off, int len) {
+                    ordem.add(headers.containsKey(ServerTimingFilter.HEADER) ? "corpo após header" : "corpo antes do header");
+                    super.write(b, off, len);
+                }
+            };
+            OutputStream[] atual = {conexao};
+            when(escrita.getProperty(ServerTimingFilter.PROPRIEDADE)).thenReturn(tempo);
+            when(escrita.getHeaders()).thenReturn(headers);
+            when(escrita.getOutputStream()).thenAnswer(invocation -> atual[0]);
+            doAnswer(invocation -> atual[0] = invocation.getArgument(0)).when(escrita).setOutputStream(any());
+            doAnswer(invocation -> {
+                atual[0].write("{\"id\":1}".getBytes(StandardCharsets.UTF_8));
+                return null;
+            }).when(escrita).proceed();
+
+            // Act
+            interceptor.aroundWriteTo(escrita);
+
+            // Assert
+            assertThat(conexao.toString(StandardCharsets.UTF_8)).isEqualTo("{\"id\":1}");
+            assertThat(ordem).containsExactly("corpo após header");
+            assertThat((String) headers.getFirst(ServerTimingFilter.HEADER)).startsWith("serializacao;");
+            assertThat(atual[0]).isSameAs(conexao);
+        }
+
+        @Test
+        @DisplayName("Deve serializar direto na conexão fora da amostra")
+        void deveSerializarDiretoForaDaAmostra() throws Exception {
+            // Act
+            interceptor.aroundWriteTo(escrita);
+
+            // Assert
+            verify(escrita).proceed();
+            verify(escrita, never()).setOutputStream(any());
+            verify(escrita, never()).getHeaders();
+        }
+    }
+}
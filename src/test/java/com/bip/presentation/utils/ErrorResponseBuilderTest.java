@@ -110,6 +110,30 @@ class ErrorResponseBuilderTest {
         }
     }
 
+    @Nested
+    @DisplayName("buildConflictError")
+    class BuildConflictErrorTests {
+
+        @Test
+        @DisplayName("Deve criar resposta de erro 409 com código específico")
+        void shouldBuildConflictErrorWithCode() {
+            // Arrange
+            Exception exception = new IllegalStateException("Idempotency-Key já utilizada com outra requisição");
+
+            // Act
+            Response response = errorResponseBuilder.buildConflictError(exception, "IDEMPOTENCY_KEY_REUSED");
+
+            // Assert
+            assertThat(response.getStatus()).isEqualTo(409);
+
+            @SuppressWarnings("unchecked")
+            Map<String, Object> entity = (Map<String, Object>) response.getEntity();
+
+            assertThat(entity.get("codigo")).isEqualTo("IDEMPOTENCY_KEY_REUSED");
+            assertThat(entity.get("detalhes")).isEqualTo("Idempotency-Key já utilizada com outra requisição");
+        }
+    }
+
     @Nested
     @DisplayName("buildNotFoundError")
     class BuildNotFoundErrorTests {
@@ -171,6 +195,31 @@ class ErrorResponseBuilderTest {
         }
     }
 
+    @Nested
+    @DisplayName("buildServiceUnavailableError")
+    class BuildServiceUnavailableErrorTests {
+
+        @Test
+        @DisplayName("Deve criar resposta 503 com header Retry-After")
+        void shouldBuildServiceUnavailableWithRetryAfter() {
+            // Arrange
+            Exception exception = new java.util.concurrent.RejectedExecutionException("Fila cheia");
+
+            // Act
+            Response response = errorResponseBuilder.buildServiceUnavailableError(exception, 2);
+
+            // Assert
+            assertThat(response.getStatus()).isEqualTo(503);
+            assertThat(response.getHeaderString("Retry-After")).isEqualTo("2");
+
+            @SuppressWarnings("unchecked")
+            Map<String, Object> entity = (Map<String, Object>) response.getEntity();
+
+            assertThat(entity.get("erro")).isEqualTo("Serviço temporariamente sobrecarregado");
+            assertThat(entity.get("detalhes")).isEqualTo("Fila cheia");
+        }
+    }
+
     @Nested
     @DisplayName("buildErrorResponse")
     class BuildErrorResponseTests {
@@ -0,0 +1,134 @@
+package com.bip.presentation.utils;
+
+import com.bip.application.concurrency.CompartimentosConfig;
+import com.bip.application.concurrency.CompartimentosRequisicao;
+import jakarta.ws.rs.container.AsyncResponse;
+import jakarta.ws.rs.core.Response;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.mockito.stubbing.Answer;
+
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("RespostasAssincronas")
+class RespostasAssincronasTest {
+
+    @Mock
+    private CompartimentosRequisicao compartimentos;
+
+    @Spy
+    private ErrorResponseBuilder errorResponseBuilder = new ErrorResponseBuilder();
+
+    @Mock
+    private AsyncResponse asyncResponse;
+
+    @InjectMocks
+    private RespostasAssincronas respostas;
+
+    @BeforeEach
+    void setUp() {
+        // Compartimentos executam na própria thread do teste
+        Answer<Void> naMesmaThread = invocation -> {
+            Runnable tarefa = invocation.getArgument(0);
+            tarefa.run();
+            return null;
+        };
+        doAnswer(naMesmaThread).when(compartimentos).ler(any());
+        doAnswer(naMesmaThread).when(compartimentos).escrever(any());
+        when(compartimentos.getConfig()).thenReturn(new CompartimentosConfig(true, 2, 4, 1, 2, 3));
+    }
+
+    @Nested
+    @DisplayName("Execução")
+    class ExecucaoTests {
+
+        @Test
+        @DisplayName("Deve retomar a resposta com o resultado da leitura")
+        void deveRetomarComResultadoDaLeitura() {
+            // Arrange
+            Response ok = Response.ok("beneficios").build();
+
+            // Act
+            respostas.ler(asyncResponse, () -> ok);
+
+            // Assert
+            verify(compartimentos).ler(any());
+            verify(asyncResponse).resume(ok);
+        }
+
+        @Test
+        @DisplayName("Deve executar alterações no compartimento de escrita")
+        void deveExecutarAlteracoesNaEscrita() {
+            // Arrange
+            Response criado = Response.status(Response.Status.CREATED).build();
+
+            // Act
+            respostas.escrever(asyncResponse, () -> criado);
+
+            // Assert
+            verify(compartimentos).escrever(any());
+            verify(compartimentos, never()).ler(any());
+            verify(asyncResponse).resume(criado);
+        }
+
+        @Test
+        @DisplayName("Deve retomar com a exceção não tratada pelo recurso")
+        void deveRetomarComExcecao() {
+            // Arrange
+            IllegalStateException falha = new IllegalStateException("Falha");
+
+            // Act
+            respostas.ler(asyncResponse, () -> {
+                throw falha;
+            });
+
+            // Assert
+            verify(asyncResponse).resume(falha);
+            verify(asyncResponse, never()).resume(any(Object.class));
+        }
+    }
+
+    @Nested
+    @DisplayName("Saturação")
+    class SaturacaoTests {
+
+        @Test
+        @DisplayName("Deve responder 503 com Retry-After quando o compartimento rejeita")
+        void deveResponder503ComRetryAfter() {
+            // Arrange
+            doThrow(new RejectedExecutionException("Compartimento escrita saturado"))
+                .when(compartimentos).escrever(any());
+
+            // Act
+            respostas.escrever(asyncResponse, () -> Response.ok().build());
+
+            // Assert
+            ArgumentCaptor<Object> resposta = ArgumentCaptor.forClass(Object.class);
+            verify(asyncResponse).resume(resposta.capture());
+            Response response = (Response) resposta.getValue();
+            assertThat(response.getStatus()).isEqualTo(503);
+            assertThat(response.getHeaderString("Retry-After")).isEqualTo("3");
+
+            @SuppressWarnings("unchecked")
+            Map<String, Object> entity = (Map<String, Object>) response.getEntity();
+            assertThat(entity.get("detalhes")).isEqualTo("Compartimento escrita saturado");
+        }
+    }
+}
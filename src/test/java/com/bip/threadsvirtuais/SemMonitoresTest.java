@@ -0,0 +1,56 @@
+package com.bip.threadsvirtuais;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Nenhum {@code synchronized} no código da aplicação.
+ *
+ * <p>No Java 21 uma thread virtual que bloqueia dentro de um monitor prende a
+ * thread portadora. Com o JDBC dentro do bloco, poucas requisições lentas
+ * paralisam todas as outras. O caminho usa {@code ReentrantLock}, que libera a
+ * portadora. A verificação é no código-fonte, sem comentários, porque a
+ * reflexão não enxerga blocos {@code synchronized}.</p>
+ */
+@DisplayName("Código da aplicação sem monitores")
+class SemMonitoresTest {
+
+    private static final Path FONTES = Path.of("src/main/java/com/bip");
+    private static final Pattern SYNCHRONIZED = Pattern.compile("\\bsynchronized\\b");
+    private static final Pattern COMENTARIOS = Pattern.compile("(?s)/\\*.*?\\*/|//[^\\n]*");
+
+    @Test
+    @DisplayName("Não deve usar synchronized")
+    void naoDeveUsarSynchronized() throws IOException {
+        // Arrange: todo o código da aplicação, para que um pacote novo não escape
+        List<Path> fontes;
+        try (Stream<Path> arquivos = Files.walk(FONTES)) {
+            fontes = arquivos.filter(arquivo -> arquivo.toString().endsWith(".java")).toList();
+        }
+        assertThat(fontes).as("fontes em %s", FONTES).isNotEmpty();
+
+        // Act
+        List<Path> comMonitor = fontes.stream().filter(SemMonitoresTest::usaSynchronized).toList();
+
+        // Assert
+        assertThat(comMonitor).as("classes com synchronized").isEmpty();
+    }
+
+    private static boolean usaSynchronized(Path fonte) {
+        try {
+            String codigo = COMENTARIOS.matcher(Files.readString(fonte)).replaceAll("");
+            return SYNCHRONIZED.matcher(codigo).find();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}